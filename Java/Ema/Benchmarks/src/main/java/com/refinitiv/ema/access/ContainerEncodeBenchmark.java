@@ -0,0 +1,133 @@
+///*|-----------------------------------------------------------------------------
+// *|            This source code is provided under the Apache 2.0 license      --
+// *|  and is provided AS IS with no warranty or guarantee of fit for purpose.  --
+// *|                See the project's LICENSE.md for details.                  --
+// *|           Copyright (C) 2021 Refinitiv. All rights reserved.            --
+///*|-----------------------------------------------------------------------------
+
+package com.refinitiv.ema.access;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.refinitiv.ema.rdm.EmaRdm;
+
+/**
+ * Encodes MarketByOrder like refreshes of a Map of {@link #entries} entries,
+ * each one a FieldList of eight fields, as a provider publishing an order book
+ * does: the Map is built, set as the payload of a RefreshMsg and the message
+ * encoded.
+ *
+ * With a header of "first", the key field id, total count hint and summary
+ * data of the Map are set before its entries, so the entries are encoded as
+ * they are added. With "last" they are set after the entries, so the Map is
+ * encoded from its collected entries. With a container of "new", the Map and
+ * the RefreshMsg are created for each refresh, as most of the examples do;
+ * with "reused" they are cleared and reused.
+ *
+ * Run with -prof gc to see the garbage per refresh (gc.alloc.rate.norm).
+ */
+@State(Scope.Thread)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class ContainerEncodeBenchmark
+{
+    @Param({"first", "last"})
+    public String header;
+
+    @Param({"new", "reused"})
+    public String container;
+
+    @Param({"1000"})
+    public int entries;
+
+    String[] _orderIds;
+    ByteBuffer _marketMaker;
+    FieldList _summaryData;
+    FieldList _fieldList;
+    Map _map;
+    RefreshMsg _refreshMsg;
+
+    @Setup(Level.Trial)
+    public void setup()
+    {
+        _orderIds = new String[entries];
+        for (int i = 0; i < entries; i++)
+            _orderIds[i] = "ORDER" + (100000 + i);
+        _marketMaker = ByteBuffer.wrap("Market Maker".getBytes());
+
+        _summaryData = EmaFactory.createFieldList();
+        _summaryData.add(EmaFactory.createFieldEntry().enumValue(15, 840));
+        _summaryData.add(EmaFactory.createFieldEntry().enumValue(53, 1));
+        _summaryData.add(EmaFactory.createFieldEntry().enumValue(3423, 1));
+        _summaryData.add(EmaFactory.createFieldEntry().enumValue(1709, 2));
+
+        _fieldList = EmaFactory.createFieldList();
+        _map = EmaFactory.createMap();
+        _refreshMsg = EmaFactory.createRefreshMsg();
+    }
+
+    @Benchmark
+    public Msg mapRefresh()
+    {
+        Map map;
+        RefreshMsg refreshMsg;
+        if (container.equals("new"))
+        {
+            map = EmaFactory.createMap();
+            refreshMsg = EmaFactory.createRefreshMsg();
+        }
+        else
+        {
+            map = _map;
+            map.clear();
+            refreshMsg = _refreshMsg;
+            refreshMsg.clear();
+        }
+
+        boolean headerFirst = header.equals("first");
+        if (headerFirst)
+            map.keyFieldId(3426).totalCountHint(entries).summaryData(_summaryData);
+
+        for (int i = 0; i < entries; i++)
+        {
+            _fieldList.clear();
+            _fieldList.add(EmaFactory.createFieldEntry().real(3427, 7453 + i, OmmReal.MagnitudeType.EXPONENT_NEG_2));
+            _fieldList.add(EmaFactory.createFieldEntry().real(3429, 9600 + i, OmmReal.MagnitudeType.EXPONENT_0));
+            _fieldList.add(EmaFactory.createFieldEntry().enumValue(3428, 2));
+            _fieldList.add(EmaFactory.createFieldEntry().rmtes(212, _marketMaker));
+            _fieldList.add(EmaFactory.createFieldEntry().uintValue(3430, 1000 + i));
+            _fieldList.add(EmaFactory.createFieldEntry().intValue(3431, -i));
+            _fieldList.add(EmaFactory.createFieldEntry().ascii(3432, "MM1"));
+            _fieldList.add(EmaFactory.createFieldEntry().time(3855, 10, 30, 15, 125));
+
+            map.add(EmaFactory.createMapEntry().keyAscii(_orderIds[i], MapEntry.MapAction.ADD, _fieldList));
+        }
+
+        if (!headerFirst)
+            map.keyFieldId(3426).totalCountHint(entries).summaryData(_summaryData);
+
+        refreshMsg.domainType(EmaRdm.MMT_MARKET_BY_ORDER).name("AAO.V").serviceId(1)
+            .state(OmmState.StreamState.OPEN, OmmState.DataState.OK, OmmState.StatusCode.NONE, "Refresh Completed")
+            .complete(true).payload(map);
+
+        ((MsgImpl)refreshMsg).encodedData();
+        return refreshMsg;
+    }
+}
@@ -0,0 +1,376 @@
+///*|-----------------------------------------------------------------------------
+// *|            This source code is provided under the Apache 2.0 license      --
+// *|  and is provided AS IS with no warranty or guarantee of fit for purpose.  --
+// *|                See the project's LICENSE.md for details.                  --
+// *|           Copyright (C) 2021 Refinitiv. All rights reserved.            --
+///*|-----------------------------------------------------------------------------
+
+package com.refinitiv.ema.access;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.refinitiv.ema.rdm.EmaRdm;
+
+/**
+ * Measures the aggregate rate of updates an OmmIProvider sends to several
+ * consumer connections, as its ReactorThreadCount grows.
+ *
+ * For each thread count, a provider is started with that ReactorThreadCount
+ * and the given number of consumers connect to it, each opening the given
+ * number of items. Publisher threads then submit updates round robin to the
+ * items for the given time, and the number of updates submitted and received
+ * per second is reported. Updates rejected by the provider, e.g. when a
+ * consumer is too slow and the output buffers run out, are counted apart.
+ *
+ * The consumers run in the same process, so the results are only meaningful
+ * on a host with more cores than the number of reactor threads plus publishers,
+ * e.g. gradlew :Ema:Benchmarks:runMain
+ * -PmainClass=com.refinitiv.ema.access.IProviderReactorThreadsBenchmark
+ * --args="-reactorThreads 1,2,4 -consumers 4 -items 100 -publishers 4 -runTime 10"
+ */
+public class IProviderReactorThreadsBenchmark
+{
+    static final String FIELD_DICTIONARY = "../../etc/RDMFieldDictionary";
+    static final String ENUM_TYPE_DICTIONARY = "../../etc/enumtype.def";
+    static final int BASE_PORT = 14032;
+
+    int[] _reactorThreadCounts = {1, 2, 4};
+    int _consumerCount = 4;
+    int _itemCount = 100;
+    int _publisherCount = 4;
+    int _runTime = 10;
+
+    /* Opens the requested items and keeps their handles. */
+    static class ProviderClient implements OmmProviderClient, OmmProviderErrorClient
+    {
+        List<Long> _itemHandles = new CopyOnWriteArrayList<>();
+        AtomicLong _rejected = new AtomicLong();
+        FieldList _fieldList = EmaFactory.createFieldList();
+
+        @Override
+        public void onReqMsg(ReqMsg reqMsg, OmmProviderEvent event)
+        {
+            if (reqMsg.domainType() == EmaRdm.MMT_LOGIN)
+            {
+                event.provider().submit(EmaFactory.createRefreshMsg().domainType(EmaRdm.MMT_LOGIN).name(reqMsg.name())
+                        .nameType(EmaRdm.USER_NAME).complete(true).solicited(true)
+                        .state(OmmState.StreamState.OPEN, OmmState.DataState.OK, OmmState.StatusCode.NONE, "Login accepted")
+                        .attrib(EmaFactory.createElementList()), event.handle());
+                return;
+            }
+
+            _fieldList.clear();
+            _fieldList.add(EmaFactory.createFieldEntry().ascii(3, reqMsg.name()));
+            _fieldList.add(EmaFactory.createFieldEntry().real(22, 3990, OmmReal.MagnitudeType.EXPONENT_NEG_2));
+            _fieldList.add(EmaFactory.createFieldEntry().real(25, 3994, OmmReal.MagnitudeType.EXPONENT_NEG_2));
+            event.provider().submit(EmaFactory.createRefreshMsg().serviceName(reqMsg.serviceName()).name(reqMsg.name())
+                    .state(OmmState.StreamState.OPEN, OmmState.DataState.OK, OmmState.StatusCode.NONE, "Refresh Completed")
+                    .solicited(true).payload(_fieldList).complete(true), event.handle());
+            _itemHandles.add(event.handle());
+        }
+
+        @Override
+        public void onInvalidHandle(long handle, String text)
+        {
+            _rejected.incrementAndGet();
+        }
+
+        @Override
+        public void onInvalidUsage(String text, int errorCode)
+        {
+            _rejected.incrementAndGet();
+        }
+
+        public void onRefreshMsg(RefreshMsg refreshMsg, OmmProviderEvent event) {}
+        public void onStatusMsg(StatusMsg statusMsg, OmmProviderEvent event) {}
+        public void onGenericMsg(GenericMsg genericMsg, OmmProviderEvent event) {}
+        public void onPostMsg(PostMsg postMsg, OmmProviderEvent event) {}
+        public void onReissue(ReqMsg reqMsg, OmmProviderEvent event) {}
+        public void onClose(ReqMsg reqMsg, OmmProviderEvent event) {}
+        public void onAllMsg(Msg msg, OmmProviderEvent event) {}
+    }
+
+    /* Counts the updates received by all the consumers. */
+    static class ConsumerClient implements OmmConsumerClient
+    {
+        AtomicLong _refreshes = new AtomicLong();
+        AtomicLong _updates = new AtomicLong();
+
+        public void onRefreshMsg(RefreshMsg refreshMsg, OmmConsumerEvent event)
+        {
+            _refreshes.incrementAndGet();
+        }
+
+        public void onUpdateMsg(UpdateMsg updateMsg, OmmConsumerEvent event)
+        {
+            _updates.incrementAndGet();
+        }
+
+        public void onStatusMsg(StatusMsg statusMsg, OmmConsumerEvent event) {}
+        public void onGenericMsg(GenericMsg genericMsg, OmmConsumerEvent event) {}
+        public void onAckMsg(AckMsg ackMsg, OmmConsumerEvent event) {}
+        public void onAllMsg(Msg msg, OmmConsumerEvent event) {}
+    }
+
+    /* Submits updates round robin to the items of its share of the handles. */
+    static class Publisher implements Runnable
+    {
+        OmmProvider _provider;
+        long[] _handles;
+        volatile boolean _running = true;
+        long _submitted;
+
+        Publisher(OmmProvider provider, long[] handles)
+        {
+            _provider = provider;
+            _handles = handles;
+        }
+
+        @Override
+        public void run()
+        {
+            FieldList fieldList = EmaFactory.createFieldList();
+            fieldList.add(EmaFactory.createFieldEntry().real(22, 3991, OmmReal.MagnitudeType.EXPONENT_NEG_2));
+            fieldList.add(EmaFactory.createFieldEntry().real(25, 3995, OmmReal.MagnitudeType.EXPONENT_NEG_2));
+            fieldList.add(EmaFactory.createFieldEntry().real(30, 10, OmmReal.MagnitudeType.EXPONENT_0));
+            fieldList.add(EmaFactory.createFieldEntry().real(31, 19, OmmReal.MagnitudeType.EXPONENT_0));
+            UpdateMsg updateMsg = EmaFactory.createUpdateMsg().payload(fieldList);
+
+            long submitted = 0;
+            while (_running)
+            {
+                for (long handle : _handles)
+                    _provider.submit(updateMsg, handle);
+                submitted += _handles.length;
+            }
+            _submitted = submitted;
+        }
+    }
+
+    void run() throws InterruptedException
+    {
+        System.out.printf("consumers %d, items per consumer %d, publishers %d, run time %d sec%n",
+                _consumerCount, _itemCount, _publisherCount, _runTime);
+        System.out.println("reactorThreads   submitted/sec   received/sec   rejected/sec");
+
+        for (int reactorThreadCount : _reactorThreadCounts)
+        {
+            ProviderClient providerClient = new ProviderClient();
+            String port = Integer.toString(BASE_PORT + reactorThreadCount);
+            OmmProvider provider = EmaFactory.createOmmProvider(EmaFactory.createOmmIProviderConfig()
+                    .config(providerConfig(port)).reactorThreadCount(reactorThreadCount), providerClient, providerClient);
+
+            ConsumerClient consumerClient = new ConsumerClient();
+            List<OmmConsumer> consumers = new ArrayList<>();
+            try
+            {
+                for (int i = 0; i < _consumerCount; i++)
+                {
+                    OmmConsumer consumer = EmaFactory.createOmmConsumer(EmaFactory.createOmmConsumerConfig()
+                            .config(consumerConfig(port)).username("user" + i));
+                    consumers.add(consumer);
+                    for (int j = 0; j < _itemCount; j++)
+                        consumer.registerClient(EmaFactory.createReqMsg().serviceName("DIRECT_FEED").name("RIC" + j), consumerClient);
+                }
+
+                long total = (long)_consumerCount * _itemCount;
+                long deadline = System.currentTimeMillis() + 30000;
+                while (consumerClient._refreshes.get() < total && System.currentTimeMillis() < deadline)
+                    Thread.sleep(100);
+                if (consumerClient._refreshes.get() < total)
+                    throw new IllegalStateException("Only " + consumerClient._refreshes.get() + " of " + total + " items were opened");
+
+                List<Long> handles = providerClient._itemHandles;
+                Publisher[] publishers = new Publisher[_publisherCount];
+                Thread[] threads = new Thread[_publisherCount];
+                for (int i = 0; i < _publisherCount; i++)
+                {
+                    List<Long> share = new ArrayList<>();
+                    for (int j = i; j < handles.size(); j += _publisherCount)
+                        share.add(handles.get(j));
+                    long[] shareHandles = new long[share.size()];
+                    for (int j = 0; j < shareHandles.length; j++)
+                        shareHandles[j] = share.get(j);
+                    publishers[i] = new Publisher(provider, shareHandles);
+                    threads[i] = new Thread(publishers[i], "Publisher-" + i);
+                }
+
+                long startUpdates = consumerClient._updates.get();
+                long startRejected = providerClient._rejected.get();
+                long startTime = System.nanoTime();
+                for (Thread thread : threads)
+                    thread.start();
+                Thread.sleep(_runTime * 1000L);
+                long submitted = 0;
+                for (Publisher publisher : publishers)
+                    publisher._running = false;
+                for (int i = 0; i < _publisherCount; i++)
+                {
+                    threads[i].join();
+                    submitted += publishers[i]._submitted;
+                }
+                double seconds = (System.nanoTime() - startTime) / 1e9;
+                long received = consumerClient._updates.get() - startUpdates;
+                long rejected = providerClient._rejected.get() - startRejected;
+
+                System.out.printf("%-16d %13.0f %14.0f %14.0f%n", reactorThreadCount,
+                        (submitted - rejected) / seconds, received / seconds, rejected / seconds);
+            }
+            finally
+            {
+                for (OmmConsumer consumer : consumers)
+                    consumer.uninitialize();
+                provider.uninitialize();
+            }
+        }
+    }
+
+    static Map providerConfig(String port)
+    {
+        Map configMap = EmaFactory.createMap();
+        Map innerMap = EmaFactory.createMap();
+        ElementList elementList = EmaFactory.createElementList();
+        ElementList innerElementList = EmaFactory.createElementList();
+
+        elementList.add(EmaFactory.createElementEntry().ascii("DefaultIProvider", "Provider_1"));
+        innerElementList.add(EmaFactory.createElementEntry().ascii("Server", "Server_1"));
+        innerElementList.add(EmaFactory.createElementEntry().ascii("Directory", "Directory_1"));
+        innerElementList.add(EmaFactory.createElementEntry().intValue("RefreshFirstRequired", 1));
+        innerMap.add(EmaFactory.createMapEntry().keyAscii("Provider_1", MapEntry.MapAction.ADD, innerElementList));
+        innerElementList.clear();
+        elementList.add(EmaFactory.createElementEntry().map("IProviderList", innerMap));
+        innerMap.clear();
+        configMap.add(EmaFactory.createMapEntry().keyAscii("IProviderGroup", MapEntry.MapAction.ADD, elementList));
+        elementList.clear();
+
+        innerElementList.add(EmaFactory.createElementEntry().ascii("ServerType", "ServerType::RSSL_SOCKET"));
+        innerElementList.add(EmaFactory.createElementEntry().intValue("GuaranteedOutputBuffers", 5000));
+        innerElementList.add(EmaFactory.createElementEntry().intValue("TcpNodelay", 0));
+        innerElementList.add(EmaFactory.createElementEntry().ascii("Port", port));
+        innerMap.add(EmaFactory.createMapEntry().keyAscii("Server_1", MapEntry.MapAction.ADD, innerElementList));
+        innerElementList.clear();
+        elementList.add(EmaFactory.createElementEntry().map("ServerList", innerMap));
+        innerMap.clear();
+        configMap.add(EmaFactory.createMapEntry().keyAscii("ServerGroup", MapEntry.MapAction.ADD, elementList));
+        elementList.clear();
+
+        configMap.add(EmaFactory.createMapEntry().keyAscii("DictionaryGroup", MapEntry.MapAction.ADD, dictionaryGroup()));
+
+        Map serviceMap = EmaFactory.createMap();
+        innerElementList.add(EmaFactory.createElementEntry().intValue("ServiceId", 1));
+        OmmArray array = EmaFactory.createOmmArray();
+        array.add(EmaFactory.createOmmArrayEntry().ascii("MMT_MARKET_PRICE"));
+        innerElementList.add(EmaFactory.createElementEntry().array("Capabilities", array));
+        array.clear();
+        array.add(EmaFactory.createOmmArrayEntry().ascii("Dictionary_1"));
+        innerElementList.add(EmaFactory.createElementEntry().array("DictionariesUsed", array));
+        elementList.add(EmaFactory.createElementEntry().elementList("InfoFilter", innerElementList));
+        innerElementList.clear();
+        innerElementList.add(EmaFactory.createElementEntry().intValue("ServiceState", 1));
+        innerElementList.add(EmaFactory.createElementEntry().intValue("AcceptingRequests", 1));
+        elementList.add(EmaFactory.createElementEntry().elementList("StateFilter", innerElementList));
+        innerElementList.clear();
+        serviceMap.add(EmaFactory.createMapEntry().keyAscii("DIRECT_FEED", MapEntry.MapAction.ADD, elementList));
+        elementList.clear();
+        innerMap.add(EmaFactory.createMapEntry().keyAscii("Directory_1", MapEntry.MapAction.ADD, serviceMap));
+        elementList.add(EmaFactory.createElementEntry().ascii("DefaultDirectory", "Directory_1"));
+        elementList.add(EmaFactory.createElementEntry().map("DirectoryList", innerMap));
+        configMap.add(EmaFactory.createMapEntry().keyAscii("DirectoryGroup", MapEntry.MapAction.ADD, elementList));
+
+        return configMap;
+    }
+
+    static Map consumerConfig(String port)
+    {
+        Map configMap = EmaFactory.createMap();
+        Map innerMap = EmaFactory.createMap();
+        ElementList elementList = EmaFactory.createElementList();
+        ElementList innerElementList = EmaFactory.createElementList();
+
+        elementList.add(EmaFactory.createElementEntry().ascii("DefaultConsumer", "Consumer_1"));
+        innerElementList.add(EmaFactory.createElementEntry().ascii("Channel", "Channel_1"));
+        innerElementList.add(EmaFactory.createElementEntry().ascii("Dictionary", "Dictionary_1"));
+        innerMap.add(EmaFactory.createMapEntry().keyAscii("Consumer_1", MapEntry.MapAction.ADD, innerElementList));
+        innerElementList.clear();
+        elementList.add(EmaFactory.createElementEntry().map("ConsumerList", innerMap));
+        innerMap.clear();
+        configMap.add(EmaFactory.createMapEntry().keyAscii("ConsumerGroup", MapEntry.MapAction.ADD, elementList));
+        elementList.clear();
+
+        innerElementList.add(EmaFactory.createElementEntry().ascii("ChannelType", "ChannelType::RSSL_SOCKET"));
+        innerElementList.add(EmaFactory.createElementEntry().ascii("Host", "localhost"));
+        innerElementList.add(EmaFactory.createElementEntry().ascii("Port", port));
+        innerMap.add(EmaFactory.createMapEntry().keyAscii("Channel_1", MapEntry.MapAction.ADD, innerElementList));
+        innerElementList.clear();
+        elementList.add(EmaFactory.createElementEntry().map("ChannelList", innerMap));
+        innerMap.clear();
+        configMap.add(EmaFactory.createMapEntry().keyAscii("ChannelGroup", MapEntry.MapAction.ADD, elementList));
+
+        configMap.add(EmaFactory.createMapEntry().keyAscii("DictionaryGroup", MapEntry.MapAction.ADD, dictionaryGroup()));
+
+        return configMap;
+    }
+
+    static ElementList dictionaryGroup()
+    {
+        Map innerMap = EmaFactory.createMap();
+        ElementList elementList = EmaFactory.createElementList();
+        ElementList innerElementList = EmaFactory.createElementList();
+
+        innerElementList.add(EmaFactory.createElementEntry().ascii("DictionaryType", "DictionaryType::FileDictionary"));
+        innerElementList.add(EmaFactory.createElementEntry().ascii("RdmFieldDictionaryFileName", FIELD_DICTIONARY));
+        innerElementList.add(EmaFactory.createElementEntry().ascii("EnumTypeDefFileName", ENUM_TYPE_DICTIONARY));
+        innerMap.add(EmaFactory.createMapEntry().keyAscii("Dictionary_1", MapEntry.MapAction.ADD, innerElementList));
+        elementList.add(EmaFactory.createElementEntry().map("DictionaryList", innerMap));
+
+        return elementList;
+    }
+
+    void parseArgs(String[] args)
+    {
+        for (int i = 0; i + 1 < args.length; i += 2)
+        {
+            switch (args[i])
+            {
+                case "-reactorThreads":
+                    String[] counts = args[i + 1].split(",");
+                    _reactorThreadCounts = new int[counts.length];
+                    for (int j = 0; j < counts.length; j++)
+                        _reactorThreadCounts[j] = Integer.parseInt(counts[j].trim());
+                    break;
+                case "-consumers":
+                    _consumerCount = Integer.parseInt(args[i + 1]);
+                    break;
+                case "-items":
+                    _itemCount = Integer.parseInt(args[i + 1]);
+                    break;
+                case "-publishers":
+                    _publisherCount = Integer.parseInt(args[i + 1]);
+                    break;
+                case "-runTime":
+                    _runTime = Integer.parseInt(args[i + 1]);
+                    break;
+                default:
+                    throw new IllegalArgumentException("Unknown option " + args[i]);
+            }
+        }
+    }
+
+    /**
+     * Runs the benchmark for each thread count.
+     *
+     * @param args -reactorThreads list of thread counts, -consumers, -items per consumer,
+     *             -publishers and -runTime in seconds
+     * @throws InterruptedException if interrupted while waiting for the publishers
+     */
+    public static void main(String[] args) throws InterruptedException
+    {
+        IProviderReactorThreadsBenchmark benchmark = new IProviderReactorThreadsBenchmark();
+        benchmark.parseArgs(args);
+        benchmark.run();
+        System.exit(0);
+    }
+}
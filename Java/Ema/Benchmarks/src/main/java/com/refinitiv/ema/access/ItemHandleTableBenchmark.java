@@ -0,0 +1,328 @@
+///*|-----------------------------------------------------------------------------
+// *|            This source code is provided under the Apache 2.0 license      --
+// *|  and is provided AS IS with no warranty or guarantee of fit for purpose.  --
+// *|                See the project's LICENSE.md for details.                  --
+// *|           Copyright (C) 2021 Refinitiv. All rights reserved.            --
+///*|-----------------------------------------------------------------------------
+
+package com.refinitiv.ema.access;
+
+import java.util.HashMap;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.refinitiv.eta.valueadd.common.VaIntHashMap;
+import com.refinitiv.eta.valueadd.common.VaLongHashMap;
+import com.refinitiv.eta.valueadd.common.VaPool;
+
+/**
+ * Compares the handle and stream id tables of {@link ItemCallbackClient}: the
+ * HashMaps keyed by pooled {@link LongObject} and {@link IntObject} keys that
+ * it used before, and {@link VaLongHashMap} and {@link VaIntHashMap}.
+ *
+ * {@link #registerUnregister()} reports items added to and removed from both
+ * tables per second while the tables hold the given number of open items, as
+ * registerClient() and unregister() do. Run with -prof gc to see the garbage
+ * per item (gc.alloc.rate.norm divided by {@link #BATCH}).
+ * {@link #lookup()} reports handle and stream id lookups per second, as done
+ * when submitting on a handle and when dispatching a message.
+ *
+ * {@link #main(String[])} reports the heap retained by the tables with 1M
+ * open items, e.g. gradlew :Ema:Benchmarks:runMain
+ * -PmainClass=com.refinitiv.ema.access.ItemHandleTableBenchmark
+ */
+@State(Scope.Thread)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class ItemHandleTableBenchmark
+{
+    static final int BATCH = 1024;
+
+    // keeps the tables being measured by main() reachable
+    static Object _retained;
+
+    @Param({"hashMap", "primitiveMap"})
+    public String table;
+
+    @Param({"1000000"})
+    public int handles;
+
+    ItemTables _tables;
+    SingleItem<Object>[] _batchItems;
+    long _nextHandle;
+    int _nextStreamId;
+    long[] _lookupHandles;
+    int[] _lookupStreamIds;
+    int _lookupIndex;
+
+    @Setup(Level.Trial)
+    public void setup()
+    {
+        _tables = table.equals("hashMap") ? new HashMapTables(handles + BATCH) : new PrimitiveMapTables(handles + BATCH);
+        SingleItem<Object>[] items = createItems(handles);
+        for (int i = 0; i < handles; i++)
+            _tables.add(i, i + 1, i + 4, items[i]);
+        _nextHandle = handles + 1;
+        _nextStreamId = handles + 4;
+
+        _batchItems = createItems(BATCH);
+
+        // handles and stream ids of open items, looked up in random order
+        Random random = new Random(1234);
+        _lookupHandles = new long[64 * 1024];
+        _lookupStreamIds = new int[_lookupHandles.length];
+        for (int i = 0; i < _lookupHandles.length; i++)
+        {
+            int index = random.nextInt(handles);
+            _lookupHandles[i] = index + 1;
+            _lookupStreamIds[i] = index + 4;
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    public int registerUnregister()
+    {
+        long handle = _nextHandle;
+        int streamId = _nextStreamId;
+        for (int i = 0; i < BATCH; i++)
+            _tables.add(handles + i, handle + i, streamId + i, _batchItems[i]);
+        for (int i = 0; i < BATCH; i++)
+            _tables.remove(handles + i, _batchItems[i]);
+
+        // handles and stream ids keep increasing, as in ItemCallbackClient
+        _nextHandle = handle + BATCH;
+        _nextStreamId = streamId + BATCH;
+        return _tables.size();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    public int lookup()
+    {
+        int found = 0;
+        int index = _lookupIndex;
+        for (int i = 0; i < BATCH; i++)
+        {
+            if (_tables.getByHandle(_lookupHandles[index]) == _tables.getByStreamId(_lookupStreamIds[index]))
+                found++;
+            index = (index + 1) & (_lookupHandles.length - 1);
+        }
+        _lookupIndex = index;
+        return found;
+    }
+
+    @SuppressWarnings("unchecked")
+    static SingleItem<Object>[] createItems(int count)
+    {
+        SingleItem<Object>[] items = new SingleItem[count];
+        for (int i = 0; i < count; i++)
+            items[i] = new SingleItem<Object>();
+        return items;
+    }
+
+    /*
+     * The handle and stream id tables, updated the way addToMap() and
+     * removeFromMap() update them. Each open item has a slot, standing for the
+     * fields of the item that hold its keys.
+     */
+    static abstract class ItemTables
+    {
+        abstract void add(int slot, long handle, int streamId, Item<Object> item);
+
+        abstract void remove(int slot, Item<Object> item);
+
+        abstract Item<Object> getByHandle(long handle);
+
+        abstract Item<Object> getByStreamId(int streamId);
+
+        abstract int size();
+    }
+
+    /* The tables as ItemCallbackClient kept them before, with keys taken from and returned to pools. */
+    static class HashMapTables extends ItemTables
+    {
+        HashMap<LongObject, Item<Object>> _itemMap;
+        HashMap<IntObject, Item<Object>> _streamIdMap;
+        LongObject[] _itemIdObjs;
+        IntObject[] _streamIdObjs;
+        VaPool _longObjectPool = new VaPool(false);
+        VaPool _intObjectPool = new VaPool(false);
+        LongObject _longObjHolder = new LongObject();
+        IntObject _intObjHolder = new IntObject();
+
+        HashMapTables(int slots)
+        {
+            _itemMap = new HashMap<>(slots);
+            _streamIdMap = new HashMap<>(slots);
+            _itemIdObjs = new LongObject[slots];
+            _streamIdObjs = new IntObject[slots];
+        }
+
+        @Override
+        void add(int slot, long handle, int streamId, Item<Object> item)
+        {
+            LongObject itemIdObj = (LongObject)_longObjectPool.poll();
+            if (itemIdObj == null)
+            {
+                itemIdObj = new LongObject();
+                _longObjectPool.updatePool(itemIdObj);
+            }
+            IntObject streamIdObj = (IntObject)_intObjectPool.poll();
+            if (streamIdObj == null)
+            {
+                streamIdObj = new IntObject();
+                _intObjectPool.updatePool(streamIdObj);
+            }
+
+            _itemMap.put(itemIdObj.value(handle), item);
+            _streamIdMap.put(streamIdObj.value(streamId), item);
+            _itemIdObjs[slot] = itemIdObj;
+            _streamIdObjs[slot] = streamIdObj;
+        }
+
+        @Override
+        void remove(int slot, Item<Object> item)
+        {
+            LongObject itemIdObj = _itemIdObjs[slot];
+            IntObject streamIdObj = _streamIdObjs[slot];
+            _itemMap.remove(itemIdObj);
+            _streamIdMap.remove(streamIdObj);
+            itemIdObj.returnToPool();
+            streamIdObj.returnToPool();
+        }
+
+        @Override
+        Item<Object> getByHandle(long handle)
+        {
+            return _itemMap.get(_longObjHolder.value(handle));
+        }
+
+        @Override
+        Item<Object> getByStreamId(int streamId)
+        {
+            return _streamIdMap.get(_intObjHolder.value(streamId));
+        }
+
+        @Override
+        int size()
+        {
+            return _itemMap.size();
+        }
+    }
+
+    static class PrimitiveMapTables extends ItemTables
+    {
+        VaLongHashMap<Item<Object>> _itemMap;
+        VaIntHashMap<Item<Object>> _streamIdMap;
+
+        PrimitiveMapTables(int slots)
+        {
+            _itemMap = new VaLongHashMap<>(slots);
+            _streamIdMap = new VaIntHashMap<>(slots);
+        }
+
+        @Override
+        void add(int slot, long handle, int streamId, Item<Object> item)
+        {
+            item.itemId(handle, streamId);
+            _itemMap.put(handle, item);
+            _streamIdMap.put(streamId, item);
+        }
+
+        @Override
+        void remove(int slot, Item<Object> item)
+        {
+            _itemMap.remove(item._itemId);
+            _streamIdMap.remove(item._mappedStreamId);
+        }
+
+        @Override
+        Item<Object> getByHandle(long handle)
+        {
+            return _itemMap.get(handle);
+        }
+
+        @Override
+        Item<Object> getByStreamId(int streamId)
+        {
+            return _streamIdMap.get(streamId);
+        }
+
+        @Override
+        int size()
+        {
+            return _itemMap.size();
+        }
+    }
+
+    /**
+     * Prints the heap retained by each kind of table with 1M open items,
+     * including the keys held for each item. The items themselves are shared
+     * and not counted.
+     *
+     * @param args unused
+     */
+    public static void main(String[] args)
+    {
+        int handles = 1000000;
+        SingleItem<Object>[] items = createItems(handles);
+
+        long before = usedHeap();
+        HashMapTables hashMapTables = new HashMapTables(handles);
+        for (int i = 0; i < handles; i++)
+            hashMapTables.add(i, i + 1, i + 4, items[i]);
+        _retained = hashMapTables;
+        long hashMapBytes = usedHeap() - before;
+        _retained = null;
+        hashMapTables = null;
+
+        before = usedHeap();
+        PrimitiveMapTables primitiveMapTables = new PrimitiveMapTables(handles);
+        for (int i = 0; i < handles; i++)
+            primitiveMapTables.add(i, i + 1, i + 4, items[i]);
+        _retained = primitiveMapTables;
+        long primitiveMapBytes = usedHeap() - before;
+        _retained = null;
+
+        System.out.println("handles      HashMap<LongObject/IntObject>   VaLongHashMap/VaIntHashMap   (bytes retained, bytes per item)");
+        System.out.printf("%-12d %16d (%5.1f)         %14d (%5.1f)%n", handles,
+                hashMapBytes, hashMapBytes / (double)handles,
+                primitiveMapBytes, primitiveMapBytes / (double)handles);
+    }
+
+    static long usedHeap()
+    {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 4; i++)
+        {
+            System.gc();
+            try
+            {
+                Thread.sleep(50);
+            }
+            catch (InterruptedException e)
+            {
+                Thread.currentThread().interrupt();
+            }
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
@@ -0,0 +1,538 @@
+///*|-----------------------------------------------------------------------------
+// *|            This source code is provided under the Apache 2.0 license      --
+// *|  and is provided AS IS with no warranty or guarantee of fit for purpose.  --
+// *|                See the project's LICENSE.md for details.                  --
+// *|           Copyright (C) 2021 Refinitiv. All rights reserved.            --
+///*|-----------------------------------------------------------------------------
+
+package com.refinitiv.ema.access;
+
+import java.io.IOException;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.util.Iterator;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.refinitiv.ema.rdm.EmaRdm;
+import com.refinitiv.eta.codec.Codec;
+import com.refinitiv.eta.codec.DataStates;
+import com.refinitiv.eta.codec.MsgClasses;
+import com.refinitiv.eta.codec.StateCodes;
+import com.refinitiv.eta.codec.StreamStates;
+import com.refinitiv.eta.rdm.Login;
+import com.refinitiv.eta.transport.BindOptions;
+import com.refinitiv.eta.transport.Error;
+import com.refinitiv.eta.transport.Server;
+import com.refinitiv.eta.transport.Transport;
+import com.refinitiv.eta.transport.TransportFactory;
+import com.refinitiv.eta.valueadd.domainrep.rdm.login.LoginMsgFactory;
+import com.refinitiv.eta.valueadd.domainrep.rdm.login.LoginMsgType;
+import com.refinitiv.eta.valueadd.domainrep.rdm.login.LoginRefresh;
+import com.refinitiv.eta.valueadd.domainrep.rdm.login.LoginRequest;
+import com.refinitiv.eta.valueadd.reactor.DefaultMsgCallback;
+import com.refinitiv.eta.valueadd.reactor.ProviderRole;
+import com.refinitiv.eta.valueadd.reactor.RDMDictionaryMsgCallback;
+import com.refinitiv.eta.valueadd.reactor.RDMDictionaryMsgEvent;
+import com.refinitiv.eta.valueadd.reactor.RDMDirectoryMsgCallback;
+import com.refinitiv.eta.valueadd.reactor.RDMDirectoryMsgEvent;
+import com.refinitiv.eta.valueadd.reactor.RDMLoginMsgCallback;
+import com.refinitiv.eta.valueadd.reactor.RDMLoginMsgEvent;
+import com.refinitiv.eta.valueadd.reactor.Reactor;
+import com.refinitiv.eta.valueadd.reactor.ReactorCallbackReturnCodes;
+import com.refinitiv.eta.valueadd.reactor.ReactorChannel;
+import com.refinitiv.eta.valueadd.reactor.ReactorChannelEvent;
+import com.refinitiv.eta.valueadd.reactor.ReactorChannelEventCallback;
+import com.refinitiv.eta.valueadd.reactor.ReactorChannelEventTypes;
+import com.refinitiv.eta.valueadd.reactor.ReactorDispatchOptions;
+import com.refinitiv.eta.valueadd.reactor.ReactorErrorInfo;
+import com.refinitiv.eta.valueadd.reactor.ReactorFactory;
+import com.refinitiv.eta.valueadd.reactor.ReactorMsgEvent;
+import com.refinitiv.eta.valueadd.reactor.ReactorReturnCodes;
+import com.refinitiv.eta.valueadd.reactor.ReactorSubmitOptions;
+
+/**
+ * Measures the rate of updates an OmmNiProvider publishes as the number of
+ * threads submitting them grows, with and without its SubmitQueueSize.
+ *
+ * For each submit queue size and publisher count, a non-interactive provider
+ * connects to a minimal ADH running in the same process, refreshes the given
+ * number of items and publishers then submit updates round robin to their
+ * share of the items for the given time. The ADH counts the updates it
+ * receives, and checks that the sequence numbers of the updates of each item
+ * arrive in the order they were submitted.
+ *
+ * The ADH runs in the same process, so the results are only meaningful on a
+ * host with more cores than publishers plus two, e.g. gradlew :Ema:Benchmarks:runMain
+ * -PmainClass=com.refinitiv.ema.access.NiProviderSubmitQueueBenchmark
+ * --args="-submitQueueSizes 0,4096 -publishers 1,2,4,8 -items 1000 -runTime 10"
+ */
+public class NiProviderSubmitQueueBenchmark
+{
+    static final int PORT = 14040;
+    static final String SERVICE_NAME = "NI_PUB";
+
+    int[] _submitQueueSizes = {0, 4096};
+    int[] _publisherCounts = {1, 2, 4, 8};
+    int _itemCount = 1000;
+    int _runTime = 10;
+
+    /*
+     * Minimal ADH: accepts the login of the provider, and counts the refreshes
+     * and updates of the items. Item stream ids of the provider are negative,
+     * starting from -1.
+     */
+    static class Adh implements Runnable, ReactorChannelEventCallback, DefaultMsgCallback,
+            RDMLoginMsgCallback, RDMDirectoryMsgCallback, RDMDictionaryMsgCallback
+    {
+        Reactor _reactor;
+        Server _server;
+        Selector _selector;
+        ProviderRole _providerRole = ReactorFactory.createProviderRole();
+        ReactorErrorInfo _errorInfo = ReactorFactory.createReactorErrorInfo();
+        ReactorDispatchOptions _dispatchOptions = ReactorFactory.createReactorDispatchOptions();
+        ReactorSubmitOptions _submitOptions = ReactorFactory.createReactorSubmitOptions();
+        LoginRefresh _loginRefresh = (LoginRefresh)LoginMsgFactory.createMsg();
+        volatile boolean _running = true;
+
+        AtomicLong _refreshes = new AtomicLong();
+        AtomicLong _updates = new AtomicLong();
+        AtomicLong _outOfOrder = new AtomicLong();
+        long[] _lastSeqNums;
+
+        Adh(int itemCount) throws IOException
+        {
+            _lastSeqNums = new long[itemCount + 1];
+            _loginRefresh.rdmMsgType(LoginMsgType.REFRESH);
+
+            _providerRole.channelEventCallback(this);
+            _providerRole.defaultMsgCallback(this);
+            _providerRole.loginMsgCallback(this);
+            _providerRole.directoryMsgCallback(this);
+            _providerRole.dictionaryMsgCallback(this);
+
+            _reactor = ReactorFactory.createReactor(ReactorFactory.createReactorOptions(), _errorInfo);
+            if (_reactor == null)
+                throw new IllegalStateException("Failed to create Reactor: " + _errorInfo.error().text());
+
+            Error error = TransportFactory.createError();
+            BindOptions bindOptions = TransportFactory.createBindOptions();
+            bindOptions.guaranteedOutputBuffers(1000);
+            bindOptions.majorVersion(Codec.majorVersion());
+            bindOptions.minorVersion(Codec.minorVersion());
+            bindOptions.protocolType(Codec.protocolType());
+            bindOptions.serviceName(Integer.toString(PORT));
+            _server = Transport.bind(bindOptions, error);
+            if (_server == null)
+                throw new IllegalStateException("Failed to bind port " + PORT + ": " + error.text());
+
+            _selector = Selector.open();
+            _server.selectableChannel().register(_selector, SelectionKey.OP_ACCEPT, _server);
+            _reactor.reactorChannel().selectableChannel().register(_selector, SelectionKey.OP_READ, _reactor.reactorChannel());
+        }
+
+        void reset()
+        {
+            _refreshes.set(0);
+            _updates.set(0);
+            _outOfOrder.set(0);
+            for (int i = 0; i < _lastSeqNums.length; i++)
+                _lastSeqNums[i] = 0;
+        }
+
+        @Override
+        public void run()
+        {
+            try
+            {
+                while (_running)
+                {
+                    if (_selector.select(100) == 0)
+                        continue;
+
+                    Iterator<SelectionKey> iter = _selector.selectedKeys().iterator();
+                    while (iter.hasNext())
+                    {
+                        SelectionKey key = iter.next();
+                        iter.remove();
+                        if (!key.isValid())
+                            continue;
+
+                        if (key.isAcceptable())
+                        {
+                            _reactor.accept(_server, ReactorFactory.createReactorAcceptOptions(), _providerRole, _errorInfo);
+                        }
+                        else if (key.isReadable())
+                        {
+                            ReactorChannel reactorChannel = (ReactorChannel)key.attachment();
+                            while (reactorChannel.dispatch(_dispatchOptions, _errorInfo) > ReactorReturnCodes.SUCCESS);
+                        }
+                    }
+                }
+            }
+            catch (IOException e)
+            {
+                System.out.println("ADH select failed: " + e.getMessage());
+            }
+            finally
+            {
+                _reactor.shutdown(_errorInfo);
+                _server.close(TransportFactory.createError());
+            }
+        }
+
+        @Override
+        public int reactorChannelEventCallback(ReactorChannelEvent event)
+        {
+            ReactorChannel reactorChannel = event.reactorChannel();
+            try
+            {
+                switch (event.eventType())
+                {
+                    case ReactorChannelEventTypes.CHANNEL_UP:
+                        reactorChannel.selectableChannel().register(_selector, SelectionKey.OP_READ, reactorChannel);
+                        break;
+                    case ReactorChannelEventTypes.FD_CHANGE:
+                        SelectionKey key = reactorChannel.oldSelectableChannel().keyFor(_selector);
+                        if (key != null)
+                            key.cancel();
+                        reactorChannel.selectableChannel().register(_selector, SelectionKey.OP_READ, reactorChannel);
+                        break;
+                    case ReactorChannelEventTypes.CHANNEL_DOWN:
+                        if (reactorChannel.selectableChannel() != null)
+                        {
+                            SelectionKey downKey = reactorChannel.selectableChannel().keyFor(_selector);
+                            if (downKey != null)
+                                downKey.cancel();
+                        }
+                        reactorChannel.close(_errorInfo);
+                        break;
+                    default:
+                        break;
+                }
+            }
+            catch (IOException e)
+            {
+                System.out.println("ADH selector register failed: " + e.getMessage());
+            }
+            return ReactorCallbackReturnCodes.SUCCESS;
+        }
+
+        @Override
+        public int rdmLoginMsgCallback(RDMLoginMsgEvent event)
+        {
+            if (event.rdmLoginMsg() == null || event.rdmLoginMsg().rdmMsgType() != LoginMsgType.REQUEST)
+                return ReactorCallbackReturnCodes.SUCCESS;
+
+            LoginRequest loginRequest = (LoginRequest)event.rdmLoginMsg();
+            _loginRefresh.clear();
+            _loginRefresh.rdmMsgType(LoginMsgType.REFRESH);
+            _loginRefresh.streamId(loginRequest.streamId());
+            _loginRefresh.applyHasUserName();
+            _loginRefresh.userName().data(loginRequest.userName().data(), loginRequest.userName().position(), loginRequest.userName().length());
+            _loginRefresh.applyHasUserNameType();
+            _loginRefresh.userNameType(Login.UserIdTypes.NAME);
+            _loginRefresh.state().code(StateCodes.NONE);
+            _loginRefresh.state().dataState(DataStates.OK);
+            _loginRefresh.state().streamState(StreamStates.OPEN);
+            _loginRefresh.state().text().data("Login accepted");
+            _loginRefresh.applySolicited();
+            event.reactorChannel().submit(_loginRefresh, _submitOptions, _errorInfo);
+            return ReactorCallbackReturnCodes.SUCCESS;
+        }
+
+        @Override
+        public int rdmDirectoryMsgCallback(RDMDirectoryMsgEvent event)
+        {
+            return ReactorCallbackReturnCodes.SUCCESS;
+        }
+
+        @Override
+        public int rdmDictionaryMsgCallback(RDMDictionaryMsgEvent event)
+        {
+            return ReactorCallbackReturnCodes.SUCCESS;
+        }
+
+        @Override
+        public int defaultMsgCallback(ReactorMsgEvent event)
+        {
+            com.refinitiv.eta.codec.Msg msg = event.msg();
+            if (msg == null)
+                return ReactorCallbackReturnCodes.SUCCESS;
+
+            int item = -msg.streamId();
+            switch (msg.msgClass())
+            {
+                case MsgClasses.REFRESH:
+                    _refreshes.incrementAndGet();
+                    break;
+                case MsgClasses.UPDATE:
+                    com.refinitiv.eta.codec.UpdateMsg updateMsg = (com.refinitiv.eta.codec.UpdateMsg)msg;
+                    if (item > 0 && item < _lastSeqNums.length && updateMsg.checkHasSeqNum())
+                    {
+                        if (updateMsg.seqNum() != _lastSeqNums[item] + 1)
+                            _outOfOrder.incrementAndGet();
+                        _lastSeqNums[item] = updateMsg.seqNum();
+                    }
+                    _updates.incrementAndGet();
+                    break;
+                default:
+                    break;
+            }
+            return ReactorCallbackReturnCodes.SUCCESS;
+        }
+    }
+
+    /* Submits updates round robin to the items of its share of the handles, numbering the updates of each item. */
+    static class Publisher implements Runnable
+    {
+        OmmProvider _provider;
+        long[] _handles;
+        long[] _seqNums;
+        volatile boolean _running = true;
+        long _submitted;
+        long _rejected;
+
+        Publisher(OmmProvider provider, long[] handles)
+        {
+            _provider = provider;
+            _handles = handles;
+            _seqNums = new long[handles.length];
+        }
+
+        @Override
+        public void run()
+        {
+            FieldList fieldList = EmaFactory.createFieldList();
+            UpdateMsg updateMsg = EmaFactory.createUpdateMsg();
+
+            long submitted = 0;
+            long rejected = 0;
+            while (_running)
+            {
+                for (int i = 0; i < _handles.length; i++)
+                {
+                    fieldList.clear();
+                    fieldList.add(EmaFactory.createFieldEntry().real(22, 3991 + i, OmmReal.MagnitudeType.EXPONENT_NEG_2));
+                    fieldList.add(EmaFactory.createFieldEntry().real(25, 3995 + i, OmmReal.MagnitudeType.EXPONENT_NEG_2));
+                    fieldList.add(EmaFactory.createFieldEntry().real(30, 10, OmmReal.MagnitudeType.EXPONENT_0));
+                    fieldList.add(EmaFactory.createFieldEntry().real(31, 19, OmmReal.MagnitudeType.EXPONENT_0));
+                    updateMsg.clear();
+                    updateMsg.seqNum(_seqNums[i] + 1).payload(fieldList);
+                    try
+                    {
+                        _provider.submit(updateMsg, _handles[i]);
+                        ++_seqNums[i];
+                    }
+                    catch (OmmException excp)
+                    {
+                        ++rejected;
+                    }
+                }
+                submitted += _handles.length;
+            }
+            _submitted = submitted;
+            _rejected = rejected;
+        }
+    }
+
+    void run() throws InterruptedException, IOException
+    {
+        System.out.printf("items %d, run time %d sec%n", _itemCount, _runTime);
+        System.out.println("submitQueueSize   publishers   submitted/sec   received/sec   rejected   outOfOrder");
+
+        Adh adh = new Adh(_itemCount);
+        Thread adhThread = new Thread(adh, "ADH");
+        adhThread.start();
+
+        try
+        {
+            for (int submitQueueSize : _submitQueueSizes)
+            {
+                for (int publisherCount : _publisherCounts)
+                    runOnce(adh, submitQueueSize, publisherCount);
+            }
+        }
+        finally
+        {
+            adh._running = false;
+            adhThread.join();
+        }
+    }
+
+    void runOnce(Adh adh, int submitQueueSize, int publisherCount) throws InterruptedException
+    {
+        adh.reset();
+        OmmProvider provider = EmaFactory.createOmmProvider(EmaFactory.createOmmNiProviderConfig()
+                .config(providerConfig(submitQueueSize)).username("user"));
+
+        try
+        {
+            RefreshMsg refreshMsg = EmaFactory.createRefreshMsg();
+            FieldList fieldList = EmaFactory.createFieldList();
+            for (int i = 1; i <= _itemCount; i++)
+            {
+                fieldList.clear();
+                fieldList.add(EmaFactory.createFieldEntry().real(22, 3990, OmmReal.MagnitudeType.EXPONENT_NEG_2));
+                fieldList.add(EmaFactory.createFieldEntry().real(25, 3994, OmmReal.MagnitudeType.EXPONENT_NEG_2));
+                refreshMsg.clear();
+                refreshMsg.serviceName(SERVICE_NAME).name("RIC" + i)
+                    .state(OmmState.StreamState.OPEN, OmmState.DataState.OK, OmmState.StatusCode.NONE, "UnSolicited Refresh Completed")
+                    .payload(fieldList).complete(true);
+                provider.submit(refreshMsg, i);
+            }
+
+            long deadline = System.currentTimeMillis() + 30000;
+            while (adh._refreshes.get() < _itemCount && System.currentTimeMillis() < deadline)
+                Thread.sleep(100);
+            if (adh._refreshes.get() < _itemCount)
+                throw new IllegalStateException("Only " + adh._refreshes.get() + " of " + _itemCount + " items were refreshed");
+
+            Publisher[] publishers = new Publisher[publisherCount];
+            Thread[] threads = new Thread[publisherCount];
+            for (int i = 0; i < publisherCount; i++)
+            {
+                int shareCount = 0;
+                for (int j = i; j < _itemCount; j += publisherCount)
+                    ++shareCount;
+                long[] shareHandles = new long[shareCount];
+                for (int j = i, k = 0; j < _itemCount; j += publisherCount, k++)
+                    shareHandles[k] = j + 1;
+                publishers[i] = new Publisher(provider, shareHandles);
+                threads[i] = new Thread(publishers[i], "Publisher-" + i);
+            }
+
+            long startTime = System.nanoTime();
+            for (Thread thread : threads)
+                thread.start();
+            Thread.sleep(_runTime * 1000L);
+            for (Publisher publisher : publishers)
+                publisher._running = false;
+
+            long submitted = 0;
+            long rejected = 0;
+            for (int i = 0; i < publisherCount; i++)
+            {
+                threads[i].join();
+                submitted += publishers[i]._submitted;
+                rejected += publishers[i]._rejected;
+            }
+            double seconds = (System.nanoTime() - startTime) / 1e9;
+
+            // let the ADH read what was written before the provider went away
+            long received = -1;
+            while (received != adh._updates.get())
+            {
+                received = adh._updates.get();
+                Thread.sleep(500);
+            }
+
+            System.out.printf("%-17d %-12d %13.0f %14.0f %10d %12d%n", submitQueueSize, publisherCount,
+                    (submitted - rejected) / seconds, received / seconds, rejected, adh._outOfOrder.get());
+        }
+        finally
+        {
+            provider.uninitialize();
+            Thread.sleep(500);
+        }
+    }
+
+    static Map providerConfig(int submitQueueSize)
+    {
+        Map configMap = EmaFactory.createMap();
+        Map innerMap = EmaFactory.createMap();
+        ElementList elementList = EmaFactory.createElementList();
+        ElementList innerElementList = EmaFactory.createElementList();
+
+        elementList.add(EmaFactory.createElementEntry().ascii("DefaultNiProvider", "Provider_1"));
+        innerElementList.add(EmaFactory.createElementEntry().ascii("Channel", "Channel_1"));
+        innerElementList.add(EmaFactory.createElementEntry().ascii("Directory", "Directory_1"));
+        innerElementList.add(EmaFactory.createElementEntry().intValue("SubmitQueueSize", submitQueueSize));
+        innerMap.add(EmaFactory.createMapEntry().keyAscii("Provider_1", MapEntry.MapAction.ADD, innerElementList));
+        innerElementList.clear();
+        elementList.add(EmaFactory.createElementEntry().map("NiProviderList", innerMap));
+        innerMap.clear();
+        configMap.add(EmaFactory.createMapEntry().keyAscii("NiProviderGroup", MapEntry.MapAction.ADD, elementList));
+        elementList.clear();
+
+        innerElementList.add(EmaFactory.createElementEntry().ascii("ChannelType", "ChannelType::RSSL_SOCKET"));
+        innerElementList.add(EmaFactory.createElementEntry().ascii("Host", "localhost"));
+        innerElementList.add(EmaFactory.createElementEntry().ascii("Port", Integer.toString(PORT)));
+        innerElementList.add(EmaFactory.createElementEntry().intValue("GuaranteedOutputBuffers", 5000));
+        innerElementList.add(EmaFactory.createElementEntry().intValue("TcpNodelay", 0));
+        innerMap.add(EmaFactory.createMapEntry().keyAscii("Channel_1", MapEntry.MapAction.ADD, innerElementList));
+        innerElementList.clear();
+        elementList.add(EmaFactory.createElementEntry().map("ChannelList", innerMap));
+        innerMap.clear();
+        configMap.add(EmaFactory.createMapEntry().keyAscii("ChannelGroup", MapEntry.MapAction.ADD, elementList));
+        elementList.clear();
+
+        Map serviceMap = EmaFactory.createMap();
+        innerElementList.add(EmaFactory.createElementEntry().intValue("ServiceId", 1));
+        OmmArray array = EmaFactory.createOmmArray();
+        array.add(EmaFactory.createOmmArrayEntry().ascii("MMT_MARKET_PRICE"));
+        innerElementList.add(EmaFactory.createElementEntry().array("Capabilities", array));
+        elementList.add(EmaFactory.createElementEntry().elementList("InfoFilter", innerElementList));
+        innerElementList.clear();
+        innerElementList.add(EmaFactory.createElementEntry().intValue("ServiceState", 1));
+        innerElementList.add(EmaFactory.createElementEntry().intValue("AcceptingRequests", 1));
+        elementList.add(EmaFactory.createElementEntry().elementList("StateFilter", innerElementList));
+        innerElementList.clear();
+        serviceMap.add(EmaFactory.createMapEntry().keyAscii(SERVICE_NAME, MapEntry.MapAction.ADD, elementList));
+        elementList.clear();
+        innerMap.add(EmaFactory.createMapEntry().keyAscii("Directory_1", MapEntry.MapAction.ADD, serviceMap));
+        elementList.add(EmaFactory.createElementEntry().ascii("DefaultDirectory", "Directory_1"));
+        elementList.add(EmaFactory.createElementEntry().map("DirectoryList", innerMap));
+        configMap.add(EmaFactory.createMapEntry().keyAscii("DirectoryGroup", MapEntry.MapAction.ADD, elementList));
+
+        return configMap;
+    }
+
+    static int[] parseCounts(String arg)
+    {
+        String[] values = arg.split(",");
+        int[] counts = new int[values.length];
+        for (int i = 0; i < values.length; i++)
+            counts[i] = Integer.parseInt(values[i].trim());
+        return counts;
+    }
+
+    void parseArgs(String[] args)
+    {
+        for (int i = 0; i + 1 < args.length; i += 2)
+        {
+            switch (args[i])
+            {
+                case "-submitQueueSizes":
+                    _submitQueueSizes = parseCounts(args[i + 1]);
+                    break;
+                case "-publishers":
+                    _publisherCounts = parseCounts(args[i + 1]);
+                    break;
+                case "-items":
+                    _itemCount = Integer.parseInt(args[i + 1]);
+                    break;
+                case "-runTime":
+                    _runTime = Integer.parseInt(args[i + 1]);
+                    break;
+                default:
+                    throw new IllegalArgumentException("Unknown option " + args[i]);
+            }
+        }
+    }
+
+    /**
+     * Runs the benchmark for each submit queue size and publisher count.
+     *
+     * @param args -submitQueueSizes list of sizes, 0 for the locked submit path,
+     *             -publishers list of publisher thread counts, -items and -runTime in seconds
+     * @throws InterruptedException if interrupted while waiting for the publishers
+     * @throws IOException if the ADH fails to open its selector
+     */
+    public static void main(String[] args) throws InterruptedException, IOException
+    {
+        NiProviderSubmitQueueBenchmark benchmark = new NiProviderSubmitQueueBenchmark();
+        benchmark.parseArgs(args);
+        benchmark.run();
+        System.exit(0);
+    }
+}
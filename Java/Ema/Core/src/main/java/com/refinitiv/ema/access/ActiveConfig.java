@@ -44,6 +44,7 @@ abstract class ActiveConfig extends BaseConfig
 	final static String DEFAULT_INTERFACE_NAME					= "" ;
 	final static int DEFAULT_LOGIN_REQUEST_TIMEOUT              = 45000;
 	final static int DEFAULT_MAX_OUTSTANDING_POSTS				= 100000;
+	final static int DEFAULT_ITEM_CACHE_MAX_ITEMS				= 0;
 	final static boolean DEFAULT_MSGKEYINUPDATES				= true;
 	final static int DEFAULT_OBEY_OPEN_WINDOW					= 1;
 	final static int DEFAULT_PIPE_PORT							= 9001;
@@ -91,6 +92,7 @@ abstract class ActiveConfig extends BaseConfig
 	int						obeyOpenWindow;
 	int						postAckTimeout;
 	int						maxOutstandingPosts;
+	int						itemCacheMaxItems;
 	int						loginRequestTimeOut;
 	int						directoryRequestTimeOut;
 	int						dictionaryRequestTimeOut;
@@ -123,6 +125,7 @@ abstract class ActiveConfig extends BaseConfig
 		 obeyOpenWindow = DEFAULT_OBEY_OPEN_WINDOW;
 		 postAckTimeout = DEFAULT_POST_ACK_TIMEOUT;
 		 maxOutstandingPosts = DEFAULT_MAX_OUTSTANDING_POSTS;
+		 itemCacheMaxItems = DEFAULT_ITEM_CACHE_MAX_ITEMS;
 		 loginRequestTimeOut = DEFAULT_LOGIN_REQUEST_TIMEOUT;
 		 directoryRequestTimeOut = DEFAULT_DIRECTORY_REQUEST_TIMEOUT;
 		 dictionaryRequestTimeOut = DEFAULT_DICTIONARY_REQUEST_TIMEOUT;
@@ -149,6 +152,7 @@ abstract class ActiveConfig extends BaseConfig
 		obeyOpenWindow = DEFAULT_OBEY_OPEN_WINDOW;
 		postAckTimeout = DEFAULT_POST_ACK_TIMEOUT;
 		maxOutstandingPosts = DEFAULT_MAX_OUTSTANDING_POSTS;
+		itemCacheMaxItems = DEFAULT_ITEM_CACHE_MAX_ITEMS;
 		loginRequestTimeOut = DEFAULT_LOGIN_REQUEST_TIMEOUT;
 		directoryRequestTimeOut = DEFAULT_DIRECTORY_REQUEST_TIMEOUT;
 		dictionaryRequestTimeOut = DEFAULT_DICTIONARY_REQUEST_TIMEOUT;
@@ -178,6 +182,7 @@ abstract class ActiveConfig extends BaseConfig
 		traceStr.append("\n\t obeyOpenWindow: ").append(obeyOpenWindow) 
 		.append("\n\t postAckTimeout: ").append(postAckTimeout) 
 		.append("\n\t maxOutstandingPosts: ").append(maxOutstandingPosts) 
+		.append("\n\t itemCacheMaxItems: ").append(itemCacheMaxItems) 
 		.append("\n\t userDispatch: ").append(userDispatch) 
 		.append("\n\t reconnectAttemptLimit: ").append(reconnectAttemptLimit) 
 		.append("\n\t reconnectMinDelay: ").append(reconnectMinDelay) 
@@ -24,6 +24,7 @@ abstract class ActiveServerConfig extends BaseConfig
 	final static int DEFAULT_CONNECTION_MINPINGTIMEOUT            = 20000;
 	final static int DEFAULT_SERVER_SYS_SEND_BUFFER_SIZE		  = 65535;
 	final static int DEFAULT_SERVER_SYS_RECEIVE_BUFFER_SIZE		  = 65535;
+	final static int DEFAULT_REACTOR_THREAD_COUNT                 = 1;
 	
 	ServerConfig                           serverConfig;
 	static String                          defaultServiceName;
@@ -35,6 +36,7 @@ abstract class ActiveServerConfig extends BaseConfig
 	boolean                                acceptMessageThatChangesService;
 	boolean                                acceptMessageWithoutQosInRange;
 	boolean                                enforceAckIDValidation;
+	int                                    reactorThreadCount;
 	
 	private LongObject							         serviceId = new LongObject();
 	private HashMap<LongObject, ServiceDictionaryConfig> serviceDictionaryConfigMap;
@@ -52,6 +54,7 @@ abstract class ActiveServerConfig extends BaseConfig
 		acceptMessageThatChangesService = DEFAULT_ACCEPT_MSG_THAT_CHANGES_SERVICE;
 		acceptMessageWithoutQosInRange = DEFAULT_ACCEPT_MSG_WITHOUT_QOS_IN_RANGE;
 		enforceAckIDValidation = DEFAULT_ENFORCE_ACK_ID_VALIDATION;
+		reactorThreadCount = DEFAULT_REACTOR_THREAD_COUNT;
 	}
 	
 	void clear()
@@ -64,6 +67,7 @@ abstract class ActiveServerConfig extends BaseConfig
 		acceptMessageThatChangesService = DEFAULT_ACCEPT_MSG_THAT_CHANGES_SERVICE;
 		acceptMessageWithoutQosInRange = DEFAULT_ACCEPT_MSG_WITHOUT_QOS_IN_RANGE;
 		enforceAckIDValidation = DEFAULT_ENFORCE_ACK_ID_VALIDATION;
+		reactorThreadCount = DEFAULT_REACTOR_THREAD_COUNT;
 		serviceDictionaryConfigMap.clear();
 	}
 	
@@ -77,7 +81,8 @@ abstract class ActiveServerConfig extends BaseConfig
 				.append("\n\t acceptMessageSameKeyButDiffStream: ").append(acceptMessageSameKeyButDiffStream)
 				.append("\n\t acceptMessageThatChangesService: ").append(acceptMessageThatChangesService)
 				.append("\n\t acceptMessageWithoutQosInRange: ").append(acceptMessageWithoutQosInRange)
-				.append("\n\t enforceAckIDValidation: ").append(enforceAckIDValidation);
+				.append("\n\t enforceAckIDValidation: ").append(enforceAckIDValidation)
+				.append("\n\t reactorThreadCount: ").append(reactorThreadCount);
 
 		return traceStr;
 	}
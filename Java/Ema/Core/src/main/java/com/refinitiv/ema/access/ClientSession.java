@@ -21,6 +21,7 @@ class ClientSession extends VaNode
 {
     private LongObject _clientHandle;
     private ReactorChannel _rsslReactorChannel;
+    private ServerReactorThread _reactorThread;
     private HashMap<LongObject, ItemInfo>	_itemInfoByStreamIdMap;
     private HashMap<LongObject, HashMap<Buffer, ArrayList<ItemInfo>>>_serviceGroupIdToItemInfoMap;
     private HashSet<ItemInfo>  _itemInfoByItemInfoSet = null;
@@ -53,6 +54,21 @@ class ClientSession extends VaNode
         _removingInCloseAll = false;
     }
 
+    /* Sets the provider of a session taken from the pool, which is shared by the providers. */
+    void ommServerBaseImpl(OmmServerBaseImpl ommServerBaseImpl)
+    {
+    	_ommServerBaseImpl = ommServerBaseImpl;
+    	
+    	if (_ommServerBaseImpl.activeConfig().acceptMessageSameKeyButDiffStream)
+    	{
+    		_itemInfoByItemInfoSet = null;
+    	}
+    	else if (_itemInfoByItemInfoSet == null)
+    	{
+    		_itemInfoByItemInfoSet = new HashSet<ItemInfo>(_ommServerBaseImpl.activeConfig().itemCountHint);
+    	}
+    }
+
     LongObject clientHandle()
     {
         return _clientHandle;
@@ -71,6 +87,17 @@ class ClientSession extends VaNode
         return _rsslReactorChannel;
     }
 
+    /* The thread dispatching the channel when ReactorThreadCount is greater than 1, null otherwise. */
+    void reactorThread(ServerReactorThread reactorThread)
+    {
+        _reactorThread = reactorThread;
+    }
+
+    ServerReactorThread reactorThread()
+    {
+        return _reactorThread;
+    }
+
     void addItemInfo(ItemInfo itemInfo)
     {
     	_itemInfoByStreamIdMap.put(itemInfo.streamId(), itemInfo);
@@ -249,6 +276,7 @@ class ClientSession extends VaNode
     	}
     	
         _rsslReactorChannel = null;
+        _reactorThread = null;
         _isLogin = false;
         _removingInCloseAll = false;
     }
@@ -257,6 +285,7 @@ class ClientSession extends VaNode
     public void returnToPool()
     {
 		_rsslReactorChannel = null;
+		_reactorThread = null;
     	
     	super.returnToPool();
     }
@@ -18,6 +18,13 @@ abstract class CollectionDataImpl extends DataImpl implements ComplexType
 {
 	protected final static int ENCODE_RSSL_BUFFER_INIT_SIZE = 4096;
 	
+	// The entries of a container are encoded as they are added, until the header of the
+	// container changes after the first one or an entry fails to encode. The container
+	// is then encoded from its collection of entries when its encoded data is requested.
+	protected final static int ENCODE_STREAM_NOT_STARTED = 0;
+	protected final static int ENCODE_STREAMING = 1;
+	protected final static int ENCODE_COLLECTED = 2;
+	
 	private OmmInvalidUsageExceptionImpl	_ommIUExcept;
 	private OmmOutOfRangeExceptionImpl 	_ommOORExcept;
 	protected com.refinitiv.eta.codec.DataDictionary _rsslDictionary;
@@ -27,6 +34,8 @@ abstract class CollectionDataImpl extends DataImpl implements ComplexType
 	protected boolean _fillCollection;
 	protected com.refinitiv.eta.codec.EncodeIterator _rsslEncodeIter;
 	boolean _encodeComplete;
+	int _encodeStreamState = ENCODE_STREAM_NOT_STARTED;
+	private ByteBuffer _pooledEncodeData;
 	protected int _errorCode = ErrorCode.NO_ERROR;
 	protected StringBuilder _errorString;
 	
@@ -46,6 +55,7 @@ abstract class CollectionDataImpl extends DataImpl implements ComplexType
 	void clear()
 	{
 		_encodeComplete = false;
+		_encodeStreamState = ENCODE_STREAM_NOT_STARTED;
 		
 		_rsslEncodeIter.clear();
 		ByteBuffer data = _rsslBuffer.data();
@@ -58,6 +68,68 @@ abstract class CollectionDataImpl extends DataImpl implements ComplexType
 			_rsslBuffer.clear();
 	}
 
+	boolean streamEncodeEnabled()
+	{
+		return _rsslEncodeIter != null && !_encodeComplete && _encodeStreamState != ENCODE_COLLECTED;
+	}
+	
+	/* Drops the entries encoded so far; the collected entries are encoded by encodedData(). */
+	void stopStreamEncode()
+	{
+		if (!streamEncodeEnabled())
+			return;
+		
+		_encodeStreamState = ENCODE_COLLECTED;
+		_rsslEncodeIter.clear();
+		ByteBuffer data = _rsslBuffer.data();
+		data.clear();
+		_rsslBuffer.data(data);
+	}
+	
+	/* Called by the header setters, the header is encoded with the first entry. */
+	void headerChanged()
+	{
+		if (_encodeStreamState == ENCODE_STREAMING)
+			stopStreamEncode();
+	}
+	
+	/* Moves the encoding done so far to a pooled buffer twice as large. */
+	void growEncodeBuffer()
+	{
+		Buffer bigBuffer = acquireEncodeBuffer();
+		_rsslEncodeIter.realignBuffer(bigBuffer);
+		replaceEncodeBuffer(bigBuffer);
+	}
+	
+	/* Replaces the buffer with a pooled buffer twice as large, the encoding starts over. */
+	void enlargeEncodeBuffer()
+	{
+		replaceEncodeBuffer(acquireEncodeBuffer());
+	}
+	
+	private Buffer acquireEncodeBuffer()
+	{
+		Buffer bigBuffer = CodecFactory.createBuffer();
+		GlobalPool.lock();
+		bigBuffer.data(GlobalPool.acquireEncodeBuffer(_rsslBuffer.capacity() * 2));
+		GlobalPool.unlock();
+		return bigBuffer;
+	}
+	
+	/* The previous buffer only held a partial encoding, so it goes back to the pool if it came from there. */
+	private void replaceEncodeBuffer(Buffer bigBuffer)
+	{
+		if (_pooledEncodeData != null && _rsslBuffer.data() == _pooledEncodeData)
+		{
+			GlobalPool.lock();
+			GlobalPool.releaseEncodeBuffer(_pooledEncodeData);
+			GlobalPool.unlock();
+		}
+		
+		_rsslBuffer = bigBuffer;
+		_pooledEncodeData = bigBuffer.data();
+	}
+
 	OmmInvalidUsageExceptionImpl ommIUExcept()
 	{
 		if (_ommIUExcept == null)
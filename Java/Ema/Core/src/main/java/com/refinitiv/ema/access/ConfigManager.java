@@ -114,6 +114,7 @@ class ConfigManager
 	public static final int CatchUnknownJsonFids = 52;
 	public static final int CatchUnknownJsonKeys = 53;
 	public static final int CloseChannelFromConverterFailure = 54;
+	public static final int ItemCacheMaxItems = 55;
 
 	// Channel: Global
 	public static final int ChannelGroup = 100;
@@ -192,6 +193,7 @@ class ConfigManager
 	public static final int NiProviderMergeSourceDirectoryStreams = 508;
 	public static final int NiProviderRecoverUserSubmitSourceDirectory = 509;
 	public static final int NiProviderRemoveItemsOnDisconnect = 510;
+	public static final int NiProviderSubmitQueueSize = 511;
 	
 	// Directory
 	public static final int DirectoryGroup = 600;
@@ -251,6 +253,7 @@ class ConfigManager
 	public static final int IProviderAcceptMessageThatChangesService = 812;
 	public static final int IProviderAcceptMessageWithoutQosInRange = 813;
 	public static final int IProviderEnforceAckIDValidation = 814;
+	public static final int IProviderReactorThreadCount = 815;
 	
 	// Server: Global
 	public static final int ServerGroup = 900;
@@ -309,6 +312,7 @@ class ConfigManager
 		ConsumerTagDict.add( "DictionaryRequestTimeOut",DictionaryRequestTimeOut );
 		ConsumerTagDict.add( "DirectoryRequestTimeOut",DirectoryRequestTimeOut );
 		ConsumerTagDict.add( "DispatchTimeoutApiThread",DispatchTimeoutApiThread );
+		ConsumerTagDict.add( "ItemCacheMaxItems",ItemCacheMaxItems );
 		ConsumerTagDict.add( "ItemCountHint",ItemCountHint );
 		ConsumerTagDict.add( "LoginRequestTimeOut",LoginRequestTimeOut );
 		ConsumerTagDict.add( "MaxDispatchCountApiThread",MaxDispatchCountApiThread );
@@ -428,6 +432,7 @@ class ConfigManager
 		NiProviderTagDict.add( "MergeSourceDirectoryStreams", NiProviderMergeSourceDirectoryStreams);
 		NiProviderTagDict.add( "RecoverUserSubmitSourceDirectory", NiProviderRecoverUserSubmitSourceDirectory);
 		NiProviderTagDict.add( "RemoveItemsOnDisconnect", NiProviderRemoveItemsOnDisconnect);
+		NiProviderTagDict.add( "SubmitQueueSize", NiProviderSubmitQueueSize);
 		NiProviderTagDict.add( "MsgKeyInUpdates",MsgKeyInUpdates );
 		NiProviderTagDict.add( "ReconnectAttemptLimit",ReconnectAttemptLimit );		
 		NiProviderTagDict.add( "ReconnectMaxDelay",ReconnectMaxDelay );
@@ -512,6 +517,7 @@ class ConfigManager
 		IProviderTagDict.add( "AcceptMessageThatChangesService", IProviderAcceptMessageThatChangesService);
 		IProviderTagDict.add( "AcceptMessageWithoutQosInRange", IProviderAcceptMessageWithoutQosInRange);
 		IProviderTagDict.add( "EnforceAckIDValidation", IProviderEnforceAckIDValidation );
+		IProviderTagDict.add( "ReactorThreadCount", IProviderReactorThreadCount );
 		IProviderTagDict.add( "FieldDictionaryFragmentSize", DictionaryFieldDictFragmentSize);
 		IProviderTagDict.add( "EnumTypeFragmentSize", DictionaryEnumTypeFragmentSize);
 		IProviderTagDict.add( "XmlTraceFileName",XmlTraceFileName );		
@@ -726,6 +732,7 @@ class ConfigManager
 		"HsmInterval",
 		"IncludeDateInLoggerOutput",
 		"InitializationTimeout",
+		"ItemCacheMaxItems",
 		"ItemCountHint",
 		"IsSource",
 		"LoginRequestTimeOut",
@@ -743,6 +750,7 @@ class ConfigManager
 		"pktPoolLimitHigh",
 		"pktPoolLimitLow",
 		"PostAckTimeout",
+		"ReactorThreadCount",
 		"RecoverUserSubmitSourceDirectory",
 		"RefreshFirstRequired",
 		"RemoveItemsOnDisconnect",
@@ -751,6 +759,7 @@ class ConfigManager
 		"ServiceCountHint",
 		"ServiceId",
 		"ServiceState",
+		"SubmitQueueSize",
 		"SupportsOutOfBandSnapshots",
 		"SupportsQoSRange",
 		"SysRecvBufSize",
@@ -0,0 +1,61 @@
+///*|-----------------------------------------------------------------------------
+// *|            This source code is provided under the Apache 2.0 license      --
+// *|  and is provided AS IS with no warranty or guarantee of fit for purpose.  --
+// *|                See the project's LICENSE.md for details.                  --
+// *|           Copyright (C) 2021 Refinitiv. All rights reserved.            --
+///*|-----------------------------------------------------------------------------
+
+package com.refinitiv.ema.access;
+
+/**
+ * ConflationInfo provides the statistics of the update conflation of an OmmConsumer.
+ *
+ * <p>The updates of an item whose conflation is set by {@link OmmConsumer#conflateUpdates(long, int)}
+ * are either delivered, or conflated into a pending update delivered later. The ratio of the received
+ * updates, delivered and conflated, to the delivered updates is the conflation ratio of the items.</p>
+ *
+ * <p>Code snippet:</p>
+ * <pre>
+ * ConflationInfo conflationInfo = EmaFactory.createConflationInfo();
+ * consumer.conflationInfo(conflationInfo);
+ * System.out.println(conflationInfo);
+ * </pre>
+ *
+ * @see OmmConsumer#conflationInfo(ConflationInfo)
+ */
+public interface ConflationInfo
+{
+	/**
+	 * Clears the ConflationInfo.
+	 */
+	public void clear();
+
+	/**
+	 * Returns the number of updates conflated into a pending update.
+	 *
+	 * @return the number of conflated updates
+	 */
+	public long conflatedUpdates();
+
+	/**
+	 * Returns the number of updates delivered to the clients of conflating items, pending
+	 * updates included.
+	 *
+	 * @return the number of delivered updates
+	 */
+	public long deliveredUpdates();
+
+	/**
+	 * Returns the number of items whose updates are conflated.
+	 *
+	 * @return the number of conflating items
+	 */
+	public int conflatingItems();
+
+	/**
+	 * Returns a string representation of the ConflationInfo.
+	 *
+	 * @return string representation of the ConflationInfo
+	 */
+	public String toString();
+}
@@ -0,0 +1,68 @@
+///*|-----------------------------------------------------------------------------
+// *|            This source code is provided under the Apache 2.0 license      --
+// *|  and is provided AS IS with no warranty or guarantee of fit for purpose.  --
+// *|                See the project's LICENSE.md for details.                  --
+// *|           Copyright (C) 2021 Refinitiv. All rights reserved.            --
+///*|-----------------------------------------------------------------------------
+
+package com.refinitiv.ema.access;
+
+class ConflationInfoImpl implements ConflationInfo
+{
+	private long _conflatedUpdates;
+	private long _deliveredUpdates;
+	private int _conflatingItems;
+
+	ConflationInfoImpl()
+	{
+		clear();
+	}
+
+	@Override
+	public void clear()
+	{
+		_conflatedUpdates = 0;
+		_deliveredUpdates = 0;
+		_conflatingItems = 0;
+	}
+
+	@Override
+	public long conflatedUpdates()
+	{
+		return _conflatedUpdates;
+	}
+
+	@Override
+	public long deliveredUpdates()
+	{
+		return _deliveredUpdates;
+	}
+
+	@Override
+	public int conflatingItems()
+	{
+		return _conflatingItems;
+	}
+
+	void conflatedUpdates(long conflatedUpdates)
+	{
+		_conflatedUpdates = conflatedUpdates;
+	}
+
+	void deliveredUpdates(long deliveredUpdates)
+	{
+		_deliveredUpdates = deliveredUpdates;
+	}
+
+	void conflatingItems(int conflatingItems)
+	{
+		_conflatingItems = conflatingItems;
+	}
+
+	@Override
+	public String toString()
+	{
+		return "conflatedUpdates: " + _conflatedUpdates + "\n\tdeliveredUpdates: " + _deliveredUpdates
+				+ "\n\tconflatingItems: " + _conflatingItems;
+	}
+}
@@ -461,6 +461,33 @@ class DataDictionaryImpl implements DataDictionary
 		}
 	}
 
+	@Override
+	public void saveBinaryDictionary(String filename) {
+		
+		try {
+			dictionaryLock.lock();
+			if ( !loadedFieldDictionary && !loadedEnumTypeDef )
+			{
+				throw ommIUExcept().message("The field dictionary information was not loaded", OmmInvalidUsageException.ErrorCode.INVALID_OPERATION);
+			}
+
+			if ( rsslDataDictionary.saveBinaryDictionary(filename, rsslError) < 0 )
+			{
+				String errText = errorString().append("Unable to save binary dictionary to file named ")
+						.append(filename).append(OmmLoggerClient.CR)
+						.append("Current working directory ")
+						.append(System.getProperty("user.dir"))
+						.append(OmmLoggerClient.CR)
+						.append("Reason='")
+						.append(rsslError.text())
+						.append("'").toString();
+				throw ommIUExcept().message(errText, rsslError.errorId());
+			}
+		} finally {
+			dictionaryLock.unlock();
+		}
+	}
+
 	@Override
 	public void encodeFieldDictionary(Series series, long verbosity) {
 		try {
@@ -88,6 +88,8 @@ class ElementListImpl extends CollectionDataImpl implements ElementList
 		if (elementListNum < -32768 || elementListNum > 32767)
 			throw ommOORExcept().message("elementListNum is out of range [(-32768) - 32767].");
 
+		headerChanged();
+
 		_rsslElementList.elementListNum(elementListNum);
 		_rsslElementList.applyHasInfo();
 		return this;
@@ -130,6 +132,9 @@ class ElementListImpl extends CollectionDataImpl implements ElementList
 		if (elementEntry == null)
 			throw new NullPointerException("Passed in elementEntry is null.");
 
+		if (streamEncodeEnabled())
+			streamEncode((ElementEntryImpl) elementEntry);
+
 		return _elementListCollection.add(elementEntry);
 	}
 
@@ -350,6 +355,19 @@ class ElementListImpl extends CollectionDataImpl implements ElementList
 	{
 		if (_encodeComplete || (_rsslEncodeIter == null) )
 			return _rsslBuffer; 
+		else if (_encodeStreamState == ENCODE_STREAMING)
+		{
+			int ret = _rsslElementList.encodeComplete(_rsslEncodeIter, true);
+			if (ret != CodecReturnCodes.SUCCESS)
+			{
+				String errText = errorString().append("Failed to complete encoding on rssl elementlist. Reason='")
+						.append(CodecReturnCodes.toString(ret)).append("'").toString();
+				throw ommIUExcept().message(errText, ret);
+			}
+
+			_encodeComplete = true;
+			return _rsslBuffer;
+		}
 		else
 		{
 			_rsslEncodeIter.clear();
@@ -369,7 +387,7 @@ class ElementListImpl extends CollectionDataImpl implements ElementList
 
 		while ((ret = _rsslElementList.encodeInit(_rsslEncodeIter, null, 0)) == CodecReturnCodes.BUFFER_TOO_SMALL)
 		{
-			_rsslBuffer = Utilities.realignBuffer(_rsslEncodeIter, _rsslBuffer.capacity() * 2);
+			growEncodeBuffer();
 		}
 
 		if (ret != CodecReturnCodes.SUCCESS)
@@ -404,6 +422,34 @@ class ElementListImpl extends CollectionDataImpl implements ElementList
 		return _rsslBuffer;
 	}
 
+	/* Encodes the entry added, starting the encoding of the element list with the first one. */
+	private void streamEncode(ElementEntryImpl elementEntry)
+	{
+		int ret = CodecReturnCodes.SUCCESS;
+		if (_encodeStreamState == ENCODE_STREAM_NOT_STARTED)
+		{
+			_rsslEncodeIter.clear();
+			_rsslElementList.applyHasStandardData();
+
+			if ((ret = _rsslEncodeIter.setBufferAndRWFVersion(_rsslBuffer, _rsslMajVer, _rsslMinVer)) == CodecReturnCodes.SUCCESS)
+			{
+				while ((ret = _rsslElementList.encodeInit(_rsslEncodeIter, null, 0)) == CodecReturnCodes.BUFFER_TOO_SMALL)
+				{
+					growEncodeBuffer();
+				}
+			}
+
+			if (ret == CodecReturnCodes.SUCCESS)
+				_encodeStreamState = ENCODE_STREAMING;
+		}
+
+		if (ret == CodecReturnCodes.SUCCESS)
+			ret = elementEntryEncode(elementEntry._rsslElementEntry, elementEntry._entryData);
+
+		if (ret != CodecReturnCodes.SUCCESS)
+			stopStreamEncode();
+	}
+
 	int elementEntryEncode(com.refinitiv.eta.codec.ElementEntry rsslElementEntry, Object cacheEntryData)
 	{
 		int ret;
@@ -411,7 +457,7 @@ class ElementListImpl extends CollectionDataImpl implements ElementList
 		{
 			while ((ret  = rsslElementEntry.encode(_rsslEncodeIter) ) == CodecReturnCodes.BUFFER_TOO_SMALL)
 			{
-				_rsslBuffer = Utilities.realignBuffer(_rsslEncodeIter, _rsslBuffer.capacity() * 2);
+				growEncodeBuffer();
 			}
 			return ret;
 		}
@@ -421,67 +467,67 @@ class ElementListImpl extends CollectionDataImpl implements ElementList
 		case com.refinitiv.eta.codec.DataTypes.INT:
 			while ((ret = rsslElementEntry.encode(_rsslEncodeIter, (com.refinitiv.eta.codec.Int) cacheEntryData)) == CodecReturnCodes.BUFFER_TOO_SMALL)
 			{
-				_rsslBuffer = Utilities.realignBuffer(_rsslEncodeIter, _rsslBuffer.capacity() * 2);
+				growEncodeBuffer();
 			}
 			return ret;
 		case com.refinitiv.eta.codec.DataTypes.UINT:
 			while ((ret = rsslElementEntry.encode(_rsslEncodeIter, (com.refinitiv.eta.codec.UInt) cacheEntryData)) == CodecReturnCodes.BUFFER_TOO_SMALL)
 			{
-				_rsslBuffer = Utilities.realignBuffer(_rsslEncodeIter, _rsslBuffer.capacity() * 2);
+				growEncodeBuffer();
 			}
 			return ret;
 		case com.refinitiv.eta.codec.DataTypes.REAL:
 			while ((ret = rsslElementEntry.encode(_rsslEncodeIter, (com.refinitiv.eta.codec.Real) cacheEntryData)) == CodecReturnCodes.BUFFER_TOO_SMALL)
 			{
-				_rsslBuffer = Utilities.realignBuffer(_rsslEncodeIter, _rsslBuffer.capacity() * 2);
+				growEncodeBuffer();
 			}
 			return ret;
 		case com.refinitiv.eta.codec.DataTypes.DOUBLE:
 			while ((ret = rsslElementEntry.encode(_rsslEncodeIter, (com.refinitiv.eta.codec.Double) cacheEntryData)) == CodecReturnCodes.BUFFER_TOO_SMALL)
 			{
-				_rsslBuffer = Utilities.realignBuffer(_rsslEncodeIter, _rsslBuffer.capacity() * 2);
+				growEncodeBuffer();
 			}
 			return ret;
 		case com.refinitiv.eta.codec.DataTypes.FLOAT:
 			while ((ret = rsslElementEntry.encode(_rsslEncodeIter, (com.refinitiv.eta.codec.Float) cacheEntryData)) == CodecReturnCodes.BUFFER_TOO_SMALL)
 			{
-				_rsslBuffer = Utilities.realignBuffer(_rsslEncodeIter, _rsslBuffer.capacity() * 2);
+				growEncodeBuffer();
 			}
 			return ret;
 		case com.refinitiv.eta.codec.DataTypes.DATETIME:
 			while ((ret = rsslElementEntry.encode(_rsslEncodeIter, (com.refinitiv.eta.codec.DateTime) cacheEntryData)) == CodecReturnCodes.BUFFER_TOO_SMALL)
 			{
-				_rsslBuffer = Utilities.realignBuffer(_rsslEncodeIter, _rsslBuffer.capacity() * 2);
+				growEncodeBuffer();
 			}
 			return ret;
 		case com.refinitiv.eta.codec.DataTypes.DATE:
 			while ((ret = rsslElementEntry.encode(_rsslEncodeIter, (com.refinitiv.eta.codec.Date) cacheEntryData)) == CodecReturnCodes.BUFFER_TOO_SMALL)
 			{
-				_rsslBuffer = Utilities.realignBuffer(_rsslEncodeIter, _rsslBuffer.capacity() * 2);
+				growEncodeBuffer();
 			}
 			return ret;
 		case com.refinitiv.eta.codec.DataTypes.TIME:
 			while ((ret = rsslElementEntry.encode(_rsslEncodeIter, (com.refinitiv.eta.codec.Time) cacheEntryData)) == CodecReturnCodes.BUFFER_TOO_SMALL)
 			{
-				_rsslBuffer = Utilities.realignBuffer(_rsslEncodeIter, _rsslBuffer.capacity() * 2);
+				growEncodeBuffer();
 			}
 			return ret;
 		case com.refinitiv.eta.codec.DataTypes.QOS:
 			while ((ret = rsslElementEntry.encode(_rsslEncodeIter, (com.refinitiv.eta.codec.Qos) cacheEntryData)) == CodecReturnCodes.BUFFER_TOO_SMALL)
 			{
-				_rsslBuffer = Utilities.realignBuffer(_rsslEncodeIter, _rsslBuffer.capacity() * 2);
+				growEncodeBuffer();
 			}
 			return ret;
 		case com.refinitiv.eta.codec.DataTypes.STATE:
 			while ((ret = rsslElementEntry.encode(_rsslEncodeIter, (com.refinitiv.eta.codec.State) cacheEntryData)) == CodecReturnCodes.BUFFER_TOO_SMALL)
 			{
-				_rsslBuffer = Utilities.realignBuffer(_rsslEncodeIter, _rsslBuffer.capacity() * 2);
+				growEncodeBuffer();
 			}
 			return ret;
 		case com.refinitiv.eta.codec.DataTypes.ENUM:
 			while ((ret = rsslElementEntry.encode(_rsslEncodeIter, (com.refinitiv.eta.codec.Enum) cacheEntryData)) == CodecReturnCodes.BUFFER_TOO_SMALL)
 			{
-				_rsslBuffer = Utilities.realignBuffer(_rsslEncodeIter, _rsslBuffer.capacity() * 2);
+				growEncodeBuffer();
 			}
 			return ret;
 		case com.refinitiv.eta.codec.DataTypes.BUFFER:
@@ -490,7 +536,7 @@ class ElementListImpl extends CollectionDataImpl implements ElementList
 		case com.refinitiv.eta.codec.DataTypes.RMTES_STRING:
 			while ((ret = rsslElementEntry.encode(_rsslEncodeIter, (com.refinitiv.eta.codec.Buffer) cacheEntryData)) == CodecReturnCodes.BUFFER_TOO_SMALL)
 			{
-				_rsslBuffer = Utilities.realignBuffer(_rsslEncodeIter, _rsslBuffer.capacity() * 2);
+				growEncodeBuffer();
 			}
 			return ret;
 		default:
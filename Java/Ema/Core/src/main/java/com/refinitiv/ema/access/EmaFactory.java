@@ -828,6 +828,15 @@ public class EmaFactory
 		return new ChannelInformationImpl();
 	}
 
+	/**
+	 * Creates a {@link com.refinitiv.ema.access.ConflationInfo}.
+	 * @return {@link com.refinitiv.ema.access.ConflationInfo}
+	 */
+	public static ConflationInfo createConflationInfo()
+	{
+		return new ConflationInfoImpl();
+	}
+
 	/**
 	 * Creates a {@link com.refinitiv.ema.rdm.DictionaryEntry}.
 	 * @return {@link com.refinitiv.ema.rdm.DictionaryEntry}
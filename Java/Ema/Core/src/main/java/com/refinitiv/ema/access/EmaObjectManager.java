@@ -70,7 +70,6 @@ class EmaObjectManager
 	VaPool _iproviderDictionaryItemPool = new VaPool(false);
 	VaPool _directoryItemPool = new VaPool(false);
 	VaPool _loginItemPool = new VaPool(false);
-	VaPool _longObjectPool = new VaPool(false);
 	VaPool _intObjectPool = new VaPool(false);
 
 	VaPool _timeoutEventPool = new VaPool(false);
@@ -119,7 +118,6 @@ class EmaObjectManager
 
 			_singleItemPool.add(new SingleItem<T>());
 			_batchItemPool.add(new BatchItem<T>());
-			_longObjectPool.add(new LongObject());
 			_intObjectPool.add(new IntObject());
 			_subItemPool.add(new SubItem<T>());
 			_tunnelItemPool.add(new TunnelItem<T>());
@@ -138,19 +136,6 @@ class EmaObjectManager
 		initByteBufferList();	
 	}
 
-	LongObject createLongObject()
-    {
-		LongObject longObj = (LongObject)_longObjectPool.poll();
-        if (longObj == null)
-        {
-        	longObj = new LongObject();
-            _longObjectPool.updatePool(longObj);
-            return longObj;
-        }
-        else
-        	return longObj.clear();
-    }
-	
 	IntObject createIntObject()
     {
 		IntObject intObj = (IntObject)_intObjectPool.poll();
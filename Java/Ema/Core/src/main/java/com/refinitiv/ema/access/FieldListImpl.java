@@ -74,6 +74,8 @@ class FieldListImpl extends CollectionDataImpl implements FieldList
 		if (fieldListNum < -32768 || fieldListNum > 32767)
 			throw ommOORExcept().message("fieldListNum is out of range [(-32768) - 32767].");
 
+		headerChanged();
+		
 		_rsslFieldList.dictionaryId(dictionaryId);
 		_rsslFieldList.fieldListNum(fieldListNum);
 		_rsslFieldList.applyHasInfo();
@@ -153,6 +155,9 @@ class FieldListImpl extends CollectionDataImpl implements FieldList
 		if (fieldEntry == null)
 			throw new NullPointerException("Passed in fieldEntry is null.");
 		
+		if (streamEncodeEnabled())
+			streamEncode((FieldEntryImpl)fieldEntry);
+		
 		return _fieldListCollection.add(fieldEntry);
 	}
 
@@ -392,10 +397,26 @@ class FieldListImpl extends CollectionDataImpl implements FieldList
 		if (_encodeComplete || (_rsslEncodeIter == null) )
 			return _rsslBuffer; 
 		
+		int ret;
+		if (_encodeStreamState == ENCODE_STREAMING)
+		{
+			ret =  _rsslFieldList.encodeComplete(_rsslEncodeIter, true);
+		    if (ret != CodecReturnCodes.SUCCESS)
+		    {
+		    	String errText = errorString().append("Failed to complete encoding on rssl fieldlist. Reason='")
+		    								.append(CodecReturnCodes.toString(ret))
+		    								.append("'").toString();
+		        throw ommIUExcept().message(errText, ret);
+		    }
+		    
+		    _encodeComplete = true;
+		    return _rsslBuffer;
+		}
+		
 		if (!_fieldListCollection.isEmpty())
 			_rsslFieldList.applyHasStandardData();
 
-		int ret = _rsslEncodeIter.setBufferAndRWFVersion(_rsslBuffer, _rsslMajVer, _rsslMinVer);
+		ret = _rsslEncodeIter.setBufferAndRWFVersion(_rsslBuffer, _rsslMajVer, _rsslMinVer);
 	    if (ret != CodecReturnCodes.SUCCESS)
 	    {
 	    	String errText = errorString().append("Failed to setBufferAndRWFVersion on rssl encode iterator. Reason='")
@@ -406,7 +427,7 @@ class FieldListImpl extends CollectionDataImpl implements FieldList
 	 
 	    while (( ret = _rsslFieldList.encodeInit(_rsslEncodeIter, null, 0)) == CodecReturnCodes.BUFFER_TOO_SMALL)
 	    {
-	    	_rsslBuffer = Utilities.realignBuffer(_rsslEncodeIter, _rsslBuffer.capacity() * 2);
+	    	growEncodeBuffer();
 	    }
 	    
 	    if (ret != CodecReturnCodes.SUCCESS)
@@ -444,6 +465,33 @@ class FieldListImpl extends CollectionDataImpl implements FieldList
 	    return _rsslBuffer;
 	}
 	
+	/* Encodes the entry added, starting the encoding of the field list with the first one. */
+	private void streamEncode(FieldEntryImpl fieldEntry)
+	{
+		int ret = CodecReturnCodes.SUCCESS;
+		if (_encodeStreamState == ENCODE_STREAM_NOT_STARTED)
+		{
+			_rsslFieldList.applyHasStandardData();
+			
+			if ((ret = _rsslEncodeIter.setBufferAndRWFVersion(_rsslBuffer, _rsslMajVer, _rsslMinVer)) == CodecReturnCodes.SUCCESS)
+			{
+				while ((ret = _rsslFieldList.encodeInit(_rsslEncodeIter, null, 0)) == CodecReturnCodes.BUFFER_TOO_SMALL)
+			    {
+			    	growEncodeBuffer();
+			    }
+			}
+			
+			if (ret == CodecReturnCodes.SUCCESS)
+				_encodeStreamState = ENCODE_STREAMING;
+		}
+		
+		if (ret == CodecReturnCodes.SUCCESS)
+			ret = fieldEntryEncode(fieldEntry._rsslFieldEntry, fieldEntry._entryData);
+		
+		if (ret != CodecReturnCodes.SUCCESS)
+			stopStreamEncode();
+	}
+	
 	private int fieldEntryEncode(com.refinitiv.eta.codec.FieldEntry rsslFieldEntry, Object cacheEntryData)
 	{
 		int ret;
@@ -451,7 +499,7 @@ class FieldListImpl extends CollectionDataImpl implements FieldList
 		{
 			while ((ret = rsslFieldEntry.encode(_rsslEncodeIter)) == CodecReturnCodes.BUFFER_TOO_SMALL)
 		    {
-				_rsslBuffer = Utilities.realignBuffer(_rsslEncodeIter, _rsslBuffer.capacity() * 2);
+				growEncodeBuffer();
 		    }
 			return ret;
 		}
@@ -461,67 +509,67 @@ class FieldListImpl extends CollectionDataImpl implements FieldList
 		case com.refinitiv.eta.codec.DataTypes.INT:
 			 while ((ret =  rsslFieldEntry.encode(_rsslEncodeIter, (com.refinitiv.eta.codec.Int)cacheEntryData)) == CodecReturnCodes.BUFFER_TOO_SMALL)
 			    {
-				 	_rsslBuffer = Utilities.realignBuffer(_rsslEncodeIter, _rsslBuffer.capacity() * 2);
+				 	growEncodeBuffer();
 			    }
 			 return ret;
 		case com.refinitiv.eta.codec.DataTypes.UINT:
 			 while ((ret =  rsslFieldEntry.encode(_rsslEncodeIter, (com.refinitiv.eta.codec.UInt)cacheEntryData)) == CodecReturnCodes.BUFFER_TOO_SMALL)
 			    {
-				 	_rsslBuffer = Utilities.realignBuffer(_rsslEncodeIter, _rsslBuffer.capacity() * 2);
+				 	growEncodeBuffer();
 			    }
 			 return ret;
 		case com.refinitiv.eta.codec.DataTypes.REAL:
 			 while ((ret =  rsslFieldEntry.encode(_rsslEncodeIter, (com.refinitiv.eta.codec.Real)cacheEntryData)) == CodecReturnCodes.BUFFER_TOO_SMALL)
 			    {
-				 	_rsslBuffer = Utilities.realignBuffer(_rsslEncodeIter, _rsslBuffer.capacity() * 2);
+				 	growEncodeBuffer();
 			    }
 			 return ret;
 		case com.refinitiv.eta.codec.DataTypes.DOUBLE:
 			 while ((ret =  rsslFieldEntry.encode(_rsslEncodeIter, (com.refinitiv.eta.codec.Double)cacheEntryData)) == CodecReturnCodes.BUFFER_TOO_SMALL)
 			    {
-				 	_rsslBuffer = Utilities.realignBuffer(_rsslEncodeIter, _rsslBuffer.capacity() * 2);
+				 	growEncodeBuffer();
 			    }
 			 return ret;
 		case com.refinitiv.eta.codec.DataTypes.FLOAT:
 			 while ((ret =  rsslFieldEntry.encode(_rsslEncodeIter, (com.refinitiv.eta.codec.Float)cacheEntryData)) == CodecReturnCodes.BUFFER_TOO_SMALL)
 			    {
-				 	_rsslBuffer = Utilities.realignBuffer(_rsslEncodeIter, _rsslBuffer.capacity() * 2);
+				 	growEncodeBuffer();
 			    }
 			 return ret;
 		case com.refinitiv.eta.codec.DataTypes.DATETIME:
 			 while ((ret =  rsslFieldEntry.encode(_rsslEncodeIter, (com.refinitiv.eta.codec.DateTime)cacheEntryData)) == CodecReturnCodes.BUFFER_TOO_SMALL)
 			    {
-				 	_rsslBuffer = Utilities.realignBuffer(_rsslEncodeIter, _rsslBuffer.capacity() * 2);
+				 	growEncodeBuffer();
 			    }
 			 return ret;
 		case com.refinitiv.eta.codec.DataTypes.DATE:
 			 while ((ret =  rsslFieldEntry.encode(_rsslEncodeIter, (com.refinitiv.eta.codec.Date)cacheEntryData)) == CodecReturnCodes.BUFFER_TOO_SMALL)
 			    {
-				 	_rsslBuffer = Utilities.realignBuffer(_rsslEncodeIter, _rsslBuffer.capacity() * 2);
+				 	growEncodeBuffer();
 			    }
 			 return ret;
 		case com.refinitiv.eta.codec.DataTypes.TIME:
 			 while ((ret =  rsslFieldEntry.encode(_rsslEncodeIter, (com.refinitiv.eta.codec.Time)cacheEntryData)) == CodecReturnCodes.BUFFER_TOO_SMALL)
 			    {
-				 	_rsslBuffer = Utilities.realignBuffer(_rsslEncodeIter, _rsslBuffer.capacity() * 2);
+				 	growEncodeBuffer();
 			    }
 			 return ret;
 		case com.refinitiv.eta.codec.DataTypes.QOS:
 			 while ((ret =  rsslFieldEntry.encode(_rsslEncodeIter, (com.refinitiv.eta.codec.Qos)cacheEntryData)) == CodecReturnCodes.BUFFER_TOO_SMALL)
 			    {
-				 	_rsslBuffer = Utilities.realignBuffer(_rsslEncodeIter, _rsslBuffer.capacity() * 2);
+				 	growEncodeBuffer();
 			    }
 			 return ret;
 		case com.refinitiv.eta.codec.DataTypes.STATE:
 			 while ((ret =  rsslFieldEntry.encode(_rsslEncodeIter, (com.refinitiv.eta.codec.State)cacheEntryData)) == CodecReturnCodes.BUFFER_TOO_SMALL)
 			    {
-				 	_rsslBuffer = Utilities.realignBuffer(_rsslEncodeIter, _rsslBuffer.capacity() * 2);
+				 	growEncodeBuffer();
 			    }
 			 return ret;
 		case com.refinitiv.eta.codec.DataTypes.ENUM:
 			 while ((ret =  rsslFieldEntry.encode(_rsslEncodeIter, (com.refinitiv.eta.codec.Enum)cacheEntryData)) == CodecReturnCodes.BUFFER_TOO_SMALL)
 			    {
-				 	_rsslBuffer = Utilities.realignBuffer(_rsslEncodeIter, _rsslBuffer.capacity() * 2);
+				 	growEncodeBuffer();
 			    }
 			 return ret;
 		case com.refinitiv.eta.codec.DataTypes.BUFFER:
@@ -530,7 +578,7 @@ class FieldListImpl extends CollectionDataImpl implements FieldList
 		case com.refinitiv.eta.codec.DataTypes.RMTES_STRING:
 			 while ((ret =  rsslFieldEntry.encode(_rsslEncodeIter, (com.refinitiv.eta.codec.Buffer)cacheEntryData)) == CodecReturnCodes.BUFFER_TOO_SMALL)
 			    {
-				 	_rsslBuffer = Utilities.realignBuffer(_rsslEncodeIter, _rsslBuffer.capacity() * 2);
+				 	growEncodeBuffer();
 			    }
 			 return ret;
 		 default:
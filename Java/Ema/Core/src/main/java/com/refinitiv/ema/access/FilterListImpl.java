@@ -371,7 +371,7 @@ class FilterListImpl extends CollectionDataImpl implements FilterList
 
 	    while ((ret = _rsslFilterList.encodeInit(_rsslEncodeIter)) == CodecReturnCodes.BUFFER_TOO_SMALL)
 	    {
-	    	_rsslBuffer = Utilities.realignBuffer(_rsslEncodeIter, _rsslBuffer.capacity() * 2);
+	    	growEncodeBuffer();
 	    }
 	    
 	    if (ret != CodecReturnCodes.SUCCESS)
@@ -386,7 +386,7 @@ class FilterListImpl extends CollectionDataImpl implements FilterList
 		{
 			while ((ret = ((FilterEntryImpl)entry)._rsslFilterEntry.encode(_rsslEncodeIter)) == CodecReturnCodes.BUFFER_TOO_SMALL)
 			{
-				_rsslBuffer = Utilities.realignBuffer(_rsslEncodeIter, _rsslBuffer.capacity() * 2);
+				growEncodeBuffer();
 			}
 
 			if (ret != CodecReturnCodes.SUCCESS)
@@ -12,12 +12,16 @@ import com.refinitiv.eta.codec.Enum;
 import com.refinitiv.eta.codec.Float;
 import com.refinitiv.eta.codec.*;
 
+import java.nio.ByteBuffer;
 import java.util.ArrayDeque;
 import java.util.concurrent.locks.ReentrantLock;
 
 class GlobalPool
 {
 	private final static int DATA_POOL_INITIAL_SIZE = 40;
+	private final static int ENCODE_BUFFER_MIN_SHIFT = 13;		// 8 KB, twice the initial container encode buffer
+	private final static int ENCODE_BUFFER_MAX_SHIFT = 20;		// 1 MB, larger buffers are not pooled
+	private final static int ENCODE_BUFFER_POOL_LIMIT = 4;		// buffers kept per size
 
 	static ReentrantLock _globalLock = new java.util.concurrent.locks.ReentrantLock();
 	
@@ -33,6 +37,8 @@ class GlobalPool
 	private static ArrayDeque<State> _StatePool = new ArrayDeque<>(DATA_POOL_INITIAL_SIZE);
 	private static ArrayDeque<Time> _TimePool = new ArrayDeque<>(DATA_POOL_INITIAL_SIZE);
 	private static ArrayDeque<UInt> _UIntPool = new ArrayDeque<>(DATA_POOL_INITIAL_SIZE);
+	@SuppressWarnings("unchecked")
+	private static ArrayDeque<ByteBuffer>[] _encodeBufferPool = new ArrayDeque[ENCODE_BUFFER_MAX_SHIFT - ENCODE_BUFFER_MIN_SHIFT + 1];
 	private static boolean _intialized = false;
 	
 	static void initialize()
@@ -237,4 +243,39 @@ class GlobalPool
 			break;
 		}
 	}
+	
+	/* Returns a cleared heap buffer of at least minCapacity bytes, sized to a power of two.
+	 * Used to grow the encode buffer of the containers. */
+	static ByteBuffer acquireEncodeBuffer(int minCapacity)
+	{
+		int shift = Math.max(ENCODE_BUFFER_MIN_SHIFT, 32 - Integer.numberOfLeadingZeros(minCapacity - 1));
+		if (shift > ENCODE_BUFFER_MAX_SHIFT)
+			return ByteBuffer.allocate(minCapacity);
+
+		ArrayDeque<ByteBuffer> pool = _encodeBufferPool[shift - ENCODE_BUFFER_MIN_SHIFT];
+		if (pool == null || pool.size() == 0)
+			return ByteBuffer.allocate(1 << shift);
+		
+		ByteBuffer byteBuffer = pool.pop();
+		byteBuffer.clear();
+		return byteBuffer;
+	}
+	
+	static void releaseEncodeBuffer(ByteBuffer byteBuffer)
+	{
+		int capacity = byteBuffer.capacity();
+		if (Integer.bitCount(capacity) != 1)
+			return;
+		
+		int shift = Integer.numberOfTrailingZeros(capacity);
+		if (shift < ENCODE_BUFFER_MIN_SHIFT || shift > ENCODE_BUFFER_MAX_SHIFT)
+			return;
+		
+		ArrayDeque<ByteBuffer> pool = _encodeBufferPool[shift - ENCODE_BUFFER_MIN_SHIFT];
+		if (pool == null)
+			pool = _encodeBufferPool[shift - ENCODE_BUFFER_MIN_SHIFT] = new ArrayDeque<>(ENCODE_BUFFER_POOL_LIMIT);
+		
+		if (pool.size() < ENCODE_BUFFER_POOL_LIMIT)
+			pool.push(byteBuffer);
+	}
 }
@@ -0,0 +1,161 @@
+///*|-----------------------------------------------------------------------------
+// *|            This source code is provided under the Apache 2.0 license      --
+// *|  and is provided AS IS with no warranty or guarantee of fit for purpose.  --
+// *|                See the project's LICENSE.md for details.                  --
+// *|           Copyright (C) 2021 Refinitiv. All rights reserved.            --
+///*|-----------------------------------------------------------------------------
+
+package com.refinitiv.ema.access;
+
+/**
+ * ItemCache keeps the current image of the items opened by an OmmConsumer.
+ *
+ * <p>The refresh and update messages of an item with a FieldList payload are applied
+ * to the item's image, following the OMM rules of the message: a refresh with the clear cache
+ * flag replaces the image, and the fields of an update which are not in the image are ignored.
+ * Fields are queried by item handle and field id, from any thread, and see the image as it was
+ * after the last message applied to it. Images are applied before the message is passed to the
+ * OmmConsumerClient, so a callback sees the image including the message.</p>
+ *
+ * <p>The image of a streaming item is removed when the item is closed. The image of a
+ * snapshot (non streaming) item is kept once the item completes, until the cache is full; the
+ * least recently used snapshot images are then removed to make room for new images.
+ * When the cache is full of streaming images, new items are not cached.</p>
+ *
+ * <p>ItemCache is enabled by the ItemCacheMaxItems parameter of the Consumer configuration,
+ * which sets the maximum number of images kept. The numeric query methods do not allocate memory.</p>
+ *
+ * <p>Code snippet:</p>
+ * <pre>
+ * ItemCache itemCache = consumer.itemCache();
+ *
+ * long handle = consumer.registerClient(EmaFactory.createReqMsg().serviceName("DIRECT_FEED").name("IBM.N"), appClient);
+ * ...
+ * double bid = (itemCache.hasField(handle, 22) ? itemCache.doubleValue(handle, 22) : 0);
+ * </pre>
+ *
+ * @see OmmConsumer#itemCache()
+ */
+public interface ItemCache
+{
+	/**
+	 * Returns the number of item images in the cache.
+	 *
+	 * @return the number of item images
+	 */
+	public int imageCount();
+
+	/**
+	 * Indicates presence of the image of an item.
+	 *
+	 * @param handle identifies the item
+	 * @return true if the cache holds an image of the item; false otherwise
+	 */
+	public boolean hasImage(long handle);
+
+	/**
+	 * Returns the number of fields in the image of an item.
+	 *
+	 * @param handle identifies the item
+	 * @return the number of fields, zero if the cache holds no image of the item
+	 */
+	public int fieldCount(long handle);
+
+	/**
+	 * Copies the field ids of the image of an item, in ascending order, to the given array.
+	 * When the array is shorter than the number of fields, only the lowest field ids are copied.
+	 *
+	 * @param handle identifies the item
+	 * @param fieldIds the array the field ids are copied to
+	 * @return the number of fields, zero if the cache holds no image of the item
+	 */
+	public int fieldIds(long handle, int[] fieldIds);
+
+	/**
+	 * Indicates presence of a field in the image of an item.
+	 *
+	 * @param handle identifies the item
+	 * @param fieldId identifies the field
+	 * @return true if the image of the item holds the field; false otherwise
+	 */
+	public boolean hasField(long handle, int fieldId);
+
+	/**
+	 * Returns the data type of a field in the image of an item, as defined in the field dictionary.
+	 *
+	 * @param handle identifies the item
+	 * @param fieldId identifies the field
+	 * @return data type of the field (see {@link DataType.DataTypes})
+	 * @throws OmmInvalidUsageException if the image of the item does not hold the field
+	 */
+	public int dataType(long handle, int fieldId);
+
+	/**
+	 * Indicates whether a field in the image of an item is blank.
+	 *
+	 * @param handle identifies the item
+	 * @param fieldId identifies the field
+	 * @return true if the field is blank; false otherwise
+	 * @throws OmmInvalidUsageException if the image of the item does not hold the field
+	 */
+	public boolean isBlank(long handle, int fieldId);
+
+	/**
+	 * Returns the value of an Int or UInt field in the image of an item.
+	 *
+	 * @param handle identifies the item
+	 * @param fieldId identifies the field
+	 * @return long value of the field
+	 * @throws OmmInvalidUsageException if the image of the item does not hold the field,
+	 * if the field is not an Int or UInt, or if the field is blank
+	 */
+	public long intValue(long handle, int fieldId);
+
+	/**
+	 * Returns the value of a UInt field in the image of an item.
+	 *
+	 * @param handle identifies the item
+	 * @param fieldId identifies the field
+	 * @return long value of the field
+	 * @throws OmmInvalidUsageException if the image of the item does not hold the field,
+	 * if the field is not a UInt, or if the field is blank
+	 */
+	public long uintValue(long handle, int fieldId);
+
+	/**
+	 * Returns the value of a Real, Double, Float, Int or UInt field in the image of an item.
+	 *
+	 * @param handle identifies the item
+	 * @param fieldId identifies the field
+	 * @return double value of the field
+	 * @throws OmmInvalidUsageException if the image of the item does not hold the field,
+	 * if the field is not numeric, or if the field is blank
+	 */
+	public double doubleValue(long handle, int fieldId);
+
+	/**
+	 * Returns the value of an Enum field in the image of an item.
+	 *
+	 * @param handle identifies the item
+	 * @param fieldId identifies the field
+	 * @return int value of the field
+	 * @throws OmmInvalidUsageException if the image of the item does not hold the field,
+	 * if the field is not an Enum, or if the field is blank
+	 */
+	public int enumValue(long handle, int fieldId);
+
+	/**
+	 * Returns the value of a field in the image of an item as a string.<br>
+	 * String and Buffer fields are returned as is, other fields are converted to their string
+	 * representation. A blank field is returned as an empty string.
+	 *
+	 * <p>Unlike the other query methods, this method allocates the returned string.</p>
+	 *
+	 * @param handle identifies the item
+	 * @param fieldId identifies the field
+	 * @return String value of the field
+	 * @throws OmmInvalidUsageException if the image of the item does not hold the field,
+	 * or if the field is of a container type
+	 */
+	public String stringValue(long handle, int fieldId);
+}
@@ -0,0 +1,585 @@
+///*|-----------------------------------------------------------------------------
+// *|            This source code is provided under the Apache 2.0 license      --
+// *|  and is provided AS IS with no warranty or guarantee of fit for purpose.  --
+// *|                See the project's LICENSE.md for details.                  --
+// *|           Copyright (C) 2021 Refinitiv. All rights reserved.            --
+///*|-----------------------------------------------------------------------------
+
+package com.refinitiv.ema.access;
+
+import java.util.concurrent.locks.ReentrantLock;
+
+import com.refinitiv.eta.codec.Buffer;
+import com.refinitiv.eta.codec.CodecFactory;
+import com.refinitiv.eta.codec.CodecReturnCodes;
+import com.refinitiv.eta.codec.DataDictionary;
+import com.refinitiv.eta.codec.DecodeIterator;
+import com.refinitiv.eta.codec.DictionaryEntry;
+import com.refinitiv.eta.codec.Msg;
+import com.refinitiv.eta.codec.MsgClasses;
+import com.refinitiv.eta.valueadd.cache.CacheError;
+import com.refinitiv.eta.valueadd.cache.CacheFactory;
+import com.refinitiv.eta.valueadd.cache.PayloadCache;
+import com.refinitiv.eta.valueadd.cache.PayloadCacheConfigOptions;
+import com.refinitiv.eta.valueadd.cache.PayloadEntry;
+import com.refinitiv.eta.valueadd.common.VaDoubleLinkList;
+import com.refinitiv.eta.valueadd.common.VaDoubleLinkList.Link;
+import com.refinitiv.eta.valueadd.common.VaLongHashMap;
+
+/* Item images of a consumer, kept in the payload entries of a java payload cache.
+ *
+ * Messages are applied by the ItemCallbackClient on the dispatching thread, and images are
+ * queried by the application threads, so the cache is always locked. The values of fields are
+ * decoded from the payload entries with the codec objects of the cache, without copying them.
+ *
+ * Snapshot images are kept in a list in least recently used order, and are evicted from
+ * its head when the payload cache holds maxItems entries. */
+class ItemCacheImpl implements ItemCache
+{
+	/* The image of an item. */
+	static class Image
+	{
+		long _handle;
+		PayloadEntry _entry;
+		int _majorVersion;
+		int _minorVersion;
+		boolean _snapshot; // the item completed, the image is kept until evicted
+		Image _prev, _next;
+	}
+
+	static class SnapshotLink implements Link<Image>
+	{
+		public Image getPrev(Image thisPrev) { return thisPrev._prev; }
+		public void setPrev(Image thisPrev, Image thatPrev) { thisPrev._prev = thatPrev; }
+		public Image getNext(Image thisNext) { return thisNext._next; }
+		public void setNext(Image thisNext, Image thatNext) { thisNext._next = thatNext; }
+	}
+
+	static final SnapshotLink SNAPSHOT_LINK = new SnapshotLink();
+
+	private final ReentrantLock _lock = new ReentrantLock();
+	private final VaLongHashMap<Image> _images;
+	private final VaDoubleLinkList<Image> _snapshots = new VaDoubleLinkList<Image>();
+	private final String _dictionaryKey;
+	private PayloadCache _cache;
+	private DataDictionary _dictionary;
+	private CacheError _cacheError = CacheFactory.createCacheError();
+
+	private final DecodeIterator _dIter = CodecFactory.createDecodeIterator();
+	private final Buffer _value = CodecFactory.createBuffer();
+	private final com.refinitiv.eta.codec.Int _int = CodecFactory.createInt();
+	private final com.refinitiv.eta.codec.UInt _uint = CodecFactory.createUInt();
+	private final com.refinitiv.eta.codec.Real _real = CodecFactory.createReal();
+	private final com.refinitiv.eta.codec.Double _double = CodecFactory.createDouble();
+	private final com.refinitiv.eta.codec.Float _float = CodecFactory.createFloat();
+	private final com.refinitiv.eta.codec.Enum _enum = CodecFactory.createEnum();
+	private final com.refinitiv.eta.codec.Date _date = CodecFactory.createDate();
+	private final com.refinitiv.eta.codec.Time _time = CodecFactory.createTime();
+	private final com.refinitiv.eta.codec.DateTime _dateTime = CodecFactory.createDateTime();
+	private final com.refinitiv.eta.codec.Qos _qos = CodecFactory.createQos();
+	private final com.refinitiv.eta.codec.State _state = CodecFactory.createState();
+
+	private StringBuilder _errorString;
+
+	ItemCacheImpl(String instanceName, int maxItems)
+	{
+		PayloadCacheConfigOptions options = CacheFactory.createPayloadCacheConfig();
+		options.useJavaCache(true);
+		options.maxItems(maxItems);
+		_cache = CacheFactory.createPayloadCache(options, _cacheError);
+		_images = new VaLongHashMap<Image>(maxItems < 1024 ? maxItems : 1024);
+		_dictionaryKey = "ItemCache." + instanceName;
+	}
+
+	/* Applies a refresh, update or status message of the item to its image. A refresh creates
+	 * the image of an item with a FieldList payload, evicting the least recently used snapshot
+	 * image when the cache is full. */
+	void apply(long handle, Msg rsslMsg, int majorVersion, int minorVersion, DataDictionary dictionary)
+	{
+		try
+		{
+			_lock.lock();
+
+			if (_cache == null || dictionary == null)
+				return;
+
+			Image image = _images.get(handle);
+			if (image == null)
+			{
+				if (rsslMsg.msgClass() != MsgClasses.REFRESH || rsslMsg.containerType() != com.refinitiv.eta.codec.DataTypes.FIELD_LIST
+						|| (image = createImage(handle)) == null)
+					return;
+			}
+
+			if (dictionary != _dictionary)
+			{
+				if (_cache.setDictionary(dictionary, _dictionaryKey, _cacheError) < CodecReturnCodes.SUCCESS)
+					return;
+				_dictionary = dictionary;
+			}
+
+			_dIter.clear();
+			_dIter.setBufferAndRWFVersion(rsslMsg.encodedDataBody(), majorVersion, minorVersion);
+			image._majorVersion = majorVersion;
+			image._minorVersion = minorVersion;
+
+			// fields ignored by an update are a warning, the image is left empty until the next refresh on errors
+			int ret = image._entry.apply(_dIter, rsslMsg, _cacheError);
+			if (ret < CodecReturnCodes.SUCCESS && _cacheError.errorId() != CodecReturnCodes.SUCCESS)
+				image._entry.clear();
+		}
+		finally
+		{
+			_lock.unlock();
+		}
+	}
+
+	/* Keeps the image of the item once the item is removed. */
+	void snapshotComplete(long handle)
+	{
+		try
+		{
+			_lock.lock();
+
+			Image image = _images.get(handle);
+			if (image != null && !image._snapshot)
+			{
+				image._snapshot = true;
+				_snapshots.push(image, SNAPSHOT_LINK);
+			}
+		}
+		finally
+		{
+			_lock.unlock();
+		}
+	}
+
+	/* Removes the image of a removed item, unless it is a snapshot image. */
+	void itemRemoved(long handle)
+	{
+		try
+		{
+			_lock.lock();
+
+			Image image = _images.get(handle);
+			if (image != null && !image._snapshot)
+				removeImage(image);
+		}
+		finally
+		{
+			_lock.unlock();
+		}
+	}
+
+	/* Removes all images and releases the memory holding them. */
+	void destroy()
+	{
+		try
+		{
+			_lock.lock();
+
+			if (_cache == null)
+				return;
+
+			_images.clear();
+			_snapshots.clear();
+			_cache.destroy();
+			_cache = null;
+		}
+		finally
+		{
+			_lock.unlock();
+		}
+	}
+
+	@Override
+	public int imageCount()
+	{
+		try
+		{
+			_lock.lock();
+			return _images.size();
+		}
+		finally
+		{
+			_lock.unlock();
+		}
+	}
+
+	@Override
+	public boolean hasImage(long handle)
+	{
+		try
+		{
+			_lock.lock();
+			return image(handle) != null;
+		}
+		finally
+		{
+			_lock.unlock();
+		}
+	}
+
+	@Override
+	public int fieldCount(long handle)
+	{
+		try
+		{
+			_lock.lock();
+			Image image = image(handle);
+			return (image != null ? image._entry.fieldCount() : 0);
+		}
+		finally
+		{
+			_lock.unlock();
+		}
+	}
+
+	@Override
+	public int fieldIds(long handle, int[] fieldIds)
+	{
+		try
+		{
+			_lock.lock();
+			Image image = image(handle);
+			return (image != null ? image._entry.fieldIds(fieldIds) : 0);
+		}
+		finally
+		{
+			_lock.unlock();
+		}
+	}
+
+	@Override
+	public boolean hasField(long handle, int fieldId)
+	{
+		try
+		{
+			_lock.lock();
+			Image image = image(handle);
+			return (image != null && image._entry.retrieveField(fieldId, _value, _cacheError) == CodecReturnCodes.SUCCESS);
+		}
+		finally
+		{
+			_lock.unlock();
+		}
+	}
+
+	@Override
+	public int dataType(long handle, int fieldId)
+	{
+		try
+		{
+			_lock.lock();
+			return retrieveField(handle, fieldId, "dataType()");
+		}
+		finally
+		{
+			_lock.unlock();
+		}
+	}
+
+	@Override
+	public boolean isBlank(long handle, int fieldId)
+	{
+		try
+		{
+			_lock.lock();
+			return decodeValue(retrieveField(handle, fieldId, "isBlank()")) == CodecReturnCodes.BLANK_DATA;
+		}
+		finally
+		{
+			_lock.unlock();
+		}
+	}
+
+	@Override
+	public long intValue(long handle, int fieldId)
+	{
+		try
+		{
+			_lock.lock();
+			int dataType = retrieveField(handle, fieldId, "intValue()");
+			switch (dataType)
+			{
+			case com.refinitiv.eta.codec.DataTypes.INT:
+				checkValue(decodeValue(dataType), handle, fieldId, "intValue()");
+				return _int.toLong();
+			case com.refinitiv.eta.codec.DataTypes.UINT:
+				checkValue(decodeValue(dataType), handle, fieldId, "intValue()");
+				return _uint.toLong();
+			default:
+				throw typeMismatch(dataType, handle, fieldId, "intValue()");
+			}
+		}
+		finally
+		{
+			_lock.unlock();
+		}
+	}
+
+	@Override
+	public long uintValue(long handle, int fieldId)
+	{
+		try
+		{
+			_lock.lock();
+			int dataType = retrieveField(handle, fieldId, "uintValue()");
+			if (dataType != com.refinitiv.eta.codec.DataTypes.UINT)
+				throw typeMismatch(dataType, handle, fieldId, "uintValue()");
+
+			checkValue(decodeValue(dataType), handle, fieldId, "uintValue()");
+			return _uint.toLong();
+		}
+		finally
+		{
+			_lock.unlock();
+		}
+	}
+
+	@Override
+	public double doubleValue(long handle, int fieldId)
+	{
+		try
+		{
+			_lock.lock();
+			int dataType = retrieveField(handle, fieldId, "doubleValue()");
+			switch (dataType)
+			{
+			case com.refinitiv.eta.codec.DataTypes.REAL:
+				checkValue(decodeValue(dataType), handle, fieldId, "doubleValue()");
+				return _real.toDouble();
+			case com.refinitiv.eta.codec.DataTypes.DOUBLE:
+				checkValue(decodeValue(dataType), handle, fieldId, "doubleValue()");
+				return _double.toDouble();
+			case com.refinitiv.eta.codec.DataTypes.FLOAT:
+				checkValue(decodeValue(dataType), handle, fieldId, "doubleValue()");
+				return _float.toFloat();
+			case com.refinitiv.eta.codec.DataTypes.INT:
+				checkValue(decodeValue(dataType), handle, fieldId, "doubleValue()");
+				return _int.toLong();
+			case com.refinitiv.eta.codec.DataTypes.UINT:
+				checkValue(decodeValue(dataType), handle, fieldId, "doubleValue()");
+				return _uint.toLong();
+			default:
+				throw typeMismatch(dataType, handle, fieldId, "doubleValue()");
+			}
+		}
+		finally
+		{
+			_lock.unlock();
+		}
+	}
+
+	@Override
+	public int enumValue(long handle, int fieldId)
+	{
+		try
+		{
+			_lock.lock();
+			int dataType = retrieveField(handle, fieldId, "enumValue()");
+			if (dataType != com.refinitiv.eta.codec.DataTypes.ENUM)
+				throw typeMismatch(dataType, handle, fieldId, "enumValue()");
+
+			checkValue(decodeValue(dataType), handle, fieldId, "enumValue()");
+			return _enum.toInt();
+		}
+		finally
+		{
+			_lock.unlock();
+		}
+	}
+
+	@Override
+	public String stringValue(long handle, int fieldId)
+	{
+		try
+		{
+			_lock.lock();
+			int dataType = retrieveField(handle, fieldId, "stringValue()");
+			int ret = decodeValue(dataType);
+			if (ret == CodecReturnCodes.BLANK_DATA)
+				return "";
+			checkValue(ret, handle, fieldId, "stringValue()");
+
+			switch (dataType)
+			{
+			case com.refinitiv.eta.codec.DataTypes.ASCII_STRING:
+			case com.refinitiv.eta.codec.DataTypes.UTF8_STRING:
+			case com.refinitiv.eta.codec.DataTypes.RMTES_STRING:
+			case com.refinitiv.eta.codec.DataTypes.BUFFER:
+				return _value.toString();
+			case com.refinitiv.eta.codec.DataTypes.INT:
+				return _int.toString();
+			case com.refinitiv.eta.codec.DataTypes.UINT:
+				return _uint.toString();
+			case com.refinitiv.eta.codec.DataTypes.REAL:
+				return _real.toString();
+			case com.refinitiv.eta.codec.DataTypes.DOUBLE:
+				return _double.toString();
+			case com.refinitiv.eta.codec.DataTypes.FLOAT:
+				return _float.toString();
+			case com.refinitiv.eta.codec.DataTypes.ENUM:
+				return _enum.toString();
+			case com.refinitiv.eta.codec.DataTypes.DATE:
+				return _date.toString();
+			case com.refinitiv.eta.codec.DataTypes.TIME:
+				return _time.toString();
+			case com.refinitiv.eta.codec.DataTypes.DATETIME:
+				return _dateTime.toString();
+			case com.refinitiv.eta.codec.DataTypes.QOS:
+				return _qos.toString();
+			case com.refinitiv.eta.codec.DataTypes.STATE:
+				return _state.toString();
+			default:
+				throw typeMismatch(dataType, handle, fieldId, "stringValue()");
+			}
+		}
+		finally
+		{
+			_lock.unlock();
+		}
+	}
+
+	/* Returns the image of the item if it holds data, marking a snapshot image as most recently used. */
+	private Image image(long handle)
+	{
+		Image image = _images.get(handle);
+		if (image == null || image._entry.dataType() == com.refinitiv.eta.codec.DataTypes.UNKNOWN)
+			return null;
+
+		if (image._snapshot)
+		{
+			_snapshots.remove(image, SNAPSHOT_LINK);
+			_snapshots.push(image, SNAPSHOT_LINK);
+		}
+		return image;
+	}
+
+	private Image createImage(long handle)
+	{
+		PayloadEntry entry = CacheFactory.createPayloadEntry(_cache, _cacheError);
+		while (entry == null && _snapshots.count() > 0)
+		{
+			removeImage(_snapshots.peek());
+			entry = CacheFactory.createPayloadEntry(_cache, _cacheError);
+		}
+		if (entry == null)
+			return null;
+
+		Image image = new Image();
+		image._handle = handle;
+		image._entry = entry;
+		_images.put(handle, image);
+		return image;
+	}
+
+	private void removeImage(Image image)
+	{
+		if (image._snapshot)
+			_snapshots.remove(image, SNAPSHOT_LINK);
+		_images.remove(image._handle);
+		image._entry.destroy();
+	}
+
+	/* Sets _value to the encoded value of the field and the decode iterator to it, and returns
+	 * the data type of the field. */
+	private int retrieveField(long handle, int fieldId, String method)
+	{
+		Image image = image(handle);
+		DictionaryEntry dictionaryEntry;
+		if (image == null || image._entry.retrieveField(fieldId, _value, _cacheError) != CodecReturnCodes.SUCCESS
+				|| (dictionaryEntry = _dictionary.entry(fieldId)) == null)
+		{
+			StringBuilder error = errorString();
+			error.append("Attempt to ").append(method).append(" for field id ").append(fieldId)
+				 .append(" which is not in the image of item handle ").append(handle);
+			throw ommIUExcept().message(error.toString(), OmmInvalidUsageException.ErrorCode.INVALID_ARGUMENT);
+		}
+
+		_dIter.clear();
+		_dIter.setBufferAndRWFVersion(_value, image._majorVersion, image._minorVersion);
+		return dictionaryEntry.rwfType();
+	}
+
+	/* Decodes _value, returns CodecReturnCodes.BLANK_DATA if the value is blank. */
+	private int decodeValue(int dataType)
+	{
+		switch (dataType)
+		{
+		case com.refinitiv.eta.codec.DataTypes.INT:
+			return _int.decode(_dIter);
+		case com.refinitiv.eta.codec.DataTypes.UINT:
+			return _uint.decode(_dIter);
+		case com.refinitiv.eta.codec.DataTypes.REAL:
+			int ret = _real.decode(_dIter);
+			return (ret == CodecReturnCodes.SUCCESS && _real.isBlank() ? CodecReturnCodes.BLANK_DATA : ret);
+		case com.refinitiv.eta.codec.DataTypes.DOUBLE:
+			return _double.decode(_dIter);
+		case com.refinitiv.eta.codec.DataTypes.FLOAT:
+			return _float.decode(_dIter);
+		case com.refinitiv.eta.codec.DataTypes.ENUM:
+			return _enum.decode(_dIter);
+		case com.refinitiv.eta.codec.DataTypes.DATE:
+			return _date.decode(_dIter);
+		case com.refinitiv.eta.codec.DataTypes.TIME:
+			return _time.decode(_dIter);
+		case com.refinitiv.eta.codec.DataTypes.DATETIME:
+			return _dateTime.decode(_dIter);
+		case com.refinitiv.eta.codec.DataTypes.QOS:
+			return _qos.decode(_dIter);
+		case com.refinitiv.eta.codec.DataTypes.STATE:
+			return _state.decode(_dIter);
+		default:
+			return (_value.length() == 0 ? CodecReturnCodes.BLANK_DATA : CodecReturnCodes.SUCCESS);
+		}
+	}
+
+	private void checkValue(int ret, long handle, int fieldId, String method)
+	{
+		if (ret == CodecReturnCodes.BLANK_DATA)
+			throw blankValue(handle, fieldId, method);
+
+		if (ret < CodecReturnCodes.SUCCESS)
+		{
+			StringBuilder error = errorString();
+			error.append("Attempt to ").append(method).append(" for field id ").append(fieldId)
+				 .append(" of item handle ").append(handle).append(" failed to decode the value. Reason: ")
+				 .append(CodecReturnCodes.toString(ret));
+			throw ommIUExcept().message(error.toString(), OmmInvalidUsageException.ErrorCode.INVALID_OPERATION);
+		}
+	}
+
+	private OmmInvalidUsageException blankValue(long handle, int fieldId, String method)
+	{
+		StringBuilder error = errorString();
+		error.append("Attempt to ").append(method).append(" for field id ").append(fieldId)
+			 .append(" of item handle ").append(handle).append(" while the value is blank");
+		return ommIUExcept().message(error.toString(), OmmInvalidUsageException.ErrorCode.INVALID_OPERATION);
+	}
+
+	private OmmInvalidUsageException typeMismatch(int dataType, long handle, int fieldId, String method)
+	{
+		StringBuilder error = errorString();
+		error.append("Attempt to ").append(method).append(" for field id ").append(fieldId)
+			 .append(" of item handle ").append(handle).append(" while the field data type is ")
+			 .append(DataType.asString(dataType));
+		return ommIUExcept().message(error.toString(), OmmInvalidUsageException.ErrorCode.INVALID_OPERATION);
+	}
+
+	/* Not shared, as the exception is thrown once the cache is unlocked. */
+	private OmmInvalidUsageExceptionImpl ommIUExcept()
+	{
+		return new OmmInvalidUsageExceptionImpl();
+	}
+
+	private StringBuilder errorString()
+	{
+		if (_errorString == null)
+			_errorString = new StringBuilder(64);
+		else
+			_errorString.setLength(0);
+
+		return _errorString;
+	}
+}
@@ -8,7 +8,6 @@
 package com.refinitiv.ema.access;
 
 import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.concurrent.locks.ReentrantLock;
@@ -43,6 +42,8 @@ import com.refinitiv.eta.codec.StreamStates;
 import com.refinitiv.eta.rdm.DomainTypes;
 import com.refinitiv.eta.rdm.InstrumentNameTypes;
 import com.refinitiv.eta.transport.TransportBuffer;
+import com.refinitiv.eta.valueadd.common.VaIntHashMap;
+import com.refinitiv.eta.valueadd.common.VaLongHashMap;
 import com.refinitiv.eta.valueadd.common.VaNode;
 import com.refinitiv.eta.valueadd.domainrep.rdm.login.LoginMsg;
 import com.refinitiv.eta.valueadd.domainrep.rdm.login.LoginMsgFactory;
@@ -1029,10 +1030,11 @@ TunnelStreamStatusEventCallback
 	private static final int  PROVIDER_STARTING_STREAM_ID = 0;
 	private static final int CONSUMER_MAX_STREAM_ID_MINUSONE = Integer.MAX_VALUE -1;
 	
-	private HashMap<LongObject, Item<T>>	_itemMap;
-	private HashMap<IntObject, Item<T>> _streamIdMap;
-	private LongObject _longObjHolder;
-	private IntObject _intObjHolder;
+	private VaLongHashMap<Item<T>>	_itemMap;
+	ItemCacheImpl _itemCache;
+	private UpdateConflator<T> _conflator;
+	private UpdateMsgImpl _conflatedUpdateMsg;
+	private VaIntHashMap<Item<T>> _streamIdMap;
 	protected LoginMsg _rsslRDMLoginMsg;
 	private int	_nextStreamId;
 	boolean	_nextStreamIdWrapAround;
@@ -1042,14 +1044,11 @@ TunnelStreamStatusEventCallback
 	{
 		super(baseImpl, CLIENT_NAME);
 		
-		_itemMap = new HashMap<>( baseImpl.activeConfig().itemCountHint == 0 ? 1024 : baseImpl.activeConfig().itemCountHint);
-		_streamIdMap = new HashMap<>( baseImpl.activeConfig().itemCountHint == 0 ? 1024 : baseImpl.activeConfig().itemCountHint);
+		_itemMap = new VaLongHashMap<>( baseImpl.activeConfig().itemCountHint == 0 ? 1024 : baseImpl.activeConfig().itemCountHint);
+		_streamIdMap = new VaIntHashMap<>( baseImpl.activeConfig().itemCountHint == 0 ? 1024 : baseImpl.activeConfig().itemCountHint);
 
 		_updateMsg = new UpdateMsgImpl(_baseImpl.objManager());
 		
-		_longObjHolder = new LongObject();
-		_intObjHolder = new IntObject();
-		
 		if ( baseImpl.implType() == OmmCommonImpl.ImplementationType.CONSUMER )
 		{
 			_nextStreamId = CONSUMER_STARTING_STREAM_ID;
@@ -1066,14 +1065,11 @@ TunnelStreamStatusEventCallback
 	{
 		super(baseImpl, CLIENT_NAME);
 		
-		_itemMap = new HashMap<>( baseImpl.activeConfig().itemCountHint == 0 ? 1024 : baseImpl.activeConfig().itemCountHint);
-		_streamIdMap = new HashMap<>( baseImpl.activeConfig().itemCountHint == 0 ? 1024 : baseImpl.activeConfig().itemCountHint);
+		_itemMap = new VaLongHashMap<>( baseImpl.activeConfig().itemCountHint == 0 ? 1024 : baseImpl.activeConfig().itemCountHint);
+		_streamIdMap = new VaIntHashMap<>( baseImpl.activeConfig().itemCountHint == 0 ? 1024 : baseImpl.activeConfig().itemCountHint);
 
 		_updateMsg = new UpdateMsgImpl(_baseImpl.objManager());
 		
-		_longObjHolder = new LongObject();
-		_intObjHolder = new IntObject();
-		
 		_nextStreamId = PROVIDER_STARTING_STREAM_ID;
 		_nextStreamIdWrapAround = false;
 	}
@@ -1502,7 +1498,7 @@ TunnelStreamStatusEventCallback
         {
         	if ( _baseImpl.implType() != OmmCommonImpl.ImplementationType.CONSUMER )
         	{
-        		_eventImpl._item = _streamIdMap.get(_intObjHolder.value(msg.streamId()));
+        		_eventImpl._item = _streamIdMap.get(msg.streamId());
         		
         		if ( _eventImpl._item == null )
         		{
@@ -1658,7 +1654,7 @@ TunnelStreamStatusEventCallback
 		Msg msg = event.msg();
 		ClientSession clientSession = (ClientSession)event.reactorChannel().userSpecObj();
         
-		_eventImpl._item = _streamIdMap.get(_intObjHolder.value(msg.streamId()));
+		_eventImpl._item = _streamIdMap.get(msg.streamId());
 		_eventImpl._clientHandle = clientSession.clientHandle();
 		_eventImpl._ommProvider = ((OmmServerBaseImpl)_baseImpl).provider();
 		
@@ -1784,11 +1780,21 @@ TunnelStreamStatusEventCallback
 		}
 		else
 			_refreshMsg.service(null);
+
+		int rsslStreamState = ((com.refinitiv.eta.codec.RefreshMsg)rsslMsg).state().streamState();
+		if (_itemCache != null)
+		{
+			_itemCache.apply(_eventImpl._item.itemId(), rsslMsg, reactorChannel.majorVersion(), reactorChannel.minorVersion(), dataDictionary);
+			if (rsslStreamState == StreamStates.NON_STREAMING && ((com.refinitiv.eta.codec.RefreshMsg)rsslMsg).checkRefreshComplete())
+				_itemCache.snapshotComplete(_eventImpl._item.itemId());
+		}
+
+		if (_eventImpl._item._conflation != null)
+			_conflator.flush(_eventImpl._item);
 		
 		notifyOnAllMsg(_refreshMsg);
 		notifyOnRefreshMsg();
 		
-		int rsslStreamState = ((com.refinitiv.eta.codec.RefreshMsg)rsslMsg).state().streamState();
 		if (rsslStreamState == StreamStates.NON_STREAMING)
 		{
 			if (((com.refinitiv.eta.codec.RefreshMsg)rsslMsg).checkRefreshComplete())
@@ -1836,6 +1842,13 @@ TunnelStreamStatusEventCallback
 		else
 			_updateMsg.service(null);
 
+		if (_itemCache != null)
+			_itemCache.apply(_eventImpl._item.itemId(), rsslMsg, reactorChannel.majorVersion(), reactorChannel.minorVersion(), dataDictionary);
+
+		if (_eventImpl._item._conflation != null
+				&& _conflator.conflate(_eventImpl._item, rsslMsg, reactorChannel.majorVersion(), reactorChannel.minorVersion(), dataDictionary))
+			return ReactorCallbackReturnCodes.SUCCESS;
+
 		notifyOnAllMsg(_updateMsg);
 		notifyOnUpdateMsg();
 
@@ -1877,6 +1890,9 @@ TunnelStreamStatusEventCallback
 		else
 			_statusMsg.service(null);
 
+		if (_eventImpl._item._conflation != null)
+			_conflator.flush(_eventImpl._item);
+
 		notifyOnAllMsg(_statusMsg);
 		notifyOnStatusMsg();
 
@@ -2194,7 +2210,7 @@ TunnelStreamStatusEventCallback
 		}
 		else 
 		{
-			Item<T> parent = _itemMap.get(_longObjHolder.value(parentHandle));
+			Item<T> parent = _itemMap.get(parentHandle);
 			if (parent == null)
 			{
 				StringBuilder temp = _baseImpl.strBuilder();
@@ -2275,7 +2291,7 @@ TunnelStreamStatusEventCallback
 	
 	void reissue(com.refinitiv.ema.access.ReqMsg reqMsg, long handle)
 	{
-		Item<T> item = _itemMap.get(_longObjHolder.value(handle));
+		Item<T> item = _itemMap.get(handle);
 		if (item == null || item._closedStatusClient != null)
 		{
 			StringBuilder temp = _baseImpl.strBuilder();
@@ -2296,14 +2312,99 @@ TunnelStreamStatusEventCallback
 
 	void unregister(long handle)
 	{
-		Item<T> item = _itemMap.get(_longObjHolder.value(handle));
+		Item<T> item = _itemMap.get(handle);
 		if (item != null)
 			item.close();
 	}
+
+	@SuppressWarnings("unchecked")
+	void conflateUpdates(long handle, int interval)
+	{
+		Item<T> item = _itemMap.get(handle);
+		if (item == null || item._closedStatusClient != null || item.type() != Item.ItemType.SINGLE_ITEM)
+		{
+			StringBuilder temp = _baseImpl.strBuilder();
+			temp.append("Attempt to use invalid Handle on conflateUpdates(). ").append("Instance name='")
+					.append(_baseImpl.instanceName()).append("'.");
+
+			if (_baseImpl.loggerClient().isErrorEnabled())
+				_baseImpl.loggerClient().error(
+						_baseImpl.formatLogMessage(ItemCallbackClient.CLIENT_NAME, temp.toString(), Severity.ERROR));
+
+			_baseImpl.handleInvalidHandle(handle, temp.toString());
+
+			return;
+		}
+
+		if (interval < 0)
+		{
+			StringBuilder temp = _baseImpl.strBuilder();
+			temp.append("Attempt to pass a negative interval of ").append(interval).append(" to conflateUpdates(). ")
+					.append("Instance name='").append(_baseImpl.instanceName()).append("'.");
+
+			_baseImpl.handleInvalidUsage(temp.toString(), OmmInvalidUsageException.ErrorCode.INVALID_ARGUMENT);
+
+			return;
+		}
+
+		if (_conflator == null)
+			_conflator = new UpdateConflator<T>(this, (OmmBaseImpl<T>)_baseImpl);
+
+		_conflator.interval(item, interval);
+	}
+
+	void flushConflatedUpdates(long handle)
+	{
+		Item<T> item = _itemMap.get(handle);
+		if (item != null && item._conflation != null)
+			_conflator.flushSoon(item);
+	}
+
+	void conflationInfo(ConflationInfoImpl conflationInfo)
+	{
+		if (_conflator == null)
+			return;
+
+		conflationInfo.conflatedUpdates(_conflator._conflatedUpdates);
+		conflationInfo.deliveredUpdates(_conflator._deliveredUpdates);
+		conflationInfo.conflatingItems(_conflator._conflatingItems);
+	}
+
+	/* Delivers the pending update of a conflating item, see UpdateConflator. The update being
+	 * processed, if any, is delivered once the pending update is. */
+	void deliverConflatedUpdate(Item<T> item, Msg rsslMsg, int majorVersion, int minorVersion, DataDictionary dataDictionary)
+	{
+		if (_conflatedUpdateMsg == null)
+			_conflatedUpdateMsg = new UpdateMsgImpl(_baseImpl.objManager());
+
+		_conflatedUpdateMsg.decode(rsslMsg, majorVersion, minorVersion, dataDictionary);
+
+		if (item.directory() != null)
+			_conflatedUpdateMsg.service(item.directory().serviceName());
+		else if (item.type() == Item.ItemType.SINGLE_ITEM)
+			_conflatedUpdateMsg.service(((SingleItem<T>)item)._serviceName);
+		else
+			_conflatedUpdateMsg.service(null);
+
+		Item<T> eventItem = _eventImpl._item;
+		UpdateMsgImpl updateMsg = _updateMsg;
+		try
+		{
+			_eventImpl._item = item;
+			_updateMsg = _conflatedUpdateMsg;
+			notifyOnAllMsg(_updateMsg);
+			notifyOnUpdateMsg();
+		}
+		finally
+		{
+			_eventImpl._item = eventItem;
+			_updateMsg = updateMsg;
+		}
+	}
 	
 	void submit(com.refinitiv.ema.access.RefreshMsg refreshMsg, long handle)
 	{
-		Item<T> found = _itemMap.get(_longObjHolder.value(handle));
+		Item<T> found = _itemMap.get(handle);
 		if ( found == null )
 		{
 			StringBuilder temp = _baseImpl.strBuilder();
@@ -2324,7 +2425,7 @@ TunnelStreamStatusEventCallback
 	
 	void submit(com.refinitiv.ema.access.UpdateMsg updateMsg, long handle)
 	{
-		Item<T> found = _itemMap.get(_longObjHolder.value(handle));
+		Item<T> found = _itemMap.get(handle);
 		if ( found == null )
 		{
 			StringBuilder temp = _baseImpl.strBuilder();
@@ -2345,7 +2446,7 @@ TunnelStreamStatusEventCallback
 	
 	void submit(com.refinitiv.ema.access.StatusMsg statusMsg, long handle)
 	{
-		Item<T> found = _itemMap.get(_longObjHolder.value(handle));
+		Item<T> found = _itemMap.get(handle);
 		if ( found == null )
 		{
 			StringBuilder temp = _baseImpl.strBuilder();
@@ -2366,7 +2467,7 @@ TunnelStreamStatusEventCallback
 
 	void submit(com.refinitiv.ema.access.PostMsg postMsg, long handle)
 	{
-		Item<T> found = _itemMap.get(_longObjHolder.value(handle));
+		Item<T> found = _itemMap.get(handle);
 		if ( found == null )
 		{
 			StringBuilder temp = _baseImpl.strBuilder();
@@ -2387,7 +2488,7 @@ TunnelStreamStatusEventCallback
 
 	void submit(com.refinitiv.ema.access.GenericMsg genericMsg, long handle)
 	{
-		Item<T> found = _itemMap.get(_longObjHolder.value(handle));
+		Item<T> found = _itemMap.get(handle);
 		if ( found == null )
 		{
 			StringBuilder temp = _baseImpl.strBuilder();
@@ -2408,16 +2509,14 @@ TunnelStreamStatusEventCallback
 
 	long addToMap(long itemId, Item<T> item)
 	{
-		LongObject itemIdObj = _baseImpl.objManager().createLongObject().value(itemId);
-		IntObject streamIdObj = _baseImpl.objManager().createIntObject().value(item._streamId);
-		item.itemId(itemIdObj, streamIdObj);
-		_itemMap.put(itemIdObj, item);
-		_streamIdMap.put(streamIdObj, item);
+		item.itemId(itemId, item._streamId);
+		_itemMap.put(itemId, item);
+		_streamIdMap.put(item._streamId, item);
 		
 		if (_baseImpl.loggerClient().isTraceEnabled())
 		{
 			StringBuilder temp = _baseImpl.strBuilder();
-			temp.append("Added Item ").append(itemId).append(" of StreamId ").append(streamIdObj.value()).append(" to item map" ).append( OmmLoggerClient.CR )
+			temp.append("Added Item ").append(itemId).append(" of StreamId ").append(item._streamId).append(" to item map" ).append( OmmLoggerClient.CR )
 			.append( "Instance name " ).append( _baseImpl .instanceName() );
 			
 			_baseImpl.loggerClient().trace(_baseImpl.formatLogMessage(ItemCallbackClient.CLIENT_NAME, temp.toString(), Severity.TRACE));
@@ -2428,9 +2527,8 @@ TunnelStreamStatusEventCallback
 	
 	long addToItemMap(long itemId, Item<T> item)
 	{
-		LongObject itemIdObj = _baseImpl.objManager().createLongObject().value(itemId);
-		item.itemId(itemIdObj, null);
-		_itemMap.put(itemIdObj, item);
+		item.itemId(itemId);
+		_itemMap.put(itemId, item);
 		
 		if (_baseImpl.loggerClient().isTraceEnabled())
 		{
@@ -2446,7 +2544,7 @@ TunnelStreamStatusEventCallback
 	
 	Item<T> getItem(long handle)
 	{
-		return _itemMap.get(_longObjHolder.value(handle));
+		return _itemMap.get(handle);
 	}
 	
 	void removeFromMap(Item<T> item)
@@ -2454,8 +2552,8 @@ TunnelStreamStatusEventCallback
 		if (_baseImpl.loggerClient().isTraceEnabled())
 		{
 			StringBuilder temp = _baseImpl.strBuilder();
-			if (item.streamIdObj() != null)
-				temp.append("Removed Item ").append(item._itemId).append(" of StreamId ").append(item.streamIdObj().value()).append(" from item map" ).append( OmmLoggerClient.CR )
+			if (item._inStreamIdMap)
+				temp.append("Removed Item ").append(item._itemId).append(" of StreamId ").append(item._mappedStreamId).append(" from item map" ).append( OmmLoggerClient.CR )
 			.append( "Instance name " ).append( _baseImpl .instanceName() );
 			else
 				temp.append("Removed Item ").append(item._itemId).append(" from item map" ).append( OmmLoggerClient.CR )
@@ -2468,8 +2566,16 @@ TunnelStreamStatusEventCallback
 		{
 			_baseImpl.userLock().lock();
 			
-			_itemMap.remove(item.itemIdObj());
-			_streamIdMap.remove(item.streamIdObj());
+			_itemMap.remove(item._itemId);
+			if (_itemCache != null)
+				_itemCache.itemRemoved(item._itemId);
+			if (item._conflation != null)
+				_conflator.remove(item);
+			if (item._inStreamIdMap)
+			{
+				_streamIdMap.remove(item._mappedStreamId);
+				item._inStreamIdMap = false;
+			}
 			item.backToPool();
 		}
 		finally
@@ -2480,7 +2586,7 @@ TunnelStreamStatusEventCallback
 
 	boolean isStreamIdInUse(int nextStreamId)
 	{
-		return (_streamIdMap.containsKey(_intObjHolder.value(nextStreamId)));
+		return (_streamIdMap.containsKey(nextStreamId));
 	}
 	
 	int nextStreamId(int numOfItem)
@@ -2647,9 +2753,10 @@ abstract class Item<T> extends VaNode
 	Item<T>					_parent;
 	T						_client;
 	long 					_itemId;
-	LongObject _itemIdObj;
-	IntObject _streamIdObj;
+	int						_mappedStreamId;
+	boolean					_inStreamIdMap;
 	ClosedStatusClient<T>	_closedStatusClient;
+	UpdateConflator<T>.Conflation	_conflation;
 
 	Item() {}
 
@@ -2677,22 +2784,27 @@ abstract class Item<T> extends VaNode
 		return _parent;
 	}
 	
-	void itemId(LongObject itemIdObj, IntObject streamIdObj)
+	void itemId(long itemId)
 	{
-		_itemId = itemIdObj.value();
-		_itemIdObj = itemIdObj;
-		_streamIdObj = streamIdObj;
+		_itemId = itemId;
+		_inStreamIdMap = false;
 	}
 	
-	void backToPool()
+	/* Sets the handle of an item that is also added to the stream id map under the given stream id. */
+	void itemId(long itemId, int mappedStreamId)
 	{
-		if (_itemIdObj != null) _itemIdObj.returnToPool();
-		if (_streamIdObj != null) _streamIdObj.returnToPool();
+		_itemId = itemId;
+		_mappedStreamId = mappedStreamId;
+		_inStreamIdMap = true;
+	}
 	
+	void backToPool()
+	{
 		_closure = null;
 		_parent = null;
 		_client = null;
 		_closedStatusClient = null;
+		_conflation = null;
 		
 		returnToPool();
 	}
@@ -2702,16 +2814,6 @@ abstract class Item<T> extends VaNode
 		return _itemId;
 	}
 	
-	LongObject itemIdObj()
-	{
-		return _itemIdObj;
-	}
-	
-	IntObject streamIdObj()
-	{
-		return _streamIdObj;
-	}
-	
 	void reset(T client, Object closure, Item<T> parent)
 	{
 		_domainType = 0;
@@ -2720,6 +2822,7 @@ abstract class Item<T> extends VaNode
 		_parent = parent;
 		_client = client;
 		_closedStatusClient = null;
+		_conflation = null;
 	}
 	
 	int streamId()
@@ -68,6 +68,7 @@ public class JUnitTestConnect
 	public static final int ConsumerDefaultConsumerName  = ConfigManager.DefaultConsumer; 	
 	public static final int ConsumerDictionaryRequestTimeOut  = ConfigManager.DictionaryRequestTimeOut; 
 	public static final int ConsumerMaxOutstandingPosts  = ConfigManager.MaxOutstandingPosts ; 
+	public static final int ConsumerItemCacheMaxItems  = ConfigManager.ItemCacheMaxItems; 
 	public static final int ConsumerObeyOpenWindow  = ConfigManager.ObeyOpenWindow; 
 	public static final int ConsumerPostAckTimeout  = ConfigManager.PostAckTimeout ; 
 	public static final int ConsumerMsgKeyInUpdates  = ConfigManager.MsgKeyInUpdates; 
@@ -131,6 +132,7 @@ public class JUnitTestConnect
 	public static final int NiProviderMergeSourceDirectoryStreams = ConfigManager.NiProviderMergeSourceDirectoryStreams;
 	public static final int NiProviderRecoverUserSubmitSourceDirectory = ConfigManager.NiProviderRecoverUserSubmitSourceDirectory;
 	public static final int NiProviderRemoveItemsOnDisconnect = ConfigManager.NiProviderRemoveItemsOnDisconnect;
+	public static final int NiProviderSubmitQueueSize = ConfigManager.NiProviderSubmitQueueSize;
 	
 	// Directory
 	public static final int Directory = ConfigManager.Directory;
@@ -178,6 +180,7 @@ public class JUnitTestConnect
 	public static final int IProviderAcceptMessageThatChangesService = ConfigManager.IProviderAcceptMessageThatChangesService;
 	public static final int IProviderAcceptMessageWithoutQosInRange = ConfigManager.IProviderAcceptMessageWithoutQosInRange;
 	public static final int IProviderEnforceAckIDValidation = ConfigManager.IProviderEnforceAckIDValidation;
+	public static final int IProviderReactorThreadCount = ConfigManager.IProviderReactorThreadCount;
 	
 	// Server: Global
 	public static final int Server = ConfigManager.Server;
@@ -929,6 +932,8 @@ public class JUnitTestConnect
 				return activeConfig.requestTimeout;
 			else if (configParam == ConsumerMaxOutstandingPosts)
 				return activeConfig.maxOutstandingPosts;
+			else if (configParam == ConsumerItemCacheMaxItems)
+				return activeConfig.itemCacheMaxItems;
 			else if (configParam == DispatchTimeoutApiThread)
 				return activeConfig.dispatchTimeoutApiThread;
 			else if (configParam == MaxDispatchCountUserThread)
@@ -1194,6 +1199,8 @@ public class JUnitTestConnect
 				return activeConfig.reconnectMaxDelay;
 			else if (configParam == LoginRequestTimeOut)
 				return activeConfig.loginRequestTimeOut;
+			else if (configParam == NiProviderSubmitQueueSize)
+				return ((OmmNiProviderActiveConfig)activeConfig).submitQueueSize;
 		}
 		else if (type == ConfigGroupTypeChannel)
 		{
@@ -1361,6 +1368,8 @@ public class JUnitTestConnect
 				return ((OmmIProviderActiveConfig)activeConfig).maxEnumTypeFragmentSize;
 			else if (configParam == DictionaryFieldDictFragmentSize)
 				return ((OmmIProviderActiveConfig)activeConfig).maxFieldDictFragmentSize;
+			else if (configParam == IProviderReactorThreadCount)
+				return activeConfig.reactorThreadCount;
 		}
 		else if (type == ConfigGroupTypeServer)
 		{
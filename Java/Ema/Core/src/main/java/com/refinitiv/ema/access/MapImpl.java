@@ -11,7 +11,6 @@ import com.refinitiv.ema.access.DataType.DataTypes;
 import com.refinitiv.ema.access.OmmError.ErrorCode;
 import com.refinitiv.eta.codec.*;
 
-import java.nio.ByteBuffer;
 import java.util.Collection;
 import java.util.Iterator;
 import java.util.LinkedList;
@@ -27,6 +26,8 @@ class MapImpl extends CollectionDataImpl implements Map
 	private int _summaryDataType = com.refinitiv.eta.codec.DataTypes.NO_DATA;
 	private boolean _keyTypeSet = false;
 	private boolean _summaryDataTypeSet = false;
+	private int _streamKeyType;
+	private int _streamEntryType;
 	
 	MapImpl() 
 	{
@@ -127,6 +128,9 @@ class MapImpl extends CollectionDataImpl implements Map
 		if (mapEntry == null)
 			throw new NullPointerException("Passed in mapEntry is null.");
 		
+		if (streamEncodeEnabled())
+			streamEncode((MapEntryImpl)mapEntry);
+		
 		return _mapCollection.add(mapEntry);
 	}
 
@@ -203,6 +207,8 @@ class MapImpl extends CollectionDataImpl implements Map
 		if (keyFieldId < -32768 || keyFieldId > 32767)
 			throw ommOORExcept().message("keyFieldId is out of range [(-32768) - 32767].");
 
+		headerChanged();
+		
 		_rsslMap.applyHasKeyFieldId();
 		_rsslMap.keyFieldId(keyFieldId);
 		
@@ -215,6 +221,8 @@ class MapImpl extends CollectionDataImpl implements Map
 		if (totalCountHint < 0 || totalCountHint > 1073741823)
 			throw ommOORExcept().message("totalCountHint is out of range [0 - 1073741823].");
 
+		headerChanged();
+		
 		_rsslMap.applyHasTotalCountHint();
 		_rsslMap.totalCountHint(totalCountHint);
 		
@@ -227,6 +235,8 @@ class MapImpl extends CollectionDataImpl implements Map
 		if (summaryData == null)
 			throw ommIUExcept().message("Passed in summaryData is null", OmmInvalidUsageException.ErrorCode.INVALID_ARGUMENT);
 		
+		headerChanged();
+		
 		_summaryDataType = summaryData.dataType();
 		_summaryDataTypeSet = true;
 
@@ -487,6 +497,22 @@ class MapImpl extends CollectionDataImpl implements Map
 		if (_encodeComplete || (_rsslEncodeIter == null))
 			return _rsslBuffer;
 		
+		int ret;
+		if (_encodeStreamState == ENCODE_STREAMING)
+		{
+			ret =  _rsslMap.encodeComplete(_rsslEncodeIter, true);
+		    if (ret != CodecReturnCodes.SUCCESS)
+		    {
+		    	String errText = errorString().append("Failed to complete encoding on rssl map. Reason='")
+		    								.append(CodecReturnCodes.toString(ret))
+		    								.append("'").toString();
+		        throw ommIUExcept().message(errText, ret);
+		    }
+		    
+		    _encodeComplete = true;
+		    return _rsslBuffer;
+		}
+		
 		int keyType  = _keyType;
 		int entryType = _summaryDataType;
 		
@@ -541,15 +567,11 @@ class MapImpl extends CollectionDataImpl implements Map
 			}
 		}
 			
-		int ret;
-		
 		setEncodedBufferIterator();
 		
 	    while ((ret = _rsslMap.encodeInit(_rsslEncodeIter, 0, 0)) == CodecReturnCodes.BUFFER_TOO_SMALL)
 	    {	    	
-	    	Buffer bigBuffer = CodecFactory.createBuffer();
-			bigBuffer.data(ByteBuffer.allocate(_rsslBuffer.capacity() * 2));
-			_rsslBuffer = bigBuffer;
+	    	enlargeEncodeBuffer();
 
 			setEncodedBufferIterator();
 	    }
@@ -608,6 +630,55 @@ class MapImpl extends CollectionDataImpl implements Map
 	    return _rsslBuffer;
 	}
 	
+	/* Encodes the entry added, starting the encoding of the map with the first one. The key
+	 * and load types of the first entry are those of the map, as in encodedData(). */
+	private void streamEncode(MapEntryImpl mapEntry)
+	{
+		int ret = CodecReturnCodes.SUCCESS;
+		if (_encodeStreamState == ENCODE_STREAM_NOT_STARTED)
+		{
+			if ( (_keyTypeSet && (_keyType != mapEntry._keyDataType)) ||
+				(mapEntry._entryDataType != com.refinitiv.eta.codec.DataTypes.UNKNOWN && _summaryDataTypeSet && (_summaryDataType != mapEntry._entryDataType)) )
+			{
+				// reported by encodedData()
+				stopStreamEncode();
+				return;
+			}
+			
+			_streamKeyType = mapEntry._keyDataType;
+			_streamEntryType = mapEntry._entryDataType;
+			_rsslMap.keyPrimitiveType(_streamKeyType);
+			if (_streamEntryType != com.refinitiv.eta.codec.DataTypes.UNKNOWN)
+				_rsslMap.containerType(_streamEntryType);
+			else
+				_rsslMap.containerType(Utilities.toRsslDataType(mapEntry.loadType()));
+			
+			_rsslEncodeIter.clear();
+			if ((ret = _rsslEncodeIter.setBufferAndRWFVersion(_rsslBuffer, _rsslMajVer, _rsslMinVer)) == CodecReturnCodes.SUCCESS)
+			{
+				while ((ret = _rsslMap.encodeInit(_rsslEncodeIter, 0, 0)) == CodecReturnCodes.BUFFER_TOO_SMALL)
+			    {
+			    	enlargeEncodeBuffer();
+	
+			    	_rsslEncodeIter.clear();
+			    	if ((ret = _rsslEncodeIter.setBufferAndRWFVersion(_rsslBuffer, _rsslMajVer, _rsslMinVer)) != CodecReturnCodes.SUCCESS)
+			    		break;
+			    }
+			}
+			
+			if (ret == CodecReturnCodes.SUCCESS)
+				_encodeStreamState = ENCODE_STREAMING;
+		}
+		
+		if (ret == CodecReturnCodes.SUCCESS && _streamKeyType == mapEntry._keyDataType && _streamEntryType == mapEntry._entryDataType)
+			ret = mapEntryEncode(_streamKeyType, mapEntry._rsslMapEntry, mapEntry._keyData);
+		else
+			ret = CodecReturnCodes.FAILURE;
+		
+		if (ret != CodecReturnCodes.SUCCESS)
+			stopStreamEncode();
+	}
+	
 	void setEncodedBufferIterator()
 	{
 		_rsslEncodeIter.clear();
@@ -629,7 +700,7 @@ class MapImpl extends CollectionDataImpl implements Map
 		{
 			 while ((ret =  rsslMapEntry.encode(_rsslEncodeIter)) == CodecReturnCodes.BUFFER_TOO_SMALL)
 			    {
-				 	_rsslBuffer = Utilities.realignBuffer(_rsslEncodeIter, _rsslBuffer.capacity() * 2);
+				 	growEncodeBuffer();
 			    }
 			 return ret;
 		}
@@ -639,67 +710,67 @@ class MapImpl extends CollectionDataImpl implements Map
 		case com.refinitiv.eta.codec.DataTypes.INT:
 			 while ((ret =  rsslMapEntry.encode(_rsslEncodeIter, (com.refinitiv.eta.codec.Int)cacheKeyData)) == CodecReturnCodes.BUFFER_TOO_SMALL)
 			    {
-				 	_rsslBuffer = Utilities.realignBuffer(_rsslEncodeIter, _rsslBuffer.capacity() * 2);
+				 	growEncodeBuffer();
 			    }
 			 return ret;
 		case com.refinitiv.eta.codec.DataTypes.UINT:
 			 while ((ret =  rsslMapEntry.encode(_rsslEncodeIter, (com.refinitiv.eta.codec.UInt)cacheKeyData)) == CodecReturnCodes.BUFFER_TOO_SMALL)
 			    {
-				 	_rsslBuffer = Utilities.realignBuffer(_rsslEncodeIter, _rsslBuffer.capacity() * 2);
+				 	growEncodeBuffer();
 			    }
 			 return ret;
 		case com.refinitiv.eta.codec.DataTypes.REAL:
 			 while ((ret =  rsslMapEntry.encode(_rsslEncodeIter, (com.refinitiv.eta.codec.Real)cacheKeyData)) == CodecReturnCodes.BUFFER_TOO_SMALL)
 			    {
-				 _rsslBuffer = Utilities.realignBuffer(_rsslEncodeIter, _rsslBuffer.capacity() * 2);
+				 growEncodeBuffer();
 			    }
 			 return ret;
 		case com.refinitiv.eta.codec.DataTypes.DOUBLE:
 			 while ((ret =  rsslMapEntry.encode(_rsslEncodeIter, (com.refinitiv.eta.codec.Double)cacheKeyData)) == CodecReturnCodes.BUFFER_TOO_SMALL)
 			    {
-				 	_rsslBuffer = Utilities.realignBuffer(_rsslEncodeIter, _rsslBuffer.capacity() * 2);
+				 	growEncodeBuffer();
 			    }
 			 return ret;
 		case com.refinitiv.eta.codec.DataTypes.FLOAT:
 			 while ((ret =  rsslMapEntry.encode(_rsslEncodeIter, (com.refinitiv.eta.codec.Float)cacheKeyData)) == CodecReturnCodes.BUFFER_TOO_SMALL)
 			    {
-				 	_rsslBuffer = Utilities.realignBuffer(_rsslEncodeIter, _rsslBuffer.capacity() * 2);
+				 	growEncodeBuffer();
 			    }
 			 return ret;
 		case com.refinitiv.eta.codec.DataTypes.DATETIME:
 			 while ((ret =  rsslMapEntry.encode(_rsslEncodeIter, (com.refinitiv.eta.codec.DateTime)cacheKeyData)) == CodecReturnCodes.BUFFER_TOO_SMALL)
 			    {
-				 	_rsslBuffer = Utilities.realignBuffer(_rsslEncodeIter, _rsslBuffer.capacity() * 2);
+				 	growEncodeBuffer();
 			    }
 			 return ret;
 		case com.refinitiv.eta.codec.DataTypes.DATE:
 			 while ((ret =  rsslMapEntry.encode(_rsslEncodeIter, (com.refinitiv.eta.codec.Date)cacheKeyData)) == CodecReturnCodes.BUFFER_TOO_SMALL)
 			    {
-				 	_rsslBuffer = Utilities.realignBuffer(_rsslEncodeIter, _rsslBuffer.capacity() * 2);
+				 	growEncodeBuffer();
 			    }
 			 return ret;
 		case com.refinitiv.eta.codec.DataTypes.TIME:
 			 while ((ret =  rsslMapEntry.encode(_rsslEncodeIter, (com.refinitiv.eta.codec.Time)cacheKeyData)) == CodecReturnCodes.BUFFER_TOO_SMALL)
 			    {
-				 	_rsslBuffer = Utilities.realignBuffer(_rsslEncodeIter, _rsslBuffer.capacity() * 2);
+				 	growEncodeBuffer();
 			    }
 			 return ret;
 		case com.refinitiv.eta.codec.DataTypes.QOS:
 			 while ((ret =  rsslMapEntry.encode(_rsslEncodeIter, (com.refinitiv.eta.codec.Qos)cacheKeyData)) == CodecReturnCodes.BUFFER_TOO_SMALL)
 			    {
-				 	_rsslBuffer = Utilities.realignBuffer(_rsslEncodeIter, _rsslBuffer.capacity() * 2);
+				 	growEncodeBuffer();
 			    }
 			 return ret;
 		case com.refinitiv.eta.codec.DataTypes.STATE:
 			 while ((ret =  rsslMapEntry.encode(_rsslEncodeIter, (com.refinitiv.eta.codec.State)cacheKeyData)) == CodecReturnCodes.BUFFER_TOO_SMALL)
 			    {
-				 	_rsslBuffer = Utilities.realignBuffer(_rsslEncodeIter, _rsslBuffer.capacity() * 2);
+				 	growEncodeBuffer();
 			    }
 			 return ret;
 		case com.refinitiv.eta.codec.DataTypes.ENUM:
 			 while ((ret =  rsslMapEntry.encode(_rsslEncodeIter, (com.refinitiv.eta.codec.Enum)cacheKeyData)) == CodecReturnCodes.BUFFER_TOO_SMALL)
 			    {
-				 	_rsslBuffer = Utilities.realignBuffer(_rsslEncodeIter, _rsslBuffer.capacity() * 2);
+				 	growEncodeBuffer();
 			    }
 			 return ret;
 		case com.refinitiv.eta.codec.DataTypes.BUFFER:
@@ -708,7 +779,7 @@ class MapImpl extends CollectionDataImpl implements Map
 		case com.refinitiv.eta.codec.DataTypes.RMTES_STRING:
 			 while ((ret =  rsslMapEntry.encode(_rsslEncodeIter, (com.refinitiv.eta.codec.Buffer)cacheKeyData)) == CodecReturnCodes.BUFFER_TOO_SMALL)
 			    {
-				 	_rsslBuffer = Utilities.realignBuffer(_rsslEncodeIter, _rsslBuffer.capacity() * 2);
+				 	growEncodeBuffer();
 			    }
 			 return ret;
 		 default:
@@ -754,6 +825,8 @@ class MapImpl extends CollectionDataImpl implements Map
 			throw ommIUExcept().message(errText, OmmInvalidUsageException.ErrorCode.INVALID_ARGUMENT);
 		}
 		
+		headerChanged();
+		
 		_keyType = keyPrimitiveType;
 		_keyTypeSet = true;
 		return this;
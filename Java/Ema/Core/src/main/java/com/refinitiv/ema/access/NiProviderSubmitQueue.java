@@ -0,0 +1,419 @@
+///*|-----------------------------------------------------------------------------
+// *|            This source code is provided under the Apache 2.0 license      --
+// *|  and is provided AS IS with no warranty or guarantee of fit for purpose.  --
+// *|                See the project's LICENSE.md for details.                  --
+// *|           Copyright (C) 2021 Refinitiv. All rights reserved.            --
+///*|-----------------------------------------------------------------------------
+
+package com.refinitiv.ema.access;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.locks.ReentrantLock;
+
+import com.refinitiv.ema.access.OmmLoggerClient.Severity;
+import com.refinitiv.ema.access.OmmNiProviderImpl.StreamInfo;
+import com.refinitiv.ema.access.OmmNiProviderImpl.StreamType;
+import com.refinitiv.ema.rdm.EmaRdm;
+import com.refinitiv.eta.codec.Buffer;
+import com.refinitiv.eta.codec.CodecFactory;
+import com.refinitiv.eta.codec.CodecReturnCodes;
+import com.refinitiv.eta.codec.EncodeIterator;
+import com.refinitiv.eta.codec.UpdateMsgFlags;
+import com.refinitiv.eta.transport.TransportBuffer;
+import com.refinitiv.eta.transport.TransportReturnCodes;
+import com.refinitiv.eta.transport.WritePriorities;
+import com.refinitiv.eta.valueadd.common.VaNode;
+import com.refinitiv.eta.valueadd.common.VaRingQueue;
+import com.refinitiv.eta.valueadd.reactor.ReactorChannel;
+import com.refinitiv.eta.valueadd.reactor.ReactorErrorInfo;
+import com.refinitiv.eta.valueadd.reactor.ReactorFactory;
+import com.refinitiv.eta.valueadd.reactor.ReactorReturnCodes;
+import com.refinitiv.eta.valueadd.reactor.ReactorSubmitOptions;
+
+/* Submit path of the UpdateMsgs of open item streams of a non-interactive provider,
+ * used when SubmitQueueSize is configured.
+ *
+ * Each thread submitting updates encodes them into buffers of its own, without holding
+ * the user lock, and adds them to a ring shared by all the threads. Whichever thread gets
+ * the writer lock drains the ring to the ReactorChannel, submitting every update queued
+ * so far, and then checks the ring again so that an update queued while it was draining
+ * is not left behind. Every other message of the provider is submitted holding the writer
+ * lock after draining the ring, including the updates of slots other threads had claimed
+ * but not yet filled, so the messages of a handle submitted by one thread are sent in the
+ * order they were submitted.
+ *
+ * While the channel is out of buffers, a thread submitting updates waits a while for the
+ * reactor to write some out. A thread holding the user lock never waits, as the reactor
+ * thread may need the lock to report the channel down: the submit fails with NO_BUFFERS.
+ * Either way the update that got no buffer is dropped and the others stay queued.
+ *
+ * The StreamInfo of a closed stream is not pooled while the queue is enabled, so the stream
+ * of a queued update keeps its stream id and service id. An update whose stream was closed,
+ * or reopened, by the time it is written is dropped.
+ *
+ * The lock order is the user lock, then the writer lock. The drain never takes the user lock.
+ */
+class NiProviderSubmitQueue
+{
+	private static final int ENCODE_BUFFER_INIT_SIZE = 512;
+	private static final int ENCODE_BUFFER_MSG_HEADER_SIZE = 256;
+	private static final long NO_BUFFERS_WAIT_IN_NANOS = 100000000L;
+
+	private OmmNiProviderImpl _provider;
+	private VaRingQueue _queue;
+	private ReentrantLock _writerLock = new ReentrantLock();
+
+	// the following are only accessed while holding the writer lock
+	private ReactorSubmitOptions _submitOptions = ReactorFactory.createReactorSubmitOptions();
+	private ReactorErrorInfo _errorInfo = ReactorFactory.createReactorErrorInfo();
+	private StringBuilder _textBuilder = new StringBuilder(256);
+	private StringBuilder _strBuilder = new StringBuilder(512);
+
+	private ThreadLocal<Producer> _producer = new ThreadLocal<Producer>()
+	{
+		@Override
+		protected Producer initialValue()
+		{
+			return new Producer(_queue.capacity());
+		}
+	};
+
+	/* Encoding state of a thread submitting updates, and the nodes it has submitted
+	 * that were written, ready to be reused. */
+	static class Producer
+	{
+		EncodeIterator _encodeIter = CodecFactory.createEncodeIterator();
+		VaRingQueue _freeNodes;
+
+		Producer(int capacity)
+		{
+			_freeNodes = new VaRingQueue(capacity);
+		}
+
+		SubmitNode node()
+		{
+			SubmitNode node = (SubmitNode)_freeNodes.poll();
+			return node != null ? node : new SubmitNode(this);
+		}
+	}
+
+	/* An encoded UpdateMsg waiting in the ring. */
+	static class SubmitNode extends VaNode
+	{
+		Producer _owner;
+		StreamInfo _streamInfo;
+		ByteBuffer _data = ByteBuffer.allocate(ENCODE_BUFFER_INIT_SIZE);
+		Buffer _buffer = CodecFactory.createBuffer();
+		int _length;
+
+		SubmitNode(Producer owner)
+		{
+			_owner = owner;
+		}
+
+		int encode(com.refinitiv.eta.codec.Msg rsslMsg, int majorVersion, int minorVersion)
+		{
+			int minSize = rsslMsg.encodedDataBody().length() + ENCODE_BUFFER_MSG_HEADER_SIZE;
+			if (_data.capacity() < minSize)
+				_data = ByteBuffer.allocate(Math.max(minSize, _data.capacity() * 2));
+
+			EncodeIterator encodeIter = _owner._encodeIter;
+			int ret;
+			while (true)
+			{
+				_data.clear();
+				_buffer.data(_data, 0, _data.capacity());
+				encodeIter.clear();
+				if ((ret = encodeIter.setBufferAndRWFVersion(_buffer, majorVersion, minorVersion)) != CodecReturnCodes.SUCCESS)
+					return ret;
+
+				if ((ret = rsslMsg.encode(encodeIter)) != CodecReturnCodes.BUFFER_TOO_SMALL)
+					break;
+
+				_data = ByteBuffer.allocate(_data.capacity() * 2);
+			}
+
+			_length = _data.position();
+			return ret;
+		}
+
+		/* Gives the node back to the thread that submitted it, or to the GC if that thread
+		 * already has enough free nodes. */
+		@Override
+		public void returnToPool()
+		{
+			_streamInfo = null;
+			_owner._freeNodes.offer(this);
+		}
+	}
+
+	NiProviderSubmitQueue(OmmNiProviderImpl provider, int capacity)
+	{
+		_provider = provider;
+		_queue = new VaRingQueue(capacity);
+		_submitOptions.writeArgs().priority(WritePriorities.HIGH);
+	}
+
+	/* Encodes the update on the open item stream of the handle, and queues it to be written to the
+	 * channel. Returns false for an update on a new stream, a consumer stream or the directory stream,
+	 * or one that could not be encoded, so the caller submits it on the locked path which opens the
+	 * stream or reports the error. */
+	boolean submit(UpdateMsgImpl updateMsgImpl, long handle)
+	{
+		if (updateMsgImpl.domainType() == EmaRdm.MMT_DIRECTORY)
+			return false;
+
+		StreamInfo streamInfo = _provider.streamInfo(handle);
+		ChannelInfo channelInfo = _provider.activeChannelInfo();
+		if (streamInfo == null || streamInfo.streamType() != StreamType.PROVIDING || channelInfo == null)
+			return false;
+
+		ReactorChannel reactorChannel = channelInfo.rsslReactorChannel();
+		com.refinitiv.eta.codec.Msg rsslMsg = updateMsgImpl._rsslMsg;
+		rsslMsg.streamId(streamInfo.streamId());
+
+		if ((rsslMsg.flags() & UpdateMsgFlags.HAS_MSG_KEY) != 0)
+		{
+			rsslMsg.msgKey().serviceId(streamInfo.serviceId());
+			rsslMsg.msgKey().applyHasServiceId();
+		}
+
+		Producer producer = _producer.get();
+		SubmitNode node = producer.node();
+		if (node.encode(rsslMsg, reactorChannel.majorVersion(), reactorChannel.minorVersion()) != CodecReturnCodes.SUCCESS)
+		{
+			node.returnToPool();
+			return false;
+		}
+		node._streamInfo = streamInfo;
+
+		while (!_queue.offer(node))
+		{
+			// the ring is full, write it out before queuing
+			_writerLock.lock();
+			try
+			{
+				drain(true);
+			}
+			finally
+			{
+				_writerLock.unlock();
+			}
+		}
+
+		tryDrain(true);
+		return true;
+	}
+
+	/* Takes the writer lock and writes out the updates queued so far, so that a message submitted
+	 * next follows them. Waits for the slots claimed by other threads to be filled, which takes
+	 * no lock, but not for buffers. Returns ReactorReturnCodes.NO_BUFFERS, with the error info
+	 * set, if the channel ran out of buffers before writing them all out, in which case the
+	 * message must not be submitted. unlock() must be called either way. */
+	int lock(ReactorErrorInfo errorInfo)
+	{
+		_writerLock.lock();
+
+		long tail = _queue.tail();
+		while (true)
+		{
+			if (drain(false) != ReactorReturnCodes.SUCCESS)
+			{
+				errorInfo.error().errorId(TransportReturnCodes.NO_BUFFERS);
+				errorInfo.error().text("Channel is out of buffers to write the queued UpdateMsgs.");
+				return ReactorReturnCodes.NO_BUFFERS;
+			}
+
+			if (_queue.head() - tail >= 0)
+				return ReactorReturnCodes.SUCCESS;
+
+			Thread.yield();
+		}
+	}
+
+	/* Releases the writer lock taken by lock(), draining any update queued meanwhile. Called
+	 * holding the user lock, so it does not wait for buffers. */
+	void unlock()
+	{
+		_writerLock.unlock();
+		tryDrain(false);
+	}
+
+	/* Drains the ring unless another thread holds the writer lock, and again for the updates
+	 * queued while draining, until it is empty or the channel is out of buffers. */
+	private void tryDrain(boolean wait)
+	{
+		while (_queue.size() > 0 && _writerLock.tryLock())
+		{
+			try
+			{
+				if (drain(wait) != ReactorReturnCodes.SUCCESS)
+					return;
+			}
+			finally
+			{
+				_writerLock.unlock();
+			}
+		}
+	}
+
+	/* The ring of queued updates, used by the tests to hold a slot claimed but not filled. */
+	VaRingQueue ring()
+	{
+		return _queue;
+	}
+
+	/* Drops the queued updates, as the channel they were encoded for is down. */
+	void clear()
+	{
+		_writerLock.lock();
+		try
+		{
+			SubmitNode node;
+			while ((node = (SubmitNode)_queue.poll()) != null)
+				node.returnToPool();
+		}
+		finally
+		{
+			_writerLock.unlock();
+		}
+	}
+
+	/* Writes the queued updates to the active channel, up to the first slot not yet filled.
+	 * If the channel is out of buffers, drops the update and stops, returning NO_BUFFERS;
+	 * when wait is set, it first waits a while for the reactor to write some out, unless the
+	 * channel goes down meanwhile. Must hold the writer lock. */
+	private int drain(boolean wait)
+	{
+		int dropped = 0;
+		int ret = ReactorReturnCodes.SUCCESS;
+		SubmitNode node;
+
+		while ((node = (SubmitNode)_queue.poll()) != null)
+		{
+			if (_provider.streamInfo(node._streamInfo.handle().value()) != node._streamInfo)
+			{
+				node.returnToPool();
+				continue;
+			}
+
+			ChannelInfo channelInfo = _provider.activeChannelInfo();
+			if (channelInfo == null)
+			{
+				node.returnToPool();
+				++dropped;
+				continue;
+			}
+
+			ReactorChannel reactorChannel = channelInfo.rsslReactorChannel();
+			TransportBuffer buffer = buffer(channelInfo, node._length, wait);
+			if (buffer == null)
+			{
+				node.returnToPool();
+				if (!isActive(channelInfo))
+				{
+					++dropped;
+					continue;
+				}
+
+				if (_errorInfo.error().errorId() == TransportReturnCodes.NO_BUFFERS)
+				{
+					logError("ReactorChannel.getBuffer()", ReactorReturnCodes.NO_BUFFERS);
+					ret = ReactorReturnCodes.NO_BUFFERS;
+					break;
+				}
+
+				logError("ReactorChannel.getBuffer()", ReactorReturnCodes.FAILURE);
+				continue;
+			}
+
+			node._data.limit(node._length);
+			node._data.position(0);
+			buffer.data().put(node._data);
+			node.returnToPool();
+
+			int submitRet;
+			while ((submitRet = reactorChannel.submit(buffer, _submitOptions, _errorInfo)) == ReactorReturnCodes.WRITE_CALL_AGAIN);
+
+			if (submitRet < ReactorReturnCodes.SUCCESS)
+			{
+				logError("ReactorChannel.submit()", submitRet);
+				reactorChannel.releaseBuffer(buffer, _errorInfo);
+			}
+		}
+
+		if (dropped > 0 && _provider.loggerClient().isWarnEnabled())
+		{
+			_textBuilder.setLength(0);
+			_textBuilder.append("No active channel to send message. Dropped ").append(dropped)
+				.append(" queued UpdateMsg.");
+			_provider.loggerClient().warn(formatLogMessage(Severity.WARNING));
+		}
+
+		return ret;
+	}
+
+	/* Gets a buffer from the channel. While it is out of buffers and wait is set, retries for
+	 * up to NO_BUFFERS_WAIT_IN_NANOS, unless the channel goes down meanwhile. */
+	private TransportBuffer buffer(ChannelInfo channelInfo, int length, boolean wait)
+	{
+		ReactorChannel reactorChannel = channelInfo.rsslReactorChannel();
+		long deadline = System.nanoTime() + NO_BUFFERS_WAIT_IN_NANOS;
+		TransportBuffer buffer;
+
+		while (true)
+		{
+			_errorInfo.clear();
+			if ((buffer = reactorChannel.getBuffer(length, false, _errorInfo)) != null
+					|| _errorInfo.error().errorId() != TransportReturnCodes.NO_BUFFERS
+					|| !wait || !isActive(channelInfo) || System.nanoTime() - deadline >= 0)
+				return buffer;
+			Thread.yield();
+		}
+	}
+
+	/* Returns whether the channel is still the active one and not down. Its ReactorChannel is marked
+	 * down by the reactor before the channel down event is dispatched, which unsets the active channel. */
+	private boolean isActive(ChannelInfo channelInfo)
+	{
+		if (_provider.activeChannelInfo() != channelInfo)
+			return false;
+
+		ReactorChannel.State state = channelInfo.rsslReactorChannel().state();
+		return state != ReactorChannel.State.DOWN && state != ReactorChannel.State.DOWN_RECONNECTING
+				&& state != ReactorChannel.State.CLOSED;
+	}
+
+	private void logError(String function, int ret)
+	{
+		if (!_provider.loggerClient().isErrorEnabled())
+			return;
+
+		com.refinitiv.eta.transport.Error error = _errorInfo.error();
+
+		_textBuilder.setLength(0);
+		_textBuilder.append("Internal error: ").append(function).append(" failed in OmmNiProviderImpl.submit(UpdateMsg), dropping this UpdateMsg.")
+			.append(OmmLoggerClient.CR)
+			.append("RsslChannel ").append(Integer.toHexString(error.channel() != null ? error.channel().hashCode() : 0))
+			.append(OmmLoggerClient.CR)
+			.append("Reason ").append(ReactorReturnCodes.toString(ret)).append(OmmLoggerClient.CR)
+			.append("Error Id ").append(error.errorId()).append(OmmLoggerClient.CR)
+			.append("Internal sysError ").append(error.sysError()).append(OmmLoggerClient.CR)
+			.append("Error Location ").append(_errorInfo.location()).append(OmmLoggerClient.CR)
+			.append("Error Text ").append(error.text());
+
+		_provider.loggerClient().error(formatLogMessage(Severity.ERROR));
+	}
+
+	/* Formats the text as OmmNiProviderImpl.formatLogMessage() does, which uses the string
+	 * builder of the provider guarded by the user lock. */
+	private String formatLogMessage(int level)
+	{
+		_strBuilder.setLength(0);
+		_strBuilder.append("loggerMsg\n").append("    ClientName: ").append(_provider.instanceName()).append("\n")
+			.append("    Severity: ").append(OmmLoggerClient.loggerSeverityAsString(level)).append("\n")
+			.append("    Text:    ").append(_textBuilder).append("\n").append("loggerMsgEnd\n\n");
+
+		return _strBuilder.toString();
+	}
+}
@@ -149,6 +149,8 @@ class OmmArrayImpl extends CollectionDataImpl implements OmmArray
 		if (width < 0 || width > 65535)
 			throw ommOORExcept().message("width is out of range [0 - 65535].");
 		
+		headerChanged();
+		
 		_rsslArray.itemLength(width);
 		return this;
 	}
@@ -184,6 +186,9 @@ class OmmArrayImpl extends CollectionDataImpl implements OmmArray
 		if (arrayEntry == null)
 			throw new NullPointerException("Passed in arrayEntry is null.");
 		
+		if (streamEncodeEnabled())
+			streamEncode((OmmArrayEntryImpl)arrayEntry);
+		
 		return _ommArrayCollection.add(arrayEntry);
 	}
 
@@ -393,10 +398,26 @@ class OmmArrayImpl extends CollectionDataImpl implements OmmArray
 		if (_encodeComplete || (_rsslEncodeIter == null))
 			return _rsslBuffer; 
 		
+		int ret;
+		if (_encodeStreamState == ENCODE_STREAMING)
+		{
+			ret =  _rsslArray.encodeComplete(_rsslEncodeIter, true);
+		    if (ret != CodecReturnCodes.SUCCESS)
+		    {
+		    	String errText = errorString().append("Failed to complete encoding on rssl array. Reason='")
+		    								.append(CodecReturnCodes.toString(ret))
+		    								.append("'").toString();
+		        throw ommIUExcept().message(errText, ret);
+		    }
+		    
+		    _encodeComplete = true;
+		    return _rsslBuffer;
+		}
+		
 		if (_ommArrayCollection.isEmpty())
 			throw ommIUExcept().message("OmmArray to be encoded is empty.", OmmInvalidUsageException.ErrorCode.INVALID_OPERATION);
 		
-		int ret = _rsslEncodeIter.setBufferAndRWFVersion(_rsslBuffer, _rsslMajVer, _rsslMinVer);
+		ret = _rsslEncodeIter.setBufferAndRWFVersion(_rsslBuffer, _rsslMajVer, _rsslMinVer);
 	    if (ret != CodecReturnCodes.SUCCESS)
 	    {
 	    	String errText = errorString().append("Failed to setBufferAndRWFVersion on rssl encode iterator. Reason='")
@@ -411,7 +432,7 @@ class OmmArrayImpl extends CollectionDataImpl implements OmmArray
 		
 	    while ((ret = _rsslArray.encodeInit(_rsslEncodeIter)) == CodecReturnCodes.BUFFER_TOO_SMALL)
 	    {
-	    	_rsslBuffer = Utilities.realignBuffer(_rsslEncodeIter, _rsslBuffer.capacity() * 2);
+	    	growEncodeBuffer();
 	    }
 	    
 	    if (ret != CodecReturnCodes.SUCCESS)
@@ -461,6 +482,46 @@ class OmmArrayImpl extends CollectionDataImpl implements OmmArray
 	    return _rsslBuffer;
 	}
 	
+	/* Encodes the entry added, starting the encoding of the array with the first one. The type
+	 * of the first entry is the primitive type of the array. */
+	private void streamEncode(OmmArrayEntryImpl arrayEntry)
+	{
+		int ret = CodecReturnCodes.SUCCESS;
+		if (_encodeStreamState == ENCODE_STREAM_NOT_STARTED)
+		{
+			_rsslArray.primitiveType(arrayEntry._entryDataType);
+			
+			if ((ret = _rsslEncodeIter.setBufferAndRWFVersion(_rsslBuffer, _rsslMajVer, _rsslMinVer)) == CodecReturnCodes.SUCCESS)
+			{
+				while ((ret = _rsslArray.encodeInit(_rsslEncodeIter)) == CodecReturnCodes.BUFFER_TOO_SMALL)
+			    {
+			    	growEncodeBuffer();
+			    }
+			}
+			
+			if (ret == CodecReturnCodes.SUCCESS)
+				_encodeStreamState = ENCODE_STREAMING;
+		}
+		
+		if (ret == CodecReturnCodes.SUCCESS && _rsslArray.primitiveType() == arrayEntry._entryDataType)
+		{
+			try
+			{
+				ret = arrayEntryEncode(_rsslArray.itemLength(), arrayEntry._entryDataType, arrayEntry._rsslArrayEntry, arrayEntry._entryData);
+			}
+			catch (OmmInvalidUsageException excp)
+			{
+				// reported by encodedData()
+				ret = CodecReturnCodes.FAILURE;
+			}
+		}
+		else
+			ret = CodecReturnCodes.FAILURE;
+		
+		if (ret != CodecReturnCodes.SUCCESS)
+			stopStreamEncode();
+	}
+	
 	int arrayEntryEncode(int fixedItemLength, int dataType, ArrayEntry rsslArrayEntry, Object value)
 	{
 		int ret;
@@ -468,7 +529,7 @@ class OmmArrayImpl extends CollectionDataImpl implements OmmArray
 		{
 			while ((ret = rsslArrayEntry.encode(_rsslEncodeIter)) == CodecReturnCodes.BUFFER_TOO_SMALL)
 		    {
-				_rsslBuffer = Utilities.realignBuffer(_rsslEncodeIter, _rsslBuffer.capacity() * 2);
+				growEncodeBuffer();
 		    }
 			return ret;
 		}
@@ -515,7 +576,7 @@ class OmmArrayImpl extends CollectionDataImpl implements OmmArray
 			}
 			while ((ret = rsslArrayEntry.encode(_rsslEncodeIter, (com.refinitiv.eta.codec.UInt)value)) == CodecReturnCodes.BUFFER_TOO_SMALL)
 		    {
-				_rsslBuffer = Utilities.realignBuffer(_rsslEncodeIter, _rsslBuffer.capacity() * 2);
+				growEncodeBuffer();
 		    }
 			return ret;
 		case com.refinitiv.eta.codec.DataTypes.INT:
@@ -558,7 +619,7 @@ class OmmArrayImpl extends CollectionDataImpl implements OmmArray
 			}
 			while ((ret = rsslArrayEntry.encode(_rsslEncodeIter, (com.refinitiv.eta.codec.Int)value)) == CodecReturnCodes.BUFFER_TOO_SMALL)
 		    {
-				_rsslBuffer = Utilities.realignBuffer(_rsslEncodeIter, _rsslBuffer.capacity() * 2);
+				growEncodeBuffer();
 		    }
 			return ret;
 		case com.refinitiv.eta.codec.DataTypes.ENUM:
@@ -592,7 +653,7 @@ class OmmArrayImpl extends CollectionDataImpl implements OmmArray
 			}
 			while ((ret = rsslArrayEntry.encode(_rsslEncodeIter, (com.refinitiv.eta.codec.Enum)value)) == CodecReturnCodes.BUFFER_TOO_SMALL)
 		    {
-				_rsslBuffer = Utilities.realignBuffer(_rsslEncodeIter, _rsslBuffer.capacity() * 2);
+				growEncodeBuffer();
 		    }
 			return ret;
 		case com.refinitiv.eta.codec.DataTypes.REAL:
@@ -604,7 +665,7 @@ class OmmArrayImpl extends CollectionDataImpl implements OmmArray
 			}
 			while ((ret = rsslArrayEntry.encode(_rsslEncodeIter, (com.refinitiv.eta.codec.Real)value)) == CodecReturnCodes.BUFFER_TOO_SMALL)
 		    {
-				_rsslBuffer = Utilities.realignBuffer(_rsslEncodeIter, _rsslBuffer.capacity() * 2);
+				growEncodeBuffer();
 		    }
 			return ret;
 		case com.refinitiv.eta.codec.DataTypes.FLOAT:
@@ -616,7 +677,7 @@ class OmmArrayImpl extends CollectionDataImpl implements OmmArray
 			}
 			while ((ret = rsslArrayEntry.encode(_rsslEncodeIter, (com.refinitiv.eta.codec.Float)value)) == CodecReturnCodes.BUFFER_TOO_SMALL)
 		    {
-				_rsslBuffer = Utilities.realignBuffer(_rsslEncodeIter, _rsslBuffer.capacity() * 2);
+				growEncodeBuffer();
 		    }
 			return ret;
 		case com.refinitiv.eta.codec.DataTypes.DOUBLE:
@@ -628,7 +689,7 @@ class OmmArrayImpl extends CollectionDataImpl implements OmmArray
 			}
 			while ((ret = rsslArrayEntry.encode(_rsslEncodeIter, (com.refinitiv.eta.codec.Double)value)) == CodecReturnCodes.BUFFER_TOO_SMALL)
 		    {
-				_rsslBuffer = Utilities.realignBuffer(_rsslEncodeIter, _rsslBuffer.capacity() * 2);
+				growEncodeBuffer();
 		    }
 			return ret;
 		case com.refinitiv.eta.codec.DataTypes.DATE:
@@ -640,7 +701,7 @@ class OmmArrayImpl extends CollectionDataImpl implements OmmArray
 			}
 			while ((ret = rsslArrayEntry.encode(_rsslEncodeIter, (com.refinitiv.eta.codec.Date)value)) == CodecReturnCodes.BUFFER_TOO_SMALL)
 		    {
-				_rsslBuffer = Utilities.realignBuffer(_rsslEncodeIter, _rsslBuffer.capacity() * 2);
+				growEncodeBuffer();
 		    }
 			return ret;
 		case com.refinitiv.eta.codec.DataTypes.TIME:
@@ -648,7 +709,7 @@ class OmmArrayImpl extends CollectionDataImpl implements OmmArray
 			{
 				while ((ret = rsslArrayEntry.encode(_rsslEncodeIter, (com.refinitiv.eta.codec.Time)value)) == CodecReturnCodes.BUFFER_TOO_SMALL)
 			    {
-					_rsslBuffer = Utilities.realignBuffer(_rsslEncodeIter, _rsslBuffer.capacity() * 2);
+					growEncodeBuffer();
 			    }
 				return ret;
 			}
@@ -663,7 +724,7 @@ class OmmArrayImpl extends CollectionDataImpl implements OmmArray
 			{
 				while ((ret = rsslArrayEntry.encode(_rsslEncodeIter, (com.refinitiv.eta.codec.DateTime)value)) == CodecReturnCodes.BUFFER_TOO_SMALL)
 			    {
-					_rsslBuffer = Utilities.realignBuffer(_rsslEncodeIter, _rsslBuffer.capacity() * 2);
+					growEncodeBuffer();
 			    }
 				return ret;
 			}
@@ -682,7 +743,7 @@ class OmmArrayImpl extends CollectionDataImpl implements OmmArray
 			}
 			while ((ret = rsslArrayEntry.encode(_rsslEncodeIter, (com.refinitiv.eta.codec.Qos)value)) == CodecReturnCodes.BUFFER_TOO_SMALL)
 		    {
-				_rsslBuffer = Utilities.realignBuffer(_rsslEncodeIter, _rsslBuffer.capacity() * 2);
+				growEncodeBuffer();
 		    }
 			return ret;
 		case com.refinitiv.eta.codec.DataTypes.STATE:
@@ -694,7 +755,7 @@ class OmmArrayImpl extends CollectionDataImpl implements OmmArray
 			}
 			while ((ret = rsslArrayEntry.encode(_rsslEncodeIter, (com.refinitiv.eta.codec.State)value)) == CodecReturnCodes.BUFFER_TOO_SMALL)
 		    {
-				_rsslBuffer = Utilities.realignBuffer(_rsslEncodeIter, _rsslBuffer.capacity() * 2);
+				growEncodeBuffer();
 		    }
 			return ret;
 		case com.refinitiv.eta.codec.DataTypes.BUFFER:
@@ -709,7 +770,7 @@ class OmmArrayImpl extends CollectionDataImpl implements OmmArray
 			}
 			while ((ret = rsslArrayEntry.encode(_rsslEncodeIter, (com.refinitiv.eta.codec.Buffer)value)) == CodecReturnCodes.BUFFER_TOO_SMALL)
 		    {
-				_rsslBuffer = Utilities.realignBuffer(_rsslEncodeIter, _rsslBuffer.capacity() * 2);
+				growEncodeBuffer();
 		    }
 			return ret;
 		default:
@@ -15,7 +15,6 @@ import java.nio.channels.Pipe;
 import java.nio.channels.SelectionKey;
 import java.nio.channels.Selector;
 import java.util.Iterator;
-import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.TimeUnit;
@@ -23,6 +22,7 @@ import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.locks.ReentrantLock;
 
 import com.refinitiv.eta.codec.*;
+import com.refinitiv.eta.valueadd.common.VaTimingWheel;
 import com.refinitiv.eta.valueadd.reactor.*;
 import org.slf4j.Logger;
 
@@ -130,7 +130,7 @@ abstract class OmmBaseImpl<T> implements OmmCommonImpl, Runnable, TimeoutClient,
 	private ExecutorService _executor;
 	private volatile boolean _threadRunning = false;
 	protected boolean _eventTimeout;
-	protected ConcurrentLinkedQueue<TimeoutEvent> _timeoutEventQueue = new ConcurrentLinkedQueue<TimeoutEvent>();
+	protected VaTimingWheel _timeoutWheel = new VaTimingWheel();
 	protected EmaObjectManager _objManager = new EmaObjectManager();
 	private Pipe _pipe;
 	private AtomicLong _pipeWriteCount = new AtomicLong();
@@ -652,22 +652,21 @@ abstract class OmmBaseImpl<T> implements OmmCommonImpl, Runnable, TimeoutClient,
 		return _state;
 	}
 
-	ConcurrentLinkedQueue<TimeoutEvent> timerEventQueue()
-	{
-		return _timeoutEventQueue;
-	}
-	
 	TimeoutEvent addTimeoutEvent(long timeoutInMicroSec, TimeoutClient client)
 	{
-		TimeoutEvent timeoutEvent = (TimeoutEvent) _objManager._timeoutEventPool.poll();
-		if (timeoutEvent == null)
+		TimeoutEvent timeoutEvent;
+		synchronized (_timeoutWheel)
 		{
-			timeoutEvent = new TimeoutEvent(timeoutInMicroSec * 1000, client);
-			_objManager._timeoutEventPool.updatePool(timeoutEvent);
-		} else
-			timeoutEvent.timeoutInNanoSec(timeoutInMicroSec * 1000, client);
+			timeoutEvent = (TimeoutEvent) _objManager._timeoutEventPool.poll();
+			if (timeoutEvent == null)
+			{
+				timeoutEvent = new TimeoutEvent(timeoutInMicroSec * 1000, client);
+				_objManager._timeoutEventPool.updatePool(timeoutEvent);
+			} else
+				timeoutEvent.timeoutInNanoSec(timeoutInMicroSec * 1000, client);
 
-		_timeoutEventQueue.add(timeoutEvent);
+			timeoutEvent.schedule(_timeoutWheel);
+		}
 		
 		try 
 		{
@@ -1446,7 +1445,7 @@ abstract class OmmBaseImpl<T> implements OmmCommonImpl, Runnable, TimeoutClient,
 		long endTime = 0;
 		
 		timeOut = timeOut*1000;
-		long userTimeout = TimeoutEvent.userTimeOutExist(_timeoutEventQueue);
+		long userTimeout = TimeoutEvent.userTimeOutExist(_timeoutWheel);
 		boolean userTimeoutExist = false;
 		if (userTimeout >= 0)
 		{
@@ -1473,7 +1472,7 @@ abstract class OmmBaseImpl<T> implements OmmCommonImpl, Runnable, TimeoutClient,
 					if ( timeOut <=0 )
 					{
 						if (userTimeoutExist)
-							TimeoutEvent.execute(_timeoutEventQueue);
+							TimeoutEvent.execute(_timeoutWheel);
 					}
 				}
 
@@ -1527,13 +1526,13 @@ abstract class OmmBaseImpl<T> implements OmmCommonImpl, Runnable, TimeoutClient,
 					
 					if (_eventReceived) return true;
 
-					TimeoutEvent.execute(_timeoutEventQueue);
+					TimeoutEvent.execute(_timeoutWheel);
 
 					if (_eventReceived) return true;
 				} //selectCount > 0
 				else if (selectCount == 0)
 				{
-					TimeoutEvent.execute(_timeoutEventQueue);
+					TimeoutEvent.execute(_timeoutWheel);
 						
 					if ( _eventReceived ) return true;
 				}
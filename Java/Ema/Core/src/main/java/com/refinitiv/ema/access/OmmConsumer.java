@@ -292,5 +292,50 @@ public interface OmmConsumer
 	 * @throws OmmInvalidUsageException if failed to modify I/O option to
 	 */
 	public void modifyIOCtl(int code, int value);
+
+	/**
+	 * Returns the item cache of this OmmConsumer object.
+	 * <p>The item cache is enabled by the ItemCacheMaxItems parameter of the Consumer configuration.</p>
+	 * <p> This method is ObjectLevelSafe.</p>
+	 * 
+	 * @return {@link ItemCache} holding the images of the items opened by this OmmConsumer
+	 * @throws OmmInvalidUsageException if the item cache is not enabled
+	 */
+	public ItemCache itemCache();
+
+	/**
+	 * Conflates the updates of an open item.
+	 * <p>The field list updates of the item are delivered at most once per interval. Updates received
+	 * within an interval of the last delivered one are merged into one pending update, which holds the
+	 * latest value of each field and the message header of the latest update, and which is delivered
+	 * when the interval elapses. Other updates, and refresh and status messages, are delivered at once,
+	 * after the pending update.</p>
+	 * <p>Conflation applies to the item handle only, other handles opened on the same stream
+	 * still receive every update.</p>
+	 * <p> This method is ObjectLevelSafe.</p>
+	 * 
+	 * @param handle identifies item whose updates are conflated
+	 * @param interval the minimum time between two updates delivered, in milliseconds; zero stops conflating the updates
+	 * @throws OmmInvalidUsageException if passed in handle does not refer to an open single item, or if the interval is negative
+	 */
+	public void conflateUpdates(long handle, int interval);
+
+	/**
+	 * Delivers the pending update of an item whose updates are conflated, without waiting for
+	 * the interval to elapse.
+	 * <p>The update is delivered by the next dispatch of this OmmConsumer.</p>
+	 * <p> This method is ObjectLevelSafe.</p>
+	 * 
+	 * @param handle identifies item whose pending update is delivered
+	 */
+	public void flushConflatedUpdates(long handle);
+
+	/**
+	 * Retrieves the statistics of the update conflation of the OmmConsumer object.
+	 * <p> This method is ObjectLevelSafe.</p>
+	 *
+	 * @param conflationInfo the ConflationInfo
+	 */
+	public void conflationInfo(ConflationInfo conflationInfo);
 }
 
@@ -31,6 +31,7 @@ class OmmConsumerImpl extends OmmBaseImpl<OmmConsumerClient> implements OmmConsu
 	private Object					_adminClosure;
 	private ConsumerSessionInfo sessionInfo = new ConsumerSessionInfo();
 	private ReactorJsonConverterOptions jsonConverterOptions = ReactorFactory.createReactorJsonConverterOptions();
+	private ItemCacheImpl _itemCache;
 
 	OmmConsumerImpl(OmmConsumerConfig config)
 	{
@@ -115,6 +116,9 @@ class OmmConsumerImpl extends OmmBaseImpl<OmmConsumerClient> implements OmmConsu
 	public void uninitialize()
 	{
 		super.uninitialize();
+
+		if (_itemCache != null)
+			_itemCache.destroy();
 	}
 
 	@Override
@@ -272,6 +276,13 @@ class OmmConsumerImpl extends OmmBaseImpl<OmmConsumerClient> implements OmmConsu
 				if (value >= 0)
 					_activeConfig.maxOutstandingPosts = value > maxInt ? maxInt : value;
 			}
+
+			if ((ce = attributes.getPrimitiveValue(ConfigManager.ItemCacheMaxItems)) != null)
+			{
+				value = ce.intLongValue();
+				if (value >= 0)
+					_activeConfig.itemCacheMaxItems = value > maxInt ? maxInt : value;
+			}
 		}
 		
 		if (_activeConfig.dictionaryConfig.dictionaryName == null)
@@ -451,6 +462,12 @@ class OmmConsumerImpl extends OmmBaseImpl<OmmConsumerClient> implements OmmConsu
 		_itemCallbackClient = new ItemCallbackClientConsumer(this);
 		_itemCallbackClient.initialize();
 
+		if (_activeConfig.itemCacheMaxItems > 0)
+		{
+			_itemCache = new ItemCacheImpl(_activeConfig.instanceName, _activeConfig.itemCacheMaxItems);
+			_itemCallbackClient._itemCache = _itemCache;
+		}
+
 
 		jsonConverterOptions.clear();
 		DataDictionary dictionary = dictionaryCallbackClient().defaultRsslDictionary();
@@ -613,6 +630,69 @@ class OmmConsumerImpl extends OmmBaseImpl<OmmConsumerClient> implements OmmConsu
 
 	}
 
+	@Override
+	public ItemCache itemCache()
+	{
+		if (_itemCache == null)
+		{
+			StringBuilder temp = strBuilder();
+			temp.append("Item cache is not enabled, set ItemCacheMaxItems in the configuration of consumer ")
+				.append(_activeConfig.instanceName).append(".");
+			handleInvalidUsage(temp.toString(), OmmInvalidUsageException.ErrorCode.INVALID_OPERATION);
+		}
+
+		return _itemCache;
+	}
+
+	@Override
+	public void conflateUpdates(long handle, int interval)
+	{
+		super.userLock().lock();
+
+		try
+		{
+			if (_itemCallbackClient != null)
+				_itemCallbackClient.conflateUpdates(handle, interval);
+		}
+		finally
+		{
+			super.userLock().unlock();
+		}
+	}
+
+	@Override
+	public void flushConflatedUpdates(long handle)
+	{
+		super.userLock().lock();
+
+		try
+		{
+			if (_itemCallbackClient != null)
+				_itemCallbackClient.flushConflatedUpdates(handle);
+		}
+		finally
+		{
+			super.userLock().unlock();
+		}
+	}
+
+	@Override
+	public void conflationInfo(ConflationInfo conflationInfo)
+	{
+		super.userLock().lock();
+
+		try
+		{
+			((ConflationInfoImpl)conflationInfo).clear();
+			if (_itemCallbackClient != null)
+				_itemCallbackClient.conflationInfo((ConflationInfoImpl)conflationInfo);
+		}
+		finally
+		{
+			super.userLock().unlock();
+		}
+	}
+
 	@Override
 	public void modifyIOCtl(int code, int value)
 	{
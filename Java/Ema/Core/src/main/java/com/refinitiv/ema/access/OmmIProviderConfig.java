@@ -100,6 +100,22 @@ public interface OmmIProviderConfig extends OmmProviderConfig
 	 */
 	public OmmIProviderConfig adminControlDictionary(int control);
 	
+	/**
+	 * Specifies the number of threads dispatching the client connections, overriding the
+	 * ReactorThreadCount configuration.<br>
+	 * When greater than 1, accepted connections are spread over this number of threads,
+	 * each with its own Reactor, so that messages submitted to clients on different
+	 * threads are encoded and written in parallel.<br>
+	 * Callbacks are still made one at a time. A message submitted from a callback to a
+	 * client of another thread, while that thread is dispatching, is submitted later by
+	 * the reactor threads, in order, instead of waiting for that thread.<br>
+	 * Used with the OperationModel.API_DISPATCH operation model only; defaults to 1.
+	 * 
+	 * @param reactorThreadCount specifies the number of threads dispatching client connections
+	 * @return reference to this object
+	 */
+	public OmmIProviderConfig reactorThreadCount(int reactorThreadCount);
+	
 	/**
 	 * Create an OmmProvider with provider name.<br>
      * This name identifies configuration section to be used by OmmProvider instance.
@@ -16,6 +16,7 @@ class OmmIProviderConfigImpl extends EmaConfigServerImpl implements OmmIProvider
 	private int _operationModel;
 	private int _adminControlDirectory;
 	private int _adminControlDictionary;
+	private int _reactorThreadCount;
 	private String _keystoreFile;
 	private String _keystorePasswd;
 	private String _keystoreType;
@@ -54,6 +55,7 @@ class OmmIProviderConfigImpl extends EmaConfigServerImpl implements OmmIProvider
 		_operationModel = OperationModel.API_DISPATCH;
 		_adminControlDirectory = AdminControl.API_CONTROL;
 		_adminControlDictionary = AdminControl.API_CONTROL;
+		_reactorThreadCount = 0;
 		_keystoreFile = null;
 		_keystorePasswd = null;
 		_securityProtocol = null;
@@ -91,6 +93,18 @@ class OmmIProviderConfigImpl extends EmaConfigServerImpl implements OmmIProvider
 		return this;
 	}
 	
+	@Override
+	public OmmIProviderConfig reactorThreadCount(int reactorThreadCount)
+	{
+		_reactorThreadCount = reactorThreadCount;
+		return this;
+	}
+	
+	int reactorThreadCount()
+	{
+		return _reactorThreadCount;
+	}
+	
 	int adminControlDirectory()
 	{
 		return _adminControlDirectory;
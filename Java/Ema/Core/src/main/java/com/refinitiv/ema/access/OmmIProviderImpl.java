@@ -7,6 +7,7 @@
 
 package com.refinitiv.ema.access;
 
+import java.nio.ByteBuffer;
 import java.util.List;
 
 import org.slf4j.Logger;
@@ -14,12 +15,17 @@ import org.slf4j.LoggerFactory;
 
 import com.refinitiv.ema.access.ConfigManager.ConfigAttributes;
 import com.refinitiv.ema.access.ConfigManager.ConfigElement;
+import com.refinitiv.ema.access.DataType.DataTypes;
 import com.refinitiv.ema.access.OmmLoggerClient.Severity;
 import com.refinitiv.ema.access.ServiceIdConverter.ServiceIdConversionError;
 import com.refinitiv.ema.rdm.EmaRdm;
 import com.refinitiv.eta.codec.AckMsgFlags;
 import com.refinitiv.eta.codec.Buffer;
+import com.refinitiv.eta.codec.Codec;
+import com.refinitiv.eta.codec.CodecFactory;
+import com.refinitiv.eta.codec.CodecReturnCodes;
 import com.refinitiv.eta.codec.DataStates;
+import com.refinitiv.eta.codec.EncodeIterator;
 import com.refinitiv.eta.codec.Msg;
 import com.refinitiv.eta.codec.MsgClasses;
 import com.refinitiv.eta.codec.State;
@@ -43,7 +49,9 @@ import com.refinitiv.eta.valueadd.domainrep.rdm.directory.Service.ServiceState;
 import com.refinitiv.eta.valueadd.reactor.ReactorChannel;
 import com.refinitiv.eta.valueadd.reactor.ReactorChannelEvent;
 import com.refinitiv.eta.valueadd.reactor.ReactorChannelEventTypes;
+import com.refinitiv.eta.valueadd.reactor.ReactorErrorInfo;
 import com.refinitiv.eta.valueadd.reactor.ReactorReturnCodes;
+import com.refinitiv.eta.valueadd.reactor.ReactorSubmitOptions;
 
 class OmmIProviderImpl extends OmmServerBaseImpl implements OmmProvider, DirectoryServiceStoreClient
 {
@@ -217,6 +225,13 @@ class OmmIProviderImpl extends OmmServerBaseImpl implements OmmProvider, Directo
 				_activeConfig.enforceAckIDValidation = element.intLongValue() > 0 ? true : false;
 			}
 			
+			element = (ConfigElement)iProviderAttributes.getElement(ConfigManager.IProviderReactorThreadCount);
+
+			if (element != null && element.intLongValue() > 0)
+			{
+				_activeConfig.reactorThreadCount = element.intLongValue() > maxInt ? maxInt : element.intLongValue();
+			}
+			
 			element = (ConfigElement)iProviderAttributes.getElement(ConfigManager.DictionaryFieldDictFragmentSize);
 			
 			if (element != null)
@@ -249,6 +264,9 @@ class OmmIProviderImpl extends OmmServerBaseImpl implements OmmProvider, Directo
 		ProgrammaticConfigure pc = config.programmaticConfigure();
 		if ( pc != null )
 			pc.retrieveCustomConfig(_activeConfig.configuredName, _activeConfig);
+
+		if (((OmmIProviderConfigImpl)config).reactorThreadCount() > 0)
+			_activeConfig.reactorThreadCount = ((OmmIProviderConfigImpl)config).reactorThreadCount();
 	}
 
 	@Override
@@ -259,6 +277,25 @@ class OmmIProviderImpl extends OmmServerBaseImpl implements OmmProvider, Directo
 
 	@Override
 	public long registerClient(ReqMsg reqMsg, OmmProviderClient client, Object closure)
+	{
+		int locked = lockReactorThreads();
+		if (locked == REACTOR_THREADS_BUSY)
+		{
+			handleReactorThreadsBusy("registerClient");
+			return 0;
+		}
+		
+		try
+		{
+			return registerDictionaryClient(reqMsg, client, closure);
+		}
+		finally
+		{
+			unlockReactorThreads(locked);
+		}
+	}
+	
+	private long registerDictionaryClient(ReqMsg reqMsg, OmmProviderClient client, Object closure)
 	{
 		userLock().lock();
 		
@@ -289,6 +326,25 @@ class OmmIProviderImpl extends OmmServerBaseImpl implements OmmProvider, Directo
 	
 	@Override
 	public void reissue(ReqMsg reqMsg, long handle) 
+	{
+		int locked = lockReactorThreads();
+		if (locked == REACTOR_THREADS_BUSY)
+		{
+			handleReactorThreadsBusy("reissue");
+			return;
+		}
+		
+		try
+		{
+			reissueDictionary(reqMsg, handle);
+		}
+		finally
+		{
+			unlockReactorThreads(locked);
+		}
+	}
+	
+	private void reissueDictionary(ReqMsg reqMsg, long handle)
 	{
 		userLock().lock();
 		
@@ -310,6 +366,25 @@ class OmmIProviderImpl extends OmmServerBaseImpl implements OmmProvider, Directo
 
 	@Override
 	public void submit(GenericMsg genericMsg, long handle)
+	{
+		int locked = lockReactorThreads(handle);
+		if (locked == REACTOR_THREADS_BUSY)
+		{
+			deferSubmit((MsgImpl)genericMsg, handle, false);
+			return;
+		}
+		
+		try
+		{
+			submitGenericMsg(genericMsg, handle);
+		}
+		finally
+		{
+			unlockReactorThreads(locked);
+		}
+	}
+	
+	private void submitGenericMsg(GenericMsg genericMsg, long handle)
 	{
 		userLock().lock();
 		
@@ -351,6 +426,25 @@ class OmmIProviderImpl extends OmmServerBaseImpl implements OmmProvider, Directo
 
 	@Override
 	public void submit(RefreshMsg refreshMsg, long handle)
+	{
+		int locked = lockReactorThreads(handle);
+		if (locked == REACTOR_THREADS_BUSY)
+		{
+			deferSubmit((MsgImpl)refreshMsg, handle, false);
+			return;
+		}
+		
+		try
+		{
+			submitRefreshMsg(refreshMsg, handle);
+		}
+		finally
+		{
+			unlockReactorThreads(locked);
+		}
+	}
+	
+	private void submitRefreshMsg(RefreshMsg refreshMsg, long handle)
 	{
 		userLock().lock();
 		
@@ -540,6 +634,26 @@ class OmmIProviderImpl extends OmmServerBaseImpl implements OmmProvider, Directo
 
 	@Override
 	public void submit(UpdateMsg updateMsg, long handle)
+	{
+		int locked = lockReactorThreads(handle);
+		if (locked == REACTOR_THREADS_BUSY)
+		{
+			deferSubmit((MsgImpl)updateMsg, handle, false);
+			return;
+		}
+		
+		try
+		{
+			if (!submitOnReactorThread((UpdateMsgImpl)updateMsg, handle, locked, false))
+				submitUpdateMsg(updateMsg, handle);
+		}
+		finally
+		{
+			unlockReactorThreads(locked);
+		}
+	}
+	
+	private void submitUpdateMsg(UpdateMsg updateMsg, long handle)
 	{
 		userLock().lock();
 		
@@ -690,8 +804,127 @@ class OmmIProviderImpl extends OmmServerBaseImpl implements OmmProvider, Directo
 		userLock().unlock();
 	}
 
+	@Override
+	public void submitPassThrough(UpdateMsg updateMsg, long handle)
+	{
+		UpdateMsgImpl updateMsgImpl = (UpdateMsgImpl)updateMsg;
+		
+		if ( !updateMsgImpl.isReceived() )
+		{
+			handleInvalidUsage("Attempt to submitPassThrough( UpdateMsg ) with a UpdateMsg that was not received. Dropping this UpdateMsg.",
+					OmmInvalidUsageException.ErrorCode.INVALID_ARGUMENT);
+			return;
+		}
+		
+		int locked = lockReactorThreads(handle);
+		if (locked == REACTOR_THREADS_BUSY)
+		{
+			deferSubmit(updateMsgImpl, handle, true);
+			return;
+		}
+		
+		try
+		{
+			if (!submitOnReactorThread(updateMsgImpl, handle, locked, true))
+				submitPassThroughMsg(updateMsgImpl, handle);
+		}
+		finally
+		{
+			unlockReactorThreads(locked);
+		}
+	}
+	
+	private void submitPassThroughMsg(UpdateMsgImpl updateMsgImpl, long handle)
+	{
+		userLock().lock();
+		
+		ItemInfo itemInfo = getItemInfo(handle);
+		
+		if( itemInfo == null )
+		{
+			userLock().unlock();
+			StringBuilder temp = strBuilder();
+			temp.append("Attempt to submitPassThrough UpdateMsg with non existent Handle = ")
+			.append(handle).append(".");
+			handleInvalidUsage(temp.toString(), OmmInvalidUsageException.ErrorCode.INVALID_ARGUMENT);
+			return;
+		}
+		
+		int domainType = updateMsgImpl.domainType();
+		if ( domainType == EmaRdm.MMT_LOGIN || domainType == EmaRdm.MMT_DIRECTORY || domainType == EmaRdm.MMT_DICTIONARY )
+		{
+			userLock().unlock();
+			StringBuilder temp = strBuilder();
+			temp.append("Attempt to submitPassThrough UpdateMsg with domain type ")
+			.append(Utilities.rdmDomainAsString(domainType)).append(" while this is not supported.");
+			handleInvalidUsage(temp.toString(), OmmInvalidUsageException.ErrorCode.INVALID_ARGUMENT);
+			return;
+		}
+		
+		if (loggerClient().isTraceEnabled())
+		{
+			StringBuilder text = strBuilder();
+			text.append("Received pass through UpdateMsg with domain type ")
+			.append(Utilities.rdmDomainAsString(domainType))
+			.append("; handle = ").append(handle).append(", received streamId = ")
+			.append(updateMsgImpl.streamId()).append(".");
+			
+			loggerClient().trace(formatLogMessage(instanceName(),text.toString(), Severity.TRACE));
+		}
+		
+		/* The service of a UpdateMsg without message key is the one of its stream. */
+		if ( (updateMsgImpl._rsslMsg.flags() & UpdateMsgFlags.HAS_MSG_KEY) != 0 )
+		{
+			ServiceIdConversionError encodingError = 
+					_serviceIdConverter.encodeServiceId(updateMsgImpl, UpdateMsgFlags.HAS_MSG_KEY);
+			if(encodingError != ServiceIdConversionError.NONE){
+				handleServiceIdConversionError(encodingError, updateMsgImpl);
+				return;
+			}
+		}
+		
+		if(_activeConfig.refreshFirstRequired && !itemInfo.isSentRefresh())
+		{
+			userLock().unlock();
+			StringBuilder temp = strBuilder();
+			temp.append("Attempt to submitPassThrough UpdateMsg while RefreshMsg was not submitted on this stream yet. Handle = ");
+			temp.append(itemInfo.handle().value());
+			handleInvalidUsage(temp.toString(), OmmInvalidUsageException.ErrorCode.INVALID_OPERATION);
+			return;
+		}
+		
+		ClientSession clientSession = itemInfo.clientSession();
+		updateMsgImpl._rsslMsg.streamId((int)itemInfo.streamId().value());
+		
+		if( !submit(updateMsgImpl, clientSession, true) )
+		{
+			return;
+		}
+		
+		userLock().unlock();
+	}
+
 	@Override
 	public void submit(StatusMsg statusMsg, long handle)
+	{
+		int locked = lockReactorThreads(handle);
+		if (locked == REACTOR_THREADS_BUSY)
+		{
+			deferSubmit((MsgImpl)statusMsg, handle, false);
+			return;
+		}
+		
+		try
+		{
+			submitStatusMsg(statusMsg, handle);
+		}
+		finally
+		{
+			unlockReactorThreads(locked);
+		}
+	}
+	
+	private void submitStatusMsg(StatusMsg statusMsg, long handle)
 	{
 		userLock().lock();
 		
@@ -1075,11 +1308,191 @@ class OmmIProviderImpl extends OmmServerBaseImpl implements OmmProvider, Directo
 		return true;
 	}
 	
+	/* Submits an UpdateMsg of a market domain while holding the lock of the reactor thread dispatching
+	 * the channel of the item only, so that updates to channels of different threads are encoded and
+	 * written in parallel. The user lock is taken only to convert the service name or id of the message
+	 * with the source directory. Returns false when the message is to be submitted under the user lock. */
+	private boolean submitOnReactorThread(UpdateMsgImpl updateMsgImpl, long handle, int locked, boolean passThrough)
+	{
+		int domainType = updateMsgImpl.domainType();
+		if ( locked < 0 || domainType == EmaRdm.MMT_LOGIN || domainType == EmaRdm.MMT_DIRECTORY || domainType == EmaRdm.MMT_DICTIONARY )
+			return false;
+		
+		ItemInfo itemInfo = itemInfoOnReactorThread(handle);
+		if ( itemInfo == null )
+			return false;
+		
+		if (loggerClient().isTraceEnabled())
+		{
+			StringBuilder text = new StringBuilder();
+			text.append(passThrough ? "Received pass through UpdateMsg with domain type " : "Received UpdateMsg with domain type ")
+			.append(Utilities.rdmDomainAsString(domainType))
+			.append("; handle = ").append(handle).append(passThrough ? ", received streamId = " : ", user assigned streamId = ")
+			.append(updateMsgImpl.streamId()).append(".");
+			
+			loggerClient().trace(formatLogMessage(instanceName(),text.toString(), Severity.TRACE));
+		}
+		
+		/* The service of a UpdateMsg passed through without message key is the one of its stream. */
+		if ( ( !passThrough || (updateMsgImpl._rsslMsg.flags() & UpdateMsgFlags.HAS_MSG_KEY) != 0 )
+				&& ( updateMsgImpl.hasServiceName() || updateMsgImpl.hasServiceId() ) )
+		{
+			userLock().lock();
+			
+			ServiceIdConversionError encodingError = 
+					_serviceIdConverter.encodeServiceId(updateMsgImpl, UpdateMsgFlags.HAS_MSG_KEY);
+			if(encodingError != ServiceIdConversionError.NONE){
+				handleServiceIdConversionError(encodingError, updateMsgImpl);
+				return true;
+			}
+			
+			userLock().unlock();
+		}
+		
+		if(_activeConfig.refreshFirstRequired && !itemInfo.isSentRefresh())
+		{
+			StringBuilder temp = new StringBuilder();
+			temp.append(passThrough ? "Attempt to submitPassThrough UpdateMsg while RefreshMsg was not submitted on this stream yet. Handle = "
+					: "Attempt to submit UpdateMsg while RefreshMsg was not submitted on this stream yet. Handle = ");
+			temp.append(itemInfo.handle().value());
+			handleInvalidUsage(temp.toString(), OmmInvalidUsageException.ErrorCode.INVALID_OPERATION);
+			return true;
+		}
+		
+		ClientSession clientSession = itemInfo.clientSession();
+		updateMsgImpl._rsslMsg.streamId((int)itemInfo.streamId().value());
+		
+		ServerReactorThread reactorThread = clientSession.reactorThread();
+		ReactorErrorInfo errorInfo = reactorThread.submitErrorInfo();
+		int ret;
+		
+		errorInfo.clear();
+		if (ReactorReturnCodes.SUCCESS > (ret = submit(updateMsgImpl, passThrough, clientSession.channel(), reactorThread.submitOptions(), errorInfo)))
+		{
+			com.refinitiv.eta.transport.Error error = errorInfo.error();
+			
+			if (loggerClient().isErrorEnabled())
+			{
+				StringBuilder temp = new StringBuilder();
+				temp.append("Internal error: rsslChannel.submit() failed in OmmProviderImpl.submit(")
+					.append(DataType.asString(updateMsgImpl.dataType())).append(")").append(OmmLoggerClient.CR)
+					.append("Client handle ").append(clientSession.clientHandle().value()).append(OmmLoggerClient.CR)
+					.append("Error Id ").append(error.errorId()).append(OmmLoggerClient.CR)
+					.append("Internal sysError ").append(error.sysError()).append(OmmLoggerClient.CR)
+					.append("Error Location ").append(errorInfo.location()).append(OmmLoggerClient.CR)
+					.append("Error Text ").append(error.text());
+				
+				loggerClient().error(formatLogMessage(instanceName() , temp.toString(), Severity.ERROR));
+			}
+			
+			handleInvalidUsage(new StringBuilder().append("Failed to submit ")
+				.append(DataType.asString(updateMsgImpl.dataType())).append(". Reason: ")
+				.append(ReactorReturnCodes.toString(ret))
+				.append(". Error text: ")
+				.append(error.text()).toString(), ret);
+		}
+		
+		return true;
+	}
+	
+	/* Queues a copy of a message submitted by a callback while the reactor thread of its channel is busy.
+	 * The copy is submitted again by a reactor thread, after the calls deferred before it. */
+	private void deferSubmit(MsgImpl msgImpl, final long handle, final boolean passThrough)
+	{
+		Buffer buffer = CodecFactory.createBuffer();
+		buffer.data(ByteBuffer.allocate(CollectionDataImpl.ENCODE_RSSL_BUFFER_INIT_SIZE));
+		EncodeIterator encodeIter = CodecFactory.createEncodeIterator();
+		int ret = encodeIter.setBufferAndRWFVersion(buffer, Codec.majorVersion(), Codec.minorVersion());
+		
+		while (ret == CodecReturnCodes.SUCCESS && (ret = msgImpl._rsslMsg.encode(encodeIter)) == CodecReturnCodes.BUFFER_TOO_SMALL)
+		{
+			buffer = Utilities.realignBuffer(encodeIter, buffer.capacity() * 2);
+			ret = CodecReturnCodes.SUCCESS;
+		}
+		
+		if (ret != CodecReturnCodes.SUCCESS)
+		{
+			handleInvalidUsage(new StringBuilder().append("Failed to copy ")
+				.append(DataType.asString(msgImpl.dataType())).append(" to submit it from the reactor thread. Reason: ")
+				.append(CodecReturnCodes.toString(ret)).append(".").toString(), ret);
+			return;
+		}
+		
+		final MsgImpl msgCopy;
+		switch (msgImpl.dataType())
+		{
+			case DataTypes.REFRESH_MSG:
+				msgCopy = new RefreshMsgImpl(new EmaObjectManager());
+				break;
+			case DataTypes.UPDATE_MSG:
+				msgCopy = new UpdateMsgImpl(new EmaObjectManager());
+				break;
+			case DataTypes.STATUS_MSG:
+				msgCopy = new StatusMsgImpl(new EmaObjectManager());
+				break;
+			case DataTypes.GENERIC_MSG:
+				msgCopy = new GenericMsgImpl(new EmaObjectManager());
+				break;
+			default:
+				msgCopy = new AckMsgImpl(new EmaObjectManager());
+				break;
+		}
+		
+		// set up as the clone constructors do, so that the copy can be submitted
+		msgCopy._objManager.initialize();
+		msgCopy._rsslEncodeIter = CodecFactory.createEncodeIterator();
+		msgCopy.decode(buffer, Codec.majorVersion(), Codec.minorVersion(), null, null);
+		msgCopy._rsslMsg.flags(msgImpl._rsslMsg.flags());
+		if (msgImpl.hasServiceName())
+			msgCopy.service(msgImpl.serviceName());
+		
+		deferCall(new Runnable()
+		{
+			@Override
+			public void run()
+			{
+				switch (msgCopy.dataType())
+				{
+					case DataTypes.REFRESH_MSG:
+						submit((RefreshMsg)msgCopy, handle);
+						break;
+					case DataTypes.UPDATE_MSG:
+						if (passThrough)
+							submitPassThrough((UpdateMsg)msgCopy, handle);
+						else
+							submit((UpdateMsg)msgCopy, handle);
+						break;
+					case DataTypes.STATUS_MSG:
+						submit((StatusMsg)msgCopy, handle);
+						break;
+					case DataTypes.GENERIC_MSG:
+						submit((GenericMsg)msgCopy, handle);
+						break;
+					default:
+						submit((AckMsg)msgCopy, handle);
+						break;
+				}
+			}
+		});
+	}
+	
+	private void handleReactorThreadsBusy(String methodName)
+	{
+		handleInvalidUsage(new StringBuilder().append("Attempt to call ").append(methodName)
+			.append("() from a callback while another reactor thread is dispatching. Call it outside of the callback instead.").toString(),
+				OmmInvalidUsageException.ErrorCode.INVALID_OPERATION);
+	}
+	
 	boolean submit(MsgImpl msgImpl, ClientSession clientSession)
+	{
+		return submit(msgImpl, clientSession, false);
+	}
+	
+	boolean submit(MsgImpl msgImpl, ClientSession clientSession, boolean passThrough)
 	{
 		_rsslErrorInfo.clear();
 		int ret;
-		if (ReactorReturnCodes.SUCCESS > (ret = clientSession.channel().submit(msgImpl._rsslMsg, _rsslSubmitOptions, _rsslErrorInfo)))
+		if (ReactorReturnCodes.SUCCESS > (ret = submit(msgImpl, passThrough, clientSession.channel(), _rsslSubmitOptions, _rsslErrorInfo)))
 	    {			
 			if (loggerClient().isErrorEnabled())
         	{
@@ -1110,6 +1523,16 @@ class OmmIProviderImpl extends OmmServerBaseImpl implements OmmProvider, Directo
 		return true;
 	}
 	
+	/* Submits the message to the channel, as it was received for a UpdateMsg passed through. */
+	private static int submit(MsgImpl msgImpl, boolean passThrough, ReactorChannel reactorChannel,
+			ReactorSubmitOptions submitOptions, ReactorErrorInfo errorInfo)
+	{
+		if (passThrough)
+			return ((UpdateMsgImpl)msgImpl).submitPassThrough(reactorChannel, submitOptions, errorInfo);
+		
+		return reactorChannel.submit(msgImpl._rsslMsg, submitOptions, errorInfo);
+	}
+	
 	void handleItemGroup(ItemInfo itemInfo, Buffer groupId, State state)
 	{
 		if ( ( groupId.length() < 2 ) || ( groupId.data().get(0) == 0 && groupId.data().get(1) == 0 ) 
@@ -1161,6 +1584,25 @@ class OmmIProviderImpl extends OmmServerBaseImpl implements OmmProvider, Directo
 
 	@Override
 	public void submit(AckMsg ackMsg, long handle)
+	{
+		int locked = lockReactorThreads(handle);
+		if (locked == REACTOR_THREADS_BUSY)
+		{
+			deferSubmit((MsgImpl)ackMsg, handle, false);
+			return;
+		}
+		
+		try
+		{
+			submitAckMsg(ackMsg, handle);
+		}
+		finally
+		{
+			unlockReactorThreads(locked);
+		}
+	}
+	
+	private void submitAckMsg(AckMsg ackMsg, long handle)
 	{
 		userLock().lock();
 		AckMsgImpl ackMsgImpl = (AckMsgImpl) ackMsg;
@@ -1227,9 +1669,30 @@ class OmmIProviderImpl extends OmmServerBaseImpl implements OmmProvider, Directo
 	}
 
 	@Override
-	public void unregister(long handle)
+	public void unregister(final long handle)
 	{
-		_itemCallbackClient.unregister(handle);
+		int locked = lockReactorThreads();
+		if (locked == REACTOR_THREADS_BUSY)
+		{
+			deferCall(new Runnable()
+			{
+				@Override
+				public void run()
+				{
+					unregister(handle);
+				}
+			});
+			return;
+		}
+		
+		try
+		{
+			_itemCallbackClient.unregister(handle);
+		}
+		finally
+		{
+			unlockReactorThreads(locked);
+		}
 	}
 
 	@Override
@@ -1577,7 +2040,32 @@ class OmmIProviderImpl extends OmmServerBaseImpl implements OmmProvider, Directo
 	}
 
 	@Override
-	public void closeChannel(long clientHandle) {
+	public void closeChannel(final long clientHandle) {
+		int locked = lockReactorThreads();
+		if (locked == REACTOR_THREADS_BUSY)
+		{
+			deferCall(new Runnable()
+			{
+				@Override
+				public void run()
+				{
+					closeChannel(clientHandle);
+				}
+			});
+			return;
+		}
+		
+		try
+		{
+			closeClientChannel(clientHandle);
+		}
+		finally
+		{
+			unlockReactorThreads(locked);
+		}
+	}
+	
+	private void closeClientChannel(long clientHandle) {
 		userLock().lock();
 
 		_longValue.value(clientHandle);
@@ -22,6 +22,7 @@ class OmmNiProviderActiveConfig extends ActiveConfig
 	static final int DEFAULT_DIRECTORY_ADMIN_CONTROL					=	OmmNiProviderConfig.AdminControl.API_CONTROL;
 	static final boolean DEFAULT_RECOVER_USER_SUBMIT_SOURCEDIRECTORY	=	true;
 	static final boolean DEFAULT_REMOVE_ITEMS_ON_DISCONNECT				=	false;
+	static final int DEFAULT_SUBMIT_QUEUE_SIZE							=	0;
 	static final String DEFAULT_NIPROVIDER_SERVICE_NAME 				= 	"14003";
 	static final String DEFAULT_SERVICE_NAME							=   "NI_PUB";
 	
@@ -30,6 +31,7 @@ class OmmNiProviderActiveConfig extends ActiveConfig
 	boolean						mergeSourceDirectoryStreams;
 	boolean						recoverUserSubmitSourceDirectory;
 	boolean						removeItemsOnDisconnect;
+	int							submitQueueSize;
 
 	OmmNiProviderActiveConfig()
 	{
@@ -39,6 +41,7 @@ class OmmNiProviderActiveConfig extends ActiveConfig
 		mergeSourceDirectoryStreams = DEFAULT_MERGE_SOURCE_DIRECTORY_STREAMS;
 		recoverUserSubmitSourceDirectory = DEFAULT_RECOVER_USER_SUBMIT_SOURCEDIRECTORY;
 		removeItemsOnDisconnect = DEFAULT_REMOVE_ITEMS_ON_DISCONNECT;
+		submitQueueSize = DEFAULT_SUBMIT_QUEUE_SIZE;
 	}
 	
 	StringBuilder configTrace()
@@ -48,7 +51,8 @@ class OmmNiProviderActiveConfig extends ActiveConfig
 		.append("\n\t refreshFirstRequired: ").append(refreshFirstRequired) 
 		.append("\n\t mergeSourceDirectoryStreams: ").append(mergeSourceDirectoryStreams) 
 		.append("\n\t recoverUserSubmitSourceDirectory: ").append(recoverUserSubmitSourceDirectory) 
-		.append("\n\t removeItemsOnDisconnect: ").append(removeItemsOnDisconnect);
+		.append("\n\t removeItemsOnDisconnect: ").append(removeItemsOnDisconnect) 
+		.append("\n\t submitQueueSize: ").append(submitQueueSize);
 		
 		return traceStr;
 	}
@@ -9,10 +9,7 @@ package com.refinitiv.ema.access;
 
 import java.nio.ByteBuffer;
 import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map.Entry;
-import java.util.Set;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -31,6 +28,7 @@ import com.refinitiv.eta.codec.DecodeIterator;
 import com.refinitiv.eta.codec.EncodeIterator;
 import com.refinitiv.eta.codec.RefreshMsgFlags;
 import com.refinitiv.eta.transport.WritePriorities;
+import com.refinitiv.eta.valueadd.common.VaConcurrentLongHashMap;
 import com.refinitiv.eta.valueadd.common.VaNode;
 import com.refinitiv.eta.valueadd.domainrep.rdm.directory.DirectoryRefresh;
 import com.refinitiv.eta.valueadd.domainrep.rdm.directory.Service;
@@ -45,17 +43,17 @@ class OmmNiProviderImpl extends OmmBaseImpl<OmmProviderClient> implements OmmPro
 	
 	private OmmProviderErrorClient _providerErrorClient = null;
 	private OmmNiProviderActiveConfig _activeConfig = null;
-	private HashMap<LongObject, StreamInfo> _handleToStreamInfo = new HashMap<>();
+	private VaConcurrentLongHashMap<StreamInfo> _handleToStreamInfo = new VaConcurrentLongHashMap<>();
 	private boolean _bIsStreamIdZeroRefreshSubmitted = false;
 	private ReqMsg loginRequest = EmaFactory.createReqMsg();
 	private int _nextProviderStreamId;
 	private List<IntObject> _reusedProviderStreamIds;
-	private LongObject _longObject = new LongObject();
 	private ItemWatchList	_itemWatchList;
 	private OmmNiProviderDirectoryStore _ommNiProviderDirectoryStore;
 	private OmmProviderClient _adminClient;
 	private Object _adminClosure;
-	private ChannelInfo _activeChannelInfo;
+	private volatile ChannelInfo _activeChannelInfo;
+	private NiProviderSubmitQueue _submitQueue;
 
 	private static final long MIN_LONG_VALUE = 1;
     private static final long MAX_LONG_VALUE = Long.MAX_VALUE;
@@ -330,7 +328,7 @@ class OmmNiProviderImpl extends OmmBaseImpl<OmmProviderClient> implements OmmPro
 	    	}
 	    	
 	    	streamInfo.handle(handle);
-	    	_handleToStreamInfo.put(streamInfo.handle(), streamInfo);
+	    	_handleToStreamInfo.put(streamInfo.handle().value(), streamInfo);
 		}
 		
 		userLock().unlock();
@@ -363,7 +361,7 @@ class OmmNiProviderImpl extends OmmBaseImpl<OmmProviderClient> implements OmmPro
 	{
 		userLock().lock();
 		
-		StreamInfo streamInfo = _handleToStreamInfo.get(_longObject.value(handle));
+		StreamInfo streamInfo = _handleToStreamInfo.get(handle);
 		
 		if ( streamInfo == null )
 		{
@@ -378,8 +376,8 @@ class OmmNiProviderImpl extends OmmBaseImpl<OmmProviderClient> implements OmmPro
 			return;
 		}
 		
-		_handleToStreamInfo.remove(_longObject.value(handle));
-		streamInfo.returnToPool();
+		_handleToStreamInfo.remove(handle);
+		returnStreamInfo(streamInfo);
 		
 		super.unregister(handle);
 		
@@ -400,7 +398,7 @@ class OmmNiProviderImpl extends OmmBaseImpl<OmmProviderClient> implements OmmPro
 			return;
 		}
 		
-		streamInfo = _handleToStreamInfo.get(_longObject.value(handle));
+		streamInfo = _handleToStreamInfo.get(handle);
 		
 		if(streamInfo != null && streamInfo.streamType() == StreamType.CONSUMING)
 		{
@@ -484,7 +482,7 @@ class OmmNiProviderImpl extends OmmBaseImpl<OmmProviderClient> implements OmmPro
 			    	}
 			    	
 			    	refreshMsgImpl._rsslMsg.streamId(streamInfo.streamId());
-					_handleToStreamInfo.put(streamInfo.handle(), streamInfo);
+					_handleToStreamInfo.put(streamInfo.handle().value(), streamInfo);
 					
 					bHandleAdded = true;
 				}
@@ -546,7 +544,7 @@ class OmmNiProviderImpl extends OmmBaseImpl<OmmProviderClient> implements OmmPro
 		    	}
 		    	
 		    	refreshMsgImpl._rsslMsg.streamId(streamInfo.streamId());
-		    	_handleToStreamInfo.put(streamInfo.handle(), streamInfo);
+		    	_handleToStreamInfo.put(streamInfo.handle().value(), streamInfo);
 				
 				bHandleAdded = true;
 				
@@ -583,7 +581,7 @@ class OmmNiProviderImpl extends OmmBaseImpl<OmmProviderClient> implements OmmPro
 		    	}
 		    	
 		    	refreshMsgImpl._rsslMsg.streamId(streamInfo.streamId());
-		    	_handleToStreamInfo.put(streamInfo.handle(), streamInfo);
+		    	_handleToStreamInfo.put(streamInfo.handle().value(), streamInfo);
 				
 		    	bHandleAdded = true;
 			}
@@ -597,12 +595,12 @@ class OmmNiProviderImpl extends OmmBaseImpl<OmmProviderClient> implements OmmPro
 		
 		_rsslErrorInfo.clear();
 		int ret;
-		if (ReactorReturnCodes.SUCCESS > (ret = _activeChannelInfo.rsslReactorChannel().submit(refreshMsgImpl._rsslMsg, _rsslSubmitOptions, _rsslErrorInfo)))
+		if (ReactorReturnCodes.SUCCESS > (ret = submitRsslMsg(refreshMsgImpl._rsslMsg)))
 	    {
 			if (bHandleAdded)
 			{
-				_handleToStreamInfo.remove(_longObject.value(handle));
-				streamInfo.returnToPool();
+				_handleToStreamInfo.remove(handle);
+				returnStreamInfo(streamInfo);
 				returnProviderStreamId(refreshMsgImpl._rsslMsg.streamId());
 			}
 			
@@ -636,8 +634,8 @@ class OmmNiProviderImpl extends OmmBaseImpl<OmmProviderClient> implements OmmPro
 				refreshMsgImpl.state().streamState() == OmmState.StreamState.CLOSED_REDIRECTED ||
 				( refreshMsgImpl.state().streamState() == OmmState.StreamState.NON_STREAMING && refreshMsgImpl.complete() ) )
 		{
-			_handleToStreamInfo.remove(_longObject.value(handle));
-			streamInfo.returnToPool();
+			_handleToStreamInfo.remove(handle);
+			returnStreamInfo(streamInfo);
 			returnProviderStreamId(refreshMsgImpl._rsslMsg.streamId());
 		}
 		
@@ -655,6 +653,11 @@ class OmmNiProviderImpl extends OmmBaseImpl<OmmProviderClient> implements OmmPro
 		boolean bHandleAdded = false;
 		StreamInfo streamInfo = null;
 		
+		/* Updates of open item streams are encoded without the user lock and queued. Any other
+		 * update takes the locked path, which opens the stream or reports the error. */
+		if ( _submitQueue != null && !loggerClient().isTraceEnabled() && _submitQueue.submit((UpdateMsgImpl)updateMsg, handle) )
+			return;
+		
 		userLock().lock();
 		
 		if ( _channelCallbackClient == null )
@@ -663,7 +666,7 @@ class OmmNiProviderImpl extends OmmBaseImpl<OmmProviderClient> implements OmmPro
 			return;
 		}
 		
-		streamInfo = _handleToStreamInfo.get(_longObject.value(handle));
+		streamInfo = _handleToStreamInfo.get(handle);
 		
 		if(streamInfo != null && streamInfo.streamType() == StreamType.CONSUMING)
 		{
@@ -752,7 +755,7 @@ class OmmNiProviderImpl extends OmmBaseImpl<OmmProviderClient> implements OmmPro
 			    	}
 			    	
 			    	updateMsgImpl._rsslMsg.streamId(streamInfo.streamId());
-					_handleToStreamInfo.put(streamInfo.handle(), streamInfo);
+					_handleToStreamInfo.put(streamInfo.handle().value(), streamInfo);
 					
 					bHandleAdded = true;
 				}
@@ -810,7 +813,7 @@ class OmmNiProviderImpl extends OmmBaseImpl<OmmProviderClient> implements OmmPro
 		    	}
 		    	
 		    	updateMsgImpl._rsslMsg.streamId(streamInfo.streamId());
-		    	_handleToStreamInfo.put(streamInfo.handle(), streamInfo);
+		    	_handleToStreamInfo.put(streamInfo.handle().value(), streamInfo);
 				
 				bHandleAdded = true;
 				
@@ -844,7 +847,7 @@ class OmmNiProviderImpl extends OmmBaseImpl<OmmProviderClient> implements OmmPro
 		    	}
 		    	
 		    	updateMsgImpl._rsslMsg.streamId(streamInfo.streamId());
-		    	_handleToStreamInfo.put(streamInfo.handle(), streamInfo);
+		    	_handleToStreamInfo.put(streamInfo.handle().value(), streamInfo);
 				
 		    	bHandleAdded = true;
 			}
@@ -858,12 +861,12 @@ class OmmNiProviderImpl extends OmmBaseImpl<OmmProviderClient> implements OmmPro
 		
 		_rsslErrorInfo.clear();
 		int ret;
-		if (ReactorReturnCodes.SUCCESS > (ret = _activeChannelInfo.rsslReactorChannel().submit(updateMsgImpl._rsslMsg, _rsslSubmitOptions, _rsslErrorInfo)))
+		if (ReactorReturnCodes.SUCCESS > (ret = submitRsslMsg(updateMsgImpl._rsslMsg)))
 	    {
 			if (bHandleAdded)
 			{
-				_handleToStreamInfo.remove(_longObject.value(handle));
-				streamInfo.returnToPool();
+				_handleToStreamInfo.remove(handle);
+				returnStreamInfo(streamInfo);
 				returnProviderStreamId(updateMsgImpl._rsslMsg.streamId());
 			}
 			
@@ -895,6 +898,88 @@ class OmmNiProviderImpl extends OmmBaseImpl<OmmProviderClient> implements OmmPro
 		userLock().unlock();
 	}
 
+	@Override
+	public void submitPassThrough(UpdateMsg updateMsg, long handle)
+	{
+		UpdateMsgImpl updateMsgImpl = (UpdateMsgImpl)updateMsg;
+		
+		if ( !updateMsgImpl.isReceived() )
+		{
+			handleInvalidUsage("Attempt to submitPassThrough( UpdateMsg ) with a UpdateMsg that was not received. Dropping this UpdateMsg.",
+					OmmInvalidUsageException.ErrorCode.INVALID_ARGUMENT);
+			return;
+		}
+		
+		userLock().lock();
+		
+		if ( _channelCallbackClient == null )
+		{
+			userLock().unlock();
+			return;
+		}
+		
+		StreamInfo streamInfo = _handleToStreamInfo.get(handle);
+		
+		if ( streamInfo == null || streamInfo.streamType() != StreamType.PROVIDING || updateMsgImpl.domainType() == EmaRdm.MMT_DIRECTORY )
+		{
+			userLock().unlock();
+			handleInvalidHandle(handle, "Attempt to submitPassThrough( UpdateMsg ) using a handle that does not refer to an open item stream.");
+			return;
+		}
+		
+		if(_activeChannelInfo == null)
+		{
+			userLock().unlock();
+			handleInvalidUsage(strBuilder().append("No active channel to send message.").toString(), OmmInvalidUsageException.ErrorCode.NO_ACTIVE_CHANNEL);
+			return;
+		}
+		
+		if ( loggerClient().isTraceEnabled() )
+		{
+			loggerClient().trace(formatLogMessage(instanceName() , strBuilder().append("Received pass through UpdateMsg with market domain; Handle = ")
+					.append(handle).append(", received streamId = ").append(updateMsgImpl.streamId()).append(".").toString(), Severity.TRACE));
+		}
+		
+		updateMsgImpl._rsslMsg.streamId(streamInfo.streamId());
+		
+		if ( ( updateMsgImpl._rsslMsg.flags() & com.refinitiv.eta.codec.UpdateMsgFlags.HAS_MSG_KEY) != 0 )
+		{
+			updateMsgImpl._rsslMsg.msgKey().serviceId(streamInfo.serviceId());
+			updateMsgImpl._rsslMsg.msgKey().applyHasServiceId();
+		}
+		
+		_rsslErrorInfo.clear();
+		int ret;
+		if (ReactorReturnCodes.SUCCESS > (ret = submitPassThroughMsg(updateMsgImpl)))
+	    {
+			if (loggerClient().isErrorEnabled())
+        	{
+				com.refinitiv.eta.transport.Error error = _rsslErrorInfo.error();
+				
+	        	strBuilder().append("Internal error: rsslChannel.submit() failed in OmmNiProviderImpl.submitPassThrough(UpdateMsg)")
+	        		.append("RsslChannel ").append(Integer.toHexString(error.channel() != null ? error.channel().hashCode() : 0)) 
+	    			.append(OmmLoggerClient.CR)
+	    			.append("Error Id ").append(error.errorId()).append(OmmLoggerClient.CR)
+	    			.append("Internal sysError ").append(error.sysError()).append(OmmLoggerClient.CR)
+	    			.append("Error Location ").append(_rsslErrorInfo.location()).append(OmmLoggerClient.CR)
+	    			.append("Error Text ").append(error.text());
+	        	
+	        	loggerClient().error(formatLogMessage(instanceName() , _strBuilder.toString(), Severity.ERROR));
+        	}
+			
+			userLock().unlock();
+			strBuilder().append("Failed to submit UpdateMsg. Reason: ")
+				.append(ReactorReturnCodes.toString(ret))
+				.append(". Error text: ")
+				.append(_rsslErrorInfo.error().text());
+			
+			handleInvalidUsage(_strBuilder.toString(), ret);
+			return;
+	    }
+		
+		userLock().unlock();
+	}
+
 	@Override
 	public void submit(StatusMsg statusMsg, long handle)
 	{
@@ -909,7 +994,7 @@ class OmmNiProviderImpl extends OmmBaseImpl<OmmProviderClient> implements OmmPro
 			return;
 		}
 		
-		streamInfo = _handleToStreamInfo.get(_longObject.value(handle));
+		streamInfo = _handleToStreamInfo.get(handle);
 		
 		if(streamInfo != null && streamInfo.streamType() == StreamType.CONSUMING)
 		{
@@ -986,7 +1071,7 @@ class OmmNiProviderImpl extends OmmBaseImpl<OmmProviderClient> implements OmmPro
 			    	}
 			    	
 			    	statusMsgImpl._rsslMsg.streamId(streamInfo.streamId());
-					_handleToStreamInfo.put(streamInfo.handle(), streamInfo);
+					_handleToStreamInfo.put(streamInfo.handle().value(), streamInfo);
 					
 					bHandleAdded = true;
 				}
@@ -1043,7 +1128,7 @@ class OmmNiProviderImpl extends OmmBaseImpl<OmmProviderClient> implements OmmPro
 		    	}
 		    	
 		    	statusMsgImpl._rsslMsg.streamId(streamInfo.streamId());
-		    	_handleToStreamInfo.put(streamInfo.handle(), streamInfo);
+		    	_handleToStreamInfo.put(streamInfo.handle().value(), streamInfo);
 				
 				bHandleAdded = true;
 				
@@ -1077,7 +1162,7 @@ class OmmNiProviderImpl extends OmmBaseImpl<OmmProviderClient> implements OmmPro
 		    	}
 		    	
 		    	statusMsgImpl._rsslMsg.streamId(streamInfo.streamId());
-		    	_handleToStreamInfo.put(streamInfo.handle(), streamInfo);
+		    	_handleToStreamInfo.put(streamInfo.handle().value(), streamInfo);
 				
 		    	bHandleAdded = true;
 			}
@@ -1091,12 +1176,12 @@ class OmmNiProviderImpl extends OmmBaseImpl<OmmProviderClient> implements OmmPro
 		
 		_rsslErrorInfo.clear();
 		int ret;
-		if (ReactorReturnCodes.SUCCESS > (ret = _activeChannelInfo.rsslReactorChannel().submit(statusMsgImpl._rsslMsg, _rsslSubmitOptions, _rsslErrorInfo)))
+		if (ReactorReturnCodes.SUCCESS > (ret = submitRsslMsg(statusMsgImpl._rsslMsg)))
 	    {
 			if (bHandleAdded)
 			{
-				_handleToStreamInfo.remove(_longObject.value(handle));
-				streamInfo.returnToPool();
+				_handleToStreamInfo.remove(handle);
+				returnStreamInfo(streamInfo);
 				returnProviderStreamId(statusMsgImpl._rsslMsg.streamId());
 			}
 			
@@ -1129,8 +1214,8 @@ class OmmNiProviderImpl extends OmmBaseImpl<OmmProviderClient> implements OmmPro
 				statusMsgImpl.state().streamState() == OmmState.StreamState.CLOSED_RECOVER || 
 						statusMsgImpl.state().streamState() == OmmState.StreamState.CLOSED_REDIRECTED)
 		{
-			_handleToStreamInfo.remove(_longObject.value(handle));
-			streamInfo.returnToPool();
+			_handleToStreamInfo.remove(handle);
+			returnStreamInfo(streamInfo);
 			returnProviderStreamId(statusMsgImpl._rsslMsg.streamId());
 		}
 		
@@ -1161,7 +1246,7 @@ class OmmNiProviderImpl extends OmmBaseImpl<OmmProviderClient> implements OmmPro
 					.append(handle).append(", user assigned streamId = ").append(genericMsg.streamId()).append(".").toString(), Severity.TRACE));
 		}
 		
-		StreamInfo streamInfo = _handleToStreamInfo.get(_longObject.value(handle));
+		StreamInfo streamInfo = _handleToStreamInfo.get(handle);
 		
 		if ( streamInfo != null )
 		{
@@ -1187,7 +1272,7 @@ class OmmNiProviderImpl extends OmmBaseImpl<OmmProviderClient> implements OmmPro
 		
 		_rsslErrorInfo.clear();
 		int ret;
-		if (ReactorReturnCodes.SUCCESS > (ret = _activeChannelInfo.rsslReactorChannel().submit(((GenericMsgImpl)genericMsg)._rsslMsg, _rsslSubmitOptions, _rsslErrorInfo)))
+		if (ReactorReturnCodes.SUCCESS > (ret = submitRsslMsg(((GenericMsgImpl)genericMsg)._rsslMsg)))
 	    {
 			if (loggerClient().isErrorEnabled())
         	{
@@ -1294,11 +1379,21 @@ class OmmNiProviderImpl extends OmmBaseImpl<OmmProviderClient> implements OmmPro
 			{
 				_activeConfig.removeItemsOnDisconnect = element.intLongValue() > 0 ? true : false;
 			}
+			
+			element = (ConfigElement)niProviderAttributes.getElement(ConfigManager.NiProviderSubmitQueueSize);
+			
+			if (element != null && element.intLongValue() >= 0)
+			{
+				_activeConfig.submitQueueSize = element.intLongValue();
+			}
 		}
 		
 		ProgrammaticConfigure pc = config.programmaticConfigure();
 		if ( pc != null )
 			pc.retrieveCustomConfig(_activeConfig.configuredName, _activeConfig);
+		
+		if ( _activeConfig.submitQueueSize > 0 )
+			_submitQueue = new NiProviderSubmitQueue(this, _activeConfig.submitQueueSize);
 	}
 
 	@Override
@@ -1316,6 +1411,10 @@ class OmmNiProviderImpl extends OmmBaseImpl<OmmProviderClient> implements OmmPro
 				removeItems();
 			
 			_activeChannelInfo = null;
+			
+			if ( _submitQueue != null )
+				_submitQueue.clear();
+			
 			userLock().unlock();
 			break;
 		default:
@@ -1328,11 +1427,15 @@ class OmmNiProviderImpl extends OmmBaseImpl<OmmProviderClient> implements OmmPro
 	{
 		_bIsStreamIdZeroRefreshSubmitted = false;
 		
-		Set<Entry<LongObject, StreamInfo>> entrySet = _handleToStreamInfo.entrySet();
+		List<StreamInfo> streamInfos = new ArrayList<StreamInfo>(_handleToStreamInfo.size());
+		_handleToStreamInfo.values(streamInfos);
 		
-		for (Entry<LongObject, StreamInfo> entry : entrySet)
+		if ( _submitQueue == null )
 		{
-			_objManager._streamInfoPool.add(entry.getValue());
+			for (StreamInfo streamInfo : streamInfos)
+			{
+				_objManager._streamInfoPool.add(streamInfo);
+			}
 		}
 		
 		_handleToStreamInfo.clear();
@@ -1498,7 +1601,7 @@ class OmmNiProviderImpl extends OmmBaseImpl<OmmProviderClient> implements OmmPro
 		}
 		
 		_rsslErrorInfo.clear();
-		if (ReactorReturnCodes.SUCCESS > (retCode = _activeChannelInfo.rsslReactorChannel().submit(rsslRefreshMsg, _rsslSubmitOptions, _rsslErrorInfo)))
+		if (ReactorReturnCodes.SUCCESS > (retCode = submitRsslMsg(rsslRefreshMsg)))
 	    {			
 			StringBuilder temp = strBuilder();
 			if (loggerClient().isErrorEnabled())
@@ -1650,6 +1753,63 @@ class OmmNiProviderImpl extends OmmBaseImpl<OmmProviderClient> implements OmmPro
 		_reusedProviderStreamIds.add(_objManager.createIntObject().value(streamId));
 	}
 	
+	/* Submits a message on the active channel, after the UpdateMsgs queued so far when the
+	 * submit queue is enabled. Fails with NO_BUFFERS if the channel runs out of buffers
+	 * writing them. */
+	private int submitRsslMsg(com.refinitiv.eta.codec.Msg rsslMsg)
+	{
+		if ( _submitQueue == null )
+			return _activeChannelInfo.rsslReactorChannel().submit(rsslMsg, _rsslSubmitOptions, _rsslErrorInfo);
+		
+		int ret = _submitQueue.lock(_rsslErrorInfo);
+		try
+		{
+			return ret < ReactorReturnCodes.SUCCESS ? ret : _activeChannelInfo.rsslReactorChannel().submit(rsslMsg, _rsslSubmitOptions, _rsslErrorInfo);
+		}
+		finally
+		{
+			_submitQueue.unlock();
+		}
+	}
+	
+	/* Submits a received UpdateMsg as it was encoded on the active channel, after the UpdateMsgs
+	 * queued so far when the submit queue is enabled. Fails with NO_BUFFERS if the channel runs
+	 * out of buffers writing them. */
+	private int submitPassThroughMsg(UpdateMsgImpl updateMsgImpl)
+	{
+		if ( _submitQueue == null )
+			return updateMsgImpl.submitPassThrough(_activeChannelInfo.rsslReactorChannel(), _rsslSubmitOptions, _rsslErrorInfo);
+		
+		int ret = _submitQueue.lock(_rsslErrorInfo);
+		try
+		{
+			return ret < ReactorReturnCodes.SUCCESS ? ret : updateMsgImpl.submitPassThrough(_activeChannelInfo.rsslReactorChannel(), _rsslSubmitOptions, _rsslErrorInfo);
+		}
+		finally
+		{
+			_submitQueue.unlock();
+		}
+	}
+	
+	ChannelInfo activeChannelInfo()
+	{
+		return _activeChannelInfo;
+	}
+	
+	/* Returns the stream of the handle, read by the submit queue without the user lock. */
+	StreamInfo streamInfo(long handle)
+	{
+		return _handleToStreamInfo.get(handle);
+	}
+	
+	/* Returns the StreamInfo of a closed stream to the pool. When the submit queue is enabled, it is
+	 * left to the GC instead, as updates queued on it may still be reading it without the user lock. */
+	private void returnStreamInfo(StreamInfo streamInfo)
+	{
+		if ( _submitQueue == null )
+			streamInfo.returnToPool();
+	}
+	
 	void setActiveRsslReactorChannel(ChannelInfo activeChannelInfo)
 	{
 		_activeChannelInfo = activeChannelInfo;
@@ -1784,7 +1944,7 @@ class OmmNiProviderImpl extends OmmBaseImpl<OmmProviderClient> implements OmmPro
 		
 		long id = _longId;
 		
-		while( _handleToStreamInfo.containsKey(_longObject.value(id)) )
+		while( _handleToStreamInfo.containsKey(id) )
 		{
 			id = ++_longId;
 			
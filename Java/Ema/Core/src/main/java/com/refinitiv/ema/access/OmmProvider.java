@@ -313,6 +313,25 @@ public interface OmmProvider
 	 */
 	public void submit(UpdateMsg updateMsg, long handle);
 	
+	/**
+	 * Sends a UpdateMsg received from an OmmConsumer without decoding and re-encoding it.
+	 * <p>The encoded UpdateMsg is copied as it was received, with only its stream id and
+	 * sequence number rewritten for the item stream of the handle. Changes made to the
+	 * received UpdateMsg other than its seqNum are not sent. A UpdateMsg with a message key,
+	 * or received with a different RWF version than the one of the channel it is sent on,
+	 * has its message header encoded again while its payload is still copied as received.</p>
+	 * <p>Must be called from the OmmConsumerClient callback receiving the UpdateMsg, or on a
+	 * copy of it made by EmaFactory.createUpdateMsg(UpdateMsg).</p>
+	 * <p>This method is ObjectLevelSafe.</p>
+	 *
+	 * @throws OmmInvalidUsageException if updateMsg was not received or failed to submit updateMsg
+	 * @throws OmmInvalidHandleException if passed in handle does not refer to an open stream
+	 *
+	 * @param updateMsg specifies received UpdateMsg to be sent on the open item stream
+	 * @param handle identifies item stream on which to send the UpdateMsg
+	 */
+	public void submitPassThrough(UpdateMsg updateMsg, long handle);
+	
 	/**
 	 * Sends a StatusMsg.
 	 * <p>This method is ObjectLevelSafe.</p>
@@ -18,6 +18,7 @@ import java.nio.channels.Selector;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.Iterator;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
@@ -27,6 +28,7 @@ import java.util.concurrent.locks.ReentrantLock;
 
 import com.refinitiv.eta.codec.*;
 import com.refinitiv.eta.transport.Error;
+import com.refinitiv.eta.valueadd.common.VaTimingWheel;
 import com.refinitiv.eta.valueadd.reactor.*;
 import org.slf4j.Logger;
 
@@ -62,6 +64,12 @@ abstract class OmmServerBaseImpl implements OmmCommonImpl, Runnable, TimeoutClie
 	private final static int MIN_TIME_FOR_SELECT_IN_MILLISEC = 1;
 	private final static int DISPATCH_LOOP_COUNT = 15;
 	
+	/* Returned by lockReactorThreads() when no lock of a reactor thread was taken, when the locks of all
+	 * threads were taken, or when a lock could not be taken without waiting. */
+	final static int REACTOR_THREADS_NONE = -1;
+	final static int REACTOR_THREADS_ALL = -2;
+	final static int REACTOR_THREADS_BUSY = -3;
+	
 	private Logger _loggerClient;
 	protected StringBuilder _strBuilder = new StringBuilder();
 	protected StringBuilder _dispatchStrBuilder = new StringBuilder(1024);
@@ -70,7 +78,7 @@ abstract class OmmServerBaseImpl implements OmmCommonImpl, Runnable, TimeoutClie
 	private OmmJsonConverterExceptionImpl ommJCExcept;
 	protected LongObject _longValue = new LongObject();
 	
-	private HashMap<LongObject, ItemInfo>	_itemInfoMap;
+	private ConcurrentHashMap<LongObject, ItemInfo>	_itemInfoMap;
 	
 	private ReentrantLock _userLock = new java.util.concurrent.locks.ReentrantLock();
 	private ReentrantLock _dispatchLock = new java.util.concurrent.locks.ReentrantLock();	
@@ -82,6 +90,9 @@ abstract class OmmServerBaseImpl implements OmmCommonImpl, Runnable, TimeoutClie
 
 	private Selector _selector;
 	private ExecutorService _executor;
+	private volatile ServerReactorThread[] _reactorThreads;
+	private ConcurrentLinkedQueue<Runnable> _deferredCalls = new ConcurrentLinkedQueue<Runnable>();
+	private ReentrantLock _deferredCallLock = new ReentrantLock();
 	private volatile boolean _threadRunning = false;
 	private Pipe _pipe;
 	private AtomicLong _pipeWriteCount = new AtomicLong();
@@ -111,7 +122,7 @@ abstract class OmmServerBaseImpl implements OmmCommonImpl, Runnable, TimeoutClie
 	private boolean _logError = true;	
 	
 	protected boolean _eventTimeout;
-	protected ConcurrentLinkedQueue<TimeoutEvent> _timeoutEventQueue = new ConcurrentLinkedQueue<TimeoutEvent>();
+	protected VaTimingWheel _timeoutWheel = new VaTimingWheel();
 	protected EmaObjectManager _objManager = new EmaObjectManager();
 	
 	protected ReactorSubmitOptions _rsslSubmitOptions = ReactorFactory.createReactorSubmitOptions();
@@ -156,7 +167,7 @@ abstract class OmmServerBaseImpl implements OmmCommonImpl, Runnable, TimeoutClie
 
 	OmmServerBaseImpl(OmmProviderClient ommProviderClient, Object closure)
 	{
-		_itemInfoMap = new HashMap<>();
+		_itemInfoMap = new ConcurrentHashMap<>();
 		_ommProviderClient = ommProviderClient;
 		_closure = closure;
 		_ommProviderEvent = new OmmEventImpl<OmmProviderEvent>();
@@ -165,7 +176,7 @@ abstract class OmmServerBaseImpl implements OmmCommonImpl, Runnable, TimeoutClie
 
 	OmmServerBaseImpl(OmmProviderClient ommProviderClient, OmmProviderErrorClient providerErrorClient, Object closure)
 	{
-		_itemInfoMap = new HashMap<>();
+		_itemInfoMap = new ConcurrentHashMap<>();
 		_ommProviderClient = ommProviderClient;
 		_ommProviderErrorClient = providerErrorClient;
 		_closure = closure;
@@ -196,6 +207,15 @@ abstract class OmmServerBaseImpl implements OmmCommonImpl, Runnable, TimeoutClie
 			
 			config.errorTracker().log(this, _loggerClient);
 			
+			if (_activeServerConfig.reactorThreadCount > 1 && _activeServerConfig.userDispatch != OperationModel.API_DISPATCH)
+			{
+				if (_loggerClient.isWarnEnabled())
+					_loggerClient.warn(formatLogMessage(_activeServerConfig.instanceName, 
+						"ReactorThreadCount is supported with the API_DISPATCH operation model only. Client channels are dispatched by the user thread.", Severity.WARNING));
+				
+				_activeServerConfig.reactorThreadCount = ActiveServerConfig.DEFAULT_REACTOR_THREAD_COUNT;
+			}
+			
 			if (_loggerClient.isTraceEnabled())
 			{
 				_loggerClient.trace(formatLogMessage(_activeServerConfig.instanceName, 
@@ -396,6 +416,9 @@ abstract class OmmServerBaseImpl implements OmmCommonImpl, Runnable, TimeoutClie
 				throw (ommIUExcept().message(temp, OmmInvalidUsageException.ErrorCode.INTERNAL_ERROR));
 			}
 			
+			if (_activeServerConfig.reactorThreadCount > 1)
+				initializeReactorThreads();
+			
 			_state = OmmImplState.REACTOR_INITIALIZED;
 			
 			if (_activeServerConfig.userDispatch == OperationModel.API_DISPATCH)
@@ -423,6 +446,207 @@ abstract class OmmServerBaseImpl implements OmmCommonImpl, Runnable, TimeoutClie
 	    }
 	}
 	
+	/* Creates and starts the threads dispatching the client channels when ReactorThreadCount is greater than 1.
+	 * The API thread then only accepts new channels and handles the timeout events. */
+	private void initializeReactorThreads()
+	{
+		ServerReactorThread[] reactorThreads = new ServerReactorThread[_activeServerConfig.reactorThreadCount];
+		_reactorThreads = reactorThreads;
+		
+		for (int i = 0; i < reactorThreads.length; i++)
+		{
+			reactorThreads[i] = new ServerReactorThread(this, i);
+			
+			String temp = reactorThreads[i].initialize(_rsslReactorOpts, jsonConverterOptions, _providerRole, _rsslSubmitOptions);
+			if (temp != null)
+			{
+				if (_loggerClient.isErrorEnabled())
+					_loggerClient.error(formatLogMessage(_activeServerConfig.instanceName, temp, Severity.ERROR));
+
+				throw (ommIUExcept().message(temp, OmmInvalidUsageException.ErrorCode.INTERNAL_ERROR));
+			}
+		}
+		
+		for (ServerReactorThread reactorThread : reactorThreads)
+			reactorThread.start();
+		
+		if (_loggerClient.isTraceEnabled())
+			_loggerClient.trace(formatLogMessage(_activeServerConfig.instanceName, "Successfully started " + reactorThreads.length + " reactor threads.", Severity.TRACE));
+	}
+	
+	/* Returns the reactor thread with the fewest channels, or null when the channels are dispatched by the API or user thread. */
+	private ServerReactorThread nextReactorThread()
+	{
+		ServerReactorThread[] reactorThreads = _reactorThreads;
+		if (reactorThreads == null)
+			return null;
+		
+		ServerReactorThread next = reactorThreads[0];
+		for (int i = 1; i < reactorThreads.length; i++)
+		{
+			if (reactorThreads[i].channelCount() < next.channelCount())
+				next = reactorThreads[i];
+		}
+		
+		return next;
+	}
+	
+	/* Takes the lock of the reactor thread dispatching the channel of the item, or the locks of all reactor
+	 * threads for a handle of 0, before a call writing to client channels takes the user lock. Returns the
+	 * index of the locked thread, REACTOR_THREADS_ALL, or REACTOR_THREADS_NONE when there are no reactor
+	 * threads or no such item, in which case the call is left to report the handle.
+	 * A caller already holding the user lock or the lock of a reactor thread, such as a callback, only tries
+	 * the locks, and gets REACTOR_THREADS_BUSY when one is held by another thread or calls are deferred
+	 * already; it then defers its call with deferCall() to keep the lock order. */
+	int lockReactorThreads(long handle)
+	{
+		ServerReactorThread[] reactorThreads = _reactorThreads;
+		if (reactorThreads == null)
+			return REACTOR_THREADS_NONE;
+		
+		boolean tryOnly = holdsProviderLocks(reactorThreads);
+		if (tryOnly && !_deferredCalls.isEmpty())
+			return REACTOR_THREADS_BUSY;
+		
+		if (handle == 0)
+			return lockReactorThreads(reactorThreads, tryOnly);
+		
+		LongObject key = new LongObject().value(handle);
+		while (true)
+		{
+			ItemInfo itemInfo = _itemInfoMap.get(key);
+			if (itemInfo == null)
+				return REACTOR_THREADS_NONE;
+			
+			ClientSession clientSession = itemInfo.clientSession();
+			ServerReactorThread reactorThread = clientSession != null ? clientSession.reactorThread() : null;
+			if (reactorThread == null)
+			{
+				// the channel of the item is being removed by a callback, which ends by removing the item
+				if (_userLock.isHeldByCurrentThread())
+					return REACTOR_THREADS_NONE;
+				
+				Thread.yield();
+				continue;
+			}
+			
+			ReentrantLock lock = reactorThread.lock();
+			if (tryOnly)
+			{
+				if (!lock.tryLock())
+					return REACTOR_THREADS_BUSY;
+			}
+			else
+				lock.lock();
+			
+			if (_itemInfoMap.get(key) == itemInfo && itemInfo.clientSession() == clientSession
+					&& clientSession.reactorThread() == reactorThread)
+				return reactorThread.index();
+			
+			lock.unlock();
+		}
+	}
+	
+	/* Takes the locks of all reactor threads, in the order of the threads. */
+	int lockReactorThreads()
+	{
+		ServerReactorThread[] reactorThreads = _reactorThreads;
+		if (reactorThreads == null)
+			return REACTOR_THREADS_NONE;
+		
+		boolean tryOnly = holdsProviderLocks(reactorThreads);
+		if (tryOnly && !_deferredCalls.isEmpty())
+			return REACTOR_THREADS_BUSY;
+		
+		return lockReactorThreads(reactorThreads, tryOnly);
+	}
+	
+	private static int lockReactorThreads(ServerReactorThread[] reactorThreads, boolean tryOnly)
+	{
+		for (int i = 0; i < reactorThreads.length; i++)
+		{
+			if (!tryOnly)
+				reactorThreads[i].lock().lock();
+			else if (!reactorThreads[i].lock().tryLock())
+			{
+				while (--i >= 0)
+					reactorThreads[i].lock().unlock();
+				return REACTOR_THREADS_BUSY;
+			}
+		}
+		
+		return REACTOR_THREADS_ALL;
+	}
+	
+	/* Releases the locks taken by lockReactorThreads(), given its return value. */
+	void unlockReactorThreads(int locked)
+	{
+		ServerReactorThread[] reactorThreads = _reactorThreads;
+		if (locked >= 0)
+			reactorThreads[locked].lock().unlock();
+		else if (locked == REACTOR_THREADS_ALL)
+		{
+			for (int i = reactorThreads.length - 1; i >= 0; i--)
+				reactorThreads[i].lock().unlock();
+		}
+	}
+	
+	private boolean holdsProviderLocks(ServerReactorThread[] reactorThreads)
+	{
+		if (_userLock.isHeldByCurrentThread())
+			return true;
+		
+		for (ServerReactorThread reactorThread : reactorThreads)
+		{
+			if (reactorThread.lock().isHeldByCurrentThread())
+				return true;
+		}
+		
+		return false;
+	}
+	
+	/* Queues a call that could not take the locks of the reactor threads it needs. The calls are made in
+	 * order by the reactor threads, between two dispatches and without holding any lock. */
+	void deferCall(Runnable call)
+	{
+		_deferredCalls.add(call);
+		
+		ServerReactorThread[] reactorThreads = _reactorThreads;
+		if (reactorThreads != null && reactorThreads[0].selector() != null)
+			reactorThreads[0].selector().wakeup();
+	}
+	
+	void runDeferredCalls()
+	{
+		if (_deferredCalls.isEmpty() || !_deferredCallLock.tryLock())
+			return;
+		
+		try
+		{
+			Runnable call;
+			// a call stays queued while made, so that calls deferred meanwhile still follow it
+			while ((call = _deferredCalls.peek()) != null)
+			{
+				try
+				{
+					call.run();
+				}
+				catch (OmmException exception)
+				{
+					if (_loggerClient.isErrorEnabled())
+						_loggerClient.error(formatLogMessage(_activeServerConfig.instanceName,
+								"Deferred call failed, exception occurred: " + exception.getMessage(), Severity.ERROR));
+				}
+				
+				_deferredCalls.poll();
+			}
+		}
+		finally
+		{
+			_deferredCallLock.unlock();
+		}
+	}
+	
 	//intenal use, only for junit test
 	void initializeForTest(ActiveServerConfig activeConfig,EmaConfigServerImpl config)
 	{
@@ -484,6 +708,8 @@ abstract class OmmServerBaseImpl implements OmmCommonImpl, Runnable, TimeoutClie
 
 	void uninitialize()
 	{
+		ServerReactorThread[] reactorThreads = null;
+		
 		try
 		{
 			if (_activeServerConfig.userDispatch == OperationModel.API_DISPATCH)
@@ -502,11 +728,14 @@ abstract class OmmServerBaseImpl implements OmmCommonImpl, Runnable, TimeoutClie
 							_loggerClient.error(formatLogMessage(_activeServerConfig.instanceName, _strBuilder.toString(), Severity.ERROR));
 						}
 					}
-				}			
+				}
+				
+				reactorThreads = stopReactorThreads();
 				_userLock.lock();
 			}
 			else
 			{
+				reactorThreads = stopReactorThreads();
 				_userLock.lock();
 				_threadRunning = false;
 				_eventReceived = true;
@@ -532,6 +761,14 @@ abstract class OmmServerBaseImpl implements OmmCommonImpl, Runnable, TimeoutClie
 				}
 			}
 			
+			if (reactorThreads != null)
+			{
+				for (ServerReactorThread reactorThread : reactorThreads)
+					reactorThread.uninitialize();
+				_reactorThreads = null;
+				_deferredCalls.clear();
+			}
+			
 			if (_serverChannelHandler != null)
 			{
 				_serverChannelHandler.closeActiveSessions();
@@ -553,11 +790,34 @@ abstract class OmmServerBaseImpl implements OmmCommonImpl, Runnable, TimeoutClie
 		} finally
 		{
 			_userLock.unlock();
+			
+			if (reactorThreads != null)
+			{
+				for (ServerReactorThread reactorThread : reactorThreads)
+					reactorThread.lock().unlock();
+			}
+			
 			_rsslReactor = null;
 			_server = null;
 		}
 	}
 	
+	/* Stops the reactor threads, then takes their locks, waiting for the calls writing to their channels. */
+	private ServerReactorThread[] stopReactorThreads() throws InterruptedException
+	{
+		ServerReactorThread[] reactorThreads = _reactorThreads;
+		if (reactorThreads == null)
+			return null;
+		
+		for (ServerReactorThread reactorThread : reactorThreads)
+			reactorThread.stop();
+		
+		for (ServerReactorThread reactorThread : reactorThreads)
+			reactorThread.lock().lock();
+		
+		return reactorThreads;
+	}
+	
 	int state()
 	{
 		return _state;
@@ -1008,15 +1268,19 @@ abstract class OmmServerBaseImpl implements OmmCommonImpl, Runnable, TimeoutClie
 	
 	TimeoutEvent addTimeoutEvent(long timeoutInMicroSec, TimeoutClient client)
 	{
-		TimeoutEvent timeoutEvent = (TimeoutEvent) _objManager._timeoutEventPool.poll();
-		if (timeoutEvent == null)
+		TimeoutEvent timeoutEvent;
+		synchronized (_timeoutWheel)
 		{
-			timeoutEvent = new TimeoutEvent(timeoutInMicroSec * 1000, client);
-			_objManager._timeoutEventPool.updatePool(timeoutEvent);
-		} else
-			timeoutEvent.timeoutInNanoSec(timeoutInMicroSec * 1000, client);
+			timeoutEvent = (TimeoutEvent) _objManager._timeoutEventPool.poll();
+			if (timeoutEvent == null)
+			{
+				timeoutEvent = new TimeoutEvent(timeoutInMicroSec * 1000, client);
+				_objManager._timeoutEventPool.updatePool(timeoutEvent);
+			} else
+				timeoutEvent.timeoutInNanoSec(timeoutInMicroSec * 1000, client);
 
-		_timeoutEventQueue.add(timeoutEvent);
+			timeoutEvent.schedule(_timeoutWheel);
+		}
 		
 		try 
 		{
@@ -1091,7 +1355,7 @@ abstract class OmmServerBaseImpl implements OmmCommonImpl, Runnable, TimeoutClie
 		long endTime = 0;
 		
 		timeOut = timeOut*1000;
-		long userTimeout = TimeoutEvent.userTimeOutExist(_timeoutEventQueue);
+		long userTimeout = TimeoutEvent.userTimeOutExist(_timeoutWheel);
 		boolean userTimeoutExist = false;
 		if (userTimeout >= 0)
 		{
@@ -1116,7 +1380,7 @@ abstract class OmmServerBaseImpl implements OmmCommonImpl, Runnable, TimeoutClie
 					if ( timeOut <=0 )
 					{
 						if (userTimeoutExist)
-							TimeoutEvent.execute(_timeoutEventQueue);
+							TimeoutEvent.execute(_timeoutWheel);
 					}
 				}
 				
@@ -1148,7 +1412,27 @@ abstract class OmmServerBaseImpl implements OmmCommonImpl, Runnable, TimeoutClie
 								reactorAcceptOptions.acceptOptions().nakMount(false);
 								reactorAcceptOptions.initTimeout(_activeServerConfig.serverConfig.initializationTimeout);
 								
-								if (_rsslReactor.accept(_server, reactorAcceptOptions, _providerRole, _rsslErrorInfo) == ReactorReturnCodes.FAILURE)
+								ServerReactorThread reactorThread = nextReactorThread();
+								clientSession.reactorThread(reactorThread);
+								
+								int acceptRet;
+								if (reactorThread != null)
+								{
+									// the channel opened event is called back through the thread, taking the user lock
+									reactorThread.lock().lock();
+									try
+									{
+										acceptRet = reactorThread.reactor().accept(_server, reactorAcceptOptions, reactorThread.providerRole(), _rsslErrorInfo);
+									}
+									finally
+									{
+										reactorThread.lock().unlock();
+									}
+								}
+								else
+									acceptRet = _rsslReactor.accept(_server, reactorAcceptOptions, _providerRole, _rsslErrorInfo);
+								
+								if (acceptRet == ReactorReturnCodes.FAILURE)
 		                        {
 									if (_loggerClient.isErrorEnabled()) 
 									{
@@ -1171,6 +1455,9 @@ abstract class OmmServerBaseImpl implements OmmCommonImpl, Runnable, TimeoutClie
 									
 									return false;
 		                        }
+								
+								if (reactorThread != null)
+									reactorThread.channelAdded();
 							}
 							if (key.isReadable())
 							{
@@ -1221,13 +1508,13 @@ abstract class OmmServerBaseImpl implements OmmCommonImpl, Runnable, TimeoutClie
 
 					if ( _eventReceived ) return true;
 					
-					TimeoutEvent.execute(_timeoutEventQueue);
+					TimeoutEvent.execute(_timeoutWheel);
 					
 					if ( _eventReceived ) return true;
 				} //selectCount > 0
 				else if (selectCount == 0)
 				{
-					TimeoutEvent.execute(_timeoutEventQueue);
+					TimeoutEvent.execute(_timeoutWheel);
 						
 					if ( _eventReceived ) return true;
 				}
@@ -1334,6 +1621,13 @@ abstract class OmmServerBaseImpl implements OmmCommonImpl, Runnable, TimeoutClie
 		_userLock.unlock();
 	}
 	
+	/* Returns the item without taking the user lock, for a caller holding the lock of the reactor thread
+	 * dispatching the channel of the item. */
+	ItemInfo itemInfoOnReactorThread(long handle)
+	{
+		return _itemInfoMap.get(new LongObject().value(handle));
+	}
+	
 	public ItemInfo getItemInfo(long handle)
 	{
 		_userLock.lock();
@@ -1070,6 +1070,11 @@ class ProgrammaticConfigure
 												if (eentry.intValue() >= 0)
 													((ActiveConfig)activeConfig).maxOutstandingPosts = convertToInt(eentry.intValue());
 											}
+											else if ( eentry.name().equals("ItemCacheMaxItems"))
+											{
+												if (eentry.intValue() >= 0)
+													((ActiveConfig)activeConfig).itemCacheMaxItems = convertToInt(eentry.intValue());
+											}
 											else if ( eentry.name().equals("DirectoryRequestTimeOut"))
 											{
 												if (eentry.intValue() >= 0)
@@ -1162,6 +1167,11 @@ class ProgrammaticConfigure
 														{
 															((OmmNiProviderActiveConfig)(activeConfig)).removeItemsOnDisconnect= eentry.intValue() > 0 ? true : false;
 														}
+														else if (eentry.name().equals("SubmitQueueSize"))
+														{
+															if (eentry.intValue() >= 0)
+																((OmmNiProviderActiveConfig)(activeConfig)).submitQueueSize = convertToInt(eentry.intValue());
+														}
 											break;
 										default:
 											break;
@@ -1232,6 +1242,11 @@ class ProgrammaticConfigure
 														if (eentry.intValue() >= 0)
 															((OmmIProviderActiveConfig)activeConfig).maxFieldDictFragmentSize = convertToInt(eentry.intValue());
 													}
+													else if (eentry.name().equals("ReactorThreadCount"))
+													{
+														if (eentry.intValue() > 0)
+															((ActiveServerConfig)activeConfig).reactorThreadCount = convertToInt(eentry.intValue());
+													}
 												break;
 											default:
 												break;
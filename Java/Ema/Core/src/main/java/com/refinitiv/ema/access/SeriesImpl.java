@@ -14,7 +14,6 @@ import com.refinitiv.eta.codec.CodecFactory;
 import com.refinitiv.eta.codec.CodecReturnCodes;
 import com.refinitiv.eta.codec.DataDictionary;
 
-import java.nio.ByteBuffer;
 import java.util.Collection;
 import java.util.Iterator;
 import java.util.LinkedList;
@@ -450,9 +449,7 @@ class SeriesImpl extends CollectionDataImpl implements Series
 		
 	    while ((ret = _rsslSeries.encodeInit(_rsslEncodeIter, 0, 0)) == CodecReturnCodes.BUFFER_TOO_SMALL)
 	    {
-	    	Buffer bigBuffer = CodecFactory.createBuffer();
-			bigBuffer.data(ByteBuffer.allocate(_rsslBuffer.capacity() * 2));
-			_rsslBuffer = bigBuffer;
+	    	enlargeEncodeBuffer();
 
 			setEncodedBufferIterator();
 	    }
@@ -480,7 +477,7 @@ class SeriesImpl extends CollectionDataImpl implements Series
 			
 			while ((ret = seriesEntry._rsslSeriesEntry.encode(_rsslEncodeIter) ) == CodecReturnCodes.BUFFER_TOO_SMALL)
 			{
-				_rsslBuffer = Utilities.realignBuffer(_rsslEncodeIter, _rsslBuffer.capacity() * 2);
+				growEncodeBuffer();
 			}
 			 
 			if (ret != CodecReturnCodes.SUCCESS)
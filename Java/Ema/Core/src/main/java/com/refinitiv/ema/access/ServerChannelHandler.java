@@ -2,6 +2,7 @@ package com.refinitiv.ema.access;
 
 import java.nio.channels.ClosedChannelException;
 import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
@@ -60,7 +61,7 @@ class ServerChannelHandler implements ReactorChannelEventCallback
 
                 try
                 {
-                    event.reactorChannel().selectableChannel().register(_serverImpl.selector(), SelectionKey.OP_READ, event.reactorChannel());
+                    event.reactorChannel().selectableChannel().register(selector(clientSession), SelectionKey.OP_READ, event.reactorChannel());
                 }
                 catch (ClosedChannelException e)
                 {
@@ -257,7 +258,7 @@ class ServerChannelHandler implements ReactorChannelEventCallback
             {
                 try
                 {
-                    SelectionKey key = event.reactorChannel().oldSelectableChannel().keyFor(_serverImpl.selector());
+                    SelectionKey key = event.reactorChannel().oldSelectableChannel().keyFor(selector(clientSession));
                     if (key != null)
                         key.cancel();
                 }
@@ -267,7 +268,7 @@ class ServerChannelHandler implements ReactorChannelEventCallback
 
                 try
                 {
-                    event.reactorChannel().selectableChannel().register(_serverImpl.selector(), SelectionKey.OP_READ, event.reactorChannel());
+                    event.reactorChannel().selectableChannel().register(selector(clientSession), SelectionKey.OP_READ, event.reactorChannel());
                 }
                 catch (Exception e)
                 {
@@ -324,7 +325,7 @@ class ServerChannelHandler implements ReactorChannelEventCallback
 
                 try
                 {
-                    SelectionKey key = rsslReactorChannel.selectableChannel().keyFor(_serverImpl.selector());
+                    SelectionKey key = rsslReactorChannel.selectableChannel().keyFor(selector(clientSession));
                     if (key != null)
                         key.cancel();
                 }
@@ -444,6 +445,8 @@ class ServerChannelHandler implements ReactorChannelEventCallback
         }
     }
 
+    /* Closes the channel. Called back or from OmmIProvider while holding the lock of the reactor thread
+     * dispatching the channel, if any, before the user lock. */
     void closeChannel(ReactorChannel channel)
     {
         assert (channel != null);
@@ -471,10 +474,25 @@ class ServerChannelHandler implements ReactorChannelEventCallback
     {
         if(clientSession != null)
         {
+        	if (clientSession.reactorThread() != null)
+        	{
+        		clientSession.reactorThread().channelRemoved();
+        		clientSession.reactorThread(null);
+        	}
+
         	clientSession.closeAllItemInfo();
         	removeClientSession(clientSession);
         }
     }
+
+    /* The selector of the thread dispatching the channel of the client session. */
+    private Selector selector(ClientSession clientSession)
+    {
+        if (clientSession != null && clientSession.reactorThread() != null)
+            return clientSession.reactorThread().selector();
+
+        return _serverImpl.selector();
+    }
     
     HashMap<LongObject, ClientSession> clientSessionMap()
     {
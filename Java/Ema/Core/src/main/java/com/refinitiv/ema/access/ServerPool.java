@@ -58,6 +58,7 @@ class ServerPool
 		else
 		{
 			clientSession.clear();
+			clientSession.ommServerBaseImpl(ommServerBaseImpl);
 			_clientHandleLock.unlock();
 			
 			return clientSession;
@@ -0,0 +1,427 @@
+///*|-----------------------------------------------------------------------------
+// *|            This source code is provided under the Apache 2.0 license      --
+// *|  and is provided AS IS with no warranty or guarantee of fit for purpose.  --
+// *|                See the project's LICENSE.md for details.                  --
+// *|           Copyright (C) 2021 Refinitiv. All rights reserved.            --
+///*|-----------------------------------------------------------------------------
+
+package com.refinitiv.ema.access;
+
+import java.io.IOException;
+import java.nio.channels.CancelledKeyException;
+import java.nio.channels.ClosedSelectorException;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.util.Iterator;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+
+import com.refinitiv.ema.access.OmmLoggerClient.Severity;
+import com.refinitiv.eta.valueadd.reactor.DefaultMsgCallback;
+import com.refinitiv.eta.valueadd.reactor.ProviderRole;
+import com.refinitiv.eta.valueadd.reactor.RDMDictionaryMsgCallback;
+import com.refinitiv.eta.valueadd.reactor.RDMDictionaryMsgEvent;
+import com.refinitiv.eta.valueadd.reactor.RDMDirectoryMsgCallback;
+import com.refinitiv.eta.valueadd.reactor.RDMDirectoryMsgEvent;
+import com.refinitiv.eta.valueadd.reactor.RDMLoginMsgCallback;
+import com.refinitiv.eta.valueadd.reactor.RDMLoginMsgEvent;
+import com.refinitiv.eta.valueadd.reactor.Reactor;
+import com.refinitiv.eta.valueadd.reactor.ReactorChannel;
+import com.refinitiv.eta.valueadd.reactor.ReactorChannelEvent;
+import com.refinitiv.eta.valueadd.reactor.ReactorChannelEventCallback;
+import com.refinitiv.eta.valueadd.reactor.ReactorDispatchOptions;
+import com.refinitiv.eta.valueadd.reactor.ReactorErrorInfo;
+import com.refinitiv.eta.valueadd.reactor.ReactorFactory;
+import com.refinitiv.eta.valueadd.reactor.ReactorJsonConversionEvent;
+import com.refinitiv.eta.valueadd.reactor.ReactorJsonConversionEventCallback;
+import com.refinitiv.eta.valueadd.reactor.ReactorJsonConverterOptions;
+import com.refinitiv.eta.valueadd.reactor.ReactorMsgEvent;
+import com.refinitiv.eta.valueadd.reactor.ReactorOptions;
+import com.refinitiv.eta.valueadd.reactor.ReactorReturnCodes;
+import com.refinitiv.eta.valueadd.reactor.ReactorServiceNameToId;
+import com.refinitiv.eta.valueadd.reactor.ReactorServiceNameToIdCallback;
+import com.refinitiv.eta.valueadd.reactor.ReactorServiceNameToIdEvent;
+import com.refinitiv.eta.valueadd.reactor.ReactorSubmitOptions;
+
+/**
+ * One of the threads dispatching the client channels of an OmmIProvider
+ * configured with a ReactorThreadCount greater than 1.
+ *
+ * Each thread owns a Reactor and a Selector. Channels accepted by the
+ * provider are handed to the thread with the fewest channels, and are read,
+ * flushed and written by its Reactor only, while holding the lock of this
+ * thread. The user lock is not held to dispatch: the callbacks of the Reactor
+ * go through this thread, which takes the user lock around the call to the
+ * provider handlers, so the handlers and the shared item tables stay
+ * serialized while the channels of the other threads are read and written.
+ *
+ * The locks are always taken in the order: lock of a reactor thread, lock of
+ * its Reactor, user lock. A caller holding the user lock, as a callback does,
+ * only tries the lock of another thread and defers its call when it is busy.
+ */
+class ServerReactorThread implements Runnable, ReactorChannelEventCallback, DefaultMsgCallback, RDMLoginMsgCallback,
+		RDMDirectoryMsgCallback, RDMDictionaryMsgCallback, ReactorServiceNameToIdCallback, ReactorJsonConversionEventCallback
+{
+	private final static int SHUTDOWN_TIMEOUT_IN_SECONDS = 3;
+	private final static int SELECT_TIMEOUT_IN_MILLISEC = 100;
+	private final static int DISPATCH_LOOP_COUNT = 15;
+
+	private OmmServerBaseImpl _serverImpl;
+	private int _index;
+	private Reactor _reactor;
+	private Selector _selector;
+	private ExecutorService _executor;
+	private volatile boolean _threadRunning;
+	private ReentrantLock _lock = new ReentrantLock();
+	private AtomicInteger _channelCount = new AtomicInteger();
+	private ReactorDispatchOptions _dispatchOptions = ReactorFactory.createReactorDispatchOptions();
+	private ReactorErrorInfo _dispatchErrorInfo = ReactorFactory.createReactorErrorInfo();
+	private ReactorSubmitOptions _submitOptions = ReactorFactory.createReactorSubmitOptions();
+	private ReactorErrorInfo _submitErrorInfo = ReactorFactory.createReactorErrorInfo();
+	private StringBuilder _strBuilder = new StringBuilder(256);
+	private ProviderRole _providerRole = ReactorFactory.createProviderRole();
+	private ProviderRole _serverProviderRole;
+	private ReactorServiceNameToIdCallback _serviceNameToIdCallback;
+	private ReactorJsonConversionEventCallback _jsonConversionEventCallback;
+
+	ServerReactorThread(OmmServerBaseImpl serverImpl, int index)
+	{
+		_serverImpl = serverImpl;
+		_index = index;
+	}
+
+	/* Creates the Reactor and Selector of this thread, calling back the handlers of the provider role and
+	 * the converter options through this thread. Returns an error text on failure, null otherwise. */
+	String initialize(ReactorOptions reactorOptions, ReactorJsonConverterOptions jsonConverterOptions,
+			ProviderRole providerRole, ReactorSubmitOptions submitOptions)
+	{
+		_dispatchOptions.maxMessages(_serverImpl.activeConfig().maxDispatchCountApiThread);
+		_submitOptions.writeArgs().priority(submitOptions.writeArgs().priority());
+		_submitOptions.writeArgs().flags(submitOptions.writeArgs().flags());
+
+		_serverProviderRole = providerRole;
+		_providerRole.channelEventCallback(this);
+		_providerRole.loginMsgCallback(this);
+		_providerRole.directoryMsgCallback(this);
+		_providerRole.dictionaryMsgCallback(this);
+		_providerRole.defaultMsgCallback(this);
+
+		_reactor = ReactorFactory.createReactor(reactorOptions, _dispatchErrorInfo);
+		if (ReactorReturnCodes.SUCCESS != _dispatchErrorInfo.code())
+			return errorText("Failed to initialize reactor thread (ReactorFactory.createReactor).", _dispatchErrorInfo);
+
+		// the Reactor keeps the callbacks of the options, which are shared by all threads
+		_serviceNameToIdCallback = jsonConverterOptions.serviceNameToIdCallback();
+		_jsonConversionEventCallback = jsonConverterOptions.jsonConversionEventCallback();
+		jsonConverterOptions.serviceNameToIdCallback(this);
+		jsonConverterOptions.jsonConversionEventCallback(this);
+		int ret = _reactor.initJsonConverter(jsonConverterOptions, _dispatchErrorInfo);
+		jsonConverterOptions.serviceNameToIdCallback(_serviceNameToIdCallback);
+		jsonConverterOptions.jsonConversionEventCallback(_jsonConversionEventCallback);
+
+		if (ret != ReactorReturnCodes.SUCCESS)
+			return errorText("Failed to initialize reactor thread (RWF/JSON Converter).", _dispatchErrorInfo);
+
+		try
+		{
+			_selector = Selector.open();
+			_reactor.reactorChannel().selectableChannel().register(_selector, SelectionKey.OP_READ, _reactor.reactorChannel());
+		}
+		catch (IOException e)
+		{
+			return "Failed to register selector of reactor thread " + _index + ": " + e.getLocalizedMessage();
+		}
+
+		return null;
+	}
+
+	void start()
+	{
+		_threadRunning = true;
+		_executor = Executors.newSingleThreadExecutor();
+		_executor.execute(this);
+	}
+
+	/* Stops the thread. Must be called without holding the user lock or the lock of this thread, which the thread takes to dispatch. */
+	void stop() throws InterruptedException
+	{
+		if (_executor == null)
+			return;
+
+		_executor.shutdown();
+		_threadRunning = false;
+		_selector.wakeup();
+		if (!_executor.awaitTermination(SHUTDOWN_TIMEOUT_IN_SECONDS, TimeUnit.SECONDS) && _serverImpl.loggerClient().isErrorEnabled())
+		{
+			_serverImpl.loggerClient().error(_serverImpl.formatLogMessage(_serverImpl.activeConfig().instanceName,
+					"Failed to stop reactor thread " + _index + " (_executor.awaitTermination() timed out).", Severity.ERROR));
+		}
+		_executor = null;
+	}
+
+	/* Shuts down the Reactor, closing the channels of this thread, and the Selector. */
+	void uninitialize()
+	{
+		_lock.lock();
+		try
+		{
+			if (_reactor != null && ReactorReturnCodes.SUCCESS != _reactor.shutdown(_dispatchErrorInfo)
+					&& _serverImpl.loggerClient().isErrorEnabled())
+			{
+				_serverImpl.loggerClient().error(_serverImpl.formatLogMessage(_serverImpl.activeConfig().instanceName,
+						errorText("Failed to uninitialize reactor thread (Reactor.shutdown).", _dispatchErrorInfo), Severity.ERROR));
+			}
+
+			if (_selector != null)
+				_selector.close();
+		}
+		catch (IOException e)
+		{
+			if (_serverImpl.loggerClient().isErrorEnabled())
+				_serverImpl.loggerClient().error(_serverImpl.formatLogMessage(_serverImpl.activeConfig().instanceName,
+						"Failed to close selector of reactor thread " + _index + ": " + e.getLocalizedMessage(), Severity.ERROR));
+		}
+		finally
+		{
+			_reactor = null;
+			_lock.unlock();
+		}
+	}
+
+	@Override
+	public void run()
+	{
+		try
+		{
+			while (_threadRunning)
+			{
+				if (_selector.select(SELECT_TIMEOUT_IN_MILLISEC) > 0 || !_selector.selectedKeys().isEmpty())
+				{
+					Iterator<SelectionKey> iter = _selector.selectedKeys().iterator();
+					while (iter.hasNext())
+					{
+						SelectionKey key = iter.next();
+						iter.remove();
+						try
+						{
+							if (!key.isValid() || !key.isReadable())
+								continue;
+
+							int ret;
+							int loopCount = 0;
+							do
+							{
+								_lock.lock();
+								try
+								{
+									ret = ((ReactorChannel)key.attachment()).dispatch(_dispatchOptions, _dispatchErrorInfo);
+								}
+								finally
+								{
+									_lock.unlock();
+								}
+							}
+							while (ret > ReactorReturnCodes.SUCCESS && _threadRunning && ++loopCount < DISPATCH_LOOP_COUNT);
+						}
+						catch (CancelledKeyException e)
+						{
+							continue;
+						}
+					}
+				}
+
+				int ret;
+				int loopCount = 0;
+				do
+				{
+					_lock.lock();
+					try
+					{
+						ret = _reactor != null ? _reactor.dispatchAll(null, _dispatchOptions, _dispatchErrorInfo) : ReactorReturnCodes.SUCCESS;
+					}
+					finally
+					{
+						_lock.unlock();
+					}
+				}
+				while (ret > ReactorReturnCodes.SUCCESS && _threadRunning && ++loopCount < DISPATCH_LOOP_COUNT);
+
+				if (ret < ReactorReturnCodes.SUCCESS && _threadRunning && _serverImpl.loggerClient().isErrorEnabled())
+				{
+					_serverImpl.loggerClient().error(_serverImpl.formatLogMessage(_serverImpl.activeConfig().instanceName,
+							errorText("Call to Reactor.dispatchAll() failed in reactor thread.", _dispatchErrorInfo), Severity.ERROR));
+				}
+
+				_serverImpl.runDeferredCalls();
+			}
+		}
+		catch (ClosedSelectorException | IOException e)
+		{
+			if (_threadRunning && _serverImpl.loggerClient().isErrorEnabled())
+				_serverImpl.loggerClient().error(_serverImpl.formatLogMessage(_serverImpl.activeConfig().instanceName,
+						"Reactor thread " + _index + " stopped, exception occurred: " + e.getLocalizedMessage(), Severity.ERROR));
+		}
+	}
+
+	@Override
+	public int reactorChannelEventCallback(ReactorChannelEvent event)
+	{
+		_serverImpl.userLock().lock();
+		try
+		{
+			return _serverProviderRole.channelEventCallback().reactorChannelEventCallback(event);
+		}
+		finally
+		{
+			_serverImpl.userLock().unlock();
+		}
+	}
+
+	@Override
+	public int defaultMsgCallback(ReactorMsgEvent event)
+	{
+		_serverImpl.userLock().lock();
+		try
+		{
+			return _serverProviderRole.defaultMsgCallback().defaultMsgCallback(event);
+		}
+		finally
+		{
+			_serverImpl.userLock().unlock();
+		}
+	}
+
+	@Override
+	public int rdmLoginMsgCallback(RDMLoginMsgEvent event)
+	{
+		_serverImpl.userLock().lock();
+		try
+		{
+			return _serverProviderRole.loginMsgCallback().rdmLoginMsgCallback(event);
+		}
+		finally
+		{
+			_serverImpl.userLock().unlock();
+		}
+	}
+
+	@Override
+	public int rdmDirectoryMsgCallback(RDMDirectoryMsgEvent event)
+	{
+		_serverImpl.userLock().lock();
+		try
+		{
+			return _serverProviderRole.directoryMsgCallback().rdmDirectoryMsgCallback(event);
+		}
+		finally
+		{
+			_serverImpl.userLock().unlock();
+		}
+	}
+
+	@Override
+	public int rdmDictionaryMsgCallback(RDMDictionaryMsgEvent event)
+	{
+		_serverImpl.userLock().lock();
+		try
+		{
+			return _serverProviderRole.dictionaryMsgCallback().rdmDictionaryMsgCallback(event);
+		}
+		finally
+		{
+			_serverImpl.userLock().unlock();
+		}
+	}
+
+	@Override
+	public int reactorServiceNameToIdCallback(ReactorServiceNameToId serviceNameToId, ReactorServiceNameToIdEvent serviceNameToIdEvent)
+	{
+		_serverImpl.userLock().lock();
+		try
+		{
+			return _serviceNameToIdCallback.reactorServiceNameToIdCallback(serviceNameToId, serviceNameToIdEvent);
+		}
+		finally
+		{
+			_serverImpl.userLock().unlock();
+		}
+	}
+
+	@Override
+	public int reactorJsonConversionEventCallback(ReactorJsonConversionEvent jsonConversionEvent)
+	{
+		_serverImpl.userLock().lock();
+		try
+		{
+			return _jsonConversionEventCallback.reactorJsonConversionEventCallback(jsonConversionEvent);
+		}
+		finally
+		{
+			_serverImpl.userLock().unlock();
+		}
+	}
+
+	private String errorText(String text, ReactorErrorInfo errorInfo)
+	{
+		_strBuilder.setLength(0);
+		return _strBuilder.append(text).append(" Reactor thread ").append(_index)
+				.append(" Error Id='").append(errorInfo.error().errorId()).append("' Internal sysError='")
+				.append(errorInfo.error().sysError()).append("' Error Location='")
+				.append(errorInfo.location()).append("' Error Text='")
+				.append(errorInfo.error().text()).append("'. ").toString();
+	}
+
+	int index()
+	{
+		return _index;
+	}
+
+	Reactor reactor()
+	{
+		return _reactor;
+	}
+
+	/* The role accepting channels on this thread. */
+	ProviderRole providerRole()
+	{
+		return _providerRole;
+	}
+
+	Selector selector()
+	{
+		return _selector;
+	}
+
+	ReentrantLock lock()
+	{
+		return _lock;
+	}
+
+	ReactorSubmitOptions submitOptions()
+	{
+		return _submitOptions;
+	}
+
+	ReactorErrorInfo submitErrorInfo()
+	{
+		return _submitErrorInfo;
+	}
+
+	int channelCount()
+	{
+		return _channelCount.get();
+	}
+
+	void channelAdded()
+	{
+		_channelCount.incrementAndGet();
+	}
+
+	void channelRemoved()
+	{
+		_channelCount.decrementAndGet();
+	}
+}
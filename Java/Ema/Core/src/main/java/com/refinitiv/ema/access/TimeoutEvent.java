@@ -7,20 +7,22 @@
 
 package com.refinitiv.ema.access;
 
-import java.util.Iterator;
-import java.util.concurrent.ConcurrentLinkedQueue;
-import com.refinitiv.eta.valueadd.common.VaNode;
+import com.refinitiv.eta.valueadd.common.VaTimerNode;
+import com.refinitiv.eta.valueadd.common.VaTimingWheel;
 
 interface TimeoutClient 
 {
 	void handleTimeoutEvent();
 }
 
-class TimeoutEvent extends VaNode
+/* Timeout events are scheduled in a timing wheel shared by the user and dispatch threads,
+ * so every access to the wheel synchronizes on it. */
+class TimeoutEvent extends VaTimerNode
 {
 	private long _timeoutInNanoSec;
 	private boolean _cancelled;
 	private TimeoutClient _client;
+	private VaTimingWheel _timeoutWheel;
 	
 	TimeoutEvent(long timeoutInNanoSec, TimeoutClient client)
 	{
@@ -46,9 +48,21 @@ class TimeoutEvent extends VaNode
 		return _cancelled;
 	}
 	
+	/* Removes the event from the wheel. A cancelled event is not returned to the pool,
+	 * as its owner may still hold and cancel it after it has been reused. */
 	void cancel()
 	{
-		_cancelled = true;
+		if (_timeoutWheel == null)
+		{
+			_cancelled = true;
+			return;
+		}
+		
+		synchronized (_timeoutWheel)
+		{
+			_cancelled = true;
+			_timeoutWheel.cancel(this);
+		}
 	}
 	
 	TimeoutClient client()
@@ -56,54 +70,52 @@ class TimeoutEvent extends VaNode
 		return _client;
 	}
 	
-	static <T> long userTimeOutExist(ConcurrentLinkedQueue<TimeoutEvent> timeoutEventQueue)
+	/* Adds the event to the wheel, the caller synchronizes on the wheel. */
+	void schedule(VaTimingWheel timeoutWheel)
 	{
-		if (timeoutEventQueue.size() == 0)
-			return -1;
-		
-		TimeoutEvent event;
-		Iterator<TimeoutEvent> iter = timeoutEventQueue.iterator();
-		 while (iter.hasNext())
-		 {
-        	event = iter.next();
-        	if (event.cancelled())
-        	{
-        		iter.remove();
-        		event.returnToPool();
-        		continue;
-        	}
-           
-        	long currentTime = System.nanoTime();
-        	if ((currentTime - event.timeoutInNanoSerc()) >= 0)
-				return 0;
-            else  
-            	return (event.timeoutInNanoSerc() - currentTime);
-        }
-        
-        return -1;
+		_timeoutWheel = timeoutWheel;
+		timeoutWheel.add(this, _timeoutInNanoSec);
 	}
 	
-	static <T> void execute(ConcurrentLinkedQueue<TimeoutEvent> timeoutEventQueue)
+	static long userTimeOutExist(VaTimingWheel timeoutWheel)
 	{
-		if ( timeoutEventQueue.size() == 0)
-			return; 
+		long nextExpireTime;
+		synchronized (timeoutWheel)
+		{
+			if (timeoutWheel.size() == 0)
+				return -1;
+			
+			nextExpireTime = timeoutWheel.nextExpireTime();
+		}
 		
+		long currentTime = System.nanoTime();
+		if ((currentTime - nextExpireTime) >= 0)
+			return 0;
+		else
+			return (nextExpireTime - currentTime);
+	}
+	
+	static void execute(VaTimingWheel timeoutWheel)
+	{
+		long currentTime = System.nanoTime();
 		TimeoutEvent event;
-		Iterator<TimeoutEvent> iter = timeoutEventQueue.iterator();
-		while (iter.hasNext())
-        {
-			event = iter.next();
-	    	if (System.nanoTime() >= event.timeoutInNanoSerc())
-	    	{
-	    		 iter.remove();
-	    		 
-	        	if (!event.cancelled() && event.client() != null)
-	        		event.client().handleTimeoutEvent();
-	        		
-	    		event.returnToPool();
-	    	}
-	    	else
-	    		 return;
-        }
+		
+		while (true)
+		{
+			synchronized (timeoutWheel)
+			{
+				if ((event = (TimeoutEvent)timeoutWheel.poll(currentTime)) == null)
+					return;
+			}
+			
+			if (!event.cancelled() && event.client() != null)
+				event.client().handleTimeoutEvent();
+			
+			synchronized (timeoutWheel)
+			{
+				if (!event.cancelled())
+					event.returnToPool();
+			}
+		}
 	}
 }
\ No newline at end of file
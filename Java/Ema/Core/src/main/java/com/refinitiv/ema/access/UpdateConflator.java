@@ -0,0 +1,399 @@
+///*|-----------------------------------------------------------------------------
+// *|            This source code is provided under the Apache 2.0 license      --
+// *|  and is provided AS IS with no warranty or guarantee of fit for purpose.  --
+// *|                See the project's LICENSE.md for details.                  --
+// *|           Copyright (C) 2021 Refinitiv. All rights reserved.            --
+///*|-----------------------------------------------------------------------------
+
+package com.refinitiv.ema.access;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.locks.ReentrantLock;
+
+import com.refinitiv.eta.codec.Buffer;
+import com.refinitiv.eta.codec.CodecFactory;
+import com.refinitiv.eta.codec.CodecReturnCodes;
+import com.refinitiv.eta.codec.DataDictionary;
+import com.refinitiv.eta.codec.DataTypes;
+import com.refinitiv.eta.codec.DecodeIterator;
+import com.refinitiv.eta.codec.EncodeIterator;
+import com.refinitiv.eta.codec.FieldEntry;
+import com.refinitiv.eta.codec.FieldList;
+import com.refinitiv.eta.codec.Msg;
+import com.refinitiv.eta.codec.UpdateMsg;
+
+/* Conflates the updates of the items of an ItemCallbackClient.
+ *
+ * The field list updates of a conflating item are delivered at most once per conflation
+ * interval of the item. An update received an interval after the last delivery is delivered
+ * at once; later updates are merged into a pending update, the latest value of a field replacing
+ * the earlier ones, which a timeout delivers an interval after the last delivery. The pending
+ * update carries the message header of the latest update merged into it.
+ *
+ * Other updates, and updates flagged not to be conflated, are delivered at once, after the
+ * pending update of the item. Refresh and status messages deliver the pending update first too,
+ * so the order of the messages of an item is kept. A pending update larger than
+ * MAX_PENDING_LENGTH is delivered at once, which bounds the memory each item holds.
+ *
+ * The conflator is used with the user lock held; timeouts take the lock.
+ */
+class UpdateConflator<T>
+{
+	static final int MAX_PENDING_LENGTH = 64 * 1024;
+	static final int INITIAL_PENDING_LENGTH = 1024;
+	private static final int INITIAL_FIELD_COUNT = 64;
+	private static final int MIN_FID = -32768;
+
+	/* The conflation state of an item. */
+	class Conflation implements TimeoutClient
+	{
+		final Item<T> _item;
+		long _intervalInNanoSec;
+		long _lastDeliveryTime;
+		TimeoutEvent _timeoutEvent;
+
+		// the pending update, encoded in _pendingData
+		ByteBuffer _pendingData;
+		int _pendingLength;
+		int _majorVersion;
+		int _minorVersion;
+		DataDictionary _dictionary;
+
+		Conflation(Item<T> item)
+		{
+			_item = item;
+		}
+
+		@Override
+		public void handleTimeoutEvent()
+		{
+			timeout(this);
+		}
+	}
+
+	private final ItemCallbackClient<T> _client;
+	private final OmmBaseImpl<T> _baseImpl;
+
+	private final EncodeIterator _eIter = CodecFactory.createEncodeIterator();
+	private final DecodeIterator _dIter = CodecFactory.createDecodeIterator();
+	private final Msg _pendingMsg = CodecFactory.createMsg();
+	private final FieldList _fieldList = CodecFactory.createFieldList();
+	private final FieldList _encodeFieldList = CodecFactory.createFieldList();
+	private final FieldEntry _fieldEntry = CodecFactory.createFieldEntry();
+	private final Buffer _buffer = CodecFactory.createBuffer();
+	private final Buffer _pendingBuffer = CodecFactory.createBuffer();
+	private ByteBuffer _mergeData = ByteBuffer.allocate(INITIAL_PENDING_LENGTH);
+
+	// the fields of the update being merged
+	private int[] _fieldIds = new int[INITIAL_FIELD_COUNT];
+	private Buffer[] _values = new Buffer[INITIAL_FIELD_COUNT];
+	private boolean[] _merged = new boolean[INITIAL_FIELD_COUNT];
+	private int _fieldCount;
+
+	// index + 1 of the last value of each field of the update being merged, by field id - MIN_FID;
+	// only the entries of the fields of the update are set, and they are cleared by the next merge
+	private final int[] _lastIndexByFieldId = new int[65536];
+
+	// statistics
+	long _conflatedUpdates;  // updates merged into a pending update
+	long _deliveredUpdates;  // updates delivered to conflating items, pending updates included
+	int _conflatingItems;
+
+	UpdateConflator(ItemCallbackClient<T> client, OmmBaseImpl<T> baseImpl)
+	{
+		_client = client;
+		_baseImpl = baseImpl;
+		for (int i = 0; i < _values.length; i++)
+			_values[i] = CodecFactory.createBuffer();
+	}
+
+	/* Sets the conflation interval of an item, zero stops conflating its updates. */
+	void interval(Item<T> item, int intervalInMillisec)
+	{
+		Conflation conflation = item._conflation;
+		if (conflation == null)
+		{
+			if (intervalInMillisec == 0)
+				return;
+			conflation = new Conflation(item);
+			item._conflation = conflation;
+		}
+
+		long intervalInNanoSec = intervalInMillisec * 1000000L;
+		if (conflation._intervalInNanoSec == 0 && intervalInNanoSec > 0)
+		{
+			++_conflatingItems;
+			conflation._lastDeliveryTime = System.nanoTime() - intervalInNanoSec;
+		}
+		else if (conflation._intervalInNanoSec > 0 && intervalInNanoSec == 0)
+		{
+			--_conflatingItems;
+			flushSoon(conflation);
+		}
+		conflation._intervalInNanoSec = intervalInNanoSec;
+	}
+
+	/* Conflates an update of a conflating item. Returns true if the update was merged into the
+	 * pending update of the item, false if it is to be delivered now, once the pending update
+	 * was delivered. */
+	boolean conflate(Item<T> item, Msg rsslMsg, int majorVersion, int minorVersion, DataDictionary dictionary)
+	{
+		Conflation conflation = item._conflation;
+		if (conflation._intervalInNanoSec == 0)
+		{
+			flush(conflation);
+			return false;
+		}
+
+		long currentTime = System.nanoTime();
+		if (conflation._pendingLength == 0 && currentTime - conflation._lastDeliveryTime >= conflation._intervalInNanoSec)
+		{
+			conflation._lastDeliveryTime = currentTime;
+			++_deliveredUpdates;
+			return false;
+		}
+
+		if (!merge(conflation, rsslMsg, majorVersion, minorVersion))
+		{
+			flush(conflation);
+			++_deliveredUpdates;
+			return false;
+		}
+
+		conflation._majorVersion = majorVersion;
+		conflation._minorVersion = minorVersion;
+		conflation._dictionary = dictionary;
+		++_conflatedUpdates;
+
+		if (conflation._pendingLength > MAX_PENDING_LENGTH || currentTime - conflation._lastDeliveryTime >= conflation._intervalInNanoSec)
+			deliver(conflation);
+		else if (conflation._timeoutEvent == null)
+			conflation._timeoutEvent = _baseImpl.addTimeoutEvent(
+					(conflation._lastDeliveryTime + conflation._intervalInNanoSec - currentTime) / 1000, conflation);
+
+		return true;
+	}
+
+	/* Delivers the pending update of a conflating item, if any. */
+	void flush(Item<T> item)
+	{
+		flush(item._conflation);
+	}
+
+	/* Has the pending update of a conflating item delivered by a timeout, on the dispatching thread. */
+	void flushSoon(Item<T> item)
+	{
+		flushSoon(item._conflation);
+	}
+
+	/* Stops conflating the updates of a removed item, dropping its pending update. */
+	void remove(Item<T> item)
+	{
+		Conflation conflation = item._conflation;
+		item._conflation = null;
+
+		if (conflation._timeoutEvent != null)
+		{
+			conflation._timeoutEvent.cancel();
+			conflation._timeoutEvent = null;
+		}
+		if (conflation._intervalInNanoSec > 0)
+			--_conflatingItems;
+	}
+
+	private void flush(Conflation conflation)
+	{
+		if (conflation._pendingLength > 0)
+			deliver(conflation);
+	}
+
+	private void flushSoon(Conflation conflation)
+	{
+		if (conflation._pendingLength == 0)
+			return;
+
+		if (conflation._timeoutEvent != null)
+			conflation._timeoutEvent.cancel();
+		conflation._timeoutEvent = _baseImpl.addTimeoutEvent(0, conflation);
+	}
+
+	private void timeout(Conflation conflation)
+	{
+		ReentrantLock userLock = _baseImpl.userLock();
+		try
+		{
+			userLock.lock();
+
+			conflation._timeoutEvent = null;
+			if (conflation._item._conflation == conflation)
+				flush(conflation);
+		}
+		finally
+		{
+			userLock.unlock();
+		}
+	}
+
+	private void deliver(Conflation conflation)
+	{
+		if (conflation._timeoutEvent != null)
+		{
+			conflation._timeoutEvent.cancel();
+			conflation._timeoutEvent = null;
+		}
+
+		_pendingBuffer.data(conflation._pendingData, 0, conflation._pendingLength);
+		conflation._pendingLength = 0;
+		conflation._lastDeliveryTime = System.nanoTime();
+
+		_dIter.clear();
+		_dIter.setBufferAndRWFVersion(_pendingBuffer, conflation._majorVersion, conflation._minorVersion);
+		_pendingMsg.clear();
+		if (_pendingMsg.decode(_dIter) != CodecReturnCodes.SUCCESS)
+			return;
+
+		++_deliveredUpdates;
+		_client.deliverConflatedUpdate(conflation._item, _pendingMsg, conflation._majorVersion, conflation._minorVersion,
+				conflation._dictionary);
+	}
+
+	/* Merges an update into the pending update of an item, returns false if the update cannot be conflated. */
+	private boolean merge(Conflation conflation, Msg rsslMsg, int majorVersion, int minorVersion)
+	{
+		if (rsslMsg.containerType() != DataTypes.FIELD_LIST || ((UpdateMsg)rsslMsg).checkDoNotConflate()
+				|| !decodeFields(rsslMsg, majorVersion, minorVersion))
+			return false;
+
+		int ret;
+		while ((ret = encodeMerged(conflation, rsslMsg, majorVersion, minorVersion)) == CodecReturnCodes.BUFFER_TOO_SMALL)
+			_mergeData = ByteBuffer.allocate(_mergeData.capacity() * 2);
+
+		if (ret < CodecReturnCodes.SUCCESS)
+			return false;
+
+		// the merged update becomes the pending one, whose buffer the next merge is encoded in
+		ByteBuffer pendingData = conflation._pendingData;
+		conflation._pendingData = _mergeData;
+		conflation._pendingLength = _mergeData.position();
+		_mergeData = (pendingData != null ? pendingData : ByteBuffer.allocate(INITIAL_PENDING_LENGTH));
+		return true;
+	}
+
+	/* Decodes the fields of an update, returns false if it is not a field list of standard data. */
+	private boolean decodeFields(Msg rsslMsg, int majorVersion, int minorVersion)
+	{
+		_dIter.clear();
+		_dIter.setBufferAndRWFVersion(rsslMsg.encodedDataBody(), majorVersion, minorVersion);
+		_fieldList.clear();
+		if (_fieldList.decode(_dIter, null) != CodecReturnCodes.SUCCESS || _fieldList.checkHasSetData())
+			return false;
+
+		for (int i = 0; i < _fieldCount; i++)
+			_lastIndexByFieldId[_fieldIds[i] - MIN_FID] = 0;
+
+		int ret;
+		_fieldCount = 0;
+		_fieldEntry.clear();
+		while ((ret = _fieldEntry.decode(_dIter)) != CodecReturnCodes.END_OF_CONTAINER)
+		{
+			if (ret != CodecReturnCodes.SUCCESS)
+				return false;
+
+			if (_fieldCount == _fieldIds.length)
+				growFields();
+
+			Buffer encodedData = _fieldEntry.encodedData();
+			_fieldIds[_fieldCount] = _fieldEntry.fieldId();
+			_values[_fieldCount].data(encodedData.data(), encodedData.position(), encodedData.length());
+			_lastIndexByFieldId[_fieldEntry.fieldId() - MIN_FID] = ++_fieldCount;
+		}
+
+		return true;
+	}
+
+	/* Encodes the merged update in _mergeData: the header of the update, and the fields of the
+	 * pending update in their order, followed by the new fields of the update. */
+	private int encodeMerged(Conflation conflation, Msg rsslMsg, int majorVersion, int minorVersion)
+	{
+		int ret;
+		_mergeData.clear();
+		_buffer.data(_mergeData);
+		_eIter.clear();
+		_eIter.setBufferAndRWFVersion(_buffer, majorVersion, minorVersion);
+		if ((ret = rsslMsg.encodeInit(_eIter, 0)) != CodecReturnCodes.ENCODE_CONTAINER)
+			return ret;
+
+		_encodeFieldList.clear();
+		_encodeFieldList.applyHasStandardData();
+		if ((ret = _encodeFieldList.encodeInit(_eIter, null, 0)) < CodecReturnCodes.SUCCESS)
+			return ret;
+
+		for (int i = 0; i < _fieldCount; i++)
+			_merged[i] = false;
+
+		if (conflation._pendingLength > 0)
+		{
+			_pendingBuffer.data(conflation._pendingData, 0, conflation._pendingLength);
+			_dIter.clear();
+			_dIter.setBufferAndRWFVersion(_pendingBuffer, conflation._majorVersion, conflation._minorVersion);
+			_pendingMsg.clear();
+			_fieldList.clear();
+			if ((ret = _pendingMsg.decode(_dIter)) < CodecReturnCodes.SUCCESS
+					|| (ret = _fieldList.decode(_dIter, null)) < CodecReturnCodes.SUCCESS)
+				return ret;
+
+			_fieldEntry.clear();
+			while ((ret = _fieldEntry.decode(_dIter)) != CodecReturnCodes.END_OF_CONTAINER)
+			{
+				if (ret < CodecReturnCodes.SUCCESS)
+					return ret;
+
+				int index = lastIndexOf(_fieldEntry.fieldId());
+				if (index >= 0)
+				{
+					_merged[index] = true;
+					_fieldEntry.encodedData(_values[index]);
+				}
+				if ((ret = _fieldEntry.encode(_eIter)) < CodecReturnCodes.SUCCESS)
+					return ret;
+			}
+		}
+
+		for (int i = 0; i < _fieldCount; i++)
+		{
+			if (_merged[i] || lastIndexOf(_fieldIds[i]) != i)
+				continue;
+
+			_fieldEntry.clear();
+			_fieldEntry.fieldId(_fieldIds[i]);
+			_fieldEntry.encodedData(_values[i]);
+			if ((ret = _fieldEntry.encode(_eIter)) < CodecReturnCodes.SUCCESS)
+				return ret;
+		}
+
+		if ((ret = _encodeFieldList.encodeComplete(_eIter, true)) < CodecReturnCodes.SUCCESS)
+			return ret;
+		return rsslMsg.encodeComplete(_eIter, true);
+	}
+
+	/* Returns the index of the last value of a field in the update being merged, -1 if none. */
+	private int lastIndexOf(int fieldId)
+	{
+		return _lastIndexByFieldId[fieldId - MIN_FID] - 1;
+	}
+
+	private void growFields()
+	{
+		int length = _fieldIds.length;
+		int[] fieldIds = new int[length * 2];
+		Buffer[] values = new Buffer[length * 2];
+		System.arraycopy(_fieldIds, 0, fieldIds, 0, length);
+		System.arraycopy(_values, 0, values, 0, length);
+		for (int i = length; i < values.length; i++)
+			values[i] = CodecFactory.createBuffer();
+
+		_fieldIds = fieldIds;
+		_values = values;
+		_merged = new boolean[length * 2];
+	}
+}
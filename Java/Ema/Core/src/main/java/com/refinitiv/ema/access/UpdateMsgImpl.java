@@ -13,10 +13,17 @@ import com.refinitiv.ema.access.DataType.DataTypes;
 import com.refinitiv.ema.access.OmmError.ErrorCode;
 import com.refinitiv.eta.codec.CodecFactory;
 import com.refinitiv.eta.codec.CodecReturnCodes;
+import com.refinitiv.eta.codec.UpdateMsgFlags;
+import com.refinitiv.eta.transport.TransportBuffer;
+import com.refinitiv.eta.valueadd.reactor.ReactorChannel;
+import com.refinitiv.eta.valueadd.reactor.ReactorErrorInfo;
+import com.refinitiv.eta.valueadd.reactor.ReactorReturnCodes;
+import com.refinitiv.eta.valueadd.reactor.ReactorSubmitOptions;
 
 class UpdateMsgImpl extends MsgImpl implements UpdateMsg
 {
 	private final static String CLONE_CONSTRUCTOR_NAME = UpdateMsgImpl.class.getCanonicalName() + ".UpdateMsgImpl(UpdateMsg other)";
+	private com.refinitiv.eta.codec.EncodeIterator _passThroughEncodeIter;
 	UpdateMsgImpl()
 	{
 		super(DataTypes.UPDATE_MSG, null);
@@ -491,6 +498,63 @@ class UpdateMsgImpl extends MsgImpl implements UpdateMsg
 		return _rsslBuffer.length() != 0; 
 	}
 
+	/* Returns whether this message was decoded from a message received, so it may be submitted
+	 * with submitPassThrough(). */
+	boolean isReceived()
+	{
+		return _objManager != null && _rsslBuffer != null && _rsslBuffer.length() != 0;
+	}
+
+	/* Submits the message as it was received: its encoded buffer is copied into a buffer of the
+	 * channel, where the stream id and seqNum set on the message are written over the received ones.
+	 * The message is encoded again from its header, still copying its payload, when it has a message
+	 * key, which the provider may have changed, when it was received with another RWF version than
+	 * the one of the channel, when it did not have the seqNum set on it, or when the channel is out
+	 * of buffers, in which case ReactorChannel.submit(Msg) requests a flush. */
+	int submitPassThrough(ReactorChannel reactorChannel, ReactorSubmitOptions submitOptions, ReactorErrorInfo errorInfo)
+	{
+		com.refinitiv.eta.codec.UpdateMsg rsslMsg = (com.refinitiv.eta.codec.UpdateMsg)_rsslMsg;
+
+		if ((rsslMsg.flags() & UpdateMsgFlags.HAS_MSG_KEY) != 0 || _rsslMajVer != reactorChannel.majorVersion()
+				|| _rsslMinVer != reactorChannel.minorVersion())
+			return reactorChannel.submit(rsslMsg, submitOptions, errorInfo);
+
+		int length = _rsslBuffer.length();
+		TransportBuffer buffer = reactorChannel.getBuffer(length, false, errorInfo);
+		if (buffer == null)
+			return reactorChannel.submit(rsslMsg, submitOptions, errorInfo);
+
+		if (_passThroughEncodeIter == null)
+			_passThroughEncodeIter = CodecFactory.createEncodeIterator();
+		else
+			_passThroughEncodeIter.clear();
+
+		int ret = _passThroughEncodeIter.setBufferAndRWFVersion(buffer, _rsslMajVer, _rsslMinVer);
+		if (ret == CodecReturnCodes.SUCCESS)
+		{
+			int startPos = buffer.data().position();
+			_rsslBuffer.copy(buffer.data());
+			buffer.data().position(startPos + length);
+
+			ret = _passThroughEncodeIter.replaceStreamId(rsslMsg.streamId());
+			if (ret == CodecReturnCodes.SUCCESS && rsslMsg.checkHasSeqNum())
+				ret = _passThroughEncodeIter.replaceSeqNum(rsslMsg.seqNum());
+		}
+
+		if (ret != CodecReturnCodes.SUCCESS)
+		{
+			reactorChannel.releaseBuffer(buffer, errorInfo);
+			return reactorChannel.submit(rsslMsg, submitOptions, errorInfo);
+		}
+
+		while ((ret = reactorChannel.submit(buffer, submitOptions, errorInfo)) == ReactorReturnCodes.WRITE_CALL_AGAIN);
+
+		if (ret < ReactorReturnCodes.SUCCESS)
+			reactorChannel.releaseBuffer(buffer, errorInfo);
+
+		return ret;
+	}
+
 	@Override
 	void decode(com.refinitiv.eta.codec.Buffer rsslBuffer, int majVer, int minVer,
 			com.refinitiv.eta.codec.DataDictionary rsslDictionary, Object obj)
@@ -249,10 +249,13 @@ class Utilities
 		
 		destByteBuffer.clear();
 		
-		ByteBuffer srcByteBuffer = srcBuffer.data();
-		int limit = srcBuffer.position() + srcBuffer.length();	
-		for (int index =  srcBuffer.position(); index < limit; ++index)
-			destByteBuffer.put(srcByteBuffer.get(index));
+		if (srcBufferlength > 0)
+		{
+			ByteBuffer srcByteBuffer = srcBuffer.data().duplicate();
+			srcByteBuffer.limit(srcBuffer.position() + srcBufferlength);
+			srcByteBuffer.position(srcBuffer.position());
+			destByteBuffer.put(srcByteBuffer);
+		}
 		
 		destByteBuffer.flip();
 		
@@ -269,10 +272,13 @@ class Utilities
 		else
 			destByteBuffer.clear();
 
-		ByteBuffer srcByteBuffer = srcBuffer.data();
-		int limit = srcBuffer.position() + srcBuffer.length();	
-		for (int index =  srcBuffer.position(); index < limit; ++index)
-			destByteBuffer.put(srcByteBuffer.get(index));
+		if (srcBufferlength > 0)
+		{
+			ByteBuffer srcByteBuffer = srcBuffer.data().duplicate();
+			srcByteBuffer.limit(srcBuffer.position() + srcBufferlength);
+			srcByteBuffer.position(srcBuffer.position());
+			destByteBuffer.put(srcByteBuffer);
+		}
 		
 		destByteBuffer.flip();
 		
@@ -289,9 +295,7 @@ class Utilities
 		else
 			destByteBuffer.clear();
 		
-		int limit = srcByteBuffer.limit();
-		for (int index = srcByteBuffer.position(); index < limit; ++index)
-			destByteBuffer.put(srcByteBuffer.get(index));
+		destByteBuffer.put(srcByteBuffer.duplicate());
 		
 		destByteBuffer.flip();
 		
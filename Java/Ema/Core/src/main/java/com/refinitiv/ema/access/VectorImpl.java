@@ -7,7 +7,6 @@
 
 package com.refinitiv.ema.access;
 
-import java.nio.ByteBuffer;
 import java.util.Collection;
 import java.util.Iterator;
 import java.util.LinkedList;
@@ -479,9 +478,7 @@ class VectorImpl extends CollectionDataImpl implements Vector
 
 	    while ((ret = _rsslVector.encodeInit(_rsslEncodeIter, 0, 0)) == CodecReturnCodes.BUFFER_TOO_SMALL)
 	    {
-	    	Buffer bigBuffer = CodecFactory.createBuffer();
-			bigBuffer.data(ByteBuffer.allocate(_rsslBuffer.capacity() * 2));
-			_rsslBuffer = bigBuffer;
+	    	enlargeEncodeBuffer();
 
 			setEncodedBufferIterator();
 	    }
@@ -509,7 +506,7 @@ class VectorImpl extends CollectionDataImpl implements Vector
 			
 			while ((ret = vectorEntry._rsslVectorEntry.encode(_rsslEncodeIter)) == CodecReturnCodes.BUFFER_TOO_SMALL)
 			{
-				_rsslBuffer = Utilities.realignBuffer(_rsslEncodeIter, _rsslBuffer.capacity() * 2);
+				growEncodeBuffer();
 			}
 
 			if (ret != CodecReturnCodes.SUCCESS)
@@ -141,7 +141,8 @@ public interface DataDictionary
      * Adds information from a field dictionary file to the data dictionary
      * object. Subsequent calls to this method may be made to the same
      * {@link DataDictionary} to load additional dictionaries (provided the
-     * fields do not conflict).
+     * fields do not conflict). A binary dictionary file written by
+     * {@link #saveBinaryDictionary(String)} is also accepted.
      * 
      * @param filename specifies a field dictionary file
      * 
@@ -155,7 +156,8 @@ public interface DataDictionary
      * Adds information from an enumerated types dictionary file to the data
      * dictionary object. Subsequent calls to this method may be made to the
      * same {@link DataDictionary} to load additional dictionaries (provided
-     * that there are no duplicate table references for any field).
+     * that there are no duplicate table references for any field). A binary
+     * dictionary file written by {@link #saveBinaryDictionary(String)} is also accepted.
      * 
      * @param filename specifies an enumerated types dictionary file
      * 
@@ -165,6 +167,22 @@ public interface DataDictionary
      */
     public void loadEnumTypeDictionary(String filename);
     
+    /**
+     * Writes the field and enumerated type information of this data
+     * dictionary, whether loaded from files or downloaded, to a binary
+     * dictionary file. The file can be passed to {@link #loadFieldDictionary(String)}
+     * and {@link #loadEnumTypeDictionary(String)}, or set as the
+     * RdmFieldDictionaryFileName and EnumTypeDefFileName of a dictionary in the
+     * configuration, and loads much faster than the text files.
+     * 
+     * @param filename specifies the binary dictionary file to write
+     * 
+     * @throws OmmInvalidUsageException if the dictionary has no information
+     * or the file cannot be written.
+     * 
+     */
+    public void saveBinaryDictionary(String filename);
+    
     /**
      * Encode the field dictionary information into a data payload
      * according the domain model, using the field information from the entries
@@ -78,6 +78,8 @@ public class EmaFileConfigJunitTests extends TestCase
 		TestUtilities.checkResult("RequestTimeout value == 8000", intLongValue == 8000 );
 		intLongValue = JUnitTestConnect.configGetIntLongValue(testConfig, defaultConsName, JUnitTestConnect.ConfigGroupTypeConsumer, JUnitTestConnect.ConsumerMaxOutstandingPosts);
 		TestUtilities.checkResult("MaxOutstandingPosts value == 90000", intLongValue == 90000 );
+		intLongValue = JUnitTestConnect.configGetIntLongValue(testConfig, defaultConsName, JUnitTestConnect.ConfigGroupTypeConsumer, JUnitTestConnect.ConsumerItemCacheMaxItems);
+		TestUtilities.checkResult("ItemCacheMaxItems value == 5000", intLongValue == 5000 );
 		int intValue = JUnitTestConnect.configGetIntValue(testConfig, defaultConsName, JUnitTestConnect.ConfigGroupTypeConsumer, JUnitTestConnect.DispatchTimeoutApiThread);
 		TestUtilities.checkResult("DispatchTimeoutApiThread value == 90", intValue == 90 );
 		intValue = testConfig.xmlConfig().getGlobalConfig().getPrimitiveValue(ConfigManager.ReactorMsgEventPoolLimit).intValue();
@@ -462,6 +464,8 @@ public class EmaFileConfigJunitTests extends TestCase
 		TestUtilities.checkResult("RequestTimeout value == 8000", intLongValue == 8000 );
 		intLongValue = JUnitTestConnect.configGetIntLongValue(testConfig, defaultConsName, JUnitTestConnect.ConfigGroupTypeConsumer, JUnitTestConnect.ConsumerMaxOutstandingPosts);
 		TestUtilities.checkResult("MaxOutstandingPosts value == 90000", intLongValue == 90000 );
+		intLongValue = JUnitTestConnect.configGetIntLongValue(testConfig, defaultConsName, JUnitTestConnect.ConfigGroupTypeConsumer, JUnitTestConnect.ConsumerItemCacheMaxItems);
+		TestUtilities.checkResult("ItemCacheMaxItems value == 5000", intLongValue == 5000 );
 		int intValue = JUnitTestConnect.configGetIntValue(testConfig, defaultConsName, JUnitTestConnect.ConfigGroupTypeConsumer, JUnitTestConnect.DispatchTimeoutApiThread);
 		TestUtilities.checkResult("DispatchTimeoutApiThread value == 90", intValue == 90 );
 
@@ -975,6 +979,7 @@ public class EmaFileConfigJunitTests extends TestCase
 			innerElementList.add(EmaFactory.createElementEntry().intValue("PostAckTimeout", 1200));
 			innerElementList.add(EmaFactory.createElementEntry().intValue("RequestTimeout", 2400));
 			innerElementList.add(EmaFactory.createElementEntry().intValue("MaxOutstandingPosts", 9999));
+			innerElementList.add(EmaFactory.createElementEntry().intValue("ItemCacheMaxItems", 2500));
 			innerElementList.add(EmaFactory.createElementEntry().intValue("DispatchTimeoutApiThread", 60));
 			innerElementList.add(EmaFactory.createElementEntry().intValue("CatchUnhandledException", 1));
 			innerElementList.add(EmaFactory.createElementEntry().intValue("MaxDispatchCountApiThread", 300));
@@ -1076,6 +1081,8 @@ public class EmaFileConfigJunitTests extends TestCase
 			TestUtilities.checkResult("RequestTimeout value == 2400", intLongValue == 2400 );
 			intLongValue = JUnitTestConnect.activeConfigGetIntLongValue(cons, JUnitTestConnect.ConfigGroupTypeConsumer, JUnitTestConnect.ConsumerMaxOutstandingPosts, -1);
 			TestUtilities.checkResult("MaxOutstandingPosts value == 9999", intLongValue == 9999 );
+			intLongValue = JUnitTestConnect.activeConfigGetIntLongValue(cons, JUnitTestConnect.ConfigGroupTypeConsumer, JUnitTestConnect.ConsumerItemCacheMaxItems, -1);
+			TestUtilities.checkResult("ItemCacheMaxItems value == 2500", intLongValue == 2500 );
 			int intValue = JUnitTestConnect.activeConfigGetIntLongValue(cons, JUnitTestConnect.ConfigGroupTypeConsumer, JUnitTestConnect.DispatchTimeoutApiThread, -1);
 			TestUtilities.checkResult("DispatchTimeoutApiThread value == 60", intValue == 60 );
 
@@ -3013,6 +3020,7 @@ public void testLoadCfgFromProgrammaticConfigForIProv()
 			innerElementList.add(EmaFactory.createElementEntry().intValue("DispatchTimeoutApiThread", 60));
 			innerElementList.add(EmaFactory.createElementEntry().intValue("MaxDispatchCountApiThread", 300));
 			innerElementList.add(EmaFactory.createElementEntry().intValue("MaxDispatchCountUserThread", 700));
+			innerElementList.add(EmaFactory.createElementEntry().intValue("ReactorThreadCount", 4));
 			innerElementList.add(EmaFactory.createElementEntry().intValue("XmlTraceToStdout", 1));
 			innerMap.add(EmaFactory.createMapEntry().keyAscii( "Provider_1", MapEntry.MapAction.ADD, innerElementList));
 			innerElementList.clear();
@@ -3256,6 +3264,8 @@ public void testLoadCfgFromProgrammaticConfigForIProv()
 			TestUtilities.checkResult("MaxDispatchCountApiThread value == 300", intLongValue == 300 );
 			intLongValue = JUnitTestConnect.activeConfigGetIntLongValue(prov, JUnitTestConnect.ConfigGroupTypeProvider, JUnitTestConnect.MaxDispatchCountUserThread);
 			TestUtilities.checkResult("MaxDispatchCountUserThread value == 700", intLongValue == 700 );
+			intLongValue = JUnitTestConnect.activeConfigGetIntLongValue(prov, JUnitTestConnect.ConfigGroupTypeProvider, JUnitTestConnect.IProviderReactorThreadCount);
+			TestUtilities.checkResult("ReactorThreadCount value == 4", intLongValue == 4 );
 
 			boolValue = JUnitTestConnect.activeConfigGetBooleanValue(prov, JUnitTestConnect.ConfigGroupTypeProvider, JUnitTestConnect.XmlTraceToStdout);
 			TestUtilities.checkResult("XmlTraceToStdout == 1", boolValue == true);
@@ -3749,6 +3759,7 @@ public void testLoadCfgFromProgrammaticConfigForNiProv()
 			innerElementList.add(EmaFactory.createElementEntry().intValue("RefreshFirstRequired", 0));
 			innerElementList.add(EmaFactory.createElementEntry().intValue("RecoverUserSubmitSourceDirectory", 0));
 			innerElementList.add(EmaFactory.createElementEntry().intValue("RemoveItemsOnDisconnect", 0));
+			innerElementList.add(EmaFactory.createElementEntry().intValue("SubmitQueueSize", 4096));
 			innerElementList.add(EmaFactory.createElementEntry().intValue("LoginRequestTimeOut", 50000));
 			innerElementList.add(EmaFactory.createElementEntry().intValue("ReconnectAttemptLimit", 1));
 			innerElementList.add(EmaFactory.createElementEntry().intValue("ReconnectMinDelay", 500));
@@ -3950,6 +3961,8 @@ public void testLoadCfgFromProgrammaticConfigForNiProv()
 			TestUtilities.checkResult("RecoverUserSubmitSourceDirectory == 0", boolValue == false);
 			boolValue = JUnitTestConnect.activeConfigGetBooleanValue(prov, JUnitTestConnect.ConfigGroupTypeProvider, JUnitTestConnect.NiProviderRemoveItemsOnDisconnect, -1);
 			TestUtilities.checkResult("RemoveItemsOnDisconnect == 0", boolValue == false);
+			long submitQueueSize = JUnitTestConnect.activeConfigGetIntLongValue(prov, JUnitTestConnect.ConfigGroupTypeProvider, JUnitTestConnect.NiProviderSubmitQueueSize, -1);
+			TestUtilities.checkResult("SubmitQueueSize value == 4096", submitQueueSize == 4096 );
 			boolValue = JUnitTestConnect.activeConfigGetBooleanValue(prov, JUnitTestConnect.ConfigGroupTypeProvider, JUnitTestConnect.NiProviderRefreshFirstRequired, -1);
 			TestUtilities.checkResult("RefreshFirstRequired == 0", boolValue == false);
 			long intLongValue = JUnitTestConnect.activeConfigGetIntLongValue(prov, JUnitTestConnect.ConfigGroupTypeProvider, JUnitTestConnect.ItemCountHint, -1);
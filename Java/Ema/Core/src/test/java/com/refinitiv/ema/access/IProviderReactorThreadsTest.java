@@ -0,0 +1,491 @@
+package com.refinitiv.ema.access;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.After;
+import org.junit.Test;
+
+import com.refinitiv.ema.rdm.EmaRdm;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class IProviderReactorThreadsTest
+{
+    private static final String FIELD_DICTIONARY = "../../etc/RDMFieldDictionary";
+    private static final String ENUM_TYPE_DICTIONARY = "../../etc/enumtype.def";
+    private static final int WAIT_TIME_IN_MILLISEC = 30000;
+
+    private final ProviderClient providerClient = new ProviderClient();
+    private final List<OmmConsumer> consumers = new ArrayList<OmmConsumer>();
+    private final List<ConsumerClient> consumerClients = new ArrayList<ConsumerClient>();
+    private OmmProvider provider;
+
+    /* An item stream opened on the provider. */
+    static class ItemStream
+    {
+        final String _name;
+        final long _handle;
+        final long _clientHandle;
+
+        ItemStream(String name, long handle, long clientHandle)
+        {
+            _name = name;
+            _handle = handle;
+            _clientHandle = clientHandle;
+        }
+    }
+
+    /* Accepts the logins and items, and counts the calls rejected by the provider. On a request for a
+     * TRIGGER item, also submits an update to the CALLBACK items of the other clients. */
+    static class ProviderClient implements OmmProviderClient, OmmProviderErrorClient
+    {
+        final List<ItemStream> _items = new CopyOnWriteArrayList<ItemStream>();
+        final ConcurrentHashMap<String, Long> _clientHandles = new ConcurrentHashMap<String, Long>();
+        final AtomicLong _rejected = new AtomicLong();
+        final AtomicLong _triggers = new AtomicLong();
+
+        @Override
+        public void onReqMsg(ReqMsg reqMsg, OmmProviderEvent event)
+        {
+            if (reqMsg.domainType() == EmaRdm.MMT_LOGIN)
+            {
+                event.provider().submit(EmaFactory.createRefreshMsg().domainType(EmaRdm.MMT_LOGIN).name(reqMsg.name())
+                        .nameType(EmaRdm.USER_NAME).complete(true).solicited(true)
+                        .state(OmmState.StreamState.OPEN, OmmState.DataState.OK, OmmState.StatusCode.NONE, "Login accepted")
+                        .attrib(EmaFactory.createElementList()), event.handle());
+                _clientHandles.put(reqMsg.name(), event.clientHandle());
+                return;
+            }
+
+            FieldList fieldList = EmaFactory.createFieldList();
+            fieldList.add(EmaFactory.createFieldEntry().ascii(3, reqMsg.name()));
+            fieldList.add(EmaFactory.createFieldEntry().real(22, 3990, OmmReal.MagnitudeType.EXPONENT_NEG_2));
+            event.provider().submit(EmaFactory.createRefreshMsg().serviceName(reqMsg.serviceName()).name(reqMsg.name())
+                    .state(OmmState.StreamState.OPEN, OmmState.DataState.OK, OmmState.StatusCode.NONE, "Refresh Completed")
+                    .solicited(true).payload(fieldList).complete(true), event.handle());
+
+            if (reqMsg.name().startsWith("TRIGGER"))
+            {
+                UpdateMsg updateMsg = EmaFactory.createUpdateMsg().payload(fieldList).seqNum(_triggers.incrementAndGet());
+                for (ItemStream item : _items)
+                {
+                    if (item._name.equals("CALLBACK") && item._clientHandle != event.clientHandle())
+                        event.provider().submit(updateMsg, item._handle);
+                }
+            }
+
+            _items.add(new ItemStream(reqMsg.name(), event.handle(), event.clientHandle()));
+        }
+
+        @Override
+        public void onInvalidHandle(long handle, String text)
+        {
+            _rejected.incrementAndGet();
+        }
+
+        @Override
+        public void onInvalidUsage(String text, int errorCode)
+        {
+            _rejected.incrementAndGet();
+        }
+
+        long[] handles(String name, long clientHandle, boolean ofClient)
+        {
+            List<Long> handles = new ArrayList<Long>();
+            for (ItemStream item : _items)
+            {
+                if (item._name.startsWith(name) && (item._clientHandle == clientHandle) == ofClient)
+                    handles.add(item._handle);
+            }
+
+            long[] result = new long[handles.size()];
+            for (int i = 0; i < result.length; i++)
+                result[i] = handles.get(i);
+            return result;
+        }
+
+        public void onRefreshMsg(RefreshMsg refreshMsg, OmmProviderEvent event) {}
+        public void onStatusMsg(StatusMsg statusMsg, OmmProviderEvent event) {}
+        public void onGenericMsg(GenericMsg genericMsg, OmmProviderEvent event) {}
+        public void onPostMsg(PostMsg postMsg, OmmProviderEvent event) {}
+        public void onReissue(ReqMsg reqMsg, OmmProviderEvent event) {}
+        public void onClose(ReqMsg reqMsg, OmmProviderEvent event) {}
+        public void onAllMsg(Msg msg, OmmProviderEvent event) {}
+    }
+
+    /* Checks that the updates of each item are received with consecutive sequence numbers. */
+    static class ConsumerClient implements OmmConsumerClient
+    {
+        final AtomicLong _refreshes = new AtomicLong();
+        final AtomicLong _updates = new AtomicLong();
+        final ConcurrentHashMap<Long, Long> _lastSeqNums = new ConcurrentHashMap<Long, Long>();
+        final List<String> _errors = new CopyOnWriteArrayList<String>();
+
+        public void onRefreshMsg(RefreshMsg refreshMsg, OmmConsumerEvent event)
+        {
+            _refreshes.incrementAndGet();
+        }
+
+        public void onUpdateMsg(UpdateMsg updateMsg, OmmConsumerEvent event)
+        {
+            Long lastSeqNum = _lastSeqNums.get(event.handle());
+            long expected = lastSeqNum != null ? lastSeqNum + 1 : 1;
+            if (updateMsg.seqNum() != expected)
+                _errors.add("handle " + event.handle() + ": expected seqNum " + expected + ", received " + updateMsg.seqNum());
+            _lastSeqNums.put(event.handle(), updateMsg.seqNum());
+            _updates.incrementAndGet();
+        }
+
+        public void onStatusMsg(StatusMsg statusMsg, OmmConsumerEvent event) {}
+        public void onGenericMsg(GenericMsg genericMsg, OmmConsumerEvent event) {}
+        public void onAckMsg(AckMsg ackMsg, OmmConsumerEvent event) {}
+        public void onAllMsg(Msg msg, OmmConsumerEvent event) {}
+    }
+
+    /* Submits updates to its items, with the same sequence number to all items in each round. */
+    static class Publisher extends Thread
+    {
+        final OmmProvider _provider;
+        final long[] _handles;
+        final int _updateCount;
+        volatile boolean _running = true;
+        volatile Throwable _failure;
+
+        /* Submits updateCount updates to each item, or updates until stopped when updateCount is 0. */
+        Publisher(OmmProvider provider, long[] handles, int updateCount)
+        {
+            _provider = provider;
+            _handles = handles;
+            _updateCount = updateCount;
+        }
+
+        @Override
+        public void run()
+        {
+            FieldList fieldList = EmaFactory.createFieldList();
+            fieldList.add(EmaFactory.createFieldEntry().real(22, 3991, OmmReal.MagnitudeType.EXPONENT_NEG_2));
+            fieldList.add(EmaFactory.createFieldEntry().real(25, 3995, OmmReal.MagnitudeType.EXPONENT_NEG_2));
+            UpdateMsg updateMsg = EmaFactory.createUpdateMsg().payload(fieldList);
+
+            try
+            {
+                for (long seqNum = 1; _updateCount == 0 ? _running : seqNum <= _updateCount; seqNum++)
+                {
+                    updateMsg.seqNum(seqNum);
+                    for (long handle : _handles)
+                        _provider.submit(updateMsg, handle);
+                }
+            }
+            catch (Throwable e)
+            {
+                _failure = e;
+            }
+        }
+    }
+
+    @After
+    public void tearDown()
+    {
+        for (OmmConsumer consumer : consumers)
+            consumer.uninitialize();
+        if (provider != null)
+            provider.uninitialize();
+    }
+
+    @Test(timeout = 120000)
+    public void shouldDeliverUpdatesOfEachItemInOrderFromSeveralPublishers() throws InterruptedException
+    {
+        final int updateCount = 500;
+        startProvider("14091", 3);
+        startConsumers("14091", 4, 5);
+
+        long[] handles = providerClient.handles("RIC", 0, false);
+        Publisher[] publishers = startPublishers(handles, 4, updateCount);
+        joinPublishers(publishers);
+
+        long total = (long)handles.length * updateCount;
+        waitForUpdates(total);
+        assertEquals(0, providerClient._rejected.get());
+        for (ConsumerClient consumerClient : consumerClients)
+            assertEquals(consumerClient._errors.toString(), 0, consumerClient._errors.size());
+    }
+
+    @Test(timeout = 120000)
+    public void shouldSubmitFromCallbackToClientsOfOtherReactorThreads() throws InterruptedException
+    {
+        final int triggerCount = 20;
+        startProvider("14092", 3);
+        startConsumers("14092", 3, 4);
+        long[] consumerCallbackHandles = new long[consumers.size()];
+        for (int i = 0; i < consumers.size(); i++)
+            consumerCallbackHandles[i] = consumers.get(i).registerClient(EmaFactory.createReqMsg().serviceName("DIRECT_FEED").name("CALLBACK"), consumerClients.get(i));
+        waitForRefreshes(3 * 5);
+
+        // the publishers hold the locks of the reactor threads of the other clients while the callbacks submit
+        long consumer0 = providerClient._clientHandles.get("user0");
+        Publisher[] publishers = startPublishers(providerClient.handles("RIC", consumer0, false), 2, 0);
+        try
+        {
+            for (int i = 1; i <= triggerCount; i++)
+            {
+                consumers.get(0).registerClient(EmaFactory.createReqMsg().serviceName("DIRECT_FEED").name("TRIGGER" + i), consumerClients.get(0));
+                waitForRefreshes(3 * 5 + i);
+            }
+
+            long[] callbackHandles = providerClient.handles("CALLBACK", consumer0, false);
+            assertEquals(2, callbackHandles.length);
+            long deadline = System.currentTimeMillis() + WAIT_TIME_IN_MILLISEC;
+            while ((lastSeqNum(consumerClients.get(1), consumerCallbackHandles[1]) < triggerCount
+                    || lastSeqNum(consumerClients.get(2), consumerCallbackHandles[2]) < triggerCount)
+                    && System.currentTimeMillis() < deadline)
+                Thread.sleep(10);
+        }
+        finally
+        {
+            stopPublishers(publishers);
+        }
+
+        assertEquals(0, providerClient._rejected.get());
+        for (ConsumerClient consumerClient : consumerClients)
+            assertEquals(consumerClient._errors.toString(), 0, consumerClient._errors.size());
+        assertEquals(triggerCount, lastSeqNum(consumerClients.get(1), consumerCallbackHandles[1]));
+        assertEquals(triggerCount, lastSeqNum(consumerClients.get(2), consumerCallbackHandles[2]));
+    }
+
+    @Test(timeout = 120000)
+    public void shouldCloseClientsWhileUpdatesAreSubmitted() throws InterruptedException
+    {
+        startProvider("14093", 2);
+        startConsumers("14093", 4, 5);
+
+        Publisher[] publishers = startPublishers(providerClient.handles("RIC", 0, false), 3, 0);
+        try
+        {
+            Thread.sleep(200);
+
+            // closed by the provider while its channel is written to by the publishers
+            provider.closeChannel(providerClient._clientHandles.get("user0"));
+
+            // closed by the consumer, so the reactor thread dispatches the channel down while the publishers submit
+            consumers.get(1).uninitialize();
+            consumers.remove(1);
+
+            long updates = consumerClients.get(2)._updates.get() + consumerClients.get(3)._updates.get();
+            long deadline = System.currentTimeMillis() + WAIT_TIME_IN_MILLISEC;
+            while (consumerClients.get(2)._updates.get() + consumerClients.get(3)._updates.get() < updates + 1000
+                    && System.currentTimeMillis() < deadline)
+                Thread.sleep(10);
+            assertTrue(consumerClients.get(2)._updates.get() + consumerClients.get(3)._updates.get() >= updates + 1000);
+        }
+        finally
+        {
+            stopPublishers(publishers);
+        }
+
+        // the updates to the closed items are rejected, not thrown
+        for (Publisher publisher : publishers)
+            assertNull(publisher._failure);
+    }
+
+    private void startProvider(String port, int reactorThreadCount)
+    {
+        provider = EmaFactory.createOmmProvider(EmaFactory.createOmmIProviderConfig()
+                .config(providerConfig(port)).reactorThreadCount(reactorThreadCount), providerClient, providerClient);
+    }
+
+    /* Connects the consumers, which each open the items RIC0 to RICn. */
+    private void startConsumers(String port, int consumerCount, int itemCount) throws InterruptedException
+    {
+        for (int i = 0; i < consumerCount; i++)
+        {
+            ConsumerClient consumerClient = new ConsumerClient();
+            OmmConsumer consumer = EmaFactory.createOmmConsumer(EmaFactory.createOmmConsumerConfig()
+                    .config(consumerConfig(port)).username("user" + i));
+            consumers.add(consumer);
+            consumerClients.add(consumerClient);
+            for (int j = 0; j < itemCount; j++)
+                consumer.registerClient(EmaFactory.createReqMsg().serviceName("DIRECT_FEED").name("RIC" + j), consumerClient);
+        }
+
+        waitForRefreshes(consumerCount * itemCount);
+    }
+
+    private Publisher[] startPublishers(long[] handles, int publisherCount, int updateCount)
+    {
+        Publisher[] publishers = new Publisher[publisherCount];
+        for (int i = 0; i < publisherCount; i++)
+        {
+            long[] share = new long[(handles.length - i + publisherCount - 1) / publisherCount];
+            for (int j = 0; j < share.length; j++)
+                share[j] = handles[i + j * publisherCount];
+            publishers[i] = new Publisher(provider, share, updateCount);
+            publishers[i].start();
+        }
+        return publishers;
+    }
+
+    private static void stopPublishers(Publisher[] publishers) throws InterruptedException
+    {
+        for (Publisher publisher : publishers)
+            publisher._running = false;
+        joinPublishers(publishers);
+    }
+
+    private static void joinPublishers(Publisher[] publishers) throws InterruptedException
+    {
+        for (Publisher publisher : publishers)
+        {
+            publisher.join(WAIT_TIME_IN_MILLISEC);
+            assertFalse("publisher blocked", publisher.isAlive());
+            assertNull(publisher._failure);
+        }
+    }
+
+    private void waitForRefreshes(long total) throws InterruptedException
+    {
+        long deadline = System.currentTimeMillis() + WAIT_TIME_IN_MILLISEC;
+        while (refreshes() < total && System.currentTimeMillis() < deadline)
+            Thread.sleep(10);
+        assertEquals(total, refreshes());
+        while (providerClient._items.size() < total && System.currentTimeMillis() < deadline)
+            Thread.sleep(10);
+    }
+
+    private void waitForUpdates(long total) throws InterruptedException
+    {
+        long deadline = System.currentTimeMillis() + WAIT_TIME_IN_MILLISEC;
+        while (updates() < total && System.currentTimeMillis() < deadline)
+            Thread.sleep(10);
+        assertEquals(total, updates());
+    }
+
+    private long refreshes()
+    {
+        long refreshes = 0;
+        for (ConsumerClient consumerClient : consumerClients)
+            refreshes += consumerClient._refreshes.get();
+        return refreshes;
+    }
+
+    private long updates()
+    {
+        long updates = 0;
+        for (ConsumerClient consumerClient : consumerClients)
+            updates += consumerClient._updates.get();
+        return updates;
+    }
+
+    /* The last sequence number received by the consumer on the item, or 0 if none. */
+    private static long lastSeqNum(ConsumerClient consumerClient, long handle)
+    {
+        Long lastSeqNum = consumerClient._lastSeqNums.get(handle);
+        return lastSeqNum != null ? lastSeqNum : 0;
+    }
+
+    private static Map providerConfig(String port)
+    {
+        Map configMap = EmaFactory.createMap();
+        Map innerMap = EmaFactory.createMap();
+        ElementList elementList = EmaFactory.createElementList();
+        ElementList innerElementList = EmaFactory.createElementList();
+
+        elementList.add(EmaFactory.createElementEntry().ascii("DefaultIProvider", "Provider_1"));
+        innerElementList.add(EmaFactory.createElementEntry().ascii("Server", "Server_1"));
+        innerElementList.add(EmaFactory.createElementEntry().ascii("Directory", "Directory_1"));
+        innerElementList.add(EmaFactory.createElementEntry().intValue("RefreshFirstRequired", 1));
+        innerMap.add(EmaFactory.createMapEntry().keyAscii("Provider_1", MapEntry.MapAction.ADD, innerElementList));
+        innerElementList.clear();
+        elementList.add(EmaFactory.createElementEntry().map("IProviderList", innerMap));
+        innerMap.clear();
+        configMap.add(EmaFactory.createMapEntry().keyAscii("IProviderGroup", MapEntry.MapAction.ADD, elementList));
+        elementList.clear();
+
+        innerElementList.add(EmaFactory.createElementEntry().ascii("ServerType", "ServerType::RSSL_SOCKET"));
+        innerElementList.add(EmaFactory.createElementEntry().intValue("GuaranteedOutputBuffers", 5000));
+        innerElementList.add(EmaFactory.createElementEntry().ascii("Port", port));
+        innerMap.add(EmaFactory.createMapEntry().keyAscii("Server_1", MapEntry.MapAction.ADD, innerElementList));
+        innerElementList.clear();
+        elementList.add(EmaFactory.createElementEntry().map("ServerList", innerMap));
+        innerMap.clear();
+        configMap.add(EmaFactory.createMapEntry().keyAscii("ServerGroup", MapEntry.MapAction.ADD, elementList));
+        elementList.clear();
+
+        configMap.add(EmaFactory.createMapEntry().keyAscii("DictionaryGroup", MapEntry.MapAction.ADD, dictionaryGroup()));
+
+        Map serviceMap = EmaFactory.createMap();
+        innerElementList.add(EmaFactory.createElementEntry().intValue("ServiceId", 1));
+        OmmArray array = EmaFactory.createOmmArray();
+        array.add(EmaFactory.createOmmArrayEntry().ascii("MMT_MARKET_PRICE"));
+        innerElementList.add(EmaFactory.createElementEntry().array("Capabilities", array));
+        array.clear();
+        array.add(EmaFactory.createOmmArrayEntry().ascii("Dictionary_1"));
+        innerElementList.add(EmaFactory.createElementEntry().array("DictionariesUsed", array));
+        elementList.add(EmaFactory.createElementEntry().elementList("InfoFilter", innerElementList));
+        innerElementList.clear();
+        innerElementList.add(EmaFactory.createElementEntry().intValue("ServiceState", 1));
+        innerElementList.add(EmaFactory.createElementEntry().intValue("AcceptingRequests", 1));
+        elementList.add(EmaFactory.createElementEntry().elementList("StateFilter", innerElementList));
+        innerElementList.clear();
+        serviceMap.add(EmaFactory.createMapEntry().keyAscii("DIRECT_FEED", MapEntry.MapAction.ADD, elementList));
+        elementList.clear();
+        innerMap.add(EmaFactory.createMapEntry().keyAscii("Directory_1", MapEntry.MapAction.ADD, serviceMap));
+        elementList.add(EmaFactory.createElementEntry().ascii("DefaultDirectory", "Directory_1"));
+        elementList.add(EmaFactory.createElementEntry().map("DirectoryList", innerMap));
+        configMap.add(EmaFactory.createMapEntry().keyAscii("DirectoryGroup", MapEntry.MapAction.ADD, elementList));
+
+        return configMap;
+    }
+
+    private static Map consumerConfig(String port)
+    {
+        Map configMap = EmaFactory.createMap();
+        Map innerMap = EmaFactory.createMap();
+        ElementList elementList = EmaFactory.createElementList();
+        ElementList innerElementList = EmaFactory.createElementList();
+
+        elementList.add(EmaFactory.createElementEntry().ascii("DefaultConsumer", "Consumer_1"));
+        innerElementList.add(EmaFactory.createElementEntry().ascii("Channel", "Channel_1"));
+        innerElementList.add(EmaFactory.createElementEntry().ascii("Dictionary", "Dictionary_1"));
+        innerMap.add(EmaFactory.createMapEntry().keyAscii("Consumer_1", MapEntry.MapAction.ADD, innerElementList));
+        innerElementList.clear();
+        elementList.add(EmaFactory.createElementEntry().map("ConsumerList", innerMap));
+        innerMap.clear();
+        configMap.add(EmaFactory.createMapEntry().keyAscii("ConsumerGroup", MapEntry.MapAction.ADD, elementList));
+        elementList.clear();
+
+        innerElementList.add(EmaFactory.createElementEntry().ascii("ChannelType", "ChannelType::RSSL_SOCKET"));
+        innerElementList.add(EmaFactory.createElementEntry().ascii("Host", "localhost"));
+        innerElementList.add(EmaFactory.createElementEntry().ascii("Port", port));
+        innerMap.add(EmaFactory.createMapEntry().keyAscii("Channel_1", MapEntry.MapAction.ADD, innerElementList));
+        innerElementList.clear();
+        elementList.add(EmaFactory.createElementEntry().map("ChannelList", innerMap));
+        innerMap.clear();
+        configMap.add(EmaFactory.createMapEntry().keyAscii("ChannelGroup", MapEntry.MapAction.ADD, elementList));
+
+        configMap.add(EmaFactory.createMapEntry().keyAscii("DictionaryGroup", MapEntry.MapAction.ADD, dictionaryGroup()));
+
+        return configMap;
+    }
+
+    private static ElementList dictionaryGroup()
+    {
+        Map innerMap = EmaFactory.createMap();
+        ElementList elementList = EmaFactory.createElementList();
+        ElementList innerElementList = EmaFactory.createElementList();
+
+        innerElementList.add(EmaFactory.createElementEntry().ascii("DictionaryType", "DictionaryType::FileDictionary"));
+        innerElementList.add(EmaFactory.createElementEntry().ascii("RdmFieldDictionaryFileName", FIELD_DICTIONARY));
+        innerElementList.add(EmaFactory.createElementEntry().ascii("EnumTypeDefFileName", ENUM_TYPE_DICTIONARY));
+        innerMap.add(EmaFactory.createMapEntry().keyAscii("Dictionary_1", MapEntry.MapAction.ADD, innerElementList));
+        elementList.add(EmaFactory.createElementEntry().map("DictionaryList", innerMap));
+
+        return elementList;
+    }
+}
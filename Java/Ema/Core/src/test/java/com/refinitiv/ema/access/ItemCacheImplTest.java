@@ -0,0 +1,311 @@
+package com.refinitiv.ema.access;
+
+import java.nio.ByteBuffer;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import com.refinitiv.eta.codec.Buffer;
+import com.refinitiv.eta.codec.Codec;
+import com.refinitiv.eta.codec.CodecFactory;
+import com.refinitiv.eta.codec.CodecReturnCodes;
+import com.refinitiv.eta.codec.DataDictionary;
+import com.refinitiv.eta.codec.DataStates;
+import com.refinitiv.eta.codec.DataTypes;
+import com.refinitiv.eta.codec.DecodeIterator;
+import com.refinitiv.eta.codec.EncodeIterator;
+import com.refinitiv.eta.codec.FieldEntry;
+import com.refinitiv.eta.codec.FieldList;
+import com.refinitiv.eta.codec.Msg;
+import com.refinitiv.eta.codec.MsgClasses;
+import com.refinitiv.eta.codec.RealHints;
+import com.refinitiv.eta.codec.RefreshMsgFlags;
+import com.refinitiv.eta.codec.StreamStates;
+import com.refinitiv.eta.rdm.DomainTypes;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class ItemCacheImplTest
+{
+    static final int RDNDISPLAY = 2;  // UINT
+    static final int DSPLY_NAME = 3;  // RMTES_STRING
+    static final int CURRENCY = 15;   // ENUM
+    static final int TRADE_DATE = 16; // DATE
+    static final int BID = 22;        // REAL
+    static final int ASK = 25;        // REAL
+    static final int ASKSIZE = 31;    // REAL
+
+    static final long HANDLE = 5;
+
+    private static DataDictionary _dictionary;
+
+    private final Buffer _buffer = CodecFactory.createBuffer();
+    private final EncodeIterator _eIter = CodecFactory.createEncodeIterator();
+    private final DecodeIterator _dIter = CodecFactory.createDecodeIterator();
+    private final Msg _msg = CodecFactory.createMsg();
+    private ItemCacheImpl _itemCache;
+
+    @BeforeClass
+    public static void loadDictionary()
+    {
+        _dictionary = CodecFactory.createDataDictionary();
+        com.refinitiv.eta.transport.Error error = com.refinitiv.eta.transport.TransportFactory.createError();
+        assertEquals(CodecReturnCodes.SUCCESS, _dictionary.loadFieldDictionary("../../etc/RDMFieldDictionary", error));
+    }
+
+    @Before
+    public void setUp()
+    {
+        _itemCache = new ItemCacheImpl("ItemCacheImplTest", 2);
+    }
+
+    @After
+    public void tearDown()
+    {
+        _itemCache.destroy();
+    }
+
+    @Test
+    public void shouldApplyRefreshAndUpdatesToImage()
+    {
+        assertFalse(_itemCache.hasImage(HANDLE));
+
+        apply(HANDLE, MsgClasses.REFRESH, StreamStates.OPEN,
+              RDNDISPLAY, 64L, DSPLY_NAME, "IBM", CURRENCY, 840, BID, real(1001), ASK, null);
+
+        assertEquals(1, _itemCache.imageCount());
+        assertTrue(_itemCache.hasImage(HANDLE));
+        assertEquals(5, _itemCache.fieldCount(HANDLE));
+        int[] fieldIds = new int[3];
+        assertEquals(5, _itemCache.fieldIds(HANDLE, fieldIds));
+        assertEquals(RDNDISPLAY, fieldIds[0]);
+        assertEquals(DSPLY_NAME, fieldIds[1]);
+        assertEquals(CURRENCY, fieldIds[2]);
+
+        assertEquals(64, _itemCache.uintValue(HANDLE, RDNDISPLAY));
+        assertEquals(64, _itemCache.intValue(HANDLE, RDNDISPLAY));
+        assertEquals("IBM", _itemCache.stringValue(HANDLE, DSPLY_NAME));
+        assertEquals(840, _itemCache.enumValue(HANDLE, CURRENCY));
+        assertEquals(10.01, _itemCache.doubleValue(HANDLE, BID), 0.0);
+        assertEquals(DataType.DataTypes.REAL, _itemCache.dataType(HANDLE, BID));
+        assertFalse(_itemCache.isBlank(HANDLE, BID));
+        assertTrue(_itemCache.isBlank(HANDLE, ASK));
+        assertEquals("", _itemCache.stringValue(HANDLE, ASK));
+
+        apply(HANDLE, MsgClasses.UPDATE, StreamStates.OPEN, BID, real(1002), ASK, real(1003), ASKSIZE, real(100));
+
+        assertEquals(10.02, _itemCache.doubleValue(HANDLE, BID), 0.0);
+        assertEquals(10.03, _itemCache.doubleValue(HANDLE, ASK), 0.0);
+        assertEquals("10.03", _itemCache.stringValue(HANDLE, ASK));
+        assertFalse(_itemCache.hasField(HANDLE, ASKSIZE));
+        assertEquals(5, _itemCache.fieldCount(HANDLE));
+    }
+
+    @Test
+    public void shouldThrowInvalidUsageOnFieldErrors()
+    {
+        apply(HANDLE, MsgClasses.REFRESH, StreamStates.OPEN, DSPLY_NAME, "IBM", BID, real(1001), ASK, null);
+
+        expectInvalidUsage(OmmInvalidUsageException.ErrorCode.INVALID_ARGUMENT, new Runnable()
+        {
+            public void run()
+            {
+                _itemCache.doubleValue(HANDLE, TRADE_DATE);
+            }
+        });
+        expectInvalidUsage(OmmInvalidUsageException.ErrorCode.INVALID_ARGUMENT, new Runnable()
+        {
+            public void run()
+            {
+                _itemCache.doubleValue(HANDLE + 1, BID);
+            }
+        });
+        expectInvalidUsage(OmmInvalidUsageException.ErrorCode.INVALID_OPERATION, new Runnable()
+        {
+            public void run()
+            {
+                _itemCache.doubleValue(HANDLE, DSPLY_NAME);
+            }
+        });
+        expectInvalidUsage(OmmInvalidUsageException.ErrorCode.INVALID_OPERATION, new Runnable()
+        {
+            public void run()
+            {
+                _itemCache.intValue(HANDLE, BID);
+            }
+        });
+        expectInvalidUsage(OmmInvalidUsageException.ErrorCode.INVALID_OPERATION, new Runnable()
+        {
+            public void run()
+            {
+                _itemCache.doubleValue(HANDLE, ASK);
+            }
+        });
+    }
+
+    @Test
+    public void shouldCacheFieldListRefreshesOnly()
+    {
+        apply(HANDLE, MsgClasses.UPDATE, StreamStates.OPEN, BID, real(1001));
+        assertFalse(_itemCache.hasImage(HANDLE));
+
+        _buffer.data(ByteBuffer.allocate(64));
+        encodeMsgInit(MsgClasses.REFRESH, StreamStates.OPEN, DataTypes.NO_DATA);
+        applyEncodedMsg(HANDLE);
+        assertFalse(_itemCache.hasImage(HANDLE));
+        assertEquals(0, _itemCache.imageCount());
+    }
+
+    @Test
+    public void shouldRemoveStreamingImageWhenItemIsRemoved()
+    {
+        apply(HANDLE, MsgClasses.REFRESH, StreamStates.OPEN, BID, real(1001));
+        _itemCache.itemRemoved(HANDLE);
+
+        assertFalse(_itemCache.hasImage(HANDLE));
+        assertEquals(0, _itemCache.imageCount());
+    }
+
+    @Test
+    public void shouldKeepLeastRecentlyUsedSnapshotImages()
+    {
+        for (long handle = 1; handle <= 2; handle++)
+        {
+            apply(handle, MsgClasses.REFRESH, StreamStates.NON_STREAMING, BID, real(1000 + handle));
+            _itemCache.snapshotComplete(handle);
+            _itemCache.itemRemoved(handle);
+        }
+        assertEquals(2, _itemCache.imageCount());
+
+        // using the first snapshot makes the second one the least recently used
+        assertEquals(10.01, _itemCache.doubleValue(1, BID), 0.0);
+
+        apply(3, MsgClasses.REFRESH, StreamStates.NON_STREAMING, BID, real(1003));
+        assertEquals(2, _itemCache.imageCount());
+        assertTrue(_itemCache.hasImage(1));
+        assertFalse(_itemCache.hasImage(2));
+        assertEquals(10.03, _itemCache.doubleValue(3, BID), 0.0);
+
+        // a full cache of streaming images leaves new items out
+        _itemCache.snapshotComplete(3);
+        apply(4, MsgClasses.REFRESH, StreamStates.OPEN, BID, real(1004));
+        apply(5, MsgClasses.REFRESH, StreamStates.OPEN, BID, real(1005));
+        apply(6, MsgClasses.REFRESH, StreamStates.OPEN, BID, real(1006));
+        assertTrue(_itemCache.hasImage(4));
+        assertTrue(_itemCache.hasImage(5));
+        assertFalse(_itemCache.hasImage(6));
+        assertFalse(_itemCache.hasImage(1));
+        assertFalse(_itemCache.hasImage(3));
+    }
+
+    void expectInvalidUsage(int errorCode, Runnable query)
+    {
+        try
+        {
+            query.run();
+            fail("OmmInvalidUsageException expected");
+        }
+        catch (OmmInvalidUsageException excp)
+        {
+            assertEquals(errorCode, excp.errorCode());
+        }
+    }
+
+    com.refinitiv.eta.codec.Real real(long value)
+    {
+        com.refinitiv.eta.codec.Real real = CodecFactory.createReal();
+        real.value(value, RealHints.EXPONENT_2);
+        return real;
+    }
+
+    /* Encodes a message with a field list of the fid, value pairs given, a null value is a blank Real,
+     * and applies it to the image of the handle. */
+    void apply(long handle, int msgClass, int streamState, Object... fidValues)
+    {
+        _buffer.data(ByteBuffer.allocate(1024));
+        encodeMsgInit(msgClass, streamState, DataTypes.FIELD_LIST);
+
+        FieldList fieldList = CodecFactory.createFieldList();
+        FieldEntry fieldEntry = CodecFactory.createFieldEntry();
+        fieldList.applyHasStandardData();
+        assertEquals(CodecReturnCodes.SUCCESS, fieldList.encodeInit(_eIter, null, 0));
+        for (int i = 0; i < fidValues.length; i += 2)
+        {
+            fieldEntry.clear();
+            fieldEntry.fieldId((Integer)fidValues[i]);
+            Object value = fidValues[i + 1];
+            if (value == null)
+            {
+                fieldEntry.dataType(DataTypes.REAL);
+                assertEquals(CodecReturnCodes.SUCCESS, fieldEntry.encodeBlank(_eIter));
+            }
+            else if (value instanceof com.refinitiv.eta.codec.Real)
+            {
+                fieldEntry.dataType(DataTypes.REAL);
+                assertEquals(CodecReturnCodes.SUCCESS, fieldEntry.encode(_eIter, (com.refinitiv.eta.codec.Real)value));
+            }
+            else if (value instanceof Long)
+            {
+                com.refinitiv.eta.codec.UInt uint = CodecFactory.createUInt();
+                uint.value((Long)value);
+                fieldEntry.dataType(DataTypes.UINT);
+                assertEquals(CodecReturnCodes.SUCCESS, fieldEntry.encode(_eIter, uint));
+            }
+            else if (value instanceof Integer)
+            {
+                com.refinitiv.eta.codec.Enum enumValue = CodecFactory.createEnum();
+                enumValue.value((Integer)value);
+                fieldEntry.dataType(DataTypes.ENUM);
+                assertEquals(CodecReturnCodes.SUCCESS, fieldEntry.encode(_eIter, enumValue));
+            }
+            else
+            {
+                Buffer buffer = CodecFactory.createBuffer();
+                buffer.data((String)value);
+                fieldEntry.dataType(DataTypes.RMTES_STRING);
+                assertEquals(CodecReturnCodes.SUCCESS, fieldEntry.encode(_eIter, buffer));
+            }
+        }
+        assertEquals(CodecReturnCodes.SUCCESS, fieldList.encodeComplete(_eIter, true));
+
+        applyEncodedMsg(handle);
+    }
+
+    void encodeMsgInit(int msgClass, int streamState, int containerType)
+    {
+        _msg.clear();
+        _msg.msgClass(msgClass);
+        _msg.streamId(5);
+        _msg.domainType(DomainTypes.MARKET_PRICE);
+        _msg.containerType(containerType);
+        if (msgClass == MsgClasses.REFRESH)
+        {
+            _msg.flags(RefreshMsgFlags.REFRESH_COMPLETE | RefreshMsgFlags.CLEAR_CACHE);
+            com.refinitiv.eta.codec.RefreshMsg refreshMsg = (com.refinitiv.eta.codec.RefreshMsg)_msg;
+            refreshMsg.state().streamState(streamState);
+            refreshMsg.state().dataState(DataStates.OK);
+        }
+
+        _eIter.clear();
+        _eIter.setBufferAndRWFVersion(_buffer, Codec.majorVersion(), Codec.minorVersion());
+        int ret = _msg.encodeInit(_eIter, 0);
+        assertEquals(containerType == DataTypes.NO_DATA ? CodecReturnCodes.SUCCESS : CodecReturnCodes.ENCODE_CONTAINER, ret);
+    }
+
+    void applyEncodedMsg(long handle)
+    {
+        if (_msg.containerType() != DataTypes.NO_DATA)
+            assertEquals(CodecReturnCodes.SUCCESS, _msg.encodeComplete(_eIter, true));
+
+        _dIter.clear();
+        _dIter.setBufferAndRWFVersion(_buffer, Codec.majorVersion(), Codec.minorVersion());
+        _msg.clear();
+        assertEquals(CodecReturnCodes.SUCCESS, _msg.decode(_dIter));
+        _itemCache.apply(handle, _msg, Codec.majorVersion(), Codec.minorVersion(), _dictionary);
+    }
+}
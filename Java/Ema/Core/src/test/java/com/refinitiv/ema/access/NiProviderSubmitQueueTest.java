@@ -0,0 +1,457 @@
+package com.refinitiv.ema.access;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
+import org.slf4j.Logger;
+
+import com.refinitiv.ema.access.OmmNiProviderImpl.StreamInfo;
+import com.refinitiv.ema.access.OmmNiProviderImpl.StreamType;
+import com.refinitiv.ema.rdm.EmaRdm;
+import com.refinitiv.eta.codec.Buffer;
+import com.refinitiv.eta.codec.Codec;
+import com.refinitiv.eta.codec.CodecFactory;
+import com.refinitiv.eta.codec.CodecReturnCodes;
+import com.refinitiv.eta.codec.DecodeIterator;
+import com.refinitiv.eta.transport.TransportBuffer;
+import com.refinitiv.eta.transport.TransportReturnCodes;
+import com.refinitiv.eta.valueadd.reactor.ReactorChannel;
+import com.refinitiv.eta.valueadd.reactor.ReactorErrorInfo;
+import com.refinitiv.eta.valueadd.reactor.ReactorFactory;
+import com.refinitiv.eta.valueadd.reactor.ReactorReturnCodes;
+import com.refinitiv.eta.valueadd.reactor.ReactorSubmitOptions;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyBoolean;
+import static org.mockito.Matchers.anyInt;
+import static org.mockito.Mockito.atLeast;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class NiProviderSubmitQueueTest
+{
+    private final OmmNiProviderImpl provider = mock(OmmNiProviderImpl.class);
+    private final ReactorChannel reactorChannel = mock(ReactorChannel.class);
+    private final ChannelInfo channelInfo = new ChannelInfo("Channel_1", null);
+    private final List<String> written = Collections.synchronizedList(new ArrayList<String>());
+
+    /* Buffer of the channel holding one encoded message. */
+    static class ChannelBuffer implements TransportBuffer
+    {
+        final ByteBuffer _data;
+
+        ChannelBuffer(int size)
+        {
+            _data = ByteBuffer.allocate(size);
+        }
+
+        @Override
+        public ByteBuffer data()
+        {
+            return _data;
+        }
+
+        @Override
+        public int length()
+        {
+            return _data.position();
+        }
+
+        @Override
+        public int copy(ByteBuffer destBuffer)
+        {
+            destBuffer.put(_data.array(), 0, _data.position());
+            return CodecReturnCodes.SUCCESS;
+        }
+
+        @Override
+        public int capacity()
+        {
+            return _data.capacity();
+        }
+
+        @Override
+        public int dataStartPosition()
+        {
+            return 0;
+        }
+    }
+
+    /* Holds the writer lock of the queue, as a thread submitting another message does, until released. */
+    static class WriterLockHolder extends Thread
+    {
+        final NiProviderSubmitQueue _queue;
+        final CountDownLatch _locked = new CountDownLatch(1);
+        final CountDownLatch _release = new CountDownLatch(1);
+        final Runnable _beforeUnlock;
+
+        WriterLockHolder(NiProviderSubmitQueue queue, Runnable beforeUnlock)
+        {
+            _queue = queue;
+            _beforeUnlock = beforeUnlock;
+        }
+
+        @Override
+        public void run()
+        {
+            _queue.lock(ReactorFactory.createReactorErrorInfo());
+            _locked.countDown();
+            try
+            {
+                _release.await();
+            }
+            catch (InterruptedException e)
+            {
+                Thread.currentThread().interrupt();
+            }
+            if (_beforeUnlock != null)
+                _beforeUnlock.run();
+            _queue.unlock();
+        }
+
+        void lockQueue() throws InterruptedException
+        {
+            start();
+            _locked.await();
+        }
+
+        void unlockQueue() throws InterruptedException
+        {
+            _release.countDown();
+            join();
+        }
+    }
+
+    @Before
+    public void setUp()
+    {
+        when(provider.loggerClient()).thenReturn(mock(Logger.class));
+        when(provider.instanceName()).thenReturn("Provider_1");
+        when(provider.activeChannelInfo()).thenReturn(channelInfo);
+
+        when(reactorChannel.majorVersion()).thenReturn(Codec.majorVersion());
+        when(reactorChannel.minorVersion()).thenReturn(Codec.minorVersion());
+        when(reactorChannel.getBuffer(anyInt(), anyBoolean(), any(ReactorErrorInfo.class))).thenAnswer(new Answer<TransportBuffer>()
+        {
+            @Override
+            public TransportBuffer answer(InvocationOnMock invocation)
+            {
+                return new ChannelBuffer((Integer)invocation.getArguments()[0]);
+            }
+        });
+        when(reactorChannel.submit(any(TransportBuffer.class), any(ReactorSubmitOptions.class), any(ReactorErrorInfo.class))).thenAnswer(new Answer<Integer>()
+        {
+            @Override
+            public Integer answer(InvocationOnMock invocation)
+            {
+                written.add(decodeUpdate((ChannelBuffer)invocation.getArguments()[0]));
+                return ReactorReturnCodes.SUCCESS;
+            }
+        });
+        channelInfo.rsslReactorChannel(reactorChannel);
+    }
+
+    @Test
+    public void shouldWriteUpdatesOfEachHandleInOrderWithSeveralProducers() throws InterruptedException
+    {
+        final int producerCount = 4;
+        final int updateCount = 2000;
+        final NiProviderSubmitQueue queue = new NiProviderSubmitQueue(provider, 16);
+
+        Thread[] producers = new Thread[producerCount];
+        for (int i = 0; i < producerCount; i++)
+        {
+            final long firstHandle = openStream(2 * i + 1, -(2 * i + 1));
+            final long secondHandle = openStream(2 * i + 2, -(2 * i + 2));
+            producers[i] = new Thread()
+            {
+                @Override
+                public void run()
+                {
+                    UpdateMsgImpl updateMsg = (UpdateMsgImpl)EmaFactory.createUpdateMsg();
+                    for (int seqNum = 1; seqNum <= updateCount; seqNum++)
+                    {
+                        updateMsg.seqNum(seqNum);
+                        assertTrue(queue.submit(updateMsg, firstHandle));
+                        assertTrue(queue.submit(updateMsg, secondHandle));
+                    }
+                }
+            };
+        }
+
+        for (Thread producer : producers)
+            producer.start();
+        for (Thread producer : producers)
+            producer.join();
+
+        assertEquals(2 * producerCount * updateCount, written.size());
+        long[] lastSeqNums = new long[2 * producerCount + 1];
+        for (String update : written)
+        {
+            String[] fields = update.split(":");
+            int stream = -Integer.parseInt(fields[1]);
+            long seqNum = Long.parseLong(fields[2]);
+            assertEquals("stream " + stream, lastSeqNums[stream] + 1, seqNum);
+            lastSeqNums[stream] = seqNum;
+        }
+    }
+
+    @Test
+    public void shouldWriteQueuedUpdatesBeforeMessageSubmittedNext() throws InterruptedException
+    {
+        final NiProviderSubmitQueue queue = new NiProviderSubmitQueue(provider, 16);
+        long handle = openStream(1, -1);
+
+        WriterLockHolder holder = new WriterLockHolder(queue, null);
+        holder.lockQueue();
+        submitUpdates(queue, handle, 3);
+        assertTrue(written.isEmpty());
+
+        Thread closer = new Thread()
+        {
+            @Override
+            public void run()
+            {
+                queue.lock(ReactorFactory.createReactorErrorInfo());
+                written.add("Refresh");
+                queue.unlock();
+            }
+        };
+        closer.start();
+        holder.unlockQueue();
+        closer.join();
+
+        assertEquals(4, written.size());
+        assertEquals("Update:-1:1", written.get(0));
+        assertEquals("Update:-1:2", written.get(1));
+        assertEquals("Update:-1:3", written.get(2));
+        assertEquals("Refresh", written.get(3));
+    }
+
+    @Test
+    public void shouldWaitForSlotsClaimedBeforeLocking() throws InterruptedException
+    {
+        final NiProviderSubmitQueue queue = new NiProviderSubmitQueue(provider, 16);
+        final long handle = openStream(1, -1);
+
+        // a thread claimed a slot and is preempted before filling it
+        long claimed = queue.ring().claim();
+
+        Thread submitter = new Thread()
+        {
+            @Override
+            public void run()
+            {
+                UpdateMsgImpl updateMsg = (UpdateMsgImpl)EmaFactory.createUpdateMsg();
+                updateMsg.seqNum(2);
+                assertTrue(queue.submit(updateMsg, handle));
+            }
+        };
+        submitter.start();
+        while (queue.ring().tail() < 2)
+            Thread.yield();
+
+        Thread closer = new Thread()
+        {
+            @Override
+            public void run()
+            {
+                assertEquals(ReactorReturnCodes.SUCCESS, queue.lock(ReactorFactory.createReactorErrorInfo()));
+                written.add("Status");
+                queue.unlock();
+            }
+        };
+        closer.start();
+        closer.join(200);
+        assertTrue(closer.isAlive());
+        assertTrue(written.isEmpty());
+
+        UpdateMsgImpl updateMsg = (UpdateMsgImpl)EmaFactory.createUpdateMsg();
+        updateMsg.seqNum(1);
+        updateMsg._rsslMsg.streamId(-1);
+        NiProviderSubmitQueue.SubmitNode node = new NiProviderSubmitQueue.SubmitNode(new NiProviderSubmitQueue.Producer(16));
+        assertEquals(CodecReturnCodes.SUCCESS, node.encode(updateMsg._rsslMsg, Codec.majorVersion(), Codec.minorVersion()));
+        node._streamInfo = provider.streamInfo(handle);
+        queue.ring().publish(claimed, node);
+
+        closer.join();
+        submitter.join();
+
+        assertEquals(3, written.size());
+        assertEquals("Update:-1:1", written.get(0));
+        assertEquals("Update:-1:2", written.get(1));
+        assertEquals("Status", written.get(2));
+    }
+
+    @Test
+    public void shouldFailLockedSubmitWithoutWaitingWhenOutOfBuffers() throws InterruptedException
+    {
+        final NiProviderSubmitQueue queue = new NiProviderSubmitQueue(provider, 16);
+        long handle = openStream(1, -1);
+
+        WriterLockHolder holder = new WriterLockHolder(queue, null);
+        holder.lockQueue();
+        submitUpdates(queue, handle, 2);
+        runOutOfBuffers();
+        holder.unlockQueue();
+
+        ReactorErrorInfo errorInfo = ReactorFactory.createReactorErrorInfo();
+        assertEquals(ReactorReturnCodes.NO_BUFFERS, queue.lock(errorInfo));
+        queue.unlock();
+
+        assertEquals(TransportReturnCodes.NO_BUFFERS, errorInfo.error().errorId());
+        verify(reactorChannel, times(2)).getBuffer(anyInt(), anyBoolean(), any(ReactorErrorInfo.class));
+        assertEquals(0, queue.ring().size());
+        assertTrue(written.isEmpty());
+    }
+
+    @Test
+    public void shouldWaitForBuffersForBoundedTimeUnlessChannelDown()
+    {
+        NiProviderSubmitQueue queue = new NiProviderSubmitQueue(provider, 16);
+        long handle = openStream(1, -1);
+        runOutOfBuffers();
+
+        when(reactorChannel.state()).thenReturn(ReactorChannel.State.DOWN);
+        submitUpdates(queue, handle, 1);
+        verify(reactorChannel, times(1)).getBuffer(anyInt(), anyBoolean(), any(ReactorErrorInfo.class));
+
+        when(reactorChannel.state()).thenReturn(ReactorChannel.State.READY);
+        long start = System.nanoTime();
+        submitUpdates(queue, handle, 1);
+        assertTrue(System.nanoTime() - start < 5000000000L);
+        verify(reactorChannel, atLeast(3)).getBuffer(anyInt(), anyBoolean(), any(ReactorErrorInfo.class));
+
+        assertEquals(0, queue.ring().size());
+        assertTrue(written.isEmpty());
+    }
+
+    @Test
+    public void shouldNotQueueUpdatesOfNewConsumerOrDirectoryStreams()
+    {
+        NiProviderSubmitQueue queue = new NiProviderSubmitQueue(provider, 16);
+        long handle = openStream(1, -1);
+        StreamInfo consumerStream = provider.new StreamInfo(StreamType.CONSUMING, 5, 1, EmaRdm.MMT_MARKET_PRICE);
+        consumerStream.handle(2);
+        when(provider.streamInfo(2)).thenReturn(consumerStream);
+
+        UpdateMsgImpl updateMsg = (UpdateMsgImpl)EmaFactory.createUpdateMsg();
+        assertFalse(queue.submit(updateMsg, 3));
+        assertFalse(queue.submit(updateMsg, 2));
+
+        updateMsg.domainType(EmaRdm.MMT_DIRECTORY);
+        assertFalse(queue.submit(updateMsg, handle));
+
+        updateMsg.domainType(EmaRdm.MMT_MARKET_PRICE);
+        when(provider.activeChannelInfo()).thenReturn(null);
+        assertFalse(queue.submit(updateMsg, handle));
+
+        verify(reactorChannel, never()).getBuffer(anyInt(), anyBoolean(), any(ReactorErrorInfo.class));
+        assertTrue(written.isEmpty());
+    }
+
+    @Test
+    public void shouldDropQueuedUpdatesOnChannelDown() throws InterruptedException
+    {
+        final NiProviderSubmitQueue queue = new NiProviderSubmitQueue(provider, 16);
+        long handle = openStream(1, -1);
+
+        WriterLockHolder holder = new WriterLockHolder(queue, new Runnable()
+        {
+            @Override
+            public void run()
+            {
+                queue.clear();
+            }
+        });
+        holder.lockQueue();
+        submitUpdates(queue, handle, 3);
+        holder.unlockQueue();
+        assertTrue(written.isEmpty());
+
+        holder = new WriterLockHolder(queue, null);
+        holder.lockQueue();
+        submitUpdates(queue, handle, 3);
+        when(provider.activeChannelInfo()).thenReturn(null);
+        holder.unlockQueue();
+        assertTrue(written.isEmpty());
+
+        when(provider.activeChannelInfo()).thenReturn(channelInfo);
+        submitUpdates(queue, handle, 1);
+        assertEquals(1, written.size());
+    }
+
+    @Test
+    public void shouldDropQueuedUpdatesOfClosedStream() throws InterruptedException
+    {
+        final NiProviderSubmitQueue queue = new NiProviderSubmitQueue(provider, 16);
+        long handle = openStream(1, -1);
+
+        WriterLockHolder holder = new WriterLockHolder(queue, null);
+        holder.lockQueue();
+        submitUpdates(queue, handle, 2);
+        openStream(handle, -2);
+        holder.unlockQueue();
+        assertTrue(written.isEmpty());
+
+        submitUpdates(queue, handle, 1);
+        assertEquals(1, written.size());
+        assertEquals("Update:-2:1", written.get(0));
+    }
+
+    /* Makes the channel return NO_BUFFERS to every getBuffer(). */
+    private void runOutOfBuffers()
+    {
+        when(reactorChannel.getBuffer(anyInt(), anyBoolean(), any(ReactorErrorInfo.class))).thenAnswer(new Answer<TransportBuffer>()
+        {
+            @Override
+            public TransportBuffer answer(InvocationOnMock invocation)
+            {
+                ((ReactorErrorInfo)invocation.getArguments()[2]).error().errorId(TransportReturnCodes.NO_BUFFERS);
+                return null;
+            }
+        });
+    }
+
+    private long openStream(long handle, int streamId)
+    {
+        StreamInfo streamInfo = provider.new StreamInfo(StreamType.PROVIDING, streamId, 1, EmaRdm.MMT_MARKET_PRICE);
+        streamInfo.handle(handle);
+        when(provider.streamInfo(handle)).thenReturn(streamInfo);
+        return handle;
+    }
+
+    private static void submitUpdates(NiProviderSubmitQueue queue, long handle, int count)
+    {
+        UpdateMsgImpl updateMsg = (UpdateMsgImpl)EmaFactory.createUpdateMsg();
+        for (int seqNum = 1; seqNum <= count; seqNum++)
+        {
+            updateMsg.seqNum(seqNum);
+            assertTrue(queue.submit(updateMsg, handle));
+        }
+    }
+
+    private static String decodeUpdate(ChannelBuffer channelBuffer)
+    {
+        Buffer buffer = CodecFactory.createBuffer();
+        buffer.data(channelBuffer.data(), 0, channelBuffer.length());
+        DecodeIterator decodeIter = CodecFactory.createDecodeIterator();
+        decodeIter.setBufferAndRWFVersion(buffer, Codec.majorVersion(), Codec.minorVersion());
+        com.refinitiv.eta.codec.UpdateMsg updateMsg = (com.refinitiv.eta.codec.UpdateMsg)CodecFactory.createMsg();
+        assertEquals(CodecReturnCodes.SUCCESS, updateMsg.decode(decodeIter));
+        return "Update:" + updateMsg.streamId() + ":" + updateMsg.seqNum();
+    }
+}
@@ -0,0 +1,348 @@
+package com.refinitiv.ema.access;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
+import org.slf4j.Logger;
+
+import com.refinitiv.eta.codec.Buffer;
+import com.refinitiv.eta.codec.Codec;
+import com.refinitiv.eta.codec.CodecFactory;
+import com.refinitiv.eta.codec.CodecReturnCodes;
+import com.refinitiv.eta.codec.DataDictionary;
+import com.refinitiv.eta.codec.DataTypes;
+import com.refinitiv.eta.codec.DecodeIterator;
+import com.refinitiv.eta.codec.EncodeIterator;
+import com.refinitiv.eta.codec.FieldEntry;
+import com.refinitiv.eta.codec.FieldList;
+import com.refinitiv.eta.codec.Msg;
+import com.refinitiv.eta.codec.MsgClasses;
+import com.refinitiv.eta.codec.RealHints;
+import com.refinitiv.eta.codec.UpdateMsgFlags;
+import com.refinitiv.eta.rdm.DomainTypes;
+import com.refinitiv.eta.valueadd.reactor.ReactorChannel;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyInt;
+import static org.mockito.Matchers.anyLong;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class UpdateConflatorTest
+{
+    static final int DSPLY_NAME = 3;
+    static final int BID = 22;
+    static final int ASK = 25;
+    static final int ASKSIZE = 31;
+
+    static final int INTERVAL = 60000; // long enough for the timeouts to be fired by the tests only
+
+    @SuppressWarnings("unchecked")
+    private final ItemCallbackClient<OmmConsumerClient> client = mock(ItemCallbackClient.class);
+    @SuppressWarnings("unchecked")
+    private final OmmBaseImpl<OmmConsumerClient> baseImpl = mock(OmmBaseImpl.class);
+    @SuppressWarnings("unchecked")
+    private final SingleItem<OmmConsumerClient> item = mock(SingleItem.class);
+    private UpdateConflator<OmmConsumerClient> conflator;
+
+    private final List<TimeoutEvent> timeoutEvents = new ArrayList<TimeoutEvent>();
+    private final List<List<String>> deliveredUpdates = new ArrayList<List<String>>();
+
+    private final Buffer buffer = CodecFactory.createBuffer();
+    private final EncodeIterator eIter = CodecFactory.createEncodeIterator();
+    private final DecodeIterator dIter = CodecFactory.createDecodeIterator();
+    private final Msg msg = CodecFactory.createMsg();
+
+    @Before
+    public void setUp()
+    {
+        when(baseImpl.userLock()).thenReturn(new ReentrantLock());
+        when(baseImpl.addTimeoutEvent(anyLong(), any(TimeoutClient.class))).thenAnswer(new Answer<TimeoutEvent>()
+        {
+            public TimeoutEvent answer(InvocationOnMock invocation)
+            {
+                TimeoutEvent timeoutEvent = new TimeoutEvent((Long)invocation.getArguments()[0] * 1000,
+                                                             (TimeoutClient)invocation.getArguments()[1]);
+                timeoutEvents.add(timeoutEvent);
+                return timeoutEvent;
+            }
+        });
+        doAnswer(new Answer<Void>()
+        {
+            public Void answer(InvocationOnMock invocation)
+            {
+                deliveredUpdates.add(decodeFields((Msg)invocation.getArguments()[1]));
+                return null;
+            }
+        }).when(client).deliverConflatedUpdate(eq(item), any(Msg.class), anyInt(), anyInt(), any());
+
+        conflator = new UpdateConflator<OmmConsumerClient>(client, baseImpl);
+        conflator.interval(item, INTERVAL);
+    }
+
+    @Test
+    public void shouldMergeUpdatesWithinInterval()
+    {
+        assertEquals(1, conflator._conflatingItems);
+        assertFalse(conflate(0, BID, real(1001)));
+
+        assertTrue(conflate(0, BID, real(1002), ASK, real(1003)));
+        assertTrue(conflate(0, ASKSIZE, real(100), BID, real(1004)));
+        assertTrue(conflate(0, ASK, null));
+        assertEquals(1, timeoutEvents.size());
+        assertTrue(deliveredUpdates.isEmpty());
+
+        fireTimeouts();
+        assertEquals(1, deliveredUpdates.size());
+        assertEquals("[22=10.04, 25=blank, 31=1.00]", deliveredUpdates.get(0).toString());
+        assertEquals(3, conflator._conflatedUpdates);
+        assertEquals(2, conflator._deliveredUpdates);
+
+        // the interval restarts at the delivery of the pending update
+        assertTrue(conflate(0, BID, real(1005)));
+        fireTimeouts();
+        assertEquals("[22=10.05]", deliveredUpdates.get(1).toString());
+    }
+
+    @Test
+    public void shouldDeliverPendingUpdateBeforeUpdateNotToConflate()
+    {
+        assertFalse(conflate(0, BID, real(1001)));
+        assertTrue(conflate(0, BID, real(1002)));
+
+        assertFalse(conflate(UpdateMsgFlags.DO_NOT_CONFLATE, ASK, real(1003)));
+        assertEquals(1, deliveredUpdates.size());
+        assertEquals("[22=10.02]", deliveredUpdates.get(0).toString());
+        assertTrue(timeoutEvents.get(0).cancelled());
+        assertEquals(3, conflator._deliveredUpdates);
+
+        conflator.flush(item);
+        assertEquals(1, deliveredUpdates.size());
+    }
+
+    @Test
+    public void shouldDeliverLargePendingUpdateAtOnce()
+    {
+        assertFalse(conflate(0, BID, real(1001)));
+
+        char[] chars = new char[UpdateConflator.MAX_PENDING_LENGTH / 2];
+        java.util.Arrays.fill(chars, 'A');
+        String name = new String(chars);
+        assertTrue(conflate(0, DSPLY_NAME, name));
+        assertTrue(deliveredUpdates.isEmpty());
+        assertTrue(conflate(0, BID, real(1002), ASKSIZE, name));
+        assertEquals(1, deliveredUpdates.size());
+        assertEquals(3, deliveredUpdates.get(0).size());
+    }
+
+    @Test
+    public void shouldFlushPendingUpdateWhenConflationStops()
+    {
+        assertFalse(conflate(0, BID, real(1001)));
+        assertTrue(conflate(0, BID, real(1002)));
+
+        conflator.flushSoon(item);
+        assertEquals(2, timeoutEvents.size());
+        assertTrue(timeoutEvents.get(0).cancelled());
+
+        conflator.interval(item, 0);
+        assertEquals(0, conflator._conflatingItems);
+        fireTimeouts();
+        assertEquals(1, deliveredUpdates.size());
+
+        assertFalse(conflate(0, BID, real(1003)));
+        assertEquals(1, deliveredUpdates.size());
+    }
+
+    @Test
+    public void shouldDropPendingUpdateOfRemovedItem()
+    {
+        assertFalse(conflate(0, BID, real(1001)));
+        assertTrue(conflate(0, BID, real(1002)));
+        TimeoutClient timeoutClient = timeoutEvents.get(0).client();
+
+        conflator.remove(item);
+        assertEquals(0, conflator._conflatingItems);
+        assertTrue(timeoutEvents.get(0).cancelled());
+
+        timeoutClient.handleTimeoutEvent();
+        assertTrue(deliveredUpdates.isEmpty());
+        verify(client, times(0)).deliverConflatedUpdate(eq(item), any(Msg.class), anyInt(), anyInt(), any());
+    }
+
+    @Test
+    public void shouldConflateUpdatesDeliveredToItemCallbackClient()
+    {
+        EmaObjectManager objManager = new EmaObjectManager();
+        objManager.initialize();
+        when(baseImpl.objManager()).thenReturn(objManager);
+        when(baseImpl.loggerClient()).thenReturn(mock(Logger.class));
+        when(baseImpl.activeConfig()).thenReturn(mock(ActiveConfig.class));
+        when(baseImpl.implType()).thenReturn(OmmCommonImpl.ImplementationType.CONSUMER);
+        ReactorChannel reactorChannel = mock(ReactorChannel.class);
+        when(reactorChannel.majorVersion()).thenReturn(Codec.majorVersion());
+        when(reactorChannel.minorVersion()).thenReturn(Codec.minorVersion());
+
+        OmmConsumerClient consumerClient = mock(OmmConsumerClient.class);
+        doAnswer(new Answer<Void>()
+        {
+            public Void answer(InvocationOnMock invocation)
+            {
+                deliveredUpdates.add(decodeFields(((UpdateMsgImpl)invocation.getArguments()[0])._rsslMsg));
+                return null;
+            }
+        }).when(consumerClient).onUpdateMsg(any(UpdateMsg.class), any(OmmConsumerEvent.class));
+
+        ItemCallbackClientConsumer itemClient = new ItemCallbackClientConsumer(baseImpl);
+        SingleItem<OmmConsumerClient> consumerItem = new SingleItem<OmmConsumerClient>(baseImpl, consumerClient, null, null);
+        itemClient.addToItemMap(7, consumerItem);
+        itemClient.conflateUpdates(7, INTERVAL);
+
+        // the first update is delivered at once, the next ones are merged until the interval elapses
+        itemClient._eventImpl._item = consumerItem;
+        itemClient.processUpdateMsg(encodeUpdate(0, BID, real(1001)), reactorChannel, null);
+        assertEquals("[22=10.01]", deliveredUpdates.get(0).toString());
+        itemClient.processUpdateMsg(encodeUpdate(0, BID, real(1002), ASK, real(1003), BID, real(1004)), reactorChannel, null);
+        itemClient.processUpdateMsg(encodeUpdate(0, ASKSIZE, real(100), ASK, null), reactorChannel, null);
+        itemClient.processUpdateMsg(encodeUpdate(0, DSPLY_NAME, "NAME", BID, real(1005)), reactorChannel, null);
+        assertEquals(1, deliveredUpdates.size());
+
+        fireTimeouts();
+        assertEquals(2, deliveredUpdates.size());
+        assertEquals("[25=blank, 22=10.05, 31=1.00, 3=4]", deliveredUpdates.get(1).toString());
+
+        // a flush delivers the pending update on the next timeout
+        itemClient.processUpdateMsg(encodeUpdate(0, ASK, real(1006)), reactorChannel, null);
+        itemClient.flushConflatedUpdates(7);
+        fireTimeouts();
+        assertEquals(3, deliveredUpdates.size());
+        assertEquals("[25=10.06]", deliveredUpdates.get(2).toString());
+
+        ConflationInfoImpl conflationInfo = new ConflationInfoImpl();
+        itemClient.conflationInfo(conflationInfo);
+        assertEquals(4, conflationInfo.conflatedUpdates());
+        assertEquals(3, conflationInfo.deliveredUpdates());
+        assertEquals(1, conflationInfo.conflatingItems());
+    }
+
+    void fireTimeouts()
+    {
+        List<TimeoutEvent> events = new ArrayList<TimeoutEvent>(timeoutEvents);
+        for (TimeoutEvent timeoutEvent : events)
+        {
+            if (!timeoutEvent.cancelled())
+            {
+                timeoutEvent.cancel();
+                timeoutEvent.client().handleTimeoutEvent();
+            }
+        }
+    }
+
+    com.refinitiv.eta.codec.Real real(long value)
+    {
+        com.refinitiv.eta.codec.Real real = CodecFactory.createReal();
+        real.value(value, RealHints.EXPONENT_2);
+        return real;
+    }
+
+    /* Conflates an update of the fid, value pairs given, a null value is a blank Real. */
+    boolean conflate(int flags, Object... fidValues)
+    {
+        return conflator.conflate(item, encodeUpdate(flags, fidValues), Codec.majorVersion(), Codec.minorVersion(), (DataDictionary)null);
+    }
+
+    /* Encodes an update of the fid, value pairs given, a null value is a blank Real. */
+    Msg encodeUpdate(int flags, Object... fidValues)
+    {
+        buffer.data(ByteBuffer.allocate(256 * 1024));
+        msg.clear();
+        msg.msgClass(MsgClasses.UPDATE);
+        msg.streamId(5);
+        msg.domainType(DomainTypes.MARKET_PRICE);
+        msg.containerType(DataTypes.FIELD_LIST);
+        msg.flags(flags);
+        eIter.clear();
+        eIter.setBufferAndRWFVersion(buffer, Codec.majorVersion(), Codec.minorVersion());
+        assertEquals(CodecReturnCodes.ENCODE_CONTAINER, msg.encodeInit(eIter, 0));
+
+        FieldList fieldList = CodecFactory.createFieldList();
+        FieldEntry fieldEntry = CodecFactory.createFieldEntry();
+        fieldList.applyHasStandardData();
+        assertEquals(CodecReturnCodes.SUCCESS, fieldList.encodeInit(eIter, null, 0));
+        for (int i = 0; i < fidValues.length; i += 2)
+        {
+            fieldEntry.clear();
+            fieldEntry.fieldId((Integer)fidValues[i]);
+            Object value = fidValues[i + 1];
+            if (value == null)
+            {
+                fieldEntry.dataType(DataTypes.REAL);
+                assertEquals(CodecReturnCodes.SUCCESS, fieldEntry.encodeBlank(eIter));
+            }
+            else if (value instanceof com.refinitiv.eta.codec.Real)
+            {
+                fieldEntry.dataType(DataTypes.REAL);
+                assertEquals(CodecReturnCodes.SUCCESS, fieldEntry.encode(eIter, (com.refinitiv.eta.codec.Real)value));
+            }
+            else
+            {
+                Buffer string = CodecFactory.createBuffer();
+                string.data((String)value);
+                fieldEntry.dataType(DataTypes.RMTES_STRING);
+                assertEquals(CodecReturnCodes.SUCCESS, fieldEntry.encode(eIter, string));
+            }
+        }
+        assertEquals(CodecReturnCodes.SUCCESS, fieldList.encodeComplete(eIter, true));
+        assertEquals(CodecReturnCodes.SUCCESS, msg.encodeComplete(eIter, true));
+
+        dIter.clear();
+        dIter.setBufferAndRWFVersion(buffer, Codec.majorVersion(), Codec.minorVersion());
+        msg.clear();
+        assertEquals(CodecReturnCodes.SUCCESS, msg.decode(dIter));
+        return msg;
+    }
+
+    /* Decodes the fields of a delivered update as fid=value strings, values decoded as Reals but
+     * for string fields, given as their length. */
+    List<String> decodeFields(Msg update)
+    {
+        assertNotNull(update);
+        assertEquals(MsgClasses.UPDATE, update.msgClass());
+        DecodeIterator iter = CodecFactory.createDecodeIterator();
+        iter.setBufferAndRWFVersion(update.encodedDataBody(), Codec.majorVersion(), Codec.minorVersion());
+        FieldList fieldList = CodecFactory.createFieldList();
+        FieldEntry fieldEntry = CodecFactory.createFieldEntry();
+        com.refinitiv.eta.codec.Real real = CodecFactory.createReal();
+        assertEquals(CodecReturnCodes.SUCCESS, fieldList.decode(iter, null));
+
+        List<String> fields = new ArrayList<String>();
+        int ret;
+        while ((ret = fieldEntry.decode(iter)) != CodecReturnCodes.END_OF_CONTAINER)
+        {
+            assertEquals(CodecReturnCodes.SUCCESS, ret);
+            if (fieldEntry.fieldId() == DSPLY_NAME || fieldEntry.encodedData().length() > 16)
+            {
+                fields.add(fieldEntry.fieldId() + "=" + fieldEntry.encodedData().length());
+                continue;
+            }
+            real.clear();
+            ret = real.decode(iter);
+            fields.add(fieldEntry.fieldId() + "=" + (ret == CodecReturnCodes.BLANK_DATA ? "blank" : real.toString()));
+        }
+        return fields;
+    }
+}
@@ -0,0 +1,192 @@
+package com.refinitiv.ema.access;
+
+import java.nio.ByteBuffer;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import com.refinitiv.eta.codec.Buffer;
+import com.refinitiv.eta.codec.Codec;
+import com.refinitiv.eta.codec.CodecFactory;
+import com.refinitiv.eta.codec.CodecReturnCodes;
+import com.refinitiv.eta.codec.DataTypes;
+import com.refinitiv.eta.codec.DecodeIterator;
+import com.refinitiv.eta.codec.EncodeIterator;
+import com.refinitiv.eta.codec.FieldEntry;
+import com.refinitiv.eta.codec.FieldList;
+import com.refinitiv.eta.codec.FieldListFlags;
+import com.refinitiv.eta.codec.MsgClasses;
+import com.refinitiv.eta.codec.Real;
+import com.refinitiv.eta.codec.RealHints;
+import com.refinitiv.eta.codec.UpdateMsgFlags;
+import com.refinitiv.eta.rdm.DomainTypes;
+import com.refinitiv.eta.transport.TransportBuffer;
+import com.refinitiv.eta.valueadd.reactor.ReactorChannel;
+import com.refinitiv.eta.valueadd.reactor.ReactorErrorInfo;
+import com.refinitiv.eta.valueadd.reactor.ReactorFactory;
+import com.refinitiv.eta.valueadd.reactor.ReactorReturnCodes;
+import com.refinitiv.eta.valueadd.reactor.ReactorSubmitOptions;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyBoolean;
+import static org.mockito.Matchers.anyInt;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class UpdateMsgPassThroughTest
+{
+    private final ReactorChannel reactorChannel = mock(ReactorChannel.class);
+    private final TransportBuffer transportBuffer = mock(TransportBuffer.class);
+    private final ReactorSubmitOptions submitOptions = ReactorFactory.createReactorSubmitOptions();
+    private final ReactorErrorInfo errorInfo = ReactorFactory.createReactorErrorInfo();
+    private final ByteBuffer channelData = ByteBuffer.allocate(1024);
+
+    @Before
+    public void setUp()
+    {
+        when(reactorChannel.majorVersion()).thenReturn(Codec.majorVersion());
+        when(reactorChannel.minorVersion()).thenReturn(Codec.minorVersion());
+        when(reactorChannel.getBuffer(anyInt(), anyBoolean(), any(ReactorErrorInfo.class))).thenReturn(transportBuffer);
+        when(reactorChannel.submit(any(TransportBuffer.class), any(ReactorSubmitOptions.class), any(ReactorErrorInfo.class)))
+                .thenReturn(ReactorReturnCodes.SUCCESS);
+        when(reactorChannel.submit(any(com.refinitiv.eta.codec.Msg.class), any(ReactorSubmitOptions.class), any(ReactorErrorInfo.class)))
+                .thenReturn(ReactorReturnCodes.SUCCESS);
+        when(transportBuffer.data()).thenReturn(channelData);
+    }
+
+    @Test
+    public void shouldCopyReceivedBufferRewritingStreamIdAndSeqNum()
+    {
+        Buffer received = encodeUpdate(5, true, false);
+        UpdateMsgImpl updateMsg = receive(received);
+        assertTrue(updateMsg.isReceived());
+
+        updateMsg._rsslMsg.streamId(-3);
+        updateMsg.seqNum(77);
+
+        assertEquals(ReactorReturnCodes.SUCCESS, updateMsg.submitPassThrough(reactorChannel, submitOptions, errorInfo));
+        verify(reactorChannel).submit(transportBuffer, submitOptions, errorInfo);
+        verify(reactorChannel, never()).submit(any(com.refinitiv.eta.codec.Msg.class), any(ReactorSubmitOptions.class), any(ReactorErrorInfo.class));
+        assertEquals(received.length(), channelData.position());
+
+        com.refinitiv.eta.codec.UpdateMsg sent = decodeSent();
+        assertEquals(-3, sent.streamId());
+        assertTrue(sent.checkHasSeqNum());
+        assertEquals(77, sent.seqNum());
+        assertEquals(DataTypes.FIELD_LIST, sent.containerType());
+        assertEquals(((com.refinitiv.eta.codec.UpdateMsg)updateMsg._rsslMsg).encodedDataBody().toString(), sent.encodedDataBody().toString());
+    }
+
+    @Test
+    public void shouldEncodeHeaderWhenMsgHasMsgKey()
+    {
+        UpdateMsgImpl updateMsg = receive(encodeUpdate(5, true, true));
+
+        updateMsg.submitPassThrough(reactorChannel, submitOptions, errorInfo);
+        verify(reactorChannel).submit(updateMsg._rsslMsg, submitOptions, errorInfo);
+        verify(reactorChannel, never()).getBuffer(anyInt(), anyBoolean(), any(ReactorErrorInfo.class));
+    }
+
+    @Test
+    public void shouldEncodeHeaderWhenSeqNumIsAdded()
+    {
+        UpdateMsgImpl updateMsg = receive(encodeUpdate(5, false, false));
+        updateMsg.seqNum(12);
+
+        updateMsg.submitPassThrough(reactorChannel, submitOptions, errorInfo);
+        verify(reactorChannel).releaseBuffer(transportBuffer, errorInfo);
+        verify(reactorChannel).submit(updateMsg._rsslMsg, submitOptions, errorInfo);
+        verify(reactorChannel, never()).submit(any(TransportBuffer.class), any(ReactorSubmitOptions.class), any(ReactorErrorInfo.class));
+    }
+
+    @Test
+    public void shouldEncodeHeaderWhenChannelIsOutOfBuffers()
+    {
+        when(reactorChannel.getBuffer(anyInt(), anyBoolean(), any(ReactorErrorInfo.class))).thenReturn(null);
+        UpdateMsgImpl updateMsg = receive(encodeUpdate(5, true, false));
+
+        updateMsg.submitPassThrough(reactorChannel, submitOptions, errorInfo);
+        verify(reactorChannel).submit(updateMsg._rsslMsg, submitOptions, errorInfo);
+    }
+
+    @Test
+    public void shouldNotPassThroughMsgCreatedByUser()
+    {
+        UpdateMsgImpl updateMsg = (UpdateMsgImpl)EmaFactory.createUpdateMsg();
+        assertFalse(updateMsg.isReceived());
+
+        updateMsg.payload(EmaFactory.createFieldList());
+        updateMsg.encodedData();
+        assertFalse(updateMsg.isReceived());
+    }
+
+    private static UpdateMsgImpl receive(Buffer buffer)
+    {
+        UpdateMsgImpl updateMsg = JUnitTestConnect.createUpdateMsg();
+        JUnitTestConnect.setRsslData(updateMsg, buffer, Codec.majorVersion(), Codec.minorVersion(), null, null);
+        return updateMsg;
+    }
+
+    private com.refinitiv.eta.codec.UpdateMsg decodeSent()
+    {
+        Buffer sentBuffer = CodecFactory.createBuffer();
+        sentBuffer.data(channelData, 0, channelData.position());
+        DecodeIterator decodeIter = CodecFactory.createDecodeIterator();
+        decodeIter.setBufferAndRWFVersion(sentBuffer, Codec.majorVersion(), Codec.minorVersion());
+        com.refinitiv.eta.codec.UpdateMsg sent = (com.refinitiv.eta.codec.UpdateMsg)CodecFactory.createMsg();
+        assertEquals(CodecReturnCodes.SUCCESS, sent.decode(decodeIter));
+        return sent;
+    }
+
+    private static Buffer encodeUpdate(int streamId, boolean hasSeqNum, boolean hasMsgKey)
+    {
+        com.refinitiv.eta.codec.UpdateMsg updateMsg = (com.refinitiv.eta.codec.UpdateMsg)CodecFactory.createMsg();
+        updateMsg.msgClass(MsgClasses.UPDATE);
+        updateMsg.domainType(DomainTypes.MARKET_PRICE);
+        updateMsg.streamId(streamId);
+        updateMsg.containerType(DataTypes.FIELD_LIST);
+        if (hasSeqNum)
+        {
+            updateMsg.applyHasSeqNum();
+            updateMsg.seqNum(1);
+        }
+        if (hasMsgKey)
+        {
+            updateMsg.applyHasMsgKey();
+            updateMsg.msgKey().applyHasServiceId();
+            updateMsg.msgKey().serviceId(1);
+        }
+        assertEquals(hasMsgKey, (updateMsg.flags() & UpdateMsgFlags.HAS_MSG_KEY) != 0);
+
+        ByteBuffer data = ByteBuffer.allocate(256);
+        Buffer buffer = CodecFactory.createBuffer();
+        buffer.data(data);
+        EncodeIterator encodeIter = CodecFactory.createEncodeIterator();
+        encodeIter.setBufferAndRWFVersion(buffer, Codec.majorVersion(), Codec.minorVersion());
+        assertEquals(CodecReturnCodes.ENCODE_CONTAINER, updateMsg.encodeInit(encodeIter, 0));
+
+        FieldList fieldList = CodecFactory.createFieldList();
+        fieldList.applyHasStandardData();
+        assertEquals(FieldListFlags.HAS_STANDARD_DATA, fieldList.flags());
+        assertEquals(CodecReturnCodes.SUCCESS, fieldList.encodeInit(encodeIter, null, 0));
+        FieldEntry fieldEntry = CodecFactory.createFieldEntry();
+        Real real = CodecFactory.createReal();
+        fieldEntry.fieldId(22);
+        fieldEntry.dataType(DataTypes.REAL);
+        real.value(3990, RealHints.EXPONENT_2);
+        assertEquals(CodecReturnCodes.SUCCESS, fieldEntry.encode(encodeIter, real));
+        fieldEntry.fieldId(25);
+        real.value(3994, RealHints.EXPONENT_2);
+        assertEquals(CodecReturnCodes.SUCCESS, fieldEntry.encode(encodeIter, real));
+        assertEquals(CodecReturnCodes.SUCCESS, fieldList.encodeComplete(encodeIter, true));
+        assertEquals(CodecReturnCodes.SUCCESS, updateMsg.encodeComplete(encodeIter, true));
+
+        buffer.data(data, 0, data.position());
+        return buffer;
+    }
+}
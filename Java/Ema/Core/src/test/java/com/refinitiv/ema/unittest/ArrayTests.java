@@ -79,6 +79,8 @@ public class ArrayTests
 		testArrayInt_Encode( true );
 		testArrayBuffer_EncodeDecode(false);
 		testArrayBuffer_EncodeDecode(true);
+		testArrayFixedWidthSetAfterEntries_Encode();
+		testArrayEntryFailsToEncode_Encode();
 
         testArray_EncodeETA_DecodeEMA_EncodeEMA_DecodeETA();
 	}
@@ -2123,6 +2125,100 @@ public class ArrayTests
 		TestUtilities.checkResult( intValue.toLong()  == -33, "decoded Int == -33" );
 	}
 
+	void testArrayFixedWidthSetAfterEntries_Encode()
+	{
+		TestUtilities.printTestHead("testArrayFixedWidthSetAfterEntries_Encode", "Encoding Int OmmArray with fixed width set before and after its entries\n");
+
+		OmmArray encArrayWidthFirst = EmaFactory.createOmmArray();
+		encArrayWidthFirst.fixedWidth( 4 );
+		OmmArray encArrayWidthLast = EmaFactory.createOmmArray();
+		try {
+			for ( int i = 0; i < 100; ++i )
+			{
+				encArrayWidthFirst.add(EmaFactory.createOmmArrayEntry().intValue( -i ));
+				encArrayWidthLast.add(EmaFactory.createOmmArrayEntry().intValue( -i ));
+			}
+			encArrayWidthLast.fixedWidth( 4 );
+
+			Buffer bufWidthFirst = CodecFactory.createBuffer();
+			bufWidthFirst.data(ByteBuffer.allocate(1000));
+			JUnitTestConnect.setRsslData(bufWidthFirst, encArrayWidthFirst);
+
+			Buffer bufWidthLast = CodecFactory.createBuffer();
+			bufWidthLast.data(ByteBuffer.allocate(1000));
+			JUnitTestConnect.setRsslData(bufWidthLast, encArrayWidthLast);
+
+			TestUtilities.checkResult( bufWidthFirst.equals(bufWidthLast), "OmmArray encodes the same whether its fixed width is set before or after its entries" );
+
+			OmmArray decArray = JUnitTestConnect.createOmmArray();
+			JUnitTestConnect.setRsslData(decArray, encArrayWidthLast, Codec.majorVersion(), Codec.minorVersion(), null, null);
+
+			TestUtilities.checkResult( decArray.hasFixedWidth() && decArray.fixedWidth() == 4, "OmmArray with fixed width set after entries - getFixedWidth()" );
+			TestUtilities.checkResult( decArray.size() == 100, "OmmArray with fixed width set after entries - size()" );
+		}
+		catch (  OmmException excp )
+		{
+			TestUtilities.checkResult( false, "Encode OmmArray with fixed width set after entries - exception not expected: " + excp.getMessage() );
+		}
+	}
+
+	void testArrayEntryFailsToEncode_Encode()
+	{
+		TestUtilities.printTestHead("testArrayEntryFailsToEncode_Encode", "Encoding OmmArray with an entry failing to encode between valid entries\n");
+
+		OmmArray encArray = EmaFactory.createOmmArray();
+		encArray.fixedWidth( 1 );
+		encArray.add(EmaFactory.createOmmArrayEntry().intValue( 1 ));
+		encArray.add(EmaFactory.createOmmArrayEntry().intValue( 300 ));
+		encArray.add(EmaFactory.createOmmArrayEntry().intValue( 3 ));
+
+		try {
+			Buffer buf = CodecFactory.createBuffer();
+			buf.data(ByteBuffer.allocate(1000));
+			JUnitTestConnect.setRsslData(buf, encArray);
+			TestUtilities.checkResult( false, "Encode OmmArray with value out of fixed width range - exception expected" );
+		}
+		catch (  OmmException excp )
+		{
+			TestUtilities.checkResult( excp.getMessage().contains("Out of range value for the specified fixed width in encoding entry of Int type. Fixed width='1' value='300'"),
+					"Encode OmmArray with value out of fixed width range - exception expected: " + excp.getMessage() );
+		}
+
+		encArray.clear();
+		encArray.add(EmaFactory.createOmmArrayEntry().intValue( 1 ));
+		encArray.add(EmaFactory.createOmmArrayEntry().ascii( "ABC" ));
+
+		try {
+			Buffer buf = CodecFactory.createBuffer();
+			buf.data(ByteBuffer.allocate(1000));
+			JUnitTestConnect.setRsslData(buf, encArray);
+			TestUtilities.checkResult( false, "Encode OmmArray with entries of different types - exception expected" );
+		}
+		catch (  OmmException excp )
+		{
+			TestUtilities.checkResult( excp.getMessage().contains("Attempt to add entry of"),
+					"Encode OmmArray with entries of different types - exception expected: " + excp.getMessage() );
+		}
+
+		try {
+			encArray.clear();
+			encArray.add(EmaFactory.createOmmArrayEntry().intValue( -11 ));
+			encArray.add(EmaFactory.createOmmArrayEntry().intValue( 22 ));
+
+			OmmArray decArray = JUnitTestConnect.createOmmArray();
+			JUnitTestConnect.setRsslData(decArray, encArray, Codec.majorVersion(), Codec.minorVersion(), null, null);
+
+			Iterator<OmmArrayEntry> iter = decArray.iterator();
+			TestUtilities.checkResult( iter.hasNext() && iter.next().intValue() == -11, "OmmArray after clear - first entry" );
+			TestUtilities.checkResult( iter.hasNext() && iter.next().intValue() == 22, "OmmArray after clear - second entry" );
+			TestUtilities.checkResult( !iter.hasNext(), "OmmArray after clear - no more entries" );
+		}
+		catch (  OmmException excp )
+		{
+			TestUtilities.checkResult( false, "Encode OmmArray reused after an entry failed to encode - exception not expected: " + excp.getMessage() );
+		}
+	}
+
 	void testArrayBuffer_EncodeDecode( boolean fixedSize )
 	{
 		String appendText = fixedSize ?  "fixed size\n"  : "varying size\n";
@@ -10,6 +10,8 @@ package com.refinitiv.ema.unittest;
 import com.refinitiv.ema.access.*;
 import junit.framework.TestCase;
 
+import java.io.File;
+import java.io.IOException;
 import java.nio.ByteBuffer;
 import java.util.List;
 
@@ -396,6 +398,44 @@ public class DataDictionaryJunitTest extends TestCase {
 		}
 	}
 	
+	@Test
+	public void testDataDictionary_saveAndLoadBinaryDictionary() throws IOException
+	{
+		TestUtilities.printTestHead("testDataDictionary_saveAndLoadBinaryDictionary()","Test save dictionary information to a binary dictionary file and load it");
+		
+		File binaryFile = File.createTempFile("RDMTestDictionary", ".bin");
+		binaryFile.deleteOnExit();
+		
+		DataDictionary dataDictionary = EmaFactory.createDataDictionary();
+		
+		try
+		{
+			dataDictionary.saveBinaryDictionary(binaryFile.getPath());
+			TestUtilities.checkResult(false, "DataDictionary.saveBinaryDictionary() with no dictionary information - exception expected");
+		}
+		catch(OmmException excp)
+		{
+			TestUtilities.checkResult(excp.exceptionType() == OmmException.ExceptionType.OmmInvalidUsageException, "OmmException.exceptionType()");
+		}
+		
+		try
+		{
+			globalDataDictionary.saveBinaryDictionary(binaryFile.getPath());
+			
+			dataDictionary.loadFieldDictionary(binaryFile.getPath());
+			dataDictionary.loadEnumTypeDictionary(binaryFile.getPath());
+			
+			TestUtilities.checkResult(true, "DataDictionary.saveBinaryDictionary() and loading the binary dictionary - exception not expected");
+		}
+		catch(OmmException excp)
+		{
+			TestUtilities.checkResult(false, "DataDictionary.saveBinaryDictionary() and loading the binary dictionary - exception not expected: " + excp.getMessage());
+		}
+		
+		comparingDataDictionary(globalEtaDataDictionary, dataDictionary, false);
+		TestUtilities.checkResult(globalDataDictionary.toString().equals(dataDictionary.toString()), "DataDictionary.toString() of binary dictionary");
+	}
+	
 	@Test
 	public void testDataDictionary_Uninitialize()
 	{
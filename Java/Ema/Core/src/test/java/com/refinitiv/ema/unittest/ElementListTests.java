@@ -324,6 +324,83 @@ public class ElementListTests extends TestCase
         TestUtilities.checkResult("Empty ElementList types - hasNext()", !iter.hasNext());
 	}
 
+	public void testElementList_EncodeEMA_InfoSetAfterEntries()
+	{
+		TestUtilities.printTestHead("testElementList_EncodeEMA_InfoSetAfterEntries", "Encode ElementList with info set before and after its entries");
+		
+		ElementList elementListInfoFirst = EmaFactory.createElementList();
+		elementListInfoFirst.info(5);
+		ElementList elementListInfoLast = EmaFactory.createElementList();
+		
+		try {
+		for (int i = 0; i < 100; ++i)
+		{
+			elementListInfoFirst.add(EmaFactory.createElementEntry().uintValue("Element" + i, i));
+			elementListInfoLast.add(EmaFactory.createElementEntry().uintValue("Element" + i, i));
+		}
+		elementListInfoLast.info(5);
+		
+		Buffer encodedInfoFirst = CodecFactory.createBuffer();
+		encodedInfoFirst.data(ByteBuffer.allocate(4096));
+		JUnitTestConnect.setRsslData(encodedInfoFirst, elementListInfoFirst);
+		
+		Buffer encodedInfoLast = CodecFactory.createBuffer();
+		encodedInfoLast.data(ByteBuffer.allocate(4096));
+		JUnitTestConnect.setRsslData(encodedInfoLast, elementListInfoLast);
+		
+		TestUtilities.checkResult( "ElementList encodes the same whether its info is set before or after its entries", encodedInfoFirst.equals(encodedInfoLast));
+		
+		ElementList elementListDec = JUnitTestConnect.createElementList();
+		JUnitTestConnect.setRsslData(elementListDec, elementListInfoLast, Codec.majorVersion(), Codec.minorVersion(), null, null);
+		
+		TestUtilities.checkResult( "ElementList info", elementListDec.hasInfo() && elementListDec.infoElementListNum() == 5);
+		TestUtilities.checkResult( "ElementList size", elementListDec.size() == 100);
+		}
+		catch(OmmException excp)
+		{
+			TestUtilities.checkResult( "Exception not expected (ElementList info set after entries - exception) : " + excp.getMessage(),  false);
+		}
+	}
+	
+	public void testElementList_EncodeEMA_EntryFailsToEncode()
+	{
+		TestUtilities.printTestHead("testElementList_EncodeEMA_EntryFailsToEncode", "Encode ElementList with an entry failing to encode between valid entries");
+		
+		ElementList elEnc = EmaFactory.createElementList();
+		elEnc.add(EmaFactory.createElementEntry().uintValue("Element1", 1));
+		elEnc.add(EmaFactory.createElementEntry().state("Element2", 0, OmmState.DataState.OK));
+		elEnc.add(EmaFactory.createElementEntry().uintValue("Element3", 3));
+		
+		try {
+			ElementList elDec = JUnitTestConnect.createElementList();
+			JUnitTestConnect.setRsslData(elDec, elEnc, Codec.majorVersion(), Codec.minorVersion(), null, null);
+			TestUtilities.checkResult( "ElementList with an entry failing to encode - exception expected",  false);
+		}
+		catch(OmmException excp)
+		{
+			TestUtilities.checkResult( "ElementList with an entry failing to encode - exception expected : " + excp.getMessage(),
+					excp.getMessage().contains("Failed to rsslElementEntry.encode() while encoding rssl elementlist. Reason='INVALID_DATA'"));
+		}
+		
+		try {
+			elEnc.clear();
+			elEnc.add(EmaFactory.createElementEntry().uintValue("Element1", 1));
+			elEnc.add(EmaFactory.createElementEntry().ascii("Element2", "ABC"));
+			
+			ElementList elDec = JUnitTestConnect.createElementList();
+			JUnitTestConnect.setRsslData(elDec, elEnc, Codec.majorVersion(), Codec.minorVersion(), null, null);
+			
+			Iterator<ElementEntry> iter = elDec.iterator();
+			TestUtilities.checkResult( "ElementList after clear - first entry", iter.hasNext() && iter.next().uintValue() == 1);
+			TestUtilities.checkResult( "ElementList after clear - second entry", iter.hasNext() && iter.next().ascii().ascii().equals("ABC"));
+			TestUtilities.checkResult( "ElementList after clear - no more entries", !iter.hasNext());
+		}
+		catch(OmmException excp)
+		{
+			TestUtilities.checkResult( "Exception not expected (ElementList reused after an entry failed to encode - exception) : " + excp.getMessage(),  false);
+		}
+	}
+	
 	public void testElementList_EncodeEMA_DecodeEMA_DecodeAll()
 	{
 		TestUtilities.printTestHead("testElementList_EncodeEMA_DecodeEMA_DecodeAll", "Encode ElementList with EMA and Decode ElementList with EMA");
@@ -296,6 +296,45 @@ public class FieldListTests extends TestCase
         }
 	}
 	
+	public void testFieldList_EncodeEMA_InfoSetAfterEntries()
+	{
+		TestUtilities.printTestHead("testFieldList_EncodeEMA_InfoSetAfterEntries", "Encode large fieldlist with info set before and after its entries");
+		
+		FieldList fieldListInfoFirst = EmaFactory.createFieldList();
+		fieldListInfoFirst.info(1, 65);
+		FieldList fieldListInfoLast = EmaFactory.createFieldList();
+		
+		try {
+		for (int i = 0; i < 1000; ++i)
+		{
+			fieldListInfoFirst.add(EmaFactory.createFieldEntry().real(22, i * 1000, OmmReal.MagnitudeType.EXPONENT_NEG_2));
+			fieldListInfoLast.add(EmaFactory.createFieldEntry().real(22, i * 1000, OmmReal.MagnitudeType.EXPONENT_NEG_2));
+		}
+		fieldListInfoLast.info(1, 65);
+		
+		Buffer encodedInfoFirst = CodecFactory.createBuffer();
+		encodedInfoFirst.data(ByteBuffer.allocate(16384));
+		JUnitTestConnect.setRsslData(encodedInfoFirst, fieldListInfoFirst);
+		
+		Buffer encodedInfoLast = CodecFactory.createBuffer();
+		encodedInfoLast.data(ByteBuffer.allocate(16384));
+		JUnitTestConnect.setRsslData(encodedInfoLast, fieldListInfoLast);
+		
+		TestUtilities.checkResult( "FieldList is larger than the initial encode buffer", encodedInfoFirst.length() > 4096);
+		TestUtilities.checkResult( "FieldList encodes the same whether its info is set before or after its entries", encodedInfoFirst.equals(encodedInfoLast));
+		
+		FieldList fieldListDec = JUnitTestConnect.createFieldList();
+		JUnitTestConnect.setRsslData(fieldListDec, fieldListInfoLast, Codec.majorVersion(), Codec.minorVersion(), TestUtilities.getDataDictionary(), null);
+		
+		TestUtilities.checkResult( "FieldList info", fieldListDec.hasInfo() && fieldListDec.infoFieldListNum() == 65 && fieldListDec.infoDictionaryId() == 1);
+		TestUtilities.checkResult( "FieldList size", fieldListDec.size() == 1000);
+        }
+        catch(OmmException excp)
+        {
+        	TestUtilities.checkResult( "Exception not expected (large FieldList - exception) : " + excp.getMessage(),  false);
+        }
+	}
+	
 	public void testFieldList_EncodeEMA_DecodeEMA_DecodeAll() throws UnsupportedEncodingException
 	{
 		TestUtilities.printTestHead("testFieldList_EncodeEMA_DecodeEMA_DecodeAll", "Encode FieldList with EMA and Decode FieldList with EMA");
@@ -267,6 +267,71 @@ public class MapTests extends TestCase
 		}		
 	}
 	
+	public void testMapHeaderSetAfterEntries_Encode_Decode()
+	{
+		TestUtilities.printTestHead("testMapHeaderSetAfterEntries_Encode_Decode","Encode large Map with header set before and after its entries");
+		
+		try
+		{
+		FieldList summaryData = EmaFactory.createFieldList();
+		summaryData.add(EmaFactory.createFieldEntry().uintValue(1, 4563));
+		
+		Map mapHeaderFirst = EmaFactory.createMap();
+		mapHeaderFirst.keyFieldId(3426).totalCountHint(500).summaryData(summaryData);
+		
+		Map mapHeaderLast = EmaFactory.createMap();
+		
+		FieldList fieldList = EmaFactory.createFieldList();
+		for (int i = 0; i < 500; ++i)
+		{
+			fieldList.clear();
+			fieldList.add(EmaFactory.createFieldEntry().real(22, 3990 + i, OmmReal.MagnitudeType.EXPONENT_NEG_2));
+			fieldList.add(EmaFactory.createFieldEntry().ascii(235, "Item" + i));
+			
+			mapHeaderFirst.add(EmaFactory.createMapEntry().keyAscii("Key" + i, MapEntry.MapAction.ADD, fieldList));
+			mapHeaderLast.add(EmaFactory.createMapEntry().keyAscii("Key" + i, MapEntry.MapAction.ADD, fieldList));
+		}
+		
+		mapHeaderLast.keyFieldId(3426).totalCountHint(500).summaryData(summaryData);
+		
+		com.refinitiv.eta.codec.Buffer encodedHeaderFirst = CodecFactory.createBuffer();
+		encodedHeaderFirst.data(ByteBuffer.allocate(65536));
+		JUnitTestConnect.setRsslData(encodedHeaderFirst, mapHeaderFirst);
+		
+		com.refinitiv.eta.codec.Buffer encodedHeaderLast = CodecFactory.createBuffer();
+		encodedHeaderLast.data(ByteBuffer.allocate(65536));
+		JUnitTestConnect.setRsslData(encodedHeaderLast, mapHeaderLast);
+		
+		TestUtilities.checkResult( encodedHeaderFirst.length() > 4096, "Check the Map is larger than the initial encode buffer" );
+		TestUtilities.checkResult( encodedHeaderFirst.equals(encodedHeaderLast), "Check the Map encodes the same whether its header is set before or after its entries" );
+		
+		Map mapDec = JUnitTestConnect.createMap();
+		JUnitTestConnect.setRsslData(mapDec, mapHeaderLast, Codec.majorVersion(), Codec.minorVersion(), TestUtilities.getDataDictionary(), null);
+		
+		TestUtilities.checkResult( mapDec.hasKeyFieldId() && mapDec.keyFieldId() == 3426, "Check the key field id of the Map" );
+		TestUtilities.checkResult( mapDec.hasTotalCountHint() && mapDec.totalCountHint() == 500, "Check the total count hint of the Map" );
+		TestUtilities.checkResult( mapDec.summaryData().dataType() == DataType.DataTypes.FIELD_LIST, "Check the data type of the summary data" );
+		
+		int entryCount = 0;
+		for (MapEntry mapEntry : mapDec)
+		{
+			if (entryCount == 499)
+			{
+				TestUtilities.checkResult( mapEntry.key().ascii().ascii().equals("Key499"), "Check the key value of the last Map entry" );
+				TestUtilities.checkResult( mapEntry.fieldList().iterator().next().real().mantissa() == 4489, "Check the payload of the last Map entry" );
+			}
+			++entryCount;
+		}
+		
+		TestUtilities.checkResult( entryCount == 500, "Check the number of Map entries" );
+		}
+		catch( OmmException excp)
+		{
+			TestUtilities.checkResult( false, "Fails to encode large Map - exception not expected with text : " +  excp.getMessage()  );
+			return;
+		}		
+	}
+	
 	public void testMapEntryKeyAsciiWithNoPayload_Encode_Decode()
 	{
 		TestUtilities.printTestHead("testMapEntryKeyAsciiWithNoPayload_Encode_Decode","Encode and decode Map with no payload for ascii key entry");
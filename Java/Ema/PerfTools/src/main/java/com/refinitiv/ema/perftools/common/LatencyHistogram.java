@@ -0,0 +1,136 @@
+package com.refinitiv.ema.perftools.common;
+
+import java.io.PrintWriter;
+import java.util.Arrays;
+
+/**
+ * Log-bucketed histogram of latency values (in microseconds), used to report
+ * latency percentiles.
+ *
+ * Values are recorded with a resolution of one nanosecond and a relative error
+ * of less than 1/128 (each power of two is split into 128 sub-buckets), up to
+ * about 18 minutes; larger values are counted in the highest bucket. Negative
+ * values, which can be seen when the clocks of two hosts differ, are counted as zero.
+ */
+public class LatencyHistogram
+{
+	private static final int SUB_BUCKET_BITS = 8;
+	private static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+	private static final int SUB_BUCKET_HALF_COUNT = SUB_BUCKET_COUNT / 2;
+	private static final int SUB_BUCKET_MASK = SUB_BUCKET_COUNT - 1;
+	private static final int BUCKET_COUNT = 33;	// values up to 2^40 nanoseconds
+	private static final long HIGHEST_VALUE = ((long)SUB_BUCKET_COUNT << (BUCKET_COUNT - 1)) - 1;
+	private static final double UNITS_PER_USEC = 1000.0;
+
+	private final long[] _counts = new long[(BUCKET_COUNT + 1) * SUB_BUCKET_HALF_COUNT];
+	private long _totalCount;
+	private int _maxIndex = -1;	// Highest index with a count, limits the work of clear() and percentile().
+
+	/**
+	 *  Records a latency value.
+	 *
+	 * @param valueUsec the latency in microseconds
+	 */
+	public void record(double valueUsec)
+	{
+		long value = valueUsec > 0 ? (long)(valueUsec * UNITS_PER_USEC + 0.5) : 0;
+		int index = countsIndex(value < HIGHEST_VALUE ? value : HIGHEST_VALUE);
+		++_counts[index];
+		++_totalCount;
+		if (index > _maxIndex)
+			_maxIndex = index;
+	}
+
+	/** Clears the histogram. */
+	public void clear()
+	{
+		if (_maxIndex >= 0)
+			Arrays.fill(_counts, 0, _maxIndex + 1, 0);
+		_totalCount = 0;
+		_maxIndex = -1;
+	}
+
+	/**
+	 *  Total number of recorded values.
+	 *
+	 * @return the long
+	 */
+	public long count()
+	{
+		return _totalCount;
+	}
+
+	/**
+	 *  Value below or at which the given percentage of the recorded values fall.
+	 *  The highest value that is equivalent to the bucket of that value is returned.
+	 *
+	 * @param percentile the percentile, from 0 to 100
+	 * @return the value in microseconds, or 0 if no value was recorded
+	 */
+	public double percentile(double percentile)
+	{
+		if (_totalCount == 0)
+			return 0;
+
+		long countAtPercentile = (long)Math.ceil(Math.min(percentile, 100.0) / 100.0 * _totalCount);
+		if (countAtPercentile < 1)
+			countAtPercentile = 1;
+
+		long count = 0;
+		for (int i = 0; i <= _maxIndex; i++)
+		{
+			count += _counts[i];
+			if (count >= countAtPercentile)
+				return highestEquivalentValue(i) / UNITS_PER_USEC;
+		}
+
+		return highestEquivalentValue(_maxIndex) / UNITS_PER_USEC;
+	}
+
+	/**
+	 *  Writes every non-empty bucket of the histogram, for comparing the latency
+	 *  distributions of different runs. Each line holds the highest value of the bucket
+	 *  in microseconds, the number of values in the bucket, the number of values
+	 *  at or below the bucket and the matching percentile.
+	 *
+	 * @param name the name printed in the header of the histogram
+	 * @param fileWriter the writer to print to
+	 */
+	public void dump(String name, PrintWriter fileWriter)
+	{
+		fileWriter.printf("%s\n", name);
+		fileWriter.printf("Value (usec), Count, Total count, Percentile\n");
+
+		long count = 0;
+		for (int i = 0; i <= _maxIndex; i++)
+		{
+			if (_counts[i] == 0)
+				continue;
+
+			count += _counts[i];
+			fileWriter.printf("%.3f, %d, %d, %.6f\n",
+					highestEquivalentValue(i) / UNITS_PER_USEC,
+					_counts[i],
+					count,
+					100.0 * count / _totalCount);
+		}
+		fileWriter.printf("\n");
+	}
+
+	private static int countsIndex(long value)
+	{
+		int bucketIndex = (64 - Long.numberOfLeadingZeros(value | SUB_BUCKET_MASK)) - SUB_BUCKET_BITS;
+		int subBucketIndex = (int)(value >>> bucketIndex);
+		return bucketIndex * SUB_BUCKET_HALF_COUNT + subBucketIndex;
+	}
+
+	private static long highestEquivalentValue(int index)
+	{
+		if (index < SUB_BUCKET_COUNT)
+			return index;
+
+		int bucketIndex = index / SUB_BUCKET_HALF_COUNT - 1;
+		long subBucketIndex = index - bucketIndex * SUB_BUCKET_HALF_COUNT;
+		return ((subBucketIndex + 1) << bucketIndex) - 1;
+	}
+}
@@ -0,0 +1,254 @@
+package com.refinitiv.ema.perftools.common;
+
+import java.nio.ByteBuffer;
+
+import com.refinitiv.eta.codec.Buffer;
+import com.refinitiv.eta.codec.DataTypes;
+import com.refinitiv.eta.codec.Date;
+import com.refinitiv.eta.codec.DateTime;
+import com.refinitiv.eta.codec.Int;
+import com.refinitiv.eta.codec.Qos;
+import com.refinitiv.eta.codec.QosRates;
+import com.refinitiv.eta.codec.QosTimeliness;
+import com.refinitiv.eta.codec.Real;
+import com.refinitiv.eta.codec.State;
+import com.refinitiv.eta.codec.Time;
+import com.refinitiv.eta.codec.UInt;
+import com.refinitiv.ema.access.EmaFactory;
+import com.refinitiv.ema.access.FieldEntry;
+import com.refinitiv.ema.access.FieldList;
+import com.refinitiv.ema.access.OmmQos;
+
+/**
+ * Provides the MarketPrice payloads of the messages of the XML message data,
+ * as EMA field lists.
+ * <p>
+ * The field lists are built once from the message data and reused for every
+ * message sent, a field list being encoded only once. A message carrying a
+ * latency timestamp gets a field list of its own, made of the same field
+ * entries followed by the timestamp entry. An encoder is used by one thread
+ * only.
+ */
+public class MarketPriceEncoder
+{
+	private static final int TIM_TRK_1_FID = 3902; // Field TIM_TRK_1 is used to send update latency.
+	private static final int TIM_TRK_2_FID = 3903; // Field TIM_TRK_2 is used to send post latency.
+	private static final int TIM_TRK_3_FID = 3904; // Field TIM_TRK_3 is used to send generic msg latency.
+
+	private XmlMsgData _xmlMsgData;         // XML file message data
+	private FieldList _refreshFieldList;    // refresh payload
+	private FieldEntry[][] _updateEntries;  // field entries of each update
+	private FieldList[] _updateFieldLists;  // payload of each update
+	private FieldEntry[][] _genMsgEntries;  // field entries of each generic msg
+	private FieldList[] _genMsgFieldLists;  // payload of each generic msg
+
+	/**
+	 * Instantiates a new market price encoder.
+	 *
+	 * @param msgData the msg data
+	 */
+	public MarketPriceEncoder(XmlMsgData msgData)
+	{
+		_xmlMsgData = msgData;
+
+		// Include the latency time fields in refreshes.
+		_refreshFieldList = EmaFactory.createFieldList();
+		addEntries(_refreshFieldList, fieldEntries(_xmlMsgData.marketPriceRefreshMsg()));
+		_refreshFieldList.add(EmaFactory.createFieldEntry().codeUInt(TIM_TRK_1_FID));
+		_refreshFieldList.add(EmaFactory.createFieldEntry().codeUInt(TIM_TRK_2_FID));
+		_refreshFieldList.add(EmaFactory.createFieldEntry().codeUInt(TIM_TRK_3_FID));
+
+		_updateEntries = new FieldEntry[_xmlMsgData.marketPriceUpdateMsgCount()][];
+		_updateFieldLists = new FieldList[_updateEntries.length];
+		for (int i = 0; i < _updateEntries.length; ++i)
+		{
+			_updateEntries[i] = fieldEntries(_xmlMsgData.marketPriceUpdateMsgs()[i]);
+			_updateFieldLists[i] = EmaFactory.createFieldList();
+			addEntries(_updateFieldLists[i], _updateEntries[i]);
+		}
+
+		_genMsgEntries = new FieldEntry[_xmlMsgData.marketPriceGenMsgCount()][];
+		_genMsgFieldLists = new FieldList[_genMsgEntries.length];
+		for (int i = 0; i < _genMsgEntries.length; ++i)
+		{
+			_genMsgEntries[i] = fieldEntries(_xmlMsgData.marketPriceGenMsgs()[i]);
+			_genMsgFieldLists[i] = EmaFactory.createFieldList();
+			addEntries(_genMsgFieldLists[i], _genMsgEntries[i]);
+		}
+	}
+
+	/**
+	 *  Payload of the MarketPrice refresh.
+	 *
+	 * @return the field list
+	 */
+	public FieldList refreshPayload()
+	{
+		return _refreshFieldList;
+	}
+
+	/**
+	 *  Payload of the next MarketPrice update of the item (moves over the list).
+	 *
+	 * @param item the item
+	 * @param encodeStartTime the latency timestamp, in microseconds, 0 if none
+	 * @return the field list
+	 */
+	public FieldList nextUpdatePayload(ProviderItem item, long encodeStartTime)
+	{
+		int index = nextIndex(item, _updateFieldLists.length);
+		if (encodeStartTime > 0)
+			return latencyFieldList(_updateEntries[index], TIM_TRK_1_FID, encodeStartTime);
+		return _updateFieldLists[index];
+	}
+
+	/**
+	 *  Payload of the next MarketPrice generic msg of the item (moves over the list).
+	 *
+	 * @param item the item
+	 * @param encodeStartTime the latency timestamp, in microseconds, 0 if none
+	 * @return the field list
+	 */
+	public FieldList nextGenMsgPayload(ProviderItem item, long encodeStartTime)
+	{
+		int index = nextIndex(item, _genMsgFieldLists.length);
+		if (encodeStartTime > 0)
+			return latencyFieldList(_genMsgEntries[index], TIM_TRK_3_FID, encodeStartTime);
+		return _genMsgFieldLists[index];
+	}
+
+	/* Moves the item to its next message, of the count given. */
+	private int nextIndex(ProviderItem item, int msgCount)
+	{
+		int index = item.iMsg();
+		if (index >= msgCount)
+			index = 0;
+		item.iMsg(index + 1 == msgCount ? 0 : index + 1);
+		return index;
+	}
+
+	/* Creates a field list of the entries given, followed by the latency timestamp. The field
+	 * list shares its entries so it must not be cleared. */
+	private FieldList latencyFieldList(FieldEntry[] fieldEntries, int timeFieldId, long encodeStartTime)
+	{
+		FieldList fieldList = EmaFactory.createFieldList();
+		addEntries(fieldList, fieldEntries);
+		fieldList.add(EmaFactory.createFieldEntry().uintValue(timeFieldId, encodeStartTime));
+		return fieldList;
+	}
+
+	private static void addEntries(FieldList fieldList, FieldEntry[] fieldEntries)
+	{
+		for (int i = 0; i < fieldEntries.length; ++i)
+			fieldList.add(fieldEntries[i]);
+	}
+
+	/* Converts the fields of a message of the XML message data to EMA field entries. */
+	private static FieldEntry[] fieldEntries(MarketPriceMsg mpMsg)
+	{
+		if (mpMsg == null)
+			return new FieldEntry[0];
+
+		FieldEntry[] fieldEntries = new FieldEntry[mpMsg.fieldEntryCount()];
+		for (int i = 0; i < fieldEntries.length; ++i)
+			fieldEntries[i] = fieldEntry(mpMsg.fieldEntries()[i]);
+		return fieldEntries;
+	}
+
+	/**
+	 *  Converts a field of the XML message data to an EMA field entry.
+	 *
+	 * @param marketField the market field
+	 * @return the field entry
+	 */
+	public static FieldEntry fieldEntry(MarketField marketField)
+	{
+		FieldEntry fieldEntry = EmaFactory.createFieldEntry();
+		int fieldId = marketField.fieldEntry().fieldId();
+		Object value = marketField.value();
+
+		switch (marketField.fieldEntry().dataType())
+		{
+			case DataTypes.INT:
+				return ((Int)value).isBlank() ? fieldEntry.codeInt(fieldId) : fieldEntry.intValue(fieldId, ((Int)value).toLong());
+			case DataTypes.UINT:
+				return ((UInt)value).isBlank() ? fieldEntry.codeUInt(fieldId) : fieldEntry.uintValue(fieldId, ((UInt)value).toLong());
+			case DataTypes.FLOAT:
+				com.refinitiv.eta.codec.Float floatValue = (com.refinitiv.eta.codec.Float)value;
+				return floatValue.isBlank() ? fieldEntry.codeFloat(fieldId) : fieldEntry.floatValue(fieldId, floatValue.toFloat());
+			case DataTypes.DOUBLE:
+				com.refinitiv.eta.codec.Double doubleValue = (com.refinitiv.eta.codec.Double)value;
+				return doubleValue.isBlank() ? fieldEntry.codeDouble(fieldId) : fieldEntry.doubleValue(fieldId, doubleValue.toDouble());
+			case DataTypes.REAL:
+				Real real = (Real)value;
+				// OmmReal magnitude types have the values of the ETA real hints
+				return real.isBlank() ? fieldEntry.codeReal(fieldId) : fieldEntry.real(fieldId, real.toLong(), real.hint());
+			case DataTypes.DATE:
+				Date date = (Date)value;
+				return date.isBlank() ? fieldEntry.codeDate(fieldId) : fieldEntry.date(fieldId, date.year(), date.month(), date.day());
+			case DataTypes.TIME:
+				Time time = (Time)value;
+				return time.isBlank() ? fieldEntry.codeTime(fieldId)
+						: fieldEntry.time(fieldId, time.hour(), time.minute(), time.second(), time.millisecond(), time.microsecond(), time.nanosecond());
+			case DataTypes.DATETIME:
+				DateTime dateTime = (DateTime)value;
+				return dateTime.isBlank() ? fieldEntry.codeDateTime(fieldId)
+						: fieldEntry.dateTime(fieldId, dateTime.year(), dateTime.month(), dateTime.day(), dateTime.hour(),
+								dateTime.minute(), dateTime.second(), dateTime.millisecond(), dateTime.microsecond(), dateTime.nanosecond());
+			case DataTypes.QOS:
+				Qos qos = (Qos)value;
+				return fieldEntry.qos(fieldId, qosTimeliness(qos), qosRate(qos));
+			case DataTypes.STATE:
+				State state = (State)value;
+				return fieldEntry.state(fieldId, state.streamState(), state.dataState(), state.code(), state.text().toString());
+			case DataTypes.ENUM:
+				com.refinitiv.eta.codec.Enum enumValue = (com.refinitiv.eta.codec.Enum)value;
+				return enumValue.isBlank() ? fieldEntry.codeEnum(fieldId) : fieldEntry.enumValue(fieldId, enumValue.toInt());
+			case DataTypes.BUFFER:
+				return fieldEntry.buffer(fieldId, byteBuffer((Buffer)value));
+			case DataTypes.ASCII_STRING:
+				return fieldEntry.ascii(fieldId, ((Buffer)value).toString());
+			case DataTypes.UTF8_STRING:
+				return fieldEntry.utf8(fieldId, byteBuffer((Buffer)value));
+			case DataTypes.RMTES_STRING:
+				return fieldEntry.rmtes(fieldId, byteBuffer((Buffer)value));
+			default:
+				throw new IllegalArgumentException("Unsupported data type " + DataTypes.toString(marketField.fieldEntry().dataType())
+						+ " of field " + fieldId);
+		}
+	}
+
+	private static ByteBuffer byteBuffer(Buffer buffer)
+	{
+		ByteBuffer byteBuffer = ByteBuffer.allocate(buffer.length());
+		buffer.copy(byteBuffer);
+		byteBuffer.flip();
+		return byteBuffer;
+	}
+
+	private static int qosTimeliness(Qos qos)
+	{
+		switch (qos.timeliness())
+		{
+			case QosTimeliness.REALTIME:
+				return OmmQos.Timeliness.REALTIME;
+			case QosTimeliness.DELAYED:
+				return qos.timeInfo();
+			default:
+				return OmmQos.Timeliness.INEXACT_DELAYED;
+		}
+	}
+
+	private static int qosRate(Qos qos)
+	{
+		switch (qos.rate())
+		{
+			case QosRates.TICK_BY_TICK:
+				return OmmQos.Rate.TICK_BY_TICK;
+			case QosRates.TIME_CONFLATED:
+				return qos.rateInfo();
+			default:
+				return OmmQos.Rate.JUST_IN_TIME_CONFLATED;
+		}
+	}
+}
@@ -0,0 +1,599 @@
+package com.refinitiv.ema.perftools.common;
+
+/**
+ * Provides configuration of the emajProvPerf and emajNiProvPerf applications.
+ * The options common to both providers are always available; the item list
+ * options are only available to the non-interactive provider, which publishes
+ * items of its own rather than answering requests.
+ */
+public class ProvPerfConfig
+{
+	public static final int ALWAYS_SEND_LATENCY_UPDATE = -1;
+	public static final int ALWAYS_SEND_LATENCY_GENMSG = -1;
+
+	private String _configString;
+	private static final int DEFAULT_THREAD_COUNT = 1;
+	private int _maxThreads;
+	private ProviderType _providerType;
+
+	/* APPLICATION configuration */
+	private int _runTime;					/* Time application runs before exiting. */
+	private int _ticksPerSec;				/* Main loop ticks per second */
+	private int _threadCount;				/* Number of provider threads. */
+
+	private String _providerName;			/* Name of the IProvider or NiProvider component in EmaConfig.xml. */
+	private String _port;					/* Port the interactive provider listens on, if not the configured one. */
+	private String _username;				/* Username used when logging in, for the non-interactive provider. */
+	private String _serviceName;			/* Name of the service the non-interactive provider publishes. */
+	private boolean _useUserDispatch;		/* Use the EMA USER_DISPATCH model instead of the EMA API_DISPATCH model. */
+
+	private String _itemFilename;			/* File of names of the items the non-interactive provider publishes. */
+	private String _msgFilename;			/* File of data to use for message payloads. */
+	private int _itemPublishCount;			/* Number of items to publish non-interactively. */
+	private int _commonItemCount;			/* Number of items common to all threads, if using multiple threads. */
+
+	private boolean _logLatencyToFile;		/* Whether to log generic message latency information to a file. */
+	private String _latencyFilename;		/* Base name of the latency log file. */
+	private String _summaryFilename;		/* Name of the summary log file. */
+	private String _statsFilename;			/* Base name of the statistics log file. */
+	private int _writeStatsInterval;		/* Controls how often statistics are written. */
+	private boolean _displayStats;			/* Controls whether stats appear on the screen. */
+
+	private int _updatesPerSec;				/* Total update rate per second, per thread. */
+	private int _latencyUpdateRate;			/* Latency update rate per second, per thread. */
+	private int _genMsgsPerSec;				/* Total generic message rate per second, per thread. */
+	private int _latencyGenMsgRate;			/* Latency generic message rate per second, per thread. */
+	private int _refreshBurstSize;			/* Number of refreshes to send in a burst. */
+
+	private int _updatesPerTick;			/* Updates per tick */
+	private int _updatesPerTickRemainder;	/* Updates per tick (remainder) */
+	private int _genMsgsPerTick;			/* Generic msgs per tick */
+	private int _genMsgsPerTickRemainder;	/* Generic msgs per tick (remainder) */
+
+	/* Adds the options of the provider type given. */
+	private void addOptions(ProviderType providerType)
+	{
+		boolean interactive = (providerType == ProviderType.PROVIDER_INTERACTIVE);
+
+		CommandLine.programName(interactive ? "emajProvPerf" : "emajNiProvPerf");
+		CommandLine.addOption("runTime", 360, "Runtime of the application, in seconds");
+		CommandLine.addOption("tickRate", 1000, "Ticks per second");
+		CommandLine.addOption("threads", DEFAULT_THREAD_COUNT, "Number of provider threads to create");
+		CommandLine.addOption("providerName", interactive ? "Perf_IProvider_1" : "Perf_NIProvider_1",
+				"Name of the " + (interactive ? "IProvider" : "NiProvider") + " component in config file EmaConfig.xml that will be used to configure the provider");
+		CommandLine.addOption("useUserDispatch", false, "Use the EMA USER_DISPATCH model instead of the EMA API_DISPATCH model for sending and receiving");
+		CommandLine.addOption("msgFile", "MsgData.xml", "Name of the file that specifies the data content in messages");
+		CommandLine.addOption("latencyFile", "", "Base name of file for logging latency");
+		CommandLine.addOption("summaryFile", interactive ? "ProvSummary.out" : "NIProvSummary.out", "Name of file for logging summary info");
+		CommandLine.addOption("statsFile", interactive ? "ProvStats" : "NIProvStats", "Base name of file for logging periodic statistics");
+		CommandLine.addOption("writeStatsInterval", 5, "Controls how often stats are written to the file");
+		CommandLine.addOption("noDisplayStats", false, "Stop printout of stats to screen");
+		CommandLine.addOption("updateRate", 100000, "Update rate per second, per provider thread");
+		CommandLine.addOption("latencyUpdateRate", "10", "Latency update rate per second, per provider thread (can specify \"all\" to send latency in every update)");
+		CommandLine.addOption("refreshBurstSize", 10, "Number of refreshes to send in a burst(controls granularity of time-checking)");
+
+		if (interactive)
+		{
+			CommandLine.addOption("port", "", "Port number to listen on, overriding the one of the configured server");
+			CommandLine.addOption("genericMsgRate", 0, "Generic Msg rate per second, per provider thread");
+			CommandLine.addOption("genericMsgLatencyRate", "0", "Latency Generic Msg rate per second, per provider thread (can specify \"all\" to send latency in every generic msg)");
+		}
+		else
+		{
+			CommandLine.addOption("uname", "", "Username to use in login request");
+			CommandLine.addOption("serviceName", "NI_PUB", "Name of the provided service");
+			CommandLine.addOption("itemFile", "350k.xml", "Name of the file to get item names from");
+			CommandLine.addOption("itemCount", 100000, "Number of items to publish non-interactively");
+			CommandLine.addOption("commonItemCount", 0, "Number of items common to all providers, if using multiple provider threads");
+		}
+	}
+
+    /**
+     *  Parses command-line arguments to fill in the application's configuration structures.
+     *
+     * @param args the args
+     * @param providerType the provider type
+     * @param maxThreads the max threads
+     */
+	public void init(String[] args, ProviderType providerType, int maxThreads)
+	{
+		_providerType = providerType;
+		addOptions(providerType);
+
+        try
+        {
+        	CommandLine.parseArgs(args);
+        }
+        catch (IllegalArgumentException ile)
+        {
+        	System.err.println("Error loading command line arguments:\t");
+        	System.err.println(ile.getMessage());
+        	System.err.println();
+        	System.err.println(CommandLine.optionHelpString());
+        	System.exit(-1);
+        }
+
+        boolean interactive = (providerType == ProviderType.PROVIDER_INTERACTIVE);
+
+		_maxThreads = maxThreads;
+		_providerName = CommandLine.value("providerName");
+		_useUserDispatch = CommandLine.booleanValue("useUserDispatch");
+		_msgFilename = CommandLine.value("msgFile");
+		_logLatencyToFile = false;
+		_latencyFilename = CommandLine.value("latencyFile");
+		_summaryFilename = CommandLine.value("summaryFile");
+		_statsFilename = CommandLine.value("statsFile");
+		_displayStats = !CommandLine.booleanValue("noDisplayStats");
+		_port = interactive ? CommandLine.value("port") : "";
+		_username = interactive ? "" : CommandLine.value("uname");
+		_serviceName = interactive ? "" : CommandLine.value("serviceName");
+		_itemFilename = interactive ? "" : CommandLine.value("itemFile");
+
+		try
+		{
+			_runTime = CommandLine.intValue("runTime");
+			_ticksPerSec = CommandLine.intValue("tickRate");
+			_threadCount = CommandLine.intValue("threads");
+			_writeStatsInterval = CommandLine.intValue("writeStatsInterval");
+			_refreshBurstSize = CommandLine.intValue("refreshBurstSize");
+			_updatesPerSec = CommandLine.intValue("updateRate");
+
+			String latencyUpdateRate = CommandLine.value("latencyUpdateRate");
+			if ("all".equals(latencyUpdateRate))
+				_latencyUpdateRate = ALWAYS_SEND_LATENCY_UPDATE;
+			else
+				_latencyUpdateRate = Integer.parseInt(latencyUpdateRate);
+
+			if (interactive)
+			{
+				_genMsgsPerSec = CommandLine.intValue("genericMsgRate");
+				String latencyGenMsgRate = CommandLine.value("genericMsgLatencyRate");
+				if ("all".equals(latencyGenMsgRate))
+					_latencyGenMsgRate = ALWAYS_SEND_LATENCY_GENMSG;
+				else
+					_latencyGenMsgRate = Integer.parseInt(latencyGenMsgRate);
+			}
+			else
+			{
+				_itemPublishCount = CommandLine.intValue("itemCount");
+				_commonItemCount = CommandLine.intValue("commonItemCount");
+			}
+		}
+		catch (NumberFormatException ile)
+		{
+			System.err.println("Invalid argument, number expected.\t");
+			System.err.println(ile.getMessage());
+			System.err.println();
+			System.err.println(CommandLine.optionHelpString());
+			System.exit(-1);
+		}
+
+		if (_ticksPerSec < 1)
+		{
+			System.err.println("Config Error: Tick rate cannot be less than 1.");
+			System.out.println(CommandLine.optionHelpString());
+			System.exit(-1);
+		}
+
+		if (_threadCount < 1)
+		{
+			System.err.println("Config Error: Thread count cannot be less than 1.\n");
+			System.out.println(CommandLine.optionHelpString());
+			System.exit(-1);
+		}
+
+		if (_threadCount > _maxThreads)
+		{
+			System.err.println("Config error: Thread count cannot be greater than " + _maxThreads + ".\n");
+			System.out.println(CommandLine.optionHelpString());
+			System.exit(-1);
+		}
+
+		if (_updatesPerSec != 0 && _updatesPerSec < _ticksPerSec)
+		{
+			System.err.println("Config Error: Update rate cannot be less than total ticks per second (unless it is zero).\n");
+			System.out.println(CommandLine.optionHelpString());
+			System.exit(-1);
+		}
+
+		if (_latencyUpdateRate > _updatesPerSec)
+		{
+			System.err.println("Config Error: Latency update rate cannot be greater than total update rate.\n");
+			System.out.println(CommandLine.optionHelpString());
+			System.exit(-1);
+		}
+
+		if (_latencyUpdateRate > _ticksPerSec)
+		{
+			System.err.println("Config Error: Latency Update Rate cannot be greater than tick rate.\n");
+			System.out.println(CommandLine.optionHelpString());
+			System.exit(-1);
+		}
+
+		if (_genMsgsPerSec != 0 && _genMsgsPerSec < _ticksPerSec)
+		{
+			System.err.println("Config Error: Generic message rate cannot be less than total ticks per second (unless it is zero).\n");
+			System.out.println(CommandLine.optionHelpString());
+			System.exit(-1);
+		}
+
+		if (_latencyGenMsgRate > _genMsgsPerSec)
+		{
+			System.err.println("Config Error: Latency Generic Msg Rate cannot be greater than total generic msg rate.\n");
+			System.out.println(CommandLine.optionHelpString());
+			System.exit(-1);
+		}
+
+		if (_latencyGenMsgRate > _ticksPerSec)
+		{
+			System.err.println("Config Error: Latency Generic Message Rate cannot be greater than tick rate.\n");
+			System.out.println(CommandLine.optionHelpString());
+			System.exit(-1);
+		}
+
+		if (_refreshBurstSize < 1)
+		{
+			System.err.println("Config Error: Refresh burst size cannot be less than 1.\n");
+			System.out.println(CommandLine.optionHelpString());
+			System.exit(-1);
+		}
+
+		if (_writeStatsInterval < 1)
+		{
+			System.err.println("Config error: Write Stats Interval cannot be less than 1.\n");
+			System.out.println(CommandLine.optionHelpString());
+			System.exit(-1);
+		}
+
+		if (!interactive)
+		{
+			if (_commonItemCount > _itemPublishCount)
+			{
+				System.err.println("Config Error: Common item count is greater than total item count.\n");
+				System.out.println(CommandLine.optionHelpString());
+				System.exit(-1);
+			}
+
+			if (_commonItemCount > _itemPublishCount / _threadCount)
+			{
+				System.err.printf("Config Error: Common item count (%d) is greater than total item count per thread (%d).\n",
+						_commonItemCount, _itemPublishCount / _threadCount);
+				System.out.println(CommandLine.optionHelpString());
+				System.exit(-1);
+			}
+		}
+
+		_updatesPerTick = _updatesPerSec / _ticksPerSec;
+		_updatesPerTickRemainder = _updatesPerSec % _ticksPerSec;
+		_genMsgsPerTick = _genMsgsPerSec / _ticksPerSec;
+		_genMsgsPerTickRemainder = _genMsgsPerSec % _ticksPerSec;
+
+		createConfigString();
+	}
+
+	/* Create config string. */
+	private void createConfigString()
+	{
+		String useOperationModelUsageString = _useUserDispatch ? "USER_DISPATCH" : "API_DISPATCH";
+
+		_configString = "--- TEST INPUTS ---\n\n" +
+				"          Steady State Time: " + _runTime + " sec\n" +
+				"              Provider Name: " + _providerName + "\n" +
+				(_providerType == ProviderType.PROVIDER_INTERACTIVE ?
+				"                       Port: " + (_port.length() > 0 ? _port : "(use configured)") + "\n" :
+				"                   Username: " + (_username.length() > 0 ? _username : "(use system login name)") + "\n" +
+				"               Service Name: " + _serviceName + "\n" +
+				"                 Item Count: " + _itemPublishCount + "\n" +
+				"          Common Item Count: " + _commonItemCount + "\n" +
+				"                  Item File: " + _itemFilename + "\n") +
+				"               Thread Count: " + _threadCount + "\n" +
+				"                  Tick Rate: " + _ticksPerSec + "\n" +
+				"               Latency File: " + (_latencyFilename.length() > 0 ? _latencyFilename : "(none)") + "\n" +
+				"               Summary File: " + _summaryFilename + "\n" +
+				"       Write Stats Interval: " + _writeStatsInterval + "\n" +
+				"                 Stats File: " + _statsFilename + "\n" +
+				"              Display Stats: " + _displayStats + "\n" +
+				"                Update Rate: " + _updatesPerSec + "\n" +
+				"        Latency Update Rate: " + (_latencyUpdateRate == ALWAYS_SEND_LATENCY_UPDATE ? "all" : _latencyUpdateRate) + "\n" +
+				(_providerType == ProviderType.PROVIDER_INTERACTIVE ?
+				"           Generic Msg Rate: " + _genMsgsPerSec + "\n" +
+				"   Generic Msg Latency Rate: " + (_latencyGenMsgRate == ALWAYS_SEND_LATENCY_GENMSG ? "all" : _latencyGenMsgRate) + "\n" : "") +
+				"         Refresh Burst Size: " + _refreshBurstSize + "\n" +
+				"                  Data File: " + _msgFilename + "\n" +
+				"       OperationModel Usage: " + useOperationModelUsageString + "\n";
+	}
+
+	/**
+	 *  Type of the provider configured.
+	 *
+	 * @return the provider type
+	 */
+	public ProviderType providerType()
+	{
+		return _providerType;
+	}
+
+	/**
+	 *  Time application runs before exiting.
+	 *
+	 * @return the int
+	 */
+	public int runTime()
+	{
+		return _runTime;
+	}
+
+	/**
+	 *  Main loop ticks per second.
+	 *
+	 * @return the int
+	 */
+	public int ticksPerSec()
+	{
+		return _ticksPerSec;
+	}
+
+	/**
+	 *  Number of provider threads.
+	 *
+	 * @return the int
+	 */
+	public int threadCount()
+	{
+		return _threadCount;
+	}
+
+	/**
+	 *  Name of the IProvider or NiProvider component in EmaConfig.xml.
+	 *
+	 * @return the string
+	 */
+	public String providerName()
+	{
+		return _providerName;
+	}
+
+	/**
+	 *  Port the interactive provider listens on, empty to use the configured one.
+	 *
+	 * @return the string
+	 */
+	public String port()
+	{
+		return _port;
+	}
+
+	/**
+	 *  Username used when logging in, for the non-interactive provider.
+	 *
+	 * @return the string
+	 */
+	public String username()
+	{
+		return _username;
+	}
+
+	/**
+	 *  Name of the service the non-interactive provider publishes.
+	 *
+	 * @return the string
+	 */
+	public String serviceName()
+	{
+		return _serviceName;
+	}
+
+	/**
+	 *  Use the EMA USER_DISPATCH model instead of the EMA API_DISPATCH model.
+	 *
+	 * @return true, if successful
+	 */
+	public boolean useUserDispatch()
+	{
+		return _useUserDispatch;
+	}
+
+	/**
+	 *  File of names of the items the non-interactive provider publishes.
+	 *
+	 * @return the string
+	 */
+	public String itemFilename()
+	{
+		return _itemFilename;
+	}
+
+	/**
+	 *  File of data to use for message payloads.
+	 *
+	 * @return the string
+	 */
+	public String msgFilename()
+	{
+		return _msgFilename;
+	}
+
+	/**
+	 *  Number of items to publish non-interactively.
+	 *
+	 * @return the int
+	 */
+	public int itemPublishCount()
+	{
+		return _itemPublishCount;
+	}
+
+	/**
+	 *  Number of items common to all threads, if using multiple threads.
+	 *
+	 * @return the int
+	 */
+	public int commonItemCount()
+	{
+		return _commonItemCount;
+	}
+
+	/**
+	 *  Whether to log generic message latency information to a file.
+	 *
+	 * @return true, if successful
+	 */
+	public boolean logLatencyToFile()
+	{
+		_logLatencyToFile = (_latencyFilename.length() > 0 ? true : false);
+
+		return _logLatencyToFile;
+	}
+
+	/**
+	 *  Base name of the latency log file.
+	 *
+	 * @return the string
+	 */
+	public String latencyFilename()
+	{
+		return _latencyFilename;
+	}
+
+	/**
+	 *  Name of the summary log file.
+	 *
+	 * @return the string
+	 */
+	public String summaryFilename()
+	{
+		return _summaryFilename;
+	}
+
+	/**
+	 *  Base name of the statistics log file.
+	 *
+	 * @return the string
+	 */
+	public String statsFilename()
+	{
+		return _statsFilename;
+	}
+
+	/**
+	 *  Controls how often statistics are written.
+	 *
+	 * @return the int
+	 */
+	public int writeStatsInterval()
+	{
+		return _writeStatsInterval;
+	}
+
+	/**
+	 *  Controls whether stats appear on the screen.
+	 *
+	 * @return true, if successful
+	 */
+	public boolean displayStats()
+	{
+		return _displayStats;
+	}
+
+	/**
+	 *  Total update rate per second, per thread.
+	 *
+	 * @return the int
+	 */
+	public int updatesPerSec()
+	{
+		return _updatesPerSec;
+	}
+
+	/**
+	 *  Latency update rate per second, per thread, or
+	 *  {@link #ALWAYS_SEND_LATENCY_UPDATE} for every update.
+	 *
+	 * @return the int
+	 */
+	public int latencyUpdateRate()
+	{
+		return _latencyUpdateRate;
+	}
+
+	/**
+	 *  Total generic message rate per second, per thread.
+	 *
+	 * @return the int
+	 */
+	public int genMsgsPerSec()
+	{
+		return _genMsgsPerSec;
+	}
+
+	/**
+	 *  Latency generic message rate per second, per thread, or
+	 *  {@link #ALWAYS_SEND_LATENCY_GENMSG} for every generic message.
+	 *
+	 * @return the int
+	 */
+	public int latencyGenMsgRate()
+	{
+		return _latencyGenMsgRate;
+	}
+
+	/**
+	 *  Number of refreshes to send in a burst.
+	 *
+	 * @return the int
+	 */
+	public int refreshBurstSize()
+	{
+		return _refreshBurstSize;
+	}
+
+	/**
+	 *  Updates per tick.
+	 *
+	 * @return the int
+	 */
+	public int updatesPerTick()
+	{
+		return _updatesPerTick;
+	}
+
+	/**
+	 *  Updates per tick (remainder).
+	 *
+	 * @return the int
+	 */
+	public int updatesPerTickRemainder()
+	{
+		return _updatesPerTickRemainder;
+	}
+
+	/**
+	 *  Generic msgs per tick.
+	 *
+	 * @return the int
+	 */
+	public int genMsgsPerTick()
+	{
+		return _genMsgsPerTick;
+	}
+
+	/**
+	 *  Generic msgs per tick (remainder).
+	 *
+	 * @return the int
+	 */
+	public int genMsgsPerTickRemainder()
+	{
+		return _genMsgsPerTickRemainder;
+	}
+
+	/**
+	 *  Converts configuration parameters to a string.
+	 *
+	 * @return the string
+	 */
+	public String toString()
+	{
+		return _configString;
+	}
+}
@@ -0,0 +1,157 @@
+package com.refinitiv.ema.perftools.common;
+
+/**
+ * Item provided by a ProviderThread: the handle it is published on, the
+ * client it is published to and the position of the item in the message data
+ * of the XML file.
+ */
+public class ProviderItem
+{
+	private long				_handle;		// Item handle, assigned by the OmmProvider or the application.
+	private long				_clientHandle;	// Handle of the client session requesting the item, 0 if none.
+	private String				_name;			// Item name.
+	private int					_serviceId;		// Id of the service of the item.
+	private int					_itemFlags;		// See ItemFlags struct
+	private int					_iMsg;			// Index of the next message of the item in the message data.
+	private volatile boolean	_closed;		// Whether the item was closed by the client.
+
+	/**
+	 *  Item handle.
+	 *
+	 * @return the long
+	 */
+	public long handle()
+	{
+		return _handle;
+	}
+
+	/**
+	 *  Item handle.
+	 *
+	 * @param handle the handle
+	 */
+	public void handle(long handle)
+	{
+		_handle = handle;
+	}
+
+	/**
+	 *  Handle of the client session requesting the item, 0 if none.
+	 *
+	 * @return the long
+	 */
+	public long clientHandle()
+	{
+		return _clientHandle;
+	}
+
+	/**
+	 *  Handle of the client session requesting the item.
+	 *
+	 * @param clientHandle the client handle
+	 */
+	public void clientHandle(long clientHandle)
+	{
+		_clientHandle = clientHandle;
+	}
+
+	/**
+	 *  Item name.
+	 *
+	 * @return the string
+	 */
+	public String name()
+	{
+		return _name;
+	}
+
+	/**
+	 *  Item name.
+	 *
+	 * @param name the name
+	 */
+	public void name(String name)
+	{
+		_name = name;
+	}
+
+	/**
+	 *  Id of the service of the item.
+	 *
+	 * @return the int
+	 */
+	public int serviceId()
+	{
+		return _serviceId;
+	}
+
+	/**
+	 *  Id of the service of the item.
+	 *
+	 * @param serviceId the service id
+	 */
+	public void serviceId(int serviceId)
+	{
+		_serviceId = serviceId;
+	}
+
+	/**
+	 *  Item flags, see ItemFlags.
+	 *
+	 * @return the int
+	 */
+	public int itemFlags()
+	{
+		return _itemFlags;
+	}
+
+	/**
+	 *  Item flags, see ItemFlags.
+	 *
+	 * @param itemFlags the item flags
+	 */
+	public void itemFlags(int itemFlags)
+	{
+		_itemFlags = itemFlags;
+	}
+
+	/**
+	 *  Index of the next message of the item in the message data.
+	 *
+	 * @return the int
+	 */
+	public int iMsg()
+	{
+		return _iMsg;
+	}
+
+	/**
+	 *  Index of the next message of the item in the message data.
+	 *
+	 * @param iMsg the i msg
+	 */
+	public void iMsg(int iMsg)
+	{
+		_iMsg = iMsg;
+	}
+
+	/**
+	 *  Whether the item was closed by the client.
+	 *
+	 * @return true, if closed
+	 */
+	public boolean closed()
+	{
+		return _closed;
+	}
+
+	/**
+	 *  Marks the item closed, for the thread providing it to drop it.
+	 *
+	 * @param closed the closed
+	 */
+	public void closed(boolean closed)
+	{
+		_closed = closed;
+	}
+}
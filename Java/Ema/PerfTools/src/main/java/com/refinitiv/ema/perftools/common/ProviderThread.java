@@ -0,0 +1,589 @@
+package com.refinitiv.ema.perftools.common;
+
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.PrintWriter;
+import java.util.ArrayList;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+import com.refinitiv.ema.access.EmaFactory;
+import com.refinitiv.ema.access.GenericMsg;
+import com.refinitiv.ema.access.OmmInvalidUsageException;
+import com.refinitiv.ema.access.OmmProvider;
+import com.refinitiv.ema.access.OmmQos;
+import com.refinitiv.ema.access.OmmState;
+import com.refinitiv.ema.access.RefreshMsg;
+import com.refinitiv.ema.access.UpdateMsg;
+import com.refinitiv.ema.rdm.EmaRdm;
+
+/**
+ * ProviderThreads are used to control individual threads. Each thread sends
+ * the refreshes, updates and generic messages of the items it provides at the
+ * configured rates, in bursts sent at each tick.
+ * <p>
+ * The items to refresh are queued to the thread by {@link #addRefreshItem(ProviderItem)},
+ * which any thread may call; the items refreshed then get updates and generic
+ * messages. The counters of the thread are each written by a single thread,
+ * either this thread or the thread dispatching the messages of the clients.
+ */
+public abstract class ProviderThread extends Thread
+{
+    private static final int        LATENCY_RANDOM_ARRAY_SET_COUNT = 20;
+
+    protected ProvPerfConfig            _provPerfConfig;                    // Application configuration.
+    private long                        _providerIndex;                     // Index given to this provider thread.
+    private long                        _currentTicks;                      // Current tick out of ticks per second.
+    private long                        _nsecPerTick;                       // Nanoseconds per tick.
+    private CountStat                   _refreshMsgCount;                   // Counts refreshes sent.
+    private CountStat                   _updateMsgCount;                    // Counts updates sent.
+    private CountStat                   _itemRequestCount;                  // Counts requests received.
+    private CountStat                   _closeMsgCount;                     // Counts closes received.
+    private CountStat                   _postMsgCount;                      // Counts posts received.
+    private CountStat                   _outOfBuffersCount;                 // Counts of messages not sent due to lack of output buffers.
+
+    protected XmlMsgData                _xmlMsgData;                        // Msgs from XML
+    protected MarketPriceEncoder        _marketPriceEncoder;                // payloads of the msgs
+    private LatencyRandomArray          _updateLatencyRandomArray;          // Updates random latency array
+    private LatencyRandomArray          _genMsgLatencyRandomArray;          // Generic Messages random latency array
+    private LatencyRandomArrayOptions   _randomArrayOpts;                   // random array options
+
+    private Queue<ProviderItem>         _refreshItemList;                   // Items waiting for their refresh.
+    private ArrayList<ProviderItem>     _updateItemList;                    // Items refreshed, receiving updates and generic msgs.
+    private int                         _nextUpdateItem;                    // Index of the next item to update.
+    private int                         _nextGenMsgItem;                    // Index of the next item to send a generic msg to.
+
+    private RefreshMsg                  _refreshMsg;
+    private UpdateMsg                   _updateMsg;
+    private GenericMsg                  _genericMsg;
+
+    private volatile boolean            _shutdown;                          //Signals thread to shutdown
+    private volatile boolean            _shutdownAck;                       //Acknowledges thread is shutdown.
+
+	private ProviderThreadInfo			_provThreadInfo;					// thread information
+
+    /**
+     * Instantiates a new provider thread.
+     *
+     * @param provPerfConfig the application configuration
+     * @param xmlMsgData the xml msg data
+     */
+    public ProviderThread(ProvPerfConfig provPerfConfig, XmlMsgData xmlMsgData)
+    {
+        super("ProviderThread");
+        _provPerfConfig = provPerfConfig;
+        _refreshMsgCount = new CountStat();
+        _updateMsgCount = new CountStat();
+        _itemRequestCount = new CountStat();
+        _closeMsgCount = new CountStat();
+        _postMsgCount = new CountStat();
+        _outOfBuffersCount = new CountStat();
+        _xmlMsgData = xmlMsgData;
+        _updateLatencyRandomArray = new LatencyRandomArray();
+        _genMsgLatencyRandomArray = new LatencyRandomArray();
+        _randomArrayOpts = new LatencyRandomArrayOptions();
+        _refreshItemList = new ConcurrentLinkedQueue<ProviderItem>();
+        _updateItemList = new ArrayList<ProviderItem>();
+        _refreshMsg = EmaFactory.createRefreshMsg();
+        _updateMsg = EmaFactory.createUpdateMsg();
+        _genericMsg = EmaFactory.createGenericMsg();
+        _provThreadInfo = new ProviderThreadInfo();
+    }
+
+    /**
+     * Initializes a ProviderThread.
+     *
+     * @param providerIndex the provider index
+     */
+    public void init(int providerIndex)
+    {
+        _refreshMsgCount.init();
+        _updateMsgCount.init();
+        _itemRequestCount.init();
+        _closeMsgCount.init();
+        _postMsgCount.init();
+        _outOfBuffersCount.init();
+        _currentTicks = 0;
+        _nsecPerTick = 1000000000 / _provPerfConfig.ticksPerSec();
+        _providerIndex = providerIndex;
+        _provThreadInfo.threadId(providerIndex + 1);
+        setName("ProviderThread-" + (providerIndex + 1));
+
+    	if (_provPerfConfig.updatesPerSec() != 0 && _provPerfConfig.latencyUpdateRate() > 0)
+    	{
+    		_randomArrayOpts.totalMsgsPerSec(_provPerfConfig.updatesPerSec());
+	        _randomArrayOpts.latencyMsgsPerSec(_provPerfConfig.latencyUpdateRate());
+	        _randomArrayOpts.ticksPerSec(_provPerfConfig.ticksPerSec());
+	        _randomArrayOpts.arrayCount(LATENCY_RANDOM_ARRAY_SET_COUNT);
+
+	        if (_updateLatencyRandomArray.create(_randomArrayOpts) != PerfToolsReturnCodes.SUCCESS)
+	        {
+	            System.err.println("Error initializing application: Failed to create updates latency random array");
+	            System.exit(-1);
+	        }
+    	}
+
+    	if (_provPerfConfig.genMsgsPerSec() != 0 && _provPerfConfig.latencyGenMsgRate() > 0)
+    	{
+    		_randomArrayOpts.totalMsgsPerSec(_provPerfConfig.genMsgsPerSec());
+	        _randomArrayOpts.latencyMsgsPerSec(_provPerfConfig.latencyGenMsgRate());
+	        _randomArrayOpts.ticksPerSec(_provPerfConfig.ticksPerSec());
+	        _randomArrayOpts.arrayCount(LATENCY_RANDOM_ARRAY_SET_COUNT);
+
+	        if (_genMsgLatencyRandomArray.create(_randomArrayOpts) != PerfToolsReturnCodes.SUCCESS)
+	        {
+	            System.err.println("Error initializing application: Failed to create generic messages latency random array");
+	            System.exit(-1);
+	        }
+    	}
+
+        // Open stats file.
+    	_provThreadInfo.statsFile(new File(_provPerfConfig.statsFilename() + (_providerIndex+1) + ".csv"));
+        try
+        {
+            _provThreadInfo.statsFileWriter(new PrintWriter(_provThreadInfo.statsFile()));
+        }
+        catch (FileNotFoundException e)
+        {
+            System.err.println("Error initializing application:  Failed to open stats file '" + _provThreadInfo.statsFile().getName() + "'");
+            System.exit(-1);
+        }
+
+        if (_provPerfConfig.providerType() == ProviderType.PROVIDER_INTERACTIVE)
+            _provThreadInfo.statsFileWriter().println("UTC, Requests received, Images sent, Updates sent, Posts reflected, GenMsgs sent, GenMsg Latencies sent, GenMsgs received, GenMsg Latencies received, GenMsg Latency avg (usec), GenMsg Latency std dev (usec), GenMsg Latency max (usec), GenMsg Latency min (usec), CPU usage (%%), Memory (MB), GenMsg Latency p50 (usec), GenMsg Latency p99 (usec), GenMsg Latency p99.9 (usec), GenMsg Latency p99.99 (usec)");
+        else
+            _provThreadInfo.statsFileWriter().println("UTC, Images sent, Updates sent, CPU usage (%), Memory (MB)");
+        _provThreadInfo.statsFileWriter().flush();
+
+        // Open latency file if configured.
+        if (_provPerfConfig.logLatencyToFile())
+    	{
+            _provThreadInfo.latencyLogFile(new File(_provPerfConfig.latencyFilename() + (_providerIndex+1) + ".csv"));
+            try
+            {
+                _provThreadInfo.latencyLogFileWriter(new PrintWriter(_provThreadInfo.latencyLogFile()));
+            }
+            catch (FileNotFoundException e)
+            {
+            	System.err.println("Error initializing application:  Failed to open latency file '" + _provThreadInfo.latencyLogFile().getName() + "'");
+                System.exit(-1);
+            }
+            _provThreadInfo.latencyLogFileWriter().println("Message type, Send time, Receive time, Latency (usec)");
+            _provThreadInfo.latencyLogFileWriter().flush();
+    	}
+    }
+
+    /**
+     * Creates the provider of the thread, if it has one of its own, and queues
+     * the items to publish. Called by the thread at its start.
+     */
+    protected abstract void initializeProvider();
+
+    /**
+     * The provider the thread submits its messages to.
+     *
+     * @return the OmmProvider
+     */
+    protected abstract OmmProvider provider();
+
+    /**
+     * Whether this thread dispatches the messages of the provider, in the
+     * USER_DISPATCH operation model.
+     *
+     * @return true, if this thread dispatches
+     */
+    protected abstract boolean dispatches();
+
+    /**
+     * Uninitializes the provider of the thread, if it has one of its own.
+     * Called by the thread when it shuts down.
+     */
+    protected void uninitializeProvider()
+    {
+    }
+
+    /**
+     * Sends the bursts of refreshes, updates and generic messages at each tick,
+     * dispatching the messages of the provider between ticks if the thread
+     * dispatches them.
+     */
+    @Override
+    public void run()
+    {
+        initializeProvider();
+        _marketPriceEncoder = new MarketPriceEncoder(_xmlMsgData);
+
+        long nextTickTime = System.nanoTime() + _nsecPerTick;
+        long currentTime;
+
+        while (!shutdown())
+        {
+            currentTime = System.nanoTime();
+            if (currentTime >= nextTickTime)
+            {
+                nextTickTime += _nsecPerTick;
+                sendBursts();
+            }
+            else if (dispatches())
+            {
+                long dispatchTime = (nextTickTime - currentTime) / 1000;
+                if (dispatchTime > 0)
+                    provider().dispatch(dispatchTime);
+                else
+                    provider().dispatch();
+            }
+            else
+            {
+                long sleepTime = (nextTickTime - currentTime) / 1000000;
+                try
+                {
+                    if (sleepTime > 0)
+                        Thread.sleep(sleepTime);
+                    else
+                        Thread.yield();
+                }
+                catch (InterruptedException e)
+                {
+                    break;
+                }
+            }
+        }
+
+        uninitializeProvider();
+        shutdownAck(true);
+    }
+
+    /* Sends the refresh, update and generic message bursts of the tick. */
+    private void sendBursts()
+    {
+        sendRefreshBurst();
+
+        if (_provPerfConfig.updatesPerSec() > 0)
+            sendUpdateBurst();
+
+        if (_provPerfConfig.genMsgsPerSec() > 0)
+            sendGenMsgBurst();
+
+        if (++_currentTicks == _provPerfConfig.ticksPerSec())
+            _currentTicks = 0;
+    }
+
+    /**
+     * Queues an item for this thread to send its refresh.
+     *
+     * @param item the item
+     */
+    public void addRefreshItem(ProviderItem item)
+    {
+        _refreshItemList.add(item);
+    }
+
+    /**
+     * Sends a burst of refreshes for items that currently need to send one.
+     */
+    protected void sendRefreshBurst()
+    {
+        int refreshLeft = _provPerfConfig.refreshBurstSize();
+        ProviderItem item;
+        boolean interactive = (_provPerfConfig.providerType() == ProviderType.PROVIDER_INTERACTIVE);
+
+        for (; refreshLeft > 0 && (item = _refreshItemList.peek()) != null; --refreshLeft)
+        {
+            if (item.closed())
+            {
+                _refreshItemList.poll();
+                continue;
+            }
+
+            boolean streaming = (item.itemFlags() & ItemFlags.IS_STREAMING_REQ) > 0;
+
+            _refreshMsg.clear();
+            _refreshMsg.domainType(EmaRdm.MMT_MARKET_PRICE).name(item.name())
+                .qos(OmmQos.Timeliness.REALTIME, OmmQos.Rate.TICK_BY_TICK)
+                .state(streaming ? OmmState.StreamState.OPEN : OmmState.StreamState.NON_STREAMING,
+                        OmmState.DataState.OK, OmmState.StatusCode.NONE, "")
+                .payload(_marketPriceEncoder.refreshPayload())
+                .complete(true);
+
+            if (interactive)
+                _refreshMsg.serviceId(item.serviceId()).solicited((item.itemFlags() & ItemFlags.IS_SOLICITED) > 0);
+            else
+                _refreshMsg.serviceName(_provPerfConfig.serviceName());
+
+            if (!submit(_refreshMsg, item, refreshLeft))
+                return;
+
+            _refreshMsgCount.increment();
+            _refreshItemList.poll();
+
+            //If it's not a streaming request, don't add it to the update list.
+            if (streaming)
+                _updateItemList.add(item);
+        }
+    }
+
+    /**
+     * Sends a burst of item updates.
+     */
+    protected void sendUpdateBurst()
+    {
+        //Determine updates to send out. Spread the remainder out over the first ticks
+        int updatesLeft = _provPerfConfig.updatesPerTick();
+        int updatesPerTickRemainder = _provPerfConfig.updatesPerTickRemainder();
+        if (updatesPerTickRemainder > _currentTicks)
+            ++updatesLeft;
+
+        int latencyUpdateNumber = (_provPerfConfig.latencyUpdateRate() > 0) ? _updateLatencyRandomArray.next() : -1;
+
+        for (; updatesLeft > 0; --updatesLeft)
+        {
+            ProviderItem nextItem = nextItem(true);
+            if (nextItem == null)
+                return;
+
+            // When appropriate, provide a latency timestamp for the updates.
+            long latencyStartTime;
+            if (_provPerfConfig.latencyUpdateRate() == ProvPerfConfig.ALWAYS_SEND_LATENCY_UPDATE || latencyUpdateNumber == (updatesLeft - 1))
+                latencyStartTime = System.nanoTime()/1000;
+            else
+                latencyStartTime = 0;
+
+            _updateMsg.clear();
+            _updateMsg.domainType(EmaRdm.MMT_MARKET_PRICE)
+                .payload(_marketPriceEncoder.nextUpdatePayload(nextItem, latencyStartTime));
+
+            if (!submit(_updateMsg, nextItem, updatesLeft))
+                return;
+
+            _updateMsgCount.increment();
+        }
+    }
+
+    /**
+     * Sends a burst of item generic messages.
+     */
+    protected void sendGenMsgBurst()
+    {
+        //Determine generic messages to send out. Spread the remainder out over the first ticks
+        int genMsgsLeft = _provPerfConfig.genMsgsPerTick();
+        int genMsgsPerTickRemainder = _provPerfConfig.genMsgsPerTickRemainder();
+        if (genMsgsPerTickRemainder > _currentTicks)
+            ++genMsgsLeft;
+
+        int latencyGenMsgNumber = (_provPerfConfig.latencyGenMsgRate() > 0) ? _genMsgLatencyRandomArray.next() : -1;
+
+        for (; genMsgsLeft > 0; --genMsgsLeft)
+        {
+            ProviderItem nextItem = nextItem(false);
+            if (nextItem == null)
+                return;
+
+            // When appropriate, provide a latency timestamp for the generic messages.
+            long latencyStartTime;
+            if (_provPerfConfig.latencyGenMsgRate() == ProvPerfConfig.ALWAYS_SEND_LATENCY_GENMSG || latencyGenMsgNumber == (genMsgsLeft - 1))
+                latencyStartTime = System.nanoTime()/1000;
+            else
+                latencyStartTime = 0;
+
+            _genericMsg.clear();
+            _genericMsg.domainType(EmaRdm.MMT_MARKET_PRICE).complete(true)
+                .payload(_marketPriceEncoder.nextGenMsgPayload(nextItem, latencyStartTime));
+
+            if (!submit(_genericMsg, nextItem, genMsgsLeft))
+                return;
+
+            if (latencyStartTime > 0)
+                _provThreadInfo.stats().latencyGenMsgSentCount().increment();
+            _provThreadInfo.stats().genMsgSentCount().increment();
+            if (_provThreadInfo.stats().firstGenMsgSentTime() == 0)
+                _provThreadInfo.stats().firstGenMsgSentTime(System.nanoTime());
+        }
+    }
+
+    /* Gets the next item to update or send a generic msg to, in turn, dropping the items
+     * closed. Returns null if there is none. */
+    private ProviderItem nextItem(boolean update)
+    {
+        while (!_updateItemList.isEmpty())
+        {
+            int index = update ? _nextUpdateItem : _nextGenMsgItem;
+            if (index >= _updateItemList.size())
+                index = 0;
+
+            ProviderItem item = _updateItemList.get(index);
+            if (item.closed())
+            {
+                // replace it with the last item, the order of the items does not matter
+                ProviderItem last = _updateItemList.remove(_updateItemList.size() - 1);
+                if (index < _updateItemList.size())
+                    _updateItemList.set(index, last);
+                continue;
+            }
+
+            if (update)
+                _nextUpdateItem = index + 1;
+            else
+                _nextGenMsgItem = index + 1;
+            return item;
+        }
+        return null;
+    }
+
+    /* Submits a message of an item. Returns false if the rest of the burst of messages,
+     * the messages left, cannot be sent. */
+    private boolean submit(Object msg, ProviderItem item, int msgsLeft)
+    {
+        try
+        {
+            if (msg instanceof RefreshMsg)
+                provider().submit((RefreshMsg)msg, item.handle());
+            else if (msg instanceof UpdateMsg)
+                provider().submit((UpdateMsg)msg, item.handle());
+            else
+                provider().submit((GenericMsg)msg, item.handle());
+            return true;
+        }
+        catch (OmmInvalidUsageException excp)
+        {
+            if (excp.errorCode() == OmmInvalidUsageException.ErrorCode.NO_BUFFERS)
+            {
+                _outOfBuffersCount.add(msgsLeft);
+                return false;
+            }
+            if (excp.errorCode() == OmmInvalidUsageException.ErrorCode.NO_ACTIVE_CHANNEL)
+                return false;
+
+            // the item was closed while the message was sent, drop it
+            item.closed(true);
+            return true;
+        }
+    }
+
+    /**
+     * Refresh message burst count sent.
+     *
+     * @return the count stat
+     */
+    public CountStat refreshMsgCount()
+    {
+        return _refreshMsgCount;
+    }
+
+    /**
+     * Update message burst count sent.
+     *
+     * @return the count stat
+     */
+    public CountStat updateMsgCount()
+    {
+        return _updateMsgCount;
+    }
+
+    /**
+     * Item requests received.
+     *
+     * @return the count stat
+     */
+    public CountStat itemRequestCount()
+    {
+        return _itemRequestCount;
+    }
+
+    /**
+     * Item close requests received.
+     *
+     * @return the count stat
+     */
+    public CountStat closeMsgCount()
+    {
+        return _closeMsgCount;
+    }
+
+    /**
+     * Posts received.
+     *
+     * @return the count stat
+     */
+    public CountStat postMsgCount()
+    {
+        return _postMsgCount;
+    }
+
+    /**
+     * Number of messages not sent due to lack of output buffers.
+     *
+     * @return the count stat
+     */
+    public CountStat outOfBuffersCount()
+    {
+        return _outOfBuffersCount;
+    }
+
+    /**
+     * Index given to this provider thread.
+     *
+     * @return the long
+     */
+	public long providerIndex()
+	{
+		return _providerIndex;
+	}
+
+    /**
+     *  Signals thread to shutdown.
+     *
+     * @return true, if successful
+     */
+    public boolean shutdown()
+    {
+        return _shutdown;
+    }
+
+    /**
+     *  Signals thread to shutdown.
+     *
+     * @param value the value
+     */
+    public void shutdown(boolean value)
+    {
+        _shutdown = value;
+    }
+
+    /**
+     *  Acknowledges thread is shutdown.
+     *
+     * @return true, if successful
+     */
+    public boolean shutdownAck()
+    {
+        return _shutdownAck;
+    }
+
+    /**
+     *  Acknowledges thread is shutdown.
+     *
+     * @param value the value
+     */
+    public void shutdownAck(boolean value)
+    {
+        _shutdownAck = value;
+    }
+
+    /**
+     * Gets the prov thread info.
+     *
+     * @return the prov thread info
+     */
+    public ProviderThreadInfo getProvThreadInfo()
+    {
+    	return _provThreadInfo;
+    }
+
+    /**
+     * Clean up provider thread.
+     */
+    public void cleanup()
+    {
+        _provThreadInfo.cleanup();
+    }
+}
@@ -0,0 +1,17 @@
+package com.refinitiv.ema.perftools.common;
+
+/**
+ * Provider Type Enums.
+ */
+public enum ProviderType
+{
+    /**
+     * Interactive provider
+     */
+    PROVIDER_INTERACTIVE,
+    
+    /**
+     * Non Interactive provider
+     */
+    PROVIDER_NONINTERACTIVE;
+}
\ No newline at end of file
@@ -1,8 +1,11 @@
 package com.refinitiv.ema.perftools.common;
 
+import java.io.PrintWriter;
+
 /**
  * Class for calculating running statistics for a given value(such as
- * latency).
+ * latency). Latency statistics also record a {@link LatencyHistogram}
+ * for reporting percentiles.
  */
 public class ValueStatistics
 {
@@ -14,6 +17,8 @@ public class ValueStatistics
 
 	double	_sum;                 // Used in calculating variance.
 	double	_sumOfSquares;        // Used in calculating variance.
+
+	private LatencyHistogram _histogram;	// Histogram of samples, null if not recorded.
 	
 	/**
 	 * Instantiates a new value statistics.
@@ -23,6 +28,19 @@ public class ValueStatistics
 		_maxValue = -Double.MAX_VALUE;
 		_minValue = Double.MAX_VALUE;
 	}
+
+	/**
+	 * Instantiates a new value statistics.
+	 *
+	 * @param recordHistogram whether the samples are also recorded in a
+	 *        {@link LatencyHistogram}, for latency percentiles
+	 */
+	public ValueStatistics(boolean recordHistogram)
+	{
+		this();
+		if (recordHistogram)
+			_histogram = new LatencyHistogram();
+	}
 	
 	/** Clears ValueStatistics. */
 	public void clear()
@@ -34,6 +52,8 @@ public class ValueStatistics
 		_minValue = Double.MAX_VALUE;
 		_sum = 0;
 		_sumOfSquares = 0;
+		if (_histogram != null)
+			_histogram.clear();
 	}
 	
 	/**
@@ -59,6 +79,34 @@ public class ValueStatistics
 		_sumOfSquares += newValue * newValue;
 		_variance = _count > 1 ? 
 			(_sumOfSquares - _sum * _sum / _count) / (_count - 1) : 0;
+
+		if (_histogram != null)
+			_histogram.record(newValue);
+	}
+
+	/**
+	 *  Value below or at which the given percentage of samples fall,
+	 *  no higher than the highest sample.
+	 *
+	 * @param percentile the percentile, from 0 to 100
+	 * @return the double, 0 if there are no samples or no histogram is recorded
+	 */
+	public double percentile(double percentile)
+	{
+		if (_histogram == null || _count == 0)
+			return 0;
+
+		return Math.min(_histogram.percentile(percentile), _maxValue);
+	}
+
+	/**
+	 *  Histogram of samples.
+	 *
+	 * @return the histogram, null if no histogram is recorded
+	 */
+	public LatencyHistogram histogram()
+	{
+		return _histogram;
 	}
 	
 	/**
@@ -82,6 +130,39 @@ public class ValueStatistics
 				_minValue,
 				countUnitName,
 				_count);
+
+		if (_histogram != null)
+		{
+			String percentileStr = displayThousandths ?
+					   "%s: p50:%8.3f p90:%8.3f p99:%8.3f p99.9:%8.3f p99.99:%8.3f\n"
+					:  "%s: p50:%6.1f p90:%6.1f p99:%6.1f p99.9:%6.1f p99.99:%6.1f\n";
+
+			System.out.printf(percentileStr,
+					valueStatsName,
+					percentile(50),
+					percentile(90),
+					percentile(99),
+					percentile(99.9),
+					percentile(99.99));
+		}
+	}
+
+	/**
+	 *  Print the percentiles of the samples to a summary, one per line.
+	 *
+	 * @param valueStatsName the value stats name, such as "Latency"
+	 * @param fileWriter the writer to print to
+	 */
+	public void printPercentiles(String valueStatsName, PrintWriter fileWriter)
+	{
+		if (_histogram == null || _count == 0)
+			return;
+
+		fileWriter.printf("  %s 50th percentile (usec): %.1f\n", valueStatsName, percentile(50));
+		fileWriter.printf("  %s 90th percentile (usec): %.1f\n", valueStatsName, percentile(90));
+		fileWriter.printf("  %s 99th percentile (usec): %.1f\n", valueStatsName, percentile(99));
+		fileWriter.printf("  %s 99.9th percentile (usec): %.1f\n", valueStatsName, percentile(99.9));
+		fileWriter.printf("  %s 99.99th percentile (usec): %.1f\n", valueStatsName, percentile(99.99));
 	}
 
 	/**
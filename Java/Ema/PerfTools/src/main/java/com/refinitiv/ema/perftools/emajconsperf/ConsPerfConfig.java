@@ -46,6 +46,7 @@ public class ConsPerfConfig
 	private String _latencyLogFilename;		/* Name of the latency log file. */
 	private String _summaryFilename;		/* Name of the summary log file. */
 	private String _statsFilename;			/* Name of the statistics log file. */
+	private String _latencyHistogramFilename;	/* Name of the latency histogram file. */
 	private int	_writeStatsInterval;		/* Controls how often statistics are written. */
 	private boolean _displayStats;			/* Controls whether stats appear on the screen. */
 
@@ -87,6 +88,7 @@ public class ConsPerfConfig
         CommandLine.addOption("latencyFile", "", "Base name of file for logging latency");
         CommandLine.addOption("summaryFile", "ConsSummary.out", "Name of file for logging summary info");
         CommandLine.addOption("statsFile", "ConsStats", "Base name of file for logging periodic statistics");
+        CommandLine.addOption("latencyHistogramFile", "", "Name of file for writing the full latency histograms at the end of the test");
         CommandLine.addOption("writeStatsInterval", 5, "Controls how often stats are written to the file");
         CommandLine.addOption("noDisplayStats", false, "Stop printout of stats to screen");
         CommandLine.addOption("requestRate", 13500, "Rate at which to request items");
@@ -137,6 +139,7 @@ public class ConsPerfConfig
     	_latencyLogFilename = CommandLine.value("latencyFile");
     	_summaryFilename = CommandLine.value("summaryFile");
     	_statsFilename = CommandLine.value("statsFile");
+    	_latencyHistogramFilename = CommandLine.value("latencyHistogramFile");
     	_username = CommandLine.value("uname");
     	_serviceName = CommandLine.value("serviceName");
     	_useServiceId = CommandLine.booleanValue("useServiceId");
@@ -347,6 +350,7 @@ public class ConsPerfConfig
 				"            Summary File: " + _summaryFilename + "\n" +
 				"              Stats File: " + _statsFilename + "\n" +
 				"        Latency Log File: " + (_latencyLogFilename.length() > 0 ? _latencyLogFilename : "(none)") + "\n" +
+				"  Latency Histogram File: " + (_latencyHistogramFilename.length() > 0 ? _latencyHistogramFilename : "(none)") + "\n" +
 				"               Tick Rate: " + _ticksPerSec + "\n" +
 				"               Prime JVM: " + (_primeJVM ? "Yes" : "No") + "\n" +
 				"        DowncastDecoding: " + (_downcastDecoding ? "True" : "False") + "\n" +
@@ -457,6 +461,16 @@ public class ConsPerfConfig
 		return _statsFilename;
 	}
 	
+	/**
+	 *  Name of the latency histogram file, empty if the histograms are not written.
+	 *
+	 * @return the string
+	 */
+	public String latencyHistogramFilename()
+	{
+		return _latencyHistogramFilename;
+	}
+	
 	/**
 	 *  Controls how often statistics are written.
 	 *
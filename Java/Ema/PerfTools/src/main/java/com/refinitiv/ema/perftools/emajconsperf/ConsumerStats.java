@@ -48,14 +48,14 @@ public class ConsumerStats
         _genMsgRecvCount = new CountStat();
         _latencyGenMsgSentCount = new CountStat();
         _genMsgOutOfBuffersCount = new CountStat();
-		_intervalLatencyStats = new ValueStatistics();
-		_intervalPostLatencyStats = new ValueStatistics();
-		_intervalGenMsgLatencyStats = new ValueStatistics();
-		_startupLatencyStats = new ValueStatistics();
-		_steadyStateLatencyStats = new ValueStatistics();
-		_overallLatencyStats = new ValueStatistics();
-		_postLatencyStats = new ValueStatistics();
-		_genMsgLatencyStats = new ValueStatistics();
+		_intervalLatencyStats = new ValueStatistics(true);
+		_intervalPostLatencyStats = new ValueStatistics(true);
+		_intervalGenMsgLatencyStats = new ValueStatistics(true);
+		_startupLatencyStats = new ValueStatistics(true);
+		_steadyStateLatencyStats = new ValueStatistics(true);
+		_overallLatencyStats = new ValueStatistics(true);
+		_postLatencyStats = new ValueStatistics(true);
+		_genMsgLatencyStats = new ValueStatistics(true);
 	}
 	
 	/**
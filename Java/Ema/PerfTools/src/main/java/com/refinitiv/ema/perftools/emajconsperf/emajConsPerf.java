@@ -184,6 +184,7 @@ public class emajConsPerf implements ShutdownCallback
 		_stdOutWriter.flush();
 		printSummaryStatistics(_summaryFileWriter);
 		_summaryFileWriter.close();
+		writeLatencyHistograms();
 		
 		for(int i = 0; i < _consPerfConfig.threadCount(); i++)
 		{
@@ -319,6 +320,27 @@ public class emajConsPerf implements ShutdownCallback
 		}
 	}
 
+	/* Write the full latency histograms of the test, for comparison with other runs. */
+	private void writeLatencyHistograms()
+	{
+		if (_consPerfConfig.latencyHistogramFilename().length() == 0)
+			return;
+
+		try (PrintWriter fileWriter = new PrintWriter(new File(_consPerfConfig.latencyHistogramFilename())))
+		{
+			fileWriter.println(_consPerfConfig.toString());
+			_totalStats.startupLatencyStats().histogram().dump("Startup latency", fileWriter);
+			_totalStats.steadyStateLatencyStats().histogram().dump("Steady-state latency", fileWriter);
+			_totalStats.overallLatencyStats().histogram().dump("Overall latency", fileWriter);
+			_totalStats.postLatencyStats().histogram().dump("Posting latency", fileWriter);
+			_totalStats.genMsgLatencyStats().histogram().dump("GenMsg latency", fileWriter);
+		}
+		catch (FileNotFoundException e)
+		{
+			System.out.printf("Error: Failed to open latency histogram file '%s'.\n", _consPerfConfig.latencyHistogramFilename());
+		}
+	}
+
 	/* Print summary statistics */
 	private void printSummaryStatistics(PrintWriter fileWriter)
 	{
@@ -352,6 +374,7 @@ public class emajConsPerf implements ShutdownCallback
 			fileWriter.printf("  Latency std dev (usec): %.1f\n", Math.sqrt(_totalStats.startupLatencyStats().variance()));
 			fileWriter.printf("  Latency max (usec): %.1f\n", _totalStats.startupLatencyStats().maxValue());
 			fileWriter.printf("  Latency min (usec): %.1f\n", _totalStats.startupLatencyStats().minValue());
+			_totalStats.startupLatencyStats().printPercentiles("Latency", fileWriter);
 		}
 		else
 			fileWriter.printf("  No latency information received during startup time.\n\n");
@@ -376,6 +399,7 @@ public class emajConsPerf implements ShutdownCallback
 				fileWriter.printf("  Latency std dev (usec): %.1f\n", Math.sqrt(_totalStats.steadyStateLatencyStats().variance()));
 				fileWriter.printf("  Latency max (usec): %.1f\n", _totalStats.steadyStateLatencyStats().maxValue());
 				fileWriter.printf("  Latency min (usec): %.1f\n", _totalStats.steadyStateLatencyStats().minValue());
+				_totalStats.steadyStateLatencyStats().printPercentiles("Latency", fileWriter);
 			}
 			else
 				fileWriter.printf("  No latency information was received during steady-state time.\n");
@@ -388,6 +412,7 @@ public class emajConsPerf implements ShutdownCallback
 					fileWriter.printf("  Posting latency std dev (usec): %.1f\n", Math.sqrt(_totalStats.postLatencyStats().variance()));
 					fileWriter.printf("  Posting latency max (usec): %.1f\n", _totalStats.postLatencyStats().maxValue());
 					fileWriter.printf("  Posting latency min (usec): %.1f\n", _totalStats.postLatencyStats().minValue());
+					_totalStats.postLatencyStats().printPercentiles("Posting latency", fileWriter);
 				}
 				else
 					fileWriter.printf("  No posting latency information was received during steady-state time.\n");
@@ -416,6 +441,7 @@ public class emajConsPerf implements ShutdownCallback
 			fileWriter.printf("  Latency std dev (usec): %.1f\n", Math.sqrt(_totalStats.overallLatencyStats().variance()));
 			fileWriter.printf("  Latency max (usec): %.1f\n", _totalStats.overallLatencyStats().maxValue());
 			fileWriter.printf("  Latency min (usec): %.1f\n", _totalStats.overallLatencyStats().minValue());
+			_totalStats.overallLatencyStats().printPercentiles("Latency", fileWriter);
 		}
 		else
 			fileWriter.printf("  No latency information was received.\n");
@@ -426,6 +452,7 @@ public class emajConsPerf implements ShutdownCallback
 			fileWriter.printf("  GenMsg latency std dev (usec): %.1f\n", Math.sqrt(_totalStats.genMsgLatencyStats().variance()));
 			fileWriter.printf("  GenMsg latency max (usec): %.1f\n", _totalStats.genMsgLatencyStats().maxValue());
 			fileWriter.printf("  GenMsg latency min (usec): %.1f\n", _totalStats.genMsgLatencyStats().minValue());
+			_totalStats.genMsgLatencyStats().printPercentiles("GenMsg latency", fileWriter);
 		}
 		else
 			fileWriter.printf("  No GenMsg latency information was received.\n");
@@ -539,6 +566,7 @@ public class emajConsPerf implements ShutdownCallback
 					fileWriter.printf("  Latency std dev (usec): %.1f\n", Math.sqrt(_consumerThreadsInfo[i].stats().startupLatencyStats().variance()));
 					fileWriter.printf("  Latency max (usec): %.1f\n", _consumerThreadsInfo[i].stats().startupLatencyStats().maxValue());
 					fileWriter.printf("  Latency min (usec): %.1f\n", _consumerThreadsInfo[i].stats().startupLatencyStats().minValue());
+					_consumerThreadsInfo[i].stats().startupLatencyStats().printPercentiles("Latency", fileWriter);
 				}
 				else
 					fileWriter.printf("  No latency information received during startup time.\n\n");
@@ -564,6 +592,7 @@ public class emajConsPerf implements ShutdownCallback
 						fileWriter.printf("  Latency std dev (usec): %.1f\n", Math.sqrt(_consumerThreadsInfo[i].stats().steadyStateLatencyStats().variance()));
 						fileWriter.printf("  Latency max (usec): %.1f\n", _consumerThreadsInfo[i].stats().steadyStateLatencyStats().maxValue());
 						fileWriter.printf("  Latency min (usec): %.1f\n", _consumerThreadsInfo[i].stats().steadyStateLatencyStats().minValue());
+						_consumerThreadsInfo[i].stats().steadyStateLatencyStats().printPercentiles("Latency", fileWriter);
 					}
 					else
 						fileWriter.printf("  No latency information was received during steady-state time.\n");
@@ -576,6 +605,7 @@ public class emajConsPerf implements ShutdownCallback
 							fileWriter.printf("  Posting latency std dev (usec): %.1f\n", Math.sqrt(_consumerThreadsInfo[i].stats().postLatencyStats().variance()));
 							fileWriter.printf("  Posting latency max (usec): %.1f\n", _consumerThreadsInfo[i].stats().postLatencyStats().maxValue());
 							fileWriter.printf("  Posting latency min (usec): %.1f\n", _consumerThreadsInfo[i].stats().postLatencyStats().minValue());
+							_consumerThreadsInfo[i].stats().postLatencyStats().printPercentiles("Posting latency", fileWriter);
 						}
 						else
 							fileWriter.printf("  No posting latency information was received during steady-state time.\n");
@@ -603,6 +633,7 @@ public class emajConsPerf implements ShutdownCallback
 					fileWriter.printf("  Latency std dev (usec): %.1f\n", Math.sqrt(_consumerThreadsInfo[i].stats().overallLatencyStats().variance()));
 					fileWriter.printf("  Latency max (usec): %.1f\n", _consumerThreadsInfo[i].stats().overallLatencyStats().maxValue());
 					fileWriter.printf("  Latency min (usec): %.1f\n", _consumerThreadsInfo[i].stats().overallLatencyStats().minValue());
+					_consumerThreadsInfo[i].stats().overallLatencyStats().printPercentiles("Latency", fileWriter);
 				}
 				else
 					fileWriter.printf("  No latency information was received.\n");
@@ -615,6 +646,7 @@ public class emajConsPerf implements ShutdownCallback
 						fileWriter.printf("  GenMsg latency std dev (usec): %.1f\n", Math.sqrt(_consumerThreadsInfo[i].stats().genMsgLatencyStats().variance()));
 						fileWriter.printf("  GenMsg latency max (usec): %.1f\n", _consumerThreadsInfo[i].stats().genMsgLatencyStats().maxValue());
 						fileWriter.printf("  GenMsg latency min (usec): %.1f\n", _consumerThreadsInfo[i].stats().genMsgLatencyStats().minValue());
+						_consumerThreadsInfo[i].stats().genMsgLatencyStats().printPercentiles("GenMsg latency", fileWriter);
 					}
 					else
 						fileWriter.printf("  No GenMsg latency information was received.\n");
@@ -761,7 +793,7 @@ public class emajConsPerf implements ShutdownCallback
 				/* Log statistics to file. */
 				printCurrentTimeUTC(_consumerThreadsInfo[i].statsFileWriter());
 				_consumerThreadsInfo[i].statsFileWriter().printf(
-						", %d, %.1f, %.1f, %.1f, %.1f, %d, %d, %d, %.1f, %.1f, %.1f, %.1f, %d, %d, %d, %d, %.1f, %.1f, %.1f, %.1f, %.2f, %.2f\n",
+						", %d, %.1f, %.1f, %.1f, %.1f, %d, %d, %d, %.1f, %.1f, %.1f, %.1f, %d, %d, %d, %d, %.1f, %.1f, %.1f, %.1f, %.2f, %.2f, %.1f, %.1f, %.1f, %.1f\n",
 						_consumerThreadsInfo[i].stats().intervalLatencyStats().count(),
 						_consumerThreadsInfo[i].stats().intervalLatencyStats().average(),
 						Math.sqrt(_consumerThreadsInfo[i].stats().intervalLatencyStats().variance()),
@@ -783,7 +815,11 @@ public class emajConsPerf implements ShutdownCallback
 						((_consumerThreadsInfo[i].stats().intervalGenMsgLatencyStats().count() > 0) ? _consumerThreadsInfo[i].stats().intervalGenMsgLatencyStats().maxValue() : 0.0),
 								((_consumerThreadsInfo[i].stats().intervalGenMsgLatencyStats().count() > 0) ? _consumerThreadsInfo[i].stats().intervalGenMsgLatencyStats().minValue() : 0.0),
 						processCpuLoad,
-						memoryUsage);
+						memoryUsage,
+						_consumerThreadsInfo[i].stats().intervalLatencyStats().percentile(50),
+						_consumerThreadsInfo[i].stats().intervalLatencyStats().percentile(99),
+						_consumerThreadsInfo[i].stats().intervalLatencyStats().percentile(99.9),
+						_consumerThreadsInfo[i].stats().intervalLatencyStats().percentile(99.99));
 				_consumerThreadsInfo[i].statsFileWriter().flush();
 			}
 
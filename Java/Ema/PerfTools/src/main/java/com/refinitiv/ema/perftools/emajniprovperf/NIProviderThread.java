@@ -0,0 +1,154 @@
+package com.refinitiv.ema.perftools.emajniprovperf;
+
+import com.refinitiv.ema.access.EmaFactory;
+import com.refinitiv.ema.access.OmmException;
+import com.refinitiv.ema.access.OmmNiProviderConfig;
+import com.refinitiv.ema.access.OmmProvider;
+import com.refinitiv.ema.perftools.common.ItemFlags;
+import com.refinitiv.ema.perftools.common.PerfToolsReturnCodes;
+import com.refinitiv.ema.perftools.common.ProvPerfConfig;
+import com.refinitiv.ema.perftools.common.ProviderItem;
+import com.refinitiv.ema.perftools.common.ProviderThread;
+import com.refinitiv.ema.perftools.common.XmlItemInfoList;
+import com.refinitiv.ema.perftools.common.XmlMsgData;
+
+/**
+ * Provider thread of the non-interactive provider. Each thread creates an
+ * OmmProvider of its own and publishes its share of the items of the item
+ * file: the common items, published by every thread, and a set of items of its
+ * own.
+ */
+public class NIProviderThread extends ProviderThread
+{
+	private OmmProvider _provider;	// OmmProvider of the thread.
+
+	/**
+	 * Instantiates a new NI provider thread.
+	 *
+	 * @param provPerfConfig the application configuration
+	 * @param xmlMsgData the xml msg data
+	 */
+	public NIProviderThread(ProvPerfConfig provPerfConfig, XmlMsgData xmlMsgData)
+	{
+		super(provPerfConfig, xmlMsgData);
+	}
+
+	@Override
+	protected void initializeProvider()
+	{
+		try
+		{
+			OmmNiProviderConfig config = EmaFactory.createOmmNiProviderConfig()
+				.providerName(_provPerfConfig.providerName())
+				.operationModel(_provPerfConfig.useUserDispatch() ? OmmNiProviderConfig.OperationModel.USER_DISPATCH
+						: OmmNiProviderConfig.OperationModel.API_DISPATCH);
+			if (_provPerfConfig.username().length() > 0)
+				config.username(_provPerfConfig.username());
+
+			_provider = EmaFactory.createOmmProvider(config);
+		}
+		catch (OmmException excp)
+		{
+			System.err.println("Error: Failed to create OmmProvider: " + excp.getMessage());
+			System.exit(-1);
+		}
+
+		createItemList();
+	}
+
+	@Override
+	protected OmmProvider provider()
+	{
+		return _provider;
+	}
+
+	@Override
+	protected boolean dispatches()
+	{
+		return _provPerfConfig.useUserDispatch();
+	}
+
+	@Override
+	protected void uninitializeProvider()
+	{
+		if (_provider != null)
+			_provider.uninitialize();
+	}
+
+	/* Figures out which items this thread should publish, and queues them for their refresh. */
+	private void createItemList()
+	{
+		if (_provPerfConfig.itemPublishCount() == 0)
+			return;
+
+		int itemListUniqueIndex;
+		int itemListCount;
+		int itemListCountRemainder;
+
+		/* Calculate unique index for each thread. Each thread publishes a common
+		 * and unique set of items. Unique index is so each thread has a unique
+		 * index into the shared item list. Unique items for this provider are after
+		 * the items assigned to providers with a lower index.
+		 */
+		itemListUniqueIndex = _provPerfConfig.commonItemCount();
+		itemListUniqueIndex += ((_provPerfConfig.itemPublishCount() - _provPerfConfig.commonItemCount())
+				/ _provPerfConfig.threadCount()) * (int)providerIndex();
+
+		itemListCount = _provPerfConfig.itemPublishCount() / _provPerfConfig.threadCount();
+		itemListCountRemainder = _provPerfConfig.itemPublishCount() % _provPerfConfig.threadCount();
+
+		if (providerIndex() < itemListCountRemainder)
+		{
+			/* This provider publishes an extra item */
+			itemListCount += 1;
+
+			/* Shift index by one for each provider before this one, since they publish extra items too. */
+			itemListUniqueIndex += providerIndex();
+		}
+		else
+			/* Shift index by one for each provider that publishes an extra item. */
+			itemListUniqueIndex += itemListCountRemainder;
+
+		getProvThreadInfo().itemListUniqueIndex(itemListUniqueIndex);
+		getProvThreadInfo().itemListCount(itemListCount);
+
+		if (addPublishingItems(_provPerfConfig.itemFilename(), _provPerfConfig.commonItemCount(), itemListUniqueIndex,
+				itemListCount - _provPerfConfig.commonItemCount()) != PerfToolsReturnCodes.SUCCESS)
+		{
+			System.err.println("Error: Failed to create publishing list.");
+			System.exit(-1);
+		}
+
+		System.out.printf("Created publishing list.\n");
+	}
+
+	/* Loads the item file and queues the items to publish, the common items followed
+	 * by the unique items of this thread. */
+	private int addPublishingItems(String xmlItemInfoFile, int commonItemCount, int itemListUniqueIndex, int uniqueItemCount)
+	{
+		XmlItemInfoList xmlItemInfoList = new XmlItemInfoList(itemListUniqueIndex + uniqueItemCount);
+		if (xmlItemInfoList.parseFile(xmlItemInfoFile) == PerfToolsReturnCodes.FAILURE)
+		{
+			System.err.println("Failed to load item list from file '" + xmlItemInfoFile + "'.");
+			return PerfToolsReturnCodes.FAILURE;
+		}
+
+		int itemListIndex = 0;
+		for (int i = 0; i < commonItemCount + uniqueItemCount; ++i)
+		{
+			if (itemListIndex == commonItemCount && itemListIndex < itemListUniqueIndex)
+				itemListIndex = itemListUniqueIndex;
+
+			// the handles of a non-interactive provider are assigned by the application
+			ProviderItem item = new ProviderItem();
+			item.handle(itemListIndex + 1);
+			item.name(xmlItemInfoList.itemInfoList()[itemListIndex].name());
+			item.itemFlags(ItemFlags.IS_STREAMING_REQ);
+			addRefreshItem(item);
+
+			++itemListIndex;
+		}
+
+		return PerfToolsReturnCodes.SUCCESS;
+	}
+}
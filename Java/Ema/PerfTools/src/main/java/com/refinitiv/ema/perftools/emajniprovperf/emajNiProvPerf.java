@@ -0,0 +1,207 @@
+package com.refinitiv.ema.perftools.emajniprovperf;
+
+import com.refinitiv.ema.perftools.common.PerfToolsReturnCodes;
+import com.refinitiv.ema.perftools.common.ProvPerfConfig;
+import com.refinitiv.ema.perftools.common.Provider;
+import com.refinitiv.ema.perftools.common.ProviderType;
+import com.refinitiv.ema.perftools.common.XmlMsgData;
+
+/**
+ * The emajNiProvPerf application. Implements a non-interactive provider, which
+ * publishes the items of an item file with images and bursts of updates.
+ * <p>
+ * The purpose of this application is to measure performance of the EMA API,
+ * in publishing Level I Market Price content to the Refinitiv Real-Time
+ * Distribution System Advanced Data Hub (ADH).
+ * </p>
+ * <em>Summary</em>
+ * <p>
+ * The provider creates two types of threads:
+ * <ul>
+ * <li>A main thread, which collects and records statistical information.
+ * <li>Provider threads, each of which creates an OmmProvider, connects to an
+ *     ADH and publishes market data.
+ * </ul>
+ * <p>
+ * The provider may be configured to publish updates at various rates. To
+ * measure latency, a timestamp is randomly placed in each burst of updates. The
+ * consumer then decodes the timestamp from the update to determine the
+ * end-to-end latency.
+ * <p>
+ * This application also measures memory and CPU usage. Java 7 (Oracle JDK)
+ * introduced OperatingSystemMXBean which is a platform-specific management
+ * interface for the operating system on which the Java virtual machine is running.
+ * The getCommittedVirtualMemorySize() method is used for memory usage and the
+ * getProcessCpuLoad() method is used for CPU usage.
+ * <p>
+ * This application uses XML Pull Parser (XPP), an open source XML parser library.
+ * <p>
+ * <em>Setup Environment</em>
+ * <p>
+ * The following configuration files are required:
+ * <ul>
+ * <li>RDMFieldDictionary and enumtype.def, located in the etc directory.
+ * <li>350k.xml, located in PerfTools
+ * <li>MsgData.xml, located in PerfTools
+ * <li>EmaConfig.xml, located in Ema
+ * </ul>
+ * <p>
+ * <em>Running the application:</em>
+ * <p>
+ * Change directory to the <i>Java</i> directory and issue the following <i>Gradle</i> command.
+ * <p>
+ * Linux: ./gradlew runEMAPerfNiProvider -PcommandLineArgs="arguments"<br>
+ * Windows: gradlew.bat runEMAPerfNiProvider -PcommandLineArgs="arguments"<br>
+ * <br>
+ * Arguments are listed below.
+ * </p>
+ * <i>-help</i> displays all command line arguments, with a brief description of each one
+ */
+public class emajNiProvPerf
+{
+	private final int MAX_PROV_THREADS = 8;
+
+	// application configuration information
+	private final ProvPerfConfig _provPerfConfig = new ProvPerfConfig();
+
+	// keeps the provider threads and their statistics
+	private final Provider _provider = new Provider();
+
+	// message data information from XML file
+	private final XmlMsgData _xmlMsgData = new XmlMsgData();
+
+	// provider threads
+	private NIProviderThread[] _providerThreads;
+
+	// indicates whether or not application should be shutdown
+	private volatile boolean _shutdownApp = false;
+
+	/** Shutdown emajNiProvPerf */
+	public void shutdown()
+	{
+		_shutdownApp = true;
+	}
+
+	/* Initializes emajNiProvPerf application. */
+	private void initialize(String[] args)
+	{
+		// initialize and print configuration parameters
+		_provPerfConfig.init(args, ProviderType.PROVIDER_NONINTERACTIVE, MAX_PROV_THREADS);
+		System.out.println(_provPerfConfig.toString());
+
+		// parse message data XML file
+		if (_xmlMsgData.parseFile(_provPerfConfig.msgFilename()) == PerfToolsReturnCodes.FAILURE)
+		{
+			System.out.printf("Failed to load message data from file '%s'.\n", _provPerfConfig.msgFilename());
+			System.exit(-1);
+		}
+
+		if (_provPerfConfig.updatesPerSec() > 0 && _xmlMsgData.marketPriceUpdateMsgCount() == 0)
+		{
+			System.out.printf("Error: Configured for sending updates but no update messages found in message data file.\n");
+			System.exit(-1);
+		}
+
+		_providerThreads = new NIProviderThread[_provPerfConfig.threadCount()];
+		for (int i = 0; i < _providerThreads.length; ++i)
+			_providerThreads[i] = new NIProviderThread(_provPerfConfig, _xmlMsgData);
+
+		_provider.init(_provPerfConfig, _providerThreads);
+		_provider.startThreads();
+	}
+
+	/** Run emajNiProvPerf */
+	public void run()
+	{
+		long nextTime;
+		int intervalSeconds = 0;
+		int currentRuntimeSec = 0;
+
+		// main statistics polling thread here
+		while (!_shutdownApp)
+		{
+			nextTime = System.nanoTime() + 1000000000L;
+
+			try
+			{
+				long sleepTime = (nextTime - System.nanoTime())/1000000;
+				if (sleepTime > 0)
+					Thread.sleep(sleepTime);
+			}
+			catch (InterruptedException e)
+			{
+				System.out.printf("Thread.sleep() failed\n");
+				break;
+			}
+
+			++intervalSeconds;
+			++currentRuntimeSec;
+
+			// Check if it's time to print stats
+			if (intervalSeconds >= _provPerfConfig.writeStatsInterval())
+			{
+				_provider.collectStats(true, _provPerfConfig.displayStats(), currentRuntimeSec, intervalSeconds);
+				intervalSeconds = 0;
+			}
+
+			if (currentRuntimeSec >= _provPerfConfig.runTime())
+			{
+				System.out.printf("\nRun time of %d seconds has expired.\n\n", _provPerfConfig.runTime());
+				break;
+			}
+		}
+
+		stopProviderThreads();
+
+		// only print summary on normal exit
+		if (!_shutdownApp)
+		{
+			_provider.printFinalStats();
+		}
+
+		_provider.cleanup();
+	}
+
+	/* Stop all provider threads. */
+	private void stopProviderThreads()
+	{
+		for (int i = 0; i < _providerThreads.length; i++)
+		{
+			_providerThreads[i].shutdown(true);
+		}
+
+		for (int i = 0; i < _providerThreads.length; i++)
+		{
+			int shutdownCount = 0;
+			// wait for provider thread cleanup or timeout
+			while (!_providerThreads[i].shutdownAck() && shutdownCount < 3)
+			{
+				try
+				{
+					Thread.sleep(1000);
+					shutdownCount++;
+				}
+				catch (InterruptedException e)
+				{
+					System.out.printf("Thread.sleep(1000) failed\n");
+					System.exit(-1);
+				}
+			}
+		}
+
+		System.out.println("Shutting down.\n");
+	}
+
+	/**
+	 * The main method.
+	 *
+	 * @param args the arguments
+	 */
+	public static void main(String[] args)
+	{
+		emajNiProvPerf niproviderperf = new emajNiProvPerf();
+		niproviderperf.initialize(args);
+		niproviderperf.run();
+		System.exit(0);
+	}
+}
@@ -0,0 +1,4 @@
+/**
+ * The emajNiProvPerf application package.
+ */
+package com.refinitiv.ema.perftools.emajniprovperf;
@@ -0,0 +1,56 @@
+package com.refinitiv.ema.perftools.emajprovperf;
+
+import com.refinitiv.ema.access.OmmProvider;
+import com.refinitiv.ema.perftools.common.ProvPerfConfig;
+import com.refinitiv.ema.perftools.common.ProviderThread;
+import com.refinitiv.ema.perftools.common.XmlMsgData;
+
+/**
+ * Provider thread of the interactive provider. The threads share the
+ * OmmProvider of the application, each one providing the items requested by
+ * the client sessions assigned to it. In the USER_DISPATCH operation model,
+ * the first thread also dispatches the messages of the clients.
+ */
+public class IProviderThread extends ProviderThread
+{
+	private OmmProvider _provider;	// OmmProvider shared by the threads.
+
+	/**
+	 * Instantiates a new i provider thread.
+	 *
+	 * @param provPerfConfig the application configuration
+	 * @param xmlMsgData the xml msg data
+	 */
+	public IProviderThread(ProvPerfConfig provPerfConfig, XmlMsgData xmlMsgData)
+	{
+		super(provPerfConfig, xmlMsgData);
+	}
+
+	/**
+	 *  OmmProvider shared by the threads, set before the threads are started.
+	 *
+	 * @param provider the provider
+	 */
+	public void provider(OmmProvider provider)
+	{
+		_provider = provider;
+	}
+
+	@Override
+	protected void initializeProvider()
+	{
+		// the items are queued by the client of the provider as they are requested
+	}
+
+	@Override
+	protected OmmProvider provider()
+	{
+		return _provider;
+	}
+
+	@Override
+	protected boolean dispatches()
+	{
+		return _provPerfConfig.useUserDispatch() && providerIndex() == 0;
+	}
+}
@@ -0,0 +1,256 @@
+package com.refinitiv.ema.perftools.emajprovperf;
+
+import java.util.HashMap;
+import java.util.Iterator;
+
+import com.refinitiv.ema.access.AckMsg;
+import com.refinitiv.ema.access.Data;
+import com.refinitiv.ema.access.DataType.DataTypes;
+import com.refinitiv.ema.access.EmaFactory;
+import com.refinitiv.ema.access.FieldEntry;
+import com.refinitiv.ema.access.FieldList;
+import com.refinitiv.ema.access.GenericMsg;
+import com.refinitiv.ema.access.Msg;
+import com.refinitiv.ema.access.OmmException;
+import com.refinitiv.ema.access.OmmProviderClient;
+import com.refinitiv.ema.access.OmmProviderEvent;
+import com.refinitiv.ema.access.OmmState;
+import com.refinitiv.ema.access.PostMsg;
+import com.refinitiv.ema.access.RefreshMsg;
+import com.refinitiv.ema.access.ReqMsg;
+import com.refinitiv.ema.access.StatusMsg;
+import com.refinitiv.ema.access.UpdateMsg;
+import com.refinitiv.ema.perftools.common.ItemFlags;
+import com.refinitiv.ema.perftools.common.ProviderItem;
+import com.refinitiv.ema.perftools.common.ProviderThread;
+import com.refinitiv.ema.perftools.common.ProviderThreadInfo;
+import com.refinitiv.ema.rdm.EmaRdm;
+
+/**
+ * Client of the OmmProvider of emajProvPerf. Accepts the logins of the client
+ * sessions, assigning each session to a provider thread in turn, and hands the
+ * MarketPrice items requested to the thread of their session. Reflects the
+ * posts received and records the latency of the generic messages received.
+ * <p>
+ * The callbacks are called by a single thread, the API thread or the provider
+ * thread dispatching the messages of the clients.
+ */
+public class ProvPerfClient implements OmmProviderClient
+{
+	private static final int TIM_TRK_3_FID = 3904; // Field TIM_TRK_3 is used to send generic msg latency.
+
+	private ProviderThread[] _providerThreadList;						// Provider threads.
+	private int _nextProviderThread;									// Index of the thread to assign the next session to.
+	private HashMap<Long, ProviderThread> _clientThreads = new HashMap<Long, ProviderThread>();	// Thread of each client session.
+	private HashMap<Long, ProviderItem> _items = new HashMap<Long, ProviderItem>();			// Items open, by handle.
+
+	private RefreshMsg _loginRefreshMsg = EmaFactory.createRefreshMsg();
+	private StatusMsg _statusMsg = EmaFactory.createStatusMsg();
+	private UpdateMsg _updateMsg = EmaFactory.createUpdateMsg();
+	private AckMsg _ackMsg = EmaFactory.createAckMsg();
+
+	/**
+	 * Instantiates a new prov perf client.
+	 *
+	 * @param providerThreadList the provider threads
+	 */
+	public ProvPerfClient(ProviderThread[] providerThreadList)
+	{
+		_providerThreadList = providerThreadList;
+	}
+
+	@Override
+	public void onReqMsg(ReqMsg reqMsg, OmmProviderEvent providerEvent)
+	{
+		switch (reqMsg.domainType())
+		{
+			case EmaRdm.MMT_LOGIN:
+				processLoginRequest(reqMsg, providerEvent);
+				break;
+			case EmaRdm.MMT_MARKET_PRICE:
+				processMarketPriceRequest(reqMsg, providerEvent);
+				break;
+			default:
+				processInvalidItemRequest(reqMsg, providerEvent);
+				break;
+		}
+	}
+
+	@Override
+	public void onReissue(ReqMsg reqMsg, OmmProviderEvent providerEvent)
+	{
+		// reissues are not refreshed, the item keeps its stream
+	}
+
+	@Override
+	public void onPostMsg(PostMsg postMsg, OmmProviderEvent providerEvent)
+	{
+		ProviderThread providerThread = _clientThreads.get(providerEvent.clientHandle());
+		if (providerThread == null)
+			return;
+
+		providerThread.postMsgCount().increment();
+
+		// reflect the post to the item posted on
+		ProviderItem item = _items.get(providerEvent.handle());
+		if (item != null && !item.closed())
+		{
+			FieldList fieldList = null;
+			if (postMsg.payload().dataType() == DataTypes.UPDATE_MSG)
+				fieldList = postMsg.payload().updateMsg().payload().fieldList();
+			else if (postMsg.payload().dataType() == DataTypes.FIELD_LIST)
+				fieldList = postMsg.payload().fieldList();
+
+			if (fieldList != null)
+			{
+				_updateMsg.clear();
+				_updateMsg.domainType(EmaRdm.MMT_MARKET_PRICE).payload(fieldList);
+				submit(_updateMsg, providerEvent);
+			}
+		}
+
+		if (postMsg.solicitAck())
+		{
+			_ackMsg.clear();
+			if (postMsg.hasSeqNum())
+				_ackMsg.seqNum(postMsg.seqNum());
+			if (postMsg.hasName())
+				_ackMsg.name(postMsg.name());
+			if (postMsg.hasServiceId())
+				_ackMsg.serviceId(postMsg.serviceId());
+			_ackMsg.ackId(postMsg.postId()).domainType(postMsg.domainType());
+			submit(_ackMsg, providerEvent);
+		}
+	}
+
+	@Override
+	public void onGenericMsg(GenericMsg genericMsg, OmmProviderEvent providerEvent)
+	{
+		ProviderThread providerThread = _clientThreads.get(providerEvent.clientHandle());
+		if (providerThread == null)
+			return;
+
+		ProviderThreadInfo provThreadInfo = providerThread.getProvThreadInfo();
+		provThreadInfo.stats().genMsgRecvCount().increment();
+		if (provThreadInfo.stats().firstGenMsgRecvTime() == 0)
+			provThreadInfo.stats().firstGenMsgRecvTime(System.nanoTime());
+
+		if (genericMsg.payload().dataType() != DataTypes.FIELD_LIST)
+			return;
+
+		// record the latency of the generic msgs carrying a timestamp
+		Iterator<FieldEntry> iter = genericMsg.payload().fieldList().iterator();
+		while (iter.hasNext())
+		{
+			FieldEntry fieldEntry = iter.next();
+			if (fieldEntry.fieldId() == TIM_TRK_3_FID && fieldEntry.code() == Data.DataCode.NO_CODE
+					&& fieldEntry.loadType() == DataTypes.UINT)
+			{
+				provThreadInfo.timeRecordSubmit(provThreadInfo.genMsgLatencyRecords(), fieldEntry.uintValue(),
+						System.nanoTime()/1000, 1);
+				break;
+			}
+		}
+	}
+
+	@Override
+	public void onClose(ReqMsg reqMsg, OmmProviderEvent providerEvent)
+	{
+		if (reqMsg.domainType() == EmaRdm.MMT_LOGIN)
+		{
+			_clientThreads.remove(providerEvent.clientHandle());
+			return;
+		}
+
+		ProviderItem item = _items.remove(providerEvent.handle());
+		if (item == null)
+			return;
+
+		// the thread providing the item drops it
+		item.closed(true);
+
+		ProviderThread providerThread = _clientThreads.get(item.clientHandle());
+		if (providerThread != null)
+			providerThread.closeMsgCount().increment();
+	}
+
+	@Override
+	public void onRefreshMsg(RefreshMsg refreshMsg, OmmProviderEvent providerEvent) {}
+	@Override
+	public void onStatusMsg(StatusMsg statusMsg, OmmProviderEvent providerEvent) {}
+	@Override
+	public void onAllMsg(Msg msg, OmmProviderEvent providerEvent) {}
+
+	/* Accepts the login of a client session, and assigns the session to a provider thread. */
+	private void processLoginRequest(ReqMsg reqMsg, OmmProviderEvent providerEvent)
+	{
+		_loginRefreshMsg.clear();
+		_loginRefreshMsg.domainType(EmaRdm.MMT_LOGIN).name(reqMsg.name()).nameType(EmaRdm.USER_NAME)
+			.complete(true).solicited(true)
+			.state(OmmState.StreamState.OPEN, OmmState.DataState.OK, OmmState.StatusCode.NONE, "Login accepted");
+		if (!submit(_loginRefreshMsg, providerEvent))
+			return;
+
+		if (!_clientThreads.containsKey(providerEvent.clientHandle()))
+		{
+			_clientThreads.put(providerEvent.clientHandle(), _providerThreadList[_nextProviderThread]);
+			_nextProviderThread = (_nextProviderThread + 1) % _providerThreadList.length;
+		}
+	}
+
+	/* Hands a MarketPrice item requested to the thread of the session requesting it. */
+	private void processMarketPriceRequest(ReqMsg reqMsg, OmmProviderEvent providerEvent)
+	{
+		ProviderThread providerThread = _clientThreads.get(providerEvent.clientHandle());
+		if (providerThread == null)
+		{
+			processInvalidItemRequest(reqMsg, providerEvent);
+			return;
+		}
+
+		ProviderItem item = new ProviderItem();
+		item.handle(providerEvent.handle());
+		item.clientHandle(providerEvent.clientHandle());
+		item.name(reqMsg.name());
+		item.serviceId(reqMsg.serviceId());
+		item.itemFlags(ItemFlags.IS_SOLICITED | (reqMsg.interestAfterRefresh() ? ItemFlags.IS_STREAMING_REQ : 0));
+		_items.put(providerEvent.handle(), item);
+
+		providerThread.itemRequestCount().increment();
+		providerThread.addRefreshItem(item);
+	}
+
+	/* Rejects the request of an item of an unsupported domain. */
+	private void processInvalidItemRequest(ReqMsg reqMsg, OmmProviderEvent providerEvent)
+	{
+		_statusMsg.clear();
+		_statusMsg.name(reqMsg.name()).domainType(reqMsg.domainType())
+			.state(OmmState.StreamState.CLOSED, OmmState.DataState.SUSPECT, OmmState.StatusCode.NOT_FOUND,
+					"Item not found");
+		if (reqMsg.hasServiceId())
+			_statusMsg.serviceId(reqMsg.serviceId());
+		submit(_statusMsg, providerEvent);
+	}
+
+	/* Submits a message to a client. Returns false if it could not be sent. */
+	private boolean submit(Msg msg, OmmProviderEvent providerEvent)
+	{
+		try
+		{
+			if (msg instanceof RefreshMsg)
+				providerEvent.provider().submit((RefreshMsg)msg, providerEvent.handle());
+			else if (msg instanceof UpdateMsg)
+				providerEvent.provider().submit((UpdateMsg)msg, providerEvent.handle());
+			else if (msg instanceof StatusMsg)
+				providerEvent.provider().submit((StatusMsg)msg, providerEvent.handle());
+			else
+				providerEvent.provider().submit((AckMsg)msg, providerEvent.handle());
+			return true;
+		}
+		catch (OmmException excp)
+		{
+			System.err.println("Failed to submit message: " + excp.getMessage());
+			return false;
+		}
+	}
+}
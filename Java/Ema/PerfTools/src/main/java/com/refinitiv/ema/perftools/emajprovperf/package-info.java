@@ -0,0 +1,4 @@
+/**
+ * The emajProvPerf application package.
+ */
+package com.refinitiv.ema.perftools.emajprovperf;
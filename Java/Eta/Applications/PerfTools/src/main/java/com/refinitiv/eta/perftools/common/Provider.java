@@ -227,7 +227,7 @@ public class Provider
                 {
                     case PROVIDER_INTERACTIVE:
                         providerThread.getProvThreadInfo().statsFileWriter().printf(
-                        		", %d, %d, %d, %d, %d, %d, %d, %d, %.1f, %.1f, %.1f, %.1f, %.2f, %.2f\n", 
+                        		", %d, %d, %d, %d, %d, %d, %d, %d, %.1f, %.1f, %.1f, %.1f, %.2f, %.2f, %.1f, %.1f, %.1f, %.1f\n", 
                         		requestCount,
                                 refreshCount,
                                 updateCount,
@@ -241,7 +241,11 @@ public class Provider
                                 ((stats.intervalGenMsgLatencyStats().count() > 0) ? stats.intervalGenMsgLatencyStats().maxValue() : 0.0),
                                 ((stats.intervalGenMsgLatencyStats().count() > 0) ? stats.intervalGenMsgLatencyStats().minValue() : 0.0),
                                 processCpuLoad,
-                                memoryUsage);
+                                memoryUsage,
+                                stats.intervalGenMsgLatencyStats().percentile(50),
+                                stats.intervalGenMsgLatencyStats().percentile(99),
+                                stats.intervalGenMsgLatencyStats().percentile(99.9),
+                                stats.intervalGenMsgLatencyStats().percentile(99.99));
                         break;
                     case PROVIDER_NONINTERACTIVE:
                         providerThread.getProvThreadInfo().statsFileWriter().printf(
@@ -388,6 +392,7 @@ public class Provider
                                               Math.sqrt(stats.genMsgLatencyStats().variance()),
                                               stats.genMsgLatencyStats().count() > 0 ? stats.genMsgLatencyStats().maxValue() : 0,
                                               stats.genMsgLatencyStats().count() > 0 ? stats.genMsgLatencyStats().minValue() : 0);
+                            stats.genMsgLatencyStats().printPercentiles("GenMsg latency", fileWriter);
                         }
                         else
                             fileWriter.printf("  No GenMsg latency information was received.\n");
@@ -462,6 +467,7 @@ public class Provider
                                       Math.sqrt(_totalStats.genMsgLatencyStats().variance()),
                                       _totalStats.genMsgLatencyStats().maxValue(),
                                       _totalStats.genMsgLatencyStats().minValue());
+                    _totalStats.genMsgLatencyStats().printPercentiles("GenMsg latency", fileWriter);
                 }
                 else
                     fileWriter.printf("  No GenMsg latency information was received.\n");
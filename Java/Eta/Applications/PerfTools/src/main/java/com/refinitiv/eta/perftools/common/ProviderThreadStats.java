@@ -23,8 +23,8 @@ public class ProviderThreadStats
         _genMsgSentCount = new CountStat();
         _genMsgRecvCount = new CountStat();
         _latencyGenMsgSentCount = new CountStat();
-        _intervalGenMsgLatencyStats = new ValueStatistics();
-        _genMsgLatencyStats = new ValueStatistics();
+        _intervalGenMsgLatencyStats = new ValueStatistics(true);
+        _genMsgLatencyStats = new ValueStatistics(true);
         _intervalGenMsgLatencyStats.clear();
         _genMsgLatencyStats.clear();
            
@@ -0,0 +1,101 @@
+///*|-----------------------------------------------------------------------------
+// *|            This source code is provided under the Apache 2.0 license      --
+// *|  and is provided AS IS with no warranty or guarantee of fit for purpose.  --
+// *|                See the project's LICENSE.md for details.                  --
+// *|           Copyright (C) 2021 Refinitiv. All rights reserved.            --
+///*|-----------------------------------------------------------------------------
+
+package com.refinitiv.eta.benchmarks.codec;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.refinitiv.eta.codec.CodecFactory;
+import com.refinitiv.eta.codec.CodecReturnCodes;
+import com.refinitiv.eta.codec.DataDictionary;
+import com.refinitiv.eta.transport.Error;
+import com.refinitiv.eta.transport.TransportFactory;
+
+/**
+ * Measures the time to load the field dictionary and the enumerated type
+ * tables into a new {@link DataDictionary}, from the RDMFieldDictionary and
+ * enumtype.def text files or from a binary dictionary file written by
+ * {@link DataDictionary#saveBinaryDictionary(String, Error)}.
+ * Run with -bm ss -wi 0 -i 1 -f 10 to see the time of the first load in a new JVM,
+ * as at application startup.
+ */
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class DictionaryLoadBenchmark
+{
+    static final String FIELD_DICTIONARY = "../../etc/RDMFieldDictionary";
+    static final String ENUM_TYPE_DICTIONARY = "../../etc/enumtype.def";
+
+    @Param({"text", "binary"})
+    public String format;
+
+    Error _error = TransportFactory.createError();
+    File _binaryFile;
+    String _fieldDictionary;
+    String _enumTypeDictionary;
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException
+    {
+        DataDictionary dictionary = CodecFactory.createDataDictionary();
+        if (dictionary.loadFieldDictionary(FIELD_DICTIONARY, _error) < CodecReturnCodes.SUCCESS)
+            throw new IllegalStateException("Unable to load " + FIELD_DICTIONARY + ": " + _error.text());
+        if (dictionary.loadEnumTypeDictionary(ENUM_TYPE_DICTIONARY, _error) < CodecReturnCodes.SUCCESS)
+            throw new IllegalStateException("Unable to load " + ENUM_TYPE_DICTIONARY + ": " + _error.text());
+
+        _binaryFile = File.createTempFile("RDMDictionary", ".bin");
+        if (dictionary.saveBinaryDictionary(_binaryFile.getPath(), _error) < CodecReturnCodes.SUCCESS)
+            throw new IllegalStateException("Unable to save " + _binaryFile + ": " + _error.text());
+
+        if (format.equals("binary"))
+        {
+            _fieldDictionary = _binaryFile.getPath();
+            _enumTypeDictionary = _binaryFile.getPath();
+        }
+        else
+        {
+            _fieldDictionary = FIELD_DICTIONARY;
+            _enumTypeDictionary = ENUM_TYPE_DICTIONARY;
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown()
+    {
+        _binaryFile.delete();
+    }
+
+    @Benchmark
+    public DataDictionary load()
+    {
+        DataDictionary dictionary = CodecFactory.createDataDictionary();
+        if (dictionary.loadFieldDictionary(_fieldDictionary, _error) < CodecReturnCodes.SUCCESS
+                || dictionary.loadEnumTypeDictionary(_enumTypeDictionary, _error) < CodecReturnCodes.SUCCESS)
+            throw new IllegalStateException("Unable to load the dictionary: " + _error.text());
+        return dictionary;
+    }
+}
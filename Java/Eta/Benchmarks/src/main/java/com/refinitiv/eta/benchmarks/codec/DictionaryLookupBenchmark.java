@@ -0,0 +1,120 @@
+///*|-----------------------------------------------------------------------------
+// *|            This source code is provided under the Apache 2.0 license      --
+// *|  and is provided AS IS with no warranty or guarantee of fit for purpose.  --
+// *|                See the project's LICENSE.md for details.                  --
+// *|           Copyright (C) 2021 Refinitiv. All rights reserved.            --
+///*|-----------------------------------------------------------------------------
+
+package com.refinitiv.eta.benchmarks.codec;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.refinitiv.eta.codec.CodecFactory;
+import com.refinitiv.eta.codec.CodecReturnCodes;
+import com.refinitiv.eta.codec.DataDictionary;
+import com.refinitiv.eta.codec.DictionaryEntry;
+import com.refinitiv.eta.codec.Enum;
+import com.refinitiv.eta.codec.EnumType;
+import com.refinitiv.eta.transport.Error;
+import com.refinitiv.eta.transport.TransportFactory;
+
+/**
+ * Measures the rate of the {@link DataDictionary} lookups done for each field
+ * decoded: of the entry of a field id, of the entry of a field name, and of the
+ * display of the value of an enumerated field. The fields are those of the
+ * MarketPrice and MarketByOrder payloads of {@link FieldListDecodeBenchmark}.
+ *
+ * The score is in lookups/sec.
+ */
+@State(Scope.Thread)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class DictionaryLookupBenchmark
+{
+    static final String FIELD_DICTIONARY = FieldListDecodeBenchmark.FIELD_DICTIONARY;
+    static final String ENUM_TYPE_DICTIONARY = DictionaryLoadBenchmark.ENUM_TYPE_DICTIONARY;
+
+    static final int[] FIELD_IDS = { 2, 6, 11, 12, 13, 15, 16, 21, 22, 25, 30, 31, 32, 379, 3427, 3428, 3429, 3855 };
+    static final int LOOKUP_COUNT = 18;                 // FIELD_IDS.length, as a constant of the annotation
+
+    /* enumerated fields with a value of each: CURRENCY, ORDER_SIDE, PRC_QL_CD, RDN_EXCHID */
+    static final int[] ENUM_FIELD_IDS = { 15, 3428, 118, 4 };
+    static final int[] ENUM_VALUES = { 840, 1, 0, 1 };
+    static final int ENUM_LOOKUP_COUNT = 4;
+
+    DataDictionary _dictionary = CodecFactory.createDataDictionary();
+    String[] _fieldNames = new String[FIELD_IDS.length];
+    DictionaryEntry[] _enumEntries = new DictionaryEntry[ENUM_FIELD_IDS.length];
+    Enum[] _enumValues = new Enum[ENUM_FIELD_IDS.length];
+
+    @Setup(Level.Trial)
+    public void setup()
+    {
+        Error error = TransportFactory.createError();
+        if (_dictionary.loadFieldDictionary(FIELD_DICTIONARY, error) < CodecReturnCodes.SUCCESS)
+            throw new IllegalStateException("Unable to load " + FIELD_DICTIONARY + ": " + error.text());
+        if (_dictionary.loadEnumTypeDictionary(ENUM_TYPE_DICTIONARY, error) < CodecReturnCodes.SUCCESS)
+            throw new IllegalStateException("Unable to load " + ENUM_TYPE_DICTIONARY + ": " + error.text());
+
+        for (int i = 0; i < FIELD_IDS.length; i++)
+            _fieldNames[i] = _dictionary.entry(FIELD_IDS[i]).acronym().toString();
+
+        for (int i = 0; i < ENUM_FIELD_IDS.length; i++)
+        {
+            _enumEntries[i] = _dictionary.entry(ENUM_FIELD_IDS[i]);
+            _enumValues[i] = CodecFactory.createEnum();
+            _enumValues[i].value(ENUM_VALUES[i]);
+            if (_dictionary.entryEnumType(_enumEntries[i], _enumValues[i]) == null)
+                throw new IllegalStateException("No enumerated value " + ENUM_VALUES[i] + " of field " + ENUM_FIELD_IDS[i]);
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(LOOKUP_COUNT)
+    public int entryByFieldId()
+    {
+        int sum = 0;
+        for (int i = 0; i < FIELD_IDS.length; i++)
+            sum += _dictionary.entry(FIELD_IDS[i]).rwfType();
+        return sum;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(LOOKUP_COUNT)
+    public int entryByFieldName()
+    {
+        int sum = 0;
+        for (int i = 0; i < _fieldNames.length; i++)
+            sum += _dictionary.entry(_fieldNames[i]).fid();
+        return sum;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ENUM_LOOKUP_COUNT)
+    public int enumDisplay()
+    {
+        int sum = 0;
+        for (int i = 0; i < _enumEntries.length; i++)
+        {
+            EnumType enumType = _dictionary.entryEnumType(_enumEntries[i], _enumValues[i]);
+            sum += enumType.display().length();
+        }
+        return sum;
+    }
+}
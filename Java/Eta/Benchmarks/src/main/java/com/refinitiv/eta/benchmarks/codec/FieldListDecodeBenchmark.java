@@ -0,0 +1,301 @@
+///*|-----------------------------------------------------------------------------
+// *|            This source code is provided under the Apache 2.0 license      --
+// *|  and is provided AS IS with no warranty or guarantee of fit for purpose.  --
+// *|                See the project's LICENSE.md for details.                  --
+// *|           Copyright (C) 2021 Refinitiv. All rights reserved.            --
+///*|-----------------------------------------------------------------------------
+
+package com.refinitiv.eta.benchmarks.codec;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.refinitiv.eta.codec.Buffer;
+import com.refinitiv.eta.codec.Codec;
+import com.refinitiv.eta.codec.CodecFactory;
+import com.refinitiv.eta.codec.CodecReturnCodes;
+import com.refinitiv.eta.codec.DataDictionary;
+import com.refinitiv.eta.codec.DataTypes;
+import com.refinitiv.eta.codec.Date;
+import com.refinitiv.eta.codec.DecodeIterator;
+import com.refinitiv.eta.codec.DictionaryEntry;
+import com.refinitiv.eta.codec.EncodeIterator;
+import com.refinitiv.eta.codec.Enum;
+import com.refinitiv.eta.codec.FieldEntry;
+import com.refinitiv.eta.codec.FieldList;
+import com.refinitiv.eta.codec.FieldListFlags;
+import com.refinitiv.eta.codec.Map;
+import com.refinitiv.eta.codec.MapEntry;
+import com.refinitiv.eta.codec.MapEntryActions;
+import com.refinitiv.eta.codec.MapFlags;
+import com.refinitiv.eta.codec.Real;
+import com.refinitiv.eta.codec.RealHints;
+import com.refinitiv.eta.codec.Time;
+import com.refinitiv.eta.codec.UInt;
+import com.refinitiv.eta.transport.Error;
+import com.refinitiv.eta.transport.TransportFactory;
+
+/**
+ * Measures the rate at which {@link FieldEntry} entries are decoded, with
+ * their primitive values, from a MarketPrice update field list and from a
+ * MarketByOrder map of order field lists. The data types of the fields are
+ * taken from the RDMFieldDictionary, as a consumer decoding the payload does.
+ *
+ * The score is in field lists/sec for MarketPrice and in maps/sec for
+ * MarketByOrder.
+ */
+@State(Scope.Thread)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class FieldListDecodeBenchmark
+{
+    static final String FIELD_DICTIONARY = "../../etc/RDMFieldDictionary";
+    static final int ORDER_COUNT = 20;
+
+    DataDictionary _dictionary = CodecFactory.createDataDictionary();
+    Buffer _marketPrice = CodecFactory.createBuffer();
+    Buffer _marketByOrder = CodecFactory.createBuffer();
+
+    DecodeIterator _decodeIter = CodecFactory.createDecodeIterator();
+    FieldList _fieldList = CodecFactory.createFieldList();
+    FieldEntry _fieldEntry = CodecFactory.createFieldEntry();
+    Map _map = CodecFactory.createMap();
+    MapEntry _mapEntry = CodecFactory.createMapEntry();
+    Buffer _mapKey = CodecFactory.createBuffer();
+    Real _real = CodecFactory.createReal();
+    UInt _uint = CodecFactory.createUInt();
+    Enum _enum = CodecFactory.createEnum();
+    Date _date = CodecFactory.createDate();
+    Time _time = CodecFactory.createTime();
+    Buffer _buffer = CodecFactory.createBuffer();
+
+    @Setup(Level.Trial)
+    public void setup()
+    {
+        Error error = TransportFactory.createError();
+        if (_dictionary.loadFieldDictionary(FIELD_DICTIONARY, error) < CodecReturnCodes.SUCCESS)
+            throw new IllegalStateException("Unable to load " + FIELD_DICTIONARY + ": " + error.text());
+
+        _marketPrice.data(ByteBuffer.allocate(1024));
+        EncodeIterator encodeIter = CodecFactory.createEncodeIterator();
+        encodeIter.setBufferAndRWFVersion(_marketPrice, Codec.majorVersion(), Codec.minorVersion());
+        check(encodeMarketPrice(encodeIter));
+        _marketPrice.data(_marketPrice.data(), 0, _marketPrice.data().position());
+
+        _marketByOrder.data(ByteBuffer.allocate(4096));
+        encodeIter.clear();
+        encodeIter.setBufferAndRWFVersion(_marketByOrder, Codec.majorVersion(), Codec.minorVersion());
+        check(encodeMarketByOrder(encodeIter));
+        _marketByOrder.data(_marketByOrder.data(), 0, _marketByOrder.data().position());
+    }
+
+    static void check(int ret)
+    {
+        if (ret < CodecReturnCodes.SUCCESS)
+            throw new IllegalStateException("Unable to encode: " + CodecReturnCodes.toString(ret));
+    }
+
+    int encodeMarketPrice(EncodeIterator encodeIter)
+    {
+        FieldList fieldList = CodecFactory.createFieldList();
+        FieldEntry fieldEntry = CodecFactory.createFieldEntry();
+        Real real = CodecFactory.createReal();
+        UInt uint = CodecFactory.createUInt();
+        Enum enumValue = CodecFactory.createEnum();
+        Date date = CodecFactory.createDate();
+        Time time = CodecFactory.createTime();
+
+        fieldList.applyHasStandardData();
+        int ret = fieldList.encodeInit(encodeIter, null, 0);
+        if (ret < CodecReturnCodes.SUCCESS)
+            return ret;
+
+        uint.value(64);
+        encodeEntry(encodeIter, fieldEntry, 2, DataTypes.UINT, uint);          // RDNDISPLAY
+        enumValue.value(840);
+        encodeEntry(encodeIter, fieldEntry, 15, DataTypes.ENUM, enumValue);    // CURRENCY
+        date.day(21);
+        date.month(10);
+        date.year(2021);
+        encodeEntry(encodeIter, fieldEntry, 16, DataTypes.DATE, date);         // TRADE_DATE
+        int[] realFields = { 6, 11, 12, 13, 21, 22, 25, 30, 31, 32 };
+        for (int i = 0; i < realFields.length; i++)
+        {
+            real.value(1000000 + 137 * i, RealHints.EXPONENT_4);
+            encodeEntry(encodeIter, fieldEntry, realFields[i], DataTypes.REAL, real);
+        }
+        time.hour(14);
+        time.minute(30);
+        time.second(15);
+        time.millisecond(250);
+        encodeEntry(encodeIter, fieldEntry, 379, DataTypes.TIME, time);        // SALTIM
+        return fieldList.encodeComplete(encodeIter, true);
+    }
+
+    int encodeMarketByOrder(EncodeIterator encodeIter)
+    {
+        Map map = CodecFactory.createMap();
+        MapEntry mapEntry = CodecFactory.createMapEntry();
+        FieldList fieldList = CodecFactory.createFieldList();
+        FieldEntry fieldEntry = CodecFactory.createFieldEntry();
+        Buffer orderId = CodecFactory.createBuffer();
+        Real real = CodecFactory.createReal();
+        UInt uint = CodecFactory.createUInt();
+        Enum enumValue = CodecFactory.createEnum();
+
+        map.flags(MapFlags.HAS_KEY_FIELD_ID);
+        map.keyPrimitiveType(DataTypes.BUFFER);
+        map.containerType(DataTypes.FIELD_LIST);
+        map.keyFieldId(3426);                                                  // ORDER_ID
+        int ret = map.encodeInit(encodeIter, 0, 0);
+        if (ret < CodecReturnCodes.SUCCESS)
+            return ret;
+
+        for (int i = 0; i < ORDER_COUNT; i++)
+        {
+            mapEntry.clear();
+            mapEntry.action(MapEntryActions.ADD);
+            orderId.data("ORDER" + (100000 + i));
+            if ((ret = mapEntry.encodeInit(encodeIter, orderId, 0)) < CodecReturnCodes.SUCCESS)
+                return ret;
+
+            fieldList.clear();
+            fieldList.flags(FieldListFlags.HAS_STANDARD_DATA);
+            if ((ret = fieldList.encodeInit(encodeIter, null, 0)) < CodecReturnCodes.SUCCESS)
+                return ret;
+            real.value(1500000 + i, RealHints.EXPONENT_4);
+            encodeEntry(encodeIter, fieldEntry, 3427, DataTypes.REAL, real);   // ORDER_PRC
+            real.value(100 * (i + 1), RealHints.EXPONENT0);
+            encodeEntry(encodeIter, fieldEntry, 3429, DataTypes.REAL, real);   // ORDER_SIZE
+            enumValue.value(1 + (i & 1));
+            encodeEntry(encodeIter, fieldEntry, 3428, DataTypes.ENUM, enumValue); // ORDER_SIDE
+            uint.value(52215000 + i);
+            encodeEntry(encodeIter, fieldEntry, 3855, DataTypes.UINT, uint);   // QUOTIM_MS
+            if ((ret = fieldList.encodeComplete(encodeIter, true)) < CodecReturnCodes.SUCCESS)
+                return ret;
+
+            if ((ret = mapEntry.encodeComplete(encodeIter, true)) < CodecReturnCodes.SUCCESS)
+                return ret;
+        }
+        return map.encodeComplete(encodeIter, true);
+    }
+
+    static void encodeEntry(EncodeIterator encodeIter, FieldEntry fieldEntry, int fieldId, int dataType, Object data)
+    {
+        fieldEntry.clear();
+        fieldEntry.fieldId(fieldId);
+        fieldEntry.dataType(dataType);
+        int ret;
+        switch (dataType)
+        {
+            case DataTypes.REAL:
+                ret = fieldEntry.encode(encodeIter, (Real)data);
+                break;
+            case DataTypes.UINT:
+                ret = fieldEntry.encode(encodeIter, (UInt)data);
+                break;
+            case DataTypes.ENUM:
+                ret = fieldEntry.encode(encodeIter, (Enum)data);
+                break;
+            case DataTypes.DATE:
+                ret = fieldEntry.encode(encodeIter, (Date)data);
+                break;
+            case DataTypes.TIME:
+                ret = fieldEntry.encode(encodeIter, (Time)data);
+                break;
+            default:
+                ret = CodecReturnCodes.UNSUPPORTED_DATA_TYPE;
+                break;
+        }
+        check(ret);
+    }
+
+    /* Decodes the entries of the field list the iterator is positioned on. */
+    long decodeFieldList(DecodeIterator decodeIter)
+    {
+        long sum = 0;
+        int ret = _fieldList.decode(decodeIter, null);
+        if (ret < CodecReturnCodes.SUCCESS)
+            throw new IllegalStateException("Unable to decode field list: " + CodecReturnCodes.toString(ret));
+
+        while ((ret = _fieldEntry.decode(decodeIter)) != CodecReturnCodes.END_OF_CONTAINER)
+        {
+            if (ret < CodecReturnCodes.SUCCESS)
+                throw new IllegalStateException("Unable to decode field entry: " + CodecReturnCodes.toString(ret));
+
+            DictionaryEntry entry = _dictionary.entry(_fieldEntry.fieldId());
+            switch (entry.rwfType())
+            {
+                case DataTypes.REAL:
+                    ret = _real.decode(decodeIter);
+                    sum += _real.toLong();
+                    break;
+                case DataTypes.UINT:
+                    ret = _uint.decode(decodeIter);
+                    sum += _uint.toLong();
+                    break;
+                case DataTypes.ENUM:
+                    ret = _enum.decode(decodeIter);
+                    sum += _enum.toInt();
+                    break;
+                case DataTypes.DATE:
+                    ret = _date.decode(decodeIter);
+                    sum += _date.day();
+                    break;
+                case DataTypes.TIME:
+                    ret = _time.decode(decodeIter);
+                    sum += _time.millisecond();
+                    break;
+                default:
+                    ret = _buffer.decode(decodeIter);
+                    sum += _buffer.length();
+                    break;
+            }
+            if (ret < CodecReturnCodes.SUCCESS)
+                throw new IllegalStateException("Unable to decode field " + _fieldEntry.fieldId() + ": " + CodecReturnCodes.toString(ret));
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public long decodeMarketPrice()
+    {
+        _decodeIter.clear();
+        _decodeIter.setBufferAndRWFVersion(_marketPrice, Codec.majorVersion(), Codec.minorVersion());
+        return decodeFieldList(_decodeIter);
+    }
+
+    @Benchmark
+    public long decodeMarketByOrder()
+    {
+        long sum = 0;
+        _decodeIter.clear();
+        _decodeIter.setBufferAndRWFVersion(_marketByOrder, Codec.majorVersion(), Codec.minorVersion());
+        int ret = _map.decode(_decodeIter);
+        if (ret < CodecReturnCodes.SUCCESS)
+            throw new IllegalStateException("Unable to decode map: " + CodecReturnCodes.toString(ret));
+
+        while ((ret = _mapEntry.decode(_decodeIter, _mapKey)) != CodecReturnCodes.END_OF_CONTAINER)
+        {
+            if (ret < CodecReturnCodes.SUCCESS)
+                throw new IllegalStateException("Unable to decode map entry: " + CodecReturnCodes.toString(ret));
+            sum += decodeFieldList(_decodeIter);
+        }
+        return sum;
+    }
+}
@@ -0,0 +1,263 @@
+///*|-----------------------------------------------------------------------------
+// *|            This source code is provided under the Apache 2.0 license      --
+// *|  and is provided AS IS with no warranty or guarantee of fit for purpose.  --
+// *|                See the project's LICENSE.md for details.                  --
+// *|           Copyright (C) 2021 Refinitiv. All rights reserved.            --
+///*|-----------------------------------------------------------------------------
+
+package com.refinitiv.eta.benchmarks.codec;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.refinitiv.eta.codec.AckMsg;
+import com.refinitiv.eta.codec.Buffer;
+import com.refinitiv.eta.codec.CloseMsg;
+import com.refinitiv.eta.codec.Codec;
+import com.refinitiv.eta.codec.CodecFactory;
+import com.refinitiv.eta.codec.CodecReturnCodes;
+import com.refinitiv.eta.codec.DataStates;
+import com.refinitiv.eta.codec.DataTypes;
+import com.refinitiv.eta.codec.DecodeIterator;
+import com.refinitiv.eta.codec.EncodeIterator;
+import com.refinitiv.eta.codec.FieldEntry;
+import com.refinitiv.eta.codec.FieldList;
+import com.refinitiv.eta.codec.GenericMsg;
+import com.refinitiv.eta.codec.Msg;
+import com.refinitiv.eta.codec.MsgClasses;
+import com.refinitiv.eta.codec.PostMsg;
+import com.refinitiv.eta.codec.QosRates;
+import com.refinitiv.eta.codec.QosTimeliness;
+import com.refinitiv.eta.codec.Real;
+import com.refinitiv.eta.codec.RealHints;
+import com.refinitiv.eta.codec.RefreshMsg;
+import com.refinitiv.eta.codec.RequestMsg;
+import com.refinitiv.eta.codec.StateCodes;
+import com.refinitiv.eta.codec.StatusMsg;
+import com.refinitiv.eta.codec.StreamStates;
+import com.refinitiv.eta.codec.UpdateMsg;
+import com.refinitiv.eta.rdm.DomainTypes;
+import com.refinitiv.eta.rdm.UpdateEventTypes;
+
+/**
+ * Measures the rate at which the header of each message class is encoded and
+ * decoded, with the flags and members a MarketPrice item stream typically sets
+ * on it. Messages carrying data have a small pre-encoded field list, so the
+ * score covers the message header and the copy of its payload only.
+ *
+ * The score is in messages/sec. Run with -prof gc for the bytes allocated per
+ * message (gc.alloc.rate.norm).
+ */
+@State(Scope.Thread)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class MsgCodecBenchmark
+{
+    @Param({"REQUEST", "REFRESH", "STATUS", "UPDATE", "CLOSE", "ACK", "GENERIC", "POST"})
+    public String msgClass;
+
+    int _msgClass;
+    Buffer _itemName = CodecFactory.createBuffer();
+    Buffer _payload = CodecFactory.createBuffer();
+    Buffer _text = CodecFactory.createBuffer();
+
+    ByteBuffer _encodeByteBuffer = ByteBuffer.allocate(1024);
+    Buffer _encodeBuffer = CodecFactory.createBuffer();
+    Buffer _encodedMsg = CodecFactory.createBuffer();
+
+    EncodeIterator _encodeIter = CodecFactory.createEncodeIterator();
+    DecodeIterator _decodeIter = CodecFactory.createDecodeIterator();
+    Msg _msg = CodecFactory.createMsg();
+
+    @Setup(Level.Trial)
+    public void setup()
+    {
+        _msgClass = msgClassOf(msgClass);
+        _itemName.data("TRI.N");
+        _text.data("Item not found");
+
+        /* a MarketPrice update of a trade */
+        ByteBuffer payload = ByteBuffer.allocate(256);
+        _payload.data(payload);
+        EncodeIterator encodeIter = CodecFactory.createEncodeIterator();
+        encodeIter.setBufferAndRWFVersion(_payload, Codec.majorVersion(), Codec.minorVersion());
+        FieldList fieldList = CodecFactory.createFieldList();
+        FieldEntry fieldEntry = CodecFactory.createFieldEntry();
+        Real real = CodecFactory.createReal();
+        fieldList.applyHasStandardData();
+        check(fieldList.encodeInit(encodeIter, null, 0));
+        int[] realFields = { 6, 22, 25, 30, 31, 32 };
+        for (int i = 0; i < realFields.length; i++)
+        {
+            real.value(1000000 + 137 * i, RealHints.EXPONENT_4);
+            FieldListDecodeBenchmark.encodeEntry(encodeIter, fieldEntry, realFields[i], DataTypes.REAL, real);
+        }
+        check(fieldList.encodeComplete(encodeIter, true));
+        _payload.data(payload, 0, payload.position());
+
+        int length = encode();
+        ByteBuffer encoded = ByteBuffer.allocate(length);
+        encoded.put(_encodeByteBuffer.array(), 0, length);
+        _encodedMsg.data(encoded, 0, encoded.capacity());
+    }
+
+    static int msgClassOf(String name)
+    {
+        for (int msgClass = MsgClasses.REQUEST; msgClass <= MsgClasses.POST; msgClass++)
+        {
+            if (MsgClasses.toString(msgClass).equals(name))
+                return msgClass;
+        }
+        throw new IllegalArgumentException("Unknown message class " + name);
+    }
+
+    static void check(int ret)
+    {
+        if (ret < CodecReturnCodes.SUCCESS)
+            throw new IllegalStateException("Unable to encode: " + CodecReturnCodes.toString(ret));
+    }
+
+    /* Sets the members of the message for its class, as on a MarketPrice item stream. */
+    void setMsg()
+    {
+        _msg.clear();
+        _msg.msgClass(_msgClass);
+        _msg.streamId(5);
+        _msg.domainType(DomainTypes.MARKET_PRICE);
+        _msg.containerType(DataTypes.NO_DATA);
+
+        switch (_msgClass)
+        {
+            case MsgClasses.REQUEST:
+                RequestMsg requestMsg = (RequestMsg)_msg;
+                requestMsg.applyStreaming();
+                requestMsg.applyHasQos();
+                requestMsg.qos().timeliness(QosTimeliness.REALTIME);
+                requestMsg.qos().rate(QosRates.TICK_BY_TICK);
+                setKey();
+                break;
+            case MsgClasses.REFRESH:
+                RefreshMsg refreshMsg = (RefreshMsg)_msg;
+                refreshMsg.applyHasMsgKey();
+                refreshMsg.applySolicited();
+                refreshMsg.applyRefreshComplete();
+                refreshMsg.applyClearCache();
+                refreshMsg.applyHasQos();
+                refreshMsg.qos().timeliness(QosTimeliness.REALTIME);
+                refreshMsg.qos().rate(QosRates.TICK_BY_TICK);
+                refreshMsg.state().streamState(StreamStates.OPEN);
+                refreshMsg.state().dataState(DataStates.OK);
+                refreshMsg.state().code(StateCodes.NONE);
+                setKey();
+                setPayload();
+                break;
+            case MsgClasses.STATUS:
+                StatusMsg statusMsg = (StatusMsg)_msg;
+                statusMsg.applyHasMsgKey();
+                statusMsg.applyHasState();
+                statusMsg.state().streamState(StreamStates.CLOSED);
+                statusMsg.state().dataState(DataStates.SUSPECT);
+                statusMsg.state().code(StateCodes.NOT_FOUND);
+                statusMsg.state().text(_text);
+                setKey();
+                break;
+            case MsgClasses.UPDATE:
+                UpdateMsg updateMsg = (UpdateMsg)_msg;
+                updateMsg.updateType(UpdateEventTypes.TRADE);
+                updateMsg.applyHasSeqNum();
+                updateMsg.seqNum(1234567);
+                setPayload();
+                break;
+            case MsgClasses.CLOSE:
+                ((CloseMsg)_msg).applyAck();
+                break;
+            case MsgClasses.ACK:
+                AckMsg ackMsg = (AckMsg)_msg;
+                ackMsg.ackId(1234);
+                ackMsg.applyHasSeqNum();
+                ackMsg.seqNum(1234567);
+                break;
+            case MsgClasses.GENERIC:
+                GenericMsg genericMsg = (GenericMsg)_msg;
+                genericMsg.applyHasMsgKey();
+                genericMsg.applyMessageComplete();
+                genericMsg.applyHasSeqNum();
+                genericMsg.seqNum(1234567);
+                setKey();
+                setPayload();
+                break;
+            default:
+                PostMsg postMsg = (PostMsg)_msg;
+                postMsg.applyHasMsgKey();
+                postMsg.applyPostComplete();
+                postMsg.applyAck();
+                postMsg.applyHasPostId();
+                postMsg.postId(1234);
+                postMsg.applyHasSeqNum();
+                postMsg.seqNum(1234567);
+                postMsg.postUserInfo().userAddr(0x0a000001);
+                postMsg.postUserInfo().userId(42);
+                setKey();
+                setPayload();
+                break;
+        }
+    }
+
+    /* Sets the service and name of the key, the message having a key. */
+    void setKey()
+    {
+        _msg.msgKey().applyHasServiceId();
+        _msg.msgKey().serviceId(1);
+        _msg.msgKey().applyHasName();
+        _msg.msgKey().name(_itemName);
+    }
+
+    void setPayload()
+    {
+        _msg.containerType(DataTypes.FIELD_LIST);
+        _msg.encodedDataBody(_payload);
+    }
+
+    @Benchmark
+    public int encode()
+    {
+        _encodeByteBuffer.clear();
+        _encodeBuffer.data(_encodeByteBuffer);
+        _encodeIter.clear();
+        _encodeIter.setBufferAndRWFVersion(_encodeBuffer, Codec.majorVersion(), Codec.minorVersion());
+        setMsg();
+        check(_msg.encode(_encodeIter));
+        return _encodeByteBuffer.position();
+    }
+
+    @Benchmark
+    public long decode()
+    {
+        _decodeIter.clear();
+        _decodeIter.setBufferAndRWFVersion(_encodedMsg, Codec.majorVersion(), Codec.minorVersion());
+        int ret = _msg.decode(_decodeIter);
+        if (ret < CodecReturnCodes.SUCCESS)
+            throw new IllegalStateException("Unable to decode message: " + CodecReturnCodes.toString(ret));
+
+        long sum = _msg.streamId() + _msg.encodedDataBody().length();
+        if (_msg.msgKey() != null)
+            sum += _msg.msgKey().serviceId() + _msg.msgKey().name().length();
+        return sum;
+    }
+}
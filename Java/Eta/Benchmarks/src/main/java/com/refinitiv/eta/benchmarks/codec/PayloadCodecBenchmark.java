@@ -0,0 +1,416 @@
+///*|-----------------------------------------------------------------------------
+// *|            This source code is provided under the Apache 2.0 license      --
+// *|  and is provided AS IS with no warranty or guarantee of fit for purpose.  --
+// *|                See the project's LICENSE.md for details.                  --
+// *|           Copyright (C) 2021 Refinitiv. All rights reserved.            --
+///*|-----------------------------------------------------------------------------
+
+package com.refinitiv.eta.benchmarks.codec;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.refinitiv.eta.codec.Buffer;
+import com.refinitiv.eta.codec.Codec;
+import com.refinitiv.eta.codec.CodecFactory;
+import com.refinitiv.eta.codec.CodecReturnCodes;
+import com.refinitiv.eta.codec.DataDictionary;
+import com.refinitiv.eta.codec.DataStates;
+import com.refinitiv.eta.codec.DataTypes;
+import com.refinitiv.eta.codec.Date;
+import com.refinitiv.eta.codec.DecodeIterator;
+import com.refinitiv.eta.codec.EncodeIterator;
+import com.refinitiv.eta.codec.Enum;
+import com.refinitiv.eta.codec.FieldEntry;
+import com.refinitiv.eta.codec.FieldList;
+import com.refinitiv.eta.codec.FieldListFlags;
+import com.refinitiv.eta.codec.Map;
+import com.refinitiv.eta.codec.MapEntry;
+import com.refinitiv.eta.codec.MapEntryActions;
+import com.refinitiv.eta.codec.MapFlags;
+import com.refinitiv.eta.codec.Msg;
+import com.refinitiv.eta.codec.MsgClasses;
+import com.refinitiv.eta.codec.Real;
+import com.refinitiv.eta.codec.RealHints;
+import com.refinitiv.eta.codec.RefreshMsg;
+import com.refinitiv.eta.codec.StateCodes;
+import com.refinitiv.eta.codec.StreamStates;
+import com.refinitiv.eta.codec.Time;
+import com.refinitiv.eta.codec.UInt;
+import com.refinitiv.eta.rdm.DomainTypes;
+import com.refinitiv.eta.transport.Error;
+import com.refinitiv.eta.transport.TransportFactory;
+
+/**
+ * Measures the rate at which refresh messages of typical MarketPrice,
+ * MarketByOrder, MarketByPrice and SymbolList payloads are encoded, and decoded
+ * down to the primitive values of their fields, as a provider publishing the
+ * item and a consumer receiving it do. The data types of the fields decoded are
+ * taken from the RDMFieldDictionary.
+ *
+ * The score is in messages/sec. Run with -prof gc for the bytes allocated per
+ * message (gc.alloc.rate.norm), which is expected to be zero for both.
+ */
+@State(Scope.Thread)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class PayloadCodecBenchmark
+{
+    static final String FIELD_DICTIONARY = FieldListDecodeBenchmark.FIELD_DICTIONARY;
+    static final int ORDER_COUNT = 20;
+    static final int PRICE_POINT_COUNT = 10;
+    static final int SYMBOL_COUNT = 200;
+    static final int[] MARKET_PRICE_REALS = { 6, 11, 12, 13, 21, 22, 25, 30, 31, 32 };
+
+    @Param({"MarketPrice", "MarketByOrder", "MarketByPrice", "SymbolList"})
+    public String domain;
+
+    DataDictionary _dictionary = CodecFactory.createDataDictionary();
+    int _domainType;
+    Buffer[] _keys;
+
+    ByteBuffer _encodeByteBuffer = ByteBuffer.allocate(16384);
+    Buffer _encodeBuffer = CodecFactory.createBuffer();
+    Buffer _encodedMsg = CodecFactory.createBuffer();
+    Buffer _itemName = CodecFactory.createBuffer();
+
+    EncodeIterator _encodeIter = CodecFactory.createEncodeIterator();
+    DecodeIterator _decodeIter = CodecFactory.createDecodeIterator();
+    Msg _msg = CodecFactory.createMsg();
+    FieldList _fieldList = CodecFactory.createFieldList();
+    FieldEntry _fieldEntry = CodecFactory.createFieldEntry();
+    Map _map = CodecFactory.createMap();
+    MapEntry _mapEntry = CodecFactory.createMapEntry();
+    Buffer _mapKey = CodecFactory.createBuffer();
+    Real _real = CodecFactory.createReal();
+    UInt _uint = CodecFactory.createUInt();
+    Enum _enum = CodecFactory.createEnum();
+    Date _date = CodecFactory.createDate();
+    Time _time = CodecFactory.createTime();
+    Buffer _buffer = CodecFactory.createBuffer();
+
+    @Setup(Level.Trial)
+    public void setup()
+    {
+        Error error = TransportFactory.createError();
+        if (_dictionary.loadFieldDictionary(FIELD_DICTIONARY, error) < CodecReturnCodes.SUCCESS)
+            throw new IllegalStateException("Unable to load " + FIELD_DICTIONARY + ": " + error.text());
+
+        switch (domain)
+        {
+            case "MarketPrice":
+                _domainType = DomainTypes.MARKET_PRICE;
+                _itemName.data("TRI.N");
+                _keys = new Buffer[0];
+                break;
+            case "MarketByOrder":
+                _domainType = DomainTypes.MARKET_BY_ORDER;
+                _itemName.data("TRI.N");
+                _keys = new Buffer[ORDER_COUNT];
+                for (int i = 0; i < _keys.length; i++)
+                {
+                    _keys[i] = CodecFactory.createBuffer();
+                    _keys[i].data("ORDER" + (100000 + i));
+                }
+                break;
+            case "MarketByPrice":
+                _domainType = DomainTypes.MARKET_BY_PRICE;
+                _itemName.data("TRI.N");
+                _keys = new Buffer[PRICE_POINT_COUNT];
+                for (int i = 0; i < _keys.length; i++)
+                {
+                    _keys[i] = CodecFactory.createBuffer();
+                    _keys[i].data((150 + i / 2) + "." + (i % 2 == 0 ? "00" : "50") + (i < PRICE_POINT_COUNT / 2 ? "B" : "A"));
+                }
+                break;
+            case "SymbolList":
+                _domainType = DomainTypes.SYMBOL_LIST;
+                _itemName.data("0#.INDEX");
+                _keys = new Buffer[SYMBOL_COUNT];
+                for (int i = 0; i < _keys.length; i++)
+                {
+                    _keys[i] = CodecFactory.createBuffer();
+                    _keys[i].data("RIC" + (1000 + i) + ".N");
+                }
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown domain " + domain);
+        }
+
+        int length = encode();
+        ByteBuffer encoded = ByteBuffer.allocate(length);
+        encoded.put(_encodeByteBuffer.array(), 0, length);
+        _encodedMsg.data(encoded, 0, encoded.capacity());
+    }
+
+    static void check(int ret)
+    {
+        if (ret < CodecReturnCodes.SUCCESS)
+            throw new IllegalStateException("Unable to encode: " + CodecReturnCodes.toString(ret));
+    }
+
+    @Benchmark
+    public int encode()
+    {
+        _encodeByteBuffer.clear();
+        _encodeBuffer.data(_encodeByteBuffer);
+        _encodeIter.clear();
+        _encodeIter.setBufferAndRWFVersion(_encodeBuffer, Codec.majorVersion(), Codec.minorVersion());
+
+        _msg.clear();
+        RefreshMsg refreshMsg = (RefreshMsg)_msg;
+        refreshMsg.msgClass(MsgClasses.REFRESH);
+        refreshMsg.streamId(5);
+        refreshMsg.domainType(_domainType);
+        refreshMsg.containerType(_domainType == DomainTypes.MARKET_PRICE ? DataTypes.FIELD_LIST : DataTypes.MAP);
+        refreshMsg.applyHasMsgKey();
+        refreshMsg.applySolicited();
+        refreshMsg.applyRefreshComplete();
+        refreshMsg.applyClearCache();
+        refreshMsg.msgKey().applyHasServiceId();
+        refreshMsg.msgKey().serviceId(1);
+        refreshMsg.msgKey().applyHasName();
+        refreshMsg.msgKey().name(_itemName);
+        refreshMsg.state().streamState(StreamStates.OPEN);
+        refreshMsg.state().dataState(DataStates.OK);
+        refreshMsg.state().code(StateCodes.NONE);
+        check(refreshMsg.encodeInit(_encodeIter, 0));
+
+        switch (_domainType)
+        {
+            case DomainTypes.MARKET_PRICE:
+                check(encodeMarketPrice());
+                break;
+            case DomainTypes.MARKET_BY_ORDER:
+                check(encodeMarketByOrder());
+                break;
+            case DomainTypes.MARKET_BY_PRICE:
+                check(encodeMarketByPrice());
+                break;
+            default:
+                check(encodeSymbolList());
+                break;
+        }
+        check(refreshMsg.encodeComplete(_encodeIter, true));
+        return _encodeByteBuffer.position();
+    }
+
+    int encodeMarketPrice()
+    {
+        _fieldList.clear();
+        _fieldList.applyHasStandardData();
+        int ret = _fieldList.encodeInit(_encodeIter, null, 0);
+        if (ret < CodecReturnCodes.SUCCESS)
+            return ret;
+
+        _uint.value(64);
+        FieldListDecodeBenchmark.encodeEntry(_encodeIter, _fieldEntry, 2, DataTypes.UINT, _uint);          // RDNDISPLAY
+        _enum.value(840);
+        FieldListDecodeBenchmark.encodeEntry(_encodeIter, _fieldEntry, 15, DataTypes.ENUM, _enum);         // CURRENCY
+        _date.day(21);
+        _date.month(10);
+        _date.year(2021);
+        FieldListDecodeBenchmark.encodeEntry(_encodeIter, _fieldEntry, 16, DataTypes.DATE, _date);         // TRADE_DATE
+        for (int i = 0; i < MARKET_PRICE_REALS.length; i++)
+        {
+            _real.value(1000000 + 137 * i, RealHints.EXPONENT_4);
+            FieldListDecodeBenchmark.encodeEntry(_encodeIter, _fieldEntry, MARKET_PRICE_REALS[i], DataTypes.REAL, _real);
+        }
+        _time.hour(14);
+        _time.minute(30);
+        _time.second(15);
+        _time.millisecond(250);
+        FieldListDecodeBenchmark.encodeEntry(_encodeIter, _fieldEntry, 379, DataTypes.TIME, _time);        // SALTIM
+        return _fieldList.encodeComplete(_encodeIter, true);
+    }
+
+    int encodeMarketByOrder()
+    {
+        _map.clear();
+        _map.flags(MapFlags.HAS_KEY_FIELD_ID);
+        _map.keyPrimitiveType(DataTypes.BUFFER);
+        _map.containerType(DataTypes.FIELD_LIST);
+        _map.keyFieldId(3426);                                                 // ORDER_ID
+        int ret = _map.encodeInit(_encodeIter, 0, 0);
+        if (ret < CodecReturnCodes.SUCCESS)
+            return ret;
+
+        for (int i = 0; i < _keys.length; i++)
+        {
+            if ((ret = encodeEntryInit(_keys[i])) < CodecReturnCodes.SUCCESS)
+                return ret;
+            _real.value(1500000 + i, RealHints.EXPONENT_4);
+            FieldListDecodeBenchmark.encodeEntry(_encodeIter, _fieldEntry, 3427, DataTypes.REAL, _real);   // ORDER_PRC
+            _enum.value(1 + (i & 1));
+            FieldListDecodeBenchmark.encodeEntry(_encodeIter, _fieldEntry, 3428, DataTypes.ENUM, _enum);   // ORDER_SIDE
+            _real.value(100 * (i + 1), RealHints.EXPONENT0);
+            FieldListDecodeBenchmark.encodeEntry(_encodeIter, _fieldEntry, 3429, DataTypes.REAL, _real);   // ORDER_SIZE
+            _uint.value(52215000 + i);
+            FieldListDecodeBenchmark.encodeEntry(_encodeIter, _fieldEntry, 3855, DataTypes.UINT, _uint);   // QUOTIM_MS
+            if ((ret = encodeEntryComplete()) < CodecReturnCodes.SUCCESS)
+                return ret;
+        }
+        return _map.encodeComplete(_encodeIter, true);
+    }
+
+    int encodeMarketByPrice()
+    {
+        _map.clear();
+        _map.flags(MapFlags.HAS_KEY_FIELD_ID);
+        _map.keyPrimitiveType(DataTypes.BUFFER);
+        _map.containerType(DataTypes.FIELD_LIST);
+        _map.keyFieldId(3427);                                                 // ORDER_PRC
+        int ret = _map.encodeInit(_encodeIter, 0, 0);
+        if (ret < CodecReturnCodes.SUCCESS)
+            return ret;
+
+        for (int i = 0; i < _keys.length; i++)
+        {
+            if ((ret = encodeEntryInit(_keys[i])) < CodecReturnCodes.SUCCESS)
+                return ret;
+            _real.value(15000 + 50 * (i / 2), RealHints.EXPONENT_2);
+            FieldListDecodeBenchmark.encodeEntry(_encodeIter, _fieldEntry, 3427, DataTypes.REAL, _real);   // ORDER_PRC
+            _enum.value(i < _keys.length / 2 ? 1 : 2);
+            FieldListDecodeBenchmark.encodeEntry(_encodeIter, _fieldEntry, 3428, DataTypes.ENUM, _enum);   // ORDER_SIDE
+            _uint.value(1 + i);
+            FieldListDecodeBenchmark.encodeEntry(_encodeIter, _fieldEntry, 3430, DataTypes.UINT, _uint);   // NO_ORD
+            _uint.value(52215000 + i);
+            FieldListDecodeBenchmark.encodeEntry(_encodeIter, _fieldEntry, 3855, DataTypes.UINT, _uint);   // QUOTIM_MS
+            _real.value(500 * (i + 1), RealHints.EXPONENT0);
+            FieldListDecodeBenchmark.encodeEntry(_encodeIter, _fieldEntry, 4356, DataTypes.REAL, _real);   // ACC_SIZE
+            if ((ret = encodeEntryComplete()) < CodecReturnCodes.SUCCESS)
+                return ret;
+        }
+        return _map.encodeComplete(_encodeIter, true);
+    }
+
+    int encodeSymbolList()
+    {
+        _map.clear();
+        _map.keyPrimitiveType(DataTypes.BUFFER);
+        _map.containerType(DataTypes.NO_DATA);
+        int ret = _map.encodeInit(_encodeIter, 0, 0);
+        if (ret < CodecReturnCodes.SUCCESS)
+            return ret;
+
+        for (int i = 0; i < _keys.length; i++)
+        {
+            _mapEntry.clear();
+            _mapEntry.action(MapEntryActions.ADD);
+            if ((ret = _mapEntry.encode(_encodeIter, _keys[i])) < CodecReturnCodes.SUCCESS)
+                return ret;
+        }
+        return _map.encodeComplete(_encodeIter, true);
+    }
+
+    /* Starts an added map entry of the key given and its field list. */
+    int encodeEntryInit(Buffer key)
+    {
+        _mapEntry.clear();
+        _mapEntry.action(MapEntryActions.ADD);
+        int ret = _mapEntry.encodeInit(_encodeIter, key, 0);
+        if (ret < CodecReturnCodes.SUCCESS)
+            return ret;
+
+        _fieldList.clear();
+        _fieldList.flags(FieldListFlags.HAS_STANDARD_DATA);
+        return _fieldList.encodeInit(_encodeIter, null, 0);
+    }
+
+    int encodeEntryComplete()
+    {
+        int ret = _fieldList.encodeComplete(_encodeIter, true);
+        if (ret < CodecReturnCodes.SUCCESS)
+            return ret;
+        return _mapEntry.encodeComplete(_encodeIter, true);
+    }
+
+    @Benchmark
+    public long decode()
+    {
+        _decodeIter.clear();
+        _decodeIter.setBufferAndRWFVersion(_encodedMsg, Codec.majorVersion(), Codec.minorVersion());
+        int ret = _msg.decode(_decodeIter);
+        if (ret < CodecReturnCodes.SUCCESS)
+            throw new IllegalStateException("Unable to decode message: " + CodecReturnCodes.toString(ret));
+
+        long sum = _msg.msgKey().name().length();
+        if (_msg.containerType() == DataTypes.FIELD_LIST)
+            return sum + decodeFieldList();
+
+        if ((ret = _map.decode(_decodeIter)) < CodecReturnCodes.SUCCESS)
+            throw new IllegalStateException("Unable to decode map: " + CodecReturnCodes.toString(ret));
+
+        while ((ret = _mapEntry.decode(_decodeIter, _mapKey)) != CodecReturnCodes.END_OF_CONTAINER)
+        {
+            if (ret < CodecReturnCodes.SUCCESS)
+                throw new IllegalStateException("Unable to decode map entry: " + CodecReturnCodes.toString(ret));
+            sum += _mapKey.length();
+            if (_map.containerType() == DataTypes.FIELD_LIST)
+                sum += decodeFieldList();
+        }
+        return sum;
+    }
+
+    /* Decodes the entries of the field list the iterator is positioned on. */
+    long decodeFieldList()
+    {
+        long sum = 0;
+        int ret = _fieldList.decode(_decodeIter, null);
+        if (ret < CodecReturnCodes.SUCCESS)
+            throw new IllegalStateException("Unable to decode field list: " + CodecReturnCodes.toString(ret));
+
+        while ((ret = _fieldEntry.decode(_decodeIter)) != CodecReturnCodes.END_OF_CONTAINER)
+        {
+            if (ret < CodecReturnCodes.SUCCESS)
+                throw new IllegalStateException("Unable to decode field entry: " + CodecReturnCodes.toString(ret));
+
+            switch (_dictionary.entry(_fieldEntry.fieldId()).rwfType())
+            {
+                case DataTypes.REAL:
+                    ret = _real.decode(_decodeIter);
+                    sum += _real.toLong();
+                    break;
+                case DataTypes.UINT:
+                    ret = _uint.decode(_decodeIter);
+                    sum += _uint.toLong();
+                    break;
+                case DataTypes.ENUM:
+                    ret = _enum.decode(_decodeIter);
+                    sum += _enum.toInt();
+                    break;
+                case DataTypes.DATE:
+                    ret = _date.decode(_decodeIter);
+                    sum += _date.day();
+                    break;
+                case DataTypes.TIME:
+                    ret = _time.decode(_decodeIter);
+                    sum += _time.millisecond();
+                    break;
+                default:
+                    ret = _buffer.decode(_decodeIter);
+                    sum += _buffer.length();
+                    break;
+            }
+            if (ret < CodecReturnCodes.SUCCESS)
+                throw new IllegalStateException("Unable to decode field " + _fieldEntry.fieldId() + ": " + CodecReturnCodes.toString(ret));
+        }
+        return sum;
+    }
+}
@@ -0,0 +1,213 @@
+///*|-----------------------------------------------------------------------------
+// *|            This source code is provided under the Apache 2.0 license      --
+// *|  and is provided AS IS with no warranty or guarantee of fit for purpose.  --
+// *|                See the project's LICENSE.md for details.                  --
+// *|           Copyright (C) 2021 Refinitiv. All rights reserved.            --
+///*|-----------------------------------------------------------------------------
+
+package com.refinitiv.eta.benchmarks.json;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.refinitiv.eta.codec.Buffer;
+import com.refinitiv.eta.codec.Codec;
+import com.refinitiv.eta.codec.CodecFactory;
+import com.refinitiv.eta.codec.CodecReturnCodes;
+import com.refinitiv.eta.codec.DataDictionary;
+import com.refinitiv.eta.codec.DataTypes;
+import com.refinitiv.eta.codec.Date;
+import com.refinitiv.eta.codec.DecodeIterator;
+import com.refinitiv.eta.codec.EncodeIterator;
+import com.refinitiv.eta.codec.Enum;
+import com.refinitiv.eta.codec.FieldEntry;
+import com.refinitiv.eta.codec.FieldList;
+import com.refinitiv.eta.codec.Msg;
+import com.refinitiv.eta.codec.MsgClasses;
+import com.refinitiv.eta.codec.Real;
+import com.refinitiv.eta.codec.RealHints;
+import com.refinitiv.eta.codec.Time;
+import com.refinitiv.eta.codec.UInt;
+import com.refinitiv.eta.codec.UpdateMsg;
+import com.refinitiv.eta.json.converter.ConverterFactory;
+import com.refinitiv.eta.json.converter.GetJsonMsgOptions;
+import com.refinitiv.eta.json.converter.JsonConverter;
+import com.refinitiv.eta.json.converter.JsonConverterError;
+import com.refinitiv.eta.json.converter.JsonConverterProperties;
+import com.refinitiv.eta.json.converter.JsonProtocol;
+import com.refinitiv.eta.json.converter.RWFToJsonOptions;
+import com.refinitiv.eta.json.converter.ServiceNameIdConverter;
+import com.refinitiv.eta.rdm.DomainTypes;
+import com.refinitiv.eta.transport.Error;
+import com.refinitiv.eta.transport.TransportFactory;
+
+/**
+ * Measures the conversion of a MarketPrice update with nine fields from RWF to JSON,
+ * including the copy of the JSON message into the output buffer.
+ * Run with -prof gc to see the allocation per message (gc.alloc.rate.norm).
+ */
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class RwfToJsonBenchmark
+{
+    @Param({"false", "true"})
+    public boolean expandEnumFields;
+
+    JsonConverter _converter;
+    JsonConverterError _error = ConverterFactory.createJsonConverterError();
+    RWFToJsonOptions _rwfToJsonOptions = ConverterFactory.createRWFToJsonOptions();
+    GetJsonMsgOptions _getJsonMsgOptions = ConverterFactory.createGetJsonMsgOptions();
+    Msg _msg = CodecFactory.createMsg();
+    Buffer _jsonBuffer = CodecFactory.createBuffer();
+    ByteBuffer _jsonByteBuffer = ByteBuffer.allocate(4096);
+
+    @Setup(Level.Trial)
+    public void setup()
+    {
+        DataDictionary dictionary = CodecFactory.createDataDictionary();
+        Error error = TransportFactory.createError();
+        if (dictionary.loadFieldDictionary("../../etc/RDMFieldDictionary", error) < CodecReturnCodes.SUCCESS)
+            throw new IllegalStateException("Unable to load ../../etc/RDMFieldDictionary: " + error.text());
+        if (dictionary.loadEnumTypeDictionary("../../etc/enumtype.def", error) < CodecReturnCodes.SUCCESS)
+            throw new IllegalStateException("Unable to load ../../etc/enumtype.def: " + error.text());
+
+        _converter = ConverterFactory.createJsonConverterBuilder()
+                .setDictionary(dictionary)
+                .setServiceConverter(new ServiceNameIdConverter()
+                {
+                    @Override
+                    public int serviceNameToId(String serviceName, JsonConverterError error)
+                    {
+                        return 1;
+                    }
+
+                    @Override
+                    public String serviceIdToName(int id, JsonConverterError error)
+                    {
+                        return "DIRECT_FEED";
+                    }
+                })
+                .setProperty(JsonConverterProperties.JSON_CPC_EXPAND_ENUM_FIELDS, expandEnumFields)
+                .build(_error);
+        if (_converter == null)
+            throw new IllegalStateException("Unable to create the converter: " + _error.getText());
+
+        _rwfToJsonOptions.setJsonProtocolType(JsonProtocol.JSON_JPT_JSON2);
+        _getJsonMsgOptions.jsonProtocolType(JsonProtocol.JSON_JPT_JSON2);
+
+        DecodeIterator dIter = CodecFactory.createDecodeIterator();
+        dIter.setBufferAndRWFVersion(encodeUpdate(), Codec.majorVersion(), Codec.minorVersion());
+        if (_msg.decode(dIter) < CodecReturnCodes.SUCCESS)
+            throw new IllegalStateException("Unable to decode the update");
+
+        _jsonBuffer.data(_jsonByteBuffer);
+        if (convert() < CodecReturnCodes.SUCCESS)
+            throw new IllegalStateException("Unable to convert the update: " + _error.getText());
+    }
+
+    @Benchmark
+    public int convert()
+    {
+        int ret = _converter.convertRWFToJson(_msg, _rwfToJsonOptions, _error);
+        if (ret < CodecReturnCodes.SUCCESS)
+            return ret;
+
+        _jsonByteBuffer.clear();
+        return _converter.getJsonBuffer(_jsonBuffer, _getJsonMsgOptions, _error);
+    }
+
+    Buffer encodeUpdate()
+    {
+        Buffer buffer = CodecFactory.createBuffer();
+        buffer.data(ByteBuffer.allocate(1024));
+        EncodeIterator eIter = CodecFactory.createEncodeIterator();
+        eIter.setBufferAndRWFVersion(buffer, Codec.majorVersion(), Codec.minorVersion());
+
+        UpdateMsg msg = (UpdateMsg)CodecFactory.createMsg();
+        msg.msgClass(MsgClasses.UPDATE);
+        msg.domainType(DomainTypes.MARKET_PRICE);
+        msg.streamId(5);
+        msg.containerType(DataTypes.FIELD_LIST);
+        msg.applyHasMsgKey();
+        msg.msgKey().applyHasName();
+        msg.msgKey().name().data("TRI.N");
+        msg.msgKey().applyHasServiceId();
+        msg.msgKey().serviceId(1);
+        msg.encodeInit(eIter, 0);
+
+        FieldList fieldList = CodecFactory.createFieldList();
+        FieldEntry fieldEntry = CodecFactory.createFieldEntry();
+        fieldList.applyHasStandardData();
+        fieldList.encodeInit(eIter, null, 0);
+
+        Real real = CodecFactory.createReal();
+        encodeReal(eIter, fieldEntry, 22, real, 3990, RealHints.EXPONENT_2); // BID
+        encodeReal(eIter, fieldEntry, 25, real, 3994, RealHints.EXPONENT_2); // ASK
+        encodeReal(eIter, fieldEntry, 6, real, 3992, RealHints.EXPONENT_2); // TRDPRC_1
+        encodeReal(eIter, fieldEntry, 32, real, 1234567, RealHints.EXPONENT0); // ACVOL_1
+
+        UInt uint = CodecFactory.createUInt();
+        uint.value(100);
+        fieldEntry.fieldId(2); // RDNDISPLAY
+        fieldEntry.dataType(DataTypes.UINT);
+        fieldEntry.encode(eIter, uint);
+
+        Enum enumValue = CodecFactory.createEnum();
+        enumValue.value(840);
+        fieldEntry.fieldId(15); // CURRENCY
+        fieldEntry.dataType(DataTypes.ENUM);
+        fieldEntry.encode(eIter, enumValue);
+
+        Date date = CodecFactory.createDate();
+        date.year(2021);
+        date.month(3);
+        date.day(15);
+        fieldEntry.fieldId(16); // TRADE_DATE
+        fieldEntry.dataType(DataTypes.DATE);
+        fieldEntry.encode(eIter, date);
+
+        Time time = CodecFactory.createTime();
+        time.hour(13);
+        time.minute(55);
+        time.second(18);
+        time.millisecond(15);
+        fieldEntry.fieldId(5); // TIMACT
+        fieldEntry.dataType(DataTypes.TIME);
+        fieldEntry.encode(eIter, time);
+
+        Buffer name = CodecFactory.createBuffer();
+        name.data("REFINITIV");
+        fieldEntry.fieldId(3); // DSPLY_NAME
+        fieldEntry.dataType(DataTypes.RMTES_STRING);
+        fieldEntry.encode(eIter, name);
+
+        fieldList.encodeComplete(eIter, true);
+        msg.encodeComplete(eIter, true);
+        return buffer;
+    }
+
+    void encodeReal(EncodeIterator eIter, FieldEntry fieldEntry, int fieldId, Real real, long value, int hint)
+    {
+        real.value(value, hint);
+        fieldEntry.fieldId(fieldId);
+        fieldEntry.dataType(DataTypes.REAL);
+        fieldEntry.encode(eIter, real);
+    }
+}
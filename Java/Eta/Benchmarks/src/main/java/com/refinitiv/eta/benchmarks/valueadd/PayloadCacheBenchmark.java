@@ -0,0 +1,291 @@
+///*|-----------------------------------------------------------------------------
+// *|            This source code is provided under the Apache 2.0 license      --
+// *|  and is provided AS IS with no warranty or guarantee of fit for purpose.  --
+// *|                See the project's LICENSE.md for details.                  --
+// *|           Copyright (C) 2021 Refinitiv. All rights reserved.            --
+///*|-----------------------------------------------------------------------------
+
+package com.refinitiv.eta.benchmarks.valueadd;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.refinitiv.eta.codec.Buffer;
+import com.refinitiv.eta.codec.Codec;
+import com.refinitiv.eta.codec.CodecFactory;
+import com.refinitiv.eta.codec.CodecReturnCodes;
+import com.refinitiv.eta.codec.DataDictionary;
+import com.refinitiv.eta.codec.DataStates;
+import com.refinitiv.eta.codec.DataTypes;
+import com.refinitiv.eta.codec.DecodeIterator;
+import com.refinitiv.eta.codec.EncodeIterator;
+import com.refinitiv.eta.codec.FieldEntry;
+import com.refinitiv.eta.codec.FieldList;
+import com.refinitiv.eta.codec.Map;
+import com.refinitiv.eta.codec.MapEntry;
+import com.refinitiv.eta.codec.MapEntryActions;
+import com.refinitiv.eta.codec.Msg;
+import com.refinitiv.eta.codec.MsgClasses;
+import com.refinitiv.eta.codec.Real;
+import com.refinitiv.eta.codec.RealHints;
+import com.refinitiv.eta.codec.RefreshMsg;
+import com.refinitiv.eta.codec.RefreshMsgFlags;
+import com.refinitiv.eta.codec.StreamStates;
+import com.refinitiv.eta.rdm.DomainTypes;
+import com.refinitiv.eta.transport.Error;
+import com.refinitiv.eta.transport.TransportFactory;
+import com.refinitiv.eta.valueadd.cache.CacheError;
+import com.refinitiv.eta.valueadd.cache.CacheFactory;
+import com.refinitiv.eta.valueadd.cache.PayloadCache;
+import com.refinitiv.eta.valueadd.cache.PayloadCacheConfigOptions;
+import com.refinitiv.eta.valueadd.cache.PayloadCursor;
+import com.refinitiv.eta.valueadd.cache.PayloadEntry;
+
+/**
+ * Compares the Java payload cache ({@link PayloadCacheConfigOptions#useJavaCache(boolean)})
+ * with the JNI payload cache, which needs the rsslVACacheJNI library on java.library.path.
+ * Run with -p cacheType=java where the library is not available.
+ *
+ * {@link #applyUpdate()} applies a five field MarketPrice update, {@link #retrieveFieldList()}
+ * retrieves the MarketPrice entry, {@link #applyMapUpdate()} updates one order of a
+ * MarketByOrder entry and {@link #retrieveMap()} retrieves that entry in 6144 byte parts.
+ * Applying includes decoding the message header.
+ */
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class PayloadCacheBenchmark
+{
+    static final int DSPLY_NAME = 3;
+    static final int[] PRICE_FIDS = {22, 25, 30, 31, 32}; // BID, ASK, BIDSIZE, ASKSIZE, ACVOL_1
+    static final int ORDER_PRC = 3427;
+    static final int ORDER_SIZE = 3429;
+    static final int PART_SIZE = 6144;
+
+    @Param({"java", "jni"})
+    public String cacheType;
+
+    @Param({"100"})
+    public int orders;
+
+    PayloadCache _cache;
+    PayloadEntry _priceEntry;
+    PayloadEntry _orderEntry;
+    PayloadCursor _cursor;
+    CacheError _error = CacheFactory.createCacheError();
+
+    EncodeIterator _eIter = CodecFactory.createEncodeIterator();
+    DecodeIterator _dIter = CodecFactory.createDecodeIterator();
+    Msg _msg = CodecFactory.createMsg();
+    FieldList _fieldList = CodecFactory.createFieldList();
+    FieldEntry _fieldEntry = CodecFactory.createFieldEntry();
+    Real _real = CodecFactory.createReal();
+    Buffer _stringBuffer = CodecFactory.createBuffer();
+
+    Buffer _priceUpdate;
+    Buffer _orderUpdate;
+    Buffer _retrieveBuffer = CodecFactory.createBuffer();
+    ByteBuffer _retrieveByteBuffer = ByteBuffer.allocate(PART_SIZE);
+
+    @Setup(Level.Trial)
+    public void setup()
+    {
+        DataDictionary dictionary = CodecFactory.createDataDictionary();
+        Error error = TransportFactory.createError();
+        if (dictionary.loadFieldDictionary("../../etc/RDMFieldDictionary", error) < CodecReturnCodes.SUCCESS)
+            throw new IllegalStateException("Unable to load ../../etc/RDMFieldDictionary: " + error.text());
+
+        PayloadCacheConfigOptions options = CacheFactory.createPayloadCacheConfig();
+        options.useJavaCache(cacheType.equals("java"));
+        try
+        {
+            _cache = CacheFactory.createPayloadCache(options, _error);
+        }
+        catch (UnsatisfiedLinkError e)
+        {
+            throw new IllegalStateException("The JNI payload cache is not available, run with -p cacheType=java", e);
+        }
+        if (_cache == null || _cache.setDictionary(dictionary, "RDMFieldDictionary", _error) != CodecReturnCodes.SUCCESS)
+            throw new IllegalStateException("Unable to create the payload cache: " + _error.text());
+
+        _priceEntry = CacheFactory.createPayloadEntry(_cache, _error);
+        _orderEntry = CacheFactory.createPayloadEntry(_cache, _error);
+        _cursor = CacheFactory.createPayloadCursor();
+
+        apply(_priceEntry, encodePrice(MsgClasses.REFRESH, 0));
+        apply(_orderEntry, encodeOrders(MsgClasses.REFRESH, 0, orders));
+        _priceUpdate = encodePrice(MsgClasses.UPDATE, 1);
+        _orderUpdate = encodeOrders(MsgClasses.UPDATE, orders / 2, 1);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown()
+    {
+        if (_cursor != null)
+            _cursor.destroy();
+        if (_cache != null)
+            _cache.destroy();
+    }
+
+    @Benchmark
+    public int applyUpdate()
+    {
+        return apply(_priceEntry, _priceUpdate);
+    }
+
+    @Benchmark
+    public int retrieveFieldList()
+    {
+        _retrieveByteBuffer.clear();
+        _retrieveBuffer.data(_retrieveByteBuffer);
+        _eIter.clear();
+        _eIter.setBufferAndRWFVersion(_retrieveBuffer, Codec.majorVersion(), Codec.minorVersion());
+        return _priceEntry.retrieve(_eIter, null, _error);
+    }
+
+    @Benchmark
+    public int applyMapUpdate()
+    {
+        return apply(_orderEntry, _orderUpdate);
+    }
+
+    @Benchmark
+    public int retrieveMap()
+    {
+        int ret = CodecReturnCodes.SUCCESS;
+        _cursor.clear();
+        while (!_cursor.isComplete() && ret == CodecReturnCodes.SUCCESS)
+        {
+            _retrieveByteBuffer.clear();
+            _retrieveBuffer.data(_retrieveByteBuffer);
+            _eIter.clear();
+            _eIter.setBufferAndRWFVersion(_retrieveBuffer, Codec.majorVersion(), Codec.minorVersion());
+            ret = _orderEntry.retrieve(_eIter, _cursor, _error);
+        }
+        return ret;
+    }
+
+    int apply(PayloadEntry entry, Buffer encodedMsg)
+    {
+        _dIter.clear();
+        _dIter.setBufferAndRWFVersion(encodedMsg, Codec.majorVersion(), Codec.minorVersion());
+        _msg.clear();
+        _msg.decode(_dIter);
+        return entry.apply(_dIter, _msg, _error);
+    }
+
+    void encodeMsgInit(Buffer buffer, int msgClass, int domainType, int containerType)
+    {
+        _msg.clear();
+        _msg.msgClass(msgClass);
+        _msg.streamId(5);
+        _msg.domainType(domainType);
+        _msg.containerType(containerType);
+        if (msgClass == MsgClasses.REFRESH)
+        {
+            _msg.flags(RefreshMsgFlags.REFRESH_COMPLETE);
+            ((RefreshMsg)_msg).state().streamState(StreamStates.OPEN);
+            ((RefreshMsg)_msg).state().dataState(DataStates.OK);
+        }
+
+        _eIter.clear();
+        _eIter.setBufferAndRWFVersion(buffer, Codec.majorVersion(), Codec.minorVersion());
+        _msg.encodeInit(_eIter, 0);
+    }
+
+    Buffer encodeComplete(Buffer buffer)
+    {
+        _msg.encodeComplete(_eIter, true);
+        Buffer encoded = CodecFactory.createBuffer();
+        encoded.data(buffer.data(), 0, buffer.data().position());
+        return encoded;
+    }
+
+    Buffer encodePrice(int msgClass, int tick)
+    {
+        Buffer buffer = CodecFactory.createBuffer();
+        buffer.data(ByteBuffer.allocate(512));
+        encodeMsgInit(buffer, msgClass, DomainTypes.MARKET_PRICE, DataTypes.FIELD_LIST);
+
+        _fieldList.clear();
+        _fieldList.applyHasStandardData();
+        _fieldList.encodeInit(_eIter, null, 0);
+        if (msgClass == MsgClasses.REFRESH)
+        {
+            _fieldEntry.clear();
+            _fieldEntry.fieldId(DSPLY_NAME);
+            _fieldEntry.dataType(DataTypes.RMTES_STRING);
+            _stringBuffer.data("RIC NAME");
+            _fieldEntry.encode(_eIter, _stringBuffer);
+        }
+        for (int i = 0; i < PRICE_FIDS.length; i++)
+        {
+            _fieldEntry.clear();
+            _fieldEntry.fieldId(PRICE_FIDS[i]);
+            _fieldEntry.dataType(DataTypes.REAL);
+            _real.value(10000 + tick + i, RealHints.EXPONENT_2);
+            _fieldEntry.encode(_eIter, _real);
+        }
+        _fieldList.encodeComplete(_eIter, true);
+
+        return encodeComplete(buffer);
+    }
+
+    Buffer encodeOrders(int msgClass, int firstOrder, int count)
+    {
+        Map map = CodecFactory.createMap();
+        MapEntry mapEntry = CodecFactory.createMapEntry();
+        Buffer key = CodecFactory.createBuffer();
+        Buffer buffer = CodecFactory.createBuffer();
+        buffer.data(ByteBuffer.allocate(64 + count * 64));
+        encodeMsgInit(buffer, msgClass, DomainTypes.MARKET_BY_ORDER, DataTypes.MAP);
+
+        map.keyPrimitiveType(DataTypes.BUFFER);
+        map.containerType(DataTypes.FIELD_LIST);
+        map.encodeInit(_eIter, 0, 0);
+        for (int i = firstOrder; i < firstOrder + count; i++)
+        {
+            mapEntry.clear();
+            mapEntry.action(msgClass == MsgClasses.REFRESH ? MapEntryActions.ADD : MapEntryActions.UPDATE);
+            key.data("ORDER" + i);
+            mapEntry.encodeInit(_eIter, key, 0);
+
+            _fieldList.clear();
+            _fieldList.applyHasStandardData();
+            _fieldList.encodeInit(_eIter, null, 0);
+            _fieldEntry.clear();
+            _fieldEntry.fieldId(ORDER_PRC);
+            _fieldEntry.dataType(DataTypes.REAL);
+            _real.value(10000 + i, RealHints.EXPONENT_2);
+            _fieldEntry.encode(_eIter, _real);
+            _fieldEntry.clear();
+            _fieldEntry.fieldId(ORDER_SIZE);
+            _fieldEntry.dataType(DataTypes.REAL);
+            _real.value(100 + i, RealHints.EXPONENT0);
+            _fieldEntry.encode(_eIter, _real);
+            _fieldList.encodeComplete(_eIter, true);
+
+            mapEntry.encodeComplete(_eIter, true);
+        }
+        map.encodeComplete(_eIter, true);
+
+        return encodeComplete(buffer);
+    }
+}
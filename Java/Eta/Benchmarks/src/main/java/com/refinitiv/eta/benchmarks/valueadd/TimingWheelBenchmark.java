@@ -0,0 +1,150 @@
+///*|-----------------------------------------------------------------------------
+// *|            This source code is provided under the Apache 2.0 license      --
+// *|  and is provided AS IS with no warranty or guarantee of fit for purpose.  --
+// *|                See the project's LICENSE.md for details.                  --
+// *|           Copyright (C) 2021 Refinitiv. All rights reserved.            --
+///*|-----------------------------------------------------------------------------
+
+package com.refinitiv.eta.benchmarks.valueadd;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.refinitiv.eta.valueadd.common.VaIteratableQueue;
+import com.refinitiv.eta.valueadd.common.VaTimerNode;
+import com.refinitiv.eta.valueadd.common.VaTimingWheel;
+
+/**
+ * Compares the timer queue the Reactor Worker used before, a
+ * {@link VaIteratableQueue} scanned for expired timers on every loop, with
+ * {@link VaTimingWheel}, with 10k, 100k and 1M timers pending.
+ *
+ * The timers all have the same timeout, one tick per pending timer, as when
+ * many items are requested at once with a request timeout. Time is simulated
+ * so that each operation moves it forward by one tick.
+ *
+ * {@link #check()} reports the cost of a loop that finds no expired timer,
+ * {@link #scheduleExpire()} the cost of adding a timer and expiring the oldest
+ * one, and {@link #scheduleCancel()} the cost of adding and cancelling a timer.
+ */
+@State(Scope.Thread)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class TimingWheelBenchmark
+{
+    static final long TICK = VaTimingWheel.DEFAULT_TICK_NANOS;
+
+    public static class Timer extends VaTimerNode
+    {
+        long _timeout;
+    }
+
+    @Param({"queue", "wheel"})
+    public String timers;
+
+    @Param({"10000", "100000", "1000000"})
+    public int pending;
+
+    VaIteratableQueue _queue;
+    VaTimingWheel _wheel;
+    Timer _cancelTimer = new Timer();
+    long _currentTime;
+
+    @Setup(Level.Trial)
+    public void setup()
+    {
+        _currentTime = 0;
+        if (timers.equals("queue"))
+            _queue = new VaIteratableQueue();
+        else
+            _wheel = new VaTimingWheel(TICK, _currentTime);
+
+        // one timer expiring on each of the next pending ticks
+        for (int i = 1; i <= pending; i++)
+            schedule(new Timer(), _currentTime + i * TICK);
+    }
+
+    void schedule(Timer timer, long timeout)
+    {
+        if (_queue != null)
+        {
+            timer._timeout = timeout;
+            _queue.add(timer);
+        }
+        else
+        {
+            _wheel.add(timer, timeout);
+        }
+    }
+
+    /* Expires the timers due at the current time the way each structure is used, returns the last one. */
+    Timer expire()
+    {
+        Timer expired = null;
+        if (_queue != null)
+        {
+            _queue.rewind();
+            while (_queue.hasNext())
+            {
+                Timer timer = (Timer)_queue.next();
+                if (_currentTime >= timer._timeout)
+                {
+                    _queue.remove(timer);
+                    expired = timer;
+                }
+            }
+        }
+        else
+        {
+            Timer timer;
+            while ((timer = (Timer)_wheel.poll(_currentTime)) != null)
+                expired = timer;
+        }
+        return expired;
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    public Timer check()
+    {
+        return expire();
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    public Timer scheduleExpire()
+    {
+        _currentTime += TICK;
+        Timer expired = expire();
+        if (expired != null)
+            schedule(expired, _currentTime + pending * TICK);
+        return expired;
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    public boolean scheduleCancel()
+    {
+        schedule(_cancelTimer, _currentTime + pending * TICK);
+        if (_queue != null)
+            return _queue.remove(_cancelTimer);
+        else
+            return _wheel.cancel(_cancelTimer);
+    }
+}
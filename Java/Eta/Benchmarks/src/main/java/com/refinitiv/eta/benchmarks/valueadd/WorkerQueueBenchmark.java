@@ -0,0 +1,159 @@
+///*|-----------------------------------------------------------------------------
+// *|            This source code is provided under the Apache 2.0 license      --
+// *|  and is provided AS IS with no warranty or guarantee of fit for purpose.  --
+// *|                See the project's LICENSE.md for details.                  --
+// *|           Copyright (C) 2021 Refinitiv. All rights reserved.            --
+///*|-----------------------------------------------------------------------------
+
+package com.refinitiv.eta.benchmarks.valueadd;
+
+import java.io.IOException;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.spi.SelectorProvider;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.refinitiv.eta.valueadd.common.SelectableBiDirectionalQueue;
+import com.refinitiv.eta.valueadd.common.SelectableBiDirectionalRingQueue;
+import com.refinitiv.eta.valueadd.common.VaNode;
+
+/**
+ * Compares the locked {@link SelectableBiDirectionalQueue} with the lock-free
+ * {@link SelectableBiDirectionalRingQueue}. An echo thread plays the Worker: it
+ * selects on its end of the queue and writes every event back, while the
+ * benchmark thread plays the Reactor.
+ *
+ * {@link #burst()} reports events per second when events are written in
+ * bursts, {@link #pingPong()} reports the round trip (two handoffs) latency
+ * distribution, including p99, of a single event.
+ */
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class WorkerQueueBenchmark
+{
+    static final int BURST = 256;
+    static final int SELECT_TIME = 10; // ms
+
+    @Param({"locked", "ring"})
+    public String queueType;
+
+    SelectableBiDirectionalQueue _queue;
+    Selector _selector;
+    VaNode[] _nodes;
+    Thread _echoThread;
+    volatile boolean _running;
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException
+    {
+        if (queueType.equals("ring"))
+            _queue = new SelectableBiDirectionalRingQueue();
+        else
+            _queue = new SelectableBiDirectionalQueue();
+
+        _selector = SelectorProvider.provider().openSelector();
+        _queue.readChannel().register(_selector, SelectionKey.OP_READ);
+
+        _nodes = new VaNode[BURST];
+        for (int i = 0; i < BURST; i++)
+            _nodes[i] = new VaNode();
+
+        _running = true;
+        _echoThread = new Thread(new Runnable()
+        {
+            @Override
+            public void run()
+            {
+                echo(_queue.remote());
+            }
+        }, "WorkerQueueBenchmark-echo");
+        _echoThread.start();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception
+    {
+        _running = false;
+        _echoThread.join();
+        _selector.close();
+        _queue.shutdown();
+    }
+
+    /* Reads every event on the remote end and writes it back. */
+    void echo(SelectableBiDirectionalQueue remote)
+    {
+        try
+        {
+            Selector selector = SelectorProvider.provider().openSelector();
+            remote.readChannel().register(selector, SelectionKey.OP_READ);
+
+            while (_running)
+            {
+                if (selector.select(SELECT_TIME) > 0)
+                {
+                    selector.selectedKeys().clear();
+                    while (remote.readQueueSize() > 0)
+                        remote.write(remote.read());
+                }
+            }
+            selector.close();
+        }
+        catch (IOException e)
+        {
+            System.out.println("WorkerQueueBenchmark.echo: exception=" + e.getLocalizedMessage());
+        }
+    }
+
+    /* Waits for count events to come back from the echo thread. */
+    int receive(int count) throws IOException
+    {
+        int received = 0;
+        while (received < count)
+        {
+            if (_selector.select(SELECT_TIME) > 0)
+            {
+                _selector.selectedKeys().clear();
+                while (_queue.readQueueSize() > 0 && _queue.read() != null)
+                    received++;
+            }
+        }
+        return received;
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.Throughput)
+    @OutputTimeUnit(TimeUnit.SECONDS)
+    @OperationsPerInvocation(BURST)
+    public int burst() throws IOException
+    {
+        for (int i = 0; i < BURST; i++)
+            _queue.write(_nodes[i]);
+        return receive(BURST);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SampleTime)
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public int pingPong() throws IOException
+    {
+        _queue.write(_nodes[0]);
+        return receive(1);
+    }
+}
@@ -0,0 +1,153 @@
+///*|-----------------------------------------------------------------------------
+// *|            This source code is provided under the Apache 2.0 license      --
+// *|  and is provided AS IS with no warranty or guarantee of fit for purpose.  --
+// *|                See the project's LICENSE.md for details.                  --
+// *|           Copyright (C) 2021 Refinitiv. All rights reserved.            --
+///*|-----------------------------------------------------------------------------
+
+package com.refinitiv.eta.transport;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures {@link ZlibCompressor} and {@link Lz4Compressor} the way
+ * RsslSocketChannel uses them: compress a message held in a direct transport
+ * buffer and copy the result back into the same buffer, and decompress a
+ * message into the channel's decompress buffer.
+ *
+ * The messages/sec score is reported per benchmark, the bytes secondary
+ * score gives uncompressed bytes/sec. Run with "-prof gc" to see the bytes
+ * allocated per message.
+ */
+@State(Scope.Thread)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class CompressorBenchmark
+{
+    @Param({"zlib", "lz4"})
+    public String compression;
+
+    @Param({"128", "1024", "6000"})
+    public int messageSize;
+
+    static final int STREAM_LENGTH = 1024;
+
+    Compressor _compressor;
+    Compressor _decompressor;
+    TransportBufferImpl _message;
+    TransportBufferImpl _compressed;
+    TransportBufferImpl _decompressed;
+    byte[] _content;
+
+    // a compressed stream of messages for the decompress benchmark
+    byte[][] _stream;
+    int _streamIndex;
+
+    /** Counts uncompressed bytes processed. */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    public static class Bytes
+    {
+        public long bytes;
+    }
+
+    @Setup(Level.Trial)
+    public void setup()
+    {
+        _compressor = createCompressor();
+        _decompressor = createCompressor();
+
+        // field list like content: a few repeating field ids and ascii values
+        Random random = new Random(1234);
+        _content = new byte[messageSize];
+        for (int i = 0; i < messageSize; i++)
+        {
+            if (i % 8 < 2)
+                _content[i] = (byte)(i % 64);
+            else
+                _content[i] = (byte)('0' + random.nextInt(10));
+        }
+
+        int capacity = _compressor.getMaxCompressedLength(6144);
+        _message = new TransportBufferImpl(capacity);
+        _compressed = new TransportBufferImpl(capacity);
+        _decompressed = new TransportBufferImpl(capacity);
+
+        /*
+         * zlib keeps its dictionary across messages, so the stream is
+         * decompressed in order and the decompressor is reset when it wraps.
+         */
+        Compressor streamCompressor = createCompressor();
+        _stream = new byte[STREAM_LENGTH][];
+        for (int i = 0; i < STREAM_LENGTH; i++)
+        {
+            int length = streamCompressor.compress(loadMessage(), 0, messageSize);
+            _stream[i] = new byte[length];
+            System.arraycopy(streamCompressor.compressedData(), 0, _stream[i], 0, length);
+        }
+    }
+
+    Compressor createCompressor()
+    {
+        Compressor compressor;
+        if (compression.equals("lz4"))
+            compressor = new Lz4Compressor();
+        else
+            compressor = new ZlibCompressor();
+        compressor.maxCompressionLength(6144);
+        return compressor;
+    }
+
+    TransportBufferImpl loadMessage()
+    {
+        _message.data().clear();
+        _message.data().put(_content);
+        return _message;
+    }
+
+    @Benchmark
+    public int compress(Bytes bytes)
+    {
+        TransportBufferImpl message = loadMessage();
+        int length = _compressor.compress(message, 0, messageSize);
+        message.data().clear();
+        message.data().put(_compressor.compressedData(), 0, length);
+        bytes.bytes += messageSize;
+        return length;
+    }
+
+    @Benchmark
+    public int decompress(Bytes bytes)
+    {
+        if (_streamIndex == STREAM_LENGTH)
+        {
+            _decompressor.close();
+            _streamIndex = 0;
+        }
+        byte[] compressed = _stream[_streamIndex++];
+        _compressed.data().clear();
+        _compressed.data().put(compressed);
+
+        int length = _decompressor.decompress(_compressed, _decompressed, compressed.length);
+        bytes.bytes += length;
+        return length;
+    }
+}
@@ -0,0 +1,130 @@
+///*|-----------------------------------------------------------------------------
+// *|            This source code is provided under the Apache 2.0 license      --
+// *|  and is provided AS IS with no warranty or guarantee of fit for purpose.  --
+// *|                See the project's LICENSE.md for details.                  --
+// *|           Copyright (C) 2021 Refinitiv. All rights reserved.            --
+///*|-----------------------------------------------------------------------------
+
+package com.refinitiv.eta.transport;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the shared pool buffers/sec taken and recycled by {@link #CHANNELS}
+ * channels of a server, used by {@link #THREADS} threads, each thread
+ * using {@link #CHANNELS} / {@link #THREADS} of the channels. Each channel
+ * holds {@link #BUFFERS_IN_USE} buffers, recycling the oldest when it takes one.
+ *
+ * With caches the channels take and recycle buffers through their
+ * {@link SharedPoolCache}, as accepted channels do; without, each buffer is
+ * taken from and returned to the locked free lists of the shared pool.
+ */
+@State(Scope.Thread)
+@Fork(1)
+@Threads(SharedPoolBenchmark.THREADS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class SharedPoolBenchmark
+{
+    static final int CHANNELS = 64;
+    static final int THREADS = 8;
+    static final int CHANNELS_PER_THREAD = CHANNELS / THREADS;
+    static final int BUFFERS_IN_USE = 4;
+
+    @State(Scope.Benchmark)
+    public static class SharedServer
+    {
+        ServerImpl _server;
+
+        @Setup(Level.Trial)
+        public void setup()
+        {
+            _server = new ServerImpl(new SocketProtocol(), new Pool(null));
+            _server._bindOpts.sharedPoolSize(CHANNELS * BUFFERS_IN_USE);
+            _server._bindOpts.sharedPoolLock(true);
+            _server._state = ChannelState.ACTIVE;
+            ((ServerImpl.SharedPool)_server._sharedPool)._sharedPoolLock = _server._realSharedPoolLock;
+        }
+    }
+
+    @Param({"true", "false"})
+    public boolean caches;
+
+    final SharedPoolCache[] _caches = new SharedPoolCache[CHANNELS_PER_THREAD];
+    final SocketBuffer[][] _buffersInUse = new SocketBuffer[CHANNELS_PER_THREAD][BUFFERS_IN_USE];
+    int _next;
+    ServerImpl _server;
+
+    @Setup(Level.Trial)
+    public void setup(SharedServer sharedServer)
+    {
+        _server = sharedServer._server;
+        for (int i = 0; i < CHANNELS_PER_THREAD; i++)
+        {
+            _caches[i] = new SharedPoolCache();
+            _server.attachSharedPoolCache(_caches[i]);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown()
+    {
+        for (int i = 0; i < CHANNELS_PER_THREAD; i++)
+        {
+            for (int j = 0; j < BUFFERS_IN_USE; j++)
+            {
+                if (_buffersInUse[i][j] != null)
+                    recycle(_buffersInUse[i][j]);
+                _buffersInUse[i][j] = null;
+            }
+            _server.detachSharedPoolCache(_caches[i]);
+        }
+    }
+
+    void recycle(SocketBuffer buffer)
+    {
+        if (caches)
+            _server.socketBufferToRecycle(buffer);
+        else
+            buffer.returnToPool();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(CHANNELS_PER_THREAD)
+    public int takeAndRecycle()
+    {
+        int taken = 0;
+        int slot = _next++ & (BUFFERS_IN_USE - 1);
+        for (int i = 0; i < CHANNELS_PER_THREAD; i++)
+        {
+            SocketBuffer buffer = _buffersInUse[i][slot];
+            if (buffer != null)
+                recycle(buffer);
+
+            buffer = (caches ? _server.getBufferFromServerPool(_caches[i]) : _server.getBufferFromServerPool());
+            if (buffer == null)
+                throw new IllegalStateException("shared pool exhausted");
+            _buffersInUse[i][slot] = buffer;
+            taken += buffer._dataBuffer.capacity();
+        }
+        return taken;
+    }
+}
@@ -0,0 +1,154 @@
+///*|-----------------------------------------------------------------------------
+// *|            This source code is provided under the Apache 2.0 license      --
+// *|  and is provided AS IS with no warranty or guarantee of fit for purpose.  --
+// *|                See the project's LICENSE.md for details.                  --
+// *|           Copyright (C) 2021 Refinitiv. All rights reserved.            --
+///*|-----------------------------------------------------------------------------
+
+package com.refinitiv.eta.transport;
+
+import java.nio.ByteBuffer;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.refinitiv.eta.codec.Codec;
+
+/**
+ * Measures the throughput of RWF messages written by a WebSocket client
+ * channel and read by a WebSocket server channel through
+ * {@link WSProtocolFunctions}, which masks the payload of every client frame
+ * on write and unmasks it on read. The channels are connected by an in-memory
+ * socket, so the score is bound by framing, masking and copying only.
+ *
+ * The messages/sec score is reported per benchmark, the bytes secondary
+ * score gives message bytes/sec.
+ */
+@State(Scope.Thread)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class WebSocketChannelBenchmark
+{
+    @Param({"64", "512", "6000"})
+    public int messageSize;
+
+    /** Counts message bytes written and read. */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    public static class Bytes
+    {
+        public long bytes;
+    }
+
+    /* Keeps the frames written by the client until the server reads them. */
+    static class MemorySocket extends SocketHelper
+    {
+        ByteBuffer _network = ByteBuffer.allocate(RsslSocketChannel.MIN_READ_BUFFER_SIZE);
+
+        @Override
+        public int write(ByteBuffer src)
+        {
+            int length = src.remaining();
+            _network.put(src);
+            return length;
+        }
+
+        @Override
+        public long write(ByteBuffer[] srcs, int offset, int length)
+        {
+            long bytesWritten = 0;
+            for (int i = offset; i < offset + length; i++)
+                bytesWritten += write(srcs[i]);
+            return bytesWritten;
+        }
+
+        @Override
+        public int read(ByteBuffer dst)
+        {
+            _network.flip();
+            int length = _network.remaining();
+            dst.put(_network);
+            _network.clear();
+            return length;
+        }
+    }
+
+    RsslSocketChannel _client;
+    RsslSocketChannel _server;
+    Error _error = TransportFactory.createError();
+    WriteArgs _writeArgs = TransportFactory.createWriteArgs();
+    ReadArgs _readArgs = TransportFactory.createReadArgs();
+    byte[] _message;
+
+    @Setup(Level.Trial)
+    public void setup()
+    {
+        Transport._globalLock = new DummyLock();
+        MemorySocket socket = new MemorySocket();
+        _client = createClientChannel(socket);
+        _server = createServerChannel(socket);
+        _writeArgs.flags(WriteFlags.DIRECT_SOCKET_WRITE);
+
+        Random random = new Random(1234);
+        _message = new byte[messageSize];
+        random.nextBytes(_message);
+    }
+
+    /* Sets up only the write path of a WebSocket client channel. */
+    static RsslSocketChannel createClientChannel(SocketHelper socket)
+    {
+        RsslSocketChannel channel = new RsslSocketChannel(ConnectionTypes.WEBSOCKET, Codec.RWF_PROTOCOL_TYPE);
+        channel.getWsSession().isClient = true;
+        channel._state = ChannelState.ACTIVE;
+        channel._protocolFunctions = new WSProtocolFunctions(channel);
+        channel._transport = new SocketProtocol();
+        channel.growGuaranteedOutputBuffers(100);
+        channel._scktChannel = socket;
+        return channel;
+    }
+
+    /* Sets up only the read path of a WebSocket server channel. */
+    static RsslSocketChannel createServerChannel(SocketHelper socket)
+    {
+        RsslSocketChannel channel = new RsslSocketChannel(ConnectionTypes.WEBSOCKET, Codec.RWF_PROTOCOL_TYPE);
+        channel._state = ChannelState.ACTIVE;
+        channel._readIoBuffer = channel.acquirePair(RsslSocketChannel.MIN_READ_BUFFER_SIZE);
+        channel._appReadBuffer.data(channel._readIoBuffer.readOnly());
+        channel._protocolFunctions = new WSProtocolFunctions(channel);
+        channel._readBufStateMachine.initialize(channel._readIoBuffer, channel._protocolFunctions);
+        channel._scktChannel = socket;
+        return channel;
+    }
+
+    @Benchmark
+    public TransportBuffer writeAndRead(Bytes bytes)
+    {
+        TransportBuffer writeBuffer = _client.getBuffer(messageSize, false, _error);
+        writeBuffer.data().put(_message);
+        if (_client.write(writeBuffer, _writeArgs, _error) < TransportReturnCodes.SUCCESS)
+            throw new IllegalStateException("Unable to write: " + _error.text());
+
+        TransportBuffer readBuffer = _server.read(_readArgs, _error);
+        if (readBuffer == null || readBuffer.length() != messageSize)
+            throw new IllegalStateException("Unable to read: " + _error.text());
+
+        bytes.bytes += messageSize;
+        return readBuffer;
+    }
+}
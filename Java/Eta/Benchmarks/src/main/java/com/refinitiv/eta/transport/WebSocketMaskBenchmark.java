@@ -0,0 +1,121 @@
+///*|-----------------------------------------------------------------------------
+// *|            This source code is provided under the Apache 2.0 license      --
+// *|  and is provided AS IS with no warranty or guarantee of fit for purpose.  --
+// *|                See the project's LICENSE.md for details.                  --
+// *|           Copyright (C) 2021 Refinitiv. All rights reserved.            --
+///*|-----------------------------------------------------------------------------
+
+package com.refinitiv.eta.transport;
+
+import java.nio.ByteBuffer;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the masking of WebSocket frame payloads done by
+ * {@link WebSocketFrameParser}: the byte at a time loop it used before,
+ * {@link WebSocketFrameParser#maskDataBlock(int, ByteBuffer, int, int)}, which
+ * masks 8 bytes per step, and copying a payload into an outgoing buffer then
+ * masking it compared to {@link WebSocketFrameParser#copyAndMaskDataBlock}.
+ *
+ * The frames/sec score is reported per benchmark, the bytes secondary score
+ * gives payload bytes/sec.
+ */
+@State(Scope.Thread)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class WebSocketMaskBenchmark
+{
+    @Param({"64", "512", "4096", "65536"})
+    public int frameSize;
+
+    @Param({"heap", "direct"})
+    public String bufferType;
+
+    /** Counts payload bytes processed. */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    public static class Bytes
+    {
+        public long bytes;
+    }
+
+    ByteBuffer _payload;
+    ByteBuffer _frame;
+    byte[] _mask = new byte[4];
+    int _maskValue;
+
+    @Setup(Level.Trial)
+    public void setup()
+    {
+        Random random = new Random(1234);
+        _payload = allocate(frameSize);
+        _frame = allocate(frameSize + WebSocketFrameParser._WS_MAX_HEADER_LEN);
+        for (int i = 0; i < frameSize; i++)
+            _payload.put(i, (byte)random.nextInt());
+
+        _maskValue = random.nextInt();
+        WebSocketFrameParser.setMaskKey(_mask, _maskValue);
+    }
+
+    ByteBuffer allocate(int size)
+    {
+        return bufferType.equals("direct") ? ByteBuffer.allocateDirect(size) : ByteBuffer.allocate(size);
+    }
+
+    @Benchmark
+    public ByteBuffer maskByteAtATime(Bytes bytes)
+    {
+        byte[] mask = _mask;
+        ByteBuffer payload = _payload;
+        for (int i = 0, index = 0; i < frameSize; i++, index++)
+            payload.put(index, (byte)(payload.get(index) ^ mask[(i % 4)]));
+        bytes.bytes += frameSize;
+        return payload;
+    }
+
+    @Benchmark
+    public ByteBuffer maskDataBlock(Bytes bytes)
+    {
+        WebSocketFrameParser.maskDataBlock(_maskValue, _payload, 0, frameSize);
+        bytes.bytes += frameSize;
+        return _payload;
+    }
+
+    @Benchmark
+    public ByteBuffer copyThenMask(Bytes bytes)
+    {
+        _payload.clear();
+        _frame.clear();
+        _frame.position(WebSocketFrameParser._WS_MAX_HEADER_LEN);
+        _frame.put(_payload);
+        WebSocketFrameParser.maskDataBlock(_maskValue, _frame, WebSocketFrameParser._WS_MAX_HEADER_LEN, frameSize);
+        bytes.bytes += frameSize;
+        return _frame;
+    }
+
+    @Benchmark
+    public ByteBuffer copyAndMask(Bytes bytes)
+    {
+        WebSocketFrameParser.copyAndMaskDataBlock(_maskValue, _payload, 0, _frame, WebSocketFrameParser._WS_MAX_HEADER_LEN, frameSize);
+        bytes.bytes += frameSize;
+        return _frame;
+    }
+}
@@ -0,0 +1,149 @@
+///*|-----------------------------------------------------------------------------
+// *|            This source code is provided under the Apache 2.0 license      --
+// *|  and is provided AS IS with no warranty or guarantee of fit for purpose.  --
+// *|                See the project's LICENSE.md for details.                  --
+// *|           Copyright (C) 2021 Refinitiv. All rights reserved.            --
+///*|-----------------------------------------------------------------------------
+
+package com.refinitiv.eta.transport;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the messages/sec written by an RsslSocketChannel to a loopback
+ * socket, in bursts of {@link #BURST} messages followed by flush calls as a
+ * provider fanning out updates does, with write coalescing off (flushing on
+ * the high water mark) and on ({@link IoctlCodes#WRITE_COALESCING_BYTES}).
+ *
+ * The socket writes per message and the bytes per socket write, taken from
+ * {@link ChannelInfo}, are printed at the end of each trial.
+ */
+@State(Scope.Thread)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class WriteCoalescingBenchmark
+{
+    static final int BURST = 1000;
+
+    @Param({"0", "65536"})
+    public int coalescingBytes;
+
+    @Param({"64", "256"})
+    public int messageSize;
+
+    ServerSocketChannel _serverSocket;
+    SocketChannel _peer;
+    Thread _drainThread;
+    volatile boolean _draining;
+    RsslSocketChannel _channel;
+    WriteArgs _writeArgs = TransportFactory.createWriteArgs();
+    Error _error = TransportFactory.createError();
+    byte[] _message;
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException
+    {
+        _serverSocket = ServerSocketChannel.open();
+        _serverSocket.bind(new InetSocketAddress("localhost", 0));
+        SocketChannel socket = SocketChannel.open(_serverSocket.getLocalAddress());
+        socket.configureBlocking(false);
+        _peer = _serverSocket.accept();
+
+        // reads and discards everything the channel writes
+        _draining = true;
+        _drainThread = new Thread(() ->
+        {
+            ByteBuffer buffer = ByteBuffer.allocateDirect(256 * 1024);
+            try
+            {
+                while (_draining && _peer.read(buffer) >= 0)
+                    buffer.clear();
+            }
+            catch (IOException e)
+            {
+                // socket closed by tearDown()
+            }
+        });
+        _drainThread.start();
+
+        Transport._globalLock = new DummyLock();
+        _channel = new RsslSocketChannel();
+        _channel._state = ChannelState.ACTIVE;
+        _channel._readLock = new DummyLock();
+        _channel._writeLock = new DummyLock();
+        _channel._protocolFunctions = _channel.ripcProtocolFunctions;
+        _channel._transport = new SocketProtocol();
+        _channel._scktChannel = new SocketHelper(socket);
+        _channel.growGuaranteedOutputBuffers(2 * BURST);
+        if (_channel.ioctl(IoctlCodes.WRITE_COALESCING_BYTES, coalescingBytes, _error) < TransportReturnCodes.SUCCESS)
+            throw new IllegalStateException("Unable to set write coalescing: " + _error.text());
+
+        _message = new byte[messageSize];
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException, InterruptedException
+    {
+        ChannelInfo info = TransportFactory.createChannelInfo();
+        if (_channel.info(info, _error) == TransportReturnCodes.SUCCESS && info.buffersWritten() > 0)
+        {
+            System.out.printf("%nsocket writes per message: %.4f, bytes per socket write: %.1f%n",
+                    info.socketWriteCount() / (double)info.buffersWritten(),
+                    info.socketBytesWritten() / (double)Math.max(info.socketWriteCount(), 1));
+        }
+
+        _draining = false;
+        _channel._scktChannel.close();
+        _peer.close();
+        _serverSocket.close();
+        _drainThread.join();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BURST)
+    public int writeBurst()
+    {
+        for (int i = 0; i < BURST; i++)
+        {
+            TransportBuffer buffer = _channel.getBuffer(messageSize, false, _error);
+            while (buffer == null)
+            {
+                _channel.flush(_error);
+                buffer = _channel.getBuffer(messageSize, false, _error);
+            }
+            buffer.data().put(_message);
+            if (_channel.write(buffer, _writeArgs, _error) < TransportReturnCodes.SUCCESS)
+                throw new IllegalStateException("Unable to write: " + _error.text());
+        }
+
+        int retVal;
+        while ((retVal = _channel.flush(_error)) > TransportReturnCodes.SUCCESS)
+            Thread.yield();
+        if (retVal < TransportReturnCodes.SUCCESS)
+            throw new IllegalStateException("Unable to flush: " + _error.text());
+        return retVal;
+    }
+}
@@ -0,0 +1,179 @@
+///*|-----------------------------------------------------------------------------
+// *|            This source code is provided under the Apache 2.0 license      --
+// *|  and is provided AS IS with no warranty or guarantee of fit for purpose.  --
+// *|                See the project's LICENSE.md for details.                  --
+// *|           Copyright (C) 2021 Refinitiv. All rights reserved.            --
+///*|-----------------------------------------------------------------------------
+
+package com.refinitiv.eta.valueadd.reactor;
+
+import java.util.HashMap;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.refinitiv.eta.valueadd.common.VaIntHashMap;
+
+/**
+ * Compares the watchlist stream id tables: the HashMap keyed by
+ * {@link WlInteger} that the watchlist used before, and {@link VaIntHashMap}.
+ *
+ * {@link #lookup()} reports stream id lookups per second, using stream ids of
+ * open streams in random order as the watchlist does when dispatching
+ * messages.
+ *
+ * {@link #main(String[])} reports the heap retained by each table, e.g.
+ * gradlew :Eta:Benchmarks:runMain
+ * -PmainClass=com.refinitiv.eta.valueadd.reactor.StreamIdTableBenchmark
+ */
+@State(Scope.Thread)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class StreamIdTableBenchmark
+{
+    static final int LOOKUPS = 1024;
+
+    // every entry maps to the same value, so only the table itself is measured
+    static final Object STREAM = new Object();
+
+    // keeps the table being measured by main() reachable
+    static Object _retained;
+
+    @Param({"hashMap", "intMap"})
+    public String table;
+
+    @Param({"100000", "1000000"})
+    public int streams;
+
+    HashMap<WlInteger, Object> _hashMap;
+    VaIntHashMap<Object> _intMap;
+    WlInteger _tempWlInteger = ReactorFactory.createWlInteger();
+    int[] _lookupIds;
+    int _lookupIndex;
+
+    @Setup(Level.Trial)
+    public void setup()
+    {
+        if (table.equals("hashMap"))
+            _hashMap = createHashMap(streams);
+        else
+            _intMap = createIntMap(streams);
+
+        // watchlist stream ids start at 1, looked up in random order
+        Random random = new Random(1234);
+        _lookupIds = new int[64 * 1024];
+        for (int i = 0; i < _lookupIds.length; i++)
+            _lookupIds[i] = 1 + random.nextInt(streams);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.Throughput)
+    @OutputTimeUnit(TimeUnit.SECONDS)
+    @OperationsPerInvocation(LOOKUPS)
+    public int lookup()
+    {
+        int found = 0;
+        int index = _lookupIndex;
+        for (int i = 0; i < LOOKUPS; i++)
+        {
+            int streamId = _lookupIds[index];
+            index = (index + 1) & (_lookupIds.length - 1);
+
+            Object value;
+            if (_intMap != null)
+            {
+                value = _intMap.get(streamId);
+            }
+            else
+            {
+                _tempWlInteger.value(streamId);
+                value = _hashMap.get(_tempWlInteger);
+            }
+
+            if (value != null)
+                found++;
+        }
+        _lookupIndex = index;
+        return found;
+    }
+
+    /* Builds the table the way the watchlist did, sized by the item count hint. */
+    static HashMap<WlInteger, Object> createHashMap(int streams)
+    {
+        HashMap<WlInteger, Object> map = new HashMap<WlInteger, Object>(streams + 10, 1);
+        for (int streamId = 1; streamId <= streams; streamId++)
+        {
+            WlInteger wlInteger = new WlInteger();
+            wlInteger.value(streamId);
+            map.put(wlInteger, STREAM);
+        }
+        return map;
+    }
+
+    static VaIntHashMap<Object> createIntMap(int streams)
+    {
+        VaIntHashMap<Object> map = new VaIntHashMap<Object>(streams + 10);
+        for (int streamId = 1; streamId <= streams; streamId++)
+            map.put(streamId, STREAM);
+        return map;
+    }
+
+    /**
+     * Prints the heap retained by each table at 100k and 1M streams.
+     *
+     * @param args unused
+     */
+    public static void main(String[] args)
+    {
+        int[] sizes = {100000, 1000000};
+        System.out.println("streams      HashMap<WlInteger>   VaIntHashMap   (bytes retained, bytes per stream)");
+        for (int streams : sizes)
+        {
+            long before = usedHeap();
+            _retained = createHashMap(streams);
+            long hashMapBytes = usedHeap() - before;
+            _retained = null;
+
+            before = usedHeap();
+            _retained = createIntMap(streams);
+            long intMapBytes = usedHeap() - before;
+            _retained = null;
+
+            System.out.printf("%-12d %10d (%5.1f)   %10d (%5.1f)%n", streams,
+                    hashMapBytes, hashMapBytes / (double)streams,
+                    intMapBytes, intMapBytes / (double)streams);
+        }
+    }
+
+    static long usedHeap()
+    {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 4; i++)
+        {
+            System.gc();
+            try
+            {
+                Thread.sleep(50);
+            }
+            catch (InterruptedException e)
+            {
+                Thread.currentThread().interrupt();
+            }
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
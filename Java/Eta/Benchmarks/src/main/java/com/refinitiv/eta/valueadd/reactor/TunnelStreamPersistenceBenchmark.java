@@ -0,0 +1,132 @@
+///*|-----------------------------------------------------------------------------
+// *|            This source code is provided under the Apache 2.0 license      --
+// *|  and is provided AS IS with no warranty or guarantee of fit for purpose.  --
+// *|                See the project's LICENSE.md for details.                  --
+// *|           Copyright (C) 2021 Refinitiv. All rights reserved.            --
+///*|-----------------------------------------------------------------------------
+
+package com.refinitiv.eta.valueadd.reactor;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.refinitiv.eta.codec.Buffer;
+import com.refinitiv.eta.codec.CodecFactory;
+import com.refinitiv.eta.rdm.ClassesOfService;
+import com.refinitiv.eta.transport.Error;
+import com.refinitiv.eta.transport.TransportFactory;
+import com.refinitiv.eta.valueadd.domainrep.rdm.queue.QueueDataTimeoutCode;
+
+/**
+ * Measures the rate QueueData messages can be submitted on a tunnel stream
+ * persisting them locally, as bound by the persistence file: each message is
+ * saved, marked as transmitted, and released once acknowledged by the provider,
+ * {@link #ACK_WINDOW} messages later.
+ *
+ * Version 2 files force each change to disk. Version 3 files force
+ * {@link #commitBatchSize} changes together, or the changes made in the last
+ * {@link #COMMIT_INTERVAL} milliseconds; the batch size has no effect on
+ * version 2 files.
+ */
+@State(Scope.Thread)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class TunnelStreamPersistenceBenchmark
+{
+    static final int ACK_WINDOW = 100;
+    static final int COMMIT_INTERVAL = 10;
+
+    @Param({"2", "3"})
+    public int fileVersion;
+
+    @Param({"1", "64", "1024"})
+    public int commitBatchSize;
+
+    @Param({"256"})
+    public int messageSize;
+
+    File _persistenceDir;
+    TunnelStream _tunnelStream;
+    TunnelSubstream _substream;
+    TunnelStreamBuffer _buffer;
+    Error _error = TransportFactory.createError();
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException
+    {
+        _persistenceDir = Files.createTempDirectory("tunnelStreamPersistence").toFile();
+
+        _tunnelStream = new TunnelStream(ReactorFactory.createReactorChannel());
+        _tunnelStream.classOfService().common().maxMsgSize(6144);
+        _tunnelStream.classOfService().guarantee().type(ClassesOfService.GuaranteeTypes.PERSISTENT_QUEUE);
+        _tunnelStream.classOfService().guarantee().persistenceCommitBatchSize(commitBatchSize);
+        _tunnelStream.classOfService().guarantee().persistenceCommitInterval(COMMIT_INTERVAL);
+        _tunnelStream.forceFileReset(true);
+        TunnelStreamPersistenceFile.defaultPersistenceVersion(fileVersion == 2 ? TunnelStreamPersistenceFile.FileVersion.V2
+                : TunnelStreamPersistenceFile.FileVersion.V3);
+
+        Buffer queueName = CodecFactory.createBuffer();
+        queueName.data("QUEUE");
+        _substream = new TunnelSubstream(queueName, 5, 200, 1, _persistenceDir.getPath(), _tunnelStream, _error);
+        if (_substream._persistFile == null)
+            throw new IllegalStateException("Unable to open persistence file: " + _error.text());
+        _tunnelStream._streamIdtoQueueSubstreamTable.put(5, _substream);
+
+        _buffer = new TunnelStreamBuffer();
+        _buffer.clear(messageSize);
+        _buffer.data(ByteBuffer.allocate(messageSize), 0, messageSize);
+        _buffer.data().position(messageSize);
+        _buffer.setCurrentPositionAsEndOfEncoding();
+        _buffer.timeoutIsCode(true);
+        _buffer.timeoutNsec(QueueDataTimeoutCode.INFINITE);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown()
+    {
+        _substream.close(_error);
+        for (File file : _persistenceDir.listFiles())
+            file.delete();
+        _persistenceDir.delete();
+    }
+
+    @Benchmark
+    public int submit()
+    {
+        int ret = _substream.saveMsg(_buffer, _error);
+        if (ret != ReactorReturnCodes.SUCCESS)
+            throw new IllegalStateException("Unable to save message: " + _error.text());
+
+        if (_substream._persistFile.setBufferAsTransmitted(_buffer.persistenceBuffer(), _error) != ReactorReturnCodes.SUCCESS
+                || _substream._persistFile.releasePersistenceBuffers(_substream.lastOutSeqNum() + 1 - ACK_WINDOW, _error) != ReactorReturnCodes.SUCCESS)
+            throw new IllegalStateException("Unable to update persisted message: " + _error.text());
+        int seqNum = _substream.lastOutSeqNum() + 1;
+        _substream.lastOutSeqNum(seqNum);
+
+        /* Commits are due on the Reactor's timer. */
+        if (_tunnelStream._hasPersistenceCommit)
+            _tunnelStream.commitPersistence(System.nanoTime());
+
+        return seqNum;
+    }
+}
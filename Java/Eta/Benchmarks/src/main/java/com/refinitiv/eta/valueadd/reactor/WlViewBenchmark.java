@@ -0,0 +1,168 @@
+///*|-----------------------------------------------------------------------------
+// *|            This source code is provided under the Apache 2.0 license      --
+// *|  and is provided AS IS with no warranty or guarantee of fit for purpose.  --
+// *|                See the project's LICENSE.md for details.                  --
+// *|           Copyright (C) 2021 Refinitiv. All rights reserved.            --
+///*|-----------------------------------------------------------------------------
+
+package com.refinitiv.eta.valueadd.reactor;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.refinitiv.eta.codec.Buffer;
+import com.refinitiv.eta.codec.Codec;
+import com.refinitiv.eta.codec.CodecFactory;
+import com.refinitiv.eta.codec.CodecReturnCodes;
+import com.refinitiv.eta.codec.EncodeIterator;
+import com.refinitiv.eta.rdm.ViewTypes;
+
+/**
+ * Measures the view aggregation done by {@link WlViewHandler} for items
+ * requested by many users with overlapping field id views.
+ *
+ * Each of the {@link #items} item streams has an aggregate view of
+ * {@link #VIEWS_PER_ITEM} user views, taken from {@link #views} distinct views
+ * of {@link #FIELDS_PER_VIEW} field ids. Each operation replaces the oldest
+ * user view of a random item by another one: the old view is removed from the
+ * aggregate view, the new view is created and merged, and the aggregate view
+ * is encoded for the reissued request, as the watchlist does on a view change.
+ */
+@State(Scope.Thread)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class WlViewBenchmark
+{
+    static final int VIEWS_PER_ITEM = 4;
+    static final int FIELDS_PER_VIEW = 20;
+
+    // field ids of the views are taken from the most requested fields
+    static final int FIELD_IDS = 100;
+
+    @Param({"100000"})
+    public int items;
+
+    @Param({"10000"})
+    public int views;
+
+    WlViewHandler _viewHandler = new WlViewHandler(null);
+    ReactorErrorInfo _errorInfo = ReactorFactory.createReactorErrorInfo();
+    WlStream _stream = new WlStream();
+    WlRequest _request = new WlRequest();
+    EncodeIterator _encodeIter = CodecFactory.createEncodeIterator();
+    ByteBuffer _viewByteBuffer = ByteBuffer.allocate(2048);
+    Buffer _viewBuffer = CodecFactory.createBuffer();
+
+    ArrayList<ArrayList<Integer>> _fieldIdLists;
+    WlView[] _aggregateViews;
+    WlView[][] _itemViews;
+    int[] _oldestView;
+    int[] _itemIndexes;
+    int[] _viewIndexes;
+    int _next;
+
+    @Setup(Level.Trial)
+    public void setup()
+    {
+        Random random = new Random(1234);
+
+        _fieldIdLists = new ArrayList<ArrayList<Integer>>(views);
+        for (int i = 0; i < views; i++)
+        {
+            ArrayList<Integer> fieldIdList = new ArrayList<Integer>(FIELDS_PER_VIEW);
+            while (fieldIdList.size() < FIELDS_PER_VIEW)
+            {
+                int fieldId = 1 + random.nextInt(FIELD_IDS);
+                if (!fieldIdList.contains(fieldId))
+                    fieldIdList.add(fieldId);
+            }
+            _fieldIdLists.add(fieldIdList);
+        }
+
+        _request.requestMsg().applyHasView();
+        _aggregateViews = new WlView[items];
+        _itemViews = new WlView[items][VIEWS_PER_ITEM];
+        _oldestView = new int[items];
+        for (int i = 0; i < items; i++)
+        {
+            for (int j = 0; j < VIEWS_PER_ITEM; j++)
+            {
+                WlView view = createView(random.nextInt(views));
+                _itemViews[i][j] = view;
+                if (j == 0)
+                    _aggregateViews[i] = _viewHandler.aggregateViewCreate(view, _errorInfo);
+                else
+                    _viewHandler.aggregateViewAdd(_aggregateViews[i], view, _errorInfo);
+            }
+            _viewHandler.aggregateViewMerge(_aggregateViews[i]);
+            encode(_aggregateViews[i]);
+        }
+
+        _itemIndexes = new int[64 * 1024];
+        _viewIndexes = new int[_itemIndexes.length];
+        for (int i = 0; i < _itemIndexes.length; i++)
+        {
+            _itemIndexes[i] = random.nextInt(items);
+            _viewIndexes[i] = random.nextInt(views);
+        }
+    }
+
+    WlView createView(int viewIndex)
+    {
+        ArrayList<Integer> fieldIdList = _fieldIdLists.get(viewIndex);
+        return _viewHandler.viewCreate(fieldIdList, null, fieldIdList.size(), ViewTypes.FIELD_ID_LIST, _errorInfo);
+    }
+
+    int encode(WlView aggregateView)
+    {
+        _viewByteBuffer.clear();
+        _viewBuffer.data(_viewByteBuffer);
+        _encodeIter.clear();
+        _encodeIter.setBufferAndRWFVersion(_viewBuffer, Codec.majorVersion(), Codec.minorVersion());
+        int ret = _viewHandler.encodeViewRequest(_encodeIter, aggregateView);
+        if (ret < CodecReturnCodes.SUCCESS)
+            throw new IllegalStateException("Unable to encode view: " + CodecReturnCodes.toString(ret));
+        return _viewByteBuffer.position();
+    }
+
+    @Benchmark
+    public int replaceView()
+    {
+        int next = _next++ & (_itemIndexes.length - 1);
+        int item = _itemIndexes[next];
+        WlView aggregateView = _aggregateViews[item];
+        int oldest = _oldestView[item];
+        _oldestView[item] = (oldest + 1) % VIEWS_PER_ITEM;
+
+        WlView oldView = _itemViews[item][oldest];
+        _stream.aggregateView(aggregateView);
+        _stream._requestsWithViewCount = VIEWS_PER_ITEM;
+        _request.view(oldView);
+        _viewHandler.removeRequestView(_stream, _request, _errorInfo);
+        _viewHandler.destroyView(oldView);
+
+        WlView view = createView(_viewIndexes[next]);
+        _itemViews[item][oldest] = view;
+        _viewHandler.aggregateViewAdd(aggregateView, view, _errorInfo);
+        _viewHandler.aggregateViewMerge(aggregateView);
+        return encode(aggregateView);
+    }
+}
@@ -3,23 +3,25 @@ package com.refinitiv.eta.json.converter;
 import com.refinitiv.eta.codec.*;
 import com.refinitiv.eta.json.util.JsonFactory;
 
-import java.util.HashMap;
-
 abstract class AbstractContainerTypeConverter extends AbstractTypeConverter {
 
-    private HashMap<Integer, String> containerNameMap = new HashMap<>();
+    /* indexed by data type, avoids boxing the container types above 127 on every lookup */
+    private static final String[] containerNames = new String[256];
+
+    static {
+        containerNames[DataTypes.VECTOR] = ConstCharArrays.JSON_VECTOR;
+        containerNames[DataTypes.MAP] = ConstCharArrays.JSON_MAP;
+        containerNames[DataTypes.SERIES] = ConstCharArrays.JSON_SERIES;
+        containerNames[DataTypes.ELEMENT_LIST] = ConstCharArrays.JSON_ELEMENTS;
+        containerNames[DataTypes.FILTER_LIST] = ConstCharArrays.JSON_FILTERLIST;
+        containerNames[DataTypes.FIELD_LIST] = ConstCharArrays.JSON_FIELDS;
+        containerNames[DataTypes.OPAQUE] = ConstCharArrays.JSON_OPAQUE;
+        containerNames[DataTypes.XML] = ConstCharArrays.JSON_XML;
+        containerNames[DataTypes.JSON] = ConstCharArrays.JSON_JSON;
+    }
 
     AbstractContainerTypeConverter(JsonAbstractConverter converter) {
         super(converter);
-        containerNameMap.put(DataTypes.VECTOR, ConstCharArrays.JSON_VECTOR);
-        containerNameMap.put(DataTypes.MAP, ConstCharArrays.JSON_MAP);
-        containerNameMap.put(DataTypes.SERIES, ConstCharArrays.JSON_SERIES);
-        containerNameMap.put(DataTypes.ELEMENT_LIST, ConstCharArrays.JSON_ELEMENTS);
-        containerNameMap.put(DataTypes.FILTER_LIST, ConstCharArrays.JSON_FILTERLIST);
-        containerNameMap.put(DataTypes.FIELD_LIST, ConstCharArrays.JSON_FIELDS);
-        containerNameMap.put(DataTypes.OPAQUE, ConstCharArrays.JSON_OPAQUE);
-        containerNameMap.put(DataTypes.XML, ConstCharArrays.JSON_XML);
-        containerNameMap.put(DataTypes.JSON, ConstCharArrays.JSON_JSON);
     }
 
     Object getContainerObject() { return null; }
@@ -137,6 +139,6 @@ abstract class AbstractContainerTypeConverter extends AbstractTypeConverter {
 
     private String getContainerName(int containerType) {
 
-        return containerNameMap.get(containerType);
+        return containerType >= 0 && containerType < containerNames.length ? containerNames[containerType] : null;
     }
 }
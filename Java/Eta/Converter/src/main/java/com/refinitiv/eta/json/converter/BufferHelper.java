@@ -306,7 +306,6 @@ class BufferHelper {
         buffer.put(intBuffer, 0, streamIdLength);
         int end = MESSAGE_START.length();
         while (jsonBuffer.data[end++] != (byte)',');
-        for (int i = end - 1; i < jsonBuffer.position; i++)
-            buffer.put(jsonBuffer.data[i]);
+        buffer.put(jsonBuffer.data, end - 1, jsonBuffer.position - end + 1);
     }
 }
@@ -0,0 +1,13 @@
+package com.refinitiv.eta.json.converter;
+
+public class DecodeJsonMsgFlags {
+
+    public static final int JSON_DJF_NONE = 0x0;
+
+    /**
+     * The message is encoded to RWF straight from the JSON tokens, without building a JSON tree of its payload.
+     * Takes effect for buffers parsed with {@link ParseJsonFlags#JSON_PJF_STREAMING},
+     * the RWF output is the same as without this flag.
+     */
+    public static final int JSON_DJF_STREAMING = 0x1;
+}
@@ -55,13 +55,13 @@ public interface DecodeJsonMsgOptions {
 
     /**
      * Getter for converter flags
-     * @return DecodeJsonMsgOptions flags
+     * @return DecodeJsonMsgOptions flags, see {@link DecodeJsonMsgFlags}
      */
     int getConverterFlags();
 
     /**
      * Setter for converter flags
-     * @param converterFlags converter flags value to be set
+     * @param converterFlags converter flags value to be set, see {@link DecodeJsonMsgFlags}
      */
     void setConverterFlags(int converterFlags);
 
@@ -52,7 +52,7 @@ class DecodeJsonMsgOptionsImpl implements DecodeJsonMsgOptions {
 
     @Override
     public void clear() {
-        converterFlags = 0;
+        converterFlags = DecodeJsonMsgFlags.JSON_DJF_NONE;
         jsonProtocolType = JsonProtocol.JSON_JPT_UNKNOWN;
         rsslProtocolType = 0;
         majorVersion = 0;
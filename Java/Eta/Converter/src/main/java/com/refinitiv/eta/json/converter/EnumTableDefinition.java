@@ -5,6 +5,7 @@ import com.refinitiv.eta.codec.EnumTypeTable;
 
 import java.io.UnsupportedEncodingException;
 import java.nio.ByteBuffer;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Objects;
@@ -17,14 +18,40 @@ class EnumTableDefinition {
 	private ByteBuffer byteBuffer;
 	private ReentrantLock accessLock = new java.util.concurrent.locks.ReentrantLock();
 	
-	EnumTableDefinition(int maxEnumValue)
+	/* JSON string of the display value by enum value, null when there is no display value */
+	private final byte[][] displayJsonByValue;
+	
+	EnumTableDefinition(EnumTypeTable enumTypeTable)
 	{
-		enumByDispalyValueHash = new HashMap<>(maxEnumValue);
+		enumByDispalyValueHash = new HashMap<>(enumTypeTable.maxValue());
 		byteBuffer = ByteBuffer.allocate(256);
 
 		outputBuffer = new JsonBuffer();
 		outputBuffer.position = 0;
 		outputBuffer.data = byteBuffer.array();
+		
+		displayJsonByValue = new byte[enumTypeTable.maxValue() + 1][];
+		JsonConverterError error = ConverterFactory.createJsonConverterError();
+		for(int index = 0; index <= enumTypeTable.maxValue(); index++)
+		{
+			EnumType enumType = enumTypeTable.enumTypes()[index];
+			if(Objects.isNull(enumType) || Objects.isNull(enumType.display().data()))
+			{
+				continue;
+			}
+			
+			outputBuffer.position = 0;
+			if (BasicPrimitiveConverter.writeRMTESString(enumType.display(), outputBuffer, error))
+			{
+				displayJsonByValue[index] = Arrays.copyOf(outputBuffer.data, outputBuffer.position);
+			}
+		}
+	}
+	
+	/* Returns the display value of the enum as a JSON string, null when it has to be written as a number */
+	byte[] getDisplayJson(int enumValue)
+	{
+		return enumValue >= 0 && enumValue < displayJsonByValue.length ? displayJsonByValue[enumValue] : null;
 	}
 	
 	int findEnumDefinition(String displayValue)
@@ -13,6 +13,7 @@ import java.nio.ByteBuffer;
 import java.nio.charset.StandardCharsets;
 import java.util.*;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import static com.refinitiv.eta.codec.CodecReturnCodes.*;
 import static com.refinitiv.eta.json.converter.ConstCharArrays.*;
@@ -24,7 +25,7 @@ class JsonConverterBaseImpl extends JsonAbstractConverter {
     private ThreadLocal<JsonConverterState> currentState = ThreadLocal.withInitial(() -> null);;
     private Map<Integer, AbstractRsslMessageTypeConverter> rsslMsgHandlerMap = new HashMap<>();
     private Map<Integer, AbstractPrimitiveTypeConverter> primitiveHandlerMap = new HashMap<>();
-    private Map<Integer, AbstractContainerTypeConverter> containerHandlerMap = new HashMap<>();
+    private AbstractContainerTypeConverter[] containerHandlers = new AbstractContainerTypeConverter[256];
     private Map<RsslMsgChunkType, AbstractRsslMessageChunkTypeConverter> rsslMsgChunkHandlerMap = new HashMap<>();
     private boolean catchUnexpectedKeys;
     private boolean catchUnexpectedFids;
@@ -37,7 +38,8 @@ class JsonConverterBaseImpl extends JsonAbstractConverter {
     private ThreadLocal<DictionaryEntry> dictionaryEntry = ThreadLocal.withInitial(() -> null);
     private ThreadLocal<JsonBuffer> jsonOutputBuffer = ThreadLocal.withInitial(() -> new JsonBuffer());
     private ThreadLocal<ByteBufferInputStream> inputStream = ThreadLocal.withInitial(() -> new ByteBufferInputStream());
-    private Map<EnumTypeTable, EnumTableDefinition> enumTableDefinitionMap = new HashMap<>(256);
+    private ThreadLocal<JsonStreamingDecoder> streamingDecoder = ThreadLocal.withInitial(() -> new JsonStreamingDecoder(this));
+    private ConcurrentHashMap<EnumTypeTable, EnumTableDefinition> enumTableDefinitionMap = new ConcurrentHashMap<>(256);
 
     private static final Map<String, Integer> STRING_TO_RWF_MSG_CLASS = new HashMap<>();;
     private static final Map<String, Integer> STRING_TO_JSON_MSG_CLASS = new HashMap<>();
@@ -128,16 +130,16 @@ class JsonConverterBaseImpl extends JsonAbstractConverter {
     }
 
     private void initContainerHandlers() {
-        containerHandlerMap.put(DataTypes.ELEMENT_LIST, new JsonElementListConverter(this));
-        containerHandlerMap.put(DataTypes.FIELD_LIST, new JsonFieldListConverter(this));
-        containerHandlerMap.put(DataTypes.FILTER_LIST, new JsonFilterListConverter(this));
-        containerHandlerMap.put(DataTypes.VECTOR, new JsonVectorConverter(this));
-        containerHandlerMap.put(DataTypes.SERIES, new JsonSeriesConverter(this));
-        containerHandlerMap.put(DataTypes.MAP, new JsonMapConverter(this));
-        containerHandlerMap.put(DataTypes.OPAQUE, new JsonOpaqueConverter(this));
-        containerHandlerMap.put(DataTypes.XML, new JsonXmlConverter(this));
-        containerHandlerMap.put(DataTypes.JSON, new JsonJsonConverter(this));
-        containerHandlerMap.put(DataTypes.MSG, new JsonMsgConverter(this));
+        containerHandlers[DataTypes.ELEMENT_LIST] = new JsonElementListConverter(this);
+        containerHandlers[DataTypes.FIELD_LIST] = new JsonFieldListConverter(this);
+        containerHandlers[DataTypes.FILTER_LIST] = new JsonFilterListConverter(this);
+        containerHandlers[DataTypes.VECTOR] = new JsonVectorConverter(this);
+        containerHandlers[DataTypes.SERIES] = new JsonSeriesConverter(this);
+        containerHandlers[DataTypes.MAP] = new JsonMapConverter(this);
+        containerHandlers[DataTypes.OPAQUE] = new JsonOpaqueConverter(this);
+        containerHandlers[DataTypes.XML] = new JsonXmlConverter(this);
+        containerHandlers[DataTypes.JSON] = new JsonJsonConverter(this);
+        containerHandlers[DataTypes.MSG] = new JsonMsgConverter(this);
     }
 
     @Override
@@ -145,7 +147,7 @@ class JsonConverterBaseImpl extends JsonAbstractConverter {
         if (options.getProtocolType() != JsonProtocol.JSON_JPT_JSON2) {
             return error.setError(JsonConverterErrorCodes.JSON_ERROR, "Protocol type not supported: " + options.getProtocolType());
         }
-        return parseJsonBuffer(jsonBuffer.data().array(), error);
+        return parseJsonBuffer(jsonBuffer.data().array(), options.getConverterFlags(), error);
     }
 
     @Override
@@ -154,7 +156,7 @@ class JsonConverterBaseImpl extends JsonAbstractConverter {
             return error.setError(JsonConverterErrorCodes.JSON_ERROR, "Protocol type not supported: " + options.getProtocolType());
         }
 
-        return parseJsonBuffer(inBuffer, error);
+        return parseJsonBuffer(inBuffer, options.getConverterFlags(), error);
     }
 
     @Override
@@ -166,6 +168,30 @@ class JsonConverterBaseImpl extends JsonAbstractConverter {
 
         jsonMsg.rwfMsg().clear();
 
+        JsonStreamingDecoder decoder = streamingDecoder.get();
+        if (decoder.hasInput()) {
+            if ((options.getConverterFlags() & DecodeJsonMsgFlags.JSON_DJF_STREAMING) != 0 && error.isSuccessful()) {
+                int ret = decoder.nextMessage();
+                if (ret == END_OF_CONTAINER)
+                    return ret;
+
+                if (ret == SUCCESS) {
+                    JsonNode failedNode = currentState.get().getFailedNode();
+                    if (decodeStreamingMsg(jsonMsg, decoder.header(), error))
+                        return SUCCESS;
+
+                    // decode the message again from the JSON tree, it reports the error if there is one
+                    decoder.rewind();
+                    currentState.get().setFailedNode(failedNode);
+                    jsonMsg.rwfMsg().clear();
+                    error.clear();
+                }
+            }
+
+            if (setDeferredRoot(decoder, error) != SUCCESS)
+                return FAILURE;
+        }
+
         int ret = setCurrentMessageRoot(error);
         if (ret != SUCCESS)
             return ret;
@@ -194,6 +220,48 @@ class JsonConverterBaseImpl extends JsonAbstractConverter {
         return error.isSuccessful() ? SUCCESS : FAILURE;
     }
 
+    private boolean decodeStreamingMsg(JsonMsg jsonMsg, JsonNode header, JsonConverterError error) {
+        currentState.get().setWorkingNode(header);
+
+        if (getJsonMsgType(jsonMsg, header, error) != SUCCESS)
+            return false;
+
+        if (jsonMsg.jsonMsgClass() == JsonMsgClasses.RSSL_MESSAGE) {
+            EncodeIterator encIter = JsonFactory.createEncodeIterator();
+            try {
+                prepareJsonMsgToDecode(jsonMsg);
+                encIter.clear();
+                encIter.setBufferAndRWFVersion(jsonMsg.rwfMsg().encodedMsgBuffer(), Codec.majorVersion(), Codec.minorVersion());
+                decodeRsslMessage(jsonMsg.rwfMsg().msgClass(), header, jsonMsg.rwfMsg(), error, encIter);
+            } finally {
+                JsonFactory.releaseEncodeIterator(encIter);
+            }
+        }
+
+        return error.isSuccessful();
+    }
+
+    /* Builds the JSON tree of a buffer parsed with JSON_PJF_STREAMING, positioned at the next message of the decoder. */
+    private int setDeferredRoot(JsonStreamingDecoder decoder, JsonConverterError error) {
+        JsonConverterState state = currentState.get();
+        if (decoder.isDone()) {
+            decoder.clear();
+            return SUCCESS;
+        }
+
+        try {
+            state.setCurrentRoot(decoder.readTree());
+            state.setArrayCounter(decoder.arrayCounter());
+            state.setEntryCounter(decoder.entryCounter());
+        } catch (IOException e) {
+            state.setFailedMessage(decoder.inputBytes());
+            return error.setError(JsonConverterErrorCodes.JSON_ERROR_PARSE_ERROR, e.getMessage());
+        } finally {
+            decoder.clear();
+        }
+        return SUCCESS;
+    }
+
     private int setCurrentMessageRoot(JsonConverterError error) {
         JsonConverterState state = currentState.get();
         JsonNode root = state.getCurrentRoot();
@@ -454,7 +522,7 @@ class JsonConverterBaseImpl extends JsonAbstractConverter {
 
     @Override
     AbstractContainerTypeConverter getContainerHandler(int dataType) {
-        return containerHandlerMap.get(dataType);
+        return dataType >= 0 && dataType < containerHandlers.length ? containerHandlers[dataType] : null;
     }
 
     @Override
@@ -630,14 +698,18 @@ class JsonConverterBaseImpl extends JsonAbstractConverter {
         }
     }
 
+    /* Looked up for each enum field, so a definition is fully built before it is published
+     * and lookups of published definitions take no lock. */
     @Override
-    synchronized EnumTableDefinition getEnumTableDefinition(EnumTypeTable enumTypeTable)
+    EnumTableDefinition getEnumTableDefinition(EnumTypeTable enumTypeTable)
     {
     	EnumTableDefinition enumTableDefinition = enumTableDefinitionMap.get(enumTypeTable);
     	if(Objects.isNull(enumTableDefinition))
 		{
-    		enumTableDefinition = new EnumTableDefinition(enumTypeTable.maxValue());
-    		enumTableDefinitionMap.put(enumTypeTable, enumTableDefinition);
+    		EnumTableDefinition newDefinition = new EnumTableDefinition(enumTypeTable);
+    		enumTableDefinition = enumTableDefinitionMap.putIfAbsent(enumTypeTable, newDefinition);
+    		if(Objects.isNull(enumTableDefinition))
+    			enumTableDefinition = newDefinition;
 		}
 
     	return enumTableDefinition;
@@ -730,35 +802,48 @@ class JsonConverterBaseImpl extends JsonAbstractConverter {
         defaultServiceId = id;
     }
 
-    private int parseJsonBuffer(byte[] data, JsonConverterError error) {
+    private int parseJsonBuffer(byte[] data, int flags, JsonConverterError error) {
         try {
             final JsonConverterState jsonConverterState = Optional
                     .ofNullable(currentState.get())
                     .orElseGet(JsonConverterState::new);
             jsonConverterState.clear();
             currentState.set(jsonConverterState);
-            jsonConverterState.setCurrentRoot(mapper.get().readTree(data));
+            streamingDecoder.get().clear();
+            if ((flags & ParseJsonFlags.JSON_PJF_STREAMING) != 0) {
+                streamingDecoder.get().setInput(data);
+                streamingDecoder.get().validate();
+            } else
+                jsonConverterState.setCurrentRoot(mapper.get().readTree(data));
             jsonConverterState.getCurrentBufferData().data(ByteBuffer.wrap(data));
         } catch (IOException e) {
+            streamingDecoder.get().clear();
             currentState.get().setFailedMessage(data);
             return error.setError(JsonConverterErrorCodes.JSON_ERROR_PARSE_ERROR, e.getMessage());
         }
         return SUCCESS;
     }
 
-    private int parseJsonBuffer(TransportBuffer buffer, JsonConverterError error) {
+    private int parseJsonBuffer(TransportBuffer buffer, int flags, JsonConverterError error) {
         try {
             final JsonConverterState jsonConverterState = Optional
                     .ofNullable(currentState.get())
                     .orElseGet(JsonConverterState::new);
             jsonConverterState.clear();
             currentState.set(jsonConverterState);
+            streamingDecoder.get().clear();
             ByteBuffer data = buffer.data();
-            ByteBufferInputStream stream = inputStream.get();
-            stream.setByteBuffer(data, buffer.dataStartPosition(), data.limit());
-            jsonConverterState.setCurrentRoot(mapper.get().readTree(stream));
+            if ((flags & ParseJsonFlags.JSON_PJF_STREAMING) != 0) {
+                streamingDecoder.get().setInput(data, buffer.dataStartPosition(), data.limit());
+                streamingDecoder.get().validate();
+            } else {
+                ByteBufferInputStream stream = inputStream.get();
+                stream.setByteBuffer(data, buffer.dataStartPosition(), data.limit());
+                jsonConverterState.setCurrentRoot(mapper.get().readTree(stream));
+            }
             jsonConverterState.getCurrentBufferData().data(data);
         } catch (IOException e) {
+            streamingDecoder.get().clear();
             byte[] data = new byte[buffer.length()];
             ByteBuffer inData = buffer.data();
             for (int i = 0; i < buffer.length(); i++)
@@ -801,6 +886,11 @@ class JsonConverterBaseImpl extends JsonAbstractConverter {
 
     @Override
     public void decodeChunk(int dataType, JsonNode dataNode, String key, EncodeIterator iterator, JsonConverterError error) {
+        if (dataNode == JsonStreamingDecoder.PAYLOAD_NODE) {
+            streamingDecoder.get().encodePayload(dataType, key, iterator, error);
+            return;
+        }
+
         AbstractTypeConverter subParser = getHandler(dataType, error);
         if (subParser == null) {
             error.setError(JsonConverterErrorCodes.JSON_ERROR_UNSUPPORTED_MESSAGE,"Unknown datatype to parse: [" + dataType + "]");
@@ -52,10 +52,9 @@ class JsonEnumerationConverter extends AbstractPrimitiveTypeConverter {
             if (ret == CodecReturnCodes.BLANK_DATA)
                 res = BufferHelper.writeArray(ConstCharArrays.nullBytes, outBuffer, false, error);
             else {
-                EnumType enumType = (entry.enumTypeTable() != null
-                                     && enumer.toInt() <= entry.enumTypeTable().maxValue()) ? entry.enumTypeTable().enumTypes()[enumer.toInt()] : null;
-                if (enumType != null && enumType.display().data() != null) {
-                    res = BasicPrimitiveConverter.writeRMTESString(enumType.display(), outBuffer, error);
+                byte[] display = entry.enumTypeTable() != null ? converter.getEnumTableDefinition(entry.enumTypeTable()).getDisplayJson(enumer.toInt()) : null;
+                if (display != null) {
+                    res = BufferHelper.copyToByteArray(display, 0, display.length, outBuffer, error);
                 } else {
                     res = BasicPrimitiveConverter.writeLong(enumer.toInt(), outBuffer, error);
                 }
@@ -4,10 +4,26 @@ import com.fasterxml.jackson.databind.JsonNode;
 import com.refinitiv.eta.codec.*;
 import com.refinitiv.eta.json.util.JsonFactory;
 
+import java.util.Arrays;
 import java.util.Iterator;
 
 class JsonFieldListConverter extends AbstractContainerTypeConverter {
 
+    /* JSON field name bytes, quoted and followed by a colon, indexed by field ID - MIN_FID.
+     * The dictionary entry is kept to rebuild the name when the dictionary is reloaded. */
+    private static final int MIN_FID = -32768;
+    private final FieldName[] fieldNames = new FieldName[65536];
+
+    private static final class FieldName {
+        final DictionaryEntry entry;
+        final byte[] json;
+
+        FieldName(DictionaryEntry entry, byte[] json) {
+            this.entry = entry;
+            this.json = json;
+        }
+    }
+
     JsonFieldListConverter(JsonAbstractConverter converter) {
         super(converter);
         dataTypes = new int[] { DataTypes.FIELD_LIST };
@@ -57,8 +73,10 @@ class JsonFieldListConverter extends AbstractContainerTypeConverter {
         FieldEntry fieldEntry = (FieldEntry) entryObj;
         DictionaryEntry def = converter.getDictionary().entry(fieldEntry.fieldId());
         if (def != null) {
-            BasicPrimitiveConverter.writeAsciiString(def.acronym(), outBuffer, error);
-            BufferHelper.colon(outBuffer, error);
+            byte[] name = getFieldName(fieldEntry.fieldId(), def, error);
+            if (name == null)
+                return false;
+            BufferHelper.copyToByteArray(name, 0, name.length, outBuffer, error);
             if (def.rwfType() < DataTypes.SET_PRIMITIVE_MAX) {
                 if (def.rwfType() != DataTypes.ENUM || !converter.expandEnumFields()) {
                     converter.getPrimitiveHandler(def.rwfType()).encodeJson(decIter, outBuffer, error);
@@ -73,6 +91,21 @@ class JsonFieldListConverter extends AbstractContainerTypeConverter {
         return error.isSuccessful();
     }
 
+    private byte[] getFieldName(int fieldId, DictionaryEntry def, JsonConverterError error) {
+
+        FieldName fieldName = fieldNames[fieldId - MIN_FID];
+        if (fieldName != null && fieldName.entry == def)
+            return fieldName.json;
+
+        JsonBuffer nameBuffer = new JsonBuffer(BasicPrimitiveConverter.getSafeStringMaxLength(def.acronym().length()) + 1);
+        if (!BasicPrimitiveConverter.writeAsciiString(def.acronym(), nameBuffer, error) || !BufferHelper.colon(nameBuffer, error))
+            return null;
+
+        fieldName = new FieldName(def, Arrays.copyOf(nameBuffer.data, nameBuffer.position));
+        fieldNames[fieldId - MIN_FID] = fieldName;
+        return fieldName.json;
+    }
+
     @Override
     void encodeRWF(JsonNode node, String stringKey, EncodeIterator iter, JsonConverterError error) {
 
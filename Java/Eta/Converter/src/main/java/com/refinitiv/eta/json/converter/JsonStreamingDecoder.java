@@ -0,0 +1,583 @@
+package com.refinitiv.eta.json.converter;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.refinitiv.eta.codec.*;
+import com.refinitiv.eta.codec.Enum;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+import static com.refinitiv.eta.codec.CodecReturnCodes.*;
+import static com.refinitiv.eta.json.converter.ConstCharArrays.*;
+
+/* Reads the buffer kept by parseJsonBuffer with ParseJsonFlags.JSON_PJF_STREAMING one message at a time.
+ * The header keys of a message are read into a small JSON tree, so that the message converters are used as they are,
+ * while a Fields or Elements payload is encoded to RWF straight from the parser tokens, before the header is known.
+ * It is then copied behind the message header in place of the payload node (see PAYLOAD_NODE).
+ * Anything not handled here the way the tree based converters do it makes nextMessage() return FAILURE,
+ * the caller then decodes the rest of the buffer from the JSON tree, so the result is the same in every case.
+ * One instance is used per thread. */
+class JsonStreamingDecoder {
+
+    /* Stands for the streamed payload in the message header tree. */
+    static final ObjectNode PAYLOAD_NODE = JsonNodeFactory.instance.objectNode();
+
+    private final JsonAbstractConverter converter;
+    private final ObjectNode header = JsonNodeFactory.instance.objectNode();
+    private final ByteBufferInputStream inputStream = new ByteBufferInputStream();
+
+    private byte[] inputArray;
+    private ByteBuffer inputBuffer;
+    private int inputStart;
+    private int inputEnd;
+    private JsonParser parser;
+
+    // position of the next message, counted the same way as JsonConverterState does for the JSON tree
+    private boolean arrayRoot;
+    private boolean inNestedArray;
+    private boolean done;
+    private int arrayCounter;
+    private int entryCounter;
+    private int msgArrayCounter;
+    private int msgEntryCounter;
+
+    private ByteBuffer payload = ByteBuffer.allocate(0);
+    private final Buffer payloadBuffer = CodecFactory.createBuffer();
+    private final EncodeIterator payloadIter = CodecFactory.createEncodeIterator();
+    private int payloadType;
+    private final JsonConverterError payloadError = ConverterFactory.createJsonConverterError();
+
+    private final Buffer nonRWFBuffer = CodecFactory.createBuffer();
+    private final FieldList fieldList = CodecFactory.createFieldList();
+    private final FieldEntry fieldEntry = CodecFactory.createFieldEntry();
+    private final ElementList elementList = CodecFactory.createElementList();
+    private final ElementEntry elementEntry = CodecFactory.createElementEntry();
+    private final Buffer name = CodecFactory.createBuffer();
+    private final Real real = CodecFactory.createReal();
+    private final Int intValue = CodecFactory.createInt();
+    private final UInt uintValue = CodecFactory.createUInt();
+    private final Enum enumValue = CodecFactory.createEnum();
+
+    private String[] entryNames = new String[64];
+    private int entryNameCount;
+
+    JsonStreamingDecoder(JsonAbstractConverter converter) {
+        this.converter = converter;
+    }
+
+    void setInput(byte[] data) {
+        clear();
+        inputArray = data;
+        ensurePayloadCapacity(data.length);
+    }
+
+    void setInput(ByteBuffer data, int start, int end) {
+        clear();
+        inputBuffer = data;
+        inputStart = start;
+        inputEnd = end;
+        ensurePayloadCapacity(end - start);
+    }
+
+    boolean hasInput() {
+        return inputArray != null || inputBuffer != null;
+    }
+
+    boolean isDone() {
+        return done;
+    }
+
+    int arrayCounter() {
+        return arrayCounter;
+    }
+
+    int entryCounter() {
+        return entryCounter;
+    }
+
+    ObjectNode header() {
+        return header;
+    }
+
+    void clear() {
+        if (parser != null) {
+            try {
+                parser.close();
+            } catch (IOException e) {
+                // nothing to release, the input is in memory
+            }
+            parser = null;
+        }
+        inputArray = null;
+        inputBuffer = null;
+        inputStart = 0;
+        inputEnd = 0;
+        arrayRoot = false;
+        inNestedArray = false;
+        done = false;
+        arrayCounter = 0;
+        entryCounter = 0;
+        msgArrayCounter = 0;
+        msgEntryCounter = 0;
+        header.removeAll();
+    }
+
+    /* Goes back to the message returned by the last nextMessage(), to decode it from the JSON tree. */
+    void rewind() {
+        done = false;
+        arrayCounter = msgArrayCounter;
+        entryCounter = msgEntryCounter;
+    }
+
+    /* Checks the syntax of the input without building a tree, so that parseJsonBuffer fails the same way with
+     * and without JSON_PJF_STREAMING. As with readTree(), only the first root value is checked. */
+    void validate() throws IOException {
+        try (JsonParser validationParser = createParser()) {
+            if (validationParser.nextToken() != null)
+                validationParser.skipChildren();
+        }
+    }
+
+    /* Reads the whole input the same way parseJsonBuffer does without JSON_PJF_STREAMING. */
+    JsonNode readTree() throws IOException {
+        if (inputArray != null)
+            return converter.getMapper().readTree(inputArray);
+
+        inputStream.setByteBuffer(inputBuffer, inputStart, inputEnd);
+        return converter.getMapper().readTree(inputStream);
+    }
+
+    byte[] inputBytes() {
+        if (inputArray != null)
+            return inputArray;
+
+        byte[] data = new byte[inputEnd - inputStart];
+        for (int i = 0; i < data.length; i++)
+            data[i] = inputBuffer.get(i + inputStart);
+        return data;
+    }
+
+    /* Reads the next message of the input into header() and encodes its Fields or Elements payload.
+     * Returns SUCCESS, END_OF_CONTAINER when there are no more messages, or FAILURE when the message
+     * at arrayCounter()/entryCounter() has to be decoded from the JSON tree. */
+    int nextMessage() {
+        if (done)
+            return END_OF_CONTAINER;
+
+        try {
+            if (parser == null) {
+                parser = createParser();
+                JsonToken token = parser.nextToken();
+                if (token == JsonToken.START_OBJECT) {
+                    arrayRoot = false;
+                } else if (token == JsonToken.START_ARRAY) {
+                    arrayRoot = true;
+                } else {
+                    return FAILURE;
+                }
+            }
+
+            if (arrayRoot) {
+                while (true) {
+                    JsonToken token = parser.nextToken();
+                    if (token == JsonToken.START_OBJECT)
+                        break;
+
+                    if (token != JsonToken.END_ARRAY && (inNestedArray || token != JsonToken.START_ARRAY))
+                        return FAILURE;
+
+                    if (token == JsonToken.START_ARRAY) {
+                        inNestedArray = true;
+                    } else if (inNestedArray) {
+                        inNestedArray = false;
+                        entryCounter = 0;
+                        arrayCounter++;
+                    } else {
+                        done = true;
+                        return END_OF_CONTAINER;
+                    }
+                }
+            }
+
+            msgArrayCounter = arrayCounter;
+            msgEntryCounter = entryCounter;
+            if (!readMessage())
+                return FAILURE;
+        } catch (IOException | RuntimeException e) {
+            return FAILURE;
+        }
+
+        if (!arrayRoot)
+            done = true;
+        else if (inNestedArray)
+            entryCounter++;
+        else
+            arrayCounter++;
+
+        return SUCCESS;
+    }
+
+    /* Copies the payload encoded by nextMessage() into the message, called for PAYLOAD_NODE. */
+    void encodePayload(int dataType, String key, EncodeIterator iter, JsonConverterError error) {
+        if (dataType != payloadType) {
+            error.setError(JsonConverterErrorCodes.JSON_ERROR_UNEXPECTED_VALUE, "Unexpected container type " + dataType + " for streamed payload", key);
+            return;
+        }
+
+        int ret = iter.encodeNonRWFInit(nonRWFBuffer);
+        if (ret < SUCCESS) {
+            error.setEncodeError(ret, key);
+            return;
+        }
+
+        int length = payload.position();
+        if (nonRWFBuffer.length() < length) {
+            iter.encodeNonRWFComplete(nonRWFBuffer, false);
+            error.setEncodeError(BUFFER_TOO_SMALL, key);
+            return;
+        }
+
+        nonRWFBuffer.data().put(payload.array(), 0, length);
+        ret = iter.encodeNonRWFComplete(nonRWFBuffer, true);
+        if (ret < SUCCESS)
+            error.setEncodeError(ret, key);
+    }
+
+    private JsonParser createParser() throws IOException {
+        if (inputArray != null)
+            return converter.getMapper().getFactory().createParser(inputArray);
+
+        if (inputBuffer.hasArray())
+            return converter.getMapper().getFactory().createParser(inputBuffer.array(), inputBuffer.arrayOffset() + inputStart, inputEnd - inputStart);
+
+        inputStream.setByteBuffer(inputBuffer, inputStart, inputEnd);
+        return converter.getMapper().getFactory().createParser(inputStream);
+    }
+
+    private boolean readMessage() throws IOException {
+        header.removeAll();
+        payloadType = DataTypes.NO_DATA;
+
+        JsonToken token;
+        while ((token = parser.nextToken()) == JsonToken.FIELD_NAME) {
+            String key = parser.getCurrentName();
+            token = parser.nextToken();
+
+            // the JSON tree keeps the last value of a repeated key at the place of the first one
+            if (header.has(key))
+                return false;
+
+            if (token == JsonToken.START_OBJECT && payloadType == DataTypes.NO_DATA
+                    && (key.equals(JSON_FIELDS) || key.equals(JSON_ELEMENTS))) {
+                payloadType = key.equals(JSON_FIELDS) ? DataTypes.FIELD_LIST : DataTypes.ELEMENT_LIST;
+                if (!encodePayload(key))
+                    return false;
+                header.set(key, PAYLOAD_NODE);
+            } else {
+                header.set(key, converter.getMapper().readTree(parser));
+            }
+        }
+
+        return token == JsonToken.END_OBJECT;
+    }
+
+    private boolean encodePayload(String key) throws IOException {
+        payload.clear();
+        payloadBuffer.data(payload);
+        payloadIter.clear();
+        if (payloadIter.setBufferAndRWFVersion(payloadBuffer, Codec.majorVersion(), Codec.minorVersion()) != SUCCESS)
+            return false;
+
+        payloadError.clear();
+        if (payloadType == DataTypes.FIELD_LIST)
+            encodeFieldList(key, payloadError);
+        else
+            encodeElementList(key, payloadError);
+        return payloadError.isSuccessful();
+    }
+
+    /* Same as JsonFieldListConverter.encodeRWF(). */
+    private void encodeFieldList(String stringKey, JsonConverterError error) throws IOException {
+        fieldList.clear();
+        fieldList.applyHasStandardData();
+
+        int ret = fieldList.encodeInit(payloadIter, null, 0);
+        if (ret < SUCCESS) {
+            error.setError(JsonConverterErrorCodes.JSON_ERROR_RSSL_ENCODE_ERROR, "Failed encoding FieldList, code: " + ret, stringKey);
+            return;
+        }
+
+        if (converter.getDictionary() == null) {
+            error.setError(JsonConverterErrorCodes.JSON_ERROR_RSSL_DICT_NOT_INIT, "Dictionary not initialized");
+            return;
+        }
+
+        entryNameCount = 0;
+        JsonToken token;
+        while ((token = parser.nextToken()) == JsonToken.FIELD_NAME) {
+            fieldEntry.clear();
+            String key = parser.getCurrentName();
+            token = parser.nextToken();
+            if (!addEntryName(key)) {
+                error.setError(JsonConverterErrorCodes.JSON_ERROR_UNEXPECTED_VALUE, "Repeated key " + key + " in FieldList", key);
+                return;
+            }
+
+            DictionaryEntry def;
+            boolean isNumber = true;
+            for (int i = 0; i < key.length(); i++) {
+                switch (key.charAt(i)) {
+                    case '0': case '1': case '2':
+                    case '3': case '4': case '5':
+                    case '6': case '7': case '8':
+                        break;
+                    case '-':
+                        if (i != 0)
+                            isNumber = false;
+                        break;
+                    default:
+                        isNumber = false;
+                        break;
+                }
+
+                if (!isNumber)
+                    break;
+            }
+
+            if (isNumber) {
+                int num = Integer.valueOf(key);
+                fieldEntry.fieldId(num);
+                def = converter.getDictionary().entry(num);
+            } else {
+                def = converter.getDictionary().entry(key);
+                if (def != null) {
+                    fieldEntry.fieldId(def.fid());
+                }
+            }
+            if (def == null && converter.catchUnexpectedFids()) {
+                error.setError(JsonConverterErrorCodes.JSON_ERROR_UNEXPECTED_FID, "encountered unexpected fid = " + key + " while decoding FieldEntry");
+                return;
+            }
+
+            converter.dictionaryEntry(null);
+
+            if (def != null) {
+                fieldEntry.dataType(def.rwfType());
+                converter.dictionaryEntry(def);
+                ret = fieldEntry.encodeInit(payloadIter, 0);
+                if (ret < SUCCESS) {
+                    error.setError(JsonConverterErrorCodes.JSON_ERROR_RSSL_ENCODE_ERROR, "Failed encoding FieldEntry, code: " + ret, key);
+                    return;
+                }
+                encodeValue(token, fieldEntry.dataType(), key, error);
+                if (error.isFailed())
+                    return;
+                ret = fieldEntry.encodeComplete(payloadIter, true);
+                if (ret < SUCCESS) {
+                    error.setError(JsonConverterErrorCodes.JSON_ERROR_RSSL_ENCODE_ERROR, "Failed encoding FieldEntry, code: " + ret, key);
+                    return;
+                }
+            } else {
+                parser.skipChildren();
+            }
+        }
+
+        if (token != JsonToken.END_OBJECT) {
+            error.setError(JsonConverterErrorCodes.JSON_ERROR_PARSE_ERROR, "Unexpected token " + token + " in FieldList", stringKey);
+            return;
+        }
+
+        ret = fieldList.encodeComplete(payloadIter, true);
+        if (ret < SUCCESS) {
+            error.setError(JsonConverterErrorCodes.JSON_ERROR_RSSL_ENCODE_ERROR, "Failed encoding FieldList, code: " + ret, stringKey);
+        }
+    }
+
+    /* Same as JsonElementListConverter.encodeRWF(). */
+    private void encodeElementList(String stringKey, JsonConverterError error) throws IOException {
+        elementList.clear();
+        elementList.applyHasStandardData();
+
+        int ret = elementList.encodeInit(payloadIter, null, 0);
+        if (ret < SUCCESS) {
+            error.setError(JsonConverterErrorCodes.JSON_ERROR_RSSL_ENCODE_ERROR, "Failed encoding ElementList, code: " + ret);
+            return;
+        }
+
+        entryNameCount = 0;
+        JsonToken token;
+        while ((token = parser.nextToken()) == JsonToken.FIELD_NAME) {
+            String next = parser.getCurrentName();
+            token = parser.nextToken();
+            if (!addEntryName(next)) {
+                error.setError(JsonConverterErrorCodes.JSON_ERROR_UNEXPECTED_VALUE, "Repeated key " + next + " in ElementList", next);
+                return;
+            }
+
+            elementEntry.clear();
+            name.clear();
+            name.data(next);
+            elementEntry.name(name);
+
+            JsonNode data = null;
+            if (token == JsonToken.VALUE_STRING || token == JsonToken.VALUE_NUMBER_INT && parser.getNumberType() != JsonParser.NumberType.BIG_INTEGER) {
+                elementEntry.dataType(token == JsonToken.VALUE_STRING ? DataTypes.ASCII_STRING : DataTypes.UINT);
+            } else if (token == JsonToken.START_OBJECT) {
+                JsonNode currEntryElem = converter.getMapper().readTree(parser);
+                JsonNode type = currEntryElem.path(JSON_TYPE);
+                data = currEntryElem.path(JSON_DATA);
+
+                if (type.isMissingNode()) {
+                    error.setError(JsonConverterErrorCodes.JSON_ERROR_MISSING_KEY, "Missing key " + JSON_TYPE + " in ElementEntry", next);
+                    return;
+                }
+                if (data.isMissingNode()) {
+                    error.setError(JsonConverterErrorCodes.JSON_ERROR_MISSING_KEY, "Missing key " + JSON_DATA + " in ElementEntry", next);
+                    return;
+                }
+
+                int dataType = converter.getDataType(type);
+                if (dataType == FAILURE) {
+                    error.setError(JsonConverterErrorCodes.JSON_ERROR_UNSUPPORTED_DATA_TYPE, "Unsupported data type: " + type.asText(), next);
+                    return;
+                }
+                elementEntry.dataType(dataType);
+            } else {
+                error.setError(JsonConverterErrorCodes.JSON_ERROR_UNEXPECTED_VALUE, "Unexpected token in ElementEntry, found " + token, next);
+                return;
+            }
+
+            ret = elementEntry.encodeInit(payloadIter, 0);
+            if (ret < SUCCESS) {
+                error.setError(JsonConverterErrorCodes.JSON_ERROR_RSSL_ENCODE_ERROR, "Failed encoding ElementEntry, code: " + ret, next);
+                return;
+            }
+            if (data == null)
+                encodeValue(token, elementEntry.dataType(), next, error);
+            else
+                converter.decodeChunk(elementEntry.dataType(), data, next, payloadIter, error);
+            if (error.isFailed())
+                return;
+            ret = elementEntry.encodeComplete(payloadIter, true);
+            if (ret < SUCCESS) {
+                error.setError(JsonConverterErrorCodes.JSON_ERROR_RSSL_ENCODE_ERROR, "Failed encoding ElementEntry, code: " + ret, next);
+                return;
+            }
+        }
+
+        if (token != JsonToken.END_OBJECT) {
+            error.setError(JsonConverterErrorCodes.JSON_ERROR_PARSE_ERROR, "Unexpected token " + token + " in ElementList", stringKey);
+            return;
+        }
+
+        ret = elementList.encodeComplete(payloadIter, true);
+        if (ret < SUCCESS) {
+            error.setError(JsonConverterErrorCodes.JSON_ERROR_RSSL_ENCODE_ERROR, "Failed encoding ElementEntry, code: " + ret, stringKey);
+        }
+    }
+
+    /* Encodes the value at the current token, the common primitives without building a JSON node,
+     * the same way as JsonRealConverter, JsonIntConverter, JsonLongConverter and JsonEnumerationConverter do. */
+    private void encodeValue(JsonToken token, int dataType, String key, JsonConverterError error) throws IOException {
+        int result;
+        switch (dataType) {
+            case DataTypes.REAL:
+            case DataTypes.REAL_4RB:
+            case DataTypes.REAL_8RB:
+                real.clear();
+                if (token == JsonToken.VALUE_NULL) {
+                    real.blank();
+                    result = SUCCESS;
+                } else if (token == JsonToken.VALUE_NUMBER_FLOAT) {
+                    result = JsonRealConverter.processReal(java.lang.Double.toString(parser.getDoubleValue()), real);
+                } else if (token == JsonToken.VALUE_NUMBER_INT && parser.getNumberType() == JsonParser.NumberType.INT) {
+                    result = real.value(parser.getIntValue(), RealHints.EXPONENT0);
+                } else if (token == JsonToken.VALUE_NUMBER_INT && parser.getNumberType() == JsonParser.NumberType.LONG) {
+                    result = real.value(parser.getLongValue(), RealHints.EXPONENT0);
+                } else {
+                    break;
+                }
+                if (result == SUCCESS)
+                    result = real.encode(payloadIter);
+                if (result != SUCCESS)
+                    error.setEncodeError(result, key);
+                return;
+            case DataTypes.INT:
+            case DataTypes.INT_1:
+            case DataTypes.INT_2:
+            case DataTypes.INT_4:
+            case DataTypes.INT_8:
+                if (token == JsonToken.VALUE_NULL)
+                    return;
+                if (token != JsonToken.VALUE_NUMBER_INT || parser.getNumberType() == JsonParser.NumberType.BIG_INTEGER)
+                    break;
+                intValue.clear();
+                if (parser.getNumberType() == JsonParser.NumberType.INT)
+                    intValue.value(parser.getIntValue());
+                else
+                    intValue.value(parser.getLongValue());
+                result = intValue.encode(payloadIter);
+                if (result != SUCCESS)
+                    error.setEncodeError(result, key);
+                return;
+            case DataTypes.UINT:
+            case DataTypes.UINT_1:
+            case DataTypes.UINT_2:
+            case DataTypes.UINT_4:
+            case DataTypes.UINT_8:
+                if (token == JsonToken.VALUE_NULL)
+                    return;
+                if (token != JsonToken.VALUE_NUMBER_INT || parser.getNumberType() == JsonParser.NumberType.BIG_INTEGER)
+                    break;
+                uintValue.clear();
+                if (parser.getNumberType() == JsonParser.NumberType.INT)
+                    uintValue.value(parser.getIntValue());
+                else
+                    uintValue.value(parser.getLongValue());
+                result = uintValue.encode(payloadIter);
+                if (result != SUCCESS)
+                    error.setEncodeError(result, key);
+                return;
+            case DataTypes.ENUM:
+                if (token == JsonToken.VALUE_NULL)
+                    return;
+                if (token != JsonToken.VALUE_NUMBER_INT || parser.getNumberType() != JsonParser.NumberType.INT)
+                    break;
+                enumValue.clear();
+                enumValue.value(parser.getIntValue());
+                result = enumValue.encode(payloadIter);
+                if (result != SUCCESS)
+                    error.setEncodeError(result, key);
+                return;
+            default:
+                break;
+        }
+
+        converter.decodeChunk(dataType, converter.getMapper().readTree(parser), key, payloadIter, error);
+    }
+
+    /* Returns false when the name was already used in the current field or element list. */
+    private boolean addEntryName(String entryName) {
+        for (int i = 0; i < entryNameCount; i++) {
+            if (entryNames[i].equals(entryName))
+                return false;
+        }
+
+        if (entryNameCount == entryNames.length) {
+            String[] names = new String[entryNames.length * 2];
+            System.arraycopy(entryNames, 0, names, 0, entryNameCount);
+            entryNames = names;
+        }
+        entryNames[entryNameCount++] = entryName;
+        return true;
+    }
+
+    private void ensurePayloadCapacity(int inputLength) {
+        if (payload.capacity() < inputLength)
+            payload = ByteBuffer.allocate(inputLength);
+    }
+}
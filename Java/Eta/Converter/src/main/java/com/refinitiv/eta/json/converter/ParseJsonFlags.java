@@ -3,4 +3,11 @@ package com.refinitiv.eta.json.converter;
 public class ParseJsonFlags {
 
     public static final int JSON_PJF_NONE = 0x0;
+
+    /**
+     * The buffer is not parsed into a JSON tree by {@link JsonConverter#parseJsonBuffer}, it is only checked
+     * for syntax errors and then read message by message when {@link JsonConverter#decodeJsonMsg} is called.
+     * Use together with {@link DecodeJsonMsgFlags#JSON_DJF_STREAMING}.
+     */
+    public static final int JSON_PJF_STREAMING = 0x1;
 }
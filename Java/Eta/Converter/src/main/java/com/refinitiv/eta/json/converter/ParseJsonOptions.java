@@ -8,13 +8,13 @@ public interface ParseJsonOptions {
 
     /**
      * Getter for converter flags
-     * @return ParseJsonOptions flags
+     * @return ParseJsonOptions flags, see {@link ParseJsonFlags}
      */
     int getConverterFlags();
 
     /**
      * Setter for converter flags
-     * @param converterFlags converter flags value to be set
+     * @param converterFlags converter flags value to be set, see {@link ParseJsonFlags}
      */
     void setConverterFlags(int converterFlags);
 
@@ -13,6 +13,7 @@ public class JsonConverterProxy implements InvocationHandler {
     private static final String DEBUG_PRINT_JSON_BUFFER = "printJsonBuffer";
     private static final String DEBUG_PRINT_RSSL_HEX_BUFFER = "printRsslHexBuffer";
     private static final String DEBUG_PRINT_RSSL_BUFFER = "printRsslBuffer";
+    private static final String STREAMING_DECODE = "streamingDecode";
     DecodeIterator decodeIter = CodecFactory.createDecodeIterator();
 
     public JsonConverterProxy(JsonConverter converter) {
@@ -34,6 +35,16 @@ public class JsonConverterProxy implements InvocationHandler {
             System.out.println("** Converted JSON buffer: " + args[0]);
         }
 
+        if (isStreamingDecode() && method.getName().equals("parseJsonBuffer")) {
+            ParseJsonOptions options = (ParseJsonOptions) args[1];
+            options.setConverterFlags(options.getConverterFlags() | ParseJsonFlags.JSON_PJF_STREAMING);
+        }
+
+        if (isStreamingDecode() && method.getName().equals("decodeJsonMsg")) {
+            DecodeJsonMsgOptions options = (DecodeJsonMsgOptions) args[1];
+            options.setConverterFlags(options.getConverterFlags() | DecodeJsonMsgFlags.JSON_DJF_STREAMING);
+        }
+
         Object result = method.invoke(converter, args);
 
         if (isPrintRsslHexBuffer() && method.getName().equals("decodeJsonMsg")) {
@@ -70,6 +81,11 @@ public class JsonConverterProxy implements InvocationHandler {
         return isPropertyEnabled(System.getProperty(DEBUG_PRINT_RSSL_BUFFER));
     }
 
+    private boolean isStreamingDecode()
+    {
+        return isPropertyEnabled(System.getProperty(STREAMING_DECODE));
+    }
+
     private boolean isPropertyEnabled(String str) {
         return str != null && !str.trim().isEmpty()
                 && (str.trim().equals("1") || str.trim().equalsIgnoreCase("true"));
@@ -0,0 +1,114 @@
+package com.refinitiv.eta.json.converter;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.refinitiv.eta.codec.*;
+import com.refinitiv.eta.transport.TransportFactory;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.util.Iterator;
+
+import static org.junit.Assert.*;
+
+public class JsonFieldListConverterTest {
+
+    private static final int[] FIELD_IDS = { 1, 22, -1, -32768, 32767 };
+
+    private JsonConverterError convError;
+    private JsonConverterBaseImpl converter;
+    private ObjectMapper mapper = new ObjectMapper();
+    private File dictionaryFile;
+
+    @Before
+    public void init() throws IOException {
+        dictionaryFile = File.createTempFile("FieldNameDictionary", null);
+        convError = ConverterFactory.createJsonConverterError();
+        converter = (JsonConverterBaseImpl) ConverterFactory.createJsonConverterBuilder()
+                .setProperty(JsonConverterProperties.JSON_CPC_PROTOCOL_VERSION, JsonProtocol.JSON_JPT_JSON2)
+                .setDictionary(loadDictionary("A"))
+                .build(convError);
+    }
+
+    @After
+    public void cleanUp() {
+        dictionaryFile.delete();
+    }
+
+    /* Loads a dictionary defining FIELD_IDS, with the given prefix on the field names. */
+    private DataDictionary loadDictionary(String prefix) throws IOException {
+        try (Writer writer = new FileWriter(dictionaryFile)) {
+            for (int fieldId : FIELD_IDS)
+                writer.write(fieldName(prefix, fieldId) + " \"FIELD " + fieldId + "\" " + fieldId + " NULL INTEGER 5 UINT64 2\n");
+        }
+
+        DataDictionary dictionary = CodecFactory.createDataDictionary();
+        com.refinitiv.eta.transport.Error error = TransportFactory.createError();
+        assertEquals(error.text(), CodecReturnCodes.SUCCESS, dictionary.loadFieldDictionary(dictionaryFile.getPath(), error));
+        return dictionary;
+    }
+
+    private static String fieldName(String prefix, int fieldId) {
+        return prefix + "_" + (fieldId < 0 ? "M" + -fieldId : String.valueOf(fieldId));
+    }
+
+    /* Converts a field list holding FIELD_IDS, with the field ID as value, and checks the field names. */
+    private void checkFieldNames(String prefix) throws IOException {
+        Buffer buffer = CodecFactory.createBuffer();
+        buffer.data(ByteBuffer.allocate(1000));
+        EncodeIterator encIter = CodecFactory.createEncodeIterator();
+        encIter.setBufferAndRWFVersion(buffer, Codec.majorVersion(), Codec.minorVersion());
+
+        FieldList fieldList = CodecFactory.createFieldList();
+        FieldEntry fieldEntry = CodecFactory.createFieldEntry();
+        UInt value = CodecFactory.createUInt();
+        fieldList.applyHasStandardData();
+        assertEquals(CodecReturnCodes.SUCCESS, fieldList.encodeInit(encIter, null, 0));
+        for (int fieldId : FIELD_IDS) {
+            fieldEntry.clear();
+            fieldEntry.fieldId(fieldId);
+            fieldEntry.dataType(DataTypes.UINT);
+            value.value(fieldId & 0xFFFF);
+            assertEquals(CodecReturnCodes.SUCCESS, fieldEntry.encode(encIter, value));
+        }
+        assertEquals(CodecReturnCodes.SUCCESS, fieldList.encodeComplete(encIter, true));
+
+        DecodeIterator decIter = CodecFactory.createDecodeIterator();
+        decIter.setBufferAndRWFVersion(buffer, Codec.majorVersion(), Codec.minorVersion());
+        JsonBuffer outBuffer = new JsonBuffer();
+        outBuffer.data = new byte[1000];
+        assertTrue(converter.getContainerHandler(DataTypes.FIELD_LIST).encodeJson(decIter, outBuffer, false, null, convError));
+
+        JsonNode root = mapper.readTree(new String(outBuffer.data, 0, outBuffer.position));
+        assertEquals(FIELD_IDS.length, root.size());
+        for (int fieldId : FIELD_IDS)
+            assertEquals(fieldId & 0xFFFF, root.path(fieldName(prefix, fieldId)).intValue());
+        for (Iterator<String> it = root.fieldNames(); it.hasNext(); )
+            assertTrue(it.next().startsWith(prefix + "_"));
+    }
+
+    @Test
+    public void fieldNamesAreCachedByFieldId() throws IOException {
+        checkFieldNames("A");
+
+        /* Names are reused from the cache. */
+        checkFieldNames("A");
+    }
+
+    @Test
+    public void fieldNamesFollowDictionaryChange() throws IOException {
+        checkFieldNames("A");
+
+        converter.setDictionary(loadDictionary("B"));
+        checkFieldNames("B");
+
+        converter.setDictionary(loadDictionary("A"));
+        checkFieldNames("A");
+    }
+}
@@ -0,0 +1,157 @@
+package com.refinitiv.eta.json.converter;
+
+import com.refinitiv.eta.codec.*;
+import com.refinitiv.eta.transport.TransportFactory;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.refinitiv.eta.codec.CodecReturnCodes.END_OF_CONTAINER;
+import static com.refinitiv.eta.codec.CodecReturnCodes.FAILURE;
+import static com.refinitiv.eta.codec.CodecReturnCodes.SUCCESS;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class JsonStreamingDecodeTest {
+
+    private static final String UPDATE_FIELDS = "{\"ID\":5,\"Type\":\"Update\",\"Domain\":\"MarketPrice\",\"UpdateType\":\"Quote\","
+            + "\"Key\":{\"Name\":\"TRI.N\",\"Service\":555},"
+            + "\"Fields\":{\"BID\":12.5,\"ASK\":13,\"ACVOL_1\":-1.25e-3,\"TRDPRC_1\":null,\"RDNDISPLAY\":100,"
+            + "\"CURRENCY\":840,\"DSPLY_NAME\":\"TRI\",\"PROD_PERM\":null,\"22\":1.5}}";
+
+    private static final String REFRESH_ELEMENTS = "{\"ID\":6,\"Type\":\"Refresh\",\"Domain\":\"MarketPrice\",\"Solicited\":false,"
+            + "\"Key\":{\"Name\":\"TRI.N\",\"Elements\":{\"Text\":{\"Type\":\"AsciiString\",\"Data\":\"attrib\"}}},"
+            + "\"State\":{\"Stream\":\"Open\",\"Data\":\"Ok\",\"Text\":\"All is well\"},"
+            + "\"Elements\":{\"int\":{\"Type\":\"Int\",\"Data\":-13},\"uint\":{\"Type\":\"UInt\",\"Data\":13},"
+            + "\"real\":{\"Type\":\"Real\",\"Data\":0.000000012345},\"text\":{\"Type\":\"AsciiString\",\"Data\":\"abc\"},"
+            + "\"blank\":{\"Type\":\"Real\",\"Data\":null},"
+            + "\"array\":{\"Type\":\"Array\",\"Data\":{\"Type\":\"Int\",\"Data\":[1,2,3]}}}}";
+
+    private static final String GENERIC_OPAQUE = "{\"ID\":7,\"Type\":\"Generic\",\"Domain\":\"MarketPrice\","
+            + "\"Opaque\":\"AwO9ZWLA\"}";
+
+    JsonConverterError convError = ConverterFactory.createJsonConverterError();
+    JsonConverter converter;
+    JsonMsg jsonMsg = ConverterFactory.createJsonMsg();
+    Buffer jsonBuffer = CodecFactory.createBuffer();
+    ParseJsonOptions parseJsonOptions = ConverterFactory.createParseJsonOptions();
+    DecodeJsonMsgOptions decodeJsonMsgOptions = ConverterFactory.createDecodeJsonMsgOptions();
+    List<Integer> resultCodes = new ArrayList<>();
+    List<String> resultErrors = new ArrayList<>();
+
+    @Before
+    public void init() {
+        DataDictionary dictionary = CodecFactory.createDataDictionary();
+        com.refinitiv.eta.transport.Error error = TransportFactory.createError();
+        dictionary.clear();
+        dictionary.loadFieldDictionary("src/test/resources/RDMFieldDictionary", error);
+        dictionary.loadEnumTypeDictionary("src/test/resources/enumtype.def", error);
+
+        converter = ConverterFactory.createJsonConverterBuilder()
+                .setProperty(JsonConverterProperties.JSON_CPC_CATCH_UNKNOWN_JSON_KEYS, false)
+                .setServiceConverter(new ServiceNameIdTestConverter())
+                .setDictionary(dictionary)
+                .build(convError);
+        parseJsonOptions.setProtocolType(JsonProtocol.JSON_JPT_JSON2);
+        decodeJsonMsgOptions.setJsonProtocolType(JsonProtocol.JSON_JPT_JSON2);
+    }
+
+    @Test
+    public void givenSingleMessages_whenDecodedWithStreaming_thenRwfIsSameAsTreeDecoding() {
+        checkSameAsTree(UPDATE_FIELDS);
+        checkSameAsTree(REFRESH_ELEMENTS);
+        checkSameAsTree(GENERIC_OPAQUE);
+    }
+
+    @Test
+    public void givenMessageArrays_whenDecodedWithStreaming_thenRwfIsSameAsTreeDecoding() {
+        List<byte[]> result = checkSameAsTree("[" + UPDATE_FIELDS + "," + REFRESH_ELEMENTS + "," + GENERIC_OPAQUE + "]");
+        assertEquals(3, result.size());
+        result = checkSameAsTree("[[" + UPDATE_FIELDS + "," + REFRESH_ELEMENTS + "],[" + GENERIC_OPAQUE + "]," + UPDATE_FIELDS + "]");
+        assertEquals(4, result.size());
+        assertEquals(0, checkSameAsTree("[]").size());
+    }
+
+    @Test
+    public void givenMessagesNeedingTreeDecoding_whenDecodedWithStreaming_thenRwfIsSameAsTreeDecoding() {
+        /* Duplicate keys, fields after the payload, bad values and unknown message types are handled by the tree. */
+        checkSameAsTree("[" + UPDATE_FIELDS + ",{\"ID\":5,\"ID\":6,\"Type\":\"Update\",\"Fields\":{\"BID\":1}}," + REFRESH_ELEMENTS + "]");
+        checkSameAsTree("{\"ID\":5,\"Type\":\"Update\",\"Fields\":{\"BID\":1,\"BID\":2}}");
+        checkSameAsTree("{\"ID\":5,\"Fields\":{\"BID\":1},\"Type\":\"Update\",\"Domain\":\"MarketPrice\"}");
+        checkSameAsTree("[{\"ID\":5,\"Type\":\"Update\",\"Fields\":{\"BID\":\"abc\"}}," + UPDATE_FIELDS + "]");
+        checkSameAsTree("[{\"ID\":\"five\",\"Type\":\"Update\",\"Fields\":{\"BID\":1}}," + GENERIC_OPAQUE + "]");
+        checkSameAsTree("[{\"Type\":\"undefined\"}," + UPDATE_FIELDS + "]");
+        checkSameAsTree("[" + UPDATE_FIELDS + ",5," + GENERIC_OPAQUE + "]");
+    }
+
+    @Test
+    public void givenInvalidJson_whenParsedWithStreaming_thenParsingFails() {
+        setJson("[" + UPDATE_FIELDS + ",{\"ID\":");
+        parseJsonOptions.setConverterFlags(ParseJsonFlags.JSON_PJF_STREAMING);
+        assertEquals(FAILURE, converter.parseJsonBuffer(jsonBuffer, parseJsonOptions, convError));
+        assertEquals(JsonConverterErrorCodes.JSON_ERROR_PARSE_ERROR, convError.getCode());
+    }
+
+    @Test
+    public void givenBufferParsedWithoutStreaming_whenDecodedWithStreamingFlag_thenTreeIsUsed() {
+        List<byte[]> expected = decodeAll(UPDATE_FIELDS, ParseJsonFlags.JSON_PJF_NONE, DecodeJsonMsgFlags.JSON_DJF_NONE);
+        List<byte[]> actual = decodeAll(UPDATE_FIELDS, ParseJsonFlags.JSON_PJF_NONE, DecodeJsonMsgFlags.JSON_DJF_STREAMING);
+        assertEquals(1, actual.size());
+        assertArrayEquals(expected.get(0), actual.get(0));
+    }
+
+    private List<byte[]> checkSameAsTree(String json) {
+        List<byte[]> expected = decodeAll(json, ParseJsonFlags.JSON_PJF_NONE, DecodeJsonMsgFlags.JSON_DJF_NONE);
+        List<Integer> expectedCodes = new ArrayList<>(resultCodes);
+        List<String> expectedErrors = new ArrayList<>(resultErrors);
+
+        List<byte[]> actual = decodeAll(json, ParseJsonFlags.JSON_PJF_STREAMING, DecodeJsonMsgFlags.JSON_DJF_STREAMING);
+        assertEquals(json, expectedCodes, resultCodes);
+        assertEquals(json, expectedErrors, resultErrors);
+        assertEquals(json, expected.size(), actual.size());
+        for (int i = 0; i < expected.size(); i++)
+            assertArrayEquals(json, expected.get(i), actual.get(i));
+
+        return actual;
+    }
+
+    private List<byte[]> decodeAll(String json, int parseFlags, int decodeFlags) {
+        List<byte[]> result = new ArrayList<>();
+        resultCodes.clear();
+        resultErrors.clear();
+
+        setJson(json);
+        parseJsonOptions.setConverterFlags(parseFlags);
+        decodeJsonMsgOptions.setConverterFlags(decodeFlags);
+        assertEquals(SUCCESS, converter.parseJsonBuffer(jsonBuffer, parseJsonOptions, convError));
+
+        int ret;
+        do {
+            convError.clear();
+            jsonMsg.clear();
+            ret = converter.decodeJsonMsg(jsonMsg, decodeJsonMsgOptions, convError);
+            resultCodes.add(ret);
+            if (ret == SUCCESS) {
+                Buffer encoded = jsonMsg.rwfMsg().encodedMsgBuffer();
+                byte[] bytes = new byte[encoded.length()];
+                for (int i = 0; i < bytes.length; i++)
+                    bytes[i] = encoded.data().get(encoded.position() + i);
+                result.add(bytes);
+            } else if (ret != END_OF_CONTAINER) {
+                assertTrue(convError.isFailed());
+                resultErrors.add(convError.getCode() + ": " + convError.getText());
+            }
+        } while (ret != END_OF_CONTAINER && resultCodes.size() < 100);
+
+        return result;
+    }
+
+    private void setJson(String json) {
+        jsonBuffer.data(ByteBuffer.wrap(json.getBytes(StandardCharsets.US_ASCII)));
+    }
+}
@@ -146,4 +146,12 @@ abstract class BufferReader
     abstract void clear();
     abstract short readRelativeUShort15rb() throws Exception;
     abstract int readRelativeUShort16ob() throws Exception;
+
+    /* Absolute reads of a length specified value at index. They do not use or
+     * change the reader position and do not throw for the index range
+     * [index, index + size), which the caller checks against the buffer limit
+     * before reading. Each value is read with at most three loads. */
+    abstract long getLong64ls(int index, int size);
+    abstract long getULong64ls(int index, int size);
+    abstract int getUInt16ls(int index, int size);
 }
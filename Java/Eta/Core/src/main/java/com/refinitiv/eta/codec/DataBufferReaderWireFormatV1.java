@@ -212,6 +212,84 @@ class DataBufferReaderWireFormatV1 extends BufferReader
         }
     }
 
+    @Override
+    long getLong64ls(int index, int size)
+    {
+        switch (size)
+        {
+            case 0:
+                return 0;
+            case 1:
+                return _buffer.get(index);
+            case 2:
+                return _buffer.getShort(index);
+            case 3:
+                return (_buffer.get(index) << 16) | (_buffer.getShort(index + 1) & 0xFFFF);
+            case 4:
+                return _buffer.getInt(index);
+            case 5:
+                return (((long)_buffer.get(index)) << 32) | (_buffer.getInt(index + 1) & 0xFFFFFFFFL);
+            case 6:
+                return (((long)_buffer.getShort(index)) << 32) | (_buffer.getInt(index + 2) & 0xFFFFFFFFL);
+            case 7:
+                return (((long)_buffer.get(index)) << 48) | (((long)(_buffer.getShort(index + 1) & 0xFFFF)) << 32)
+                        | (_buffer.getInt(index + 3) & 0xFFFFFFFFL);
+            case 8:
+                return _buffer.getLong(index);
+            default:
+                assert (false);
+                return 0;
+        }
+    }
+
+    // before calling this method make sure 0 <= size <= 8
+    @Override
+    long getULong64ls(int index, int size)
+    {
+        switch (size)
+        {
+            case 0:
+                return 0;
+            case 1:
+                return _buffer.get(index) & 0xFF;
+            case 2:
+                return _buffer.getShort(index) & 0xFFFF;
+            case 3:
+                return ((_buffer.get(index) & 0xFF) << 16) | (_buffer.getShort(index + 1) & 0xFFFF);
+            case 4:
+                return _buffer.getInt(index) & 0xFFFFFFFFL;
+            case 5:
+                return (((long)(_buffer.get(index) & 0xFF)) << 32) | (_buffer.getInt(index + 1) & 0xFFFFFFFFL);
+            case 6:
+                return (((long)(_buffer.getShort(index) & 0xFFFF)) << 32) | (_buffer.getInt(index + 2) & 0xFFFFFFFFL);
+            case 7:
+                return (((long)(_buffer.get(index) & 0xFF)) << 48) | (((long)(_buffer.getShort(index + 1) & 0xFFFF)) << 32)
+                        | (_buffer.getInt(index + 3) & 0xFFFFFFFFL);
+            case 8:
+                return _buffer.getLong(index);
+            default:
+                assert (false);
+                return 0;
+        }
+    }
+
+    @Override
+    int getUInt16ls(int index, int size)
+    {
+        switch (size)
+        {
+            case 0:
+                return 0;
+            case 1:
+                return _buffer.get(index) & 0xFF;
+            case 2:
+                return _buffer.getShort(index) & 0xFFFF;
+            default:
+                assert (false);
+                return 0;
+        }
+    }
+
     @Override
     short readRelativeUShort15rb()
     {
@@ -49,6 +49,10 @@ public interface DataDictionary
      * {@link DataDictionary} to load additional dictionaries (provided the
      * fields do not conflict).
      *
+     * The file may also be a binary dictionary written by
+     * {@link #saveBinaryDictionary(String, Error)}, in which case its field
+     * definitions are loaded.
+     *
      * @param filename the filename
      * @param error the error
      * @return the int
@@ -61,12 +65,35 @@ public interface DataDictionary
      * same {@link DataDictionary} to load additional dictionaries (provided
      * that there are no duplicate table references for any field).
      *
+     * The file may also be a binary dictionary written by
+     * {@link #saveBinaryDictionary(String, Error)}, in which case its
+     * enumerated type tables are loaded.
+     *
      * @param filename the filename
      * @param error the error
      * @return the int
      */
     public int loadEnumTypeDictionary(String filename, Error error);
 
+    /**
+     * Writes the field definitions and enumerated type tables of this
+     * dictionary, whether loaded from files or decoded from a dictionary
+     * response, to a binary dictionary file.
+     *
+     * A binary dictionary file can be given to {@link #loadFieldDictionary(String, Error)}
+     * and {@link #loadEnumTypeDictionary(String, Error)} in place of the
+     * RDMFieldDictionary and enumtype.def files. It is loaded from a memory
+     * mapping of the file without parsing text, so loading is much faster and
+     * processes on the same host share the file in the page cache.
+     *
+     * @param filename the name of the file to write
+     * @param error the error, set on failure
+     * @return {@link CodecReturnCodes#SUCCESS} on success,
+     *         {@link CodecReturnCodes#FAILURE} if the dictionary is empty or the file
+     *         cannot be written
+     */
+    public int saveBinaryDictionary(String filename, Error error);
+
     /**
      * Extract dictionary type from the encoded payload of a ETA message where
      * the domain type is DICTIONARY.
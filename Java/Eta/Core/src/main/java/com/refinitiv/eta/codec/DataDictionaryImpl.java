@@ -1,8 +1,19 @@
 package com.refinitiv.eta.codec;
 
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
 import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
 import java.io.FileReader;
+import java.io.IOException;
 import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
 import java.util.HashMap;
 import java.util.concurrent.locks.ReentrantLock;
 
@@ -264,6 +275,9 @@ class DataDictionaryImpl implements DataDictionary
             if (!_isInitialized && initDictionary(error) != CodecReturnCodes.SUCCESS)
                 return CodecReturnCodes.FAILURE;
 
+            if (isBinaryDictionary(_fieldDictFile))
+                return loadBinaryDictionary(_fieldDictFile, Dictionary.Types.FIELD_DEFINITIONS, error);
+
             _fieldDictFileLine = new char[(int)_fieldDictFile.length()];
             _fileInput = new FileReader(_fieldDictFile);
             lengthRead = _fileInput.read(_fieldDictFileLine, 0, _fieldDictFileLine.length);
@@ -496,6 +510,9 @@ class DataDictionaryImpl implements DataDictionary
             if (!_isInitialized && initDictionary(error) != CodecReturnCodes.SUCCESS)
                 return CodecReturnCodes.FAILURE;
 
+            if (isBinaryDictionary(_enumTypeDefFile))
+                return loadBinaryDictionary(_enumTypeDefFile, Dictionary.Types.ENUM_TABLES, error);
+
             _enumTypeDefFileLine = new char[(int)_enumTypeDefFile.length()];
             _fileInput = new FileReader(_enumTypeDefFile);
             lengthRead = _fileInput.read(_enumTypeDefFileLine, 0, _enumTypeDefFileLine.length);
@@ -670,6 +687,403 @@ class DataDictionaryImpl implements DataDictionary
         return CodecReturnCodes.SUCCESS;
     }
 
+    /* Binary dictionary file, written by saveBinaryDictionary() and loaded by
+     * loadFieldDictionary() and loadEnumTypeDictionary(). All values are big-endian.
+     *
+     * Header:        int magic, int version, int field section position, int enum section position (0 if absent)
+     * Field section: tags, int entry count, entries of
+     *                short fid, short rippleToField, byte fieldType, short length, byte enumLength,
+     *                byte rwfType, short rwfLength, string acronym, string ddeAcronym
+     * Enum section:  tags, int table count, tables of
+     *                short fid count, (short fid, string acronym) per fid, short maxValue,
+     *                int value count, (short value, byte binary display, string display, string meaning) per value
+     * Tags:          short tag count, (string name, string value) per tag
+     * Strings:       short length, UTF-8 bytes (raw bytes for binary displays); a length of 0xFFFF
+     *                stands for a buffer that was never set, as in decoded dictionaries */
+    private final int BINARY_DICTIONARY_MAGIC = 0x45544144; /* "ETAD" */
+    private final int BINARY_DICTIONARY_VERSION = 1;
+    private final int BINARY_DICTIONARY_HEADER_SIZE = 16;
+    private final int BINARY_DICTIONARY_MAX_STRING = 0xFFFE;
+    private final int BINARY_DICTIONARY_NO_STRING = 0xFFFF;
+    private byte[] _binaryStringBytes = new byte[256];
+
+    @Override
+    public int saveBinaryDictionary(String filename, Error error)
+    {
+        if (filename == null)
+        {
+            setError(error, "NULL Filename pointer.");
+            return CodecReturnCodes.FAILURE;
+        }
+
+        if (!_isInitialized || (_numberOfEntries == 0 && _enumTableCount == 0))
+        {
+            setError(error, "Dictionary has no field definitions or enumerated type tables to save.");
+            return CodecReturnCodes.FAILURE;
+        }
+
+        try
+        {
+            ByteArrayOutputStream fieldSection = new ByteArrayOutputStream();
+            ByteArrayOutputStream enumSection = new ByteArrayOutputStream();
+
+            if (_numberOfEntries > 0)
+                writeBinaryFieldSection(new DataOutputStream(fieldSection));
+            if (_enumTableCount > 0)
+                writeBinaryEnumSection(new DataOutputStream(enumSection));
+
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(filename))))
+            {
+                out.writeInt(BINARY_DICTIONARY_MAGIC);
+                out.writeInt(BINARY_DICTIONARY_VERSION);
+                out.writeInt(fieldSection.size() > 0 ? BINARY_DICTIONARY_HEADER_SIZE : 0);
+                out.writeInt(enumSection.size() > 0 ? BINARY_DICTIONARY_HEADER_SIZE + fieldSection.size() : 0);
+                fieldSection.writeTo(out);
+                enumSection.writeTo(out);
+            }
+        }
+        catch (Exception e)
+        {
+            setError(error, "Unable to write binary dictionary " + filename + ": " + e.getMessage());
+            return CodecReturnCodes.FAILURE;
+        }
+
+        return CodecReturnCodes.SUCCESS;
+    }
+
+    private void writeBinaryFieldSection(DataOutputStream out) throws IOException
+    {
+        int tagCount = (_infoDictionaryId != 0 ? 1 : 0) + (_infoFieldVersion.length() > 0 ? 1 : 0)
+                + (_infoFieldFilename.length() > 0 ? 1 : 0) + (_infoFieldDesc.length() > 0 ? 1 : 0)
+                + (_infoFieldBuild.length() > 0 ? 1 : 0) + (_infoFieldDate.length() > 0 ? 1 : 0);
+        out.writeShort(tagCount);
+        if (_infoDictionaryId != 0)
+            writeBinaryTag(out, ElementNames.DICTIONARY_ID.toString(), Integer.toString(_infoDictionaryId));
+        writeBinaryTag(out, ElementNames.DICT_VERSION.toString(), _infoFieldVersion);
+        writeBinaryTag(out, "Filename", _infoFieldFilename);
+        writeBinaryTag(out, "Desc", _infoFieldDesc);
+        writeBinaryTag(out, "Build", _infoFieldBuild);
+        writeBinaryTag(out, "Date", _infoFieldDate);
+
+        out.writeInt(_numberOfEntries);
+        for (int fid = _minFid; fid <= _maxFid; fid++)
+        {
+            DictionaryEntryImpl entry = _entriesArray[fid - MIN_FID];
+            if (entry == null || entry._rwfType == DataTypes.UNKNOWN)
+                continue;
+
+            out.writeShort(entry._fid);
+            out.writeShort(entry._rippleToField);
+            out.writeByte(entry._fieldType);
+            out.writeShort(entry._length);
+            out.writeByte(entry._enumLength);
+            out.writeByte(entry._rwfType);
+            out.writeShort(entry._rwfLength);
+            writeBinaryString(out, entry._acronym);
+            writeBinaryString(out, entry._ddeAcronym);
+        }
+    }
+
+    private void writeBinaryEnumSection(DataOutputStream out) throws IOException
+    {
+        int tagCount = (_infoDictionaryId != 0 ? 1 : 0) + (_infoEnumFilename.length() > 0 ? 1 : 0)
+                + (_infoEnumDesc.length() > 0 ? 1 : 0) + (_infoEnumRTVersion.length() > 0 ? 1 : 0)
+                + (_infoEnumDTVersion.length() > 0 ? 1 : 0) + (_infoEnumDate.length() > 0 ? 1 : 0);
+        out.writeShort(tagCount);
+        if (_infoDictionaryId != 0)
+            writeBinaryTag(out, ElementNames.DICTIONARY_ID.toString(), Integer.toString(_infoDictionaryId));
+        writeBinaryTag(out, "Filename", _infoEnumFilename);
+        writeBinaryTag(out, "Desc", _infoEnumDesc);
+        writeBinaryTag(out, "RT_Version", _infoEnumRTVersion);
+        writeBinaryTag(out, "DT_Version", _infoEnumDTVersion);
+        writeBinaryTag(out, "Date", _infoEnumDate);
+
+        out.writeInt(_enumTableCount);
+        for (int i = 0; i < _enumTableCount; i++)
+        {
+            EnumTypeTable table = _enumTables[i];
+
+            out.writeShort(table.fidReferenceCount());
+            for (int j = 0; j < table.fidReferenceCount(); j++)
+            {
+                int fid = table.fidReferences()[j];
+                DictionaryEntryImpl entry = _entriesArray[fid - MIN_FID];
+                out.writeShort(fid);
+                writeBinaryString(out, entry != null ? entry._acronym.toString() : "");
+            }
+
+            int valueCount = 0;
+            for (int j = 0; j <= table.maxValue(); j++)
+            {
+                if (table.enumTypes()[j] != null)
+                    valueCount++;
+            }
+
+            out.writeShort(table.maxValue());
+            out.writeInt(valueCount);
+            for (int j = 0; j <= table.maxValue(); j++)
+            {
+                EnumType enumType = table.enumTypes()[j];
+                if (enumType == null)
+                    continue;
+
+                out.writeShort(enumType.value());
+                BufferImpl display = (BufferImpl)enumType.display();
+                if (display.dataString() == null && display.data() != null)
+                {
+                    /* Display stored as binary, e.g. from a hex value in enumtype.def. */
+                    if (display.length() > BINARY_DICTIONARY_MAX_STRING)
+                        throw new IOException("Display of enum value " + enumType.value() + " is too long");
+                    out.writeByte(1);
+                    out.writeShort(display.length());
+                    for (int k = 0; k < display.length(); k++)
+                        out.writeByte(display.data().get(display.position() + k));
+                }
+                else
+                {
+                    out.writeByte(0);
+                    writeBinaryString(out, display);
+                }
+                writeBinaryString(out, enumType.meaning());
+            }
+        }
+    }
+
+    private void writeBinaryTag(DataOutputStream out, String name, Buffer value) throws IOException
+    {
+        if (value.length() > 0)
+            writeBinaryTag(out, name, value.toString());
+    }
+
+    private void writeBinaryTag(DataOutputStream out, String name, String value) throws IOException
+    {
+        writeBinaryString(out, name);
+        writeBinaryString(out, value);
+    }
+
+    private void writeBinaryString(DataOutputStream out, Buffer buffer) throws IOException
+    {
+        if (((BufferImpl)buffer).dataString() == null && buffer.data() == null)
+            out.writeShort(BINARY_DICTIONARY_NO_STRING);
+        else
+            writeBinaryString(out, buffer.toString());
+    }
+
+    private void writeBinaryString(DataOutputStream out, String str) throws IOException
+    {
+        byte[] bytes = (str != null ? str : "").getBytes(StandardCharsets.UTF_8);
+        if (bytes.length > BINARY_DICTIONARY_MAX_STRING)
+            throw new IOException("String '" + str.substring(0, 32) + "...' is too long");
+        out.writeShort(bytes.length);
+        out.write(bytes);
+    }
+
+    /* Checks whether the file starts with the magic number of a binary dictionary. */
+    private boolean isBinaryDictionary(File file)
+    {
+        if (file.length() < BINARY_DICTIONARY_HEADER_SIZE)
+            return false;
+
+        try (DataInputStream in = new DataInputStream(new FileInputStream(file)))
+        {
+            return in.readInt() == BINARY_DICTIONARY_MAGIC;
+        }
+        catch (IOException e)
+        {
+            return false;
+        }
+    }
+
+    /* Loads the field definitions or enumerated type tables of a binary dictionary.
+     * The file is mapped rather than read, and the fixed-size records are copied
+     * straight into the entries and tables without any parsing of text. */
+    private int loadBinaryDictionary(File file, int type, Error error)
+    {
+        MappedByteBuffer mapped;
+
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ))
+        {
+            mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+        catch (IOException e)
+        {
+            setError(error, "Can't open file: " + file.getPath() + " (" + e.getMessage() + ")");
+            return CodecReturnCodes.FAILURE;
+        }
+
+        try
+        {
+            if (mapped.getInt() != BINARY_DICTIONARY_MAGIC)
+            {
+                setError(error, "File " + file.getPath() + " is not a binary dictionary.");
+                return CodecReturnCodes.FAILURE;
+            }
+
+            int version = mapped.getInt();
+            if (version != BINARY_DICTIONARY_VERSION)
+            {
+                setError(error, "Unsupported binary dictionary version " + version + " in file " + file.getPath() + ".");
+                return CodecReturnCodes.FAILURE;
+            }
+
+            int fieldSectionPosition = mapped.getInt();
+            int enumSectionPosition = mapped.getInt();
+
+            int ret;
+            if (type == Dictionary.Types.FIELD_DEFINITIONS)
+            {
+                if (fieldSectionPosition == 0)
+                {
+                    setError(error, "Binary dictionary " + file.getPath() + " has no field definitions.");
+                    return CodecReturnCodes.FAILURE;
+                }
+                mapped.position(fieldSectionPosition);
+                ret = loadBinaryFieldSection(mapped, error);
+            }
+            else
+            {
+                if (enumSectionPosition == 0)
+                {
+                    setError(error, "Binary dictionary " + file.getPath() + " has no enumerated type tables.");
+                    return CodecReturnCodes.FAILURE;
+                }
+                mapped.position(enumSectionPosition);
+                ret = loadBinaryEnumSection(mapped, error);
+            }
+
+            if (ret != CodecReturnCodes.SUCCESS)
+                return ret;
+        }
+        catch (RuntimeException e)
+        {
+            setError(error, "Invalid binary dictionary " + file.getPath() + " (" + e + ").");
+            return CodecReturnCodes.FAILURE;
+        }
+
+        if ( dictionaryString != null )
+            dictionaryString.setLength(0);
+
+        return CodecReturnCodes.SUCCESS;
+    }
+
+    private int loadBinaryFieldSection(ByteBuffer in, Error error)
+    {
+        if (loadBinaryTags(in, Dictionary.Types.FIELD_DEFINITIONS, error) != CodecReturnCodes.SUCCESS)
+            return CodecReturnCodes.FAILURE;
+
+        int entryCount = in.getInt();
+        for (int i = 0; i < entryCount; i++)
+        {
+            DictionaryEntryImpl newDictEntry = new DictionaryEntryImpl();
+            newDictEntry._fid = in.getShort();
+            newDictEntry._rippleToField = in.getShort();
+            newDictEntry._fieldType = in.get();
+            newDictEntry._length = in.getShort() & 0xFFFF;
+            newDictEntry._enumLength = in.get() & 0xFF;
+            newDictEntry._rwfType = in.get() & 0xFF;
+            newDictEntry._rwfLength = in.getShort() & 0xFFFF;
+            readBinaryString(in, newDictEntry._acronym);
+            readBinaryString(in, newDictEntry._ddeAcronym);
+
+            if (addFieldToDictionary(newDictEntry, error, 0) != CodecReturnCodes.SUCCESS)
+                return CodecReturnCodes.FAILURE;
+        }
+
+        if (_infoFieldVersion.length() == 0) /* Set default if tag not found */
+        {
+            ((BufferImpl)_infoFieldVersion).data_internal(c_defaultVersion);
+        }
+
+        return CodecReturnCodes.SUCCESS;
+    }
+
+    private int loadBinaryEnumSection(ByteBuffer in, Error error)
+    {
+        if (loadBinaryTags(in, Dictionary.Types.ENUM_TABLES, error) != CodecReturnCodes.SUCCESS)
+            return CodecReturnCodes.FAILURE;
+
+        int tableCount = in.getInt();
+        for (int i = 0; i < tableCount; i++)
+        {
+            int fidsCount = in.getShort() & 0xFFFF;
+            if (fidsCount > MAX_ENUM_TYPE_COUNT)
+            {
+                setError(error, "Too many referencing FIDs (" + fidsCount + ") for enum table.");
+                return CodecReturnCodes.FAILURE;
+            }
+
+            for (int j = 0; j < fidsCount; j++)
+            {
+                _referenceFidArray[j] = in.getShort();
+                _referenceFidAcronymArray[j].clear();
+                readBinaryString(in, _referenceFidAcronymArray[j]);
+            }
+
+            int maxValue = in.getShort() & 0xFFFF;
+            int valueCount = in.getInt();
+            EnumTypeImpl[] enumTypeArray = new EnumTypeImpl[valueCount];
+            for (int j = 0; j < valueCount; j++)
+            {
+                EnumTypeImpl enumType = new EnumTypeImpl();
+                enumType._value = in.getShort() & 0xFFFF;
+                if (in.get() != 0)
+                {
+                    byte[] display = new byte[in.getShort() & 0xFFFF];
+                    in.get(display);
+                    ((BufferImpl)enumType._display).data_internal(ByteBuffer.wrap(display));
+                }
+                else
+                {
+                    readBinaryString(in, enumType._display);
+                }
+                readBinaryString(in, enumType._meaning);
+                enumTypeArray[j] = enumType;
+            }
+
+            if (addTableToDictionary(fidsCount, _referenceFidArray, _referenceFidAcronymArray, maxValue, enumTypeArray,
+                    valueCount - 1, error, -1) != CodecReturnCodes.SUCCESS)
+                return CodecReturnCodes.FAILURE;
+        }
+
+        return CodecReturnCodes.SUCCESS;
+    }
+
+    private int loadBinaryTags(ByteBuffer in, int type, Error error)
+    {
+        int tagCount = in.getShort() & 0xFFFF;
+        for (int i = 0; i < tagCount; i++)
+        {
+            String name = readBinaryString(in);
+            String value = readBinaryString(in);
+            if (copyDictionaryTag(name, value, type, error) != CodecReturnCodes.SUCCESS)
+                return CodecReturnCodes.FAILURE;
+        }
+
+        return CodecReturnCodes.SUCCESS;
+    }
+
+    /* Sets the buffer to the string, leaving it unset if the string was written for an unset buffer. */
+    private void readBinaryString(ByteBuffer in, Buffer buffer)
+    {
+        String str = readBinaryString(in);
+        if (str != null)
+            ((BufferImpl)buffer).data_internal(str);
+    }
+
+    private String readBinaryString(ByteBuffer in)
+    {
+        int length = in.getShort() & 0xFFFF;
+        if (length == BINARY_DICTIONARY_NO_STRING)
+            return null;
+        if (length == 0)
+            return "";
+
+        if (length > _binaryStringBytes.length)
+            _binaryStringBytes = new byte[length];
+        in.get(_binaryStringBytes, 0, length);
+        return new String(_binaryStringBytes, 0, length, StandardCharsets.UTF_8);
+    }
+
     private void setError(Error error, String errorStr)
     {
         if (error != null)
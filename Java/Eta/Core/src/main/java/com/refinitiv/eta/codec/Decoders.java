@@ -46,6 +46,8 @@ import com.refinitiv.eta.codec.Vector;
 import com.refinitiv.eta.codec.VectorEntry;
 import com.refinitiv.eta.codec.VectorEntryActions;
 
+import java.nio.ByteBuffer;
+
 class Decoders
 {
     private static int real32LenHints[] = { 2, 3, 4, 5 };
@@ -1181,22 +1183,15 @@ class Decoders
         DecodeIteratorImpl iter = (DecodeIteratorImpl)iterInt;
         int ret = CodecReturnCodes.SUCCESS;
 
-        if ((iter._levelInfo[iter._decodingLevel + 1]._endBufPos - iter._curBufPos) > 0)
+        int endBufPos = iter._levelInfo[iter._decodingLevel + 1]._endBufPos;
+
+        if ((endBufPos - iter._curBufPos) > 0)
         {
-            int savePosition = iter._reader.position();
-            try
-            {
-                iter._reader.position(iter._curBufPos);
-                int size = iter._levelInfo[iter._decodingLevel + 1]._endBufPos - iter._curBufPos;
-                value.value(iter._reader.readULong64ls(size));
-                iter._reader.position(savePosition);
-            }
-            catch (Exception e)
-            {
+            if (endBufPos > iter._reader.buffer().limit())
                 return CodecReturnCodes.INVALID_ARGUMENT;
-            }
+            value.value(iter._reader.getULong64ls(iter._curBufPos, endBufPos - iter._curBufPos));
         }
-        else if ((iter._levelInfo[iter._decodingLevel + 1]._endBufPos - iter._curBufPos) == 0)
+        else if ((endBufPos - iter._curBufPos) == 0)
         {
             ((UIntImpl)value).blank();
             ret = CodecReturnCodes.BLANK_DATA;
@@ -1213,22 +1208,15 @@ class Decoders
         DecodeIteratorImpl iter = (DecodeIteratorImpl)iterInt;
         int ret = CodecReturnCodes.SUCCESS;
 
-        if ((iter._levelInfo[iter._decodingLevel + 1]._endBufPos - iter._curBufPos) > 0)
+        int endBufPos = iter._levelInfo[iter._decodingLevel + 1]._endBufPos;
+
+        if ((endBufPos - iter._curBufPos) > 0)
         {
-            int savePosition = iter._reader.position();
-            try
-            {
-                iter._reader.position(iter._curBufPos);
-                int size = iter._levelInfo[iter._decodingLevel + 1]._endBufPos - iter._curBufPos;
-                value.value(iter._reader.readLong64ls(size));
-                iter._reader.position(savePosition);
-            }
-            catch (Exception e1)
-            {
+            if (endBufPos > iter._reader.buffer().limit())
                 return CodecReturnCodes.INVALID_ARGUMENT;
-            }
+            value.value(iter._reader.getLong64ls(iter._curBufPos, endBufPos - iter._curBufPos));
         }
-        else if ((iter._levelInfo[iter._decodingLevel + 1]._endBufPos - iter._curBufPos) == 0)
+        else if ((endBufPos - iter._curBufPos) == 0)
         {
             ((IntImpl)value).blank();
             ret = CodecReturnCodes.BLANK_DATA;
@@ -1245,22 +1233,15 @@ class Decoders
         DecodeIteratorImpl iter = (DecodeIteratorImpl)iterInt;
         int ret = CodecReturnCodes.SUCCESS;
 
-        if ((iter._levelInfo[iter._decodingLevel + 1]._endBufPos - iter._curBufPos) > 0)
+        int endBufPos = iter._levelInfo[iter._decodingLevel + 1]._endBufPos;
+
+        if ((endBufPos - iter._curBufPos) > 0)
         {
-            int savePosition = iter._reader.position();
-            try
-            {
-                iter._reader.position(iter._curBufPos);
-                int size = iter._levelInfo[iter._decodingLevel + 1]._endBufPos - iter._curBufPos;
-                value.value(iter._reader.readUInt16ls(size));
-                iter._reader.position(savePosition);
-            }
-            catch (Exception e1)
-            {
+            if (endBufPos > iter._reader.buffer().limit())
                 return CodecReturnCodes.INVALID_ARGUMENT;
-            }
+            value.value(iter._reader.getUInt16ls(iter._curBufPos, endBufPos - iter._curBufPos));
         }
-        else if ((iter._levelInfo[iter._decodingLevel + 1]._endBufPos - iter._curBufPos) == 0)
+        else if ((endBufPos - iter._curBufPos) == 0)
         {
             ((EnumImpl)value).blank();
             ret = CodecReturnCodes.BLANK_DATA;
@@ -1278,27 +1259,22 @@ class Decoders
         DecodeIteratorImpl iter = (DecodeIteratorImpl)iterInt;
         int ret = CodecReturnCodes.SUCCESS;
 
-        if ((iter._levelInfo[iter._decodingLevel + 1]._endBufPos - iter._curBufPos) == 4)
+        int endBufPos = iter._levelInfo[iter._decodingLevel + 1]._endBufPos;
+
+        if ((endBufPos - iter._curBufPos) == 4)
         {
-            int savePosition = iter._reader.position();
-            try
-            {
-                iter._reader.position(iter._curBufPos);
-                value.day(iter._reader.readUnsignedByte());
-                value.month(iter._reader.readUnsignedByte());
-                value.year(iter._reader.readUnsignedShort());
-                iter._reader.position(savePosition);
-                if (value.isBlank())
-                {
-                    ret = CodecReturnCodes.BLANK_DATA;
-                }
-            }
-            catch (Exception e)
-            {
+            if (endBufPos > iter._reader.buffer().limit())
                 return CodecReturnCodes.INCOMPLETE_DATA;
+            ByteBuffer buffer = iter._reader.buffer();
+            value.day(buffer.get(iter._curBufPos) & 0xFF);
+            value.month(buffer.get(iter._curBufPos + 1) & 0xFF);
+            value.year(buffer.getShort(iter._curBufPos + 2) & 0xFFFF);
+            if (value.isBlank())
+            {
+                ret = CodecReturnCodes.BLANK_DATA;
             }
         }
-        else if ((iter._levelInfo[iter._decodingLevel + 1]._endBufPos - iter._curBufPos) == 0)
+        else if ((endBufPos - iter._curBufPos) == 0)
         {
             value.blank();
             ret = CodecReturnCodes.BLANK_DATA;
@@ -1685,64 +1661,49 @@ class Decoders
         RealImpl value = (RealImpl)valueInt;
         int ret = CodecReturnCodes.SUCCESS;
 
-        if ((iter._levelInfo[iter._decodingLevel + 1]._endBufPos - iter._curBufPos) > 1)
+        int endBufPos = iter._levelInfo[iter._decodingLevel + 1]._endBufPos;
+
+        if ((endBufPos - iter._curBufPos) > 1)
         {
-            int savePosition = iter._reader.position();
-            try
-            {
-                iter._reader.position(iter._curBufPos);
-                int hint = iter._reader.readByte();
-                switch (hint & 0x3F)
-                {
-                    case RealImpl.BLANK_REAL:
-                        value.blank();
-                        ret = CodecReturnCodes.BLANK_DATA;
-                        break;
-                    case RealHints.INFINITY:
-                    case RealHints.NEG_INFINITY:
-                    case RealHints.NOT_A_NUMBER:
-                        value.value(0, (hint & 0x3F));
-                        ret = CodecReturnCodes.SUCCESS;
-                        break;
-                    default:
-                        int length = iter._levelInfo[iter._decodingLevel + 1]._endBufPos - iter._curBufPos - 1;
-                        value.value(iter._reader.readLong64ls(length), ((byte)(hint & 0x1F)));
-                }
-                iter._reader.position(savePosition);
-            }
-            catch (Exception e1)
-            {
+            if (endBufPos > iter._reader.buffer().limit())
                 return CodecReturnCodes.INVALID_ARGUMENT;
+            int hint = iter._reader.buffer().get(iter._curBufPos);
+            switch (hint & 0x3F)
+            {
+                case RealImpl.BLANK_REAL:
+                    value.blank();
+                    ret = CodecReturnCodes.BLANK_DATA;
+                    break;
+                case RealHints.INFINITY:
+                case RealHints.NEG_INFINITY:
+                case RealHints.NOT_A_NUMBER:
+                    value.value(0, (hint & 0x3F));
+                    ret = CodecReturnCodes.SUCCESS;
+                    break;
+                default:
+                    int length = endBufPos - iter._curBufPos - 1;
+                    value.value(iter._reader.getLong64ls(iter._curBufPos + 1, length), ((byte)(hint & 0x1F)));
             }
         }
-        else if ((iter._levelInfo[iter._decodingLevel + 1]._endBufPos - iter._curBufPos) == 1)
+        else if ((endBufPos - iter._curBufPos) == 1)
         {
-            int savePosition = iter._reader.position();
-            try
-            {
-                iter._reader.position(iter._curBufPos);
-                int hint = iter._reader.readByte();
-                switch (hint & 0x3F)
-                {
-                    case RealHints.INFINITY:
-                    case RealHints.NEG_INFINITY:
-                    case RealHints.NOT_A_NUMBER:
-                        value.value(0, (hint & 0x3F));
-                        ret = CodecReturnCodes.SUCCESS;
-                        break;
-                    default:
-                        value.blank();
-                        ret = CodecReturnCodes.BLANK_DATA;
-                }
-                iter._reader.position(savePosition);
-            }
-            catch (Exception e1)
-            {
+            if (endBufPos > iter._reader.buffer().limit())
                 return CodecReturnCodes.INVALID_ARGUMENT;
+            int hint = iter._reader.buffer().get(iter._curBufPos);
+            switch (hint & 0x3F)
+            {
+                case RealHints.INFINITY:
+                case RealHints.NEG_INFINITY:
+                case RealHints.NOT_A_NUMBER:
+                    value.value(0, (hint & 0x3F));
+                    ret = CodecReturnCodes.SUCCESS;
+                    break;
+                default:
+                    value.blank();
+                    ret = CodecReturnCodes.BLANK_DATA;
             }
-
         }
-        else if ((iter._levelInfo[iter._decodingLevel + 1]._endBufPos - iter._curBufPos) == 0)
+        else if ((endBufPos - iter._curBufPos) == 0)
         {
             value.blank();
             ret = CodecReturnCodes.BLANK_DATA;
@@ -2557,14 +2518,15 @@ class Decoders
         /* Make sure we skip to the next entry if we didn't decode the previous entry payload */
         position = iter._curBufPos = _levelInfo._nextEntryPos;
         if (position < iter._reader.buffer().limit()) // Make sure we are reading only if we can read something at all
-            try
+        {
+            if (_levelInfo._nextSetPosition < _levelInfo._setCount)
             {
-                iter._reader.position(position);
-
-                if (_levelInfo._nextSetPosition < _levelInfo._setCount)
+                try
                 {
                     FieldSetDefEntryImpl encoding = null;
 
+                    iter._reader.position(position);
+
                     assert null != _levelInfo._fieldListSetDef : "Invalid parameters or parameters passed in as NULL";
                     assert _levelInfo._fieldListSetDef.count() == _levelInfo._setCount : "Invalid data";
 
@@ -2591,21 +2553,38 @@ class Decoders
 
                     return CodecReturnCodes.SUCCESS;
                 }
-
-                /* Get normal field list data */
-                if (((BufferImpl)fieldList._encodedEntries).position() + fieldList._encodedEntries.length() - position < 3)
+                catch (Exception e)
+                {
                     return CodecReturnCodes.INCOMPLETE_DATA;
+                }
+            }
 
-                field._fieldId = iter._reader.readShort();
-                field._dataType = DataTypes.UNKNOWN;
+            /* Get normal field list data. The entry header and data are checked against the
+             * end of the entries once, so they are read with absolute loads that do not throw. */
+            ByteBuffer buffer = iter._reader.buffer();
+            int endPos = Math.min(((BufferImpl)fieldList._encodedEntries).position() + fieldList._encodedEntries.length(), buffer.limit());
+            if (endPos - position < 3)
+                return CodecReturnCodes.INCOMPLETE_DATA;
 
-                /* parse Field */
-                decodeBuffer16(iter, field._encodedData);
-            }
-            catch (Exception e)
+            field._fieldId = buffer.getShort(position);
+            field._dataType = DataTypes.UNKNOWN;
+
+            /* parse Field */
+            int length = buffer.get(position + 2) & 0xFF;
+            position += 3;
+            if (length == 0xFE)
             {
-                return CodecReturnCodes.INCOMPLETE_DATA;
+                if (endPos - position < 2)
+                    return CodecReturnCodes.INCOMPLETE_DATA;
+                length = buffer.getShort(position) & 0xFFFF;
+                position += 2;
             }
+            if (endPos - position < length)
+                return CodecReturnCodes.INCOMPLETE_DATA;
+
+            ((BufferImpl)field._encodedData).data_internal(buffer, position, length);
+            iter._reader._position = position + length;
+        }
         position = iter._reader.position();
         if (position > _levelInfo._endBufPos)
             return CodecReturnCodes.INCOMPLETE_DATA;
@@ -3499,21 +3478,15 @@ class Decoders
         DecodeIteratorImpl iter = (DecodeIteratorImpl)iterInt;
         int ret = CodecReturnCodes.SUCCESS;
 
-        if ((iter._levelInfo[iter._decodingLevel + 1]._endBufPos - iter._curBufPos) == 4)
+        int endBufPos = iter._levelInfo[iter._decodingLevel + 1]._endBufPos;
+
+        if ((endBufPos - iter._curBufPos) == 4)
         {
-            int savePosition = iter._reader.position();
-            try
-            {
-                iter._reader.position(iter._curBufPos);
-                value.value(iter._reader.readFloat());
-                iter._reader.position(savePosition);
-            }
-            catch (Exception e)
-            {
+            if (endBufPos > iter._reader.buffer().limit())
                 return CodecReturnCodes.INVALID_ARGUMENT;
-            }
+            value.value(java.lang.Float.intBitsToFloat(iter._reader.buffer().getInt(iter._curBufPos)));
         }
-        else if ((iter._levelInfo[iter._decodingLevel + 1]._endBufPos - iter._curBufPos) == 0)
+        else if ((endBufPos - iter._curBufPos) == 0)
         {
             ((FloatImpl)value).blank();
             ret = CodecReturnCodes.BLANK_DATA;
@@ -3530,21 +3503,15 @@ class Decoders
         DecodeIteratorImpl iter = (DecodeIteratorImpl)iterInt;
         int ret = CodecReturnCodes.SUCCESS;
 
-        if ((iter._levelInfo[iter._decodingLevel + 1]._endBufPos - iter._curBufPos) == 8)
+        int endBufPos = iter._levelInfo[iter._decodingLevel + 1]._endBufPos;
+
+        if ((endBufPos - iter._curBufPos) == 8)
         {
-            int savePosition = iter._reader.position();
-            try
-            {
-                iter._reader.position(iter._curBufPos);
-                value.value(iter._reader.readDouble());
-                iter._reader.position(savePosition);
-            }
-            catch (Exception e)
-            {
+            if (endBufPos > iter._reader.buffer().limit())
                 return CodecReturnCodes.INVALID_ARGUMENT;
-            }
+            value.value(java.lang.Double.longBitsToDouble(iter._reader.buffer().getLong(iter._curBufPos)));
         }
-        else if ((iter._levelInfo[iter._decodingLevel + 1]._endBufPos - iter._curBufPos) == 0)
+        else if ((endBufPos - iter._curBufPos) == 0)
         {
             ((DoubleImpl)value).blank();
             ret = CodecReturnCodes.BLANK_DATA;
@@ -162,4 +162,65 @@ public interface ChannelInfo
      * @return the multicastStats
      */
     public MCastStats multicastStats();
+    
+    /**
+     * The number of socket write calls made to flush the output queues of
+     * the channel. Divided by {@link #buffersWritten()}, this gives the socket
+     * writes per message; see {@link IoctlCodes#WRITE_COALESCING_BYTES}.
+     * 
+     * @return the socketWriteCount
+     */
+    public long socketWriteCount();
+    
+    /**
+     * The number of bytes sent by the socket write calls counted in
+     * {@link #socketWriteCount()}. Divided by that count, this gives the bytes
+     * per socket write.
+     * 
+     * @return the socketBytesWritten
+     */
+    public long socketBytesWritten();
+    
+    /**
+     * The number of buffers queued for writing on the channel, including each
+     * fragment of a fragmented message.
+     * 
+     * @return the buffersWritten
+     */
+    public long buffersWritten();
+    
+    /**
+     * The bytes of released read buffers held for reuse by the pool the channel
+     * reads into. Read buffers include the buffers fragmented messages are
+     * reassembled in. Channels accepted by a {@link Server} share the pool of
+     * the server; see {@link IoctlCodes#READ_BUFFER_POOL_MAX_BYTES}.
+     * 
+     * @return the readBufferPoolBytes
+     */
+    public long readBufferPoolBytes();
+    
+    /**
+     * The number of read buffers created by the pool the channel reads into.
+     * Once the pool holds buffers for the largest messages received, this no
+     * longer increases.
+     * 
+     * @return the readBufferSlabsCreated
+     */
+    public long readBufferSlabsCreated();
+    
+    /**
+     * The number of read buffers reused from the pool the channel reads into.
+     * 
+     * @return the readBufferSlabsReused
+     */
+    public long readBufferSlabsReused();
+    
+    /**
+     * The number of read buffers released when the pool the channel reads
+     * into already held {@link IoctlCodes#READ_BUFFER_POOL_MAX_BYTES}, and
+     * left to the garbage collector.
+     * 
+     * @return the readBufferSlabsDropped
+     */
+    public long readBufferSlabsDropped();
 }
@@ -19,6 +19,13 @@ class ChannelInfoImpl implements ChannelInfo
     String _clientIP;
     String _clientHostname;
     MCastStats _multicastStats = new MCastStatsImpl();
+    long _socketWriteCount;
+    long _socketBytesWritten;
+    long _buffersWritten;
+    long _readBufferPoolBytes;
+    long _readBufferSlabsCreated;
+    long _readBufferSlabsReused;
+    long _readBufferSlabsDropped;
 	
     /* Hold list of received Component Info during RIPC handshake */
     List<ComponentInfo> _receivedComponentInfoList;
@@ -66,6 +73,13 @@ class ChannelInfoImpl implements ChannelInfo
                "\tclientIP: " + _clientIP + "\n" + 
                "\tclientHostname: " + _clientHostname + "\n" +
                "\tmulticastStats: " + _multicastStats.toString() + "\n" + 
+               "\tsocketWriteCount: " + _socketWriteCount + "\n" + 
+               "\tsocketBytesWritten: " + _socketBytesWritten + "\n" + 
+               "\tbuffersWritten: " + _buffersWritten + "\n" + 
+               "\treadBufferPoolBytes: " + _readBufferPoolBytes + "\n" + 
+               "\treadBufferSlabsCreated: " + _readBufferSlabsCreated + "\n" + 
+               "\treadBufferSlabsReused: " + _readBufferSlabsReused + "\n" + 
+               "\treadBufferSlabsDropped: " + _readBufferSlabsDropped + "\n" + 
                "\tComponentInfo: " + sb.toString();
     }
 
@@ -216,6 +230,13 @@ class ChannelInfoImpl implements ChannelInfo
         _compressionThreshold = 0;
         _clientIP = null;
         _clientHostname = null;
+        _socketWriteCount = 0;
+        _socketBytesWritten = 0;
+        _buffersWritten = 0;
+        _readBufferPoolBytes = 0;
+        _readBufferSlabsCreated = 0;
+        _readBufferSlabsReused = 0;
+        _readBufferSlabsDropped = 0;
     }
 
     @Override
@@ -246,6 +267,83 @@ class ChannelInfoImpl implements ChannelInfo
         _clientHostname = clientHostname;
     }
 
+    @Override
+    public long socketWriteCount()
+    {
+        return _socketWriteCount;
+    }
+
+    public void socketWriteCount(long socketWriteCount)
+    {
+        _socketWriteCount = socketWriteCount;
+    }
+
+    @Override
+    public long socketBytesWritten()
+    {
+        return _socketBytesWritten;
+    }
+
+    public void socketBytesWritten(long socketBytesWritten)
+    {
+        _socketBytesWritten = socketBytesWritten;
+    }
+
+    @Override
+    public long buffersWritten()
+    {
+        return _buffersWritten;
+    }
+
+    public void buffersWritten(long buffersWritten)
+    {
+        _buffersWritten = buffersWritten;
+    }
+
+    @Override
+    public long readBufferPoolBytes()
+    {
+        return _readBufferPoolBytes;
+    }
+
+    public void readBufferPoolBytes(long readBufferPoolBytes)
+    {
+        _readBufferPoolBytes = readBufferPoolBytes;
+    }
+
+    @Override
+    public long readBufferSlabsCreated()
+    {
+        return _readBufferSlabsCreated;
+    }
+
+    public void readBufferSlabsCreated(long readBufferSlabsCreated)
+    {
+        _readBufferSlabsCreated = readBufferSlabsCreated;
+    }
+
+    @Override
+    public long readBufferSlabsReused()
+    {
+        return _readBufferSlabsReused;
+    }
+
+    public void readBufferSlabsReused(long readBufferSlabsReused)
+    {
+        _readBufferSlabsReused = readBufferSlabsReused;
+    }
+
+    @Override
+    public long readBufferSlabsDropped()
+    {
+        return _readBufferSlabsDropped;
+    }
+
+    public void readBufferSlabsDropped(long readBufferSlabsDropped)
+    {
+        _readBufferSlabsDropped = readBufferSlabsDropped;
+    }
+
     @Override
     public MCastStats multicastStats()
     {
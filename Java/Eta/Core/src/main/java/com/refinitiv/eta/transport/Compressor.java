@@ -86,5 +86,30 @@ abstract class Compressor
     
     /* Specifies this option to enable no context take over */
     void compressnocontexttakeover() {}
+
+    /* Copies len bytes of src starting at srcPos into dst at dstPos with a single bulk get.
+     * The position and limit of src are left unchanged.
+     */
+    static void copyToArray(ByteBuffer src, int srcPos, byte[] dst, int dstPos, int len)
+    {
+        int position = src.position();
+        int limit = src.limit();
+
+        src.limit(srcPos + len);
+        src.position(srcPos);
+        src.get(dst, dstPos, len);
+
+        src.limit(limit);
+        src.position(position);
+    }
+
+    /* Returns an array of at least the specified size, reusing array if it is large enough. */
+    static byte[] ensureCapacity(byte[] array, int size)
+    {
+        if (array == null || array.length < size)
+            return new byte[size];
+
+        return array;
+    }
 }
 
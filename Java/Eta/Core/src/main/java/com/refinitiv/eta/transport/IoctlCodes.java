@@ -108,6 +108,36 @@ public class IoctlCodes
      */
     public static final int SERVER_PEAK_BUF_RESET = 10;
     
+    /**
+     * Allows a {@link Channel} to coalesce its queued buffers into large
+     * contiguous buffers, so that each socket write sends many small messages.
+     * When set, the write method flushes once this number of bytes are queued
+     * or the oldest queued byte waited for {@link #WRITE_COALESCING_LATENCY},
+     * whichever comes first, instead of flushing on the {@link #HIGH_WATER_MARK}.
+     * The application must still call flush when write returns bytes queued.
+     * Value is an int, e.g. 65536. Default is 0, which disables write coalescing.
+     */
+    public static final int WRITE_COALESCING_BYTES = 14;
+    
+    /**
+     * Allows a {@link Channel} to change the time (in microseconds) queued bytes
+     * may wait before the write method flushes them, when write coalescing is
+     * enabled by {@link #WRITE_COALESCING_BYTES}. 0 flushes on the coalescing
+     * bytes only. Value is an int. Default is 50.
+     */
+    public static final int WRITE_COALESCING_LATENCY = 15;
+    
+    /**
+     * Allows a {@link Channel} or {@link Server} to change the number of bytes
+     * of released read buffers kept for reuse. Read buffers, including the
+     * buffers fragmented messages are reassembled in, are pooled in power-of-two
+     * sizes; those released beyond this number of bytes are left to the garbage
+     * collector. Channels accepted by a {@link Server} share the pool of the
+     * server, so setting it on such a channel sets it for the server.
+     * Value is an int. Default is 67108864 (64MB).
+     */
+    public static final int READ_BUFFER_POOL_MAX_BYTES = 16;
+    
     /*
      * This is for internal client use only. Not exposed on public interface and javadoc.
      */
@@ -40,45 +40,7 @@ class Lz4Compressor extends Compressor
     @Override
     int compress(TransportBufferImpl bufferToCompress, int dataStartPos, int lenToCompress)
     {
-        // The _compressedBytes buffer is sized to hold the maximum size of
-        // compressed data for this compressor, based on the given maximum
-        // number of bytes to compress, as defined in the call to maxCompressionLength().
-        if (_compressedBytes == null)
-            _compressedBytes = new byte[getMaxCompressedLength(_maxCompressionInLen)];
-
-        byte[] bytesToCompress;
-        if (!bufferToCompress.data().hasArray())
-        {
-            // Size of _bytesToCompress is based on the maximum size
-            // of data to compress as set by call to maxCompressionLength().
-            if (_bytesToCompress == null)
-                _bytesToCompress = new byte[_maxCompressionInLen];
-
-            bytesToCompress = _bytesToCompress;
-
-            for (int i = 0; i < lenToCompress; i++)
-            {
-                bytesToCompress[i] = bufferToCompress.data().get(dataStartPos + i);
-            }
-            // reset dataStartPos since copied to bytesToCompress at position 0
-            dataStartPos = 0;
-        }
-        else
-        {
-            bytesToCompress = bufferToCompress.data().array();
-        }
-        
-        try
-        {
-        	_compressedBytesLen = _lz4Compressor.compress(bytesToCompress, dataStartPos, lenToCompress,
-                                                      _compressedBytes, 0, _compressedBytes.length);
-        } catch(LZ4Exception e)
-        {
-        	throw new CompressorException("LZ4 compress(TransportBufImpl, int, int) exception: " + e.getMessage());
-        }
-
-        //System.out.println("[LZ4 Cv2] in=" + lenToCompress + " compressed=" + _compressedBytesLen);
-        return _compressedBytesLen;
+        return compress(bufferToCompress.data(), dataStartPos, lenToCompress);
     }
 
     /* Wraps the lz4 library compress method.
@@ -95,29 +57,25 @@ class Lz4Compressor extends Compressor
         // The _compressedBytes buffer is sized to hold the maximum size of
         // compressed data for this compressor, based on the given maximum
         // number of bytes to compress, as defined in the call to maxCompressionLength().
-        if (_compressedBytes == null)
-            _compressedBytes = new byte[getMaxCompressedLength(_maxCompressionInLen)];
+        _compressedBytes = ensureCapacity(_compressedBytes, getMaxCompressedLength(Math.max(_maxCompressionInLen, lenToCompress)));
 
         byte[] bytesToCompress;
         if (!bufferToCompress.hasArray())
         {
             // Size of _bytesToCompress is based on the maximum size
             // of data to compress as set by call to maxCompressionLength().
-            if (_bytesToCompress == null)
-                _bytesToCompress = new byte[_maxCompressionInLen];
+            _bytesToCompress = ensureCapacity(_bytesToCompress, Math.max(_maxCompressionInLen, lenToCompress));
 
             bytesToCompress = _bytesToCompress;
 
-            for (int i = 0; i < lenToCompress; i++)
-            {
-                bytesToCompress[i] = bufferToCompress.get(dataStartPos + i);
-            }
+            copyToArray(bufferToCompress, dataStartPos, bytesToCompress, 0, lenToCompress);
             // reset dataStartPos since copied to bytesToCompress at position 0
             dataStartPos = 0;
         }
         else
         {
             bytesToCompress = bufferToCompress.array();
+            dataStartPos += bufferToCompress.arrayOffset();
         }
         
         try
@@ -148,93 +106,66 @@ class Lz4Compressor extends Compressor
     @Override
     int decompress(TransportBufferImpl bufferToDecompress, TransportBufferImpl decompressedBuffer, int lenToDecompress)
     {
-    	
-        //System.out.println("[LZ4-decompress-TransportBufferImpl] Start decompressing " + lenToDecompress);
-        int uncompressedBytesLen = 0;
-        byte[] bytesToDecompress;
-
-        if (_decompressedBytes == null)
-            _decompressedBytes = new byte[_maxCompressionInLen];
-
-        if (!bufferToDecompress.data().hasArray())
-        {
-            if (_bytesToDecompress == null)
-                _bytesToDecompress = new byte[getMaxCompressedLength(_maxCompressionInLen)];
-
-            bytesToDecompress = _bytesToDecompress;
-
-            int contentStartPos = bufferToDecompress.dataStartPosition();
-            for (int i = 0; i < lenToDecompress; i++)
-            {
-                bytesToDecompress[i] = bufferToDecompress.data().get(contentStartPos + i);
-            }
-        }
-        else
-        {
-            bytesToDecompress = bufferToDecompress.data().array();
-        }
-        
-        try
-        {
-        	uncompressedBytesLen = _lz4Decompressor.decompress(bytesToDecompress, 0, // src offset
-                                                           lenToDecompress, _decompressedBytes, 0); // dst offset
-        } catch(LZ4Exception e)
-        {
-        	throw new CompressorException("LZ4 decompress(TransportBufImpl, TransportBufImpl, int) exception: " + e.getMessage());
-        }
-
-        decompressedBuffer.data().clear();
-        decompressedBuffer.data().put(_decompressedBytes, 0, uncompressedBytesLen);
-        decompressedBuffer.data().limit(decompressedBuffer.data().position());
-        decompressedBuffer.data().position(0);
-
-        // System.out.println("[LZ4] in=" + lenToDecompress + " decompressed=" + uncompressedBytesLen);
-        return uncompressedBytesLen;
+        return decompress(bufferToDecompress.data(), bufferToDecompress.dataStartPosition(), decompressedBuffer.data(), lenToDecompress);
     }
 
     @Override
     int decompress(ByteBufferPair bufferToDecompress, ByteBufferPair decompressedBuffer, int dataStartPos, int lenToDecompress)
     {
-    	//System.out.println("[LZ4-decompress-ByteBufferPair] Start decompressing " + lenToDecompress);
+        return decompress(bufferToDecompress.buffer(), dataStartPos, decompressedBuffer.buffer(), lenToDecompress);
+    }
+
+    /* Decompresses lenToDecompress bytes of src starting at dataStartPos into dst,
+     * which is left with position 0 and limit set to the decompressed length.
+     */
+    private int decompress(ByteBuffer src, int dataStartPos, ByteBuffer dst, int lenToDecompress)
+    {
         int uncompressedBytesLen = 0;
         byte[] bytesToDecompress;
+        int srcOffset;
 
         if (_decompressedBytes == null)
             _decompressedBytes = new byte[_maxCompressionInLen];
 
-        if (!bufferToDecompress.buffer().hasArray())
+        if (!src.hasArray())
         {
             // Bytes to decompress could be larger than the ripc message size in the scenario where CompFrag is used
-            if (_bytesToDecompress == null)
-                _bytesToDecompress = new byte[getMaxCompressedLength(_maxCompressionInLen)];
+            _bytesToDecompress = ensureCapacity(_bytesToDecompress, Math.max(getMaxCompressedLength(_maxCompressionInLen), lenToDecompress));
 
             bytesToDecompress = _bytesToDecompress;
-
-            for (int i = 0; i < lenToDecompress; i++)
-            {
-                bytesToDecompress[i] = bufferToDecompress.buffer().get(dataStartPos + i);
-            }
+            copyToArray(src, dataStartPos, bytesToDecompress, 0, lenToDecompress);
+            srcOffset = 0;
         }
         else
         {
-            bytesToDecompress = bufferToDecompress.buffer().array();
+            bytesToDecompress = src.array();
+            srcOffset = src.arrayOffset() + dataStartPos;
         }
 
         try
         {
-        	uncompressedBytesLen = _lz4Decompressor.decompress(bytesToDecompress, 0, // src offset
-                                                           lenToDecompress, _decompressedBytes, 0); // dst offset
+            if (dst.hasArray() && dst.capacity() >= _decompressedBytes.length)
+            {
+                // decompress straight into the backing array of the destination
+                uncompressedBytesLen = _lz4Decompressor.decompress(bytesToDecompress, srcOffset,
+                                                                   lenToDecompress, dst.array(), dst.arrayOffset(), _decompressedBytes.length);
+                dst.clear();
+                dst.limit(uncompressedBytesLen);
+            }
+            else
+            {
+                uncompressedBytesLen = _lz4Decompressor.decompress(bytesToDecompress, srcOffset,
+                                                                   lenToDecompress, _decompressedBytes, 0);
+                dst.clear();
+                dst.put(_decompressedBytes, 0, uncompressedBytesLen);
+                dst.limit(dst.position());
+                dst.position(0);
+            }
         } catch(LZ4Exception e)
         {
-        	throw new CompressorException("LZ4 decompress(ByteBufferPair, ByteBufferPair, int, int) exception: " + e.getMessage());
+        	throw new CompressorException("LZ4 decompress exception: " + e.getMessage());
         }
-        
-        decompressedBuffer.buffer().clear();
-        decompressedBuffer.buffer().put(_decompressedBytes, 0, uncompressedBytesLen);
-        decompressedBuffer.buffer().limit(decompressedBuffer.buffer().position());
-        decompressedBuffer.buffer().position(0);
 
-        //System.out.println("[LZ4] in=" + lenToDecompress + " decompressed=" + uncompressedBytesLen);
         return uncompressedBytesLen;
     }
 
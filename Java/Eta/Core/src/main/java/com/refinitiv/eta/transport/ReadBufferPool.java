@@ -0,0 +1,180 @@
+package com.refinitiv.eta.transport;
+
+/* A pool of the ByteBufferPairs a channel reads into: the read IO buffer, the
+ * decompression buffers and the buffers fragmented messages are reassembled in.
+ *
+ * Buffers are slabs with power-of-two capacities, pooled by size class, so that
+ * a message is reassembled in a slab released by an earlier message of up to twice
+ * its size. The channels accepted by a server share the server's pool, and may be
+ * read by different threads, so the pool is always locked.
+ *
+ * Released slabs are kept while the pool holds fewer than maxPooledBytes; beyond
+ * that they are dropped and left to the garbage collector.
+ */
+class ReadBufferPool
+{
+    static final int MIN_SLAB_SHIFT = 13; // 8KB
+    static final int MAX_SLAB_SHIFT = 30; // 1GB, larger buffers are not pooled
+    static final int DEFAULT_MAX_POOLED_BYTES = 64 * 1024 * 1024;
+
+    /* The slabs of one size. Slabs are returned here by ByteBufferPair.returnToPool(). */
+    class SizeClass extends Pool
+    {
+        final int _slabSize;
+
+        SizeClass(int slabSize)
+        {
+            super(ReadBufferPool.this);
+            _slabSize = slabSize;
+        }
+
+        @Override
+        void add(EtaNode node)
+        {
+            release(this, (ByteBufferPair)node);
+        }
+
+        void keep(ByteBufferPair slab)
+        {
+            super.add(slab);
+        }
+    }
+
+    final Lock _lock = new ReentrantLock();
+    final SizeClass[] _sizeClasses = new SizeClass[MAX_SLAB_SHIFT - MIN_SLAB_SHIFT + 1];
+    final SizeClass _unpooled = new SizeClass(0); // buffers larger than the largest slab
+    long _maxPooledBytes = DEFAULT_MAX_POOLED_BYTES;
+
+    // usage counters
+    long _pooledBytes;   // bytes of the slabs held by the pool
+    long _slabsCreated;  // slabs created since the pool was created
+    long _slabsReused;   // slabs acquired from the pool
+    long _slabsDropped;  // slabs released when the pool held maxPooledBytes
+
+    ReadBufferPool()
+    {
+        for (int i = 0; i < _sizeClasses.length; i++)
+        {
+            _sizeClasses[i] = new SizeClass(1 << (MIN_SLAB_SHIFT + i));
+        }
+    }
+
+    /* Returns the index of the size class of slabs holding length bytes. */
+    static int sizeClassIndex(int length)
+    {
+        if (length <= (1 << MIN_SLAB_SHIFT))
+            return 0;
+        return 32 - Integer.numberOfLeadingZeros(length - 1) - MIN_SLAB_SHIFT;
+    }
+
+    /* Acquires a buffer with a capacity of at least length bytes. A pooled slab of
+     * the size class of length is used, or of a larger size class if there is none.
+     * Position and limit of the buffer are not set. */
+    ByteBufferPair acquire(int length)
+    {
+        int index = (length > (1 << MAX_SLAB_SHIFT) ? _sizeClasses.length : sizeClassIndex(length));
+
+        try
+        {
+            _lock.lock();
+            for (int i = index; i < _sizeClasses.length; i++)
+            {
+                ByteBufferPair slab = (ByteBufferPair)_sizeClasses[i].poll();
+                if (slab != null)
+                {
+                    _pooledBytes -= _sizeClasses[i]._slabSize;
+                    ++_slabsReused;
+                    return slab;
+                }
+            }
+            ++_slabsCreated;
+        }
+        finally
+        {
+            _lock.unlock();
+        }
+
+        if (index == _sizeClasses.length)
+            return new ByteBufferPair(_unpooled, length, true);
+        return new ByteBufferPair(_sizeClasses[index], _sizeClasses[index]._slabSize, true);
+    }
+
+    void release(SizeClass sizeClass, ByteBufferPair slab)
+    {
+        try
+        {
+            _lock.lock();
+            if (sizeClass != _unpooled && _pooledBytes + sizeClass._slabSize <= _maxPooledBytes)
+            {
+                sizeClass.keep(slab);
+                _pooledBytes += sizeClass._slabSize;
+            }
+            else
+            {
+                slab._inPool = true; // returning it again does nothing
+                ++_slabsDropped;
+            }
+        }
+        finally
+        {
+            _lock.unlock();
+        }
+    }
+
+    /* Sets the number of bytes of released slabs the pool may hold, dropping the
+     * largest slabs held over it. */
+    void maxPooledBytes(long maxPooledBytes)
+    {
+        try
+        {
+            _lock.lock();
+            _maxPooledBytes = maxPooledBytes;
+            for (int i = _sizeClasses.length - 1; i >= 0 && _pooledBytes > _maxPooledBytes; i--)
+            {
+                while (_pooledBytes > _maxPooledBytes && _sizeClasses[i].poll() != null)
+                {
+                    _pooledBytes -= _sizeClasses[i]._slabSize;
+                    ++_slabsDropped;
+                }
+            }
+        }
+        finally
+        {
+            _lock.unlock();
+        }
+    }
+
+    /* Copies the usage counters to the channel info. */
+    void info(ChannelInfoImpl info)
+    {
+        try
+        {
+            _lock.lock();
+            info.readBufferPoolBytes(_pooledBytes);
+            info.readBufferSlabsCreated(_slabsCreated);
+            info.readBufferSlabsReused(_slabsReused);
+            info.readBufferSlabsDropped(_slabsDropped);
+        }
+        finally
+        {
+            _lock.unlock();
+        }
+    }
+
+    /* Copies the usage counters to the server info. */
+    void info(ServerInfoImpl info)
+    {
+        try
+        {
+            _lock.lock();
+            info.readBufferPoolBytes(_pooledBytes);
+            info.readBufferSlabsCreated(_slabsCreated);
+            info.readBufferSlabsReused(_slabsReused);
+            info.readBufferSlabsDropped(_slabsDropped);
+        }
+        finally
+        {
+            _lock.unlock();
+        }
+    }
+}
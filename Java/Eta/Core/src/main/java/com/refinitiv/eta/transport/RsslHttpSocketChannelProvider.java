@@ -1251,7 +1251,7 @@ class RsslHttpSocketChannelProvider
         }
 
         // if direct socket write or high water mark reached, call flush
-        if ((writeArgs.flags() & WriteFlags.DIRECT_SOCKET_WRITE) > 0 || rsslSocketChannel._totalBytesQueued > rsslSocketChannel._highWaterMark)
+        if ((writeArgs.flags() & WriteFlags.DIRECT_SOCKET_WRITE) > 0 || rsslSocketChannel.isFlushThresholdReached())
         {
             if ((retVal = rsslSocketChannel.flushInternal(error)) < TransportReturnCodes.SUCCESS)
             {
@@ -2126,6 +2126,7 @@ class RsslHttpSocketChannelProvider
 
         if (rsslSocketChannel._server != null)
         {
+            rsslSocketChannel._server.detachSharedPoolCache(rsslSocketChannel._sharedPoolCache);
             rsslSocketChannel._server.removeChannel(rsslSocketChannel);
         }
         _sessionMap.remove(rsslSocketChannel._providerSessionId);
@@ -5,6 +5,7 @@ import java.net.*;
 import java.nio.ByteBuffer;
 import java.nio.channels.SelectableChannel;
 import java.util.Objects;
+import java.util.concurrent.TimeUnit;
 
 import com.refinitiv.eta.codec.Codec;
 import com.refinitiv.proxy.authentication.CredentialName;
@@ -137,6 +138,7 @@ class RsslSocketChannel extends EtaNode implements Channel
     ServerImpl _server = null; // set on accept
     int _used = 0;
     final Pool _availableBuffers = new Pool(this);     // pool of SocketBuffers
+    final SharedPoolCache _sharedPoolCache = new SharedPoolCache(); // shared pool buffers of the server, cached
     final Pool _availableHTTPBuffers = new Pool(this); // pool of HTTPSocketBuffers
     SocketBuffer _currentBuffer = null;
     BigBuffersPool _bigBuffersPool;
@@ -165,6 +167,19 @@ class RsslSocketChannel extends EtaNode implements Channel
     int _highWaterMark;
     int _totalBytesQueued = 0;
 
+    // write coalescing, enabled when _writeCoalescingBytes is set through IoctlCodes.WRITE_COALESCING_BYTES
+    final static int DEFAULT_WRITE_COALESCING_LATENCY = 50; // microseconds
+    int _writeCoalescingBytes = 0;
+    long _writeCoalescingLatencyNanos = TimeUnit.MICROSECONDS.toNanos(DEFAULT_WRITE_COALESCING_LATENCY);
+    long _firstQueuedNanos;
+    ByteBuffer _coalescingBuffer;
+    boolean _isCoalescedWrite = false;
+
+    // write statistics reported by info()
+    long _socketWriteCount;
+    long _socketBytesWritten;
+    long _buffersWritten;
+
     // RIPC handshake manager
     IpcProtocolManager _ipcProtocolManager = new IpcProtocolManager();
 
@@ -309,12 +324,11 @@ class RsslSocketChannel extends EtaNode implements Channel
     /* The number of times we ignored an HTTP response while connecting through a proxy */
     protected int _ignoredConnectResponses = 0;
 
-    /* A pool of ByteBufferPair} used to reassemble fragmented messages
+    /* A pool of ByteBufferPair used to reassemble fragmented messages
      * (the main "read IO buffer" is also acquired from this pool).
-     * Using a Red-Black tree to sort the buffers by size ensures all operations on the
-     * pool (search, insert, remove) happen in O(log n) time.
+     * Channels accepted by a server use the pool of the server instead.
      */
-    private final BigBuffersPool _bufferPool = new BigBuffersPool(6144, this);
+    private final ReadBufferPool _readBufferPool = new ReadBufferPool();
 
     protected ProtocolFunctions _protocolFunctions;
 
@@ -540,6 +554,14 @@ class RsslSocketChannel extends EtaNode implements Channel
         // initialize _highWaterMark
         _highWaterMark = DEFAULT_HIGH_WATER_MARK;
 
+        // write coalescing is off until enabled by ioctl
+        _writeCoalescingBytes = 0;
+        _writeCoalescingLatencyNanos = TimeUnit.MICROSECONDS.toNanos(DEFAULT_WRITE_COALESCING_LATENCY);
+        _isCoalescedWrite = false;
+        _socketWriteCount = 0;
+        _socketBytesWritten = 0;
+        _buffersWritten = 0;
+
         _providerHelper = null;
         _isProviderHTTP = false;
 
@@ -696,6 +718,10 @@ class RsslSocketChannel extends EtaNode implements Channel
                 ((ChannelInfoImpl)info)._receivedComponentInfoList = _channelInfo._receivedComponentInfoList;
                 ((ChannelInfoImpl)info).clientIP(_channelInfo._clientIP);
                 ((ChannelInfoImpl)info).clientHostname(_channelInfo.clientHostname());
+                ((ChannelInfoImpl)info).socketWriteCount(_socketWriteCount);
+                ((ChannelInfoImpl)info).socketBytesWritten(_socketBytesWritten);
+                ((ChannelInfoImpl)info).buffersWritten(_buffersWritten);
+                readBufferPool().info((ChannelInfoImpl)info);
             }
             else
             {
@@ -908,6 +934,48 @@ class RsslSocketChannel extends EtaNode implements Channel
                         error.text("value must be (0 >= value < 2^31");
                     }
                     break;
+                case IoctlCodes.WRITE_COALESCING_BYTES:
+                    if (value >= 0)
+                    {
+                        _writeCoalescingBytes = value;
+                        retCode = TransportReturnCodes.SUCCESS;
+                    }
+                    else
+                    {
+                        error.channel(this);
+                        error.errorId(retCode);
+                        error.sysError(0);
+                        error.text("value must be (0 >= value < 2^31");
+                    }
+                    break;
+                case IoctlCodes.WRITE_COALESCING_LATENCY:
+                    if (value >= 0)
+                    {
+                        _writeCoalescingLatencyNanos = TimeUnit.MICROSECONDS.toNanos(value);
+                        retCode = TransportReturnCodes.SUCCESS;
+                    }
+                    else
+                    {
+                        error.channel(this);
+                        error.errorId(retCode);
+                        error.sysError(0);
+                        error.text("value must be (0 >= value < 2^31");
+                    }
+                    break;
+                case IoctlCodes.READ_BUFFER_POOL_MAX_BYTES:
+                    if (value >= 0)
+                    {
+                        readBufferPool().maxPooledBytes(value);
+                        retCode = TransportReturnCodes.SUCCESS;
+                    }
+                    else
+                    {
+                        error.channel(this);
+                        error.errorId(retCode);
+                        error.sysError(0);
+                        error.text("value must be (0 >= value < 2^31");
+                    }
+                    break;
                 case IoctlCodes.SYSTEM_WRITE_BUFFERS:
                     if (value >= 0)
                     {
@@ -1226,6 +1294,7 @@ class RsslSocketChannel extends EtaNode implements Channel
 
             if (_server != null)
             {
+                _server.detachSharedPoolCache(_sharedPoolCache);
                 _server.removeChannel(this);
             }
 
@@ -1624,7 +1693,7 @@ class RsslSocketChannel extends EtaNode implements Channel
         {
             if (_server != null && _used < _channelInfo._maxOutputBuffers)
             {
-                buffer = _server.getBufferFromServerPool();
+                buffer = _server.getBufferFromServerPool(_sharedPoolCache);
             }
         }
 
@@ -1776,7 +1845,7 @@ class RsslSocketChannel extends EtaNode implements Channel
             {
                 if (_server != null && _used < _channelInfo._maxOutputBuffers && !_isProviderHTTP)
                 {
-                    _currentBuffer = _server.getBufferFromServerPool();
+                    _currentBuffer = _server.getBufferFromServerPool(_sharedPoolCache);
                 }
             }
 
@@ -2143,7 +2212,7 @@ class RsslSocketChannel extends EtaNode implements Channel
         }
 
         // if direct socket write or high water mark reached, call flush
-        if ((writeArgs.flags() & WriteFlags.DIRECT_SOCKET_WRITE) > 0 || _totalBytesQueued > _highWaterMark)
+        if ((writeArgs.flags() & WriteFlags.DIRECT_SOCKET_WRITE) > 0 || isFlushThresholdReached())
         {
             if ((retVal = flushInternal(error)) < TransportReturnCodes.SUCCESS)
             {
@@ -2487,7 +2556,7 @@ class RsslSocketChannel extends EtaNode implements Channel
         ((WriteArgsImpl)writeArgs).bytesWritten(scktBytesWritten);
 
         // if direct socket write or high water mark reached, call flush
-        if ((writeArgs.flags() & WriteFlags.DIRECT_SOCKET_WRITE) > 0 || _totalBytesQueued > _highWaterMark)
+        if ((writeArgs.flags() & WriteFlags.DIRECT_SOCKET_WRITE) > 0 || isFlushThresholdReached())
         {
             retVal = flushInternal(error);
         }
@@ -2539,7 +2608,7 @@ class RsslSocketChannel extends EtaNode implements Channel
             ((WriteArgsImpl)writeArgs).bytesWritten(scktBytesWritten);
 
             // if high water mark reached, call flush
-            if (_totalBytesQueued > _highWaterMark)
+            if (isFlushThresholdReached())
             {
                 if ((retVal = flushInternal(error)) < TransportReturnCodes.SUCCESS)
                 {
@@ -2668,14 +2737,35 @@ class RsslSocketChannel extends EtaNode implements Channel
         return retVal;
     }
 
+    /* Returns true when write() should flush the queued bytes: when the high water mark is exceeded or,
+     * with write coalescing, when the coalescing bytes are queued or the oldest queued byte waited
+     * for the coalescing latency.
+     */
+    boolean isFlushThresholdReached()
+    {
+        if (_writeCoalescingBytes == 0)
+            return _totalBytesQueued > _highWaterMark;
+
+        return _totalBytesQueued >= _writeCoalescingBytes
+                || (_writeCoalescingLatencyNanos > 0 && System.nanoTime() - _firstQueuedNanos >= _writeCoalescingLatencyNanos);
+    }
+
     int fillGatheringByteArray()
     {
         int remainingBytesQueued = _totalBytesQueued;
         int cumulativeBytesPendingWrite = 0;
         int flushOrderPosition = 0;
 
+        if (_isFlushPending == false && _writeCoalescingBytes > 0)
+        {
+            cumulativeBytesPendingWrite = fillCoalescingBuffer();
+            if (cumulativeBytesPendingWrite > 0)
+                return cumulativeBytesPendingWrite;
+        }
+
         if (_isFlushPending == false) // no previously pending flush
         {
+            _isCoalescedWrite = false;
             _writeArrayMaxPosition = 0;
             _writeArrayPosition = 0;
 
@@ -2717,12 +2807,87 @@ class RsslSocketChannel extends EtaNode implements Channel
         return cumulativeBytesPendingWrite;
     }
 
+    /* Copies the buffers queued in flush order into the coalescing buffer, while they fit, releasing
+     * each one once copied. The coalescing buffer is then the only entry of the gathering byte array.
+     * Returns the number of bytes copied, 0 if the next buffer is larger than the coalescing buffer.
+     */
+    int fillCoalescingBuffer()
+    {
+        int capacity = Math.max(_writeCoalescingBytes, _internalMaxFragmentSize);
+        if (_coalescingBuffer == null || _coalescingBuffer.capacity() < capacity)
+            _coalescingBuffer = ByteBuffer.allocateDirect(capacity);
+
+        ByteBuffer coalescingBuffer = _coalescingBuffer;
+        int remainingBytesQueued = _totalBytesQueued;
+        int flushOrderPosition = _flushOrderPosition;
+        boolean isFull = false;
+
+        coalescingBuffer.clear();
+        while (!isFull
+               && remainingBytesQueued > 0
+               && _state != ChannelState.INACTIVE
+               && _state != ChannelState.CLOSED)
+        {
+            for (int i = _flushOrderPosition; i < _channelInfo._priorityFlushStrategy.length()
+                                              && remainingBytesQueued > 0; i++, flushOrderPosition = i)
+            {
+                TransportBufferImpl buffer = (TransportBufferImpl)_flushOrder[i]._head;
+                if (buffer == null)
+                    continue;
+
+                ByteBuffer data = buffer.data();
+                int bufSize = data.limit() - data.position();
+                if (bufSize > coalescingBuffer.remaining())
+                {
+                    // resume from this queue on the next fill
+                    isFull = true;
+                    break;
+                }
+
+                _flushOrder[i].poll();
+                coalescingBuffer.put(data);
+                releaseBufferInternal(buffer);
+                remainingBytesQueued -= bufSize;
+            }
+
+            if (!isFull)
+                _flushOrderPosition = 0;
+        }
+        _flushOrderPosition = flushOrderPosition % _channelInfo._priorityFlushStrategy.length();
+
+        coalescingBuffer.flip();
+        if (coalescingBuffer.limit() == 0)
+            return 0;
+
+        _gatheringWriteArray[0] = coalescingBuffer;
+        _releaseBufferArray[0] = null;
+        _writeArrayPosition = 0;
+        _writeArrayMaxPosition = 1;
+        _isCoalescedWrite = true;
+
+        return coalescingBuffer.limit();
+    }
+
     long writeGatheringByteArray(int cumulativeBytesPendingWrite) throws IOException
     {
+        int coalescedPosition = _isCoalescedWrite ? _coalescingBuffer.position() : 0;
+
         // write gathering byte array
         long scktBytesWritten = write(_gatheringWriteArray, _writeArrayPosition, _writeArrayMaxPosition - _writeArrayPosition);
 
-        if (scktBytesWritten == cumulativeBytesPendingWrite) // all pending buffers sent
+        ++_socketWriteCount;
+        if (scktBytesWritten > 0)
+            _socketBytesWritten += scktBytesWritten;
+
+        if (_isCoalescedWrite)
+        {
+            // the queued buffers were released when copied to the coalescing buffer,
+            // so only the position of the coalescing buffer is kept for a partial write
+            _coalescingBuffer.position(coalescedPosition + (int)scktBytesWritten);
+            _isFlushPending = (scktBytesWritten < cumulativeBytesPendingWrite);
+            _totalBytesQueued -= scktBytesWritten;
+        }
+        else if (scktBytesWritten == cumulativeBytesPendingWrite) // all pending buffers sent
         {
             // release buffers
             for (int i = _writeArrayPosition; i < _writeArrayMaxPosition; i++)
@@ -4360,9 +4525,14 @@ class RsslSocketChannel extends EtaNode implements Channel
         return TransportReturnCodes.SUCCESS;
     }
 
+    ReadBufferPool readBufferPool()
+    {
+        return (_server != null ? _server._readBufferPool : _readBufferPool);
+    }
+
     ByteBufferPair acquirePair(int length)
     {
-        ByteBufferPair pair = (ByteBufferPair)_bufferPool.poll(length, false);
+        ByteBufferPair pair = readBufferPool().acquire(length);
         pair.buffer().limit(length);
         pair.buffer().position(0);
         return pair;
@@ -4410,6 +4580,10 @@ class RsslSocketChannel extends EtaNode implements Channel
 
     private void addToPriorityQueue(TransportBufferImpl buffer, int priority)
     {
+        if (_totalBytesQueued == 0 && _writeCoalescingBytes > 0)
+            _firstQueuedNanos = System.nanoTime();
+        ++_buffersWritten;
+
         switch (priority)
         {
             case WritePriorities.HIGH:
@@ -7,82 +7,438 @@ import java.net.SocketException;
 import java.nio.ByteBuffer;
 import java.nio.channels.SelectableChannel;
 import java.nio.channels.ServerSocketChannel;
+import java.util.ArrayList;
 import java.util.Objects;
+import java.util.concurrent.atomic.AtomicInteger;
 
 class ServerImpl extends EtaNode implements Server
 {
+    /* The free buffers of the shared pool are kept in STRIPE_COUNT free lists, each
+     * with its own lock, so that channels refilling their SharedPoolCache from
+     * different free lists do not contend. The buffers in use are counted
+     * atomically, as the channels take buffers from and recycle buffers to their
+     * caches without locking the pool.
+     *
+     * No more than sharedPoolSize buffers are created. Once they are, a channel
+     * finding its cache and the free lists empty takes a buffer from the cache of
+     * another channel, and fails to get a buffer if all of them are empty too.
+     *
+     * Locks are taken in the order _cachesLock, a cache's lock, a free list's lock. */
     class SharedPool extends Pool
     {
+        /* A free list of the shared pool. */
+        class Stripe
+        {
+            final EtaQueue _queue = new EtaQueue();
+            final Lock _lock = new ReentrantLock();
+        }
+
         SharedPool(Object o)
         {
             super(o);
             _isSharedPoolBuffer = true;
+            for (int i = 0; i < STRIPE_COUNT; i++)
+            {
+                _stripes[i] = new Stripe();
+            }
         }
 
-        int _currentUse = 0; // number of shared buffers currently in use.
-        int _peakUse = 0;    // peak number of shared buffers used.
-        int _sharedPoolBufferCount = 0; // number of shared pool buffers created.
+        final Stripe[] _stripes = new Stripe[STRIPE_COUNT];
+        final AtomicInteger _currentUse = new AtomicInteger(); // number of shared buffers currently in use.
+        final AtomicInteger _peakUse = new AtomicInteger();    // peak number of shared buffers used.
+        final AtomicInteger _sharedPoolBufferCount = new AtomicInteger(); // number of shared pool buffers created.
+        final ArrayList<SharedPoolCache> _caches = new ArrayList<SharedPoolCache>(); // attached caches
+        final Lock _cachesLock = new ReentrantLock();
+        int _nextStripe; // stripe of the next cache attached
         Lock _sharedPoolLock;
 
         @Override
         void add(EtaNode node)
         {
+            ((SocketBuffer)node)._sharedPoolCache = null;
+            _currentUse.decrementAndGet();
+            addToStripe(threadStripe(), (SocketBuffer)node);
+        }
+
+        @Override
+        EtaNode poll()
+        {
+            if (_currentUse.get() >= _bindOpts.sharedPoolSize())
+                return null;
+
+            int stripe = threadStripe();
+            SocketBuffer buffer = null;
+            for (int i = 0; i < STRIPE_COUNT && buffer == null; i++)
+            {
+                Stripe next = _stripes[(stripe + i) & (STRIPE_COUNT - 1)];
+                try
+                {
+                    next._lock.lock();
+                    buffer = (SocketBuffer)next._queue.poll();
+                }
+                finally
+                {
+                    next._lock.unlock();
+                }
+            }
+            if (buffer == null && (buffer = create(_stripes[stripe])) == null && (buffer = steal()) == null)
+                return null;
+
+            if (!acquireUse())
+            {
+                addToStripe(stripe, buffer);
+                return null;
+            }
+
+            buffer._inPool = false;
+            return buffer;
+        }
+
+        /* Takes a buffer from the cache, refilling the cache if it is empty.
+         * Returns null if sharedPoolSize buffers are in use, or if no free buffer
+         * was found. */
+        SocketBuffer poll(SharedPoolCache cache)
+        {
+            if (_currentUse.get() >= _bindOpts.sharedPoolSize())
+                return null;
+
+            SocketBuffer buffer = null;
             try
             {
-                _sharedPoolLock.lock();
-                super.add(node);
-                --_currentUse;
+                cache._lock.lock();
+                if (cache._count == 0)
+                    refill(cache);
+                if (cache._count > 0)
+                {
+                    if (!acquireUse())
+                        return null;
+                    buffer = cache.poll();
+                }
             }
             finally
             {
-                _sharedPoolLock.unlock();
+                cache._lock.unlock();
             }
+
+            if (buffer == null)
+            {
+                if ((buffer = steal()) == null)
+                    return null;
+
+                if (!acquireUse())
+                {
+                    addToStripe(cache._stripe, buffer);
+                    return null;
+                }
+            }
+
+            buffer._inPool = false;
+            buffer._sharedPoolCache = cache;
+            return buffer;
         }
 
-        EtaNode poll()
+        /* Recycles a buffer taken from the cache to the cache, returning a batch of
+         * the cached buffers to the cache's stripe if the cache is full. */
+        void recycle(SharedPoolCache cache, SocketBuffer buffer)
         {
-            _sharedPoolLock.lock();
-            SocketBuffer buffer = null;
+            if (buffer._inPool)
+                return;
+
+            buffer._inPool = true;
+            buffer._sharedPoolCache = null;
+            _currentUse.decrementAndGet();
             try
             {
-                buffer = (SocketBuffer)super.poll();
-                if (buffer != null)
+                cache._lock.lock();
+                if (cache._sharedPool != this)
                 {
-                    ++_currentUse;
+                    addToStripe(cache._stripe, buffer);
+                    return;
                 }
-                else if (_sharedPoolBufferCount < _bindOpts.sharedPoolSize())
+                if (cache._count == SharedPoolCache.CACHE_SIZE)
+                    drain(cache, SharedPoolCache.BATCH_SIZE);
+                cache.add(buffer);
+            }
+            finally
+            {
+                cache._lock.unlock();
+            }
+        }
+
+        /* Refills the cache with a batch of buffers from its stripe, or from another
+         * stripe if its stripe is empty, or with a created buffer if all are empty
+         * and fewer than sharedPoolSize buffers were created. Must hold the cache's lock. */
+        void refill(SharedPoolCache cache)
+        {
+            for (int i = 0; i < STRIPE_COUNT && cache._count == 0; i++)
+            {
+                Stripe stripe = _stripes[(cache._stripe + i) & (STRIPE_COUNT - 1)];
+                try
                 {
-                    // first create one buffer and use it
-                    buffer = new SocketBuffer(this, bufferSize());
-                    ++_peakUse;
-                    ++_currentUse;
-                    ++_sharedPoolBufferCount;
-
-                    // then create more buffers, as they should be added to pool in bulk
-                    int buffersToAdd = ADDED_BUFFERS - 1;
-                    if (buffersToAdd > _bindOpts.sharedPoolSize() - _currentUse)
-                        buffersToAdd = _bindOpts.sharedPoolSize() - _currentUse;
-                    for (int i = 0; i < buffersToAdd; i++)
+                    stripe._lock.lock();
+                    EtaNode node;
+                    while (cache._count < SharedPoolCache.BATCH_SIZE && (node = stripe._queue.poll()) != null)
                     {
-                        EtaNode node;
-                        node = new SocketBuffer(this, bufferSize());
-                        ++_sharedPoolBufferCount;
-                        super.add(node);
+                        cache.add((SocketBuffer)node);
                     }
                 }
-                if (_currentUse > _peakUse)
+                finally
                 {
-                    _peakUse = _currentUse;
+                    stripe._lock.unlock();
+                }
+            }
+            if (cache._count == 0)
+            {
+                SocketBuffer buffer = create(_stripes[cache._stripe]);
+                if (buffer != null)
+                    cache.add(buffer);
+            }
+        }
+
+        /* Returns count buffers of the cache to the cache's stripe. Must hold the cache's lock. */
+        void drain(SharedPoolCache cache, int count)
+        {
+            Stripe stripe = _stripes[cache._stripe];
+            try
+            {
+                stripe._lock.lock();
+                for (int i = 0; i < count; i++)
+                {
+                    stripe._queue.add(cache.poll());
                 }
             }
             finally
             {
-                _sharedPoolLock.unlock();
+                stripe._lock.unlock();
+            }
+        }
+
+        /* Takes a free buffer from the cache of a channel, as the free lists are empty
+         * and sharedPoolSize buffers were created. The other buffers of that cache are
+         * returned to its stripe, for the next channels to find them there. Returns null
+         * if all the caches are empty. Must not hold a cache's lock. */
+        SocketBuffer steal()
+        {
+            try
+            {
+                _cachesLock.lock();
+                for (int i = 0; i < _caches.size(); i++)
+                {
+                    SharedPoolCache cache = _caches.get(i);
+                    try
+                    {
+                        cache._lock.lock();
+                        if (cache._count > 0)
+                        {
+                            SocketBuffer buffer = cache.poll();
+                            drain(cache, cache._count);
+                            return buffer;
+                        }
+                    }
+                    finally
+                    {
+                        cache._lock.unlock();
+                    }
+                }
             }
+            finally
+            {
+                _cachesLock.unlock();
+            }
+            return null;
+        }
 
+        void addToStripe(int stripeIndex, SocketBuffer buffer)
+        {
+            Stripe stripe = _stripes[stripeIndex];
+            try
+            {
+                stripe._lock.lock();
+                buffer._inPool = true;
+                stripe._queue.add(buffer);
+            }
+            finally
+            {
+                stripe._lock.unlock();
+            }
+        }
+
+        /* The cache is locked when the pool is, as other channels may take its buffers. */
+        void attach(SharedPoolCache cache)
+        {
+            cache._lock = _bindOpts.sharedPoolLock() ? new ReentrantLock() : _dummySharedPoolLock;
+            cache._sharedPool = this;
+            cache._stripe = _nextStripe++ & (STRIPE_COUNT - 1);
+            try
+            {
+                _cachesLock.lock();
+                _caches.add(cache);
+            }
+            finally
+            {
+                _cachesLock.unlock();
+            }
+        }
+
+        void detach(SharedPoolCache cache)
+        {
+            if (cache._sharedPool != this)
+                return;
+
+            try
+            {
+                _cachesLock.lock();
+                _caches.remove(cache);
+            }
+            finally
+            {
+                _cachesLock.unlock();
+            }
+            try
+            {
+                cache._lock.lock();
+                drain(cache, cache._count);
+                cache._sharedPool = null;
+            }
+            finally
+            {
+                cache._lock.unlock();
+            }
+        }
+
+        /* Counts a buffer as in use, unless sharedPoolSize buffers already are. */
+        boolean acquireUse()
+        {
+            int currentUse;
+            do
+            {
+                currentUse = _currentUse.get();
+                if (currentUse >= _bindOpts.sharedPoolSize())
+                    return false;
+            }
+            while (!_currentUse.compareAndSet(currentUse, currentUse + 1));
+
+            int peakUse;
+            while (currentUse >= (peakUse = _peakUse.get()) && !_peakUse.compareAndSet(peakUse, currentUse + 1));
+            return true;
+        }
+
+        /* Creates a buffer to use, and more buffers added to the stripe, as buffers
+         * should be added to the pool in bulk. Returns null if sharedPoolSize buffers
+         * were created. */
+        SocketBuffer create(Stripe stripe)
+        {
+            int bufferCount;
+            int buffersToCreate;
+            do
+            {
+                bufferCount = _sharedPoolBufferCount.get();
+                buffersToCreate = Math.min(ADDED_BUFFERS, _bindOpts.sharedPoolSize() - bufferCount);
+                if (buffersToCreate <= 0)
+                    return null;
+            }
+            while (!_sharedPoolBufferCount.compareAndSet(bufferCount, bufferCount + buffersToCreate));
+
+            SocketBuffer buffer = new SocketBuffer(this, bufferSize());
+            if (buffersToCreate > 1)
+            {
+                try
+                {
+                    stripe._lock.lock();
+                    for (int i = 1; i < buffersToCreate; i++)
+                    {
+                        EtaNode node = new SocketBuffer(this, bufferSize());
+                        node._inPool = true;
+                        stripe._queue.add(node);
+                    }
+                }
+                finally
+                {
+                    stripe._lock.unlock();
+                }
+            }
             return buffer;
         }
 
+        /* Returns the stripe of the buffers taken and recycled without a cache. */
+        int threadStripe()
+        {
+            return (int)Thread.currentThread().getId() & (STRIPE_COUNT - 1);
+        }
+
+        @Override
+        int size()
+        {
+            int size = 0;
+            for (int i = 0; i < STRIPE_COUNT; i++)
+            {
+                size += _stripes[i]._queue.size();
+            }
+            return size;
+        }
+
+        /* Moves up to numToMove free buffers to the pool, from the free lists and then
+         * from the caches of the channels. Returns the number moved. */
+        int moveTo(Pool pool, int numToMove)
+        {
+            int numMoved = 0;
+            for (int i = 0; i < STRIPE_COUNT && numMoved < numToMove; i++)
+            {
+                Stripe stripe = _stripes[i];
+                try
+                {
+                    stripe._lock.lock();
+                    EtaNode node;
+                    while (numMoved < numToMove && (node = stripe._queue.poll()) != null)
+                    {
+                        moveTo(pool, node);
+                        numMoved++;
+                    }
+                }
+                finally
+                {
+                    stripe._lock.unlock();
+                }
+            }
+            if (numMoved < numToMove)
+            {
+                try
+                {
+                    _cachesLock.lock();
+                    for (int i = 0; i < _caches.size() && numMoved < numToMove; i++)
+                    {
+                        SharedPoolCache cache = _caches.get(i);
+                        try
+                        {
+                            cache._lock.lock();
+                            while (numMoved < numToMove && cache._count > 0)
+                            {
+                                moveTo(pool, cache.poll());
+                                numMoved++;
+                            }
+                        }
+                        finally
+                        {
+                            cache._lock.unlock();
+                        }
+                    }
+                }
+                finally
+                {
+                    _cachesLock.unlock();
+                }
+            }
+            _sharedPoolBufferCount.addAndGet(-numMoved);
+            return numMoved;
+        }
+
+        private void moveTo(Pool pool, EtaNode node)
+        {
+            node._inPool = false;
+            node.pool(pool);
+            node.returnToPool();
+        }
+
         int info(ServerInfo info, Error error)
         {
             int ret = TransportReturnCodes.SUCCESS;
@@ -91,8 +447,8 @@ class ServerImpl extends EtaNode implements Server
                 _sharedPoolLock.lock();
                 if (_state == ChannelState.ACTIVE)
                 {
-                    ((ServerInfoImpl)info).currentBufferUsage(_currentUse);
-                    ((ServerInfoImpl)info).peakBufferUsage(_peakUse);
+                    ((ServerInfoImpl)info).currentBufferUsage(_currentUse.get());
+                    ((ServerInfoImpl)info).peakBufferUsage(_peakUse.get());
                 }
                 else
                 {
@@ -117,7 +473,7 @@ class ServerImpl extends EtaNode implements Server
             {
                 _sharedPoolLock.lock();
                 if (_state == ChannelState.ACTIVE)
-                    ret = _currentUse;
+                    ret = _currentUse.get();
                 else
                 {
                     error.channel(null);
@@ -136,16 +492,18 @@ class ServerImpl extends EtaNode implements Server
 
         void resetPeakUse()
         {
-            _peakUse = _currentUse;
+            _peakUse.set(_currentUse.get());
         }
     }
 
     private static final int ADDED_BUFFERS = 100;
+    static final int STRIPE_COUNT = 8; // free lists of the shared pool, a power of two
     // memory management
     final ProtocolInt _transport;
     final Pool _sharedPool = new SharedPool(this);
     final Lock _realSharedPoolLock = new ReentrantLock();
     final Lock _dummySharedPoolLock = new DummyLock();
+    final ReadBufferPool _readBufferPool = new ReadBufferPool(); // read buffers of the accepted channels
     int _numChannels;
 
     @SuppressWarnings("unused")
@@ -392,7 +750,10 @@ class ServerImpl extends EtaNode implements Server
     @Override
     public int info(ServerInfo info, Error error)
     {
-        return ((SharedPool)_sharedPool).info(info, error);
+        int ret = ((SharedPool)_sharedPool).info(info, error);
+        if (ret == TransportReturnCodes.SUCCESS)
+            _readBufferPool.info((ServerInfoImpl)info);
+        return ret;
     }
 
     @Override
@@ -487,6 +848,22 @@ class ServerImpl extends EtaNode implements Server
                     }
                     break;
                 }
+                case IoctlCodes.READ_BUFFER_POOL_MAX_BYTES:
+                {
+                    if (value >= 0)
+                    {
+                        _readBufferPool.maxPooledBytes(value);
+                        retCode = TransportReturnCodes.SUCCESS;
+                    }
+                    else
+                    {
+                        error.channel(null);
+                        error.errorId(retCode);
+                        error.sysError(0);
+                        error.text("value must be (0 >= value < 2^31");
+                    }
+                    break;
+                }
                 case IoctlCodes.SYSTEM_READ_BUFFERS:
                 {
                     if (value >= 0)
@@ -533,7 +910,7 @@ class ServerImpl extends EtaNode implements Server
     int shrinkSharedPoolBuffers(int numToShrink)
     {
         Pool bufferPool = _transport.getPool(bufferSize());
-        return bufferPool.add(_sharedPool, numToShrink);
+        return ((SharedPool)_sharedPool).moveTo(bufferPool, numToShrink);
     }
 
     /* 1) If the value is larger than the current value, update the sharedPoolSize only.
@@ -652,9 +1029,30 @@ class ServerImpl extends EtaNode implements Server
         return (SocketBuffer)((SharedPool)_sharedPool).poll();
     }
 
+    /* Gets a buffer from the shared pool through the channel's cache. */
+    SocketBuffer getBufferFromServerPool(SharedPoolCache cache)
+    {
+        return ((SharedPool)_sharedPool).poll(cache);
+    }
+
     void socketBufferToRecycle(SocketBuffer buffer)
     {
-        buffer.returnToPool();
+        SharedPoolCache cache = buffer._sharedPoolCache;
+        if (cache != null && cache._sharedPool == _sharedPool)
+            ((SharedPool)_sharedPool).recycle(cache, buffer);
+        else
+            buffer.returnToPool();
+    }
+
+    void attachSharedPoolCache(SharedPoolCache cache)
+    {
+        ((SharedPool)_sharedPool).attach(cache);
+    }
+
+    /* Returns the buffers of the channel's cache to the shared pool. */
+    void detachSharedPoolCache(SharedPoolCache cache)
+    {
+        ((SharedPool)_sharedPool).detach(cache);
     }
 
     void removeChannel(Channel chnl)
@@ -687,7 +1085,7 @@ class ServerImpl extends EtaNode implements Server
 
             // return buffers from the shared pool to global pool
             Pool pool = _transport.getPool(bufferSize());
-            pool.add(_sharedPool, _sharedPool.size());
+            ((SharedPool)_sharedPool).moveTo(pool, _sharedPool.size());
 
             // return this server to server pool
             returnToPool();
@@ -24,6 +24,42 @@ public interface ServerInfo
      */
     public int peakBufferUsage();
 
+    /**
+     * The bytes of released read buffers held for reuse by the pool shared by
+     * the channels accepted by the {@link Server}. Read buffers include the
+     * buffers fragmented messages are reassembled in; see
+     * {@link IoctlCodes#READ_BUFFER_POOL_MAX_BYTES}.
+     * 
+     * @return the readBufferPoolBytes
+     */
+    public long readBufferPoolBytes();
+
+    /**
+     * The number of read buffers created by the pool shared by the channels
+     * accepted by the {@link Server}.
+     * 
+     * @return the readBufferSlabsCreated
+     */
+    public long readBufferSlabsCreated();
+
+    /**
+     * The number of read buffers reused from the pool shared by the channels
+     * accepted by the {@link Server}.
+     * 
+     * @return the readBufferSlabsReused
+     */
+    public long readBufferSlabsReused();
+
+    /**
+     * The number of read buffers released when the pool shared by the channels
+     * accepted by the {@link Server} already held
+     * {@link IoctlCodes#READ_BUFFER_POOL_MAX_BYTES}, and left to the garbage
+     * collector.
+     * 
+     * @return the readBufferSlabsDropped
+     */
+    public long readBufferSlabsDropped();
+
     /**
      * Clears ETA Server Info.
      */
@@ -6,6 +6,10 @@ public class ServerInfoImpl implements ServerInfo
 {
     private int _currentBufferUsage;
     private int _peakBufferUsage;
+    private long _readBufferPoolBytes;
+    private long _readBufferSlabsCreated;
+    private long _readBufferSlabsReused;
+    private long _readBufferSlabsDropped;
 
     ServerInfoImpl()
     {
@@ -16,7 +20,11 @@ public class ServerInfoImpl implements ServerInfo
     {
         return "ServerInfo" + "\n" + 
                "\tcurrentBufferUsage: " + _currentBufferUsage + "\n" + 
-               "\tpeakBufferUsage: " + _peakBufferUsage;
+               "\tpeakBufferUsage: " + _peakBufferUsage + "\n" + 
+               "\treadBufferPoolBytes: " + _readBufferPoolBytes + "\n" + 
+               "\treadBufferSlabsCreated: " + _readBufferSlabsCreated + "\n" + 
+               "\treadBufferSlabsReused: " + _readBufferSlabsReused + "\n" + 
+               "\treadBufferSlabsDropped: " + _readBufferSlabsDropped;
     }
 
     public void currentBufferUsage(int currentBufferUsage)
@@ -40,11 +48,59 @@ public class ServerInfoImpl implements ServerInfo
     {
         return _peakBufferUsage;
     }
+
+    public void readBufferPoolBytes(long readBufferPoolBytes)
+    {
+        _readBufferPoolBytes = readBufferPoolBytes;
+    }
+
+    @Override
+    public long readBufferPoolBytes()
+    {
+        return _readBufferPoolBytes;
+    }
+
+    public void readBufferSlabsCreated(long readBufferSlabsCreated)
+    {
+        _readBufferSlabsCreated = readBufferSlabsCreated;
+    }
+
+    @Override
+    public long readBufferSlabsCreated()
+    {
+        return _readBufferSlabsCreated;
+    }
+
+    public void readBufferSlabsReused(long readBufferSlabsReused)
+    {
+        _readBufferSlabsReused = readBufferSlabsReused;
+    }
+
+    @Override
+    public long readBufferSlabsReused()
+    {
+        return _readBufferSlabsReused;
+    }
+
+    public void readBufferSlabsDropped(long readBufferSlabsDropped)
+    {
+        _readBufferSlabsDropped = readBufferSlabsDropped;
+    }
+
+    @Override
+    public long readBufferSlabsDropped()
+    {
+        return _readBufferSlabsDropped;
+    }
     
     @Override
     public void clear()
     {
         _currentBufferUsage = 0;
         _peakBufferUsage = 0;
+        _readBufferPoolBytes = 0;
+        _readBufferSlabsCreated = 0;
+        _readBufferSlabsReused = 0;
+        _readBufferSlabsDropped = 0;
     }
 }
@@ -0,0 +1,35 @@
+package com.refinitiv.eta.transport;
+
+/* A channel's cache of free buffers of its server's shared pool.
+ *
+ * The channel gets shared pool buffers from its cache, and buffers it acquired
+ * through the cache are recycled to it, so the shared pool is only locked when
+ * the cache is refilled or overflows, for a batch of buffers at a time.
+ *
+ * The cache is used by its channel, with the channel's write lock held. When the
+ * free lists of the shared pool are empty, other channels take buffers from it, so
+ * it is also locked with _lock when the shared pool is.
+ */
+class SharedPoolCache
+{
+    static final int CACHE_SIZE = 16;
+    static final int BATCH_SIZE = CACHE_SIZE / 2; // buffers moved from or to the shared pool at a time
+
+    final SocketBuffer[] _buffers = new SocketBuffer[CACHE_SIZE];
+    int _count;
+    ServerImpl.SharedPool _sharedPool; // the shared pool the cache is attached to, null if detached
+    int _stripe;                        // the free list of the shared pool the cache is refilled from
+    Lock _lock;                         // set when attached to the shared pool
+
+    SocketBuffer poll()
+    {
+        SocketBuffer buffer = _buffers[--_count];
+        _buffers[_count] = null;
+        return buffer;
+    }
+
+    void add(SocketBuffer buffer)
+    {
+        _buffers[_count++] = buffer;
+    }
+}
@@ -82,6 +82,7 @@ class SocketBuffer extends EtaNode
 
     int _bytesUsed = 0;
     boolean _isPacked = false;
+    SharedPoolCache _sharedPoolCache; // the cache a shared pool buffer was taken from, recycled to it
 
     SocketBuffer(Pool pool, int size)
     {
@@ -312,6 +312,7 @@ class SocketProtocol implements ProtocolInt
 
         ((TrackingPool)_channelPool)._active.add(channel);
 
+        server.attachSharedPoolCache(channel._sharedPoolCache);
         server._numChannels++;
         return channel;
     }
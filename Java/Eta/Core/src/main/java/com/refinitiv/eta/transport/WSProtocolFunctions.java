@@ -29,7 +29,6 @@ class WSProtocolFunctions implements ProtocolFunctions {
 
 	ByteBuffer wsFrameBuffer;
 	int wsFrameHeaderLength;
-	private final byte[] maskArray = new byte[4];
 	
 	public WSProtocolFunctions(RsslSocketChannel rsslSocketChannel)
 	{
@@ -154,10 +153,8 @@ class WSProtocolFunctions implements ProtocolFunctions {
 			final ByteBuffer readIoBuffer = _rsslSocketChannel._readIoBuffer.buffer();
 
 			if (frame.maskSet) {
-				WebSocketFrameParser.setMaskKey(maskArray, frame.maskVal);
-
 				/* Unmask the payload data */
-				WebSocketFrameParser.maskDataBlock(maskArray, readIoBuffer, frame.payloadIndex, (int) frame.payloadLen);
+				WebSocketFrameParser.maskDataBlock(frame.maskVal, readIoBuffer, frame.payloadIndex, (int) frame.payloadLen);
 			}
 			
 			switch(_webSocketSession.wsFrameHdr.opcode)
@@ -230,10 +227,8 @@ class WSProtocolFunctions implements ProtocolFunctions {
 	public int prependInitChnlHdr(ByteBuffer sourceData, ByteBuffer destinationData) {
 		destinationData.clear();
 		final int dataLength = sourceData.limit();
-		final int wsInitChnlLength = WebSocketFrameParser.calculateHeaderLength(dataLength, _webSocketSession.isClient);
-		destinationData.position(wsInitChnlLength);
-		destinationData.put(sourceData);
-		int returnCode = WebSocketFrameParser.encode(destinationData, 0, dataLength, Codec.RWF_PROTOCOL_TYPE, _webSocketSession.isClient,
+		/* The payload is copied after the header, and masked during the copy for a client */
+		int returnCode = WebSocketFrameParser.encode(destinationData, 0, sourceData, dataLength, Codec.RWF_PROTOCOL_TYPE, _webSocketSession.isClient,
 				true, false, WebSocketFrameParser._WS_SP_NONE);
 		destinationData.flip();
 		return returnCode;
@@ -248,11 +243,9 @@ class WSProtocolFunctions implements ProtocolFunctions {
 			//TODO continue parse
 			boolean partitialFrame = WebSocketFrameParser.decode(_webSocketSession.wsFrameHdr, dest, 0, dest.position());
 			if (!partitialFrame && _webSocketSession.wsFrameHdr.maskSet) {
-				WebSocketFrameParser.setMaskKey(maskArray, frameHdr.maskVal);
-
 				/* Unmask the payload data */
 				dest.position(_webSocketSession.wsFrameHdr.hdrLen);
-				WebSocketFrameParser.maskDataBlock(maskArray, dest, dest.position(), (int) frameHdr.payloadLen);
+				WebSocketFrameParser.maskDataBlock(frameHdr.maskVal, dest, dest.position(), (int) frameHdr.payloadLen);
 			}
 			return bytesRead;
 		}
@@ -279,12 +272,10 @@ class WSProtocolFunctions implements ProtocolFunctions {
 			frameHdr.clear();
 			WebSocketFrameParser.decode(_webSocketSession.wsFrameHdr, dest, 0, dest.position());
 			if (frameHdr.payloadLen > 0 && _webSocketSession.wsFrameHdr.maskSet) {
-				WebSocketFrameParser.setMaskKey(maskArray, frameHdr.maskVal);
-
 				/* Unmask the payload data */
 				dest.position(_webSocketSession.wsFrameHdr.hdrLen);
 				final int dataLength = dest.limit() - _webSocketSession.wsFrameHdr.hdrLen;
-				WebSocketFrameParser.maskDataBlock(maskArray, dest, dest.position(), dataLength);
+				WebSocketFrameParser.maskDataBlock(frameHdr.maskVal, dest, dest.position(), dataLength);
 			}
 			return bytesRead;
 		} else if (bytesRead == -1) {
@@ -758,14 +749,11 @@ class WSProtocolFunctions implements ProtocolFunctions {
 	        	writeBuffer._data.position(WebSocketFrameParser._WS_MAX_HEADER_LEN);
 	        	
 	        	bigBuffer._data.limit(bytesCopied);
-	        	
-	        	 // copy the data from bigBuffer to this buffer
-		        writeBuffer._data.put(bigBuffer._data);
 		        
 		        writeBuffer._startWsHeader = writeBuffer._startPosition + (WebSocketFrameParser._WS_MAX_HEADER_LEN - wsHdrlen);
 				
-				/* Set the WebSocket frame header */
-				WebSocketFrameParser.encode(writeBuffer._data, writeBuffer._startWsHeader, bytesCopied, _rsslSocketChannel.protocolType(),
+				/* Set the WebSocket frame header and copy the data from bigBuffer after it */
+				WebSocketFrameParser.encode(writeBuffer._data, writeBuffer._startWsHeader, bigBuffer._data, bytesCopied, _rsslSocketChannel.protocolType(),
 						_webSocketSession.isClient, false, false, WebSocketFrameParser._WS_OPC_NONE);
 				
 				int lastPosition = writeBuffer._data.position();
@@ -804,14 +792,11 @@ class WSProtocolFunctions implements ProtocolFunctions {
                 writeBuffer._data.limit(WebSocketFrameParser._WS_MAX_HEADER_LEN + bytesCopied);
                 
                 bigBuffer._data.limit(position + bytesCopied);
-                
-                // copy the data from bigBuffer to this buffer
-    	        writeBuffer._data.put(bigBuffer._data);
     	        
     	        writeBuffer._startWsHeader = writeBuffer._startPosition + (WebSocketFrameParser._WS_MAX_HEADER_LEN - wsHdrlen);
 				
-				/* Set the WebSocket frame header */
-				WebSocketFrameParser.encode(writeBuffer._data, writeBuffer._startWsHeader, bytesCopied, _rsslSocketChannel.protocolType(),
+				/* Set the WebSocket frame header and copy the data from bigBuffer after it */
+				WebSocketFrameParser.encode(writeBuffer._data, writeBuffer._startWsHeader, bigBuffer._data, bytesCopied, _rsslSocketChannel.protocolType(),
 						_webSocketSession.isClient, finBit, false, WebSocketFrameParser._WS_OPC_CONT);
 				
 				int lastPosition = writeBuffer._data.position();
@@ -1,6 +1,7 @@
 package com.refinitiv.eta.transport;
 
 import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
 import java.util.SplittableRandom;
 import java.util.Objects;
 
@@ -134,19 +135,85 @@ class WebSocketFrameParser {
 		}
 	}
 	
+	static int getMaskValue(byte[] mask)
+	{
+		return ((mask[0] & 0xFF) << 24) | ((mask[1] & 0xFF) << 16) | ((mask[2] & 0xFF) << 8) | (mask[3] & 0xFF);
+	}
+	
+	/* The mask key repeated twice, as read by getLong() from a buffer with the given byte order. */
+	static long getLongMask(int maskValue, ByteOrder order)
+	{
+		if (order == ByteOrder.LITTLE_ENDIAN)
+			maskValue = Integer.reverseBytes(maskValue);
+		
+		return ((long)maskValue << 32) | (maskValue & 0xFFFFFFFFL);
+	}
+	
 	static void maskDataBlock(byte[] mask, byte[] data, int index, int length)
 	{
-		for(int i = 0; i < length; i++, index++)
+		maskDataBlock(getMaskValue(mask), data, index, length);
+	}
+	
+	static void maskDataBlock(byte[] mask, ByteBuffer byteBuffer, int index, int length)
+	{
+		maskDataBlock(getMaskValue(mask), byteBuffer, index, length);
+	}
+	
+	/* Masks or unmasks the data in place, 8 bytes per step. */
+	static void maskDataBlock(int maskValue, byte[] data, int index, int length)
+	{
+		final byte m0 = (byte)(maskValue >> 24);
+		final byte m1 = (byte)(maskValue >> 16);
+		final byte m2 = (byte)(maskValue >> 8);
+		final byte m3 = (byte)maskValue;
+		final int blockEnd = index + (length & ~7);
+		final int end = index + length;
+		
+		for(; index < blockEnd; index += 8)
 		{
-			data[index] = (byte) (data[index] ^ mask[(i%4)]);
+			data[index] ^= m0;
+			data[index + 1] ^= m1;
+			data[index + 2] ^= m2;
+			data[index + 3] ^= m3;
+			data[index + 4] ^= m0;
+			data[index + 5] ^= m1;
+			data[index + 6] ^= m2;
+			data[index + 7] ^= m3;
+		}
+		
+		/* The remaining bytes start at the first byte of the mask key. */
+		for(int i = 0; index < end; i++, index++)
+		{
+			data[index] ^= (byte)(maskValue >>> (24 - ((i & 3) << 3)));
 		}
 	}
 	
-	static void maskDataBlock(byte[] mask, ByteBuffer byteBuffer, int index, int length)
+	/* Masks or unmasks the data of a heap or direct buffer in place, 8 bytes per step. */
+	static void maskDataBlock(int maskValue, ByteBuffer byteBuffer, int index, int length)
 	{
-		for(int i = 0; i < length; i++, index++)
+		copyAndMaskDataBlock(maskValue, byteBuffer, index, byteBuffer, index, length);
+	}
+	
+	/* Copies the data from the source buffer to the destination buffer and masks it, 8 bytes per step.
+	 * The source and destination may be the same buffer at the same index, but must not overlap otherwise.
+	 * The positions and limits of the buffers are not changed. */
+	static void copyAndMaskDataBlock(int maskValue, ByteBuffer src, int srcIndex, ByteBuffer dest, int destIndex, int length)
+	{
+		final long longMask = getLongMask(maskValue, src.order());
+		final boolean swapBytes = (src.order() != dest.order());
+		final int blockLength = length & ~7;
+		int i = 0;
+		
+		for(; i < blockLength; i += 8)
+		{
+			long value = src.getLong(srcIndex + i) ^ longMask;
+			dest.putLong(destIndex + i, swapBytes ? Long.reverseBytes(value) : value);
+		}
+		
+		/* The remaining bytes start at the first byte of the mask key. */
+		for(; i < length; i++)
 		{
-			byteBuffer.put(index, (byte)(byteBuffer.get(index) ^ mask[(i%4)]));
+			dest.put(destIndex + i, (byte)(src.get(srcIndex + i) ^ (maskValue >>> (24 - ((i & 3) << 3)))));
 		}
 	}
 	
@@ -220,7 +287,7 @@ class WebSocketFrameParser {
 			{
 				if(frame.extHdrLen == _WS_2BYTE_EXT_PAYLOAD)
 				{
-					frame.payloadLen = buffer.getShort(frame.extHdrIndex);
+					frame.payloadLen = (buffer.getShort(frame.extHdrIndex) & 0xFFFF);
 					frame.extHdrIndex += 2;
 				}
 				else
@@ -270,6 +337,19 @@ class WebSocketFrameParser {
 	}
 	
 	static int encode(ByteBuffer msgBuffer, int index, long dataLength, int protocol, boolean isClient, boolean finBit, boolean compressed, int opCode)
+	{
+		return encode(msgBuffer, index, dataLength, null, protocol, isClient, finBit, compressed, opCode);
+	}
+	
+	/* Encodes the frame header at index and copies the payload from the position of the source buffer after it,
+	 * masking it during the copy for client frames. The position of the source buffer is advanced by dataLength and
+	 * the position of the message buffer is set after the payload. */
+	static int encode(ByteBuffer msgBuffer, int index, ByteBuffer source, int dataLength, int protocol, boolean isClient, boolean finBit, boolean compressed, int opCode)
+	{
+		return encode(msgBuffer, index, dataLength, source, protocol, isClient, finBit, compressed, opCode);
+	}
+	
+	private static int encode(ByteBuffer msgBuffer, int index, long dataLength, ByteBuffer source, int protocol, boolean isClient, boolean finBit, boolean compressed, int opCode)
 	{
 		int maskLen;
 		int plHdrLen;
@@ -288,25 +368,27 @@ class WebSocketFrameParser {
 		hdrLen = plHdrLen + maskLen; /* + [ 0 | 4 ] */
 		
 		/* Always reset the first byte of the buffer. */
-		msgBuffer.array()[hdrIndex] = 0;
+		int firstByte = 0;
 		
 		/* Set FIN */
 		if (finBit)
-			setBit(msgBuffer.array(), hdrIndex, 7);
+			firstByte |= (1 << _WS_BIT_POS_FIN);
 		
 		/* Set RSV1 */
 		if (compressed)
-			setBit(msgBuffer.array(), hdrIndex, 6);
+			firstByte |= (1 << _WS_BIT_POS_RSV1);
 		
 		if (opCode != _WS_OPC_NONE)
 			/* set opcode for arg opcode frame */
-			msgBuffer.array()[hdrIndex] |= (opCode & 0x0F);
+			firstByte |= (opCode & 0x0F);
 		else if (protocol == _WS_SP_JSON2)
 			/* set opcode for text frame */
-			msgBuffer.array()[hdrIndex] |= (_WS_OPC_TEXT & 0x0F);
+			firstByte |= (_WS_OPC_TEXT & 0x0F);
 		else
 			/* set opcode for binary frame */
-			msgBuffer.array()[hdrIndex] |= (_WS_OPC_BINARY & 0x0F);
+			firstByte |= (_WS_OPC_BINARY & 0x0F);
+		
+		msgBuffer.put(hdrIndex, (byte)firstByte);
 		
 		/* Populate the WS payload length field or 
 		 * the Extended payload length(126|127) */
@@ -338,13 +420,28 @@ class WebSocketFrameParser {
 			int maskValue = getRandomValue();
 			WebSocketFrameParser._lastMaskValue = maskValue;
 			int maskOffSet = hdrLen - maskLen;
-			byte[] mask = new byte[4];
 
-			setBit(msgBuffer.array(), hdrIndex + 1, 7);
+			msgBuffer.put(hdrIndex + 1, (byte)(msgBuffer.get(hdrIndex + 1) | (1 << _WS_BIT_POS_MASKKEY)));
 			msgBuffer.putInt(hdrIndex + maskOffSet, maskValue);
 			
-			setMaskKey(mask, maskValue);
-			maskDataBlock(mask,msgBuffer.array(), hdrIndex + hdrLen, (int)dataLength);
+			if (source != null)
+			{
+				copyAndMaskDataBlock(maskValue, source, source.position(), msgBuffer, hdrIndex + hdrLen, (int)dataLength);
+				source.position(source.position() + (int)dataLength);
+				msgBuffer.position(hdrIndex + hdrLen + (int)dataLength);
+			}
+			else
+			{
+				maskDataBlock(maskValue, msgBuffer, hdrIndex + hdrLen, (int)dataLength);
+			}
+		}
+		else if (source != null)
+		{
+			int sourceLimit = source.limit();
+			source.limit(source.position() + (int)dataLength);
+			msgBuffer.position(hdrIndex + hdrLen);
+			msgBuffer.put(source);
+			source.limit(sourceLimit);
 		}
 	
 		return hdrLen;
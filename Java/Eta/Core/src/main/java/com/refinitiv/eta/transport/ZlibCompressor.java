@@ -1,10 +1,8 @@
 package com.refinitiv.eta.transport;
 
-import java.io.ByteArrayOutputStream;
 import java.nio.ByteBuffer;
 import java.util.zip.DataFormatException;
 import java.util.zip.Deflater;
-import java.util.zip.DeflaterOutputStream;
 import java.util.zip.Inflater;
 
 class ZlibCompressor extends Compressor
@@ -13,17 +11,15 @@ class ZlibCompressor extends Compressor
 
     private Deflater _deflater;
     private Inflater _inflater;
-    private DeflaterOutputStream _deflaterOutputStream;
-    private ByteArrayOutputStream _compressedBytesOutputStream;
     private byte[] _compressedBytes;
+    private int _compressedBytesLen;
     private byte[] _decompressedBytes;
     private byte[] _compressByteArray;
+    private byte[] _bytesToDecompress;
     private int _numBytesAfterDecompress;
     private int _maxCompressionLen;
     private boolean _appendTrailing;
     private boolean _compressnocontexttakeover;
-    private boolean _nowrap;
-    private int _compressionLevel;
     final static byte[] EndingTrailing = new byte[4];
 
     {
@@ -35,8 +31,6 @@ class ZlibCompressor extends Compressor
         _maxCompressionLen = 6144;
         _appendTrailing = false;
         _compressnocontexttakeover = false;
-        _nowrap = false;
-        _compressionLevel = DEFAULT_ZLIB_COMPRESSION_LEVEL;
     }
 
     ZlibCompressor()
@@ -54,220 +48,143 @@ class ZlibCompressor extends Compressor
     {
         _deflater = new Deflater(compressionLevel, nowrap);
         _inflater = new Inflater(nowrap);
-        
-        _compressionLevel = compressionLevel;
-        _nowrap = nowrap;
     }
 
     @Override
     int compress(TransportBufferImpl bufferToCompress, int dataStartPos, int lenToCompress)
     {
-        if (_appendTrailing) {
-            _deflater.reset();
-        }
-        
-        if(_compressnocontexttakeover) {
-        	
-        	_deflater.end();
-        	_deflater = new Deflater(_compressionLevel, _nowrap);
-        	
-        	if (_compressedBytesOutputStream == null)
-        		_compressedBytesOutputStream = new ByteArrayOutputStream(getMaxCompressedLength(_maxCompressionLen));
-        	else
-        		_compressedBytesOutputStream.reset();
-        	
-        	_deflaterOutputStream = new DeflaterOutputStream(_compressedBytesOutputStream, _deflater,
-                    getMaxCompressedLength(_maxCompressionLen), true);
-        }
-        
-        // lazily initialize _compressedBytesOutputStream buffer since we don't know size up front
-        if (_compressedBytesOutputStream == null)
-        {
-            _compressedBytesOutputStream = new ByteArrayOutputStream(getMaxCompressedLength(_maxCompressionLen));
-        }
-        // lazily initialize _deflaterOutputStream buffer since we don't know size up front
-        if (_deflaterOutputStream == null)
-        {
-            _deflaterOutputStream = new DeflaterOutputStream(_compressedBytesOutputStream, _deflater,
-                    getMaxCompressedLength(_maxCompressionLen), true);
-        }
-        // lazily initialize _compressByteArray buffer since we don't know size up front
-        if (_compressByteArray == null)
-        {
-            _compressByteArray = new byte[_maxCompressionLen];
-        }
-        // copy bufferToCompress contents to _compressByteArray
-        for (int i = 0; i < lenToCompress; i++)
-        {
-            _compressByteArray[i] = bufferToCompress.data().get(dataStartPos + i);
-        }
-        _compressedBytesOutputStream.reset();
-        try
-        {
-            // write bytes to compress
-            _deflaterOutputStream.write(_compressByteArray, 0, lenToCompress);
-            // flush bytes to compress
-            _deflaterOutputStream.flush();
-        }
-        catch (Exception e)
-        {
-            throw new CompressorException(e.getLocalizedMessage());
-        }
-        // get compressed bytes
-        _compressedBytes = _compressedBytesOutputStream.toByteArray();
-
-        // System.out.println("[ZLIB-C2] in=" + lenToCompress + " compressed=" + _compressedBytes.length);
-        return _compressedBytes.length;
+        return compress(bufferToCompress.data(), dataStartPos, lenToCompress);
     }
 
     @Override
     int compress(ByteBuffer bufferToCompress, int dataStartPos, int lenToCompress)
     {
-        if (_appendTrailing) {
+        if (_appendTrailing || _compressnocontexttakeover) {
+            // a reset Deflater keeps its level and nowrap setting, so there is no need to create a new one
             _deflater.reset();
         }
         
-        if(_compressnocontexttakeover) {
-        	
-        	_deflater.end();
-        	_deflater = new Deflater(_compressionLevel, _nowrap);
-        	
-        	if (_compressedBytesOutputStream == null)
-        		_compressedBytesOutputStream = new ByteArrayOutputStream(getMaxCompressedLength(_maxCompressionLen));
-        	else
-        		_compressedBytesOutputStream.reset();
-        	
-        	 _deflaterOutputStream = new DeflaterOutputStream(_compressedBytesOutputStream, _deflater,
-                     getMaxCompressedLength(_maxCompressionLen), true);
-        }
-        
-        // lazily initialize _compressedBytesOutputStream buffer since we don't know size up front
-        if (_compressedBytesOutputStream == null)
-        {
-            _compressedBytesOutputStream = new ByteArrayOutputStream(getMaxCompressedLength(_maxCompressionLen));
-        }
-        // lazily initialize _deflaterOutputStream buffer since we don't know size up front
-        if (_deflaterOutputStream == null)
-        {
-            _deflaterOutputStream = new DeflaterOutputStream(_compressedBytesOutputStream, _deflater,
-                    getMaxCompressedLength(_maxCompressionLen), true);
-        }
-        // lazily initialize _compressByteArray buffer since we don't know size up front
-        if (_compressByteArray == null)
+        if (bufferToCompress.hasArray())
         {
-            _compressByteArray = new byte[_maxCompressionLen];
+            // deflate straight from the backing array
+            _deflater.setInput(bufferToCompress.array(), bufferToCompress.arrayOffset() + dataStartPos, lenToCompress);
         }
-        // copy bufferToCompress contents to _compressByteArray
-        for (int i = 0; i < lenToCompress; i++)
+        else
         {
-            _compressByteArray[i] = bufferToCompress.get(dataStartPos + i);
+            // lazily initialize _compressByteArray buffer since we don't know size up front
+            _compressByteArray = ensureCapacity(_compressByteArray, Math.max(_maxCompressionLen, lenToCompress));
+            copyToArray(bufferToCompress, dataStartPos, _compressByteArray, 0, lenToCompress);
+            _deflater.setInput(_compressByteArray, 0, lenToCompress);
         }
-        _compressedBytesOutputStream.reset();
+
+        // lazily initialize _compressedBytes buffer since we don't know size up front
+        _compressedBytes = ensureCapacity(_compressedBytes, getMaxCompressedLength(Math.max(_maxCompressionLen, lenToCompress)));
+        _compressedBytesLen = 0;
         try
         {
-            // write bytes to compress
-            _deflaterOutputStream.write(_compressByteArray, 0, lenToCompress);
-            // flush bytes to compress
-            _deflaterOutputStream.flush();
+            // same sequence as DeflaterOutputStream write() and flush(): consume all of the input,
+            // then sync flush. The first deflate may only apply a pending setLevel() and produce nothing.
+            while (!_deflater.needsInput())
+                deflate(Deflater.NO_FLUSH);
+
+            while (deflate(Deflater.SYNC_FLUSH))
+                ;
         }
         catch (Exception e)
         {
             throw new CompressorException(e.getLocalizedMessage());
         }
-        // get compressed bytes
-        _compressedBytes = _compressedBytesOutputStream.toByteArray();
 
-        // System.out.println("[ZLIB-C3] in=" + lenToCompress + " compressed=" + _compressedBytes.length);
-        return _compressedBytes.length;
+        return _compressedBytesLen;
     }
 
-    @Override
-    int decompress(TransportBufferImpl bufferToDecompress, TransportBufferImpl decompressedBuffer, int lenToDecompress)
+    /* Deflates into _compressedBytes after _compressedBytesLen, growing the array when it is full.
+     * Returns true if the output filled the available space, so deflate needs to be called again.
+     */
+    private boolean deflate(int flush)
     {
-        // lazily initialize _decompressedBytes buffer since we don't know size up front
-        if (_decompressedBytes == null)
+        if (_compressedBytesLen == _compressedBytes.length)
         {
-            _decompressedBytes = new byte[_maxCompressionLen];
+            byte[] compressedBytes = new byte[_compressedBytes.length * 2];
+            System.arraycopy(_compressedBytes, 0, compressedBytes, 0, _compressedBytesLen);
+            _compressedBytes = compressedBytes;
         }
 
-        // copy bufferToDecompress contents to byte array
-        byte[] byteArray = new byte[lenToDecompress + 4];
-        int contentStartPos = bufferToDecompress.dataStartPosition();
-        int i = 0;
-        for (; i < lenToDecompress; i++)
-        {
-            byteArray[i] = bufferToDecompress.data().get(contentStartPos + i);
-        }
-
-        if(_appendTrailing)
-        {
-            lenToDecompress += 4;
-            for(int j = 0; j < 4; j++)
-            {
-                byteArray[i + j] = EndingTrailing[j];
-            }
-        }
-
-        _inflater.setInput(byteArray, 0, lenToDecompress);
-        try
-        {
-            _numBytesAfterDecompress = _inflater.inflate(_decompressedBytes);
-            decompressedBuffer.data().clear();
-            decompressedBuffer.data().put(_decompressedBytes, 0, _numBytesAfterDecompress);
-            decompressedBuffer.data().limit(decompressedBuffer.data().position());
-            decompressedBuffer.data().position(0);
-        }
-        catch (DataFormatException e)
-        {
-            throw new CompressorException(e.getLocalizedMessage());
-        }
+        int space = _compressedBytes.length - _compressedBytesLen;
+        int len = _deflater.deflate(_compressedBytes, _compressedBytesLen, space, flush);
+        _compressedBytesLen += len;
+        return len == space;
+    }
 
-        // System.out.println("[ZLIB-decompress-TransportBufferImpl] in=" + lenToDecompress + " decompressed=" + _numBytesAfterDecompress);
+    @Override
+    int decompress(TransportBufferImpl bufferToDecompress, TransportBufferImpl decompressedBuffer, int lenToDecompress)
+    {
+        _numBytesAfterDecompress = inflate(bufferToDecompress.data(), bufferToDecompress.dataStartPosition(), decompressedBuffer.data(), lenToDecompress);
         return _numBytesAfterDecompress;
     }
 
     @Override
     int decompress(ByteBufferPair bufferToDecompress, ByteBufferPair decompressedBuffer, int dataStartPos, int lenToDecompress)
+    {
+        _numBytesAfterDecompress = inflate(bufferToDecompress.buffer(), dataStartPos, decompressedBuffer.buffer(), lenToDecompress);
+        return _numBytesAfterDecompress;
+    }
+
+    /* Inflates lenToDecompress bytes of src starting at dataStartPos into dst,
+     * which is left with position 0 and limit set to the decompressed length.
+     */
+    private int inflate(ByteBuffer src, int dataStartPos, ByteBuffer dst, int lenToDecompress)
     {
         // lazily initialize _decompressedBytes buffer since we don't know size up front
         if (_decompressedBytes == null)
         {
             _decompressedBytes = new byte[_maxCompressionLen];
         }
-        // copy bufferToDecompress contents to byte array
-        byte[] byteArray = new byte[lenToDecompress + 4];
-        int i = 0;
-        for (; i < lenToDecompress; i++)
-        {
-            byteArray[i] = bufferToDecompress.buffer().get(dataStartPos + i);
-        }
 
-        if(_appendTrailing)
+        if (_appendTrailing || !src.hasArray())
         {
-            lenToDecompress += 4;
-            for(int j = 0; j < 4; j++)
+            // copy to a reusable array which has room for the trailing bytes
+            _bytesToDecompress = ensureCapacity(_bytesToDecompress, lenToDecompress + EndingTrailing.length);
+            copyToArray(src, dataStartPos, _bytesToDecompress, 0, lenToDecompress);
+
+            if (_appendTrailing)
             {
-                byteArray[i + j] = EndingTrailing[j];
+                System.arraycopy(EndingTrailing, 0, _bytesToDecompress, lenToDecompress, EndingTrailing.length);
+                lenToDecompress += EndingTrailing.length;
             }
+
+            _inflater.setInput(_bytesToDecompress, 0, lenToDecompress);
+        }
+        else
+        {
+            _inflater.setInput(src.array(), src.arrayOffset() + dataStartPos, lenToDecompress);
         }
 
-        _inflater.setInput(byteArray, 0, lenToDecompress);
+        int numBytesAfterDecompress;
         try
         {
-            _numBytesAfterDecompress = _inflater.inflate(_decompressedBytes);
-            decompressedBuffer.buffer().clear();
-            decompressedBuffer.buffer().put(_decompressedBytes, 0, _numBytesAfterDecompress);
-            decompressedBuffer.buffer().limit(decompressedBuffer.buffer().position());
-            decompressedBuffer.buffer().position(0);
+            if (dst.hasArray() && dst.capacity() >= _decompressedBytes.length)
+            {
+                // inflate straight into the backing array of the destination
+                numBytesAfterDecompress = _inflater.inflate(dst.array(), dst.arrayOffset(), _decompressedBytes.length);
+                dst.clear();
+                dst.limit(numBytesAfterDecompress);
+            }
+            else
+            {
+                numBytesAfterDecompress = _inflater.inflate(_decompressedBytes);
+                dst.clear();
+                dst.put(_decompressedBytes, 0, numBytesAfterDecompress);
+                dst.limit(dst.position());
+                dst.position(0);
+            }
         }
         catch (DataFormatException e)
         {
-            // System.out.println("[ZLIB-decompress-ByteBufferPair] error: " + e.getMessage());
             throw new CompressorException(e.getLocalizedMessage());
         }
 
-        // System.out.println("[ZLIB-decompress-ByteBufferPair] in=" + lenToDecompress + " decompressed=" + _numBytesAfterDecompress);
-        return _numBytesAfterDecompress;
+        return numBytesAfterDecompress;
     }
 
     @Override
@@ -297,7 +214,7 @@ class ZlibCompressor extends Compressor
     @Override
     int compressedDataLength()
     {
-        return _compressedBytes.length;
+        return _compressedBytesLen;
     }
 
     @Override
@@ -3495,6 +3495,7 @@ public class DecodersJunit
      * <li>Test fieldList with STANDARD_DATA and INFO, verify data with ETAC.</li>
      * <li>Test fieldEntry with field data that is longer than the ByteBuffer.</li>
      * <li>Test fieldEntry with field data that is longer than the RsslBuffer.</li>
+     * <li>Test fieldEntry with a two byte length that is cut off by the end of the RsslBuffer.</li>
      * </ol>
      */
     @Test
@@ -3607,6 +3608,15 @@ public class DecodersJunit
         // decode field entry fieldId=515, len of 4, but RsslBuffer has only one remaining byte, (INCOMPLETE_DATA)
         assertEquals(CodecReturnCodes.INCOMPLETE_DATA, fieldEntry.decode(dIter));
 
+        // Test fieldEntry with a two byte length that is cut off by the end of the RsslBuffer.
+        bb.put(5, (byte) 0xfe); // entry length is in the next two bytes
+        bb.rewind();
+        assertEquals(CodecReturnCodes.SUCCESS, buffer.data(bb, 0, 7));
+        dIter.clear();
+        dIter.setBufferAndRWFVersion(buffer, Codec.majorVersion(), Codec.minorVersion());
+        assertEquals(CodecReturnCodes.SUCCESS, fieldList.decode(dIter, null));
+        // decode field entry fieldId=515, only one byte of the two byte length is in the RsslBuffer (INCOMPLETE_DATA)
+        assertEquals(CodecReturnCodes.INCOMPLETE_DATA, fieldEntry.decode(dIter));
     }
     
     /**
@@ -10,7 +10,11 @@ package com.refinitiv.eta.codec;
 import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
 
+import java.io.File;
+import java.io.IOException;
 import java.nio.ByteBuffer;
 
 import org.junit.AfterClass;
@@ -1127,6 +1131,147 @@ public class DictionaryJunit
         assertEquals(CodecReturnCodes.FAILURE, decodedDictionary.decodeEnumTypeDictionary(decodeIter, Dictionary.VerbosityValues.NORMAL, error));
     }
 
+    /**
+     * Save dictionaries to binary dictionary files, load them back and verify
+     * that the contents are the same as those of the text files.
+     */
+    @Test
+    public void binaryDictionaryTest() throws IOException
+    {
+        com.refinitiv.eta.transport.Error error = TransportFactory.createError();
+        DataDictionary dictionary = CodecFactory.createDataDictionary();
+        DataDictionary binaryDictionary = CodecFactory.createDataDictionary();
+        File binaryFile = File.createTempFile("RDMDictionary", ".bin");
+        binaryFile.deleteOnExit();
+
+        // nothing to save
+        dictionary.clear();
+        assertEquals(CodecReturnCodes.FAILURE, dictionary.saveBinaryDictionary(binaryFile.getPath(), error));
+        assertEquals(CodecReturnCodes.FAILURE, dictionary.saveBinaryDictionary(null, error));
+
+        // full dictionary, including enum displays stored as hex
+        dictionary.clear();
+        assertEquals(CodecReturnCodes.SUCCESS, dictionary.loadFieldDictionary("../../etc/RDMFieldDictionary", error));
+        assertEquals(CodecReturnCodes.SUCCESS, dictionary.loadEnumTypeDictionary("../../etc/enumtype.def", error));
+        assertEquals(CodecReturnCodes.SUCCESS, dictionary.saveBinaryDictionary(binaryFile.getPath(), error));
+
+        binaryDictionary.clear();
+        assertEquals(CodecReturnCodes.SUCCESS, binaryDictionary.loadFieldDictionary(binaryFile.getPath(), error));
+        assertEquals(CodecReturnCodes.SUCCESS, binaryDictionary.loadEnumTypeDictionary(binaryFile.getPath(), error));
+        assertEquals(dictionary.toString(), binaryDictionary.toString());
+        assertEquals(dictionary.numberOfEntries(), binaryDictionary.numberOfEntries());
+        assertEquals(dictionary.enumTableCount(), binaryDictionary.enumTableCount());
+        assertEquals(dictionary.infoFieldVersion().toString(), binaryDictionary.infoFieldVersion().toString());
+        assertEquals(dictionary.infoEnumRTVersion().toString(), binaryDictionary.infoEnumRTVersion().toString());
+
+        // tables are shared by the fields referencing them and hex displays are kept as bytes
+        DictionaryEntry entry = binaryDictionary.entry(15); // CURRENCY
+        assertNotNull(entry.enumTypeTable());
+        assertEquals(dictionary.entry(15).enumTypeTable().maxValue(), entry.enumTypeTable().maxValue());
+        Enum enumValue = CodecFactory.createEnum();
+        for (int fid = dictionary.minFid(); fid <= dictionary.maxFid(); fid++)
+        {
+            DictionaryEntry textEntry = dictionary.entry(fid);
+            if (textEntry == null || textEntry.enumTypeTable() == null)
+                continue;
+            EnumTypeTable textTable = textEntry.enumTypeTable();
+            EnumTypeTable binaryTable = binaryDictionary.entry(fid).enumTypeTable();
+            for (int value = 0; value <= textTable.maxValue(); value++)
+            {
+                enumValue.value(value);
+                EnumType textType = dictionary.entryEnumType(textEntry, enumValue);
+                EnumType binaryType = binaryDictionary.entryEnumType(binaryDictionary.entry(fid), enumValue);
+                if (textType == null)
+                {
+                    assertNull(binaryType);
+                    continue;
+                }
+                assertTrue(textType.display().equals(binaryType.display()));
+                assertEquals(textType.meaning().toString(), binaryType.meaning().toString());
+            }
+            assertEquals(textTable.fidReferenceCount(), binaryTable.fidReferenceCount());
+        }
+
+        // enum tables alone, loaded before the field definitions
+        dictionary.clear();
+        assertEquals(CodecReturnCodes.SUCCESS, dictionary.loadEnumTypeDictionary("src/test/resources/com/refinitiv/eta/data/Codec/enumtypeBoundary.def", error));
+        assertEquals(CodecReturnCodes.SUCCESS, dictionary.saveBinaryDictionary(binaryFile.getPath(), error));
+        binaryDictionary.clear();
+        assertEquals(CodecReturnCodes.FAILURE, binaryDictionary.loadFieldDictionary(binaryFile.getPath(), error));
+        binaryDictionary.clear();
+        assertEquals(CodecReturnCodes.SUCCESS, binaryDictionary.loadEnumTypeDictionary(binaryFile.getPath(), error));
+        assertEquals(CodecReturnCodes.SUCCESS, binaryDictionary.loadFieldDictionary("src/test/resources/com/refinitiv/eta/data/Codec/RDMFieldDictionaryBoundary", error));
+        assertEquals(CodecReturnCodes.SUCCESS, dictionary.loadFieldDictionary("src/test/resources/com/refinitiv/eta/data/Codec/RDMFieldDictionaryBoundary", error));
+        assertEquals(dictionary.toString(), binaryDictionary.toString());
+
+        // field definitions with boundary fids, text and binary files mixed
+        dictionary.clear();
+        assertEquals(CodecReturnCodes.SUCCESS, dictionary.loadFieldDictionary("src/test/resources/com/refinitiv/eta/data/Codec/RDMFieldDictionaryBoundary", error));
+        assertEquals(CodecReturnCodes.SUCCESS, dictionary.saveBinaryDictionary(binaryFile.getPath(), error));
+        binaryDictionary.clear();
+        assertEquals(CodecReturnCodes.FAILURE, binaryDictionary.loadEnumTypeDictionary(binaryFile.getPath(), error));
+        binaryDictionary.clear();
+        assertEquals(CodecReturnCodes.SUCCESS, binaryDictionary.loadFieldDictionary(binaryFile.getPath(), error));
+        assertEquals(CodecReturnCodes.FAILURE, binaryDictionary.loadFieldDictionary(binaryFile.getPath(), error)); // duplicate fids
+        binaryDictionary.clear();
+        assertEquals(CodecReturnCodes.SUCCESS, binaryDictionary.loadFieldDictionary(binaryFile.getPath(), error));
+        assertEquals(CodecReturnCodes.SUCCESS, binaryDictionary.loadEnumTypeDictionary("src/test/resources/com/refinitiv/eta/data/Codec/enumtypeBoundary.def", error));
+        assertEquals(CodecReturnCodes.SUCCESS, dictionary.loadEnumTypeDictionary("src/test/resources/com/refinitiv/eta/data/Codec/enumtypeBoundary.def", error));
+        assertEquals(dictionary.toString(), binaryDictionary.toString());
+        assertEquals(dictionary.minFid(), binaryDictionary.minFid());
+        assertEquals(dictionary.maxFid(), binaryDictionary.maxFid());
+    }
+
+    /**
+     * Save a dictionary decoded from a dictionary response to a binary dictionary
+     * file and verify that loading it gives the same dictionary.
+     */
+    @Test
+    public void binaryDictionaryFromDecodedDictionaryTest() throws IOException
+    {
+        com.refinitiv.eta.transport.Error error = TransportFactory.createError();
+        DataDictionary dictionary = CodecFactory.createDataDictionary();
+        DataDictionary decodedDictionary = CodecFactory.createDataDictionary();
+        DataDictionary binaryDictionary = CodecFactory.createDataDictionary();
+        Buffer buf = CodecFactory.createBuffer();
+        EncodeIterator encodeIter = CodecFactory.createEncodeIterator();
+        DecodeIterator decodeIter = CodecFactory.createDecodeIterator();
+        Int dictionaryFid = CodecFactory.createInt();
+        File binaryFile = File.createTempFile("RDMDictionary", ".bin");
+        binaryFile.deleteOnExit();
+
+        dictionary.clear();
+        assertEquals(CodecReturnCodes.SUCCESS, dictionary.loadFieldDictionary("../../etc/RDMFieldDictionary", error));
+        assertEquals(CodecReturnCodes.SUCCESS, dictionary.loadEnumTypeDictionary("../../etc/enumtype.def", error));
+
+        // encode and decode the field definitions and the enum tables, as sent in dictionary responses
+        decodedDictionary.clear();
+        buf.data(ByteBuffer.allocate(1000000));
+        encodeIter.setBufferAndRWFVersion(buf, Codec.majorVersion(), Codec.minorVersion());
+        dictionaryFid.value(dictionary.minFid());
+        assertEquals(CodecReturnCodes.SUCCESS, dictionary.encodeFieldDictionary(encodeIter, dictionaryFid, Dictionary.VerbosityValues.NORMAL, error));
+        buf.data(buf.data(), 0, buf.length());
+        decodeIter.setBufferAndRWFVersion(buf, Codec.majorVersion(), Codec.minorVersion());
+        assertEquals(CodecReturnCodes.SUCCESS, decodedDictionary.decodeFieldDictionary(decodeIter, Dictionary.VerbosityValues.NORMAL, error));
+
+        buf.data(ByteBuffer.allocate(1000000));
+        encodeIter.clear();
+        encodeIter.setBufferAndRWFVersion(buf, Codec.majorVersion(), Codec.minorVersion());
+        assertEquals(CodecReturnCodes.SUCCESS, dictionary.encodeEnumTypeDictionary(encodeIter, Dictionary.VerbosityValues.NORMAL, error));
+        buf.data(buf.data(), 0, buf.length());
+        decodeIter.clear();
+        decodeIter.setBufferAndRWFVersion(buf, Codec.majorVersion(), Codec.minorVersion());
+        assertEquals(CodecReturnCodes.SUCCESS, decodedDictionary.decodeEnumTypeDictionary(decodeIter, Dictionary.VerbosityValues.NORMAL, error));
+
+        assertEquals(CodecReturnCodes.SUCCESS, decodedDictionary.saveBinaryDictionary(binaryFile.getPath(), error));
+        binaryDictionary.clear();
+        assertEquals(CodecReturnCodes.SUCCESS, binaryDictionary.loadFieldDictionary(binaryFile.getPath(), error));
+        assertEquals(CodecReturnCodes.SUCCESS, binaryDictionary.loadEnumTypeDictionary(binaryFile.getPath(), error));
+        assertEquals(decodedDictionary.toString(), binaryDictionary.toString());
+        assertEquals(dictionary.numberOfEntries(), binaryDictionary.numberOfEntries());
+        assertEquals(dictionary.enumTableCount(), binaryDictionary.enumTableCount());
+    }
+
     // copy encoded data into byte[]
     private byte[] convertToByteArray(ByteBuffer bb)
     {
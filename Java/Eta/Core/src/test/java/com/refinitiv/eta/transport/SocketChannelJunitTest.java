@@ -9,6 +9,7 @@ import static org.junit.Assert.fail;
 
 import java.io.IOException;
 import java.lang.reflect.Field;
+import java.net.Socket;
 import java.net.SocketException;
 import java.nio.ByteBuffer;
 import java.nio.channels.NotYetConnectedException;
@@ -5811,6 +5812,195 @@ public class SocketChannelJunitTest
             assertTrue(false);
         }
     }
+
+    /* Creates a channel whose socket writes copy up to maxBytesPerWrite bytes to _junitTestBuffer. */
+    private RsslSocketChannel createCoalescingTestChannel(final int maxBytesPerWrite)
+    {
+        RsslSocketChannel rsslChnl = new RsslSocketChannel()
+        {
+            @Override
+            public long write(ByteBuffer[] srcs, int offset, int length)
+            {
+                int cumulativeBytes = 0;
+
+                for (int i = offset; i < offset + length && cumulativeBytes < maxBytesPerWrite; i++)
+                {
+                    for (int j = srcs[i].position(); j < srcs[i].limit() && cumulativeBytes < maxBytesPerWrite; j++)
+                    {
+                        _junitTestBuffer[_junitTestBufPosition++] = srcs[i].get(j);
+                        cumulativeBytes++;
+                    }
+                }
+
+                return cumulativeBytes;
+            }
+
+            @Override
+            void releaseBufferInternal(TransportBuffer bufferInt)
+            {
+
+            }
+        };
+
+        rsslChnl._junitTestBuffer = new byte[1224];
+        rsslChnl._junitTestBufPosition = 0;
+        rsslChnl._state = ChannelState.ACTIVE;
+        rsslChnl._totalBytesQueued = 0;
+
+        return rsslChnl;
+    }
+
+    private TransportBufferImpl createCoalescingTestBuffer(String testData)
+    {
+        TransportBufferImpl transBuf = new TransportBufferImpl(testData.length() + 3);
+        transBuf._data.position(3);
+        transBuf._isWriteBuffer = true;
+        transBuf.data().put(testData.getBytes());
+        return transBuf;
+    }
+
+    /*
+     * 30. Call write method and then flush method with
+     *
+     * - HIGH, MEDIUM and LOW priority
+     * - write coalescing enabled and coalescing bytes not reached
+     * -java.nio.channels.SocketChannel.write() returns all bytes sent for flush call
+     *
+     * Expected Result: Buffers are queued by write method, then sent in priority flush order
+     * by a single socket write of the coalescing buffer.
+     */
+    @Test
+    public void basicWFPTestCase30()
+    {
+        String testDataHigh = "basicWFPTestCase30High";
+        String testDataMedium = "basicWFPTestCase30Medium";
+        String testDataLow = "basicWFPTestCase30Low";
+        WriteArgs writeArgs = TransportFactory.createWriteArgs();
+        Error error = TransportFactory.createError();
+        ChannelInfo info = TransportFactory.createChannelInfo();
+
+        RsslSocketChannel rsslChnl = createCoalescingTestChannel(Integer.MAX_VALUE);
+        assertEquals(TransportReturnCodes.SUCCESS, rsslChnl.ioctl(IoctlCodes.WRITE_COALESCING_BYTES, 1000, error));
+        assertEquals(TransportReturnCodes.SUCCESS, rsslChnl.ioctl(IoctlCodes.WRITE_COALESCING_LATENCY, 0, error));
+
+        int cumulativeBytesQueued = 0;
+
+        writeArgs.flags(WriteFlags.NO_FLAGS);
+        writeArgs.priority(WritePriorities.LOW);
+        cumulativeBytesQueued += testDataLow.length() + 3;
+        assertEquals(cumulativeBytesQueued, rsslChnl.write(createCoalescingTestBuffer(testDataLow), writeArgs, error));
+        writeArgs.priority(WritePriorities.MEDIUM);
+        cumulativeBytesQueued += testDataMedium.length() + 3;
+        assertEquals(cumulativeBytesQueued, rsslChnl.write(createCoalescingTestBuffer(testDataMedium), writeArgs, error));
+        writeArgs.priority(WritePriorities.HIGH);
+        cumulativeBytesQueued += testDataHigh.length() + 3;
+        assertEquals(cumulativeBytesQueued, rsslChnl.write(createCoalescingTestBuffer(testDataHigh), writeArgs, error));
+
+        // nothing sent before flush
+        assertEquals(0, rsslChnl._junitTestBufPosition);
+
+        assertEquals(0, rsslChnl.flush(error));
+        assertEquals(0, rsslChnl._totalBytesQueued);
+        assertEquals(cumulativeBytesQueued, rsslChnl._junitTestBufPosition);
+
+        // verify bytes are written in priority flush order
+        assertEquals(testDataHigh, new String(rsslChnl._junitTestBuffer, 3, testDataHigh.length()));
+        assertEquals(testDataMedium, new String(rsslChnl._junitTestBuffer, 28, testDataMedium.length()));
+        assertEquals(testDataLow, new String(rsslChnl._junitTestBuffer, 55, testDataLow.length()));
+
+        // one socket write for three buffers
+        assertEquals(1, rsslChnl._socketWriteCount);
+        assertEquals(cumulativeBytesQueued, rsslChnl._socketBytesWritten);
+        assertEquals(3, rsslChnl._buffersWritten);
+
+        rsslChnl._scktChannel = Mockito.mock(SocketHelper.class);
+        Mockito.when(rsslChnl._scktChannel.socket()).thenReturn(new Socket());
+        assertEquals(TransportReturnCodes.SUCCESS, rsslChnl.info(info, error));
+        assertEquals(1, info.socketWriteCount());
+        assertEquals(cumulativeBytesQueued, info.socketBytesWritten());
+        assertEquals(3, info.buffersWritten());
+    }
+
+    /*
+     * 31. Call write method and then flush method with
+     *
+     * - HIGH and MEDIUM priority
+     * - write coalescing enabled
+     * -java.nio.channels.SocketChannel.write() returns partial bytes sent for each call
+     *
+     * Expected Result: The write method flushes when the coalescing bytes are queued, and
+     * flush resumes the coalescing buffer where the previous socket write stopped.
+     */
+    @Test
+    public void basicWFPTestCase31()
+    {
+        String testDataHigh = "basicWFPTestCase31High";
+        String testDataMedium = "basicWFPTestCase31Medium";
+        WriteArgs writeArgs = TransportFactory.createWriteArgs();
+        Error error = TransportFactory.createError();
+
+        RsslSocketChannel rsslChnl = createCoalescingTestChannel(16);
+        int coalescingBytes = testDataHigh.length() + 3 + testDataMedium.length() + 3;
+        assertEquals(TransportReturnCodes.SUCCESS, rsslChnl.ioctl(IoctlCodes.WRITE_COALESCING_BYTES, coalescingBytes, error));
+        assertEquals(TransportReturnCodes.SUCCESS, rsslChnl.ioctl(IoctlCodes.WRITE_COALESCING_LATENCY, 0, error));
+
+        writeArgs.flags(WriteFlags.NO_FLAGS);
+        writeArgs.priority(WritePriorities.MEDIUM);
+        assertEquals(testDataMedium.length() + 3, rsslChnl.write(createCoalescingTestBuffer(testDataMedium), writeArgs, error));
+        assertEquals(0, rsslChnl._socketWriteCount);
+
+        // coalescing bytes reached, 16 bytes sent
+        writeArgs.priority(WritePriorities.HIGH);
+        assertEquals(coalescingBytes - 16, rsslChnl.write(createCoalescingTestBuffer(testDataHigh), writeArgs, error));
+        assertEquals(1, rsslChnl._socketWriteCount);
+
+        int cumulativeBytesQueued = coalescingBytes - 16;
+        while (cumulativeBytesQueued > 0)
+        {
+            int flushRetVal = rsslChnl.flush(error);
+            assertEquals(Math.max(cumulativeBytesQueued - 16, 0), flushRetVal);
+            assertEquals(flushRetVal, rsslChnl._totalBytesQueued);
+            cumulativeBytesQueued = flushRetVal;
+        }
+
+        assertEquals(coalescingBytes, rsslChnl._junitTestBufPosition);
+        assertEquals(testDataHigh, new String(rsslChnl._junitTestBuffer, 3, testDataHigh.length()));
+        assertEquals(testDataMedium, new String(rsslChnl._junitTestBuffer, 28, testDataMedium.length()));
+        assertEquals((coalescingBytes + 15) / 16, rsslChnl._socketWriteCount);
+        assertEquals(coalescingBytes, rsslChnl._socketBytesWritten);
+        assertEquals(2, rsslChnl._buffersWritten);
+    }
+
+    /*
+     * 32. Call write method with
+     *
+     * - write coalescing enabled with a latency
+     * - coalescing bytes not reached
+     *
+     * Expected Result: The write method flushes once the first queued buffer waited for the latency.
+     */
+    @Test
+    public void basicWFPTestCase32() throws InterruptedException
+    {
+        String testData = "basicWFPTestCase32";
+        WriteArgs writeArgs = TransportFactory.createWriteArgs();
+        Error error = TransportFactory.createError();
+
+        RsslSocketChannel rsslChnl = createCoalescingTestChannel(Integer.MAX_VALUE);
+        assertEquals(TransportReturnCodes.SUCCESS, rsslChnl.ioctl(IoctlCodes.WRITE_COALESCING_BYTES, 65536, error));
+        assertEquals(TransportReturnCodes.SUCCESS, rsslChnl.ioctl(IoctlCodes.WRITE_COALESCING_LATENCY, 1000, error));
+
+        writeArgs.flags(WriteFlags.NO_FLAGS);
+        writeArgs.priority(WritePriorities.HIGH);
+        assertEquals(testData.length() + 3, rsslChnl.write(createCoalescingTestBuffer(testData), writeArgs, error));
+
+        Thread.sleep(5);
+
+        // latency passed, both buffers sent by one socket write
+        assertEquals(0, rsslChnl.write(createCoalescingTestBuffer(testData), writeArgs, error));
+        assertEquals(1, rsslChnl._socketWriteCount);
+        assertEquals(2 * (testData.length() + 3), rsslChnl._junitTestBufPosition);
+    }
     ////// END basic write(), flush() and ping() tests //////
 
     /*
@@ -8357,6 +8547,133 @@ public class SocketChannelJunitTest
         }
     }
 
+    /*
+     * Verify that channels get Server.sharedPool buffers through their caches.
+     * The buffers in use are counted as they are taken from and recycled to
+     * the caches, a full cache returns a batch of buffers to the sharedPool,
+     * and the cached buffers are returned to the sharedPool when the cache
+     * is detached. No more than sharedPoolSize buffers are created: buffers
+     * cached by one channel are taken by another channel using sharedPoolSize
+     * buffers, and shrinking the sharedPool takes buffers from the caches.
+     */
+    @Test
+    public void sharedPoolCacheTest()
+    {
+        final Error error = TransportFactory.createError();
+        BindOptions bindOpts = getDefaultBindOptions();
+        bindOpts.sharedPoolSize(40);
+        InitArgs initArgs = TransportFactory.createInitArgs();
+        initArgs.globalLocking(false);
+        Server server = null;
+        SocketBuffer[] socketBuffer = new SocketBuffer[40];
+        try
+        {
+            assertEquals(TransportReturnCodes.SUCCESS, Transport.initialize(initArgs, error));
+
+            server = Transport.bind(bindOpts, error);
+            assertNotNull(error.text() + " errorId=" + error.errorId() + " sysErrorId="
+                          + error.sysError(), server);
+
+            ServerImpl socketServer = (ServerImpl)server;
+            ServerImpl.SharedPool sharedPool = (ServerImpl.SharedPool)socketServer._sharedPool;
+            SharedPoolCache cache1 = new SharedPoolCache();
+            SharedPoolCache cache2 = new SharedPoolCache();
+            socketServer.attachSharedPoolCache(cache1);
+            socketServer.attachSharedPoolCache(cache2);
+            assertTrue(cache1._stripe != cache2._stripe);
+
+            // the first buffer is created with the rest of the sharedPool
+            socketBuffer[0] = socketServer.getBufferFromServerPool(cache1);
+            assertNotNull(socketBuffer[0]);
+            assertEquals(cache1, socketBuffer[0]._sharedPoolCache);
+            assertEquals(1, server.bufferUsage(error));
+            assertEquals(0, cache1._count);
+            assertEquals(39, socketServer._sharedPool.size());
+
+            // the cache is refilled a batch at a time
+            socketBuffer[1] = socketServer.getBufferFromServerPool(cache1);
+            assertNotNull(socketBuffer[1]);
+            assertEquals(2, server.bufferUsage(error));
+            assertEquals(SharedPoolCache.BATCH_SIZE - 1, cache1._count);
+            assertEquals(39 - SharedPoolCache.BATCH_SIZE, socketServer._sharedPool.size());
+
+            for (int i = 2; i < 40; i++)
+            {
+                socketBuffer[i] = socketServer.getBufferFromServerPool(cache1);
+                assertNotNull(socketBuffer[i]);
+            }
+            assertNull(socketServer.getBufferFromServerPool(cache1));
+            assertEquals(40, server.bufferUsage(error));
+            assertEquals(0, socketServer._sharedPool.size());
+
+            // recycled buffers are cached, a full cache returns a batch to the sharedPool
+            for (int i = 0; i < 40; i++)
+            {
+                socketServer.socketBufferToRecycle(socketBuffer[i]);
+                assertNull(socketBuffer[i]._sharedPoolCache);
+                socketBuffer[i] = null;
+            }
+            assertEquals(0, server.bufferUsage(error));
+            assertEquals(SharedPoolCache.CACHE_SIZE, cache1._count);
+            assertEquals(40 - SharedPoolCache.CACHE_SIZE, socketServer._sharedPool.size());
+
+            // buffers cached by the first cache are taken, no buffer is created
+            for (int i = 0; i < 40; i++)
+            {
+                socketBuffer[i] = socketServer.getBufferFromServerPool(cache2);
+                assertNotNull(socketBuffer[i]);
+                assertEquals(cache2, socketBuffer[i]._sharedPoolCache);
+            }
+            assertNull(socketServer.getBufferFromServerPool(cache2));
+            assertNull(socketServer.getBufferFromServerPool(cache1));
+            assertEquals(40, server.bufferUsage(error));
+            assertEquals(40, sharedPool._peakUse.get());
+            assertEquals(40, sharedPool._sharedPoolBufferCount.get());
+            assertEquals(0, cache1._count);
+            assertEquals(0, socketServer._sharedPool.size());
+
+            // shrinking takes the free buffers of the sharedPool, then those of the caches
+            for (int i = 0; i < 40; i++)
+            {
+                socketServer.socketBufferToRecycle(socketBuffer[i]);
+                socketBuffer[i] = null;
+            }
+            assertEquals(0, server.bufferUsage(error));
+            assertEquals(SharedPoolCache.CACHE_SIZE, cache2._count);
+            assertEquals(40 - SharedPoolCache.CACHE_SIZE, socketServer._sharedPool.size());
+            assertEquals(10, socketServer.adjustSharedPoolBuffers(10));
+            assertEquals(0, socketServer._sharedPool.size());
+            assertEquals(10, cache2._count);
+            assertEquals(10, sharedPool._sharedPoolBufferCount.get());
+
+            // detached caches return their buffers, and recycled buffers are no longer cached
+            for (int i = 0; i < 10; i++)
+            {
+                socketBuffer[i] = socketServer.getBufferFromServerPool(cache2);
+                assertNotNull(socketBuffer[i]);
+            }
+            assertNull(socketServer.getBufferFromServerPool(cache2));
+            assertEquals(10, sharedPool._sharedPoolBufferCount.get());
+            socketServer.detachSharedPoolCache(cache1);
+            socketServer.detachSharedPoolCache(cache2);
+            assertEquals(0, cache2._count);
+            assertEquals(0, socketServer._sharedPool.size());
+            for (int i = 0; i < 10; i++)
+            {
+                socketServer.socketBufferToRecycle(socketBuffer[i]);
+            }
+            assertEquals(0, server.bufferUsage(error));
+            assertEquals(0, cache2._count);
+            assertEquals(10, socketServer._sharedPool.size());
+        }
+        finally
+        {
+            if (server != null)
+                server.close(error);
+            assertEquals(TransportReturnCodes.SUCCESS, Transport.uninitialize());
+        }
+    }
+
     /*
      * Use Channel.ioctl() to change Priority Flush Order. Perform several
      * priority writes of High, Medium and Low. Call flush method with
@@ -1165,5 +1165,139 @@ public class TransportJunit
         }
 
     }
+
+    /* Initializes the channels until both are active. */
+    private void initChannels(Channel clientChannel, Channel serverChannel) throws InterruptedException
+    {
+        final Error error = TransportFactory.createError();
+        final InProgInfo inProg = TransportFactory.createInProgInfo();
+
+        for (int attempts = 0; attempts < 100; ++attempts)
+        {
+            if (clientChannel.state() == ChannelState.INITIALIZING)
+                assertTrue(error.text(), clientChannel.init(inProg, error) >= TransportReturnCodes.SUCCESS);
+            if (serverChannel.state() == ChannelState.INITIALIZING)
+                assertTrue(error.text(), serverChannel.init(inProg, error) >= TransportReturnCodes.SUCCESS);
+            if (clientChannel.state() == ChannelState.ACTIVE && serverChannel.state() == ChannelState.ACTIVE)
+                return;
+            Thread.sleep(50);
+        }
+        fail("channels never became active");
+    }
+
+    /* Writes a fragmented message on the client channel and reads it from the server channel. */
+    private void writeAndReadFragmentedMessage(Channel clientChannel, Channel serverChannel, int length)
+    {
+        final Error error = TransportFactory.createError();
+        final WriteArgs writeArgs = TransportFactory.createWriteArgs();
+        final ReadArgs readArgs = TransportFactory.createReadArgs();
+
+        TransportBuffer buffer = clientChannel.getBuffer(length, false, error);
+        assertNotNull(error.text(), buffer);
+        for (int i = 0; i < length; ++i)
+            buffer.data().put((byte)i);
+        int ret = clientChannel.write(buffer, writeArgs, error);
+
+        TransportBuffer msgBuf = null;
+        while (msgBuf == null)
+        {
+            // the remaining fragments are written once the queued ones are flushed
+            if (ret == TransportReturnCodes.WRITE_CALL_AGAIN)
+            {
+                assertTrue(error.text(), clientChannel.flush(error) >= TransportReturnCodes.SUCCESS);
+                ret = clientChannel.write(buffer, writeArgs, error);
+            }
+            assertTrue(error.text(), ret >= TransportReturnCodes.SUCCESS || ret == TransportReturnCodes.WRITE_CALL_AGAIN);
+            if (ret > TransportReturnCodes.SUCCESS)
+                assertTrue(error.text(), (ret = clientChannel.flush(error)) >= TransportReturnCodes.SUCCESS);
+            msgBuf = serverChannel.read(readArgs, error);
+            assertTrue(error.text(), readArgs.readRetVal() >= TransportReturnCodes.SUCCESS
+                       || readArgs.readRetVal() == TransportReturnCodes.READ_WOULD_BLOCK);
+        }
+        assertEquals(length, msgBuf.length());
+        assertEquals((byte)(length - 1), msgBuf.data().get(msgBuf.dataStartPosition() + length - 1));
+    }
+
+    /**
+     * GIVEN a client channel connected to a server
+     * WHEN the client writes 1MB messages, which are fragmented
+     * THEN the server reassembles them in read buffers of its pool,
+     * creating no read buffers once it holds those of the first messages.
+     */
+    @Test
+    public void fragmentedMessagesReuseReadBuffersTest() throws InterruptedException
+    {
+        final Error error = TransportFactory.createError();
+        final int MSG_LENGTH = 1024 * 1024;
+        Server server = null;
+        Channel clientChannel = null;
+        Channel serverChannel = null;
+
+        try
+        {
+            InitArgs initArgs = TransportFactory.createInitArgs();
+            initArgs.globalLocking(false);
+            assertEquals(TransportReturnCodes.SUCCESS, Transport.initialize(initArgs, error));
+
+            BindOptions bindOpts = getDefaultBindOptions();
+            bindOpts.serverBlocking(true);
+            server = Transport.bind(bindOpts, error);
+            assertNotNull(error.text(), server);
+
+            ConnectOptions connectOpts = getDefaultConnectOptions();
+            connectOpts.unifiedNetworkInfo().serviceName(bindOpts.serviceName());
+            clientChannel = Transport.connect(connectOpts, error);
+            assertNotNull(error.text(), clientChannel);
+            serverChannel = server.accept(TransportFactory.createAcceptOptions(), error);
+            assertNotNull(error.text(), serverChannel);
+            initChannels(clientChannel, serverChannel);
+
+            // the first messages fill the pool
+            writeAndReadFragmentedMessage(clientChannel, serverChannel, MSG_LENGTH);
+            writeAndReadFragmentedMessage(clientChannel, serverChannel, MSG_LENGTH);
+
+            ServerInfo serverInfo = TransportFactory.createServerInfo();
+            assertEquals(TransportReturnCodes.SUCCESS, server.info(serverInfo, error));
+            long slabsCreated = serverInfo.readBufferSlabsCreated();
+            long slabsReused = serverInfo.readBufferSlabsReused();
+            long poolBytes = serverInfo.readBufferPoolBytes();
+            assertTrue(slabsCreated > 0);
+
+            for (int i = 0; i < 20; ++i)
+                writeAndReadFragmentedMessage(clientChannel, serverChannel, MSG_LENGTH);
+
+            // each message is reassembled in a pooled buffer
+            assertEquals(TransportReturnCodes.SUCCESS, server.info(serverInfo, error));
+            assertEquals(slabsCreated, serverInfo.readBufferSlabsCreated());
+            assertEquals(slabsReused + 20, serverInfo.readBufferSlabsReused());
+            assertEquals(poolBytes, serverInfo.readBufferPoolBytes());
+            assertEquals(0, serverInfo.readBufferSlabsDropped());
+
+            // the accepted channel reports the pool of the server
+            ChannelInfo channelInfo = TransportFactory.createChannelInfo();
+            assertEquals(TransportReturnCodes.SUCCESS, serverChannel.info(channelInfo, error));
+            assertEquals(serverInfo.readBufferSlabsCreated(), channelInfo.readBufferSlabsCreated());
+
+            // without room in the pool, reassembly buffers are dropped once read
+            assertEquals(TransportReturnCodes.SUCCESS, server.ioctl(IoctlCodes.READ_BUFFER_POOL_MAX_BYTES, MSG_LENGTH / 2, error));
+            assertEquals(TransportReturnCodes.SUCCESS, server.info(serverInfo, error));
+            assertTrue(serverInfo.readBufferPoolBytes() <= MSG_LENGTH / 2);
+            writeAndReadFragmentedMessage(clientChannel, serverChannel, MSG_LENGTH);
+            writeAndReadFragmentedMessage(clientChannel, serverChannel, MSG_LENGTH);
+            assertEquals(TransportReturnCodes.SUCCESS, server.info(serverInfo, error));
+            assertEquals(slabsCreated + 2, serverInfo.readBufferSlabsCreated());
+            assertTrue(serverInfo.readBufferSlabsDropped() > 0);
+        }
+        finally
+        {
+            if (clientChannel != null)
+                clientChannel.close(error);
+            if (serverChannel != null)
+                serverChannel.close(error);
+            if (server != null)
+                server.close(error);
+            assertEquals(TransportReturnCodes.SUCCESS, Transport.uninitialize());
+        }
+    }
     
 }
@@ -3195,4 +3195,67 @@ public class WebSocketReadWriteJunit
 	public void givenActiveWSJSONConnection_whenPingPongConnection_thenPingSentAndPongReceived() {
 		executePingPongInteraction(Codec.JSON_PROTOCOL_TYPE);
 	}
+
+	@Test
+	public void writeClientAndReadServerRWFMessagesOfManySizes()
+	{
+		Transport._globalLock = new DummyLock();
+		Error error = TransportFactory.createError();
+		SocketHelperMock socketHelperMock = new SocketHelperMock();
+		
+		RsslSocketChannel clientChannel = new RsslSocketChannel(ConnectionTypes.WEBSOCKET, Codec.RWF_PROTOCOL_TYPE);
+		clientChannel.getWsSession().isClient = true;
+		clientChannel._state = ChannelState.ACTIVE;
+		clientChannel._readIoBuffer = clientChannel.acquirePair(RsslSocketChannel.MIN_READ_BUFFER_SIZE);
+		clientChannel._appReadBuffer.data(clientChannel._readIoBuffer.readOnly());
+		clientChannel._protocolFunctions = new WSProtocolFunctions(clientChannel);
+		clientChannel._readBufStateMachine.initialize(clientChannel._readIoBuffer, clientChannel._protocolFunctions);
+		clientChannel._transport = new SocketProtocol();
+		clientChannel.growGuaranteedOutputBuffers(100);
+		clientChannel._scktChannel = socketHelperMock;
+		
+		RsslSocketChannel serverChannel = new RsslSocketChannel(ConnectionTypes.WEBSOCKET, Codec.RWF_PROTOCOL_TYPE);
+		serverChannel.getWsSession().isClient = false;
+		serverChannel._state = ChannelState.ACTIVE;
+		serverChannel._readIoBuffer = serverChannel.acquirePair(RsslSocketChannel.MIN_READ_BUFFER_SIZE);
+		serverChannel._appReadBuffer.data(serverChannel._readIoBuffer.readOnly());
+		serverChannel._protocolFunctions = new WSProtocolFunctions(serverChannel);
+		serverChannel._readBufStateMachine.initialize(serverChannel._readIoBuffer, serverChannel._protocolFunctions);
+		serverChannel._scktChannel = socketHelperMock;
+		
+		WriteArgs writeArgs = TransportFactory.createWriteArgs();
+		ReadArgs readArgs = TransportFactory.createReadArgs();
+		writeArgs.flags(WriteFlags.DIRECT_SOCKET_WRITE);
+		
+		/* Every length up to 256 bytes covers each tail length of the 8 byte masking, larger ones the extended payload lengths */
+		for (int messageLength = 1; messageLength <= 6000; messageLength += (messageLength < 256 ? 1 : 97))
+		{
+			byte[] message = new byte[messageLength];
+			for (int i = 0; i < messageLength; i++)
+			{
+				message[i] = (byte)(i * 31 + messageLength);
+			}
+			
+			socketHelperMock.clear();
+			
+			TransportBuffer writeBuffer = clientChannel.getBuffer(messageLength, false, error);
+			assertNotNull(writeBuffer);
+			writeBuffer.data().put(message);
+			
+			assertEquals(0, clientChannel.write(writeBuffer, writeArgs, error));
+			
+			TransportBuffer readBuffer = serverChannel.read(readArgs, error);
+			
+			assertNotNull("message length " + messageLength, readBuffer);
+			assertEquals(0, readArgs.readRetVal());
+			assertEquals(writeArgs.bytesWritten(), readArgs.bytesRead());
+			assertEquals(messageLength, readBuffer.length());
+			
+			ByteBuffer readData = readBuffer.data();
+			for (int i = 0; i < messageLength; i++)
+			{
+				assertEquals(message[i], readData.get(readBuffer.dataStartPosition() + i));
+			}
+		}
+	}
 }
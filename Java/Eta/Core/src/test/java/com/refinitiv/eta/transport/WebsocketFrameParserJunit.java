@@ -3,6 +3,8 @@ package com.refinitiv.eta.transport;
 import static org.junit.Assert.*;
 
 import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Random;
 
 import com.refinitiv.eta.transport.WebSocketFrameHdr;
 import com.refinitiv.eta.transport.WebSocketFrameParser;
@@ -302,4 +304,167 @@ public class WebsocketFrameParserJunit
 		
 		assertEquals(0, originalBufer.compareTo(msgBuffer));
 	}
+	
+	/* The byte at a time masking used before maskDataBlock() processed 8 bytes per step. */
+	private static void maskByteAtATime(int maskValue, ByteBuffer buffer, int index, int length)
+	{
+		byte[] mask = new byte[4];
+		WebSocketFrameParser.setMaskKey(mask, maskValue);
+		
+		for(int i = 0; i < length; i++, index++)
+		{
+			buffer.put(index, (byte)(buffer.get(index) ^ mask[(i%4)]));
+		}
+	}
+	
+	private static ByteBuffer createBuffer(boolean direct, ByteOrder order, int size, Random random)
+	{
+		ByteBuffer buffer = direct ? ByteBuffer.allocateDirect(size) : ByteBuffer.allocate(size);
+		buffer.order(order);
+		
+		for(int i = 0; i < size; i++)
+		{
+			buffer.put(i, (byte)random.nextInt());
+		}
+		
+		return buffer;
+	}
+	
+	private static void assertBufferEquals(ByteBuffer expected, ByteBuffer actual, int size)
+	{
+		for(int i = 0; i < size; i++)
+		{
+			assertEquals("at index " + i, expected.get(i), actual.get(i));
+		}
+	}
+	
+	@Test
+	public void maskDataBlockMatchesByteAtATimeMasking()
+	{
+		Random random = new Random(1234);
+		ByteOrder[] orders = { ByteOrder.BIG_ENDIAN, ByteOrder.LITTLE_ENDIAN };
+		
+		for(boolean direct : new boolean[] { false, true })
+		{
+			for(ByteOrder order : orders)
+			{
+				for(int index = 0; index < 8; index++)
+				{
+					for(int length = 0; length <= 70; length++)
+					{
+						int maskValue = random.nextInt();
+						int size = index + length + 8;
+						ByteBuffer expected = createBuffer(direct, order, size, random);
+						ByteBuffer actual = direct ? ByteBuffer.allocateDirect(size) : ByteBuffer.allocate(size);
+						actual.order(order);
+						actual.put(expected.duplicate());
+						ByteBuffer arrayMasked = ByteBuffer.allocate(size);
+						arrayMasked.put(expected.duplicate());
+						
+						maskByteAtATime(maskValue, expected, index, length);
+						WebSocketFrameParser.maskDataBlock(maskValue, actual, index, length);
+						WebSocketFrameParser.maskDataBlock(maskValue, arrayMasked.array(), index, length);
+						
+						assertBufferEquals(expected, actual, size);
+						assertBufferEquals(expected, arrayMasked, size);
+					}
+				}
+			}
+		}
+	}
+	
+	@Test
+	public void copyAndMaskDataBlockBetweenBufferTypes()
+	{
+		Random random = new Random(5678);
+		ByteOrder[] orders = { ByteOrder.BIG_ENDIAN, ByteOrder.LITTLE_ENDIAN };
+		
+		for(boolean srcDirect : new boolean[] { false, true })
+		{
+			for(boolean destDirect : new boolean[] { false, true })
+			{
+				for(ByteOrder srcOrder : orders)
+				{
+					for(ByteOrder destOrder : orders)
+					{
+						for(int length = 0; length <= 40; length++)
+						{
+							int maskValue = random.nextInt();
+							int srcIndex = random.nextInt(8);
+							int destIndex = random.nextInt(8);
+							ByteBuffer src = createBuffer(srcDirect, srcOrder, srcIndex + length, random);
+							ByteBuffer dest = createBuffer(destDirect, destOrder, destIndex + length, random);
+							ByteBuffer expected = ByteBuffer.allocate(length);
+							
+							for(int i = 0; i < length; i++)
+							{
+								expected.put(i, src.get(srcIndex + i));
+							}
+							maskByteAtATime(maskValue, expected, 0, length);
+							
+							WebSocketFrameParser.copyAndMaskDataBlock(maskValue, src, srcIndex, dest, destIndex, length);
+							
+							assertEquals(0, src.position());
+							assertEquals(0, dest.position());
+							for(int i = 0; i < length; i++)
+							{
+								assertEquals(expected.get(i), dest.get(destIndex + i));
+							}
+						}
+					}
+				}
+			}
+		}
+	}
+	
+	@Test
+	public void encodeWithSourceBufferOnClientAndServer()
+	{
+		Random random = new Random(91011);
+		int[] payloadLengths = { 0, 1, 7, 125, 126, 1000, 65535, 65536 };
+		
+		for(boolean isClient : new boolean[] { false, true })
+		{
+			for(boolean direct : new boolean[] { false, true })
+			{
+				for(int payloadLength : payloadLengths)
+				{
+					ByteBuffer source = createBuffer(false, ByteOrder.BIG_ENDIAN, payloadLength + 3, random);
+					source.position(3);
+					ByteBuffer msgBuffer = direct ? ByteBuffer.allocateDirect(payloadLength + WebSocketFrameParser._WS_MAX_HEADER_LEN) :
+						ByteBuffer.allocate(payloadLength + WebSocketFrameParser._WS_MAX_HEADER_LEN);
+					
+					int hdrLen = WebSocketFrameParser.encode(msgBuffer, 0, source, payloadLength, WebSocketFrameParser._WS_SP_RWF, isClient,
+							true, false, WebSocketFrameParser._WS_OPC_NONE);
+					
+					assertEquals(WebSocketFrameParser.calculateHeaderLength(payloadLength, isClient), hdrLen);
+					assertEquals(payloadLength + 3, source.position());
+					assertEquals(payloadLength + 3, source.limit());
+					assertEquals(hdrLen + payloadLength, msgBuffer.position());
+					
+					WebSocketFrameHdr frame = new WebSocketFrameHdr();
+					boolean partial = WebSocketFrameParser.decode(frame, msgBuffer, 0, hdrLen + payloadLength);
+					
+					assertEquals(false, partial);
+					assertEquals(true, frame.finSet);
+					assertEquals(WebSocketFrameParser._WS_OPC_BINARY, frame.opcode);
+					assertEquals(payloadLength, frame.payloadLen);
+					assertEquals(isClient, frame.maskSet);
+					
+					if(isClient)
+					{
+						assertEquals(WebSocketFrameParser.getLastMaskValue(), frame.maskVal);
+						
+						/* Unmask the payload data */
+						WebSocketFrameParser.maskDataBlock(frame.maskVal, msgBuffer, hdrLen, payloadLength);
+					}
+					
+					for(int i = 0; i < payloadLength; i++)
+					{
+						assertEquals(source.get(3 + i), msgBuffer.get(hdrLen + i));
+					}
+				}
+			}
+		}
+	}
 }
@@ -0,0 +1,278 @@
+package com.refinitiv.eta.valueadd.common;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Pipe;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A lock-free variant of {@link SelectableBiDirectionalQueue}. Each direction
+ * is a bounded {@link VaRingQueue} and a byte is written to the Pipe only when
+ * the direction goes from empty to non-empty, so a busy Reactor does not pay a
+ * lock and a syscall for every event.
+ *
+ * Each direction has a single reader. Writers normally are a single thread as
+ * well, but more than one thread may write (e.g. the Reactor queueing events
+ * for itself), so writes claim ring slots with a compare-and-set. If a ring is
+ * full, events spill into an overflow queue which the reader drains after the
+ * ring; writers keep spilling until the overflow is empty so that events from
+ * one thread are always read in the order they were written.
+ */
+public class SelectableBiDirectionalRingQueue extends SelectableBiDirectionalQueue
+{
+    /** The default number of events each direction of the ring can hold. */
+    public static final int DEFAULT_CAPACITY = 4096;
+
+    VaRingQueue _writeRing;
+    VaRingQueue _readRing;
+
+    // Used when a ring is full.
+    VaConcurrentQueue _writeOverflow;
+    VaConcurrentQueue _readOverflow;
+
+    /*
+     * Wakeup states of a direction. Exactly one byte is on the Pipe while a
+     * direction is SIGNALED, and none while it is IDLE. SIGNALING is held by
+     * the one thread writing the byte.
+     */
+    static final int IDLE = 0;
+    static final int SIGNALING = 1;
+    static final int SIGNALED = 2;
+
+    AtomicInteger _writeSignal;
+    AtomicInteger _readSignal;
+
+    // Number of writers between adding an event and signaling the Pipe.
+    AtomicInteger _writePending;
+    AtomicInteger _readPending;
+
+    // Used by the reader when it has to re-arm its own Pipe.
+    ByteBuffer _resignalBuffer;
+
+    /**
+     * Creates a queue with {@link #DEFAULT_CAPACITY} events per direction.
+     */
+    public SelectableBiDirectionalRingQueue()
+    {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Creates a queue.
+     *
+     * @param capacity the number of events each direction of the ring can
+     *            hold before spilling to an overflow queue. This is rounded up
+     *            to the next power of two.
+     */
+    public SelectableBiDirectionalRingQueue(int capacity)
+    {
+        super();
+
+        _writeRing = new VaRingQueue(capacity);
+        _readRing = new VaRingQueue(capacity);
+        _writeOverflow = new VaConcurrentQueue();
+        _readOverflow = new VaConcurrentQueue();
+        _writeSignal = new AtomicInteger(IDLE);
+        _readSignal = new AtomicInteger(IDLE);
+        _writePending = new AtomicInteger();
+        _readPending = new AtomicInteger();
+        _resignalBuffer = ByteBuffer.allocateDirect(DEFAULT_BUFFER_SIZE);
+    }
+
+    /*
+     * Creates the remote end of the specified queue.
+     */
+    SelectableBiDirectionalRingQueue(SelectableBiDirectionalRingQueue sq)
+    {
+        super(sq);
+
+        _writeRing = sq._readRing;
+        _readRing = sq._writeRing;
+        _writeOverflow = sq._readOverflow;
+        _readOverflow = sq._writeOverflow;
+        _writeSignal = sq._readSignal;
+        _readSignal = sq._writeSignal;
+        _writePending = sq._readPending;
+        _readPending = sq._writePending;
+        _resignalBuffer = ByteBuffer.allocateDirect(DEFAULT_BUFFER_SIZE);
+    }
+
+    @Override
+    public int readQueueSize()
+    {
+        return _readRing.size() + _readOverflow.size();
+    }
+
+    @Override
+    public int writeQueueSize()
+    {
+        return _writeRing.size() + _writeOverflow.size();
+    }
+
+    /**
+     * Reads an event sent from the remote end of the queue. Must only be
+     * called by the thread owning this end.
+     *
+     * Once the selector fires for the key (registered on {@link #readChannel()}
+     * ), read should be called until it returns null or
+     * {@link #readQueueSize()} is zero. This will drain the Pipe and allow the
+     * selector to fire again later.
+     *
+     * @return the event, or null if the queue is empty or shutdown
+     */
+    @Override
+    public VaNode read()
+    {
+        if (_shutdown.isSet())
+            return null;
+
+        VaNode node = _readRing.poll();
+        if (node == null)
+        {
+            // A writer may have claimed a slot but not published it yet.
+            while (_readRing.size() > 0 && (node = _readRing.poll()) == null)
+                Thread.yield();
+
+            if (node == null)
+                node = _readOverflow.poll();
+        }
+
+        if (node == null)
+            System.out.println("SelectableBiDirectionalRingQueue.read: node was unexpectedly null?");
+
+        try
+        {
+            /*
+             * Wait for writers that are in the middle of a write, so that a
+             * wakeup byte is never left on the Pipe for an empty queue.
+             */
+            while (readQueueSize() == 0
+                    && (_readPending.get() > 0 || _readSignal.get() == SIGNALING))
+                Thread.yield();
+
+            if (readQueueSize() == 0)
+            {
+                if (_readSignal.get() == SIGNALED)
+                {
+                    // drain the wakeup byte, then allow writers to signal again.
+                    _readBuffer.clear();
+                    int cnt = _readPipe.source().read(_readBuffer);
+                    if (cnt == -1)
+                    {
+                        System.out.println("SelectableBiDirectionalRingQueue.read: return returned -1");
+                        shutdown();
+                        return node;
+                    }
+                    _readSignal.set(IDLE);
+
+                    /*
+                     * A writer which saw the direction still SIGNALED did not
+                     * write to the Pipe, so re-arm the Pipe if anything arrived
+                     * in the meantime.
+                     */
+                    if (readQueueSize() > 0 && !signal(_readSignal, _readPipe.sink(), _resignalBuffer))
+                        shutdown();
+                }
+            }
+        }
+        catch (IOException e)
+        {
+            System.out.println("SelectableBiDirectionalRingQueue.read: failed, execption="
+                    + e.getLocalizedMessage());
+            e.printStackTrace();
+            shutdown();
+        }
+
+        return node;
+    }
+
+    /**
+     * Writes an event to the remote end of the queue.
+     *
+     * @param node event to write to remote end of queue
+     *
+     * @return true if write succeeded, false otherwise
+     */
+    @Override
+    public boolean write(VaNode node)
+    {
+        if (_shutdown.isSet())
+            return false;
+
+        _writePending.incrementAndGet();
+        try
+        {
+            if (_writeOverflow.size() > 0 || !_writeRing.offer(node))
+                _writeOverflow.add(node);
+
+            if (!signal(_writeSignal, _writePipe.sink(), _writeBuffer))
+                shutdown();
+        }
+        finally
+        {
+            _writePending.decrementAndGet();
+        }
+
+        return true;
+    }
+
+    /*
+     * Writes a wakeup byte to the Pipe if the direction is IDLE.
+     * Returns false if the Pipe could not be written.
+     */
+    private boolean signal(AtomicInteger state, Pipe.SinkChannel sink, ByteBuffer buffer)
+    {
+        if (state.get() != IDLE || !state.compareAndSet(IDLE, SIGNALING))
+            return true;
+
+        try
+        {
+            buffer.clear();
+            buffer.put((byte)0);
+            buffer.flip();
+            int cnt = sink.write(buffer);
+            if (cnt != 1)
+            {
+                System.out
+                        .println("SelectableBiDirectionalRingQueue.signal: expected to write 1 byte but wrote "
+                                + cnt);
+                return false;
+            }
+        }
+        catch (IOException e)
+        {
+            System.out.println("SelectableBiDirectionalRingQueue.signal: failed, execption="
+                    + e.getLocalizedMessage());
+            return false;
+        }
+        finally
+        {
+            state.set(SIGNALED);
+        }
+        return true;
+    }
+
+    /**
+     * Returns the remote end of this queue. Repeated calls return the same
+     * object.
+     *
+     * @return a SelectableBiDirectionalRingQueue that uses the remote end of
+     *         this queue
+     */
+    @Override
+    public SelectableBiDirectionalQueue remote()
+    {
+        if (_remote == null)
+            _remote = new SelectableBiDirectionalRingQueue(this);
+        return _remote;
+    }
+
+    /** Shuts down the selectable bidirectional queue. */
+    @Override
+    public void shutdown()
+    {
+        // the base class closes the Pipes of the remote end as well.
+        remote();
+        super.shutdown();
+    }
+}
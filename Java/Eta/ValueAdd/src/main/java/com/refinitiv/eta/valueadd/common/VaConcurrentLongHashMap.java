@@ -0,0 +1,270 @@
+package com.refinitiv.eta.valueadd.common;
+
+import java.util.Collection;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * A hash table mapping primitive long keys to objects that may be read by any
+ * number of threads without locking while another thread updates it.
+ *
+ * Each slot holds an immutable entry, so a lookup sees either a whole entry or
+ * none. Lookups take no lock and do not allocate; updates are serialized on the
+ * table. A removed entry is replaced by a marker, since moving entries back as
+ * {@link VaLongHashMap} does could hide them from a concurrent lookup. When
+ * entries and markers fill the table past its load factor, the live entries are
+ * copied to a new table which is then published to the readers.
+ *
+ * Null values are not supported.
+ *
+ * @param <V> the type of the mapped values
+ */
+public class VaConcurrentLongHashMap<V>
+{
+    static final int DEFAULT_CAPACITY = 16;
+    static final float LOAD_FACTOR = 0.5f;
+
+    static final class Entry
+    {
+        final long key;
+        final Object value;
+
+        Entry(long key, Object value)
+        {
+            this.key = key;
+            this.value = value;
+        }
+    }
+
+    // marks the slot of a removed entry, so probe sequences through it are kept
+    static final Entry REMOVED = new Entry(0, null);
+
+    volatile AtomicReferenceArray<Entry> _slots;
+
+    // the following are only accessed while holding the lock of the table
+    int _size;
+    int _used; // slots holding an entry or a removed marker
+    int _resizeThreshold;
+
+    /**
+     * Creates a table with the default capacity.
+     */
+    public VaConcurrentLongHashMap()
+    {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Creates a table sized to hold the specified number of entries without
+     * growing.
+     *
+     * @param expectedSize the number of entries expected
+     */
+    public VaConcurrentLongHashMap(int expectedSize)
+    {
+        allocate(VaLongHashMap.tableSizeFor(expectedSize));
+    }
+
+    /**
+     * Returns the value mapped to the key. Does not lock.
+     *
+     * @param key the key
+     *
+     * @return the value, or null if the key is not in the table
+     */
+    @SuppressWarnings("unchecked")
+    public V get(long key)
+    {
+        AtomicReferenceArray<Entry> slots = _slots;
+        int mask = slots.length() - 1;
+        int index = VaLongHashMap.hash(key) & mask;
+        Entry entry;
+
+        while ((entry = slots.get(index)) != null)
+        {
+            if (entry != REMOVED && entry.key == key)
+                return (V)entry.value;
+            index = (index + 1) & mask;
+        }
+        return null;
+    }
+
+    /**
+     * Returns whether the table contains the key. Does not lock.
+     *
+     * @param key the key
+     *
+     * @return true if the key is in the table
+     */
+    public boolean containsKey(long key)
+    {
+        return get(key) != null;
+    }
+
+    /**
+     * Maps the key to the value, replacing any previous value.
+     *
+     * @param key the key
+     * @param value the value, must not be null
+     *
+     * @return the previous value, or null if the key was not in the table
+     */
+    @SuppressWarnings("unchecked")
+    public synchronized V put(long key, V value)
+    {
+        if (value == null)
+            throw new NullPointerException("VaConcurrentLongHashMap does not support null values");
+
+        AtomicReferenceArray<Entry> slots = _slots;
+        int mask = slots.length() - 1;
+        int index = VaLongHashMap.hash(key) & mask;
+        int freeIndex = -1;
+        Entry entry;
+
+        while ((entry = slots.get(index)) != null)
+        {
+            if (entry == REMOVED)
+            {
+                if (freeIndex < 0)
+                    freeIndex = index;
+            }
+            else if (entry.key == key)
+            {
+                slots.set(index, new Entry(key, value));
+                return (V)entry.value;
+            }
+            index = (index + 1) & mask;
+        }
+
+        if (freeIndex >= 0)
+        {
+            // reuse the marker, the number of used slots is unchanged
+            slots.set(freeIndex, new Entry(key, value));
+            _size++;
+            return null;
+        }
+
+        slots.set(index, new Entry(key, value));
+        _size++;
+
+        if (++_used > _resizeThreshold)
+            rehash();
+
+        return null;
+    }
+
+    /**
+     * Removes the key from the table.
+     *
+     * @param key the key
+     *
+     * @return the value that was mapped to the key, or null if the key was not
+     *         in the table
+     */
+    @SuppressWarnings("unchecked")
+    public synchronized V remove(long key)
+    {
+        AtomicReferenceArray<Entry> slots = _slots;
+        int mask = slots.length() - 1;
+        int index = VaLongHashMap.hash(key) & mask;
+        Entry entry;
+
+        while ((entry = slots.get(index)) != null)
+        {
+            if (entry != REMOVED && entry.key == key)
+            {
+                slots.set(index, REMOVED);
+                _size--;
+                return (V)entry.value;
+            }
+            index = (index + 1) & mask;
+        }
+        return null;
+    }
+
+    /**
+     * Returns the number of entries in the table.
+     *
+     * @return the number of entries
+     */
+    public synchronized int size()
+    {
+        return _size;
+    }
+
+    /**
+     * Returns whether the table is empty.
+     *
+     * @return true if the table has no entries
+     */
+    public synchronized boolean isEmpty()
+    {
+        return _size == 0;
+    }
+
+    /**
+     * Adds the values of the table to the collection.
+     *
+     * @param values the collection to add the values to
+     */
+    @SuppressWarnings("unchecked")
+    public synchronized void values(Collection<? super V> values)
+    {
+        AtomicReferenceArray<Entry> slots = _slots;
+        for (int i = 0; i < slots.length(); i++)
+        {
+            Entry entry = slots.get(i);
+            if (entry != null && entry != REMOVED)
+                values.add((V)entry.value);
+        }
+    }
+
+    /**
+     * Removes all entries. The capacity of the table is kept.
+     */
+    public synchronized void clear()
+    {
+        if (_used > 0)
+        {
+            allocate(_slots.length());
+            _size = 0;
+            _used = 0;
+        }
+    }
+
+    /*
+     * Copies the live entries to a new table, doubled if they alone would fill
+     * more than half of the load factor, and publishes it.
+     */
+    void rehash()
+    {
+        AtomicReferenceArray<Entry> oldSlots = _slots;
+        int length = oldSlots.length();
+        if (_size > _resizeThreshold / 2)
+            length <<= 1;
+
+        AtomicReferenceArray<Entry> slots = new AtomicReferenceArray<Entry>(length);
+        int mask = length - 1;
+
+        for (int i = 0; i < oldSlots.length(); i++)
+        {
+            Entry entry = oldSlots.get(i);
+            if (entry != null && entry != REMOVED)
+            {
+                int index = VaLongHashMap.hash(entry.key) & mask;
+                while (slots.get(index) != null)
+                    index = (index + 1) & mask;
+                slots.lazySet(index, entry);
+            }
+        }
+
+        _used = _size;
+        _resizeThreshold = (int)(length * LOAD_FACTOR);
+        _slots = slots;
+    }
+
+    void allocate(int length)
+    {
+        _resizeThreshold = (int)(length * LOAD_FACTOR);
+        _slots = new AtomicReferenceArray<Entry>(length);
+    }
+}
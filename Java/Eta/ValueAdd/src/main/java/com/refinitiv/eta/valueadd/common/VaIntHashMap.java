@@ -0,0 +1,270 @@
+package com.refinitiv.eta.valueadd.common;
+
+import java.util.Arrays;
+
+/**
+ * A hash table mapping primitive int keys to objects. Entries are stored in
+ * parallel key and value arrays using open addressing with linear probing, so
+ * lookups do not box the key and adding an entry does not allocate a node.
+ *
+ * Null values are not supported; an empty slot is one with a null value.
+ * Removal shifts the following entries of the probe sequence back instead of
+ * leaving a marker, so lookups never slow down as entries come and go.
+ *
+ * This class is not thread safe.
+ *
+ * @param <V> the type of the mapped values
+ */
+public class VaIntHashMap<V>
+{
+    static final int DEFAULT_CAPACITY = 16;
+    static final float LOAD_FACTOR = 0.5f;
+
+    int[] _keys;
+    Object[] _values;
+    int _mask;
+    int _size;
+    int _resizeThreshold;
+
+    /**
+     * Creates a table with the default capacity.
+     */
+    public VaIntHashMap()
+    {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Creates a table sized to hold the specified number of entries without
+     * growing.
+     *
+     * @param expectedSize the number of entries expected
+     */
+    public VaIntHashMap(int expectedSize)
+    {
+        allocate(tableSizeFor(expectedSize));
+    }
+
+    /**
+     * Returns the value mapped to the key.
+     *
+     * @param key the key
+     *
+     * @return the value, or null if the key is not in the table
+     */
+    @SuppressWarnings("unchecked")
+    public V get(int key)
+    {
+        int[] keys = _keys;
+        Object[] values = _values;
+        int index = hash(key) & _mask;
+        Object value;
+
+        while ((value = values[index]) != null)
+        {
+            if (keys[index] == key)
+                return (V)value;
+            index = (index + 1) & _mask;
+        }
+        return null;
+    }
+
+    /**
+     * Returns whether the table contains the key.
+     *
+     * @param key the key
+     *
+     * @return true if the key is in the table
+     */
+    public boolean containsKey(int key)
+    {
+        return get(key) != null;
+    }
+
+    /**
+     * Maps the key to the value, replacing any previous value.
+     *
+     * @param key the key
+     * @param value the value, must not be null
+     *
+     * @return the previous value, or null if the key was not in the table
+     */
+    @SuppressWarnings("unchecked")
+    public V put(int key, V value)
+    {
+        if (value == null)
+            throw new NullPointerException("VaIntHashMap does not support null values");
+
+        int index = hash(key) & _mask;
+        Object oldValue;
+
+        while ((oldValue = _values[index]) != null)
+        {
+            if (_keys[index] == key)
+            {
+                _values[index] = value;
+                return (V)oldValue;
+            }
+            index = (index + 1) & _mask;
+        }
+
+        _keys[index] = key;
+        _values[index] = value;
+
+        if (++_size > _resizeThreshold)
+            rehash(_keys.length << 1);
+
+        return null;
+    }
+
+    /**
+     * Adds all of the entries of the specified table to this one.
+     *
+     * @param map the table to copy entries from
+     */
+    @SuppressWarnings("unchecked")
+    public void putAll(VaIntHashMap<? extends V> map)
+    {
+        for (int i = 0; i < map._values.length; i++)
+        {
+            if (map._values[i] != null)
+                put(map._keys[i], (V)map._values[i]);
+        }
+    }
+
+    /**
+     * Removes the key from the table.
+     *
+     * @param key the key
+     *
+     * @return the value that was mapped to the key, or null if the key was not
+     *         in the table
+     */
+    @SuppressWarnings("unchecked")
+    public V remove(int key)
+    {
+        int index = hash(key) & _mask;
+        Object value;
+
+        while ((value = _values[index]) != null)
+        {
+            if (_keys[index] == key)
+            {
+                _values[index] = null;
+                _size--;
+                compact(index);
+                return (V)value;
+            }
+            index = (index + 1) & _mask;
+        }
+        return null;
+    }
+
+    /**
+     * Returns the number of entries in the table.
+     *
+     * @return the number of entries
+     */
+    public int size()
+    {
+        return _size;
+    }
+
+    /**
+     * Returns whether the table is empty.
+     *
+     * @return true if the table has no entries
+     */
+    public boolean isEmpty()
+    {
+        return _size == 0;
+    }
+
+    /**
+     * Removes all entries. The capacity of the table is kept.
+     */
+    public void clear()
+    {
+        if (_size > 0)
+        {
+            Arrays.fill(_values, null);
+            _size = 0;
+        }
+    }
+
+    /*
+     * Moves entries following the freed slot back into it where their probe
+     * sequence allows, so that no entry is separated from its home slot by an
+     * empty slot.
+     */
+    void compact(int freeIndex)
+    {
+        int index = (freeIndex + 1) & _mask;
+        Object value;
+
+        while ((value = _values[index]) != null)
+        {
+            int home = hash(_keys[index]) & _mask;
+
+            // the entry may move unless its home slot is cyclically within (freeIndex, index]
+            boolean move = freeIndex <= index ? (home <= freeIndex || home > index)
+                    : (home <= freeIndex && home > index);
+            if (move)
+            {
+                _keys[freeIndex] = _keys[index];
+                _values[freeIndex] = value;
+                _values[index] = null;
+                freeIndex = index;
+            }
+            index = (index + 1) & _mask;
+        }
+    }
+
+    void rehash(int newLength)
+    {
+        int[] oldKeys = _keys;
+        Object[] oldValues = _values;
+
+        allocate(newLength);
+
+        for (int i = 0; i < oldValues.length; i++)
+        {
+            Object value = oldValues[i];
+            if (value != null)
+            {
+                int index = hash(oldKeys[i]) & _mask;
+                while (_values[index] != null)
+                    index = (index + 1) & _mask;
+                _keys[index] = oldKeys[i];
+                _values[index] = value;
+            }
+        }
+    }
+
+    void allocate(int length)
+    {
+        _keys = new int[length];
+        _values = new Object[length];
+        _mask = length - 1;
+        _resizeThreshold = (int)(length * LOAD_FACTOR);
+    }
+
+    /* Returns the power of two table length that holds expectedSize entries under the load factor. */
+    static int tableSizeFor(int expectedSize)
+    {
+        long length = (long)Math.ceil(Math.max(expectedSize, 1) / (double)LOAD_FACTOR);
+        if (length > 1 << 30)
+            return 1 << 30;
+        return Math.max(DEFAULT_CAPACITY, Integer.highestOneBit((int)length - 1) << 1);
+    }
+
+    /*
+     * Stream ids are mostly sequential, so spread them with a multiplicative
+     * hash to keep runs of keys from forming long clusters.
+     */
+    static int hash(int key)
+    {
+        int h = key * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+}
@@ -0,0 +1,171 @@
+package com.refinitiv.eta.valueadd.common;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * A bounded, lock-free FIFO ring of {@link VaNode}s. Any number of threads may
+ * call {@link #offer(VaNode)}, but only one thread may call {@link #poll()}.
+ * Producers claim a slot with a single compare-and-set and publish it through a
+ * per-slot sequence number, so the common single producer case never blocks.
+ *
+ * Unlike {@link VaQueue}, this ring does not link nodes through
+ * {@link VaNode#next()}, so a node's next pointer is left untouched.
+ */
+public class VaRingQueue
+{
+    private final int _mask;
+    private final AtomicReferenceArray<VaNode> _slots;
+    private final AtomicLongArray _sequences;
+
+    // next position to be claimed by a producer
+    private final AtomicLong _tail = new AtomicLong();
+
+    // next position to be read by the consumer
+    private final AtomicLong _head = new AtomicLong();
+
+    /**
+     * Creates a ring. The capacity is rounded up to the next power of two.
+     *
+     * @param capacity the minimum number of nodes the ring can hold
+     */
+    public VaRingQueue(int capacity)
+    {
+        if (capacity < 2)
+            capacity = 2;
+        int size = Integer.highestOneBit(capacity - 1) << 1;
+        _mask = size - 1;
+        _slots = new AtomicReferenceArray<VaNode>(size);
+        _sequences = new AtomicLongArray(size);
+        for (int i = 0; i < size; i++)
+            _sequences.set(i, i);
+    }
+
+    /**
+     * Adds a node to the tail of the ring. Safe to call from multiple threads.
+     *
+     * @param node the node to add
+     *
+     * @return true if the node was added, false if the ring is full
+     */
+    public boolean offer(VaNode node)
+    {
+        if (node == null)
+            return false;
+
+        long pos = claim();
+        if (pos < 0)
+            return false;
+
+        publish(pos, node);
+        return true;
+    }
+
+    /**
+     * Claims the slot at the tail of the ring, for a node added later with
+     * {@link #publish(long, VaNode)}. The nodes added after it are not polled
+     * until it is published. Safe to call from multiple threads.
+     *
+     * @return the position of the claimed slot, or -1 if the ring is full
+     */
+    public long claim()
+    {
+        while (true)
+        {
+            long pos = _tail.get();
+            long diff = _sequences.get((int)pos & _mask) - pos;
+            if (diff == 0)
+            {
+                if (_tail.compareAndSet(pos, pos + 1))
+                    return pos;
+            }
+            else if (diff < 0)
+            {
+                // the consumer has not released this slot yet, the ring is full.
+                return -1;
+            }
+            // else another producer claimed the slot, retry with the new tail.
+        }
+    }
+
+    /**
+     * Adds a node in a slot claimed with {@link #claim()}.
+     *
+     * @param pos the position returned by {@link #claim()}
+     * @param node the node to add
+     */
+    public void publish(long pos, VaNode node)
+    {
+        int index = (int)pos & _mask;
+        _slots.lazySet(index, node);
+        _sequences.set(index, pos + 1);
+    }
+
+    /**
+     * Removes and returns the head of the ring. Must only be called by the
+     * single consumer thread.
+     *
+     * @return the head of the ring, or null if the ring is empty or the next
+     *         node has been claimed but not yet published by its producer
+     */
+    public VaNode poll()
+    {
+        long pos = _head.get();
+        int index = (int)pos & _mask;
+        if (_sequences.get(index) != pos + 1)
+            return null;
+
+        VaNode node = _slots.get(index);
+        _slots.lazySet(index, null);
+        _head.lazySet(pos + 1);
+        // release the slot for the producer one lap ahead.
+        _sequences.set(index, pos + _mask + 1);
+        return node;
+    }
+
+    /**
+     * Returns the number of nodes in the ring. The value is approximate while
+     * producers are concurrently adding nodes.
+     *
+     * @return the number of nodes in the ring
+     */
+    public int size()
+    {
+        long size = _tail.get() - _head.get();
+        if (size < 0)
+            return 0;
+        return size > _mask + 1 ? _mask + 1 : (int)size;
+    }
+
+    /**
+     * Returns the position of the next slot to be claimed. The nodes in the
+     * slots claimed so far have all been polled once {@link #head()} reaches it.
+     *
+     * @return the tail position
+     */
+    public long tail()
+    {
+        return _tail.get();
+    }
+
+    /**
+     * Returns the position of the next node to be polled.
+     *
+     * @return the head position
+     */
+    public long head()
+    {
+        return _head.get();
+    }
+
+    /**
+     * Returns the maximum number of nodes the ring can hold.
+     *
+     * @return the capacity of the ring
+     */
+    public int capacity()
+    {
+        return _mask + 1;
+    }
+}
@@ -0,0 +1,59 @@
+package com.refinitiv.eta.valueadd.common;
+
+/**
+ * Represents a timer in a {@link VaTimingWheel}. Extend this class to carry the
+ * state needed to handle the timer when it expires.
+ *
+ * The links used by the wheel are separate from the {@link VaNode} link, so
+ * a timer can also be pooled or queued while it is scheduled. A timer can only
+ * be scheduled in one wheel at a time.
+ */
+public class VaTimerNode extends VaNode
+{
+    VaTimerNode _timerPrev;
+    VaTimerNode _timerNext;
+    VaTimingWheel _timerWheel;
+    long _expireTime;
+    long _expireTick;
+    int _timerLevel;
+
+    /**
+     * The time at which this timer expires, in {@link System#nanoTime()} units.
+     *
+     * @return the expire time
+     */
+    public long expireTime()
+    {
+        return _expireTime;
+    }
+
+    /**
+     * Returns whether this timer is scheduled in a wheel, including a timer
+     * that has expired and not yet been polled.
+     *
+     * @return true if this timer is scheduled
+     */
+    public boolean scheduled()
+    {
+        return _timerWheel != null;
+    }
+
+    /**
+     * Cancels this timer if it is scheduled.
+     *
+     * @return true if this timer was scheduled
+     */
+    public boolean cancelTimer()
+    {
+        return _timerWheel != null && _timerWheel.cancel(this);
+    }
+
+    /* Removes this timer from the list it is in. */
+    void unlink()
+    {
+        _timerPrev._timerNext = _timerNext;
+        _timerNext._timerPrev = _timerPrev;
+        _timerPrev = null;
+        _timerNext = null;
+    }
+}
@@ -0,0 +1,333 @@
+package com.refinitiv.eta.valueadd.common;
+
+/**
+ * A hierarchical timing wheel holding {@link VaTimerNode} timers. Adding and
+ * cancelling a timer take constant time regardless of how many timers are
+ * pending, and timers are expired a whole slot at a time as the wheel is
+ * polled.
+ *
+ * Time is divided into ticks of a fixed length. The first level of the wheel
+ * has a slot per tick for the next 256 ticks; each following level has 256
+ * slots each covering 256 slots of the level below. As time advances, the
+ * timers of the next slot of a higher level are moved down into the lower
+ * levels. Timers further out than the wheel covers are parked in the last
+ * level and moved down again when their slot comes around.
+ *
+ * A timer never expires before its expire time, and expires no later than
+ * the end of the tick containing its expire time. Ticks are counted from
+ * {@link System#nanoTime()} zero, so wheels with the same tick length agree
+ * on when a given expire time is reached.
+ *
+ * This class is not thread safe.
+ */
+public class VaTimingWheel
+{
+    /** The default tick length, one millisecond in nanoseconds. */
+    public static final long DEFAULT_TICK_NANOS = 1000000L;
+
+    static final int SLOT_BITS = 8;
+    static final int SLOTS = 1 << SLOT_BITS;
+    static final int SLOT_MASK = SLOTS - 1;
+    static final int LEVELS = 4;
+    static final long MAX_TICKS = (1L << (SLOT_BITS * LEVELS)) - 1;
+    static final int EXPIRED = -1;
+
+    final long _tickNanos;
+    long _currentTick;
+    int _size;
+    final int[] _levelSize = new int[LEVELS];
+
+    // list heads, linked to themselves when empty
+    final VaTimerNode[] _slots = new VaTimerNode[LEVELS * SLOTS];
+    final VaTimerNode _expired = new VaTimerNode();
+
+    /**
+     * Creates a wheel with the default tick length, starting at the current
+     * time.
+     */
+    public VaTimingWheel()
+    {
+        this(DEFAULT_TICK_NANOS);
+    }
+
+    /**
+     * Creates a wheel starting at the current time.
+     *
+     * @param tickNanos the tick length in nanoseconds
+     */
+    public VaTimingWheel(long tickNanos)
+    {
+        this(tickNanos, System.nanoTime());
+    }
+
+    /**
+     * Creates a wheel starting at the specified time.
+     *
+     * @param tickNanos the tick length in nanoseconds
+     * @param currentTime the current time, in {@link System#nanoTime()} units
+     */
+    public VaTimingWheel(long tickNanos, long currentTime)
+    {
+        if (tickNanos <= 0)
+            throw new IllegalArgumentException("tickNanos must be greater than zero");
+
+        _tickNanos = tickNanos;
+        _currentTick = Math.floorDiv(currentTime, tickNanos);
+
+        for (int i = 0; i < _slots.length; i++)
+            _slots[i] = emptyList(new VaTimerNode());
+        emptyList(_expired);
+    }
+
+    /**
+     * Schedules the timer to expire at the specified time. A timer that is
+     * already scheduled is rescheduled.
+     *
+     * @param timer the timer
+     * @param expireTime the expire time, in {@link System#nanoTime()} units
+     */
+    public void add(VaTimerNode timer, long expireTime)
+    {
+        if (timer._timerWheel != null)
+            timer._timerWheel.cancel(timer);
+
+        long tick = Math.floorDiv(expireTime, _tickNanos);
+        if (Math.floorMod(expireTime, _tickNanos) != 0)
+            tick++;
+
+        timer._expireTime = expireTime;
+        timer._expireTick = tick;
+        timer._timerWheel = this;
+        _size++;
+        place(timer);
+    }
+
+    /**
+     * Cancels the timer.
+     *
+     * @param timer the timer
+     *
+     * @return true if the timer was scheduled in this wheel
+     */
+    public boolean cancel(VaTimerNode timer)
+    {
+        if (timer._timerWheel != this)
+            return false;
+
+        if (timer._timerLevel != EXPIRED)
+            _levelSize[timer._timerLevel]--;
+        timer.unlink();
+        timer._timerWheel = null;
+        _size--;
+        return true;
+    }
+
+    /**
+     * Advances the wheel to the specified time and removes the next expired
+     * timer. Timers expiring in the same slot are returned in the order they
+     * were added.
+     *
+     * @param currentTime the current time, in {@link System#nanoTime()} units
+     *
+     * @return the next expired timer, or null if no timer has expired
+     */
+    public VaTimerNode poll(long currentTime)
+    {
+        advance(Math.floorDiv(currentTime, _tickNanos));
+
+        VaTimerNode timer = _expired._timerNext;
+        if (timer == _expired)
+            return null;
+
+        timer.unlink();
+        timer._timerWheel = null;
+        _size--;
+        return timer;
+    }
+
+    /**
+     * Returns a time at or before which the next timer expires, to be used
+     * for sizing a select timeout. The time is exact when the next timer
+     * expires within 256 ticks and otherwise the time at which its slot moves
+     * down a level, so polling at the returned time may not expire any timer.
+     *
+     * @return the time, in {@link System#nanoTime()} units, or
+     *         {@link Long#MAX_VALUE} if no timer is scheduled
+     */
+    public long nextExpireTime()
+    {
+        if (_size == 0)
+            return Long.MAX_VALUE;
+
+        if (_expired._timerNext != _expired)
+            return _currentTick * _tickNanos;
+
+        long nextTick = Long.MAX_VALUE;
+        for (int level = 0; level < LEVELS; level++)
+        {
+            if (_levelSize[level] == 0)
+                continue;
+
+            int shift = level * SLOT_BITS;
+            long block = _currentTick >> shift;
+            for (int i = 1; i <= SLOTS; i++)
+            {
+                VaTimerNode head = _slots[level * SLOTS + (int)((block + i) & SLOT_MASK)];
+                if (head._timerNext != head)
+                {
+                    nextTick = Math.min(nextTick, (block + i) << shift);
+                    break;
+                }
+            }
+        }
+        return nextTick * _tickNanos;
+    }
+
+    /**
+     * Returns the number of scheduled timers, including expired timers not
+     * yet polled.
+     *
+     * @return the number of timers
+     */
+    public int size()
+    {
+        return _size;
+    }
+
+    /**
+     * The tick length of this wheel.
+     *
+     * @return the tick length in nanoseconds
+     */
+    public long tickNanos()
+    {
+        return _tickNanos;
+    }
+
+    /**
+     * Cancels all timers.
+     */
+    public void clear()
+    {
+        if (_size == 0)
+            return;
+
+        for (int i = 0; i < _slots.length; i++)
+            clearList(_slots[i]);
+        clearList(_expired);
+        for (int level = 0; level < LEVELS; level++)
+            _levelSize[level] = 0;
+        _size = 0;
+    }
+
+    /* Moves the wheel forward to targetTick, expiring and moving down timers along the way. */
+    void advance(long targetTick)
+    {
+        while (_currentTick < targetTick)
+        {
+            long nextTick = _currentTick + 1;
+
+            // nothing happens until the next slot of the lowest non-empty level moves down
+            if (_levelSize[0] == 0)
+            {
+                int level = 1;
+                while (level < LEVELS && _levelSize[level] == 0)
+                    level++;
+                if (level == LEVELS)
+                {
+                    _currentTick = targetTick;
+                    return;
+                }
+
+                int shift = level * SLOT_BITS;
+                nextTick = ((_currentTick >> shift) + 1) << shift;
+                if (nextTick > targetTick)
+                {
+                    _currentTick = targetTick;
+                    return;
+                }
+            }
+
+            _currentTick = nextTick;
+            if ((nextTick & SLOT_MASK) == 0)
+                cascade(1, nextTick);
+
+            VaTimerNode head = _slots[(int)(nextTick & SLOT_MASK)];
+            VaTimerNode timer;
+            while ((timer = head._timerNext) != head)
+            {
+                timer.unlink();
+                _levelSize[0]--;
+                timer._timerLevel = EXPIRED;
+                append(_expired, timer);
+            }
+        }
+    }
+
+    /* Moves the timers of the slot of the level reached at tick down into the lower levels. */
+    void cascade(int level, long tick)
+    {
+        int index = (int)((tick >> (level * SLOT_BITS)) & SLOT_MASK);
+        if (index == 0 && level + 1 < LEVELS)
+            cascade(level + 1, tick);
+
+        VaTimerNode head = _slots[level * SLOTS + index];
+        VaTimerNode timer;
+        while ((timer = head._timerNext) != head)
+        {
+            timer.unlink();
+            _levelSize[level]--;
+            place(timer);
+        }
+    }
+
+    /* Puts a timer in the list for its expire tick relative to the current tick. */
+    void place(VaTimerNode timer)
+    {
+        long delta = timer._expireTick - _currentTick;
+        if (delta <= 0)
+        {
+            timer._timerLevel = EXPIRED;
+            append(_expired, timer);
+            return;
+        }
+
+        long tick = timer._expireTick;
+        if (delta > MAX_TICKS)
+        {
+            delta = MAX_TICKS;
+            tick = _currentTick + MAX_TICKS;
+        }
+
+        int level = (63 - Long.numberOfLeadingZeros(delta)) / SLOT_BITS;
+        timer._timerLevel = level;
+        _levelSize[level]++;
+        append(_slots[level * SLOTS + (int)((tick >> (level * SLOT_BITS)) & SLOT_MASK)], timer);
+    }
+
+    static void append(VaTimerNode head, VaTimerNode timer)
+    {
+        VaTimerNode tail = head._timerPrev;
+        timer._timerPrev = tail;
+        timer._timerNext = head;
+        tail._timerNext = timer;
+        head._timerPrev = timer;
+    }
+
+    static VaTimerNode emptyList(VaTimerNode head)
+    {
+        head._timerPrev = head;
+        head._timerNext = head;
+        return head;
+    }
+
+    static void clearList(VaTimerNode head)
+    {
+        VaTimerNode timer;
+        while ((timer = head._timerNext) != head)
+        {
+            timer.unlink();
+            timer._timerWheel = null;
+        }
+    }
+}
@@ -978,6 +978,8 @@ public class ClassOfService
         destCos.guarantee().type(guarantee().type());
         destCos.guarantee().persistenceFilePath(guarantee().persistenceFilePath());
         destCos.guarantee().persistLocally(guarantee().persistLocally());
+        destCos.guarantee().persistenceCommitBatchSize(guarantee().persistenceCommitBatchSize());
+        destCos.guarantee().persistenceCommitInterval(guarantee().persistenceCommitInterval());
 
         return ReactorReturnCodes.SUCCESS;
     }
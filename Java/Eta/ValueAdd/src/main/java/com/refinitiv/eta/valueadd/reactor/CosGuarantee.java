@@ -13,6 +13,8 @@ public class CosGuarantee
     int _type = ClassesOfService.GuaranteeTypes.NONE;
     String _persistenceFilePath = null;
     boolean _persistLocally = true;
+    int _persistenceCommitBatchSize = 1;
+    int _persistenceCommitInterval = 0;
     
     /**
      * Returns the type of the guarantee class of service.
@@ -82,6 +84,57 @@ public class CosGuarantee
         _persistLocally = persistLocally;
     }
 
+    /**
+     * Returns the number of changes to the persistence file that are forced to disk together.
+     * Use only when guarantee type is set to PERSISTENT_QUEUE.
+     *
+     * @return the persistence commit batch size
+     */
+    public int persistenceCommitBatchSize()
+    {
+        return _persistenceCommitBatchSize;
+    }
+
+    /**
+     * Sets the number of changes to the persistence file (messages saved, transmitted or
+     * acknowledged) that are forced to disk together. Default: 1, each change is forced to disk
+     * before the call making it returns. Larger values allow messages to be submitted at a
+     * higher rate, but changes that are not yet forced to disk are lost if the host fails.
+     * Changes are forced to disk no later than {@link #persistenceCommitInterval()} after they
+     * are made. Applies to persistence files created with this version; older files force each change.
+     * Use only when guarantee type is set to PERSISTENT_QUEUE.
+     *
+     * @param persistenceCommitBatchSize the persistence commit batch size
+     */
+    public void persistenceCommitBatchSize(int persistenceCommitBatchSize)
+    {
+        _persistenceCommitBatchSize = persistenceCommitBatchSize;
+    }
+
+    /**
+     * Returns the time, in milliseconds, after which changes to the persistence file are forced to disk.
+     * Use only when guarantee type is set to PERSISTENT_QUEUE.
+     *
+     * @return the persistence commit interval
+     */
+    public int persistenceCommitInterval()
+    {
+        return _persistenceCommitInterval;
+    }
+
+    /**
+     * Sets the time, in milliseconds, after which changes to the persistence file are forced
+     * to disk when fewer than {@link #persistenceCommitBatchSize()} changes were made.
+     * Changes are forced when the Reactor next dispatches the tunnel stream after this time. Default: 0.
+     * Use only when guarantee type is set to PERSISTENT_QUEUE.
+     *
+     * @param persistenceCommitInterval the persistence commit interval
+     */
+    public void persistenceCommitInterval(int persistenceCommitInterval)
+    {
+        _persistenceCommitInterval = persistenceCommitInterval;
+    }
+
     /**
      * Clears the CosGuarantee for re-use.
      */
@@ -90,5 +143,7 @@ public class CosGuarantee
         _type = ClassesOfService.GuaranteeTypes.NONE;
         _persistenceFilePath = null;
         _persistLocally = true;
+        _persistenceCommitBatchSize = 1;
+        _persistenceCommitInterval = 0;
     }
 }
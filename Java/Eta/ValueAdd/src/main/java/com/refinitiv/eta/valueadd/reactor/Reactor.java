@@ -36,6 +36,7 @@ import com.refinitiv.eta.transport.TransportReturnCodes;
 import com.refinitiv.eta.transport.WriteArgs;
 import com.refinitiv.eta.transport.WriteArgsImpl;
 import com.refinitiv.eta.valueadd.common.SelectableBiDirectionalQueue;
+import com.refinitiv.eta.valueadd.common.SelectableBiDirectionalRingQueue;
 import com.refinitiv.eta.valueadd.common.VaDoubleLinkList;
 import com.refinitiv.eta.valueadd.domainrep.rdm.MsgBase;
 import com.refinitiv.eta.valueadd.domainrep.rdm.dictionary.DictionaryClose;
@@ -246,7 +247,10 @@ public class Reactor
         try
         {
             // create SelectableBiDirectionalQueue
-            _workerQueue = new SelectableBiDirectionalQueue();
+            if (_reactorOptions.lockFreeWorkerQueue())
+                _workerQueue = new SelectableBiDirectionalRingQueue(_reactorOptions.workerQueueCapacity());
+            else
+                _workerQueue = new SelectableBiDirectionalQueue();
 
             // create a new ReactorChannel and populate with the readChannel
             // side of our _workerQueue.
@@ -2034,7 +2038,9 @@ public class Reactor
         if (state != null && state.streamState() != StreamStates.OPEN &&
             reactorChannel.streamIdtoTunnelStreamTable().containsKey(_tempWlInteger))
         {
-            /* Check for any untransmitted QueueData messages with immediate timeouts. */
+            /* Check for any untransmitted QueueData messages with immediate timeouts.
+             * The tunnel stream is closed regardless; a message whose release fails to be
+             * persisted stays in the persistence file. */
             tunnelStream.expireImmediateMessages(errorInfo.error());
 
             // remove from table
@@ -2988,9 +2994,8 @@ public class Reactor
 
         // determine if for watchlist and process by watchlist
         WlStream wlStream = null;
-        _tempWlInteger.value(_msg.streamId());
         if (reactorChannel.watchlist() != null &&
-            (wlStream = reactorChannel.watchlist().streamIdtoWlStreamTable().get(_tempWlInteger)) != null)
+            (wlStream = reactorChannel.watchlist().streamIdtoWlStreamTable().get(_msg.streamId())) != null)
         {
             if ((retval = reactorChannel.watchlist().readMsg(wlStream, _dIter, _msg, errorInfo)) < ReactorReturnCodes.SUCCESS)
             {
@@ -5499,8 +5504,7 @@ public class Reactor
                 {
                     WlRequest wlRequest;
 
-                    _tempWlInteger.value(refreshMsg.streamId());
-                    if ((wlRequest = reactorChannel.watchlist().streamIdtoWlRequestTable().get(_tempWlInteger))
+                    if ((wlRequest = reactorChannel.watchlist().streamIdtoWlRequestTable().get(refreshMsg.streamId()))
                         == null)
                     {
                         return populateErrorInfo(errorInfo, retval,
@@ -10,6 +10,7 @@ import org.apache.http.client.utils.URIUtils;
 
 import com.refinitiv.eta.codec.Buffer;
 import com.refinitiv.eta.codec.CodecFactory;
+import com.refinitiv.eta.valueadd.common.SelectableBiDirectionalRingQueue;
 
 /**
  * ReactorOptions to be used in the {@link ReactorFactory#createReactor(ReactorOptions,
@@ -54,6 +55,8 @@ public class ReactorOptions
     Object _userSpecObj = null;
     boolean _xmlTracing = false;
     int _statistics = StatisticFlags.NONE;
+    boolean _lockFreeWorkerQueue = false;
+    int _workerQueueCapacity = SelectableBiDirectionalRingQueue.DEFAULT_CAPACITY;
 
     ReactorOptions()
     {
@@ -320,6 +323,61 @@ public class ReactorOptions
     	_reissueTokenAttemptInterval = reissueTokenAttemptInterval;
     }
    
+    /**
+     * Specifies whether the Reactor and its Worker thread exchange events
+     * through a lock-free ring queue instead of a locked queue. The ring queue
+     * writes to the underlying Pipe only when the queue goes from empty to
+     * non-empty, which reduces locking and system calls when many events are
+     * passed. The default is false.
+     * 
+     * @param lockFreeWorkerQueue true to use the lock-free ring queue
+     */
+    public void lockFreeWorkerQueue(boolean lockFreeWorkerQueue)
+    {
+        _lockFreeWorkerQueue = lockFreeWorkerQueue;
+    }
+
+    /**
+     * Returns whether the Reactor uses the lock-free ring queue to exchange
+     * events with its Worker thread.
+     * 
+     * @return true if the lock-free ring queue is used
+     */
+    public boolean lockFreeWorkerQueue()
+    {
+        return _lockFreeWorkerQueue;
+    }
+
+    /**
+     * Specifies the number of events each direction of the lock-free worker
+     * queue holds before it spills to an overflow queue. The value is rounded
+     * up to the next power of two. The default is 4096. This is only used when
+     * {@link #lockFreeWorkerQueue(boolean)} is enabled.
+     * 
+     * @param workerQueueCapacity the capacity of the lock-free worker queue
+     * 
+     * @return {@link ReactorReturnCodes#SUCCESS} if the capacity is greater
+     *         than zero, otherwise {@link ReactorReturnCodes#PARAMETER_INVALID}.
+     */
+    public int workerQueueCapacity(int workerQueueCapacity)
+    {
+        if (workerQueueCapacity <= 0)
+            return ReactorReturnCodes.PARAMETER_INVALID;
+
+        _workerQueueCapacity = workerQueueCapacity;
+        return ReactorReturnCodes.SUCCESS;
+    }
+
+    /**
+     * Returns the capacity of the lock-free worker queue.
+     * 
+     * @return the capacity of the lock-free worker queue
+     */
+    public int workerQueueCapacity()
+    {
+        return _workerQueueCapacity;
+    }
+
     boolean xmlTracing()
     {
         return _xmlTracing;
@@ -338,6 +396,8 @@ public class ReactorOptions
         _userSpecObj = null;
         _xmlTracing = false;
         _statistics = StatisticFlags.NONE;
+        _lockFreeWorkerQueue = false;
+        _workerQueueCapacity = SelectableBiDirectionalRingQueue.DEFAULT_CAPACITY;
         _serviceDiscoveryURL.data(DEFAULT_SCHEME + "://" + API_GATEWAY_HOST + SERVICE_DISCOVERY_PATH);
         _tokenServiceURL.data(DEFAULT_SCHEME + "://" + API_GATEWAY_HOST + TOKEN_SERVICE_PATH);         
 		_serviceDiscoveryHost = new HttpHost(API_GATEWAY_HOST, DEFAULT_HTTPS_PORT, DEFAULT_SCHEME);
@@ -356,6 +416,8 @@ public class ReactorOptions
         _userSpecObj = options._userSpecObj;
         _xmlTracing =  options._xmlTracing;
         _statistics =  options._statistics;
+        _lockFreeWorkerQueue = options._lockFreeWorkerQueue;
+        _workerQueueCapacity = options._workerQueueCapacity;
         _tokenReissueRatio = options._tokenReissueRatio;
         _reissueTokenAttemptLimit = (options._reissueTokenAttemptLimit < -1) ? -1 : options._reissueTokenAttemptLimit;
         _reissueTokenAttemptInterval = options._reissueTokenAttemptInterval;
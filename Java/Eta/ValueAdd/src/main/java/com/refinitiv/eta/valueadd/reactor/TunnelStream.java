@@ -229,6 +229,8 @@ public class TunnelStream
 	long _nextTimeoutNsec; // next timeout from all substreams
 	int _responseTimeout;
 	boolean _hasNextTimeout;
+	long _persistenceCommitNsec; // next group commit of substream persistence files
+	boolean _hasPersistenceCommit;
 	boolean _streamOpen;
 	
 	
@@ -3945,6 +3947,8 @@ public class TunnelStream
      */
     int handleTimer(long currentTimeNsec, Error error)
     {
+        int ret;
+
         switch(_tunnelStreamState)
         {
             case WAITING_REFRESH:
@@ -3972,7 +3976,9 @@ public class TunnelStream
             default:
                 try
                 {
-                    expireTimeoutMessages(currentTimeNsec, error);
+                    if ((ret = expireTimeoutMessages(currentTimeNsec, error)) != ReactorReturnCodes.SUCCESS)
+                        return ret;
+                    commitPersistence(currentTimeNsec);
                 }
                 catch (Exception e)
                 {
@@ -4033,47 +4039,95 @@ public class TunnelStream
      *
      * @param currentTimeNsec the current time nsec
      * @param error the error
+     * @return ReactorReturnCodes.SUCCESS, or the failure to release a persisted message
      */
-    /* Expire any timed-out buffers (e.g. QueueData messages). */
-    void expireTimeoutMessages(long currentTimeNsec, Error error)
+    /* Expire any timed-out buffers (e.g. QueueData messages). A buffer whose persisted
+     * message fails to be released is left to expire again. */
+    int expireTimeoutMessages(long currentTimeNsec, Error error)
     {
         TunnelStreamBuffer tunnelBuffer;
+        int ret;
 
         for(tunnelBuffer = _outboundTimeoutList.start(TunnelStreamBuffer.TIMEOUT_LINK); 
                 tunnelBuffer != null && tunnelBuffer.timeoutNsec() - currentTimeNsec < 0; 
                 tunnelBuffer = _outboundTimeoutList.forth(TunnelStreamBuffer.TIMEOUT_LINK))
         {
             assert(tunnelBuffer.isQueueData());
+            if (tunnelBuffer.persistenceBuffer() != null
+                    && (ret = tunnelBuffer.tunnelSubstream().releasePersistenceBuffer(tunnelBuffer.persistenceBuffer(), error)) != ReactorReturnCodes.SUCCESS)
+                return ret;
             _outboundTimeoutList.remove(tunnelBuffer, TunnelStreamBuffer.TIMEOUT_LINK);
             queueMsgExpired(tunnelBuffer, null, QueueDataUndeliverableCode.EXPIRED);
-            if (tunnelBuffer.persistenceBuffer() != null)
-                tunnelBuffer.tunnelSubstream().releasePersistenceBuffer(tunnelBuffer.persistenceBuffer());
             _outboundTransmitList.remove(tunnelBuffer, TunnelStreamBuffer.RETRANS_LINK);
             releaseBuffer(tunnelBuffer, error);
         }
 
         updateTimeout(currentTimeNsec);
+        return ReactorReturnCodes.SUCCESS;
     }
 
     /**
      * Expire immediate messages.
      *
      * @param error the error
+     * @return ReactorReturnCodes.SUCCESS, or the failure to release a persisted message
      */
     /* Expire any messages with an IMMEDIATE timeout. Done in response to a queue stream
      * being closed before these messages were transmitted. */
-    void expireImmediateMessages(Error error)
+    int expireImmediateMessages(Error error)
     {
         TunnelStreamBuffer tunnelBuffer;
+        int ret;
 
-        while((tunnelBuffer = _outboundImmediateList.pop(TunnelStreamBuffer.TIMEOUT_LINK)) != null)
+        while((tunnelBuffer = _outboundImmediateList.peek()) != null)
         {
+            if (tunnelBuffer.persistenceBuffer() != null
+                    && (ret = tunnelBuffer.tunnelSubstream().releasePersistenceBuffer(tunnelBuffer.persistenceBuffer(), error)) != ReactorReturnCodes.SUCCESS)
+                return ret;
+            _outboundImmediateList.pop(TunnelStreamBuffer.TIMEOUT_LINK);
             queueMsgExpired(tunnelBuffer, null,  QueueDataUndeliverableCode.EXPIRED);
-            if (tunnelBuffer.persistenceBuffer() != null)
-                tunnelBuffer.tunnelSubstream().releasePersistenceBuffer(tunnelBuffer.persistenceBuffer());
             _outboundTransmitList.remove(tunnelBuffer, TunnelStreamBuffer.RETRANS_LINK);
             releaseBuffer(tunnelBuffer, error);
         }
+
+        return ReactorReturnCodes.SUCCESS;
+    }
+
+    /**
+     * Persistence commit timeout.
+     *
+     * @param commitTimeNsec the commit time nsec
+     */
+    /* Schedule a group commit of the substream persistence files. */
+    void persistenceCommitTimeout(long commitTimeNsec)
+    {
+        if (_hasPersistenceCommit && _persistenceCommitNsec - commitTimeNsec <= 0)
+            return;
+
+        _hasPersistenceCommit = true;
+        _persistenceCommitNsec = commitTimeNsec;
+        updateTimeout(System.nanoTime());
+    }
+
+    /**
+     * Commit persistence.
+     *
+     * @param currentTimeNsec the current time nsec
+     */
+    /* Commit the substream persistence files, if a group commit is due. */
+    void commitPersistence(long currentTimeNsec)
+    {
+        if (!_hasPersistenceCommit || _persistenceCommitNsec - currentTimeNsec > 0)
+            return;
+
+        _hasPersistenceCommit = false;
+        for (TunnelSubstream substream : _streamIdtoQueueSubstreamTable.values())
+        {
+            if (substream._persistFile != null)
+                substream._persistFile.commit();
+        }
+
+        updateTimeout(currentTimeNsec);
     }
 
     /**
@@ -4089,6 +4143,13 @@ public class TunnelStream
         if (tunnelBuffer != null)
         {
             _nextTimeoutNsec = tunnelBuffer.timeoutNsec();
+            if (_hasPersistenceCommit && _persistenceCommitNsec - _nextTimeoutNsec < 0)
+                _nextTimeoutNsec = _persistenceCommitNsec;
+            tunnelStreamManager().addTunnelStreamToTimeoutList(this, _nextTimeoutNsec);
+        }
+        else if (_hasPersistenceCommit)
+        {
+            _nextTimeoutNsec = _persistenceCommitNsec;
             tunnelStreamManager().addTunnelStreamToTimeoutList(this, _nextTimeoutNsec);
         }
         else
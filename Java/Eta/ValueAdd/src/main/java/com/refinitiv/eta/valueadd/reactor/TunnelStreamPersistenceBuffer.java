@@ -19,6 +19,11 @@ class TunnelStreamPersistenceBuffer
     /* Length of tunnel stream header (header is stored with messages in older file format). */
     private int _tunnelStreamHeaderLen;
 
+    /* Index of the message in the order messages were saved, and the log segment
+     * holding it (log file format only). */
+    private long _msgIndex;
+    private TunnelStreamPersistenceFileV3.Segment _segment;
+
     /* Link for substream queues. */
 	private TunnelStreamPersistenceBuffer _next, _prev;
 	static class SubstreamLink implements Link<TunnelStreamPersistenceBuffer>
@@ -85,6 +90,30 @@ class TunnelStreamPersistenceBuffer
         _tunnelStreamHeaderLen = 0;
     }
 
+    /** Returns the index of the message in the order messages were saved. */
+    long msgIndex()
+    {
+        return _msgIndex;
+    }
+
+    /** Sets the index of the message in the order messages were saved. */
+    void msgIndex(long msgIndex)
+    {
+        _msgIndex = msgIndex;
+    }
+
+    /** Returns the log segment holding the message. */
+    TunnelStreamPersistenceFileV3.Segment segment()
+    {
+        return _segment;
+    }
+
+    /** Sets the log segment holding the message. */
+    void segment(TunnelStreamPersistenceFileV3.Segment segment)
+    {
+        _segment = segment;
+    }
+
     /** Returns the length of the persisted tunnel stream header. */
     int tunnelStreamHeaderLen()
     {
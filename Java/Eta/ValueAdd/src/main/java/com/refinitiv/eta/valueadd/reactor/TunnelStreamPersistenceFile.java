@@ -26,8 +26,10 @@ abstract class TunnelStreamPersistenceFile
 		static final int V1 = 1;
 		static final int V2 = 33554432; /* Version 2 (read as big-endian) */
 		static final int V2L = 2; /* Version 2 (read as little-endian) */
+		static final int V3 = 50331648; /* Version 3 (read as big-endian) */
+		static final int V3L = 3; /* Version 3 (read as little-endian) */
 	}
-    static int _defaultPersistenceVerion = FileVersion.V2;
+    static int _defaultPersistenceVerion = FileVersion.V3;
 
 	/* (SUBSTREAM_LINK) Pool of available persistent buffers in the persistence file,
      * if local persistence is enabled. */
@@ -59,16 +61,16 @@ abstract class TunnelStreamPersistenceFile
 	abstract int saveMsg(TunnelStreamBuffer buffer, Error error);
 
     /* Releases active persistent buffers based on a received sequence number. */
-    abstract void releasePersistenceBuffers(int seqNum);
+    abstract int releasePersistenceBuffers(int seqNum, Error error);
 
     /* Releases the given persistence buffer. */
-    abstract void releasePersistenceBuffer(TunnelStreamPersistenceBuffer persistBuffer);
+    abstract int releasePersistenceBuffer(TunnelStreamPersistenceBuffer persistBuffer, Error error);
 
 	/* Used when recovering a stream. Releases any acknowledged buffers and moves the rest back for retransmission. */
 	abstract int retransmitBuffers(int seqNum, Msg tmpMsg, EncodeIterator tmpEncodeIter, DecodeIterator tmpDecodeIter, Error error);
 
     /* Mark that a buffer has been sent to the network. */
-    abstract void setBufferAsTransmitted(TunnelStreamPersistenceBuffer persistenceBuffer);
+    abstract int setBufferAsTransmitted(TunnelStreamPersistenceBuffer persistenceBuffer, Error error);
 
     /* Save the last received sequence number. */
 	abstract void lastInSeqNum(int hdrLastAckedInSeqNum);
@@ -82,6 +84,17 @@ abstract class TunnelStreamPersistenceFile
     /* Returns the timeout of a persistence buffer. */
     abstract long persistBufferTimeoutNsec(TunnelStreamPersistenceBuffer persistBuffer);
 
+    /* Forces changes to the file that are not yet on disk. Versions that force each change have none. */
+    void commit()
+    {
+    }
+
+    /* Returns the ByteBuffer holding a persistence buffer. */
+    ByteBuffer persistBufferByteBuf(TunnelStreamPersistenceBuffer persistBuffer)
+    {
+        return _fileByteBuf;
+    }
+
     TunnelStreamPersistenceFile(TunnelSubstream tunnelSubstream, RandomAccessFile file, FileChannel fileChannel, FileLock fileLock)
     {
         _tunnelSubstream = tunnelSubstream;
@@ -190,14 +203,15 @@ abstract class TunnelStreamPersistenceFile
     /* Copies persistence buffer data to a TunnelStream buffer. */
     protected void copyToTunnelStreamBuffer(TunnelStreamPersistenceBuffer persistBuffer, TunnelStreamBuffer tunnelStreamBuffer)
     {
-        int tmpLimit = _fileByteBuf.limit();
+        ByteBuffer fileByteBuf = persistBufferByteBuf(persistBuffer);
+        int tmpLimit = fileByteBuf.limit();
         int startPos = persistBuffer.filePosition() + persistBufferMsgOffset() + persistBuffer.tunnelStreamHeaderLen();
         int length = persistBuffer.length() - persistBuffer.tunnelStreamHeaderLen();
 
-        _fileByteBuf.limit(startPos + length);
-        _fileByteBuf.position(startPos);
-        tunnelStreamBuffer.data().put(_fileByteBuf);
-        _fileByteBuf.limit(tmpLimit);
+        fileByteBuf.limit(startPos + length);
+        fileByteBuf.position(startPos);
+        tunnelStreamBuffer.data().put(fileByteBuf);
+        fileByteBuf.limit(tmpLimit);
         tunnelStreamBuffer.setCurrentPositionAsEndOfEncoding();
         tunnelStreamBuffer.persistenceBuffer(_tunnelSubstream, persistBuffer);
     }
@@ -342,13 +356,15 @@ abstract class TunnelStreamPersistenceFile
             {
                 /* Buffer is in this list to be acknowledged. */
                 _tunnelSubstream.sendQueueAckToListener(tunnelStreamBuffer);
-                releasePersistenceBuffer(persistBuffer);
+                if ((ret = releasePersistenceBuffer(persistBuffer, error)) != ReactorReturnCodes.SUCCESS)
+                    return ret;
                 _tunnelSubstream._tunnelStream.releaseBuffer(tunnelStreamBuffer, error);
             }
             else
             {
                 _tunnelSubstream._tunnelStream.queueMsgExpired(tunnelStreamBuffer, null,  QueueDataUndeliverableCode.MAX_MSG_SIZE);
-                releasePersistenceBuffer(persistBuffer);
+                if ((ret = releasePersistenceBuffer(persistBuffer, error)) != ReactorReturnCodes.SUCCESS)
+                    return ret;
                 tunnelStreamBuffer.clear(0);
                 _tunnelSubstream._tunnelStream._tunnelStreamBufferPool.push(tunnelStreamBuffer, TunnelStreamBuffer.RETRANS_LINK);
             }
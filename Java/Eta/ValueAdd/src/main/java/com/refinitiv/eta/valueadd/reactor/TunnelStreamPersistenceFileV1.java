@@ -275,17 +275,19 @@ class TunnelStreamPersistenceFileV1 extends TunnelStreamPersistenceFile
 	}
 
     @Override
-    void releasePersistenceBuffers(int seqNum)
+    int releasePersistenceBuffers(int seqNum, Error error)
     {
         TunnelStreamPersistenceBuffer persistBuffer;
         
         while ((persistBuffer = _waitingQueueAckList.peek()) != null
                 && TunnelStreamUtil.seqNumCompare(persistBuffer.seqNum(), seqNum) <= 0)
-            releasePersistenceBuffer(persistBuffer);
+            releasePersistenceBuffer(persistBuffer, error);
+
+        return ReactorReturnCodes.SUCCESS;
     }
 
     @Override
-	void releasePersistenceBuffer(TunnelStreamPersistenceBuffer persistBuffer)
+	int releasePersistenceBuffer(TunnelStreamPersistenceBuffer persistBuffer, Error error)
 	{
         if (persistBuffer.isTransmitted())
         {
@@ -300,13 +302,15 @@ class TunnelStreamPersistenceFileV1 extends TunnelStreamPersistenceFile
                     persistBuffer);
         }
         persistBuffer.reset();
+
+        return ReactorReturnCodes.SUCCESS;
 	}
 
     @Override
-    void setBufferAsTransmitted(TunnelStreamPersistenceBuffer persistenceBuffer)
+    int setBufferAsTransmitted(TunnelStreamPersistenceBuffer persistenceBuffer, Error error)
     {
         if (persistenceBuffer.isTransmitted())
-            return;
+            return ReactorReturnCodes.SUCCESS;
         
         int seqNum;
         /* Assign a sequence number to the buffer and mark it as 
@@ -320,6 +324,8 @@ class TunnelStreamPersistenceFileV1 extends TunnelStreamPersistenceFile
         persistenceBufferListMove(_waitingTransmitList, Header.WAIT_TRANSMIT_HEAD_POS,
                 _waitingQueueAckList, Header.WAITACK_LIST_HEAD_POS, persistenceBuffer);
         lastOutSeqNum(seqNum);
+
+        return ReactorReturnCodes.SUCCESS;
     }
 
     @Override
@@ -251,29 +251,33 @@ class TunnelStreamPersistenceFileV2 extends TunnelStreamPersistenceFile
     }
 
     @Override
-    void releasePersistenceBuffers(int seqNum)
+    int releasePersistenceBuffers(int seqNum, Error error)
     {
         TunnelStreamPersistenceBuffer persistBuffer;
         
         while ((persistBuffer = _savedMsgList.peek()) != null
                 && TunnelStreamUtil.seqNumCompare(persistBuffer.seqNum(), seqNum) <= 0)
-            releasePersistenceBuffer(persistBuffer);
+            releasePersistenceBuffer(persistBuffer, error);
+
+        return ReactorReturnCodes.SUCCESS;
     }
 
     @Override
-	void releasePersistenceBuffer(TunnelStreamPersistenceBuffer persistBuffer)
+	int releasePersistenceBuffer(TunnelStreamPersistenceBuffer persistBuffer, Error error)
 	{
         persistenceBufferListMove( _savedMsgList, Header.SAVED_HEAD_POS,
                 _persistentBufferPool, Header.POOL_HEAD_POS,
                 persistBuffer);
         persistBuffer.reset();
+
+        return ReactorReturnCodes.SUCCESS;
 	}
 
     @Override
-    void setBufferAsTransmitted(TunnelStreamPersistenceBuffer persistenceBuffer)
+    int setBufferAsTransmitted(TunnelStreamPersistenceBuffer persistenceBuffer, Error error)
     {
         if (persistenceBuffer.isTransmitted())
-            return;
+            return ReactorReturnCodes.SUCCESS;
         
         int seqNum;
         /* Assign a sequence number to the buffer and mark it as 
@@ -286,6 +290,8 @@ class TunnelStreamPersistenceFileV2 extends TunnelStreamPersistenceFile
         persistenceBuffer.seqNum(seqNum);
         lastOutSeqNum(seqNum);
         _fileByteBuf.force();
+
+        return ReactorReturnCodes.SUCCESS;
     }
 
     @Override
@@ -0,0 +1,844 @@
+package com.refinitiv.eta.valueadd.reactor;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.util.ArrayDeque;
+import java.util.TreeMap;
+import java.util.zip.CRC32;
+
+import com.refinitiv.eta.codec.DecodeIterator;
+import com.refinitiv.eta.codec.EncodeIterator;
+import com.refinitiv.eta.codec.Msg;
+import com.refinitiv.eta.transport.Error;
+import com.refinitiv.eta.valueadd.common.VaDoubleLinkList;
+
+/* Class for handling a persistence file with version 3.
+ * The persistence file only holds a header. Messages are appended, along with the records of their
+ * transmission and release, to a log of memory-mapped segment files named after the persistence file.
+ * Segments are reused once the messages saved in them are released, so the log is bounded by
+ * Header.MAX_SEGMENTS segments. Changes are forced to disk in groups, as configured by
+ * CosGuarantee.persistenceCommitBatchSize() and CosGuarantee.persistenceCommitInterval(),
+ * and the log is replayed when the file is reopened. Each record carries a CRC32 of its contents,
+ * and replay stops at the first record that does not match it. */
+class TunnelStreamPersistenceFileV3 extends TunnelStreamPersistenceFile
+{
+    private int _segmentSize;
+    private int _maxSegments;
+    private int _maxMsgLength;
+
+	/* (SUBSTREAM_LINK) Persistent buffers that have been saved, in the order they were saved. */
+	VaDoubleLinkList<TunnelStreamPersistenceBuffer> _savedMsgList;
+
+    /* Segments of the log, oldest first. The last one is the segment records are written to. */
+    ArrayDeque<Segment> _segments;
+
+    /* Segment files, by slot. Segments are kept mapped to be reused by later segments of the log. */
+    private Segment[] _segmentSlots;
+
+    /* Persistence file, segment files are named after it. */
+    private File _persistenceFile;
+
+    private int _nextSegmentId;
+    private long _nextMsgIndex;
+
+    /* Bytes of the log needed by the transmit and release records of the saved messages. */
+    private long _pendingRecordBytes;
+
+    /* Records written since the last commit, and when to commit them. */
+    int _uncommittedRecordCount;
+    private int _commitBatchSize;
+    private long _commitIntervalNsec;
+
+    /* Whether the header has changes the records do not recover. The last outbound sequence
+     * number is recovered from the records, and the header is forced when they are dropped. */
+    private boolean _headerChanged;
+
+    private CRC32 _crc = new CRC32();
+
+	/* Static class to describe the file header. */
+	private class Header
+	{
+		private static final int LENGTH = 0
+			+ 4 /* file version */
+			+ 4 /* segmentSize */
+			+ 4 /* maxSegments */
+			+ 4 /* maxMsgSize */
+			+ 4 /* lastOutSeqNum */
+			+ 4 /* lastInSeqNum */
+            ;
+
+		private static final int FILE_VERSION_POS = 0;
+		private static final int SEGMENT_SIZE_POS = FILE_VERSION_POS + 4;
+		private static final int MAX_SEGMENTS_POS = SEGMENT_SIZE_POS + 4;
+		private static final int MAX_MSG_LENGTH_POS = MAX_SEGMENTS_POS + 4;
+		private static final int LAST_OUT_SEQ_NUM_POS = MAX_MSG_LENGTH_POS + 4;
+		private static final int LAST_IN_SEQ_NUM_POS = LAST_OUT_SEQ_NUM_POS + 4;
+
+		private static final int MAX_SEGMENTS = 16;
+
+        /* A segment holds at least this many messages of the maximum size. */
+		private static final int MIN_SEGMENT_MSGS = 128;
+		private static final int MIN_SEGMENT_SIZE = 1024 * 1024;
+	}
+
+    /* Static class to describe the log records. Records are aligned to 8 bytes.
+     * The CRC covers the rest of the record, up to the end of the message of SAVE records. */
+    private class Record
+    {
+        private static final int LENGTH = 0
+            + 4 /* CRC */
+            + 4 /* record length */
+            + 4 /* type */
+            + 4 /* segment id */
+            + 4 /* sequence number */
+            + 4 /* reserved */
+            + 8 /* message index */
+            ;
+
+        static final int CRC_POS = 0;
+        static final int RECORD_LENGTH_POS = CRC_POS + 4;
+        static final int TYPE_POS = RECORD_LENGTH_POS + 4;
+        static final int SEGMENT_ID_POS = TYPE_POS + 4;
+        static final int SEQ_NUM_POS = SEGMENT_ID_POS + 4;
+        static final int RESERVED_POS = SEQ_NUM_POS + 4;
+        static final int MSG_INDEX_POS = RESERVED_POS + 4;
+
+        /* SAVE records are followed by the message header and the message. */
+        static final int SAVE_LENGTH = LENGTH
+            + 4 /* flags */
+            + 4 /* length */
+            + 8 /* time of arrival */
+            + 8 /* time to live */
+            ;
+
+        static final int FLAGS_POS = LENGTH;
+        static final int MSG_LENGTH_POS = FLAGS_POS + 4;
+        static final int TIME_QUEUED_POS = MSG_LENGTH_POS + 4;
+        static final int TIME_TO_LIVE_POS = TIME_QUEUED_POS + 8;
+
+        static final int ALIGNMENT = 8;
+    }
+
+    private class RecordTypes
+    {
+        private static final int SAVE = 1;
+        private static final int TRANSMIT = 2;
+        private static final int RELEASE = 3;
+    }
+
+    private class MsgHeaderFlags
+    {
+        private static final int NONE = 0x0;
+        private static final int TRANSMITTED = 0x1;
+    }
+
+    /* Memory-mapped file holding a segment of the log. */
+    static class Segment
+    {
+        RandomAccessFile _file;
+        FileChannel _fileChannel;
+        MappedByteBuffer _byteBuf;
+
+        /* Position of the segment in the log. Records carry it, so that the records
+         * left in the file by a previous segment are ignored. */
+        int _id;
+
+        /* End of the records written to the segment. */
+        int _position;
+
+        /* Saved messages whose latest SAVE record is in this segment. */
+        int _msgCount;
+        int _msgBytes;
+    }
+
+    TunnelStreamPersistenceFileV3(TunnelSubstream tunnelSubstream, File persistenceFile, RandomAccessFile file, FileChannel fileChannel, FileLock fileLock,
+            Msg tmpMsg, EncodeIterator tmpEncodeIter, DecodeIterator tmpDecodeIter, boolean reset, Error error)
+    {
+        super(tunnelSubstream, file, fileChannel, fileLock);
+
+        _persistenceFile = persistenceFile;
+		_savedMsgList = new VaDoubleLinkList<TunnelStreamPersistenceBuffer>();
+        _segments = new ArrayDeque<Segment>();
+
+        CosGuarantee guarantee = _tunnelSubstream._tunnelStream.classOfService().guarantee();
+        _commitBatchSize = guarantee.persistenceCommitBatchSize();
+        _commitIntervalNsec = guarantee.persistenceCommitInterval() * TunnelStreamUtil.NANO_PER_MILLI;
+
+        try
+        {
+            _fileByteBuf = fileChannel.map(FileChannel.MapMode.READ_WRITE, 0, Header.LENGTH);
+            _fileByteBuf.order(ByteOrder.LITTLE_ENDIAN);
+
+            if (!reset)
+            {
+                _segmentSize = _fileByteBuf.getInt(Header.SEGMENT_SIZE_POS);
+                _maxSegments = _fileByteBuf.getInt(Header.MAX_SEGMENTS_POS);
+                _maxMsgLength = _fileByteBuf.getInt(Header.MAX_MSG_LENGTH_POS);
+                _tunnelSubstream._lastOutSeqNum = _fileByteBuf.getInt(Header.LAST_OUT_SEQ_NUM_POS);
+                _tunnelSubstream._lastInSeqNum = _fileByteBuf.getInt(Header.LAST_IN_SEQ_NUM_POS);
+                _segmentSlots = new Segment[_maxSegments];
+
+                replay();
+            }
+            else
+            {
+                _maxSegments = Header.MAX_SEGMENTS;
+                _maxMsgLength = _tunnelSubstream._tunnelStream.classOfService().common().maxMsgSize();
+                _segmentSize = segmentSize(_maxMsgLength);
+                _segmentSlots = new Segment[_maxSegments];
+                _tunnelSubstream._lastOutSeqNum = 0;
+                _tunnelSubstream._lastInSeqNum = 0;
+
+                /* Remove the segments of a previous log. */
+                for (int i = 0; i < _maxSegments; ++i)
+                {
+                    File segmentFile = segmentFile(i);
+                    if (segmentFile.exists() && !segmentFile.delete())
+                    {
+                        error.errorId(ReactorReturnCodes.FAILURE);
+                        error.text("Failed to remove persistence file segment " + segmentFile.getName());
+                        return;
+                    }
+                }
+
+                _fileByteBuf.putInt(Header.FILE_VERSION_POS, FileVersion.V3L);
+                _fileByteBuf.putInt(Header.SEGMENT_SIZE_POS, _segmentSize);
+                _fileByteBuf.putInt(Header.MAX_SEGMENTS_POS, _maxSegments);
+                _fileByteBuf.putInt(Header.MAX_MSG_LENGTH_POS, _maxMsgLength);
+                _fileByteBuf.putInt(Header.LAST_OUT_SEQ_NUM_POS, 0);
+                _fileByteBuf.putInt(Header.LAST_IN_SEQ_NUM_POS, 0);
+                _fileByteBuf.force();
+            }
+        }
+        catch(IOException e)
+        {
+            error.errorId(ReactorReturnCodes.FAILURE);
+            error.text("Failed to map persistence file to ByteBuffer");
+            return;
+        }
+
+        error.errorId(ReactorReturnCodes.SUCCESS);
+    }
+
+    /* Returns the size of the segments for messages of the given maximum size. */
+    static int segmentSize(int maxMsgLength)
+    {
+        long segmentSize = (long)recordLength(Record.SAVE_LENGTH + maxMsgLength + SlicedBufferPool.TUNNEL_STREAM_HDR_SIZE) * Header.MIN_SEGMENT_MSGS;
+
+        if (segmentSize < Header.MIN_SEGMENT_SIZE)
+            segmentSize = Header.MIN_SEGMENT_SIZE;
+
+        return (int)((segmentSize + 4095) & ~4095L);
+    }
+
+    private static int recordLength(int length)
+    {
+        return (length + Record.ALIGNMENT - 1) & ~(Record.ALIGNMENT - 1);
+    }
+
+    private File segmentFile(int slot)
+    {
+        return new File(_persistenceFile.getPath() + ".seg" + slot);
+    }
+
+    /* Rebuilds the saved messages from the segments of the log. */
+    private void replay() throws IOException
+    {
+        /* Saved messages by index, i.e. in the order they were saved. */
+        TreeMap<Long, TunnelStreamPersistenceBuffer> savedMsgs = new TreeMap<Long, TunnelStreamPersistenceBuffer>();
+        Segment segment;
+        int newestSegmentId = -1;
+
+        /* Map the existing segment files. */
+        for (int i = 0; i < _maxSegments; ++i)
+        {
+            File segmentFile = segmentFile(i);
+            if (!segmentFile.exists())
+                continue;
+
+            segment = mapSegment(segmentFile);
+            _segmentSlots[i] = segment;
+
+            if (recordDataLength(segment._byteBuf, 0) < 0)
+                segment._id = -1;
+            else
+            {
+                segment._id = segment._byteBuf.getInt(Record.SEGMENT_ID_POS);
+                if (segment._id > newestSegmentId)
+                    newestSegmentId = segment._id;
+            }
+        }
+
+        /* The log is the run of consecutive segments ending with the newest one. */
+        if (newestSegmentId >= 0)
+        {
+            int segmentId;
+            for (segmentId = newestSegmentId; segmentId >= 0 && newestSegmentId - segmentId < _maxSegments; --segmentId)
+            {
+                segment = _segmentSlots[segmentId % _maxSegments];
+                if (segment == null || segment._id != segmentId)
+                    break;
+                _segments.addFirst(segment);
+            }
+
+            for (Segment logSegment : _segments)
+                replaySegment(logSegment, savedMsgs);
+        }
+
+        _nextSegmentId = newestSegmentId + 1;
+
+        for (TunnelStreamPersistenceBuffer persistBuffer : savedMsgs.values())
+        {
+            _savedMsgList.push(persistBuffer, TunnelStreamPersistenceBuffer.SUBSTREAM_LINK);
+            _pendingRecordBytes += (persistBuffer.isTransmitted() ? 0 : Record.LENGTH) + Record.LENGTH;
+            if (persistBuffer.isTransmitted() && TunnelStreamUtil.seqNumCompare(persistBuffer.seqNum(), _tunnelSubstream._lastOutSeqNum) > 0)
+                _tunnelSubstream._lastOutSeqNum = persistBuffer.seqNum();
+        }
+
+        releaseSegments();
+    }
+
+    /* Applies the records of a segment to the saved messages. */
+    private void replaySegment(Segment segment, TreeMap<Long, TunnelStreamPersistenceBuffer> savedMsgs)
+    {
+        ByteBuffer byteBuf = segment._byteBuf;
+        TunnelStreamPersistenceBuffer persistBuffer;
+        int position = 0;
+
+        while (position + Record.LENGTH <= _segmentSize)
+        {
+            /* Stop at the end of the records written, at a record of a previous segment,
+             * or at a record that was not completely written. */
+            if (recordDataLength(byteBuf, position) < 0
+                    || byteBuf.getInt(position + Record.SEGMENT_ID_POS) != segment._id)
+                break;
+
+            int recordLength = byteBuf.getInt(position + Record.RECORD_LENGTH_POS);
+
+            long msgIndex = byteBuf.getLong(position + Record.MSG_INDEX_POS);
+
+            switch (byteBuf.getInt(position + Record.TYPE_POS))
+            {
+                case RecordTypes.SAVE:
+                    /* Messages are saved again when relocated from an older segment. */
+                    if ((persistBuffer = savedMsgs.get(msgIndex)) != null)
+                        removeFromSegment(persistBuffer);
+                    else
+                    {
+                        persistBuffer = new TunnelStreamPersistenceBuffer();
+                        persistBuffer.msgIndex(msgIndex);
+                        savedMsgs.put(msgIndex, persistBuffer);
+                    }
+
+                    persistBuffer.length(byteBuf.getInt(position + Record.MSG_LENGTH_POS));
+                    persistBuffer.tunnelStreamHeaderLen(0); /* This format does not include a tunnel stream header. */
+                    persistBuffer.isTransmitted((byteBuf.getInt(position + Record.FLAGS_POS) & MsgHeaderFlags.TRANSMITTED) != 0);
+                    persistBuffer.seqNum(byteBuf.getInt(position + Record.SEQ_NUM_POS));
+                    addToSegment(persistBuffer, segment, position, recordLength);
+
+                    if (msgIndex >= _nextMsgIndex)
+                        _nextMsgIndex = msgIndex + 1;
+                    break;
+
+                case RecordTypes.TRANSMIT:
+                    if ((persistBuffer = savedMsgs.get(msgIndex)) != null)
+                    {
+                        persistBuffer.isTransmitted(true);
+                        persistBuffer.seqNum(byteBuf.getInt(position + Record.SEQ_NUM_POS));
+                    }
+                    replaySeqNum(byteBuf.getInt(position + Record.SEQ_NUM_POS));
+                    break;
+
+                case RecordTypes.RELEASE:
+                    if ((persistBuffer = savedMsgs.remove(msgIndex)) != null)
+                        removeFromSegment(persistBuffer);
+                    replaySeqNum(byteBuf.getInt(position + Record.SEQ_NUM_POS));
+                    break;
+
+                default:
+                    break;
+            }
+
+            position += recordLength;
+        }
+
+        segment._position = position;
+    }
+
+    /* Returns the length of the record at the given position, not including its padding,
+     * or -1 if there is no valid record there. */
+    private int recordDataLength(ByteBuffer byteBuf, int position)
+    {
+        int recordLength = byteBuf.getInt(position + Record.RECORD_LENGTH_POS);
+        int dataLength;
+
+        switch (byteBuf.getInt(position + Record.TYPE_POS))
+        {
+            case RecordTypes.SAVE:
+                if (recordLength < Record.SAVE_LENGTH || position + recordLength > _segmentSize)
+                    return -1;
+                dataLength = byteBuf.getInt(position + Record.MSG_LENGTH_POS);
+                if (dataLength < 0 || recordLength(Record.SAVE_LENGTH + dataLength) != recordLength)
+                    return -1;
+                dataLength += Record.SAVE_LENGTH;
+                break;
+
+            case RecordTypes.TRANSMIT:
+            case RecordTypes.RELEASE:
+                if (recordLength != Record.LENGTH)
+                    return -1;
+                dataLength = Record.LENGTH;
+                break;
+
+            default:
+                return -1;
+        }
+
+        if (byteBuf.getInt(position + Record.CRC_POS) != recordCrc(byteBuf, position, dataLength))
+            return -1;
+
+        return dataLength;
+    }
+
+    /* Returns the CRC of a record. */
+    private int recordCrc(ByteBuffer byteBuf, int position, int dataLength)
+    {
+        int tmpLimit = byteBuf.limit();
+        byteBuf.limit(position + dataLength);
+        byteBuf.position(position + Record.CRC_POS + 4);
+        _crc.reset();
+        _crc.update(byteBuf);
+        byteBuf.limit(tmpLimit);
+        return (int)_crc.getValue();
+    }
+
+    /* The header is not forced with each commit, so the last outbound sequence number
+     * may be newer in the records. */
+    private void replaySeqNum(int seqNum)
+    {
+        if (TunnelStreamUtil.seqNumCompare(seqNum, _tunnelSubstream._lastOutSeqNum) > 0)
+            _tunnelSubstream._lastOutSeqNum = seqNum;
+    }
+
+    private Segment mapSegment(File segmentFile) throws IOException
+    {
+        Segment segment = new Segment();
+        segment._file = new RandomAccessFile(segmentFile, "rw");
+        segment._fileChannel = segment._file.getChannel();
+        segment._byteBuf = segment._fileChannel.map(FileChannel.MapMode.READ_WRITE, 0, _segmentSize);
+        segment._byteBuf.order(ByteOrder.LITTLE_ENDIAN);
+        return segment;
+    }
+
+    private void addToSegment(TunnelStreamPersistenceBuffer persistBuffer, Segment segment, int position, int recordLength)
+    {
+        persistBuffer.segment(segment);
+        persistBuffer.filePosition(position);
+        ++segment._msgCount;
+        segment._msgBytes += recordLength;
+    }
+
+    private void removeFromSegment(TunnelStreamPersistenceBuffer persistBuffer)
+    {
+        Segment segment = persistBuffer.segment();
+        --segment._msgCount;
+        segment._msgBytes -= recordLength(Record.SAVE_LENGTH + persistBuffer.length());
+        persistBuffer.segment(null);
+    }
+
+    /* Returns the bytes that can still be written to the log. */
+    private long freeLogBytes(int recordLength)
+    {
+        Segment segment = _segments.peekLast();
+        /* A segment started for a record may leave up to a record unused at the end of the previous one. */
+        long freeBytes = (long)(_maxSegments - _segments.size()) * (_segmentSize - Record.LENGTH);
+
+        if (segment != null && segment._position + recordLength <= _segmentSize)
+            return freeBytes + _segmentSize - segment._position - recordLength;
+        else if (freeBytes > 0)
+            return freeBytes - recordLength;
+        else
+            return -1;
+    }
+
+    /* Makes room for a record, starting a new segment if needed. */
+    private int reserveRecord(int recordLength, Error error)
+    {
+        Segment segment = _segments.peekLast();
+
+        if (segment != null && segment._position + recordLength <= _segmentSize)
+            return ReactorReturnCodes.SUCCESS;
+
+        if (_segments.size() == _maxSegments)
+        {
+            error.errorId(ReactorReturnCodes.PERSISTENCE_FULL);
+            error.text("Local persistence file is full. Space may become available later as delivered messages are acknowledged.");
+            return ReactorReturnCodes.PERSISTENCE_FULL;
+        }
+
+        /* Records of the previous segment are committed with it. */
+        if (segment != null && _uncommittedRecordCount > 0)
+            segment._byteBuf.force();
+
+        int slot = _nextSegmentId % _maxSegments;
+        if ((segment = _segmentSlots[slot]) == null)
+        {
+            try
+            {
+                segment = _segmentSlots[slot] = mapSegment(segmentFile(slot));
+            }
+            catch (IOException e)
+            {
+                error.errorId(ReactorReturnCodes.FAILURE);
+                error.text("Failed to create persistence file segment: " + e.getLocalizedMessage());
+                return ReactorReturnCodes.FAILURE;
+            }
+        }
+
+        segment._id = _nextSegmentId++;
+        segment._position = 0;
+        segment._msgCount = 0;
+        segment._msgBytes = 0;
+        _segments.addLast(segment);
+
+        /* Move the messages left in the oldest segment, if they are few, so that they do not
+         * keep the rest of it from being reused. */
+        Segment oldestSegment = _segments.peekFirst();
+        if (oldestSegment != segment && oldestSegment._msgBytes <= _segmentSize / 2)
+        {
+            for (TunnelStreamPersistenceBuffer persistBuffer = _savedMsgList.peek(); persistBuffer != null;
+                    persistBuffer = TunnelStreamPersistenceBuffer.SUBSTREAM_LINK.getNext(persistBuffer))
+            {
+                if (persistBuffer.segment() == oldestSegment)
+                    relocateMsg(persistBuffer, segment);
+            }
+
+            /* Relocated messages must be on disk before the segment they were in is reused. */
+            segment._byteBuf.force();
+            releaseSegments();
+        }
+
+        return ReactorReturnCodes.SUCCESS;
+    }
+
+    /* Saves a message again in the given segment. */
+    private void relocateMsg(TunnelStreamPersistenceBuffer persistBuffer, Segment segment)
+    {
+        ByteBuffer fromByteBuf = persistBuffer.segment()._byteBuf;
+        int fromPosition = persistBuffer.filePosition();
+        int recordLength = recordLength(Record.SAVE_LENGTH + persistBuffer.length());
+        ByteBuffer byteBuf = segment._byteBuf;
+        int position = segment._position;
+
+        byteBuf.putInt(position + Record.TYPE_POS, RecordTypes.SAVE);
+        byteBuf.putInt(position + Record.SEGMENT_ID_POS, segment._id);
+        byteBuf.putInt(position + Record.SEQ_NUM_POS, persistBuffer.seqNum());
+        byteBuf.putInt(position + Record.RESERVED_POS, 0);
+        byteBuf.putLong(position + Record.MSG_INDEX_POS, persistBuffer.msgIndex());
+        byteBuf.putInt(position + Record.FLAGS_POS, persistBuffer.isTransmitted() ? MsgHeaderFlags.TRANSMITTED : MsgHeaderFlags.NONE);
+        byteBuf.putInt(position + Record.MSG_LENGTH_POS, persistBuffer.length());
+        byteBuf.putLong(position + Record.TIME_QUEUED_POS, fromByteBuf.getLong(fromPosition + Record.TIME_QUEUED_POS));
+        byteBuf.putLong(position + Record.TIME_TO_LIVE_POS, fromByteBuf.getLong(fromPosition + Record.TIME_TO_LIVE_POS));
+
+        int tmpLimit = fromByteBuf.limit();
+        fromByteBuf.limit(fromPosition + Record.SAVE_LENGTH + persistBuffer.length());
+        fromByteBuf.position(fromPosition + Record.SAVE_LENGTH);
+        byteBuf.position(position + Record.SAVE_LENGTH);
+        byteBuf.put(fromByteBuf);
+        fromByteBuf.limit(tmpLimit);
+
+        byteBuf.putInt(position + Record.RECORD_LENGTH_POS, recordLength);
+        byteBuf.putInt(position + Record.CRC_POS, recordCrc(byteBuf, position, Record.SAVE_LENGTH + persistBuffer.length()));
+        segment._position += recordLength;
+
+        removeFromSegment(persistBuffer);
+        addToSegment(persistBuffer, segment, position, recordLength);
+    }
+
+    /* Removes the oldest segments once all their messages are released. */
+    private void releaseSegments()
+    {
+        while (_segments.size() > 1 && _segments.peekFirst()._msgCount == 0)
+        {
+            /* The records dropped may hold the last outbound sequence number. */
+            if (_segments.pollFirst()._position > 0)
+                _fileByteBuf.force();
+        }
+    }
+
+    /* Writes a TRANSMIT or RELEASE record. */
+    private int writeRecord(int type, TunnelStreamPersistenceBuffer persistBuffer, int seqNum, Error error)
+    {
+        int ret;
+
+        /* Room for these records is kept by saveMsg(), but a new segment may fail to be created. */
+        if ((ret = reserveRecord(Record.LENGTH, error)) != ReactorReturnCodes.SUCCESS)
+            return ret;
+
+        Segment segment = _segments.peekLast();
+        ByteBuffer byteBuf = segment._byteBuf;
+        int position = segment._position;
+
+        byteBuf.putInt(position + Record.RECORD_LENGTH_POS, Record.LENGTH);
+        byteBuf.putInt(position + Record.TYPE_POS, type);
+        byteBuf.putInt(position + Record.SEGMENT_ID_POS, segment._id);
+        byteBuf.putInt(position + Record.SEQ_NUM_POS, seqNum);
+        byteBuf.putInt(position + Record.RESERVED_POS, 0);
+        byteBuf.putLong(position + Record.MSG_INDEX_POS, persistBuffer.msgIndex());
+        byteBuf.putInt(position + Record.CRC_POS, recordCrc(byteBuf, position, Record.LENGTH));
+        segment._position += Record.LENGTH;
+
+        recordWritten();
+
+        return ReactorReturnCodes.SUCCESS;
+    }
+
+    /* Forces the records to disk once enough of them are written, or schedules it
+     * for when the commit interval elapses. */
+    private void recordWritten()
+    {
+        if (++_uncommittedRecordCount >= _commitBatchSize)
+            commit();
+        else if (_uncommittedRecordCount == 1)
+            _tunnelSubstream._tunnelStream.persistenceCommitTimeout(System.nanoTime() + _commitIntervalNsec);
+    }
+
+    @Override
+    void commit()
+    {
+        if (_uncommittedRecordCount == 0)
+            return;
+
+        _segments.peekLast()._byteBuf.force();
+        if (_headerChanged)
+        {
+            _fileByteBuf.force();
+            _headerChanged = false;
+        }
+        _uncommittedRecordCount = 0;
+    }
+
+	@Override
+	void lastOutSeqNum(int lastOutSeqNum)
+	{
+        _fileByteBuf.putInt(Header.LAST_OUT_SEQ_NUM_POS, lastOutSeqNum);
+	}
+
+    @Override
+	void lastInSeqNum(int lastInSeqNum)
+	{
+        _fileByteBuf.putInt(Header.LAST_IN_SEQ_NUM_POS, lastInSeqNum);
+        _headerChanged = true;
+	}
+
+    @Override
+	int saveMsg(TunnelStreamBuffer buffer, Error error)
+    {
+        int ret;
+        TunnelStreamPersistenceBuffer persistenceBuffer;
+
+        assert (buffer.length() <= _tunnelSubstream._tunnelStream._classOfService.common().maxMsgSize());
+
+        buffer.setToInnerWriteBuffer();
+        int msgLength = buffer.length();
+        int recordLength = recordLength(Record.SAVE_LENGTH + msgLength);
+
+        /* Stop if the log would have no room left for the transmit and release records
+         * of the saved messages. */
+        if (freeLogBytes(recordLength) < _pendingRecordBytes + 2 * Record.LENGTH)
+        {
+            error.errorId(ReactorReturnCodes.PERSISTENCE_FULL);
+            error.text("Local persistence file is full. Space may become available later as delivered messages are acknowledged.");
+            return ReactorReturnCodes.PERSISTENCE_FULL;
+        }
+
+        if ((ret = reserveRecord(recordLength, error)) != ReactorReturnCodes.SUCCESS)
+            return ret;
+
+        if ((persistenceBuffer = _persistentBufferPool.pop(TunnelStreamPersistenceBuffer.SUBSTREAM_LINK)) == null)
+            persistenceBuffer = new TunnelStreamPersistenceBuffer();
+
+        Segment segment = _segments.peekLast();
+        ByteBuffer byteBuf = segment._byteBuf;
+        int position = segment._position;
+
+        /* Store message in the log. */
+        byteBuf.putInt(position + Record.TYPE_POS, RecordTypes.SAVE);
+        byteBuf.putInt(position + Record.SEGMENT_ID_POS, segment._id);
+        byteBuf.putInt(position + Record.SEQ_NUM_POS, 0);
+        byteBuf.putInt(position + Record.RESERVED_POS, 0);
+        byteBuf.putLong(position + Record.MSG_INDEX_POS, _nextMsgIndex);
+        byteBuf.putInt(position + Record.FLAGS_POS, MsgHeaderFlags.NONE);
+        byteBuf.putInt(position + Record.MSG_LENGTH_POS, msgLength);
+        if (!buffer.timeoutIsCode())
+        {
+            assert(buffer.timeoutNsec() - buffer.timeQueuedNsec() > 0);
+            byteBuf.putLong(position + Record.TIME_TO_LIVE_POS, (buffer.timeoutNsec() - buffer.timeQueuedNsec()) / TunnelStreamUtil.NANO_PER_MILLI);
+            byteBuf.putLong(position + Record.TIME_QUEUED_POS, buffer.timeQueuedNsec());
+        }
+        else
+            byteBuf.putLong(position + Record.TIME_TO_LIVE_POS, buffer.timeoutNsec());
+
+        byteBuf.position(position + Record.SAVE_LENGTH);
+        buffer.copy(byteBuf);
+
+        /* The CRC is written last, so that a record is only replayed once complete. */
+        byteBuf.putInt(position + Record.RECORD_LENGTH_POS, recordLength);
+        byteBuf.putInt(position + Record.CRC_POS, recordCrc(byteBuf, position, Record.SAVE_LENGTH + msgLength));
+        segment._position += recordLength;
+
+        persistenceBuffer.msgIndex(_nextMsgIndex++);
+        persistenceBuffer.length(msgLength);
+        persistenceBuffer.seqNum(0);
+        addToSegment(persistenceBuffer, segment, position, recordLength);
+        _savedMsgList.push(persistenceBuffer, TunnelStreamPersistenceBuffer.SUBSTREAM_LINK);
+        _pendingRecordBytes += 2 * Record.LENGTH;
+
+        buffer.persistenceBuffer(_tunnelSubstream, persistenceBuffer);
+
+        recordWritten();
+
+        return ReactorReturnCodes.SUCCESS;
+    }
+
+    @Override
+    int releasePersistenceBuffers(int seqNum, Error error)
+    {
+        TunnelStreamPersistenceBuffer persistBuffer;
+        int ret;
+
+        while ((persistBuffer = _savedMsgList.peek()) != null
+                && persistBuffer.isTransmitted()
+                && TunnelStreamUtil.seqNumCompare(persistBuffer.seqNum(), seqNum) <= 0)
+        {
+            if ((ret = releasePersistenceBuffer(persistBuffer, error)) != ReactorReturnCodes.SUCCESS)
+                return ret;
+        }
+
+        return ReactorReturnCodes.SUCCESS;
+    }
+
+    @Override
+	int releasePersistenceBuffer(TunnelStreamPersistenceBuffer persistBuffer, Error error)
+	{
+        int ret;
+
+        /* The message stays saved if its release is not recorded. */
+        if ((ret = writeRecord(RecordTypes.RELEASE, persistBuffer, persistBuffer.seqNum(), error)) != ReactorReturnCodes.SUCCESS)
+            return ret;
+
+        _pendingRecordBytes -= (persistBuffer.isTransmitted() ? 0 : Record.LENGTH) + Record.LENGTH;
+        _savedMsgList.remove(persistBuffer, TunnelStreamPersistenceBuffer.SUBSTREAM_LINK);
+        removeFromSegment(persistBuffer);
+        persistBuffer.reset();
+        _persistentBufferPool.push(persistBuffer, TunnelStreamPersistenceBuffer.SUBSTREAM_LINK);
+
+        releaseSegments();
+
+        return ReactorReturnCodes.SUCCESS;
+	}
+
+    @Override
+    int setBufferAsTransmitted(TunnelStreamPersistenceBuffer persistenceBuffer, Error error)
+    {
+        int ret;
+
+        if (persistenceBuffer.isTransmitted())
+            return ReactorReturnCodes.SUCCESS;
+
+        /* Assign a sequence number to the buffer and mark it as
+         * transmitted, once recorded. */
+        int seqNum = _tunnelSubstream._lastOutSeqNum + 1;
+
+        if ((ret = writeRecord(RecordTypes.TRANSMIT, persistenceBuffer, seqNum, error)) != ReactorReturnCodes.SUCCESS)
+            return ret;
+
+        persistenceBuffer.isTransmitted(true);
+        persistenceBuffer.seqNum(seqNum);
+        lastOutSeqNum(seqNum);
+        _pendingRecordBytes -= Record.LENGTH;
+
+        return ReactorReturnCodes.SUCCESS;
+    }
+
+    @Override
+	int retransmitBuffers(int seqNum, Msg tmpMsg, EncodeIterator tmpEncodeIter, DecodeIterator tmpDecodeIter, Error error)
+	{
+		TunnelStreamPersistenceBuffer persistBuffer;
+		int ret;
+		long currentTime = System.nanoTime();
+
+        for(persistBuffer = _savedMsgList.start(TunnelStreamPersistenceBuffer.SUBSTREAM_LINK);
+                persistBuffer != null;
+                persistBuffer = _savedMsgList.forth(TunnelStreamPersistenceBuffer.SUBSTREAM_LINK))
+            if ((ret = retransmitBuffer(persistBuffer, seqNum, currentTime, tmpMsg, tmpEncodeIter, tmpDecodeIter, error)) != ReactorReturnCodes.SUCCESS)
+                return ret;
+
+        return ReactorReturnCodes.SUCCESS;
+	}
+
+    @Override
+    int close(Error error)
+    {
+        if (_fileByteBuf != null)
+        {
+            commit();
+            _fileByteBuf.force();
+
+            for (int i = 0; i < _segmentSlots.length; ++i)
+            {
+                if (_segmentSlots[i] == null)
+                    continue;
+
+                try
+                {
+                    _segmentSlots[i]._fileChannel.close();
+                    _segmentSlots[i]._file.close();
+                }
+                catch (IOException e)
+                {
+                    error.errorId(ReactorReturnCodes.FAILURE);
+                    error.text("Failed to close persistence file segment.");
+                    return ReactorReturnCodes.FAILURE;
+                }
+            }
+        }
+
+        return super.close(error);
+    }
+
+    @Override
+    void clear(Error tmpError)
+    {
+        super.clear(tmpError);
+        while (_savedMsgList.pop(TunnelStreamPersistenceBuffer.SUBSTREAM_LINK) != null);
+        _segments.clear();
+        _segmentSlots = null;
+        _uncommittedRecordCount = 0;
+        _pendingRecordBytes = 0;
+    }
+
+    @Override
+    ByteBuffer persistBufferByteBuf(TunnelStreamPersistenceBuffer persistBuffer)
+    {
+        return persistBuffer.segment()._byteBuf;
+    }
+
+    @Override
+    int persistBufferMsgOffset()
+    {
+        return Record.SAVE_LENGTH;
+    }
+
+    @Override
+    long persistBufferTimeoutNsec(TunnelStreamPersistenceBuffer persistBuffer)
+    {
+        return persistBuffer.segment()._byteBuf.getLong(persistBuffer.filePosition() + Record.TIME_TO_LIVE_POS) * TunnelStreamUtil.NANO_PER_MILLI;
+    }
+}
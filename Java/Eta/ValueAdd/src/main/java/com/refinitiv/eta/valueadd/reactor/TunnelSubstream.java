@@ -197,6 +197,17 @@ class TunnelSubstream
 
         switch(fileVersion)
         {
+            case FileVersion.V3:
+            {
+                _persistFile = new TunnelStreamPersistenceFileV3(this, queueFile, file, fileChannel, fileLock, _msg, _encIter, _dIter, reset, error);
+                if (error.errorId() != ReactorReturnCodes.SUCCESS)
+                {
+                    _persistFile = null;
+                    return;
+                }
+                break;
+            }
+
             case FileVersion.V2:
             {
                 _persistFile = new TunnelStreamPersistenceFileV2(this, file, fileChannel, fileLock, _msg, _encIter, _dIter, reset, error);
@@ -671,8 +682,9 @@ class TunnelSubstream
                                        _queueAck,
                                        _encSubMsg);
                                
-                               if (_persistFile != null)
-                                   _persistFile.releasePersistenceBuffers(seqNum);
+                               if (_persistFile != null
+                                       && (ret = _persistFile.releasePersistenceBuffers(seqNum, error)) != ReactorReturnCodes.SUCCESS)
+                                   return ret;
 
                                break;
                            }
@@ -732,7 +744,8 @@ class TunnelSubstream
        
        if ((persistenceBuffer = tunnelBuffer.persistenceBuffer()) != null)
        {
-           _persistFile.setBufferAsTransmitted(persistenceBuffer);
+           if ((ret = _persistFile.setBufferAsTransmitted(persistenceBuffer, error)) != ReactorReturnCodes.SUCCESS)
+               return ret;
 
            /* Don't need to reference persistence buffer anymore (nothing more to update). */
            tunnelBuffer.persistenceBuffer(null, null);
@@ -774,10 +787,12 @@ class TunnelSubstream
        return ReactorReturnCodes.SUCCESS;
    }
 
-   void releasePersistenceBuffer(TunnelStreamPersistenceBuffer persistBuffer)
+   int releasePersistenceBuffer(TunnelStreamPersistenceBuffer persistBuffer, Error error)
    {
        if (_persistFile != null)
-           _persistFile.releasePersistenceBuffer(persistBuffer);
+           return _persistFile.releasePersistenceBuffer(persistBuffer, error);
+       else
+           return ReactorReturnCodes.SUCCESS;
    }
    
    private int getSubstreamOpcode(Msg substreamMsg)
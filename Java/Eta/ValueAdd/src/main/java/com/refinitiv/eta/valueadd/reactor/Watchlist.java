@@ -1,8 +1,6 @@
 package com.refinitiv.eta.valueadd.reactor;
 
 import java.nio.ByteBuffer;
-import java.util.HashMap;
-import java.util.LinkedList;
 
 import com.refinitiv.eta.codec.Buffer;
 import com.refinitiv.eta.codec.Codec;
@@ -18,7 +16,9 @@ import com.refinitiv.eta.codec.MsgKeyFlags;
 import com.refinitiv.eta.codec.RequestMsg;
 import com.refinitiv.eta.codec.StreamStates;
 import com.refinitiv.eta.rdm.DomainTypes;
+import com.refinitiv.eta.valueadd.common.VaIntHashMap;
 import com.refinitiv.eta.valueadd.common.VaNode;
+import com.refinitiv.eta.valueadd.common.VaTimingWheel;
 import com.refinitiv.eta.valueadd.domainrep.rdm.MsgBase;
 import com.refinitiv.eta.valueadd.domainrep.rdm.dictionary.DictionaryMsg;
 import com.refinitiv.eta.valueadd.domainrep.rdm.dictionary.DictionaryMsgType;
@@ -36,12 +36,12 @@ class Watchlist extends VaNode
     WlItemHandler _itemHandler;
     int _nextStreamId; // used to give a unique stream id for all watchlist streams
     int _nextProviderStreamId; // used to give a unique provider stream id for all application streams used in symbollist stream
-    HashMap<WlInteger,WlRequest> _streamIdtoWlRequestTable;
-    HashMap<WlInteger,WlStream> _streamIdtoWlStreamTable;
+    VaIntHashMap<WlRequest> _streamIdtoWlRequestTable;
+    VaIntHashMap<WlStream> _streamIdtoWlStreamTable;
     EncodeIterator _eIter = CodecFactory.createEncodeIterator();
     DecodeIterator _dIter = CodecFactory.createDecodeIterator();
-    // list to track stream timeouts
-    LinkedList<WlStream> _streamTimeoutInfoList = new LinkedList<WlStream>();
+    // stream timers, expired on each watchlist timeout event
+    VaTimingWheel _streamTimerWheel = new VaTimingWheel();
     
     int _numOutstandingPosts;
     
@@ -51,7 +51,6 @@ class Watchlist extends VaNode
     ByteBuffer _tempByteBuffer2;
     Msg _tempMsg = CodecFactory.createMsg();
     
-    WlInteger _tempWlInteger = ReactorFactory.createWlInteger();
 
     Watchlist(ReactorChannel reactorChannel, ConsumerRole consumerRole)
     {
@@ -61,13 +60,13 @@ class Watchlist extends VaNode
         _watchlistOptions = _role.watchlistOptions();
         if (_watchlistOptions.itemCountHint() > 0)
         {
-            _streamIdtoWlRequestTable = new HashMap<WlInteger,WlRequest>(_watchlistOptions.itemCountHint() + 10, 1);
-            _streamIdtoWlStreamTable = new HashMap<WlInteger,WlStream>(_watchlistOptions.itemCountHint() + 10, 1);
+            _streamIdtoWlRequestTable = new VaIntHashMap<WlRequest>(_watchlistOptions.itemCountHint() + 10);
+            _streamIdtoWlStreamTable = new VaIntHashMap<WlStream>(_watchlistOptions.itemCountHint() + 10);
         }
         else
         {
-            _streamIdtoWlRequestTable = new HashMap<WlInteger,WlRequest>();
-            _streamIdtoWlStreamTable = new HashMap<WlInteger,WlStream>();
+            _streamIdtoWlRequestTable = new VaIntHashMap<WlRequest>();
+            _streamIdtoWlStreamTable = new VaIntHashMap<WlStream>();
         }
         _loginHandler = new WlLoginHandler(this);
         _directoryHandler = new WlDirectoryHandler(this);
@@ -78,12 +77,12 @@ class Watchlist extends VaNode
         _tempBuffer2.data(_tempByteBuffer2);
     }
     
-    HashMap<WlInteger,WlStream> streamIdtoWlStreamTable()
+    VaIntHashMap<WlStream> streamIdtoWlStreamTable()
     {
         return _streamIdtoWlStreamTable;
     }
     
-    HashMap<WlInteger,WlRequest> streamIdtoWlRequestTable()
+    VaIntHashMap<WlRequest> streamIdtoWlRequestTable()
     {
         return _streamIdtoWlRequestTable;
     }
@@ -91,8 +90,7 @@ class Watchlist extends VaNode
     /* Submit a Codec message to the watchlist. */
     int submitMsg(Msg msg, ReactorSubmitOptions submitOptions, ReactorErrorInfo errorInfo)
     {
-        _tempWlInteger.value(msg.streamId());
-        WlRequest wlRequest = _streamIdtoWlRequestTable.get(_tempWlInteger);
+        WlRequest wlRequest = _streamIdtoWlRequestTable.get(msg.streamId());
         boolean isReissue = false;
 
         if (msg.msgClass() == MsgClasses.REQUEST)
@@ -165,10 +163,7 @@ class Watchlist extends VaNode
                 // add to watchlist request table if new request
                 if (!isReissue)
                 {
-                    WlInteger wlInteger = ReactorFactory.createWlInteger();
-                    wlInteger.value(msg.streamId());
-                    wlRequest.tableKey(wlInteger);
-                    _streamIdtoWlRequestTable.put(wlInteger, wlRequest);
+                    _streamIdtoWlRequestTable.put(msg.streamId(), wlRequest);
                 }
             }
             else // submit failed
@@ -320,12 +315,16 @@ class Watchlist extends VaNode
     {
         int ret = ReactorReturnCodes.SUCCESS;
         
-        // handle any stream timeouts
-        WlStream wlStream = _streamTimeoutInfoList.poll();
+        // handle all expired stream timeouts
+        long currentTime = System.nanoTime();
+        WlStream wlStream;
         
-        if  (wlStream != null)
+        while ((wlStream = (WlStream)_streamTimerWheel.poll(currentTime)) != null)
         {
-            ret = wlStream.timeout(errorInfo);
+            if ((ret = wlStream.timeout(errorInfo)) != ReactorReturnCodes.SUCCESS)
+            {
+                break;
+            }
         }
         
         return ret;
@@ -379,11 +378,9 @@ class Watchlist extends VaNode
         
         // keep attempting to get next stream id if already found in table
         int nextStreamId = ++_nextStreamId;
-        _tempWlInteger.value(nextStreamId);
-        while (_streamIdtoWlStreamTable.containsKey(_tempWlInteger))
+        while (_streamIdtoWlStreamTable.containsKey(nextStreamId))
         {
             nextStreamId = ++_nextStreamId;
-            _tempWlInteger.value(nextStreamId);
         }
 
         return nextStreamId;
@@ -399,11 +396,9 @@ class Watchlist extends VaNode
         
         // keep attempting to get next stream id if already found in table
         int nextProviderStreamId = ++_nextProviderStreamId;
-        _tempWlInteger.value(-nextProviderStreamId);
-        while (_streamIdtoWlRequestTable.containsKey(_tempWlInteger))
+        while (_streamIdtoWlRequestTable.containsKey(-nextProviderStreamId))
         {
             nextProviderStreamId = ++_nextProviderStreamId;
-            _tempWlInteger.value(-nextProviderStreamId);
         }
         // negative
         return -nextProviderStreamId;
@@ -471,10 +466,19 @@ class Watchlist extends VaNode
                               "_reactor.sendWorkerEvent() failed");
         }
         
-        _streamTimeoutInfoList.add(wlStream);
+        scheduleStreamTimer(wlStream, expireTime);
     
         return ReactorReturnCodes.SUCCESS;
     }
+    
+    /* Schedules the stream's timer, unless it is already scheduled to expire earlier. */
+    void scheduleStreamTimer(WlStream wlStream, long expireTime)
+    {
+        if (!wlStream.scheduled() || expireTime < wlStream.expireTime())
+        {
+            _streamTimerWheel.add(wlStream, expireTime);
+        }
+    }
 
     /* Converts an RDM message into a Codec message. */
     int convertRDMToCodecMsg(MsgBase rdmMsg, Msg msg)
@@ -560,8 +564,7 @@ class Watchlist extends VaNode
     void closeWlRequest(WlRequest wlRequest)
     {
     	assert(wlRequest.state() != State.RETURN_TO_POOL);
-        _tempWlInteger.value(wlRequest.requestMsg().streamId());
-        WlRequest removedRequest = _streamIdtoWlRequestTable.remove(_tempWlInteger);
+        WlRequest removedRequest = _streamIdtoWlRequestTable.remove(wlRequest.requestMsg().streamId());
         assert (removedRequest == wlRequest); // There should a (non-null) WlRequest in the table, and it should be this same request.
     }
     
@@ -614,8 +617,7 @@ class Watchlist extends VaNode
         _eIter.clear();
         _dIter.clear();
         _tempMsg.clear();
-        _tempWlInteger.clear();
-        _streamTimeoutInfoList.clear();
+        _streamTimerWheel.clear();
         _streamIdtoWlRequestTable.clear();
         _streamIdtoWlStreamTable.clear();
     }
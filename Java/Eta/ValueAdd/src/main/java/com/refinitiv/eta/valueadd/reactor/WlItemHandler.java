@@ -51,6 +51,7 @@ import com.refinitiv.eta.rdm.ElementNames;
 import com.refinitiv.eta.rdm.InstrumentNameTypes;
 import com.refinitiv.eta.rdm.SymbolList;
 import com.refinitiv.eta.rdm.ViewTypes;
+import com.refinitiv.eta.valueadd.common.VaIntHashMap;
 import com.refinitiv.eta.valueadd.domainrep.rdm.MsgBase;
 import com.refinitiv.eta.valueadd.domainrep.rdm.dictionary.DictionaryMsg;
 import com.refinitiv.eta.valueadd.domainrep.rdm.dictionary.DictionaryMsgFactory;
@@ -133,8 +134,6 @@ class WlItemHandler implements WlHandler
 	DecodeIterator _dIter = CodecFactory.createDecodeIterator();
 	DecodeIterator _dIterBatch = CodecFactory.createDecodeIterator();
 
-	WlInteger _tempWlInteger = ReactorFactory.createWlInteger();
-
 	UInt _viewType = CodecFactory.createUInt();
 	boolean _hasViewType;
 	Buffer _viewDataElement = CodecFactory.createBuffer();
@@ -373,10 +372,7 @@ class WlItemHandler implements WlHandler
                         _streamList.add(wlStream);
                         
                         // add stream to watchlist table
-                        WlInteger wlInteger = ReactorFactory.createWlInteger();
-                        wlInteger.value(wlStream.streamId());
-                        wlStream.tableKey(wlInteger);
-                        _watchlist.streamIdtoWlStreamTable().put(wlInteger, wlStream);
+                        _watchlist.streamIdtoWlStreamTable().put(wlStream.streamId(), wlStream);
 
                         // add to _itemAggregationKeytoWlStreamTable if not private stream
                         if (!requestMsg.checkPrivateStream())
@@ -624,9 +620,7 @@ class WlItemHandler implements WlHandler
 	    wlRequest.streamInfo().serviceName(submitOptions.serviceName());
 	    wlRequest.streamInfo().userSpecObject(submitOptions.requestMsgOptions().userSpecObj());
 	    
-    	WlInteger wlInteger = ReactorFactory.createWlInteger();
-        wlInteger.value(requestMsg.streamId());
-    	_watchlist.streamIdtoWlRequestTable().put(wlInteger, wlRequest);
+    	_watchlist.streamIdtoWlRequestTable().put(requestMsg.streamId(), wlRequest);
 
     	if (requestMsg.containerType() == DataTypes.ELEMENT_LIST)
     	{
@@ -794,8 +788,7 @@ class WlItemHandler implements WlHandler
 		/* Start at stream ID after batch request. */
 		currentStreamId++;
 		
-		_tempWlInteger.value(currentStreamId);
-		if (_watchlist.streamIdtoWlRequestTable().get(_tempWlInteger) != null)
+		if (_watchlist.streamIdtoWlRequestTable().get(currentStreamId) != null)
 		{
             return _watchlist.reactor().populateErrorInfo(errorInfo,
             		ReactorReturnCodes.FAILURE,
@@ -803,16 +796,15 @@ class WlItemHandler implements WlHandler
                     "Item in batch has same ID as existing stream.");
 		}
 		
-		HashMap<Integer, WlRequest> wlRequestList = new HashMap<Integer, WlRequest>(itemNames.size());
-		HashMap<Integer, RequestMsg> requestMsgList = new HashMap<Integer, RequestMsg>(itemNames.size());
+		VaIntHashMap<WlRequest> wlRequestList = new VaIntHashMap<WlRequest>(itemNames.size());
+		VaIntHashMap<RequestMsg> requestMsgList = new VaIntHashMap<RequestMsg>(itemNames.size());
 		int possibleStreamId = currentStreamId;
 		
 		while(!itemNames.isEmpty()) 
 		{
 			itemName.data(itemNames.remove());
 
-			_tempWlInteger.value(possibleStreamId);
-			if (_watchlist.streamIdtoWlRequestTable().get(_tempWlInteger) != null)
+			if (_watchlist.streamIdtoWlRequestTable().get(possibleStreamId) != null)
 			{
 				while (!wlRequestList.isEmpty())
 				{
@@ -876,9 +868,7 @@ class WlItemHandler implements WlHandler
 		{
             
         	// Add watchlist request to request table
-            wlInteger = ReactorFactory.createWlInteger();
-            wlInteger.value(currentStreamId);
-            _watchlist.streamIdtoWlRequestTable().put(wlInteger, wlRequestList.get(currentStreamId));
+            _watchlist.streamIdtoWlRequestTable().put(currentStreamId, wlRequestList.get(currentStreamId));
             
         	ret = handleRequest(wlRequestList.get(currentStreamId), requestMsgList.get(currentStreamId), submitOptions, true, errorInfo);
         	if (ret <= ReactorReturnCodes.FAILURE)
@@ -1810,8 +1800,7 @@ class WlItemHandler implements WlHandler
         _statusMsg.state().text().data(text);
   
         // callback user
-        _tempWlInteger.value(_statusMsg.streamId());
-        return callbackUser("WlItemHandler.sendStatus", _statusMsg, null, _watchlist.streamIdtoWlRequestTable().get(_tempWlInteger), _errorInfo);
+        return callbackUser("WlItemHandler.sendStatus", _statusMsg, null, _watchlist.streamIdtoWlRequestTable().get(_statusMsg.streamId()), _errorInfo);
     }
 
     /* Queues a status message for sending on dispatch. */
@@ -2182,8 +2171,7 @@ class WlItemHandler implements WlHandler
                 }
                 else 
                 {
-                    _tempWlInteger.value(msg.streamId());
-                    if ((ret = callbackUser("WlItemHandler.readRefreshMsg", msg, null, _watchlist.streamIdtoWlRequestTable().get(_tempWlInteger), errorInfo)) < ReactorCallbackReturnCodes.SUCCESS)
+                    if ((ret = callbackUser("WlItemHandler.readRefreshMsg", msg, null, _watchlist.streamIdtoWlRequestTable().get(msg.streamId()), errorInfo)) < ReactorCallbackReturnCodes.SUCCESS)
                     {
                         // break out of loop for error
                         break;
@@ -2269,9 +2257,8 @@ class WlItemHandler implements WlHandler
                 msg.streamId(wlRequest.requestMsg().streamId());
                 
                 // callback user
-                _tempWlInteger.value(msg.streamId());
                 
-                if ((ret = callbackUser("WlItemHandler.readUpdateMsg", msg, null, _watchlist.streamIdtoWlRequestTable().get(_tempWlInteger), errorInfo)) < ReactorCallbackReturnCodes.SUCCESS)
+                if ((ret = callbackUser("WlItemHandler.readUpdateMsg", msg, null, _watchlist.streamIdtoWlRequestTable().get(msg.streamId()), errorInfo)) < ReactorCallbackReturnCodes.SUCCESS)
                 {
                     // break out of loop for error
                     break;
@@ -2307,9 +2294,8 @@ class WlItemHandler implements WlHandler
                 msg.streamId(wlRequest.requestMsg().streamId());
 
                 // callback user
-                _tempWlInteger.value(msg.streamId());
 
-                if (callbackUser("WlItemHandler.readStatusMsg", msg, null, _watchlist.streamIdtoWlRequestTable().get(_tempWlInteger), errorInfo) < ReactorCallbackReturnCodes.SUCCESS)
+                if (callbackUser("WlItemHandler.readStatusMsg", msg, null, _watchlist.streamIdtoWlRequestTable().get(msg.streamId()), errorInfo) < ReactorCallbackReturnCodes.SUCCESS)
                 {
                     // break out of loop for error
                     break;
@@ -2342,8 +2328,7 @@ class WlItemHandler implements WlHandler
                 msg.streamId(wlRequest.requestMsg().streamId());
                 
                 // callback user
-                _tempWlInteger.value(msg.streamId());
-                if ((ret = callbackUser("WlItemHandler.readGenericMsg", msg, null, _watchlist.streamIdtoWlRequestTable().get(_tempWlInteger), errorInfo)) < ReactorCallbackReturnCodes.SUCCESS)
+                if ((ret = callbackUser("WlItemHandler.readGenericMsg", msg, null, _watchlist.streamIdtoWlRequestTable().get(msg.streamId()), errorInfo)) < ReactorCallbackReturnCodes.SUCCESS)
                 {
                     // break out of loop for error
                     break;
@@ -2363,8 +2348,7 @@ class WlItemHandler implements WlHandler
         if (wlStream.handlePostAck(msg))
         {
             // call back user if ACK was processed
-            _tempWlInteger.value(msg.streamId());
-            ret = callbackUser("WlItemHandler.readAckMsg", msg, null, _watchlist.streamIdtoWlRequestTable().get(_tempWlInteger), errorInfo);
+            ret = callbackUser("WlItemHandler.readAckMsg", msg, null, _watchlist.streamIdtoWlRequestTable().get(msg.streamId()), errorInfo);
         }
         
         return ret;
@@ -2382,8 +2366,7 @@ class WlItemHandler implements WlHandler
          
         while ((statusMsg = _statusMsgDispatchList.poll()) != null)
         {
-            _tempWlInteger.value(statusMsg.streamId());
-            WlRequest wlRequest = _watchlist.streamIdtoWlRequestTable().get(_tempWlInteger);
+            WlRequest wlRequest = _watchlist.streamIdtoWlRequestTable().get(statusMsg.streamId());
             boolean requestClosed = (statusMsg.checkHasState() && statusMsg.state().streamState() != StreamStates.OPEN);
             
             if (requestClosed)
@@ -3059,10 +3042,7 @@ class WlItemHandler implements WlHandler
         if (wlItemGroup != null)
         {
             wlItemGroup.openStreamList().remove(wlStream);
-            _tempWlInteger.value(wlStream.streamId());
-            wlItemGroup.streamIdToItemGroupTable().remove(_tempWlInteger);
-            wlStream.groupTableKey().returnToPool();
-            wlStream.groupTableKey(null);
+            wlItemGroup.streamIdToItemGroupTable().remove(wlStream.streamId());
             // If no streams left in group's stream list, remove item group from table
             if (wlItemGroup.openStreamList().isEmpty())
                 wlStream.wlService().itemGroupTableRemove(wlItemGroup.groupId());
@@ -3073,16 +3053,12 @@ class WlItemHandler implements WlHandler
     /* Add a WlStream to an item group. */
     void addStreamToItemGroup(WlItemGroup wlItemGroup, WlStream wlStream)
     {
-        _tempWlInteger.value(wlStream.streamId());
-        if (!wlItemGroup.streamIdToItemGroupTable().containsKey(_tempWlInteger))
+        if (!wlItemGroup.streamIdToItemGroupTable().containsKey(wlStream.streamId()))
         {
             wlStream.itemGroup(wlItemGroup);
             wlItemGroup.openStreamList().add(wlStream);
 
-            WlInteger wlInteger = ReactorFactory.createWlInteger();
-            wlInteger.value(wlStream.streamId());
-            wlStream.groupTableKey(wlInteger);
-            wlItemGroup.streamIdToItemGroupTable().put(wlInteger, wlStream);
+            wlItemGroup.streamIdToItemGroupTable().put(wlStream.streamId(), wlStream);
         }
     }
 
@@ -3314,11 +3290,8 @@ class WlItemHandler implements WlHandler
 						{
 							newWlRequest.requestMsg().clear();
 							_requestMsg.copy(newWlRequest.requestMsg(), CopyMsgFlags.ALL_FLAGS);
-							WlInteger wlInteger = ReactorFactory.createWlInteger();
-					        wlInteger.value(providerProvideStreamId);
 					        newWlRequest.handler(this);
-					        newWlRequest.tableKey(wlInteger);
-							_watchlist.streamIdtoWlRequestTable().put(wlInteger, newWlRequest);
+							_watchlist.streamIdtoWlRequestTable().put(providerProvideStreamId, newWlRequest);
 							if (_requestMsg.checkStreaming())
 								_providerRequestTable.put(_symbolListRequestKey, newWlRequest.requestMsg());
 						} 
@@ -3743,8 +3716,6 @@ class WlItemHandler implements WlHandler
                     break;
             }
 
-            if (wlRequest._view._fieldIdList != null)
-            	_wlViewHandler._viewFieldIdListPool.add(wlRequest._view._fieldIdList);
             if (wlRequest._view._elementNameList != null)
             	_wlViewHandler._viewElementNameListPool.add(wlRequest._view._elementNameList);
 
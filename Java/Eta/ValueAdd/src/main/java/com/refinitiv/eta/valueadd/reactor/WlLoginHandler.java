@@ -33,8 +33,6 @@ class WlLoginHandler implements WlHandler
 	boolean _hasPendingRequest;
 	boolean rttEnabled;
 
-	WlInteger _tempWlInteger = ReactorFactory.createWlInteger();
-
 	WlLoginHandler(Watchlist watchlist)
 	{
 		_watchlist = watchlist;
@@ -81,12 +79,9 @@ class WlLoginHandler implements WlHandler
 							"Cannot have more than one login stream with watchlist enabled.");
 		}
 
-		WlInteger wlInteger = ReactorFactory.createWlInteger();
-		wlInteger.value(requestMsg.streamId());
-
 		if (_stream == null) 
 		{
-			if (!_watchlist.streamIdtoWlStreamTable().containsKey(wlInteger)) 
+			if (!_watchlist.streamIdtoWlStreamTable().containsKey(requestMsg.streamId())) 
 			{
 				// create stream
 				_stream = ReactorFactory.createWlStream();
@@ -175,13 +170,8 @@ class WlLoginHandler implements WlHandler
 			wlRequest.streamInfo().serviceName(submitOptions.serviceName());
 
 			// add stream to watchlist table
-			_stream.tableKey(wlInteger);
-			_watchlist.streamIdtoWlStreamTable().put(wlInteger, _stream);
+			_watchlist.streamIdtoWlStreamTable().put(requestMsg.streamId(), _stream);
 		} 
-		else
-		{
-			wlInteger.returnToPool();
-		}
 		wlRequest.streamInfo().userSpecObject(
 				submitOptions.requestMsgOptions().userSpecObj());
 
@@ -738,9 +728,8 @@ class WlLoginHandler implements WlHandler
 						|| wlStream.state().streamState() == StreamStates.REDIRECTED) 
 				{
 					// close watchlist request
-					_tempWlInteger.value(msg.streamId());
 					WlRequest wlRequest = _watchlist.streamIdtoWlRequestTable()
-							.get(_tempWlInteger);
+							.get(msg.streamId());
 					_watchlist.closeWlRequest(wlRequest);
 					wlRequest.returnToPool();
 
@@ -832,9 +821,8 @@ class WlLoginHandler implements WlHandler
 		}
 
 		// call back user
-        _tempWlInteger.value(msg.streamId());
 		ret = callbackUser("WlLoginHandler.readRefreshMsg", msg,
-				_loginRefresh, _watchlist.streamIdtoWlRequestTable().get(_tempWlInteger), errorInfo);
+				_loginRefresh, _watchlist.streamIdtoWlRequestTable().get(msg.streamId()), errorInfo);
 		
 		// send pending request if necessary
 		if (_requestCount > 0)
@@ -884,8 +872,7 @@ class WlLoginHandler implements WlHandler
 		}
 
 		// call back user
-        _tempWlInteger.value(msg.streamId());
-		return callbackUser("WlLoginHandler.readStatusMsg", msg, _loginStatus, _watchlist.streamIdtoWlRequestTable().get(_tempWlInteger), errorInfo);
+		return callbackUser("WlLoginHandler.readStatusMsg", msg, _loginStatus, _watchlist.streamIdtoWlRequestTable().get(msg.streamId()), errorInfo);
 	}
     
     /* Used when login Closed/Recoverable state is received.
@@ -894,8 +881,7 @@ class WlLoginHandler implements WlHandler
     {
         int ret;
         
-        _tempWlInteger.value(msg.streamId());
-        if ((ret = callbackUser(location, msg, loginMsg, _watchlist.streamIdtoWlRequestTable().get(_tempWlInteger), errorInfo)) != ReactorReturnCodes.SUCCESS)
+        if ((ret = callbackUser(location, msg, loginMsg, _watchlist.streamIdtoWlRequestTable().get(msg.streamId()), errorInfo)) != ReactorReturnCodes.SUCCESS)
             return ret;
         
         _watchlist.reactor().populateErrorInfo(errorInfo, ReactorReturnCodes.FAILURE, location, 
@@ -906,7 +892,7 @@ class WlLoginHandler implements WlHandler
 	/* Reads a generic message. */
 	int readGenericMsg(WlStream wlStream, DecodeIterator dIter, Msg msg, ReactorErrorInfo errorInfo) 
 	{
-		WlRequest wlRequest = _watchlist.streamIdtoWlRequestTable().get(_tempWlInteger);
+		WlRequest wlRequest = _watchlist.streamIdtoWlRequestTable().get(msg.streamId());
 
 		//Redirect message to the provider.
 		boolean isRttMessage = Objects.equals(DataTypes.ELEMENT_LIST, msg.containerType());
@@ -936,12 +922,11 @@ class WlLoginHandler implements WlHandler
 		// handle the post Ack
 		if (wlStream.handlePostAck(msg)) {
 			// call back user if ACK was processed
-	        _tempWlInteger.value(msg.streamId());
 			if (msg.domainType() != DomainTypes.LOGIN) {
 				ret = _watchlist.itemHandler().callbackUser(
-						"WlLoginHandler.readAckMsg", msg, null, _watchlist.streamIdtoWlRequestTable().get(_tempWlInteger), errorInfo);
+						"WlLoginHandler.readAckMsg", msg, null, _watchlist.streamIdtoWlRequestTable().get(msg.streamId()), errorInfo);
 			} else {
-				ret = callbackUser("WlLoginHandler.readAckMsg", msg, null, _watchlist.streamIdtoWlRequestTable().get(_tempWlInteger),
+				ret = callbackUser("WlLoginHandler.readAckMsg", msg, null, _watchlist.streamIdtoWlRequestTable().get(msg.streamId()),
 						errorInfo);
 			}
 		}
@@ -1141,9 +1126,8 @@ class WlLoginHandler implements WlHandler
 				_loginStatus.state().text(_tempBuffer);
 
                 _userloginStreamOpen = false;
-                _tempWlInteger.value(_statusMsg.streamId());
                 callbackUser("WlLoginHandler.channelDown", _statusMsg,
-                        _loginStatus, _watchlist.streamIdtoWlRequestTable().get(_tempWlInteger), _errorInfo);
+                        _loginStatus, _watchlist.streamIdtoWlRequestTable().get(_statusMsg.streamId()), _errorInfo);
 			}
 		}
 	}
@@ -1258,20 +1242,14 @@ class WlLoginHandler implements WlHandler
 					wlRequest.requestMsg().clear();
 					_tempMsg.copy(wlRequest.requestMsg(), CopyMsgFlags.ALL_FLAGS);
 					wlRequest.handler(this);
-					WlInteger wlInteger = ReactorFactory.createWlInteger();
-					wlInteger.value(loginRequest.streamId());
-					wlRequest.tableKey(wlInteger);
-					_watchlist.streamIdtoWlRequestTable().put(wlInteger, wlRequest);
+					_watchlist.streamIdtoWlRequestTable().put(loginRequest.streamId(), wlRequest);
 				}
 
 				if (newStream) 
 				{
 					// add stream to watchlist table
-					WlInteger wlInteger = ReactorFactory.createWlInteger();
-					wlInteger.value(loginRequest.streamId());
-					_stream.tableKey(wlInteger);
 					_watchlist.streamIdtoWlStreamTable()
-							.put(wlInteger, _stream);
+							.put(loginRequest.streamId(), _stream);
 				}
 
 				_requestCount = 1;
@@ -1341,8 +1319,7 @@ class WlLoginHandler implements WlHandler
 		_loginStatus.state().code(StateCodes.NONE);
 		_loginStatus.state().text(_tempBuffer);
 
-        _tempWlInteger.value(_statusMsg.streamId());
-		callbackUser("WlLoginHandler.channelDown", _statusMsg, _loginStatus, _watchlist.streamIdtoWlRequestTable().get(_tempWlInteger), 
+		callbackUser("WlLoginHandler.channelDown", _statusMsg, _loginStatus, _watchlist.streamIdtoWlRequestTable().get(_statusMsg.streamId()), 
 				_errorInfo);
 
 		// re-send login request
@@ -27,10 +27,10 @@ import com.refinitiv.eta.transport.ChannelState;
 import com.refinitiv.eta.transport.IoctlCodes;
 import com.refinitiv.eta.transport.TransportBuffer;
 import com.refinitiv.eta.transport.TransportReturnCodes;
-import com.refinitiv.eta.valueadd.common.VaNode;
+import com.refinitiv.eta.valueadd.common.VaTimerNode;
 
 /* Watchlist stream that handles basic stream management. */
-class WlStream extends VaNode
+class WlStream extends VaTimerNode
 {
     /* The state of the watch-list stream. */
 	class RefreshStates
@@ -106,8 +106,6 @@ class WlStream extends VaNode
     
     ReactorChannelInfo _reactorChnlInfo = ReactorFactory.createReactorChannelInfo();
     
-    WlInteger _tableKey, _groupTableKey;
-    
     int _requestsPausedCount;
     boolean _paused;
     
@@ -370,6 +368,16 @@ class WlStream extends VaNode
             }
         }
         
+        // restart the stream timer for the timeouts still pending
+        if (_requestPending && _requestExpireTime > currentTime)
+        {
+            _watchlist.scheduleStreamTimer(this, _requestExpireTime);
+        }
+        if (_postTimeoutInfoList.peek() != null)
+        {
+            _watchlist.scheduleStreamTimer(this, _postTimeoutInfoList.peek().timeout());
+        }
+        
         return ret;
     }
     
@@ -716,12 +724,8 @@ class WlStream extends VaNode
         if (postMsg.checkHasSeqNum())
             _ackMsg.applyHasSeqNum();
          
-        // call back with NAK message
-        WlInteger tempWlInteger = ReactorFactory.createWlInteger();
-        tempWlInteger.value(_ackMsg.streamId());
-        
         // call back item handler with NAK message
-        return _watchlist.itemHandler().callbackUser("WlStream.sendNak", _ackMsg, null, _watchlist.streamIdtoWlRequestTable().get(tempWlInteger), errorInfo);
+        return _watchlist.itemHandler().callbackUser("WlStream.sendNak", _ackMsg, null, _watchlist.streamIdtoWlRequestTable().get(_ackMsg.streamId()), errorInfo);
     }
     
     /* Encodes a ETA message into buffer and writes to channel. */
@@ -829,11 +833,9 @@ class WlStream extends VaNode
         _state.streamState(StreamStates.CLOSED);
         _state.dataState(DataStates.SUSPECT);                
         // remove this stream from watchlist table
-        if (_tableKey != null)
+        if (_watchlist != null && _watchlist.streamIdtoWlStreamTable().get(_streamId) == this)
         {
-            _watchlist.streamIdtoWlStreamTable().remove(_tableKey);
-            _tableKey.returnToPool();
-            _tableKey = null;
+            _watchlist.streamIdtoWlStreamTable().remove(_streamId);
         }
         _requestsPausedCount = 0;
         _paused = false;
@@ -871,26 +873,6 @@ class WlStream extends VaNode
         return ret;
     }
     
-    void tableKey(WlInteger tableKey)
-    {
-        _tableKey = tableKey;
-    }
-    
-    WlInteger tableKey()
-    {
-        return _tableKey;
-    }
-    
-    void groupTableKey(WlInteger groupTableKey)
-    {
-        _groupTableKey = groupTableKey;
-    }
-    
-    WlInteger groupTableKey()
-    {
-        return _groupTableKey;
-    }
-    
     boolean requestPending()
     {
         return _requestPending;
@@ -927,12 +909,11 @@ class WlStream extends VaNode
         _requestMsg = null;
         _itemAggregationKey = null;
         _requestExpireTime = 0;
+        cancelTimer();
         _eIter.clear();
         _reactorChannelInfo.clear();
         _submitOptions.clear();
         _itemGroup = null;
-        _tableKey = null;
-        _groupTableKey = null;
         _wlService = null;
         // return any WlPostTimeoutInfo back to pool
         WlPostTimeoutInfo postTimeoutInfo = null;
@@ -980,6 +961,8 @@ class WlStream extends VaNode
 	{
 		assert(!inPool());
 		
+		cancelTimer();
+		
 		// return any WlPostTimeoutInfo back to pool
 		WlPostTimeoutInfo postTimeoutInfo = null;
 		while ((postTimeoutInfo = _postTimeoutInfoList.poll()) != null)
@@ -1001,8 +984,6 @@ class WlStream extends VaNode
 		_reactorChannel = null;
 		_reactor = null;
 		_itemGroup = null;
-		_tableKey = null;
-		_groupTableKey = null;
 		_wlService = null;
 		
 		super.returnToPool();
@@ -2,6 +2,7 @@ package com.refinitiv.eta.valueadd.reactor;
 
 import com.refinitiv.eta.valueadd.common.VaNode;
 
+import java.nio.ByteBuffer;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.LinkedList;
@@ -11,7 +12,9 @@ public class WlView extends VaNode
 	WlViewHandler _viewHandler;
 	int _viewType;
 	int _elemCount;
-	ArrayList<Integer> _fieldIdList;
+	int[] _fieldIds;                            // sorted field ids, the first _elemCount are in use
+	int[] _fieldIdCounts;                       // aggregate view only, number of views requesting each field id
+	WlViewHandler.FieldIdSet _fieldIdSet;       // interned field ids shared by identical views
 	ArrayList<String> _elementNameList;
 	State _state = State.NEW;
 
@@ -27,8 +30,9 @@ public class WlView extends VaNode
 	LinkedList<WlView> _newViews;
 	LinkedList<WlView> _mergedViews;
 	LinkedList<WlView> _committedViews;
-	HashMap<Integer, Integer> _viewFieldIdCountMap;
 	HashMap<String, Integer> _viewElementNameCountMap;
+	ByteBuffer _encodedView;                    // aggregate view only, encoded view payload
+	int _encodedViewVersion = -1;               // RWF version of _encodedView, -1 if it must be re-encoded
 
 	
 	public WlViewHandler viewHandler()
@@ -71,14 +75,9 @@ public class WlView extends VaNode
 		this._aggregated = aggregated;
 	}
 	
-	public ArrayList<Integer> fieldIdList()
+	public int[] fieldIds()
 	{
-		return _fieldIdList;
-	}
-
-	public void fieldIdList(ArrayList<Integer> fieldIdList)
-	{
-		_fieldIdList = fieldIdList;
+		return _fieldIds;
 	}
 
 	public ArrayList<String> elementNameList()
@@ -140,12 +139,17 @@ public class WlView extends VaNode
 	public void returnToPool()
 	{
 		/* Clear out all pooled elements */
-		_viewFieldIdCountMap = null;
+		if (_fieldIdSet != null)
+			_viewHandler.releaseFieldIds(_fieldIdSet);
+		_fieldIdSet = null;
+		_fieldIds = null;
+		_fieldIdCounts = null;
+		_encodedView = null;
+		_encodedViewVersion = -1;
 		_viewElementNameCountMap = null;
 		_newViews = null;
 		_mergedViews = null;
 		_committedViews = null;
-		_fieldIdList = null;
 		_elementNameList = null;
 
     		super.returnToPool();
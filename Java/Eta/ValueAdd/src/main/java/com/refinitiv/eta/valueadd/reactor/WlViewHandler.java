@@ -1,5 +1,6 @@
 package com.refinitiv.eta.valueadd.reactor;
 
+import java.nio.ByteBuffer;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
@@ -29,6 +30,10 @@ public class WlViewHandler
 	private Int tempInt = CodecFactory.createInt();
 	private UInt tempUInt = CodecFactory.createUInt();	
     private Buffer elementNameBuf = CodecFactory.createBuffer();
+    private EncodeIterator _viewEncodeIter = CodecFactory.createEncodeIterator();
+    private ByteBuffer _viewEncodeByteBuffer = ByteBuffer.allocate(2048);
+    private Buffer _viewEncodeBuffer = CodecFactory.createBuffer();
+    private Buffer _nonRWFBuffer = CodecFactory.createBuffer();
     Watchlist _watchlist;
     private boolean _resorted;
 	
@@ -37,9 +42,53 @@ public class WlViewHandler
     LinkedList<LinkedList<WlView>> _mergedViewsPool = new LinkedList<LinkedList<WlView>>();
     LinkedList<LinkedList<WlView>> _committedViewsPool = new LinkedList<LinkedList<WlView>>();
     LinkedList<LinkedList<WlView>> _newViewsPool = new LinkedList<LinkedList<WlView>>();   
-    LinkedList<HashMap<Integer, Integer>> _viewFieldIdCountMapPool = new LinkedList<HashMap<Integer, Integer>>();
     LinkedList<HashMap<String, Integer>> _viewElementNameCountMapPool = new LinkedList<HashMap<String, Integer>>();
-   ArrayList<Integer> fidsToRemove = new ArrayList<Integer>();
+
+    /* Field id sets of the views, so that views requesting the same fields share one sorted array. */
+    HashMap<FieldIdSet, FieldIdSet> _fieldIdSets = new HashMap<FieldIdSet, FieldIdSet>();
+    private FieldIdSet _fieldIdSetKey = new FieldIdSet();
+
+    /* Sorted field ids without duplicates, compared by value. */
+    static class FieldIdSet
+    {
+        int[] _fieldIds = new int[32];
+        int _count;
+        int _hashCode;
+        int _refCount;
+
+        void hash()
+        {
+            int hashCode = 1;
+            for (int i = 0; i < _count; i++)
+                hashCode = 31 * hashCode + _fieldIds[i];
+            _hashCode = hashCode;
+        }
+
+        @Override
+        public int hashCode()
+        {
+            return _hashCode;
+        }
+
+        @Override
+        public boolean equals(Object obj)
+        {
+            if (this == obj)
+                return true;
+            if (!(obj instanceof FieldIdSet))
+                return false;
+
+            FieldIdSet other = (FieldIdSet)obj;
+            if (_count != other._count || _hashCode != other._hashCode)
+                return false;
+            for (int i = 0; i < _count; i++)
+            {
+                if (_fieldIds[i] != other._fieldIds[i])
+                    return false;
+            }
+            return true;
+        }
+    }
 
     WlViewHandler(Watchlist watchlist)
     {
@@ -56,41 +105,27 @@ public class WlViewHandler
 				WlView wlView = ReactorFactory.createWlView();
 				wlView.viewHandler(this);
 				wlView.viewType(viewType);
-			    wlView.elemCount(0);
 			    wlView.state(WlView.State.NEW);
-				wlView._fieldIdList = _viewFieldIdListPool.poll();
-				if (wlView._fieldIdList == null)
-					wlView._fieldIdList = new ArrayList<Integer>();
-				else {
-					wlView._fieldIdList.clear();
-				}
-					
-				for (Integer I : fieldIdList) {
-					wlView._fieldIdList.add(I);
-					++wlView._elemCount;
-				}
-				
-				if (wlView._fieldIdList != null && wlView.elemCount() > 0 )
+
+				/* Sort the field ids and remove duplicates, then share the array with identical views. */
+				int count = fieldIdList.size();
+				if (_fieldIdSetKey._fieldIds.length < count)
+					_fieldIdSetKey._fieldIds = new int[count];
+				int[] fieldIds = _fieldIdSetKey._fieldIds;
+				for (int i = 0; i < count; ++i)
+					fieldIds[i] = fieldIdList.get(i);
+				Arrays.sort(fieldIds, 0, count);
+
+				int newCount = 0;
+				for (int i = 0; i < count; ++i)
 				{
-					Collections.sort(wlView._fieldIdList);
-					int startingCount = wlView.elemCount();
-					int newCount = startingCount;
-					int nextValidPos = 1;
-					for (int i = 1; i < startingCount; ++i) {
-						if (wlView._fieldIdList.get(i).equals(wlView._fieldIdList.get(nextValidPos - 1))) {
-							--newCount;
-						}
-						else {
-							if (i > nextValidPos)
-								wlView._fieldIdList.set(nextValidPos, wlView._fieldIdList.get(i));
-							nextValidPos++;
-						}
-					}
-					wlView._elemCount = newCount;
+					if (newCount == 0 || fieldIds[i] != fieldIds[newCount - 1])
+						fieldIds[newCount++] = fieldIds[i];
 				}
-				else
-				    wlView.elemCount(0);
-				
+
+				wlView._fieldIdSet = internFieldIds(newCount);
+				wlView._fieldIds = wlView._fieldIdSet._fieldIds;
+				wlView.elemCount(newCount);
 				return wlView;
 
 			}
@@ -160,21 +195,10 @@ public class WlViewHandler
 		if (aggView._committedViews == null) aggView._committedViews = new LinkedList<WlView>();
 		aggView._committedViews.clear();
 		
-		aggView._viewFieldIdCountMap = null;
 		aggView._viewElementNameCountMap = null;
+		aggView._encodedViewVersion = -1;
 		
-		if ( view.viewType() == ViewTypes.FIELD_ID_LIST)
-		{
-			aggView._viewFieldIdCountMap = _viewFieldIdCountMapPool.poll();
-			if (aggView._viewFieldIdCountMap == null) aggView._viewFieldIdCountMap = new HashMap<Integer, Integer>();
-			aggView._viewFieldIdCountMap.clear();
-			for (Integer fieldId : view.fieldIdList().subList(0, view.elemCount()))
-			{
-				aggView._viewFieldIdCountMap.put(fieldId,  1);
-			}
-
-		}
-		else if ( view.viewType() == ViewTypes.ELEMENT_NAME_LIST)
+		if ( view.viewType() == ViewTypes.ELEMENT_NAME_LIST)
 		{
 			aggView._viewElementNameCountMap = _viewElementNameCountMapPool.poll();
 			if (aggView._viewElementNameCountMap == null) aggView._viewElementNameCountMap = new HashMap<String, Integer>();
@@ -188,7 +212,8 @@ public class WlViewHandler
 		aggView.mergedViews().add(view);
 		view.state(WlView.State.MERGED);
 		
-		aggView._fieldIdList = null;
+		aggView._fieldIds = null;
+		aggView._fieldIdCounts = null;
 		aggView._elementNameList = null;
 		
 		switch(view.viewType())
@@ -199,11 +224,9 @@ public class WlViewHandler
 				aggView.viewHandler(this);
 				aggView.viewType(view.viewType());
 			    aggView.elemCount(view.elemCount());
-				aggView._fieldIdList = _viewFieldIdListPool.poll();
-				if (aggView._fieldIdList == null)
-					aggView._fieldIdList = new ArrayList<Integer>();	
-				aggView._fieldIdList.clear();
-				aggView._fieldIdList.addAll(view.fieldIdList());
+				aggView._fieldIds = Arrays.copyOf(view._fieldIds, view.elemCount());
+				aggView._fieldIdCounts = new int[view.elemCount()];
+				Arrays.fill(aggView._fieldIdCounts, 1);
 				break;
 			}
 			case ViewTypes.ELEMENT_NAME_LIST:
@@ -251,44 +274,7 @@ public class WlViewHandler
 			{		
 				case ViewTypes.FIELD_ID_LIST:
 				{
-					ArrayList<Integer> aggViewFieldIdList = aggView.fieldIdList();
-				
-					if (aggViewFieldIdList == null)
-					{
-						aggViewFieldIdList = _viewFieldIdListPool.poll();
-						if (aggViewFieldIdList == null )
-							aggViewFieldIdList = new ArrayList<Integer>();
-						else 
-							aggViewFieldIdList.clear();
-						 
-						aggView.fieldIdList(aggViewFieldIdList);	
-						aggView._elemCount = 0;
-					}
-
-					ArrayList<Integer> newFids = new ArrayList<Integer>();
-					for (int i = 0; i < view.fieldIdList().subList(0, view.elemCount()).size(); i++)
-					{
-						Integer fid = view.fieldIdList().get(i);
-						int index = Collections.binarySearch(aggViewFieldIdList.subList(0, aggView._elemCount), fid);
-						if (index >= 0)
-						{
-							Integer count = aggView._viewFieldIdCountMap.get(fid);
-							aggView._viewFieldIdCountMap.put(fid, ++count);
-						}
-						else
-							newFids.add(fid);
-					}
-					
-					for (int j = 0; j < newFids.size(); ++j) {
-						if (aggView.elemCount() < aggViewFieldIdList.size())
-							aggViewFieldIdList.set(aggView._elemCount, newFids.get(j));
-						else 
-							aggViewFieldIdList.add(newFids.get(j));
-						aggView._viewFieldIdCountMap.put(newFids.get(j), 1);
-						aggView._elemCount++;
-					}
-					
-					Collections.sort(aggViewFieldIdList.subList(0, aggView._elemCount));
+					mergeFieldIds(aggView, view);
 					break;
 				}
 				case ViewTypes.ELEMENT_NAME_LIST:
@@ -329,6 +315,8 @@ public class WlViewHandler
 						aggView._viewElementNameCountMap.put(newElements.get(j),  1);
 						++aggView._elemCount;
 					}
+					if (!newElements.isEmpty())
+						aggView._encodedViewVersion = -1;
 					Collections.sort(aggViewElementNameList.subList(0, aggView._elemCount));
 					break;
 				}
@@ -341,6 +329,90 @@ public class WlViewHandler
 		return CodecReturnCodes.SUCCESS;
 	}	
 
+	/* Adds the field ids of a view to the sorted field ids of the aggregate view and counts
+	 * the views requesting each of them. The encoded aggregate view is kept unless a field id is added. */
+	private void mergeFieldIds(WlView aggView, WlView view)
+	{
+		int[] aggFieldIds = aggView._fieldIds;
+		int[] aggCounts = aggView._fieldIdCounts;
+		int aggCount = (aggFieldIds != null ? aggView._elemCount : 0);
+		int[] fieldIds = view._fieldIds;
+		int count = view.elemCount();
+		int added = 0;
+
+		for (int i = 0; i < count; ++i)
+		{
+			int index = (aggCount > 0 ? Arrays.binarySearch(aggFieldIds, 0, aggCount, fieldIds[i]) : -1);
+			if (index >= 0)
+				++aggCounts[index];
+			else
+				++added;
+		}
+
+		if (added == 0)
+			return;
+
+		int newCount = aggCount + added;
+		if (aggFieldIds == null || aggFieldIds.length < newCount)
+		{
+			int capacity = (aggFieldIds == null ? newCount : Math.max(newCount, aggFieldIds.length * 2));
+			aggFieldIds = (aggFieldIds == null ? new int[capacity] : Arrays.copyOf(aggFieldIds, capacity));
+			aggCounts = (aggCounts == null ? new int[capacity] : Arrays.copyOf(aggCounts, capacity));
+			aggView._fieldIds = aggFieldIds;
+			aggView._fieldIdCounts = aggCounts;
+		}
+
+		/* Merge from the end, so each field id already in the aggregate view moves at most once. */
+		int aggPos = aggCount - 1;
+		int pos = count - 1;
+		for (int writePos = newCount - 1; pos >= 0; --writePos)
+		{
+			if (aggPos >= 0 && aggFieldIds[aggPos] >= fieldIds[pos])
+			{
+				if (aggFieldIds[aggPos] == fieldIds[pos])
+					--pos;
+				aggFieldIds[writePos] = aggFieldIds[aggPos];
+				aggCounts[writePos] = aggCounts[aggPos];
+				--aggPos;
+			}
+			else
+			{
+				aggFieldIds[writePos] = fieldIds[pos];
+				aggCounts[writePos] = 1;
+				--pos;
+			}
+		}
+
+		aggView._elemCount = newCount;
+		aggView._encodedViewVersion = -1;
+	}
+
+	/* Returns the shared field id set equal to the first count field ids of _fieldIdSetKey. */
+	private FieldIdSet internFieldIds(int count)
+	{
+		_fieldIdSetKey._count = count;
+		_fieldIdSetKey.hash();
+
+		FieldIdSet fieldIdSet = _fieldIdSets.get(_fieldIdSetKey);
+		if (fieldIdSet == null)
+		{
+			fieldIdSet = new FieldIdSet();
+			fieldIdSet._fieldIds = Arrays.copyOf(_fieldIdSetKey._fieldIds, count);
+			fieldIdSet._count = count;
+			fieldIdSet._hashCode = _fieldIdSetKey._hashCode;
+			_fieldIdSets.put(fieldIdSet, fieldIdSet);
+		}
+		++fieldIdSet._refCount;
+		return fieldIdSet;
+	}
+
+	/* Called when a view using the field id set is returned to the pool. */
+	void releaseFieldIds(FieldIdSet fieldIdSet)
+	{
+		if (--fieldIdSet._refCount == 0)
+			_fieldIdSets.remove(fieldIdSet);
+	}
+
 	
 	int removeRequestView(WlStream wlStream, WlRequest wlRequest, ReactorErrorInfo errorInfo)
 	{
@@ -376,18 +448,17 @@ public class WlViewHandler
 		if(view.state() == WlView.State.MERGED || view.state() == WlView.State.COMMITTED)
 		{
 			if (view.viewType() == ViewTypes.FIELD_ID_LIST) {
-				ArrayList<Integer> aggViewFieldIdList = aggView.fieldIdList();
-				fidsToRemove.clear();
-				for (int i = 0; i < view.fieldIdList().subList(0, view.elemCount()).size(); i++)
+				int[] aggFieldIds = aggView._fieldIds;
+				int[] aggCounts = aggView._fieldIdCounts;
+				boolean removed = false;
+				for (int i = 0; i < view.elemCount(); i++)
 				{
-					Integer fid = view.fieldIdList().get(i);
-					int index = Collections.binarySearch(aggViewFieldIdList.subList(0, aggView._elemCount), fid);
+					int fid = view._fieldIds[i];
+					int index = Arrays.binarySearch(aggFieldIds, 0, aggView._elemCount, fid);
 					if ( index >= 0) 
 					{
-						Integer count = aggView._viewFieldIdCountMap.get(fid);
-						aggView._viewFieldIdCountMap.put(fid, --count);
-						if (count == 0)
-							fidsToRemove.add(fid);
+						if (--aggCounts[index] == 0)
+							removed = true;
 					}
 					else
 					{
@@ -397,34 +468,23 @@ public class WlViewHandler
 					}
 				}
 
-				int writePos = 0;
-				int currentPos = 0;
-				int originalSize = aggView.elemCount();
-				_resorted = (fidsToRemove.isEmpty() ? false : true);	// needed so updated view is resent
-				for ( int k = 0; k < fidsToRemove.size(); ++k ) {
-					while (currentPos < originalSize) {
-						if (aggViewFieldIdList.get(currentPos) == fidsToRemove.get(k) ) {
-							++currentPos;
-							--aggView._elemCount;
-							break;
-						}
-						if (aggViewFieldIdList.get(currentPos) < fidsToRemove.get(k) ) {
-							if (writePos != currentPos)
-								aggViewFieldIdList.set(writePos, aggViewFieldIdList.get(currentPos));
-							++currentPos;
+				_resorted = removed;	// needed so updated view is resent
+				if (removed)
+				{
+					// remove the field ids no view requests any more, keeping the rest sorted
+					int writePos = 0;
+					for (int currentPos = 0; currentPos < aggView._elemCount; ++currentPos)
+					{
+						if (aggCounts[currentPos] > 0)
+						{
+							aggFieldIds[writePos] = aggFieldIds[currentPos];
+							aggCounts[writePos] = aggCounts[currentPos];
 							++writePos;
 						}
-						else
-							// should never get here
-							return _watchlist.reactor().populateErrorInfo(errorInfo,
-									ReactorReturnCodes.FAILURE, "ViewHandler",
-									"Aggregate View cannot remove a non-existent field id  <" + fidsToRemove.get(k) + ">");break;
 					}
+					aggView._elemCount = writePos;
+					aggView._encodedViewVersion = -1;
 				}
-
-				// may have remaining elements to write
-				while (currentPos < originalSize)
-					aggViewFieldIdList.set(writePos++, aggViewFieldIdList.get(currentPos++));
 			}
 			else { 	// ViewTypes.ELEMENT_NAME_LIST:
 				ArrayList<String> aggViewElementNameList = aggView.elementNameList();
@@ -477,6 +537,8 @@ public class WlViewHandler
 				// may have remaining elements to write
 				while (currentPos < originalSize)
 					aggViewElementNameList.set(writePos++, aggViewElementNameList.get(currentPos++));
+				if (!elementNamesToRemove.isEmpty())
+					aggView._encodedViewVersion = -1;
 			}
 		}
 
@@ -502,8 +564,50 @@ public class WlViewHandler
     	}	
 	}
 	
+	/* Encodes the view of the aggregate view. The encoded view is cached on the aggregate view
+	 * and encoded again only when its field ids or element names have changed. */
 	int encodeViewRequest(EncodeIterator encodeIter, WlView aggView)
 	{
+		int ret;
+		int version = (encodeIter.majorVersion() << 8) | encodeIter.minorVersion();
+
+		if (aggView._encodedViewVersion != version)
+		{
+			while ((ret = encodeAggregateView(aggView, encodeIter.majorVersion(), encodeIter.minorVersion())) == CodecReturnCodes.BUFFER_TOO_SMALL)
+				_viewEncodeByteBuffer = ByteBuffer.allocate(_viewEncodeByteBuffer.capacity() * 2);
+			if (ret < CodecReturnCodes.SUCCESS)
+				return ret;
+
+			int length = _viewEncodeByteBuffer.position();
+			if (aggView._encodedView == null || aggView._encodedView.capacity() < length)
+				aggView._encodedView = ByteBuffer.allocate(length);
+			aggView._encodedView.clear();
+			_viewEncodeByteBuffer.flip();
+			aggView._encodedView.put(_viewEncodeByteBuffer);
+			aggView._encodedView.flip();
+			aggView._encodedViewVersion = version;
+		}
+
+		if ((ret = encodeIter.encodeNonRWFInit(_nonRWFBuffer)) < CodecReturnCodes.SUCCESS)
+			return ret;
+		if (_nonRWFBuffer.length() < aggView._encodedView.limit())
+		{
+			encodeIter.encodeNonRWFComplete(_nonRWFBuffer, false);
+			return CodecReturnCodes.BUFFER_TOO_SMALL;
+		}
+		_nonRWFBuffer.data().put(aggView._encodedView);
+		aggView._encodedView.rewind();
+		return encodeIter.encodeNonRWFComplete(_nonRWFBuffer, true);
+	}
+
+	private int encodeAggregateView(WlView aggView, int majorVersion, int minorVersion)
+	{
+		_viewEncodeByteBuffer.clear();
+		_viewEncodeBuffer.data(_viewEncodeByteBuffer);
+		_viewEncodeIter.clear();
+		_viewEncodeIter.setBufferAndRWFVersion(_viewEncodeBuffer, majorVersion, minorVersion);
+		EncodeIterator encodeIter = _viewEncodeIter;
+
 		elementList.clear();
 		elementList.applyHasStandardData();
 
@@ -540,13 +644,10 @@ public class WlViewHandler
 					return ret;
 				}	
 
-				for (Integer viewField : aggView.fieldIdList().subList(0, aggView.elemCount()))
+				for (int i = 0; i < aggView.elemCount(); ++i)
 				{
-
-					if (aggView._viewFieldIdCountMap.get(viewField) == null || aggView._viewFieldIdCountMap.get(viewField) == 0 ) continue;
-								
 					arrayEntry.clear();
-					tempInt.value(viewField);
+					tempInt.value(aggView._fieldIds[i]);
 					ret = arrayEntry.encode(encodeIter, tempInt);
 					if (ret < CodecReturnCodes.SUCCESS)
 					{
@@ -641,7 +742,6 @@ public class WlViewHandler
 	
 	void aggregateViewDestroy(WlView aggView)
 	{
-		_viewFieldIdCountMapPool.add(aggView._viewFieldIdCountMap);	
 		_viewElementNameCountMapPool.add(aggView._viewElementNameCountMap);	
 
 		
@@ -649,7 +749,6 @@ public class WlViewHandler
 		_mergedViewsPool.add(aggView._mergedViews);
 		_committedViewsPool.add(aggView._committedViews);
 		
-		_viewFieldIdListPool.add(aggView._fieldIdList);
 		_viewElementNameListPool.add(aggView._elementNameList);
 		
 		aggView.returnToPool();
@@ -666,17 +765,12 @@ public class WlViewHandler
 			{		
 				case ViewTypes.FIELD_ID_LIST:
 				{
-					ArrayList<Integer> aggViewFieldIdList = aggView.fieldIdList();
-
-					ArrayList<Integer> viewFieldIdList = view.fieldIdList();
-	
 					if (view.elemCount() > aggView.elemCount())
 						return false;
 			   
-					for (int i = 0; i < viewFieldIdList.subList(0, view.elemCount()).size(); i++)
+					for (int i = 0; i < view.elemCount(); i++)
 					{					
-						Integer fid = view.fieldIdList().get(i);
-						int index = Collections.binarySearch(aggViewFieldIdList.subList(0, aggView._elemCount), fid);
+						int index = Arrays.binarySearch(aggView._fieldIds, 0, aggView._elemCount, view._fieldIds[i]);
 						if ( index < 0 ) return false;
 					}			   
 					return true;			   
@@ -716,8 +810,6 @@ public class WlViewHandler
 		{		
 		case ViewTypes.FIELD_ID_LIST:
 		{
-			ArrayList<Integer> aggViewFieldIdList = aggView.fieldIdList();
-
 			ArrayList<Integer> viewFieldIdList = wlRequest.viewFieldIdList();
 	
 			if (wlRequest.viewElemCount() > aggView.elemCount())
@@ -725,8 +817,7 @@ public class WlViewHandler
 			   
 			for (int i = 0; i < viewFieldIdList.subList(0, wlRequest.viewElemCount()).size(); i++)
 			{					
-				Integer fid = viewFieldIdList.get(i);
-				int index = Collections.binarySearch(aggViewFieldIdList.subList(0, aggView._elemCount), fid);
+				int index = Arrays.binarySearch(aggView._fieldIds, 0, aggView._elemCount, viewFieldIdList.get(i));
 				if ( index < 0 ) return false;
 			}			   
 			return true;			   
@@ -766,17 +857,14 @@ public class WlViewHandler
 		{		
 			case ViewTypes.FIELD_ID_LIST:
 			{
-				ArrayList<Integer> aggViewFieldIdList = aggView.fieldIdList();
-
-				for (int kk = 0; kk < aggViewFieldIdList.subList(0, aggView.elemCount()).size(); kk++)
+				for (int kk = 0; kk < aggView.elemCount(); kk++)
 				{					
-					Integer aggFid =  aggViewFieldIdList.get(kk);
+					int aggFid =  aggView._fieldIds[kk];
 					boolean found = false;
 				
 					for (WlView view : aggView.committedViews())
 					{						
-						ArrayList<Integer> viewFieldIdList = view.fieldIdList();			   
-						int index = Collections.binarySearch(viewFieldIdList.subList(0, view._elemCount), aggFid);
+						int index = Arrays.binarySearch(view._fieldIds, 0, view._elemCount, aggFid);
 						if ( index >= 0 )
 						{
 							found = true;
@@ -828,7 +916,12 @@ public class WlViewHandler
 		{		
 			case ViewTypes.FIELD_ID_LIST:
 // should be sorted 
-				 return Arrays.equals(view1.fieldIdList().subList(0, view1._elemCount).toArray(), wlRequest._viewFieldIdList.subList(0, wlRequest.viewElemCount()).toArray());			
+				for (int i = 0; i < view1._elemCount; i++)
+				{
+					if (view1._fieldIds[i] != wlRequest._viewFieldIdList.get(i))
+						return false;
+				}
+				return true;
 			case ViewTypes.ELEMENT_NAME_LIST:
 				// should be sorted 
 				 return Arrays.equals(view1.elementNameList().subList(0, view1._elemCount).toArray(), wlRequest._viewElementNameList.subList(0, wlRequest.viewElemCount()).toArray());
@@ -840,7 +933,6 @@ public class WlViewHandler
 		
 	void destroyView(WlView view)
 	{
-		_viewFieldIdListPool.add(view._fieldIdList);
 		_viewElementNameListPool.add(view._elementNameList);
 		view.returnToPool();
 	}
@@ -18,6 +18,7 @@ import com.refinitiv.eta.transport.TransportFactory;
 import com.refinitiv.eta.transport.TransportReturnCodes;
 import com.refinitiv.eta.valueadd.common.SelectableBiDirectionalQueue;
 import com.refinitiv.eta.valueadd.common.VaIteratableQueue;
+import com.refinitiv.eta.valueadd.common.VaTimingWheel;
 import com.refinitiv.eta.valueadd.reactor.ReactorChannel.State;
 import com.refinitiv.eta.valueadd.reactor.ReactorTokenSession.SessionState;
 
@@ -40,7 +41,7 @@ class Worker implements Runnable
 
     volatile boolean _running = true;
 
-    VaIteratableQueue _timerEventQueue = new VaIteratableQueue();
+    VaTimingWheel _timerWheel = new VaTimingWheel();
 
     Reactor _reactor;
 
@@ -125,35 +126,34 @@ class Worker implements Runnable
                 }
 
                 // check guaranteed messaging timers
-                _timerEventQueue.rewind();
-                while (_timerEventQueue.hasNext())
+                long currentTime = System.nanoTime();
+                ReactorChannel watchlistTimeoutChannel = null;
+                WorkerEvent.Timer timer;
+                while ((timer = (WorkerEvent.Timer)_timerWheel.poll(currentTime)) != null)
                 {
-                    WorkerEvent event = (WorkerEvent)_timerEventQueue.next();
-                    if (System.nanoTime() >= event.timeout())
+                    WorkerEvent event = timer._event;
+                    if (event.eventType() == WorkerEventTypes.TOKEN_MGNT)
                     {
-                        if (event.eventType() == WorkerEventTypes.TOKEN_MGNT)
-                        {
-                            event._tokenSession.handleTokenReissue();
-
-                            _timerEventQueue.remove(event);
-                            event.returnToPool();
-                        }
-                        else
+                        event._tokenSession.handleTokenReissue();
+                    }
+                    else if (event.eventType() == WorkerEventTypes.START_WATCHLIST_TIMER)
+                    {
+                        /* the watchlist handles all of its expired timers on each timeout event,
+                         * so timers of the same channel expiring together need only one event */
+                        if (event.reactorChannel() != watchlistTimeoutChannel)
                         {
-                            WorkerEventTypes eventType = WorkerEventTypes.TUNNEL_STREAM_DISPATCH_TIMEOUT;
-                            if (event.eventType() == WorkerEventTypes.START_WATCHLIST_TIMER)
-                            {
-                                eventType = WorkerEventTypes.WATCHLIST_TIMEOUT;
-                            }
-
-                            sendWorkerEvent(event.reactorChannel(), eventType, event.tunnelStream(),
+                            watchlistTimeoutChannel = event.reactorChannel();
+                            sendWorkerEvent(event.reactorChannel(), WorkerEventTypes.WATCHLIST_TIMEOUT, event.tunnelStream(),
                                     ReactorReturnCodes.SUCCESS, null, null);
-
-                            _timerEventQueue.remove(event);
-                            event.returnToPool();
                         }
-
                     }
+                    else
+                    {
+                        sendWorkerEvent(event.reactorChannel(), WorkerEventTypes.TUNNEL_STREAM_DISPATCH_TIMEOUT, event.tunnelStream(),
+                                ReactorReturnCodes.SUCCESS, null, null);
+                    }
+
+                    event.returnToPool();
                 }
 
                 // initialize channels and check if initialization timeout occurred
@@ -319,11 +319,11 @@ class Worker implements Runnable
                     event.timeout(tokenSession.nextAuthTokenRequestTime());
                 }
 
-                _timerEventQueue.add(event);
+                _timerWheel.add(event._timer, event.timeout());
                 return;
             case START_DISPATCH_TIMER:
             case START_WATCHLIST_TIMER:
-                _timerEventQueue.add(event);
+                _timerWheel.add(event._timer, event.timeout());
                 return;
 
             default:
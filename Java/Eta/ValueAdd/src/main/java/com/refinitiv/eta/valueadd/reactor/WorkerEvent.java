@@ -1,5 +1,7 @@
 package com.refinitiv.eta.valueadd.reactor;
 
+import com.refinitiv.eta.valueadd.common.VaTimerNode;
+
 /* Internal event class used by the Reactor and Worker. */
 class WorkerEvent extends ReactorEvent
 {
@@ -8,6 +10,18 @@ class WorkerEvent extends ReactorEvent
 	TunnelStream _tunnelStream;
 	RestClient _restClient;
 	ReactorTokenSession _tokenSession;
+	final Timer _timer = new Timer(this);
+
+	/* Schedules a timer event in the Worker's timing wheel. */
+	static class Timer extends VaTimerNode
+	{
+		final WorkerEvent _event;
+
+		Timer(WorkerEvent event)
+		{
+			_event = event;
+		}
+	}
 
 	WorkerEventTypes eventType()
     {
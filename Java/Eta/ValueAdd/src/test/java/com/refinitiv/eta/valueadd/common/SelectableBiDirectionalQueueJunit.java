@@ -355,6 +355,110 @@ public class SelectableBiDirectionalQueueJunit
         assertEquals(false, queue.remote()._writeNotifier.isSet());
     }
 
+    @Test
+    public void ringQueueTest()
+    {
+        SelectableBiDirectionalRingQueue queue = new SelectableBiDirectionalRingQueue();
+        SelectableBiDirectionalRingQueue remote = (SelectableBiDirectionalRingQueue)queue.remote();
+        TestObject objL = new TestObject(1);
+        TestObject objL2 = new TestObject(2);
+
+        // write two objects on this side of the queue, only the first write
+        // signals the remote side.
+        assertTrue(queue.write(objL));
+        assertEquals(SelectableBiDirectionalRingQueue.SIGNALED, queue._writeSignal.get());
+        assertTrue(queue.write(objL2));
+        assertEquals(SelectableBiDirectionalRingQueue.SIGNALED, remote._readSignal.get());
+        assertEquals(2, queue.writeQueueSize());
+        assertEquals(2, remote.readQueueSize());
+        assertEquals(0, queue.readQueueSize());
+        assertEquals(0, remote.writeQueueSize());
+        assertEquals(SelectableBiDirectionalRingQueue.IDLE, queue._readSignal.get());
+
+        // the signal is cleared only once the remote side has emptied the queue.
+        assertEquals(objL, remote.read());
+        assertEquals(SelectableBiDirectionalRingQueue.SIGNALED, remote._readSignal.get());
+        assertEquals(objL2, remote.read());
+        assertEquals(SelectableBiDirectionalRingQueue.IDLE, remote._readSignal.get());
+        assertEquals(0, remote.readQueueSize());
+        assertEquals(0, queue.writeQueueSize());
+
+        // write on the remote side and read on this side.
+        assertTrue(remote.write(objL));
+        assertEquals(SelectableBiDirectionalRingQueue.SIGNALED, queue._readSignal.get());
+        assertEquals(1, queue.readQueueSize());
+        assertEquals(objL, queue.read());
+        assertEquals(SelectableBiDirectionalRingQueue.IDLE, queue._readSignal.get());
+        assertEquals(SelectableBiDirectionalRingQueue.IDLE, remote._writeSignal.get());
+
+        queue.shutdown();
+        assertTrue(queue.isShutDown());
+        assertTrue(remote.isShutDown());
+        assertFalse(queue.write(objL));
+        assertNull(remote.read());
+    }
+
+    @Test
+    public void ringQueueOverflowTest()
+    {
+        // capacity is rounded up to 4
+        SelectableBiDirectionalRingQueue queue = new SelectableBiDirectionalRingQueue(3);
+        assertEquals(4, queue._writeRing.capacity());
+
+        for (int i = 0; i < 10; i++)
+            assertTrue(queue.write(new TestObject(i)));
+        assertEquals(10, queue.remote().readQueueSize());
+        assertEquals(6, queue._writeOverflow.size());
+
+        // drain part of the ring, writes must still go to the overflow queue
+        // until it is empty to keep the order.
+        for (int i = 0; i < 2; i++)
+            assertEquals(i, ((TestObject)queue.remote().read()).id());
+        assertTrue(queue.write(new TestObject(10)));
+        assertEquals(7, queue._writeOverflow.size());
+
+        for (int i = 2; i <= 10; i++)
+            assertEquals(i, ((TestObject)queue.remote().read()).id());
+        assertEquals(0, queue.remote().readQueueSize());
+        assertEquals(SelectableBiDirectionalRingQueue.IDLE, queue._writeSignal.get());
+
+        queue.shutdown();
+    }
+
+    @Test
+    public void ringQueueTestWithSelector()
+    {
+        int SELECT_TIME = 100;
+        SelectableBiDirectionalQueue queue = new SelectableBiDirectionalRingQueue();
+
+        try
+        {
+            Selector remoteSelector = SelectorProvider.provider().openSelector();
+            queue.remote().readChannel().register(remoteSelector, SelectionKey.OP_READ);
+
+            // nothing written, the selector must not fire.
+            assertEquals(0, remoteSelector.selectNow());
+
+            for (int i = 0; i < 100; i++)
+                assertTrue(queue.write(new TestObject(i)));
+
+            assertEquals(1, remoteSelector.select(SELECT_TIME));
+            remoteSelector.selectedKeys().clear();
+            for (int i = 0; i < 100; i++)
+                assertEquals(i, ((TestObject)queue.remote().read()).id());
+
+            // the single wakeup byte was drained with the last event.
+            assertEquals(0, remoteSelector.selectNow());
+            remoteSelector.close();
+        }
+        catch (IOException e)
+        {
+            assertTrue("ringQueueTestWithSelector: exception=" + e.getLocalizedMessage(), false);
+        }
+
+        queue.shutdown();
+    }
+
     /**
      * Test the SelectableBiDirectionalQueue by having two threads randomly
      * writing data to each other and selecting on the readChannel. The main
@@ -363,6 +467,21 @@ public class SelectableBiDirectionalQueueJunit
      */
 	@Test
     public void randomTest()
+    {
+        randomTest(new SelectableBiDirectionalQueue());
+    }
+
+    /**
+     * Same as {@link #randomTest()}, using the lock-free ring queue. A small
+     * capacity is used so that the overflow path is exercised as well.
+     */
+    @Test
+    public void randomRingTest()
+    {
+        randomTest(new SelectableBiDirectionalRingQueue(8));
+    }
+
+    private void randomTest(SelectableBiDirectionalQueue queue)
     {
         int SELECT_TIME = 1; // ms
         int runTime = 10; // seconds.
@@ -370,9 +489,6 @@ public class SelectableBiDirectionalQueueJunit
 
         // create a pool of objects.
         VaPool pool = new VaPool(true);
-
-        // create queue to be used by threads.
-        SelectableBiDirectionalQueue queue = new SelectableBiDirectionalQueue();
         Selector selector = null;
         try
         {
@@ -0,0 +1,170 @@
+///*|-----------------------------------------------------------------------------
+// *|            This source code is provided under the Apache 2.0 license      --
+// *|  and is provided AS IS with no warranty or guarantee of fit for purpose.  --
+// *|                See the project's LICENSE.md for details.                  --
+// *|           Copyright (C) 2021 Refinitiv. All rights reserved.            --
+///*|-----------------------------------------------------------------------------
+
+package com.refinitiv.eta.valueadd.common;
+
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.Test;
+
+public class VaConcurrentLongHashMapJunit
+{
+    @Test
+    public void putGetRemoveTest()
+    {
+        VaConcurrentLongHashMap<String> map = new VaConcurrentLongHashMap<String>();
+        assertTrue(map.isEmpty());
+        assertNull(map.get(5));
+        assertNull(map.remove(5));
+
+        assertNull(map.put(5, "five"));
+        assertNull(map.put(-5, "minus five"));
+        assertNull(map.put(0, "zero"));
+        assertNull(map.put(Long.MIN_VALUE, "min"));
+        assertEquals(4, map.size());
+        assertEquals("five", map.get(5));
+        assertEquals("minus five", map.get(-5));
+        assertEquals("zero", map.get(0));
+        assertEquals("min", map.get(Long.MIN_VALUE));
+        assertTrue(map.containsKey(0));
+        assertFalse(map.containsKey(6));
+
+        // replace
+        assertEquals("five", map.put(5, "FIVE"));
+        assertEquals(4, map.size());
+        assertEquals("FIVE", map.get(5));
+
+        assertEquals("minus five", map.remove(-5));
+        assertNull(map.get(-5));
+        assertEquals(3, map.size());
+
+        List<String> values = new ArrayList<String>();
+        map.values(values);
+        assertEquals(3, values.size());
+        assertTrue(values.contains("FIVE"));
+        assertTrue(values.contains("zero"));
+        assertTrue(values.contains("min"));
+
+        map.clear();
+        assertTrue(map.isEmpty());
+        assertNull(map.get(5));
+        assertNull(map.get(0));
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void nullValueTest()
+    {
+        new VaConcurrentLongHashMap<String>().put(1, null);
+    }
+
+    @Test
+    public void growTest()
+    {
+        VaConcurrentLongHashMap<Integer> map = new VaConcurrentLongHashMap<Integer>(4);
+        for (int i = 1; i <= 100000; i++)
+            map.put(i, i);
+        assertEquals(100000, map.size());
+        for (int i = 1; i <= 100000; i++)
+            assertEquals(Integer.valueOf(i), map.get(i));
+        assertNull(map.get(100001));
+    }
+
+    /**
+     * Keys are added and removed in random order, so the table fills with
+     * removed markers and is rebuilt many times at the same capacity.
+     */
+    @Test
+    public void randomTest()
+    {
+        Random random = new Random(1234);
+        VaConcurrentLongHashMap<Integer> map = new VaConcurrentLongHashMap<Integer>(16);
+        HashMap<Integer, Integer> expected = new HashMap<Integer, Integer>();
+
+        for (int i = 0; i < 200000; i++)
+        {
+            int key = random.nextInt(64) - 32;
+            switch (random.nextInt(3))
+            {
+                case 0:
+                case 1:
+                    assertEquals(expected.put(key, i), map.put(key, i));
+                    break;
+                default:
+                    assertEquals(expected.remove(key), map.remove(key));
+                    break;
+            }
+            assertEquals(expected.size(), map.size());
+        }
+
+        for (int key = -32; key < 32; key++)
+            assertEquals(expected.get(key), map.get(key));
+    }
+
+    /**
+     * Readers look up a set of keys that are never removed while a writer adds
+     * and removes other keys, growing and rebuilding the table underneath them.
+     * The readers must always find the stable keys.
+     */
+    @Test
+    public void concurrentReadTest() throws InterruptedException
+    {
+        final int stableCount = 1000;
+        final VaConcurrentLongHashMap<Long> map = new VaConcurrentLongHashMap<Long>();
+        for (long key = 0; key < stableCount; key++)
+            map.put(key, key);
+
+        final AtomicBoolean done = new AtomicBoolean();
+        final AtomicReference<String> failure = new AtomicReference<String>();
+        Thread[] readers = new Thread[3];
+
+        for (int r = 0; r < readers.length; r++)
+        {
+            readers[r] = new Thread(new Runnable()
+            {
+                @Override
+                public void run()
+                {
+                    while (!done.get() && failure.get() == null)
+                    {
+                        for (long key = 0; key < stableCount; key++)
+                        {
+                            Long value = map.get(key);
+                            if (value == null || value.longValue() != key)
+                            {
+                                failure.set("key " + key + " returned " + value);
+                                return;
+                            }
+                        }
+                    }
+                }
+            });
+            readers[r].start();
+        }
+
+        for (int round = 0; round < 20; round++)
+        {
+            for (long key = stableCount; key < stableCount + 20000; key++)
+                map.put(key, key);
+            for (long key = stableCount; key < stableCount + 20000; key++)
+                assertEquals(Long.valueOf(key), map.remove(key));
+        }
+
+        done.set(true);
+        for (Thread reader : readers)
+            reader.join();
+
+        assertNull(failure.get());
+        assertEquals(stableCount, map.size());
+    }
+}
@@ -0,0 +1,117 @@
+///*|-----------------------------------------------------------------------------
+// *|            This source code is provided under the Apache 2.0 license      --
+// *|  and is provided AS IS with no warranty or guarantee of fit for purpose.  --
+// *|                See the project's LICENSE.md for details.                  --
+// *|           Copyright (C) 2021 Refinitiv. All rights reserved.            --
+///*|-----------------------------------------------------------------------------
+
+package com.refinitiv.eta.valueadd.common;
+
+import static org.junit.Assert.*;
+
+import java.util.HashMap;
+import java.util.Random;
+
+import org.junit.Test;
+
+public class VaIntHashMapJunit
+{
+    @Test
+    public void putGetRemoveTest()
+    {
+        VaIntHashMap<String> map = new VaIntHashMap<String>();
+        assertTrue(map.isEmpty());
+        assertNull(map.get(5));
+        assertNull(map.remove(5));
+
+        assertNull(map.put(5, "five"));
+        assertNull(map.put(-5, "minus five"));
+        assertNull(map.put(0, "zero"));
+        assertEquals(3, map.size());
+        assertEquals("five", map.get(5));
+        assertEquals("minus five", map.get(-5));
+        assertEquals("zero", map.get(0));
+        assertTrue(map.containsKey(0));
+        assertFalse(map.containsKey(6));
+
+        // replace
+        assertEquals("five", map.put(5, "FIVE"));
+        assertEquals(3, map.size());
+        assertEquals("FIVE", map.get(5));
+
+        assertEquals("minus five", map.remove(-5));
+        assertNull(map.get(-5));
+        assertEquals(2, map.size());
+
+        map.clear();
+        assertTrue(map.isEmpty());
+        assertNull(map.get(5));
+        assertNull(map.get(0));
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void nullValueTest()
+    {
+        new VaIntHashMap<String>().put(1, null);
+    }
+
+    @Test
+    public void growTest()
+    {
+        VaIntHashMap<Integer> map = new VaIntHashMap<Integer>(4);
+        for (int i = 1; i <= 100000; i++)
+            map.put(i, i);
+        assertEquals(100000, map.size());
+        for (int i = 1; i <= 100000; i++)
+            assertEquals(Integer.valueOf(i), map.get(i));
+        assertNull(map.get(100001));
+    }
+
+    @Test
+    public void putAllTest()
+    {
+        VaIntHashMap<Integer> map = new VaIntHashMap<Integer>();
+        VaIntHashMap<Integer> other = new VaIntHashMap<Integer>();
+        map.put(1, 1);
+        other.put(2, 2);
+        other.put(3, 3);
+
+        map.putAll(other);
+        assertEquals(3, map.size());
+        assertEquals(Integer.valueOf(2), map.get(2));
+        assertEquals(Integer.valueOf(3), map.get(3));
+        assertEquals(2, other.size());
+    }
+
+    /**
+     * Keys colliding in a small table are removed in random order. Every
+     * remaining key must stay reachable after the entries behind a removed one
+     * are shifted back.
+     */
+    @Test
+    public void randomTest()
+    {
+        Random random = new Random(1234);
+        VaIntHashMap<Integer> map = new VaIntHashMap<Integer>(16);
+        HashMap<Integer, Integer> expected = new HashMap<Integer, Integer>();
+
+        for (int i = 0; i < 200000; i++)
+        {
+            int key = random.nextInt(64) - 32;
+            switch (random.nextInt(3))
+            {
+                case 0:
+                case 1:
+                    assertEquals(expected.put(key, i), map.put(key, i));
+                    break;
+                default:
+                    assertEquals(expected.remove(key), map.remove(key));
+                    break;
+            }
+            assertEquals(expected.size(), map.size());
+        }
+
+        for (int key = -32; key < 32; key++)
+            assertEquals(expected.get(key), map.get(key));
+    }
+}
@@ -0,0 +1,165 @@
+///*|-----------------------------------------------------------------------------
+// *|            This source code is provided under the Apache 2.0 license      --
+// *|  and is provided AS IS with no warranty or guarantee of fit for purpose.  --
+// *|                See the project's LICENSE.md for details.                  --
+// *|           Copyright (C) 2021 Refinitiv. All rights reserved.            --
+///*|-----------------------------------------------------------------------------
+
+package com.refinitiv.eta.valueadd.common;
+
+import static org.junit.Assert.*;
+
+import java.util.concurrent.CountDownLatch;
+
+import org.junit.Test;
+
+public class VaRingQueueJunit
+{
+    public class TestObject extends VaNode
+    {
+        int _producer;
+        int _id;
+
+        TestObject(int producer, int id)
+        {
+            _producer = producer;
+            _id = id;
+        }
+    }
+
+    @Test
+    public void offerPollTest()
+    {
+        VaRingQueue ring = new VaRingQueue(5);
+        assertEquals(8, ring.capacity());
+        assertNull(ring.poll());
+        assertFalse(ring.offer(null));
+
+        // fill the ring, the next offer fails.
+        for (int i = 0; i < 8; i++)
+            assertTrue(ring.offer(new TestObject(0, i)));
+        assertEquals(8, ring.size());
+        assertFalse(ring.offer(new TestObject(0, 8)));
+
+        // wrap around a few times.
+        int next = 8;
+        for (int i = 0; i < 100; i++)
+        {
+            TestObject node = (TestObject)ring.poll();
+            assertEquals(i, node._id);
+            assertTrue(ring.offer(new TestObject(0, next++)));
+            assertEquals(8, ring.size());
+        }
+
+        for (int i = 100; i < next; i++)
+            assertEquals(i, ((TestObject)ring.poll())._id);
+        assertEquals(0, ring.size());
+        assertNull(ring.poll());
+    }
+
+    @Test
+    public void nodeNextUntouchedTest()
+    {
+        VaRingQueue ring = new VaRingQueue(4);
+        TestObject node = new TestObject(0, 0);
+        TestObject next = new TestObject(0, 1);
+        node.next(next);
+
+        assertTrue(ring.offer(node));
+        assertEquals(node, ring.poll());
+        assertEquals(next, node.next());
+    }
+
+    /**
+     * Several producers write to a small ring while one consumer reads. Every
+     * node must be read exactly once, and the nodes of each producer must be
+     * read in the order they were written.
+     */
+    @Test
+    public void claimPublishTest()
+    {
+        VaRingQueue ring = new VaRingQueue(4);
+        assertEquals(0, ring.tail());
+        assertEquals(0, ring.head());
+
+        // a node offered after an unpublished slot waits for it.
+        long pos = ring.claim();
+        assertEquals(0, pos);
+        assertTrue(ring.offer(new TestObject(0, 1)));
+        assertEquals(2, ring.tail());
+        assertNull(ring.poll());
+        assertEquals(0, ring.head());
+
+        ring.publish(pos, new TestObject(0, 0));
+        assertEquals(0, ((TestObject)ring.poll())._id);
+        assertEquals(1, ((TestObject)ring.poll())._id);
+        assertEquals(2, ring.head());
+
+        // claimed slots count against the capacity.
+        for (int i = 0; i < 4; i++)
+            assertTrue(ring.claim() >= 0);
+        assertEquals(-1, ring.claim());
+        assertFalse(ring.offer(new TestObject(0, 2)));
+    }
+
+    @Test
+    public void multiProducerTest() throws InterruptedException
+    {
+        final int producerCount = 4;
+        final int nodesPerProducer = 200000;
+        final VaRingQueue ring = new VaRingQueue(64);
+        final CountDownLatch start = new CountDownLatch(1);
+        Thread[] producers = new Thread[producerCount];
+
+        for (int p = 0; p < producerCount; p++)
+        {
+            final int producer = p;
+            producers[p] = new Thread(new Runnable()
+            {
+                @Override
+                public void run()
+                {
+                    try
+                    {
+                        start.await();
+                    }
+                    catch (InterruptedException e)
+                    {
+                        return;
+                    }
+                    for (int i = 0; i < nodesPerProducer; i++)
+                    {
+                        TestObject node = new TestObject(producer, i);
+                        while (!ring.offer(node))
+                            Thread.yield();
+                    }
+                }
+            });
+            producers[p].start();
+        }
+
+        int[] expected = new int[producerCount];
+        int received = 0;
+        start.countDown();
+        while (received < producerCount * nodesPerProducer)
+        {
+            TestObject node = (TestObject)ring.poll();
+            if (node == null)
+            {
+                Thread.yield();
+                continue;
+            }
+            assertEquals(expected[node._producer], node._id);
+            expected[node._producer]++;
+            received++;
+        }
+
+        for (int p = 0; p < producerCount; p++)
+        {
+            producers[p].join();
+            assertEquals(nodesPerProducer, expected[p]);
+        }
+        assertNull(ring.poll());
+        assertEquals(0, ring.size());
+    }
+}
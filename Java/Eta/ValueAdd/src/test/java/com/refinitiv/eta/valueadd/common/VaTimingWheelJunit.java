@@ -0,0 +1,188 @@
+///*|-----------------------------------------------------------------------------
+// *|            This source code is provided under the Apache 2.0 license      --
+// *|  and is provided AS IS with no warranty or guarantee of fit for purpose.  --
+// *|                See the project's LICENSE.md for details.                  --
+// *|           Copyright (C) 2021 Refinitiv. All rights reserved.            --
+///*|-----------------------------------------------------------------------------
+
+package com.refinitiv.eta.valueadd.common;
+
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.Test;
+
+public class VaTimingWheelJunit
+{
+    static final long TICK = 1000;
+
+    public class TestTimer extends VaTimerNode
+    {
+        int _id;
+
+        TestTimer(int id)
+        {
+            _id = id;
+        }
+    }
+
+    @Test
+    public void addPollTest()
+    {
+        VaTimingWheel wheel = new VaTimingWheel(TICK, 0);
+        assertEquals(Long.MAX_VALUE, wheel.nextExpireTime());
+        assertNull(wheel.poll(1000));
+
+        TestTimer first = new TestTimer(1);
+        TestTimer second = new TestTimer(2);
+        TestTimer third = new TestTimer(3);
+        wheel.add(second, 5500);
+        wheel.add(first, 5000);
+        wheel.add(third, 5200);
+        assertEquals(3, wheel.size());
+        assertTrue(first.scheduled());
+        assertEquals(5000, wheel.nextExpireTime());
+
+        // nothing expires early
+        assertNull(wheel.poll(4999));
+        assertEquals(first, wheel.poll(5000));
+        assertFalse(first.scheduled());
+        assertNull(wheel.poll(5999));
+
+        // timers in the same tick expire in the order they were added
+        assertEquals(second, wheel.poll(6000));
+        assertEquals(third, wheel.poll(6000));
+        assertNull(wheel.poll(6000));
+        assertEquals(0, wheel.size());
+
+        // an expire time already passed expires on the next poll
+        wheel.add(first, 100);
+        assertEquals(first, wheel.poll(6000));
+    }
+
+    @Test
+    public void cancelTest()
+    {
+        VaTimingWheel wheel = new VaTimingWheel(TICK, 0);
+        VaTimingWheel otherWheel = new VaTimingWheel(TICK, 0);
+        TestTimer near = new TestTimer(1);
+        TestTimer far = new TestTimer(2);
+        TestTimer expired = new TestTimer(3);
+
+        wheel.add(near, 10 * TICK);
+        wheel.add(far, 100000 * TICK);
+        wheel.add(expired, 0);
+        assertFalse(otherWheel.cancel(near));
+
+        assertTrue(wheel.cancel(near));
+        assertFalse(wheel.cancel(near));
+        assertTrue(wheel.cancel(far));
+        assertTrue(wheel.cancel(expired));
+        assertEquals(0, wheel.size());
+        assertNull(wheel.poll(200000 * TICK));
+
+        // adding a scheduled timer reschedules it
+        wheel.add(near, 10 * TICK);
+        otherWheel.add(near, 20 * TICK);
+        assertEquals(0, wheel.size());
+        assertNull(otherWheel.poll(19 * TICK));
+        assertEquals(near, otherWheel.poll(20 * TICK));
+
+        wheel.add(near, 10 * TICK);
+        wheel.add(far, 100000 * TICK);
+        wheel.clear();
+        assertEquals(0, wheel.size());
+        assertFalse(near.scheduled());
+        assertNull(wheel.poll(200000 * TICK));
+    }
+
+    /**
+     * Timers are added at random times across all levels of the wheel, some
+     * beyond what the wheel covers, and some are cancelled. The wheel is polled
+     * at random steps; every remaining timer must expire exactly once, never
+     * before its expire time and no later than the end of its tick.
+     */
+    @Test
+    public void randomTest()
+    {
+        Random random = new Random(1234);
+        long startTime = -5000 * TICK; // System.nanoTime() may be negative
+        VaTimingWheel wheel = new VaTimingWheel(TICK, startTime);
+        List<TestTimer> timers = new ArrayList<TestTimer>();
+        long[] ranges = {100 * TICK, 60000 * TICK, 20000000 * TICK, 6000000000L * TICK};
+
+        for (int i = 0; i < 20000; i++)
+        {
+            TestTimer timer = new TestTimer(i);
+            wheel.add(timer, startTime + 1 + (long)(random.nextDouble() * ranges[i % ranges.length]));
+            timers.add(timer);
+        }
+
+        int cancelled = 0;
+        for (int i = 0; i < timers.size(); i += 7)
+        {
+            assertTrue(wheel.cancel(timers.get(i)));
+            cancelled++;
+        }
+        assertEquals(timers.size() - cancelled, wheel.size());
+
+        boolean[] expired = new boolean[timers.size()];
+        int expiredCount = 0;
+        long currentTime = startTime;
+        long endTime = startTime + ranges[ranges.length - 1] + TICK;
+        while (currentTime < endTime)
+        {
+            long nextExpireTime = wheel.nextExpireTime();
+            assertTrue(nextExpireTime > currentTime);
+
+            // step a random distance, at most to the next expire time half of the time
+            long step = 1 + (long)(random.nextDouble() * ranges[random.nextInt(ranges.length)] / 100);
+            if (random.nextBoolean() && nextExpireTime != Long.MAX_VALUE)
+                step = Math.max(1, Math.min(step, nextExpireTime - currentTime));
+            currentTime = Math.min(endTime, currentTime + step);
+
+            TestTimer timer;
+            while ((timer = (TestTimer)wheel.poll(currentTime)) != null)
+            {
+                assertFalse(expired[timer._id]);
+                assertTrue(timer._id % 7 != 0);
+                assertTrue(timer.expireTime() <= currentTime);
+                expired[timer._id] = true;
+                expiredCount++;
+            }
+
+            // every timer due by the end of the previous tick has expired
+            for (int i = 0; i < timers.size(); i += 97)
+            {
+                if (i % 7 != 0 && Math.floorDiv(timers.get(i).expireTime(), TICK) < Math.floorDiv(currentTime, TICK))
+                    assertTrue(expired[i]);
+            }
+        }
+
+        assertEquals(timers.size() - cancelled, expiredCount);
+        assertEquals(0, wheel.size());
+        assertEquals(Long.MAX_VALUE, wheel.nextExpireTime());
+    }
+
+    @Test
+    public void nextExpireTimeTest()
+    {
+        VaTimingWheel wheel = new VaTimingWheel(TICK, 0);
+        TestTimer timer = new TestTimer(1);
+
+        // beyond the first level, the time returned may be early but never late
+        wheel.add(timer, 70000 * TICK + 1);
+        long currentTime = 0;
+        while (wheel.poll(currentTime) == null)
+        {
+            long nextExpireTime = wheel.nextExpireTime();
+            assertTrue(nextExpireTime > currentTime);
+            assertTrue(nextExpireTime <= 70001 * TICK);
+            currentTime = nextExpireTime;
+        }
+        assertEquals(70001 * TICK, currentTime);
+    }
+}
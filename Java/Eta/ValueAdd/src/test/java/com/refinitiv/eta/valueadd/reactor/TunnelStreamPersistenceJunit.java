@@ -0,0 +1,347 @@
+///*|-----------------------------------------------------------------------------
+// *|            This source code is provided under the Apache 2.0 license      --
+// *|  and is provided AS IS with no warranty or guarantee of fit for purpose.  --
+// *|                See the project's LICENSE.md for details.                  --
+// *|           Copyright (C) 2021 Refinitiv. All rights reserved.            --
+///*|-----------------------------------------------------------------------------
+
+package com.refinitiv.eta.valueadd.reactor;
+
+import static org.junit.Assert.*;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.refinitiv.eta.codec.Buffer;
+import com.refinitiv.eta.codec.CodecFactory;
+import com.refinitiv.eta.rdm.ClassesOfService;
+import com.refinitiv.eta.transport.Error;
+import com.refinitiv.eta.transport.TransportFactory;
+import com.refinitiv.eta.valueadd.domainrep.rdm.queue.QueueDataTimeoutCode;
+
+public class TunnelStreamPersistenceJunit
+{
+    static final int MAX_MSG_SIZE = 6144;
+
+    File _persistenceDir;
+    Error _error = TransportFactory.createError();
+
+    @Before
+    public void setUp() throws IOException
+    {
+        _persistenceDir = Files.createTempDirectory("tunnelStreamPersistence").toFile();
+    }
+
+    @After
+    public void tearDown()
+    {
+        TunnelStreamPersistenceFile.defaultPersistenceVersion(TunnelStreamPersistenceFile.FileVersion.V3);
+        for (File file : _persistenceDir.listFiles())
+            file.delete();
+        _persistenceDir.delete();
+    }
+
+    TunnelStream createTunnelStream(int commitBatchSize, int commitInterval)
+    {
+        TunnelStream tunnelStream = new TunnelStream(ReactorFactory.createReactorChannel());
+        tunnelStream.classOfService().common().maxMsgSize(MAX_MSG_SIZE);
+        tunnelStream.classOfService().guarantee().type(ClassesOfService.GuaranteeTypes.PERSISTENT_QUEUE);
+        tunnelStream.classOfService().guarantee().persistenceCommitBatchSize(commitBatchSize);
+        tunnelStream.classOfService().guarantee().persistenceCommitInterval(commitInterval);
+        return tunnelStream;
+    }
+
+    TunnelSubstream openSubstream(TunnelStream tunnelStream, boolean reset)
+    {
+        Buffer queueName = CodecFactory.createBuffer();
+        queueName.data("QUEUE");
+        tunnelStream.forceFileReset(reset);
+        TunnelSubstream substream = new TunnelSubstream(queueName, 5, 200, 1, _persistenceDir.getPath(), tunnelStream, _error);
+        assertEquals(_error.text(), ReactorReturnCodes.SUCCESS, _error.errorId());
+        assertNotNull(substream._persistFile);
+        tunnelStream._streamIdtoQueueSubstreamTable.put(5, substream);
+        return substream;
+    }
+
+    static TunnelStreamBuffer msgBuffer(int length, int content)
+    {
+        TunnelStreamBuffer buffer = new TunnelStreamBuffer();
+        buffer.clear(length);
+        buffer.data(ByteBuffer.allocate(length), 0, length);
+        for (int i = 0; i < length; ++i)
+            buffer.data().put((byte)(content + i));
+        buffer.setCurrentPositionAsEndOfEncoding();
+        buffer.timeoutIsCode(true);
+        buffer.timeoutNsec(QueueDataTimeoutCode.INFINITE);
+        return buffer;
+    }
+
+    TunnelStreamPersistenceBuffer saveMsg(TunnelSubstream substream, int length, int content)
+    {
+        TunnelStreamBuffer buffer = msgBuffer(length, content);
+        assertEquals(_error.text(), ReactorReturnCodes.SUCCESS, substream.saveMsg(buffer, _error));
+        assertNotNull(buffer.persistenceBuffer());
+        return buffer.persistenceBuffer();
+    }
+
+    /* Marks a saved message as transmitted, as TunnelSubstream.setBufferAsTransmitted() does. */
+    void transmit(TunnelSubstream substream, TunnelStreamPersistenceBuffer persistBuffer)
+    {
+        assertEquals(_error.text(), ReactorReturnCodes.SUCCESS, substream._persistFile.setBufferAsTransmitted(persistBuffer, _error));
+        substream.lastOutSeqNum(substream.lastOutSeqNum() + 1);
+    }
+
+    static void assertMsg(TunnelSubstream substream, TunnelStreamPersistenceBuffer persistBuffer, int length, int content)
+    {
+        assertEquals(length, persistBuffer.length());
+        TunnelStreamBuffer buffer = new TunnelStreamBuffer();
+        buffer.clear(length);
+        buffer.data(ByteBuffer.allocate(length), 0, length);
+        substream._persistFile.copyToTunnelStreamBuffer(persistBuffer, buffer);
+        for (int i = 0; i < length; ++i)
+            assertEquals((byte)(content + i), buffer.data().get(i));
+    }
+
+    static TunnelStreamPersistenceFileV3 logFile(TunnelSubstream substream)
+    {
+        assertTrue(substream._persistFile instanceof TunnelStreamPersistenceFileV3);
+        return (TunnelStreamPersistenceFileV3)substream._persistFile;
+    }
+
+    @Test
+    public void savedMessagesAreRecoveredTest()
+    {
+        TunnelStream tunnelStream = createTunnelStream(1, 0);
+        TunnelSubstream substream = openSubstream(tunnelStream, true);
+
+        TunnelStreamPersistenceBuffer msg1 = saveMsg(substream, 100, 1);
+        TunnelStreamPersistenceBuffer msg2 = saveMsg(substream, 200, 2);
+        saveMsg(substream, MAX_MSG_SIZE, 3);
+        transmit(substream, msg1);
+        transmit(substream, msg2);
+        substream.lastInSeqNum(7);
+
+        /* Provider acknowledged the first message. */
+        assertEquals(ReactorReturnCodes.SUCCESS, substream._persistFile.releasePersistenceBuffers(1, _error));
+        assertEquals(2, logFile(substream)._savedMsgList.count());
+        assertEquals(ReactorReturnCodes.SUCCESS, substream.close(_error));
+
+        substream = openSubstream(tunnelStream, false);
+        TunnelStreamPersistenceFileV3 logFile = logFile(substream);
+        assertEquals(2, substream.lastOutSeqNum());
+        assertEquals(7, substream.lastInSeqNum());
+        assertEquals(2, logFile._savedMsgList.count());
+
+        TunnelStreamPersistenceBuffer persistBuffer = logFile._savedMsgList.peek();
+        assertTrue(persistBuffer.isTransmitted());
+        assertEquals(2, persistBuffer.seqNum());
+        assertMsg(substream, persistBuffer, 200, 2);
+        assertTrue(logFile.persistBufferTimeoutNsec(persistBuffer) <= 0); /* timeout is a code */
+
+        persistBuffer = TunnelStreamPersistenceBuffer.SUBSTREAM_LINK.getNext(persistBuffer);
+        assertFalse(persistBuffer.isTransmitted());
+        assertMsg(substream, persistBuffer, MAX_MSG_SIZE, 3);
+
+        /* Messages saved after recovery follow the recovered ones. */
+        TunnelStreamPersistenceBuffer msg4 = saveMsg(substream, 50, 4);
+        assertSame(msg4, logFile._savedMsgList.peekTail());
+        transmit(substream, persistBuffer);
+        assertEquals(3, persistBuffer.seqNum());
+        assertEquals(ReactorReturnCodes.SUCCESS, substream.close(_error));
+
+        /* Reset discards the saved messages. */
+        substream = openSubstream(tunnelStream, true);
+        assertEquals(0, logFile(substream)._savedMsgList.count());
+        assertEquals(0, substream.lastOutSeqNum());
+        assertEquals(ReactorReturnCodes.SUCCESS, substream.close(_error));
+
+        substream = openSubstream(tunnelStream, false);
+        assertEquals(0, logFile(substream)._savedMsgList.count());
+        assertEquals(ReactorReturnCodes.SUCCESS, substream.close(_error));
+    }
+
+    @Test
+    public void segmentsAreReusedTest()
+    {
+        TunnelStream tunnelStream = createTunnelStream(1000, 0);
+        TunnelSubstream substream = openSubstream(tunnelStream, true);
+        TunnelStreamPersistenceFileV3 logFile = logFile(substream);
+
+        /* The first message is never acknowledged. */
+        TunnelStreamPersistenceBuffer pendingMsg = saveMsg(substream, 1000, 0);
+        transmit(substream, pendingMsg);
+
+        /* Write several times the size of the log. */
+        for (int i = 1; i <= 40000; ++i)
+        {
+            transmit(substream, saveMsg(substream, 1000, i));
+            assertEquals(ReactorReturnCodes.SUCCESS, logFile.releasePersistenceBuffer(logFile._savedMsgList.peekTail(), _error));
+            assertTrue(logFile._segments.size() <= 2);
+        }
+
+        assertEquals(1, logFile._savedMsgList.count());
+        assertEquals(ReactorReturnCodes.SUCCESS, substream.close(_error));
+
+        substream = openSubstream(tunnelStream, false);
+        logFile = logFile(substream);
+        assertEquals(1, logFile._savedMsgList.count());
+        assertEquals(40001, substream.lastOutSeqNum());
+
+        TunnelStreamPersistenceBuffer persistBuffer = logFile._savedMsgList.peek();
+        assertTrue(persistBuffer.isTransmitted());
+        assertEquals(1, persistBuffer.seqNum());
+        assertMsg(substream, persistBuffer, 1000, 0);
+        assertEquals(ReactorReturnCodes.SUCCESS, substream.close(_error));
+    }
+
+    @Test
+    public void persistenceFullTest()
+    {
+        TunnelStream tunnelStream = createTunnelStream(1000, 0);
+        TunnelSubstream substream = openSubstream(tunnelStream, true);
+        TunnelStreamPersistenceFileV3 logFile = logFile(substream);
+        int savedMsgCount = 0;
+        int ret;
+
+        while ((ret = substream.saveMsg(msgBuffer(MAX_MSG_SIZE, savedMsgCount), _error)) == ReactorReturnCodes.SUCCESS)
+            ++savedMsgCount;
+
+        assertEquals(ReactorReturnCodes.PERSISTENCE_FULL, ret);
+        assertEquals(ReactorReturnCodes.PERSISTENCE_FULL, _error.errorId());
+        assertTrue(savedMsgCount >= 1024);
+
+        /* There is still room to transmit and release the saved messages. */
+        for (TunnelStreamPersistenceBuffer persistBuffer = logFile._savedMsgList.peek(); persistBuffer != null;
+                persistBuffer = TunnelStreamPersistenceBuffer.SUBSTREAM_LINK.getNext(persistBuffer))
+            transmit(substream, persistBuffer);
+        assertEquals(ReactorReturnCodes.SUCCESS, logFile.releasePersistenceBuffers(savedMsgCount, _error));
+        assertEquals(0, logFile._savedMsgList.count());
+
+        saveMsg(substream, MAX_MSG_SIZE, 0);
+        assertEquals(ReactorReturnCodes.SUCCESS, substream.close(_error));
+    }
+
+    @Test
+    public void groupCommitTest()
+    {
+        TunnelStream tunnelStream = createTunnelStream(3, 50);
+        TunnelSubstream substream = openSubstream(tunnelStream, true);
+        TunnelStreamPersistenceFileV3 logFile = logFile(substream);
+        long currentTimeNsec = System.nanoTime();
+
+        /* Committed once the batch is complete. */
+        TunnelStreamPersistenceBuffer persistBuffer = saveMsg(substream, 100, 1);
+        assertEquals(1, logFile._uncommittedRecordCount);
+        assertTrue(tunnelStream.hasNextTimeout());
+        transmit(substream, persistBuffer);
+        assertEquals(2, logFile._uncommittedRecordCount);
+        assertEquals(ReactorReturnCodes.SUCCESS, logFile.releasePersistenceBuffer(persistBuffer, _error));
+        assertEquals(0, logFile._uncommittedRecordCount);
+
+        /* Committed by the timer once the interval elapses. */
+        saveMsg(substream, 100, 2);
+        assertEquals(1, logFile._uncommittedRecordCount);
+        assertTrue(tunnelStream.hasNextTimeout());
+        assertEquals(ReactorReturnCodes.SUCCESS, tunnelStream.handleTimer(currentTimeNsec, _error));
+        assertEquals(1, logFile._uncommittedRecordCount);
+        assertEquals(ReactorReturnCodes.SUCCESS, tunnelStream.handleTimer(currentTimeNsec + 100 * TunnelStreamUtil.NANO_PER_MILLI, _error));
+        assertEquals(0, logFile._uncommittedRecordCount);
+        assertFalse(tunnelStream.hasNextTimeout());
+
+        assertEquals(ReactorReturnCodes.SUCCESS, substream.close(_error));
+    }
+
+    @Test
+    public void replayStopsAtCorruptRecordTest() throws IOException
+    {
+        TunnelStream tunnelStream = createTunnelStream(1, 0);
+        TunnelSubstream substream = openSubstream(tunnelStream, true);
+
+        saveMsg(substream, 100, 1);
+        TunnelStreamPersistenceBuffer msg2 = saveMsg(substream, 200, 2);
+        saveMsg(substream, 300, 3);
+        int corruptPosition = msg2.filePosition() + substream._persistFile.persistBufferMsgOffset() + 50;
+        assertEquals(ReactorReturnCodes.SUCCESS, substream.close(_error));
+
+        /* Change a byte of the second message, as a write torn by a crash would. */
+        try (RandomAccessFile segmentFile = new RandomAccessFile(new File(_persistenceDir, "QUEUE.seg0"), "rw"))
+        {
+            segmentFile.seek(corruptPosition);
+            int value = segmentFile.read();
+            segmentFile.seek(corruptPosition);
+            segmentFile.write(value ^ 0xff);
+        }
+
+        /* Only the records before the corrupt one are replayed, and new records replace the rest. */
+        substream = openSubstream(tunnelStream, false);
+        TunnelStreamPersistenceFileV3 logFile = logFile(substream);
+        assertEquals(1, logFile._savedMsgList.count());
+        assertMsg(substream, logFile._savedMsgList.peek(), 100, 1);
+        saveMsg(substream, 400, 4);
+        assertEquals(ReactorReturnCodes.SUCCESS, substream.close(_error));
+
+        substream = openSubstream(tunnelStream, false);
+        logFile = logFile(substream);
+        assertEquals(2, logFile._savedMsgList.count());
+        assertMsg(substream, logFile._savedMsgList.peekTail(), 400, 4);
+        assertEquals(ReactorReturnCodes.SUCCESS, substream.close(_error));
+    }
+
+    @Test
+    public void recordWriteFailureIsReturnedTest()
+    {
+        TunnelStream tunnelStream = createTunnelStream(1000, 0);
+        TunnelSubstream substream = openSubstream(tunnelStream, true);
+        TunnelStreamPersistenceFileV3 logFile = logFile(substream);
+        int msgOffset = substream._persistFile.persistBufferMsgOffset();
+
+        /* Fill the first segment, so that the next record starts the second one. */
+        TunnelStreamPersistenceBuffer persistBuffer = saveMsg(substream, 1000, 0);
+        int segmentSize = logFile._segments.peekLast()._byteBuf.capacity();
+        while (segmentSize - logFile._segments.peekLast()._position >= 2 * (msgOffset + 1000))
+            saveMsg(substream, 1000, 0);
+        saveMsg(substream, segmentSize - logFile._segments.peekLast()._position - msgOffset, 0);
+        assertEquals(segmentSize, logFile._segments.peekLast()._position);
+
+        /* The second segment cannot be created. */
+        File segmentFile = new File(_persistenceDir, "QUEUE.seg1");
+        assertTrue(segmentFile.mkdir());
+
+        assertEquals(ReactorReturnCodes.FAILURE, substream._persistFile.setBufferAsTransmitted(persistBuffer, _error));
+        assertEquals(ReactorReturnCodes.FAILURE, _error.errorId());
+        assertFalse(persistBuffer.isTransmitted());
+        int savedMsgCount = logFile._savedMsgList.count();
+        assertEquals(ReactorReturnCodes.FAILURE, logFile.releasePersistenceBuffer(persistBuffer, _error));
+        assertEquals(savedMsgCount, logFile._savedMsgList.count());
+
+        assertTrue(segmentFile.delete());
+        transmit(substream, persistBuffer);
+        assertTrue(persistBuffer.isTransmitted());
+        assertEquals(ReactorReturnCodes.SUCCESS, logFile.releasePersistenceBuffer(persistBuffer, _error));
+        assertEquals(savedMsgCount - 1, logFile._savedMsgList.count());
+        assertEquals(ReactorReturnCodes.SUCCESS, substream.close(_error));
+    }
+
+    @Test
+    public void version2FileIsReopenedTest()
+    {
+        TunnelStreamPersistenceFile.defaultPersistenceVersion(TunnelStreamPersistenceFile.FileVersion.V2);
+        TunnelStream tunnelStream = createTunnelStream(1, 0);
+        TunnelSubstream substream = openSubstream(tunnelStream, true);
+        assertTrue(substream._persistFile instanceof TunnelStreamPersistenceFileV2);
+        saveMsg(substream, 100, 1);
+        assertEquals(ReactorReturnCodes.SUCCESS, substream.close(_error));
+
+        TunnelStreamPersistenceFile.defaultPersistenceVersion(TunnelStreamPersistenceFile.FileVersion.V3);
+        substream = openSubstream(tunnelStream, false);
+        assertTrue(substream._persistFile instanceof TunnelStreamPersistenceFileV2);
+        assertEquals(ReactorReturnCodes.SUCCESS, substream.close(_error));
+    }
+}
@@ -0,0 +1,181 @@
+///*|-----------------------------------------------------------------------------
+// *|            This source code is provided under the Apache 2.0 license      --
+// *|  and is provided AS IS with no warranty or guarantee of fit for purpose.  --
+// *|                See the project's LICENSE.md for details.                  --
+// *|           Copyright (C) 2021 Refinitiv. All rights reserved.            --
+///*|-----------------------------------------------------------------------------
+
+package com.refinitiv.eta.valueadd.reactor;
+
+import static org.junit.Assert.*;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+
+import org.junit.Test;
+
+import com.refinitiv.eta.codec.Array;
+import com.refinitiv.eta.codec.ArrayEntry;
+import com.refinitiv.eta.codec.Buffer;
+import com.refinitiv.eta.codec.Codec;
+import com.refinitiv.eta.codec.CodecFactory;
+import com.refinitiv.eta.codec.CodecReturnCodes;
+import com.refinitiv.eta.codec.DecodeIterator;
+import com.refinitiv.eta.codec.ElementEntry;
+import com.refinitiv.eta.codec.ElementList;
+import com.refinitiv.eta.codec.EncodeIterator;
+import com.refinitiv.eta.codec.Int;
+import com.refinitiv.eta.codec.UInt;
+import com.refinitiv.eta.rdm.ElementNames;
+import com.refinitiv.eta.rdm.ViewTypes;
+
+public class WlViewHandlerJunit
+{
+    WlViewHandler _viewHandler = new WlViewHandler(null);
+    ReactorErrorInfo _errorInfo = ReactorFactory.createReactorErrorInfo();
+
+    WlView createView(Integer... fieldIds)
+    {
+        ArrayList<Integer> fieldIdList = new ArrayList<Integer>(Arrays.asList(fieldIds));
+        WlView view = _viewHandler.viewCreate(fieldIdList, null, fieldIdList.size(), ViewTypes.FIELD_ID_LIST, _errorInfo);
+        assertNotNull(view);
+        return view;
+    }
+
+    int[] fieldIds(WlView view)
+    {
+        return Arrays.copyOf(view.fieldIds(), view.elemCount());
+    }
+
+    void removeView(WlView aggView, WlView view)
+    {
+        WlStream wlStream = new WlStream();
+        WlRequest wlRequest = new WlRequest();
+        wlStream.aggregateView(aggView);
+        wlStream._requestsWithViewCount = 1;
+        wlRequest.requestMsg().applyHasView();
+        wlRequest.view(view);
+        assertEquals(CodecReturnCodes.SUCCESS, _viewHandler.removeRequestView(wlStream, wlRequest, _errorInfo));
+        _viewHandler.destroyView(view);
+    }
+
+    /* Encodes the aggregate view and returns the field ids of the encoded view. */
+    ArrayList<Integer> encodeView(WlView aggView)
+    {
+        Buffer buffer = CodecFactory.createBuffer();
+        ByteBuffer byteBuffer = ByteBuffer.allocate(2048);
+        buffer.data(byteBuffer);
+        EncodeIterator encodeIter = CodecFactory.createEncodeIterator();
+        encodeIter.setBufferAndRWFVersion(buffer, Codec.majorVersion(), Codec.minorVersion());
+        assertEquals(CodecReturnCodes.SUCCESS, _viewHandler.encodeViewRequest(encodeIter, aggView));
+        buffer.data(byteBuffer, 0, byteBuffer.position());
+
+        DecodeIterator decodeIter = CodecFactory.createDecodeIterator();
+        ElementList elementList = CodecFactory.createElementList();
+        ElementEntry elementEntry = CodecFactory.createElementEntry();
+        Array array = CodecFactory.createArray();
+        ArrayEntry arrayEntry = CodecFactory.createArrayEntry();
+        UInt viewType = CodecFactory.createUInt();
+        Int fieldId = CodecFactory.createInt();
+        ArrayList<Integer> fieldIds = new ArrayList<Integer>();
+
+        decodeIter.setBufferAndRWFVersion(buffer, Codec.majorVersion(), Codec.minorVersion());
+        assertEquals(CodecReturnCodes.SUCCESS, elementList.decode(decodeIter, null));
+        assertEquals(CodecReturnCodes.SUCCESS, elementEntry.decode(decodeIter));
+        assertTrue(elementEntry.name().equals(ElementNames.VIEW_TYPE));
+        assertEquals(CodecReturnCodes.SUCCESS, viewType.decode(decodeIter));
+        assertEquals(ViewTypes.FIELD_ID_LIST, viewType.toLong());
+        assertEquals(CodecReturnCodes.SUCCESS, elementEntry.decode(decodeIter));
+        assertTrue(elementEntry.name().equals(ElementNames.VIEW_DATA));
+        assertEquals(CodecReturnCodes.SUCCESS, array.decode(decodeIter));
+        while (arrayEntry.decode(decodeIter) != CodecReturnCodes.END_OF_CONTAINER)
+        {
+            assertEquals(CodecReturnCodes.SUCCESS, fieldId.decode(decodeIter));
+            fieldIds.add((int)fieldId.toLong());
+        }
+        assertEquals(CodecReturnCodes.END_OF_CONTAINER, elementEntry.decode(decodeIter));
+        return fieldIds;
+    }
+
+    @Test
+    public void viewsWithTheSameFieldIdsShareThemTest()
+    {
+        WlView view1 = createView(3427, 22, 25, 22);
+        WlView view2 = createView(25, 3427, 22);
+        WlView view3 = createView(22, 25);
+
+        assertArrayEquals(new int[] {22, 25, 3427}, fieldIds(view1));
+        assertEquals(3, view1.elemCount());
+        assertSame(view1.fieldIds(), view2.fieldIds());
+        assertNotSame(view1.fieldIds(), view3.fieldIds());
+        assertEquals(2, _viewHandler._fieldIdSets.size());
+
+        _viewHandler.destroyView(view1);
+        assertEquals(2, _viewHandler._fieldIdSets.size());
+        _viewHandler.destroyView(view2);
+        assertEquals(1, _viewHandler._fieldIdSets.size());
+        _viewHandler.destroyView(view3);
+        assertEquals(0, _viewHandler._fieldIdSets.size());
+    }
+
+    @Test
+    public void aggregateViewMergeAndRemoveTest()
+    {
+        WlView view1 = createView(3427, 22, 25);
+        WlView view2 = createView(30, 25, 3428);
+        WlView view3 = createView(3427, 1);
+
+        WlView aggView = _viewHandler.aggregateViewCreate(view1, _errorInfo);
+        assertArrayEquals(new int[] {22, 25, 3427}, fieldIds(aggView));
+
+        assertEquals(CodecReturnCodes.SUCCESS, _viewHandler.aggregateViewAdd(aggView, view2, _errorInfo));
+        assertEquals(CodecReturnCodes.SUCCESS, _viewHandler.aggregateViewAdd(aggView, view3, _errorInfo));
+        assertEquals(CodecReturnCodes.SUCCESS, _viewHandler.aggregateViewMerge(aggView));
+        assertArrayEquals(new int[] {1, 22, 25, 30, 3427, 3428}, fieldIds(aggView));
+        assertArrayEquals(new int[] {1, 1, 2, 1, 2, 1}, Arrays.copyOf(aggView._fieldIdCounts, aggView.elemCount()));
+
+        // field ids still requested by another view are kept
+        removeView(aggView, view1);
+        assertTrue(_viewHandler.resorted());
+        assertArrayEquals(new int[] {1, 25, 30, 3427, 3428}, fieldIds(aggView));
+
+        removeView(aggView, view3);
+        assertArrayEquals(new int[] {25, 30, 3428}, fieldIds(aggView));
+        assertArrayEquals(new int[] {1, 1, 1}, Arrays.copyOf(aggView._fieldIdCounts, aggView.elemCount()));
+
+        _viewHandler.aggregateViewDestroy(aggView);
+        _viewHandler.destroyView(view2);
+        assertEquals(0, _viewHandler._fieldIdSets.size());
+    }
+
+    @Test
+    public void encodedViewIsReusedUntilFieldIdsChangeTest()
+    {
+        WlView view1 = createView(22, 25, 3427);
+        WlView aggView = _viewHandler.aggregateViewCreate(view1, _errorInfo);
+        assertEquals(Arrays.asList(22, 25, 3427), encodeView(aggView));
+        ByteBuffer encodedView = aggView._encodedView;
+        int encodedViewVersion = aggView._encodedViewVersion;
+        assertNotEquals(-1, encodedViewVersion);
+
+        // a view contained in the aggregate view only changes the counts
+        WlView view2 = createView(25, 3427);
+        _viewHandler.aggregateViewAdd(aggView, view2, _errorInfo);
+        _viewHandler.aggregateViewMerge(aggView);
+        assertEquals(encodedViewVersion, aggView._encodedViewVersion);
+        assertEquals(Arrays.asList(22, 25, 3427), encodeView(aggView));
+        assertSame(encodedView, aggView._encodedView);
+
+        // adding a field id encodes the view again
+        WlView view3 = createView(30);
+        _viewHandler.aggregateViewAdd(aggView, view3, _errorInfo);
+        _viewHandler.aggregateViewMerge(aggView);
+        assertEquals(-1, aggView._encodedViewVersion);
+        assertEquals(Arrays.asList(22, 25, 30, 3427), encodeView(aggView));
+
+        // as does removing one
+        removeView(aggView, view1);
+        assertEquals(Arrays.asList(25, 30, 3427), encodeView(aggView));
+    }
+}
@@ -34,6 +34,9 @@ public class CacheFactory
 			return null;
 		}
 
+		if (configOptions.useJavaCache())
+			return JavaPayloadCacheImpl.create(configOptions, error);
+
 		return PayloadCacheImpl.create(configOptions, error);
 	}
 	
@@ -59,6 +62,9 @@ public class CacheFactory
 			return null;
 		}
 
+		if (cacheInstance instanceof JavaPayloadCacheImpl)
+			return JavaPayloadEntryImpl.create(cacheInstance, error);
+
 		return PayloadEntryImpl.create(cacheInstance, error);
 	}
 	
@@ -0,0 +1,281 @@
+package com.refinitiv.eta.valueadd.cache;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+import com.refinitiv.eta.codec.Buffer;
+import com.refinitiv.eta.codec.CodecFactory;
+import com.refinitiv.eta.codec.CodecReturnCodes;
+import com.refinitiv.eta.codec.DataDictionary;
+import com.refinitiv.eta.codec.Map;
+import com.refinitiv.eta.codec.MapEntry;
+import com.refinitiv.eta.valueadd.common.VaConcurrentQueue;
+import com.refinitiv.eta.valueadd.common.VaIteratableQueue;
+import com.refinitiv.eta.valueadd.common.VaNode;
+
+/* Payload cache implemented in Java, created when PayloadCacheConfigOptions.useJavaCache() is set.
+ * Entry data is kept in off-heap slabs owned by the cache, see PayloadSlabAllocator and
+ * PayloadFieldListStore. Does not use the rsslVACacheJNI library. */
+class JavaPayloadCacheImpl extends VaNode implements PayloadCache
+{
+    private static Lock _globalCacheLock = new ReentrantLock();
+    private static VaConcurrentQueue _globalCacheList = new VaConcurrentQueue();
+    private static Lock _globalDictLock = new ReentrantLock();
+    private static HashMap<String, DataDictionary> _globalDictionaries = new HashMap<String, DataDictionary>();
+
+    private boolean _isCacheDestroyed = true;
+    private VaIteratableQueue _cacheEntryList = new VaIteratableQueue();
+    private List<PayloadEntry> _appCacheEntryList = null;
+    private String _dictKey = null;
+    private boolean _dictKeyCleared = false;
+    private int _maxItems;
+
+    DataDictionary _dictionary = null;
+    final PayloadSlabAllocator _slabs = new PayloadSlabAllocator();
+    final PayloadFieldListStore _fieldListStore = new PayloadFieldListStore(_slabs);
+
+    // used by entries of this cache to decode and encode maps
+    final Map _map = CodecFactory.createMap();
+    final MapEntry _mapEntry = CodecFactory.createMapEntry();
+    final Buffer _keyBuffer = CodecFactory.createBuffer();
+    final Buffer _permDataBuffer = CodecFactory.createBuffer();
+
+    JavaPayloadCacheImpl(PayloadCacheConfigOptions configOptions)
+    {
+        _maxItems = configOptions.maxItems();
+
+        _globalCacheLock.lock();
+        _globalCacheList.add(this);
+        _globalCacheLock.unlock();
+
+        _isCacheDestroyed = false;
+    }
+
+    static PayloadCache create(PayloadCacheConfigOptions configOptions, CacheError error)
+    {
+        return new JavaPayloadCacheImpl(configOptions);
+    }
+
+    @Override
+    public int setDictionary(DataDictionary fidDictionary, String dictionaryKey, CacheError error)
+    {
+        if (error == null)
+            throw new UnsupportedOperationException("JavaPayloadCacheImpl.setDictionary: error cannot be null, dictionary not set.");
+
+        if (_isCacheDestroyed)
+            return populateErrorInfo((CacheErrorImpl)error, CodecReturnCodes.INVALID_DATA,
+                                     "JavaPayloadCacheImpl.setDictionary error: the cache instance has been destroyed.");
+
+        if (dictionaryKey == null || fidDictionary == null)
+            return populateErrorInfo((CacheErrorImpl)error, CodecReturnCodes.INVALID_ARGUMENT,
+                                     "JavaPayloadCacheImpl.setDictionary error: dictionaryKey or fidDictionary cannot be null, dictionary not set.");
+
+        if (!_dictKeyCleared && _dictKey != null && !_dictKey.equals(dictionaryKey))
+            return populateErrorInfo((CacheErrorImpl)error, CodecReturnCodes.INVALID_ARGUMENT,
+                                     "JavaPayloadCacheImpl.setDictionary error: not allow to reload dictonary with new key.");
+
+        if (fidDictionary.numberOfEntries() == 0)
+            return populateErrorInfo((CacheErrorImpl)error, CodecReturnCodes.INVALID_ARGUMENT,
+                                     "JavaPayloadCacheImpl.setDictionary error: fidDictionary has no field definitions, dictionary not set.");
+
+        // setting the same key again extends the dictionary, the fields are taken from the latest one
+        _globalDictLock.lock();
+        _globalDictionaries.put(dictionaryKey, fidDictionary);
+        _globalDictLock.unlock();
+
+        bindDictionary(fidDictionary, dictionaryKey);
+        return CodecReturnCodes.SUCCESS;
+    }
+
+    @Override
+    public int setSharedDictionaryKey(String dictionaryKey, CacheError error)
+    {
+        if (error == null)
+            throw new UnsupportedOperationException("JavaPayloadCacheImpl.setSharedDictionaryKey: error cannot be null, dictionary not set.");
+
+        if (dictionaryKey == null)
+            return populateErrorInfo((CacheErrorImpl)error, CodecReturnCodes.INVALID_ARGUMENT,
+                                     "JavaPayloadCacheImpl.setSharedDictionaryKey error: dictionaryKey cannot be null, dictionary not set.");
+
+        if (_isCacheDestroyed)
+            return populateErrorInfo((CacheErrorImpl)error, CodecReturnCodes.INVALID_DATA,
+                                     "JavaPayloadCacheImpl.setSharedDictionaryKey error: the cache instance has been destroyed.");
+
+        if (!_dictKeyCleared && _dictKey != null)
+        {
+            if (!_dictKey.equals(dictionaryKey))
+                return populateErrorInfo((CacheErrorImpl)error, CodecReturnCodes.INVALID_ARGUMENT,
+                                         "JavaPayloadCacheImpl.setSharedDictionaryKey error: not allow to reload dictonary with new key.");
+        }
+
+        _globalDictLock.lock();
+        DataDictionary dictionary = _globalDictionaries.get(dictionaryKey);
+        _globalDictLock.unlock();
+
+        if (dictionary == null)
+            return populateErrorInfo((CacheErrorImpl)error, CodecReturnCodes.INVALID_ARGUMENT,
+                                     "JavaPayloadCacheImpl.setSharedDictionaryKey error: the shared dictionary is not available, dictionary not set.");
+
+        bindDictionary(dictionary, dictionaryKey);
+        return CodecReturnCodes.SUCCESS;
+    }
+
+    @Override
+    public int entryCount()
+    {
+        if (_isCacheDestroyed)
+            return 0;
+
+        return _cacheEntryList.size();
+    }
+
+    @Override
+    public List<PayloadEntry> entryList()
+    {
+        if (_isCacheDestroyed)
+            return null;
+
+        int entryNum = _cacheEntryList.size();
+        if (entryNum == 0)
+            return null;
+
+        if (_appCacheEntryList == null)
+            _appCacheEntryList = new ArrayList<PayloadEntry>(entryNum);
+        else
+            _appCacheEntryList.clear();
+
+        _cacheEntryList.rewind();
+        while (_cacheEntryList.hasNext())
+            _appCacheEntryList.add((PayloadEntry)_cacheEntryList.next());
+
+        return _appCacheEntryList;
+    }
+
+    @Override
+    public void destroy()
+    {
+        if (_isCacheDestroyed)
+            return;
+
+        destroyPayloadEntries();
+        _dictionary = null;
+        _fieldListStore._dictionary = null;
+
+        _globalCacheLock.lock();
+        _globalCacheList.remove(this);
+        _globalCacheLock.unlock();
+
+        _isCacheDestroyed = true;
+    }
+
+    @Override
+    public void clear()
+    {
+        if (_isCacheDestroyed)
+            return;
+
+        destroyPayloadEntries();
+
+        // so no need to set _dictKey to null
+        _dictKeyCleared = true;
+    }
+
+    @Override
+    public void destroyAll()
+    {
+        if (_isCacheDestroyed)
+            return;
+
+        _globalCacheLock.lock();
+
+        int cacheCount = _globalCacheList.size();
+        while (cacheCount-- > 0)
+        {
+            JavaPayloadCacheImpl cache = (JavaPayloadCacheImpl)_globalCacheList.poll();
+            _globalCacheLock.unlock();
+            cache.destroy();
+            _globalCacheLock.lock();
+        }
+
+        _globalDictLock.lock();
+        _globalDictionaries.clear();
+        _globalDictLock.unlock();
+
+        _globalCacheLock.unlock();
+    }
+
+    /* Same as PayloadCacheImpl.populateErrorInfo, which cannot be used without loading the JNI library. */
+    static int populateErrorInfo(CacheErrorImpl errorInfo, int returnCode, String text)
+    {
+        errorInfo.errorId(returnCode);
+        errorInfo.text(text);
+
+        return returnCode;
+    }
+
+    boolean isDestroyed()
+    {
+        return _isCacheDestroyed;
+    }
+
+    /* Checks that an entry can be added to this cache. */
+    boolean canAddCacheEntry(CacheError error)
+    {
+        if (_isCacheDestroyed)
+        {
+            populateErrorInfo((CacheErrorImpl)error, CodecReturnCodes.FAILURE,
+                              "JavaPayloadCacheImpl.createCacheEntry error: use invalid cache instance to create cache entry.");
+            return false;
+        }
+
+        if (_maxItems > 0 && _cacheEntryList.size() >= _maxItems)
+        {
+            populateErrorInfo((CacheErrorImpl)error, CodecReturnCodes.FAILURE,
+                              "JavaPayloadCacheImpl.createCacheEntry error: the cache has reached its limit of " + _maxItems + " entries.");
+            return false;
+        }
+
+        return true;
+    }
+
+    void addCacheEntry(JavaPayloadEntryImpl entry)
+    {
+        if (_isCacheDestroyed)
+            return;
+
+        _cacheEntryList.add(entry);
+    }
+
+    void removeCacheEntry(JavaPayloadEntryImpl entry)
+    {
+        if (_isCacheDestroyed)
+            return;
+
+        _cacheEntryList.remove(entry);
+    }
+
+    private void bindDictionary(DataDictionary dictionary, String dictionaryKey)
+    {
+        _dictionary = dictionary;
+        _fieldListStore._dictionary = dictionary;
+
+        if (_dictKey == null || _dictKeyCleared)
+        {
+            _dictKey = dictionaryKey;
+            _dictKeyCleared = false;
+        }
+    }
+
+    /* Destroys all entries and releases the slabs holding their data at once. */
+    private void destroyPayloadEntries()
+    {
+        JavaPayloadEntryImpl entry = null;
+        while ((entry = (JavaPayloadEntryImpl)_cacheEntryList.poll()) != null)
+            entry.applyDestroy();
+
+        _slabs.clear();
+    }
+}
@@ -0,0 +1,775 @@
+package com.refinitiv.eta.valueadd.cache;
+
+import java.io.PrintWriter;
+import java.nio.ByteBuffer;
+
+import com.refinitiv.eta.codec.Buffer;
+import com.refinitiv.eta.codec.CodecFactory;
+import com.refinitiv.eta.codec.CodecReturnCodes;
+import com.refinitiv.eta.codec.DataDictionary;
+import com.refinitiv.eta.codec.DataTypes;
+import com.refinitiv.eta.codec.DecodeIterator;
+import com.refinitiv.eta.codec.EncodeIterator;
+import com.refinitiv.eta.codec.FieldList;
+import com.refinitiv.eta.codec.Map;
+import com.refinitiv.eta.codec.MapEntry;
+import com.refinitiv.eta.codec.MapEntryActions;
+import com.refinitiv.eta.codec.Msg;
+import com.refinitiv.eta.codec.MsgClasses;
+import com.refinitiv.eta.codec.RefreshMsgFlags;
+import com.refinitiv.eta.codec.StatusMsgFlags;
+import com.refinitiv.eta.valueadd.common.VaNode;
+
+/* Payload entry of a JavaPayloadCacheImpl.
+ *
+ * FieldList payloads are kept in a field table of the cache's PayloadFieldListStore.
+ * Map payloads keep one record block per map entry, holding the handle of the entry's
+ * field table, the encoded key and the permission data. Map entries are found by key
+ * through an open addressing index of positions in the record array. Maps are retrieved
+ * in order of the record array, which a PayloadCursor can split into several parts.
+ *
+ * Only FieldList payloads and Map payloads of FieldList or NoData entries are supported. */
+class JavaPayloadEntryImpl extends VaNode implements PayloadEntry
+{
+    static final int RECORD_TABLE_POS = 0;
+    static final int RECORD_KEY_LENGTH_POS = 8;
+    static final int RECORD_PERM_LENGTH_POS = 10;
+    static final int RECORD_HEADER_SIZE = 12;
+    static final int INITIAL_MAP_ENTRIES = 16;
+
+    private static int TRACE_BUF_SIZE = 6144;
+
+    private boolean _isEntryDestroyed = true;
+    private JavaPayloadCacheImpl _cacheInstance = null;
+    private PayloadSlabAllocator _slabs;
+    private PayloadFieldListStore _fieldListStore;
+    private short _dataType = DataTypes.UNKNOWN;
+    private int _majorVer = 0;
+    private int _minorVer = 0;
+
+    // FieldList payload
+    private long _fieldTable;
+
+    // Map payload
+    private int _keyPrimitiveType;
+    private int _keyFieldId;
+    private boolean _hasKeyFieldId;
+    private int _mapContainerType;
+    private long _summaryTable;
+    private int _permDataCount;
+    private int _mapCount;
+    private long[] _mapRecords;
+    private int[] _mapHashes;
+    private int[] _mapIndex; // position in _mapRecords + 1, zero when empty
+
+    // Variables for trace function only
+    private FieldList _traceFieldList = null;
+    private Map _traceMap = null;
+    private DecodeIterator _traceDIter = null;
+    private EncodeIterator _traceEIter = null;
+    private ByteBuffer _traceByteBuffer = null;
+    private Buffer _traceBuffer = null;
+    private PayloadCursorImpl _traceCursor = null;
+
+    JavaPayloadEntryImpl(JavaPayloadCacheImpl cacheInstance)
+    {
+        _cacheInstance = cacheInstance;
+        _slabs = cacheInstance._slabs;
+        _fieldListStore = cacheInstance._fieldListStore;
+
+        _isEntryDestroyed = false;
+    }
+
+    static PayloadEntry create(PayloadCache cacheInstance, CacheError error)
+    {
+        JavaPayloadCacheImpl cache = (JavaPayloadCacheImpl)cacheInstance;
+        if (!cache.canAddCacheEntry(error))
+            return null;
+
+        JavaPayloadEntryImpl entry = new JavaPayloadEntryImpl(cache);
+        cache.addCacheEntry(entry);
+        return entry;
+    }
+
+    @Override
+    public void destroy()
+    {
+        if (_isEntryDestroyed)
+            return;
+
+        clearData();
+        _cacheInstance.removeCacheEntry(this);
+
+        _isEntryDestroyed = true;
+    }
+
+    @Override
+    public void clear()
+    {
+        if (_isEntryDestroyed)
+            return;
+
+        clearData();
+    }
+
+    @Override
+    public short dataType()
+    {
+        if (_isEntryDestroyed)
+            return DataTypes.UNKNOWN;
+
+        return _dataType;
+    }
+
+    @Override
+    public int apply(DecodeIterator dIter, Msg msg, CacheError error)
+    {
+        if (error == null)
+            throw new UnsupportedOperationException("JavaPayloadEntryImpl.apply: error cannot be null, data not apply.");
+
+        if (_isEntryDestroyed)
+            return JavaPayloadCacheImpl.populateErrorInfo((CacheErrorImpl)error, CodecReturnCodes.INVALID_DATA,
+                                                          "JavaPayloadEntryImpl.apply error: the cache instance has been destroyed.");
+
+        if (dIter == null || msg == null)
+            return JavaPayloadCacheImpl.populateErrorInfo((CacheErrorImpl)error, CodecReturnCodes.INVALID_ARGUMENT,
+                                                          "JavaPayloadEntryImpl.apply error: dIter or msg cannot be null, data not apply.");
+
+        boolean update;
+        switch (msg.msgClass())
+        {
+            case MsgClasses.REFRESH:
+                if ((msg.flags() & RefreshMsgFlags.CLEAR_CACHE) != 0)
+                    clearData();
+                update = false;
+                break;
+            case MsgClasses.UPDATE:
+                update = true;
+                break;
+            case MsgClasses.STATUS:
+                if ((msg.flags() & StatusMsgFlags.CLEAR_CACHE) != 0)
+                    clearData();
+                return CodecReturnCodes.SUCCESS;
+            default:
+                return CodecReturnCodes.SUCCESS;
+        }
+
+        int containerType = msg.containerType();
+        if (containerType == DataTypes.NO_DATA)
+            return CodecReturnCodes.SUCCESS;
+
+        if (containerType != DataTypes.FIELD_LIST && containerType != DataTypes.MAP)
+            return JavaPayloadCacheImpl.populateErrorInfo((CacheErrorImpl)error, CodecReturnCodes.UNSUPPORTED_DATA_TYPE,
+                                                          "JavaPayloadEntryImpl.apply error: container type " + DataTypes.toString(containerType) + " is not supported, data not apply.");
+
+        if (_dataType != DataTypes.UNKNOWN && _dataType != containerType)
+            return JavaPayloadCacheImpl.populateErrorInfo((CacheErrorImpl)error, CodecReturnCodes.INVALID_DATA,
+                                                          "JavaPayloadEntryImpl.apply error: container type " + DataTypes.toString(containerType)
+                                                          + " does not match the entry data type " + DataTypes.toString(_dataType) + ", data not apply.");
+
+        if (_cacheInstance._dictionary == null)
+            return JavaPayloadCacheImpl.populateErrorInfo((CacheErrorImpl)error, CodecReturnCodes.INVALID_DATA,
+                                                          "JavaPayloadEntryImpl.apply error: no field dictionary is set to the cache, data not apply.");
+
+        _majorVer = dIter.majorVersion();
+        _minorVer = dIter.minorVersion();
+        _fieldListStore._ignoredFields = 0;
+        error.clear();
+
+        int ret;
+        if (containerType == DataTypes.FIELD_LIST)
+        {
+            _fieldListStore._table = (_fieldTable != 0 ? _fieldTable : _fieldListStore.create());
+            ret = _fieldListStore.apply(dIter, update);
+            _fieldTable = _fieldListStore._table;
+        }
+        else
+        {
+            ret = applyMap(dIter, error);
+        }
+
+        if (ret < CodecReturnCodes.SUCCESS)
+        {
+            if (error.text() == null)
+                JavaPayloadCacheImpl.populateErrorInfo((CacheErrorImpl)error, ret,
+                                                       "JavaPayloadEntryImpl.apply error: failed to decode the message payload, data not apply.");
+            return ret;
+        }
+
+        _dataType = (short)containerType;
+
+        if (_fieldListStore._ignoredFields > 0)
+        {
+            // a warning, not an error
+            JavaPayloadCacheImpl.populateErrorInfo((CacheErrorImpl)error, CodecReturnCodes.SUCCESS,
+                                                   "JavaPayloadEntryImpl.apply warning: " + _fieldListStore._ignoredFields
+                                                   + " fields ignored, not in the field dictionary or not in the refresh.");
+            return CodecReturnCodes.INCOMPLETE_DATA;
+        }
+
+        return CodecReturnCodes.SUCCESS;
+    }
+
+    @Override
+    public int retrieve(EncodeIterator eIter, PayloadCursor cursor, CacheError error)
+    {
+        if (error == null)
+            throw new UnsupportedOperationException("JavaPayloadEntryImpl.retrieve: error cannot be null, unable receive data.");
+
+        if (_isEntryDestroyed)
+            return JavaPayloadCacheImpl.populateErrorInfo((CacheErrorImpl)error, CodecReturnCodes.INVALID_DATA,
+                                                          "JavaPayloadEntryImpl.retrieve error: the cache instance has been destroyed.");
+
+        if (eIter == null)
+            return JavaPayloadCacheImpl.populateErrorInfo((CacheErrorImpl)error, CodecReturnCodes.INVALID_ARGUMENT,
+                                                          "JavaPayloadEntryImpl.retrieve error: eIter cannot be null, unable receive data.");
+
+        PayloadCursorImpl cursorUsed = (PayloadCursorImpl)cursor;
+        if (cursorUsed != null && cursorUsed.isDestroyed())
+            return JavaPayloadCacheImpl.populateErrorInfo((CacheErrorImpl)error, CodecReturnCodes.INVALID_ARGUMENT,
+                                                          "JavaPayloadEntryImpl.retrieve error: invalid cursor, unable receive data.");
+
+        int ret = CodecReturnCodes.SUCCESS;
+        if (_dataType == DataTypes.FIELD_LIST)
+            ret = _fieldListStore.encode(eIter, _fieldTable);
+        else if (_dataType == DataTypes.MAP)
+            ret = retrieveMap(eIter, cursorUsed);
+        else if (cursorUsed != null)
+            cursorUsed.setComplete(true);
+
+        if (ret < CodecReturnCodes.SUCCESS)
+            return JavaPayloadCacheImpl.populateErrorInfo((CacheErrorImpl)error, ret,
+                                                          ret == CodecReturnCodes.BUFFER_TOO_SMALL ?
+                                                          "JavaPayloadEntryImpl.retrieve error: buffer too small, unable receive data." :
+                                                          "JavaPayloadEntryImpl.retrieve error: failed to encode the entry data, unable receive data.");
+
+        if (_dataType == DataTypes.FIELD_LIST && cursorUsed != null)
+            cursorUsed.setComplete(true);
+
+        return CodecReturnCodes.SUCCESS;
+    }
+
+    @Override
+    public int fieldCount()
+    {
+        if (_isEntryDestroyed || _dataType != DataTypes.FIELD_LIST)
+            return 0;
+
+        return _fieldListStore.fieldCount(_fieldTable);
+    }
+
+    @Override
+    public int fieldIds(int[] fieldIds)
+    {
+        if (_isEntryDestroyed || _dataType != DataTypes.FIELD_LIST)
+            return 0;
+
+        return _fieldListStore.fieldIds(_fieldTable, fieldIds);
+    }
+
+    @Override
+    public int retrieveField(int fieldId, Buffer value, CacheError error)
+    {
+        if (error == null)
+            throw new UnsupportedOperationException("JavaPayloadEntryImpl.retrieveField: error cannot be null, unable receive data.");
+
+        if (_isEntryDestroyed)
+            return JavaPayloadCacheImpl.populateErrorInfo((CacheErrorImpl)error, CodecReturnCodes.INVALID_DATA,
+                                                          "JavaPayloadEntryImpl.retrieveField error: the cache instance has been destroyed.");
+
+        if (value == null)
+            return JavaPayloadCacheImpl.populateErrorInfo((CacheErrorImpl)error, CodecReturnCodes.INVALID_ARGUMENT,
+                                                          "JavaPayloadEntryImpl.retrieveField error: value cannot be null, unable receive data.");
+
+        if (_dataType != DataTypes.FIELD_LIST)
+            return CodecReturnCodes.NO_DATA;
+
+        return (_fieldListStore.retrieveValue(_fieldTable, fieldId, value) ? CodecReturnCodes.SUCCESS : CodecReturnCodes.NO_DATA);
+    }
+
+    @Override
+    public int trace(int traceFormat, PrintWriter fileWriter, DataDictionary dictionary)
+    {
+        if (_isEntryDestroyed || fileWriter == null || dictionary == null || _dataType == DataTypes.NO_DATA)
+            return CodecReturnCodes.FAILURE;
+
+        if (traceFormat != PayloadEntryTraceFormat.PAYLOAD_ENTRY_TRACE_OPTION_XML)
+        {
+            System.out.println("JavaPayloadEntryImpl.trace error: unsupported trace format.");
+            return CodecReturnCodes.FAILURE;
+        }
+
+        if (_traceCursor == null)
+        {
+            _traceCursor = (PayloadCursorImpl)CacheFactory.createPayloadCursor();
+            _traceDIter = CodecFactory.createDecodeIterator();
+            _traceEIter = CodecFactory.createEncodeIterator();
+            _traceByteBuffer = ByteBuffer.allocate(TRACE_BUF_SIZE);
+            _traceBuffer = CodecFactory.createBuffer();
+            _traceFieldList = CodecFactory.createFieldList();
+            _traceMap = CodecFactory.createMap();
+        }
+        else
+            _traceCursor.clear();
+
+        int ret = CodecReturnCodes.SUCCESS;
+        while (!_traceCursor.isComplete())
+        {
+            _traceByteBuffer.clear();
+            _traceBuffer.data(_traceByteBuffer);
+            _traceEIter.clear();
+            _traceEIter.setBufferAndRWFVersion(_traceBuffer, _majorVer, _minorVer);
+
+            if (_dataType == DataTypes.FIELD_LIST)
+                ret = _fieldListStore.encode(_traceEIter, _fieldTable);
+            else if (_dataType == DataTypes.MAP)
+                ret = retrieveMap(_traceEIter, _traceCursor);
+            else
+                ret = CodecReturnCodes.FAILURE;
+
+            if (ret < CodecReturnCodes.SUCCESS)
+                return CodecReturnCodes.FAILURE;
+
+            _traceBuffer.data(_traceByteBuffer, 0, _traceByteBuffer.position());
+            _traceDIter.clear();
+            _traceDIter.setBufferAndRWFVersion(_traceBuffer, _majorVer, _minorVer);
+
+            if (_dataType == DataTypes.FIELD_LIST)
+            {
+                _traceFieldList.clear();
+                fileWriter.printf(_traceFieldList.decodeToXml(_traceDIter, dictionary));
+                _traceCursor.setComplete(true);
+            }
+            else
+            {
+                _traceMap.clear();
+                fileWriter.printf(_traceMap.decodeToXml(_traceDIter, dictionary));
+            }
+
+            fileWriter.flush();
+        }
+
+        return CodecReturnCodes.SUCCESS;
+    }
+
+    void applyDestroy()
+    {
+        _isEntryDestroyed = true;
+    }
+
+    /* Decodes a map and applies its summary data and entries. */
+    private int applyMap(DecodeIterator dIter, CacheError error)
+    {
+        int ret;
+        Map map = _cacheInstance._map;
+        MapEntry mapEntry = _cacheInstance._mapEntry;
+
+        map.clear();
+        if ((ret = map.decode(dIter)) == CodecReturnCodes.NO_DATA)
+            return CodecReturnCodes.SUCCESS;
+        else if (ret < CodecReturnCodes.SUCCESS)
+            return ret;
+
+        if (_dataType == DataTypes.UNKNOWN)
+        {
+            if (map.containerType() != DataTypes.FIELD_LIST && map.containerType() != DataTypes.NO_DATA)
+                return JavaPayloadCacheImpl.populateErrorInfo((CacheErrorImpl)error, CodecReturnCodes.UNSUPPORTED_DATA_TYPE,
+                                                              "JavaPayloadEntryImpl.apply error: map entries of " + DataTypes.toString(map.containerType())
+                                                              + " are not supported, data not apply.");
+
+            _keyPrimitiveType = map.keyPrimitiveType();
+            _mapContainerType = map.containerType();
+        }
+        else if (map.keyPrimitiveType() != _keyPrimitiveType || map.containerType() != _mapContainerType)
+        {
+            return JavaPayloadCacheImpl.populateErrorInfo((CacheErrorImpl)error, CodecReturnCodes.INVALID_DATA,
+                                                          "JavaPayloadEntryImpl.apply error: map key or entry type does not match the entry, data not apply.");
+        }
+
+        if (map.checkHasKeyFieldId())
+        {
+            _hasKeyFieldId = true;
+            _keyFieldId = map.keyFieldId();
+        }
+
+        if (map.checkHasSummaryData() && _mapContainerType == DataTypes.FIELD_LIST)
+        {
+            _fieldListStore._table = (_summaryTable != 0 ? _summaryTable : _fieldListStore.create());
+            ret = _fieldListStore.apply(dIter, false);
+            _summaryTable = _fieldListStore._table;
+            if (ret < CodecReturnCodes.SUCCESS)
+                return ret;
+        }
+
+        if (_mapRecords == null)
+        {
+            _mapRecords = new long[INITIAL_MAP_ENTRIES];
+            _mapHashes = new int[INITIAL_MAP_ENTRIES];
+            _mapIndex = new int[INITIAL_MAP_ENTRIES * 2];
+        }
+
+        mapEntry.clear();
+        while ((ret = mapEntry.decode(dIter, null)) != CodecReturnCodes.END_OF_CONTAINER)
+        {
+            if (ret < CodecReturnCodes.SUCCESS)
+                return ret;
+
+            Buffer key = mapEntry.encodedKey();
+            int hash = hash(key);
+            int pos = findMapEntry(key, hash);
+
+            if (mapEntry.action() == MapEntryActions.DELETE)
+            {
+                if (pos >= 0)
+                    removeMapEntry(pos);
+                continue;
+            }
+
+            // an update to an entry that is not cached adds it
+            boolean entryUpdate = (mapEntry.action() == MapEntryActions.UPDATE && pos >= 0);
+            if (pos < 0)
+            {
+                pos = addMapEntry(key, hash);
+            }
+            else if (!entryUpdate)
+            {
+                long table = _slabs.slab(_mapRecords[pos]).getLong(_slabs.offset(_mapRecords[pos]) + RECORD_TABLE_POS);
+                if (table != 0)
+                {
+                    _fieldListStore.free(table);
+                    setRecordTable(pos, 0);
+                }
+            }
+
+            if (mapEntry.checkHasPermData())
+                setRecordPermData(pos, mapEntry.permData());
+
+            if (_mapContainerType == DataTypes.FIELD_LIST)
+            {
+                long table = _slabs.slab(_mapRecords[pos]).getLong(_slabs.offset(_mapRecords[pos]) + RECORD_TABLE_POS);
+                _fieldListStore._table = (table != 0 ? table : _fieldListStore.create());
+                ret = _fieldListStore.apply(dIter, entryUpdate);
+                setRecordTable(pos, _fieldListStore._table);
+                if (ret < CodecReturnCodes.SUCCESS)
+                    return ret;
+            }
+        }
+
+        return CodecReturnCodes.SUCCESS;
+    }
+
+    /* Encodes the map from the cursor position until the buffer is full or the map is complete. */
+    private int retrieveMap(EncodeIterator eIter, PayloadCursorImpl cursor)
+    {
+        int ret;
+        Map map = _cacheInstance._map;
+        MapEntry mapEntry = _cacheInstance._mapEntry;
+        Buffer keyBuffer = _cacheInstance._keyBuffer;
+        Buffer permDataBuffer = _cacheInstance._permDataBuffer;
+        int start = (cursor != null ? Math.min(cursor._mapEntryIndex, _mapCount) : 0);
+        boolean hasSummary = (start == 0 && _summaryTable != 0);
+
+        map.clear();
+        map.keyPrimitiveType(_keyPrimitiveType);
+        map.containerType(_mapContainerType);
+        if (_hasKeyFieldId)
+        {
+            map.applyHasKeyFieldId();
+            map.keyFieldId(_keyFieldId);
+        }
+        if (_permDataCount > 0)
+            map.applyHasPerEntryPermData();
+        if (hasSummary)
+            map.applyHasSummaryData();
+
+        if ((ret = map.encodeInit(eIter, 0, 0)) < CodecReturnCodes.SUCCESS)
+            return ret;
+
+        if (hasSummary)
+        {
+            if ((ret = _fieldListStore.encode(eIter, _summaryTable)) < CodecReturnCodes.SUCCESS
+                    || (ret = map.encodeSummaryDataComplete(eIter, true)) < CodecReturnCodes.SUCCESS)
+            {
+                map.encodeComplete(eIter, false);
+                return ret;
+            }
+        }
+
+        int pos = start;
+        for (; pos < _mapCount; pos++)
+        {
+            long record = _mapRecords[pos];
+            ByteBuffer slab = _slabs.slab(record);
+            int recordPos = _slabs.offset(record);
+            int keyLength = slab.getShort(recordPos + RECORD_KEY_LENGTH_POS) & 0xFFFF;
+            int permDataLength = slab.getShort(recordPos + RECORD_PERM_LENGTH_POS) & 0xFFFF;
+            long table = slab.getLong(recordPos + RECORD_TABLE_POS);
+
+            mapEntry.clear();
+            mapEntry.action(MapEntryActions.ADD);
+            keyBuffer.data(slab, recordPos + RECORD_HEADER_SIZE, keyLength);
+            mapEntry.encodedKey(keyBuffer);
+            if (permDataLength > 0)
+            {
+                mapEntry.applyHasPermData();
+                permDataBuffer.data(slab, recordPos + RECORD_HEADER_SIZE + keyLength, permDataLength);
+                mapEntry.permData(permDataBuffer);
+            }
+
+            if (table != 0)
+            {
+                if ((ret = mapEntry.encodeInit(eIter, 0)) < CodecReturnCodes.SUCCESS)
+                {
+                    mapEntry.encodeComplete(eIter, false);
+                    break;
+                }
+                if ((ret = _fieldListStore.encode(eIter, table)) < CodecReturnCodes.SUCCESS)
+                {
+                    mapEntry.encodeComplete(eIter, false);
+                    break;
+                }
+                if ((ret = mapEntry.encodeComplete(eIter, true)) < CodecReturnCodes.SUCCESS)
+                    break;
+            }
+            else if ((ret = mapEntry.encode(eIter)) < CodecReturnCodes.SUCCESS)
+            {
+                break;
+            }
+        }
+
+        // a full buffer ends this part, if something was encoded into it and there are more parts to come
+        if (ret < CodecReturnCodes.SUCCESS
+                && (ret != CodecReturnCodes.BUFFER_TOO_SMALL || cursor == null || (pos == start && !hasSummary)))
+        {
+            map.encodeComplete(eIter, false);
+            return ret;
+        }
+
+        if ((ret = map.encodeComplete(eIter, true)) < CodecReturnCodes.SUCCESS)
+            return ret;
+
+        if (cursor != null)
+        {
+            cursor._mapEntryIndex = pos;
+            cursor.setComplete(pos == _mapCount);
+        }
+
+        return CodecReturnCodes.SUCCESS;
+    }
+
+    /* Frees the entry data. */
+    private void clearData()
+    {
+        _dataType = DataTypes.UNKNOWN;
+
+        // the slabs are released when the cache is cleared or destroyed
+        if (_cacheInstance.isDestroyed() || _isEntryDestroyed)
+            return;
+
+        if (_fieldTable != 0)
+        {
+            _fieldListStore.free(_fieldTable);
+            _fieldTable = 0;
+        }
+
+        if (_summaryTable != 0)
+        {
+            _fieldListStore.free(_summaryTable);
+            _summaryTable = 0;
+        }
+
+        for (int i = 0; i < _mapCount; i++)
+        {
+            freeRecord(_mapRecords[i]);
+            _mapRecords[i] = 0;
+        }
+        if (_mapCount > 0)
+        {
+            for (int i = 0; i < _mapIndex.length; i++)
+                _mapIndex[i] = 0;
+        }
+        _mapCount = 0;
+        _permDataCount = 0;
+        _hasKeyFieldId = false;
+        _keyFieldId = 0;
+        _keyPrimitiveType = 0;
+        _mapContainerType = 0;
+    }
+
+    private int findMapEntry(Buffer key, int hash)
+    {
+        int mask = _mapIndex.length - 1;
+        for (int i = hash & mask; _mapIndex[i] != 0; i = (i + 1) & mask)
+        {
+            int pos = _mapIndex[i] - 1;
+            if (_mapHashes[pos] == hash && keyEquals(_mapRecords[pos], key))
+                return pos;
+        }
+        return -1;
+    }
+
+    private int addMapEntry(Buffer key, int hash)
+    {
+        if (_mapCount == _mapRecords.length)
+            growMap();
+
+        int keyLength = key.length();
+        long record = _slabs.allocate(RECORD_HEADER_SIZE + keyLength);
+        ByteBuffer slab = _slabs.slab(record);
+        int recordPos = _slabs.offset(record);
+        slab.putLong(recordPos + RECORD_TABLE_POS, 0);
+        slab.putShort(recordPos + RECORD_KEY_LENGTH_POS, (short)keyLength);
+        slab.putShort(recordPos + RECORD_PERM_LENGTH_POS, (short)0);
+        for (int i = 0; i < keyLength; i++)
+            slab.put(recordPos + RECORD_HEADER_SIZE + i, key.data().get(key.position() + i));
+
+        int pos = _mapCount++;
+        _mapRecords[pos] = record;
+        _mapHashes[pos] = hash;
+        insertIndex(pos);
+        return pos;
+    }
+
+    /* Removes the entry at pos, moving the last entry into its place. */
+    private void removeMapEntry(int pos)
+    {
+        int mask = _mapIndex.length - 1;
+        int i = indexSlot(pos);
+
+        // backward shift deletion, keeping each following slot reachable from its hash
+        int j = i;
+        while (true)
+        {
+            j = (j + 1) & mask;
+            if (_mapIndex[j] == 0)
+                break;
+            int home = _mapHashes[_mapIndex[j] - 1] & mask;
+            if (((j - home) & mask) >= ((j - i) & mask))
+            {
+                _mapIndex[i] = _mapIndex[j];
+                i = j;
+            }
+        }
+        _mapIndex[i] = 0;
+
+        freeRecord(_mapRecords[pos]);
+        int last = --_mapCount;
+        if (pos != last)
+        {
+            _mapIndex[indexSlot(last)] = pos + 1;
+            _mapRecords[pos] = _mapRecords[last];
+            _mapHashes[pos] = _mapHashes[last];
+        }
+        _mapRecords[last] = 0;
+    }
+
+    private int indexSlot(int pos)
+    {
+        int mask = _mapIndex.length - 1;
+        int i = _mapHashes[pos] & mask;
+        while (_mapIndex[i] != pos + 1)
+            i = (i + 1) & mask;
+        return i;
+    }
+
+    private void insertIndex(int pos)
+    {
+        int mask = _mapIndex.length - 1;
+        int i = _mapHashes[pos] & mask;
+        while (_mapIndex[i] != 0)
+            i = (i + 1) & mask;
+        _mapIndex[i] = pos + 1;
+    }
+
+    private void growMap()
+    {
+        int capacity = _mapRecords.length * 2;
+        long[] records = new long[capacity];
+        int[] hashes = new int[capacity];
+        System.arraycopy(_mapRecords, 0, records, 0, _mapCount);
+        System.arraycopy(_mapHashes, 0, hashes, 0, _mapCount);
+        _mapRecords = records;
+        _mapHashes = hashes;
+
+        _mapIndex = new int[capacity * 2];
+        for (int pos = 0; pos < _mapCount; pos++)
+            insertIndex(pos);
+    }
+
+    private void setRecordTable(int pos, long table)
+    {
+        _slabs.slab(_mapRecords[pos]).putLong(_slabs.offset(_mapRecords[pos]) + RECORD_TABLE_POS, table);
+    }
+
+    /* Replaces the permission data of the record at pos, moving the record if it does not fit. */
+    private void setRecordPermData(int pos, Buffer permData)
+    {
+        long record = _mapRecords[pos];
+        ByteBuffer slab = _slabs.slab(record);
+        int recordPos = _slabs.offset(record);
+        int keyLength = slab.getShort(recordPos + RECORD_KEY_LENGTH_POS) & 0xFFFF;
+        int oldLength = slab.getShort(recordPos + RECORD_PERM_LENGTH_POS) & 0xFFFF;
+        int length = permData.length();
+
+        if (RECORD_HEADER_SIZE + keyLength + length > _slabs.capacity(record))
+        {
+            long moved = _slabs.allocate(RECORD_HEADER_SIZE + keyLength + length);
+            _slabs.copy(record, moved, RECORD_HEADER_SIZE + keyLength);
+            _slabs.free(record);
+            _mapRecords[pos] = record = moved;
+            slab = _slabs.slab(record);
+            recordPos = _slabs.offset(record);
+        }
+
+        slab.putShort(recordPos + RECORD_PERM_LENGTH_POS, (short)length);
+        for (int i = 0; i < length; i++)
+            slab.put(recordPos + RECORD_HEADER_SIZE + keyLength + i, permData.data().get(permData.position() + i));
+
+        if (oldLength == 0 && length > 0)
+            _permDataCount++;
+        else if (oldLength > 0 && length == 0)
+            _permDataCount--;
+    }
+
+    private void freeRecord(long record)
+    {
+        ByteBuffer slab = _slabs.slab(record);
+        int recordPos = _slabs.offset(record);
+        long table = slab.getLong(recordPos + RECORD_TABLE_POS);
+        if (table != 0)
+            _fieldListStore.free(table);
+        if (slab.getShort(recordPos + RECORD_PERM_LENGTH_POS) != 0)
+            _permDataCount--;
+        _slabs.free(record);
+    }
+
+    private boolean keyEquals(long record, Buffer key)
+    {
+        ByteBuffer slab = _slabs.slab(record);
+        int recordPos = _slabs.offset(record);
+        int length = key.length();
+        if ((slab.getShort(recordPos + RECORD_KEY_LENGTH_POS) & 0xFFFF) != length)
+            return false;
+
+        ByteBuffer keyData = key.data();
+        int keyPos = key.position();
+        for (int i = 0; i < length; i++)
+        {
+            if (slab.get(recordPos + RECORD_HEADER_SIZE + i) != keyData.get(keyPos + i))
+                return false;
+        }
+        return true;
+    }
+
+    private static int hash(Buffer key)
+    {
+        ByteBuffer keyData = key.data();
+        int keyPos = key.position();
+        int hash = 1;
+        for (int i = 0; i < key.length(); i++)
+            hash = 31 * hash + keyData.get(keyPos + i);
+
+        // spread the bits used to pick a slot
+        return hash ^ (hash >>> 16);
+    }
+}
@@ -20,5 +20,25 @@ public interface PayloadCacheConfigOptions
 	 * @param maxItems the max limit to set
 	 */
 	public void maxItems(int maxItems); 
+
+	/**
+	 * Indicates whether the cache is implemented in Java. The default is false.
+	 * 
+	 * @return true if the cache is implemented in Java
+	 */
+	public boolean useJavaCache();
+
+	/**
+	 * Sets whether the cache is implemented in Java, rather than by the native
+	 * rsslVACacheJNI library. A Java cache does not need the native library, and keeps
+	 * its payload entry data in off-heap memory owned by the cache.
+	 * 
+	 * A Java cache supports FieldList payloads and Map payloads whose entries
+	 * are FieldList or NoData. Dictionaries set with one kind of cache cannot be
+	 * shared with the other through {@link PayloadCache#setSharedDictionaryKey(String, CacheError)}.
+	 * 
+	 * @param useJavaCache true to create a Java cache
+	 */
+	public void useJavaCache(boolean useJavaCache);
 }
 
@@ -12,6 +12,7 @@ class PayloadCursorImpl extends VaNode implements PayloadCursor
     private boolean _isCursorDestroyed = true;
     boolean _isComplete = false;
     long _etaCursorRef = 0;
+    int _mapEntryIndex = 0; // next map entry to retrieve from a java payload entry
 
     private static VaIteratableQueue _activeCacheCursorPool = new VaIteratableQueue();
     private static VaIteratableQueue _freeCacheCursorPool = new VaIteratableQueue();
@@ -19,10 +20,8 @@ class PayloadCursorImpl extends VaNode implements PayloadCursor
 
     public PayloadCursorImpl()
     {
-        _etaCursorRef = etaCreateCursor();
-        if (_etaCursorRef == 0)
-            throw new UnsupportedOperationException("PayloadCursorImpl constructor: cannot create eta cursor, PayloadCursor not created.");
-
+        // the eta cursor is created on first use by a JNI payload entry, so that
+        // cursors used with a java payload cache do not need the JNI library
         _isCursorDestroyed = false;
     }
 
@@ -69,7 +68,9 @@ class PayloadCursorImpl extends VaNode implements PayloadCursor
             return;
 
         _isComplete = false;
-        etaClearCursor(_etaCursorRef);
+        _mapEntryIndex = 0;
+        if (_etaCursorRef != 0)
+            etaClearCursor(_etaCursorRef);
     }
 
     @Override
@@ -88,6 +89,13 @@ class PayloadCursorImpl extends VaNode implements PayloadCursor
 
     public long getETACursorRef()
     {
+        if (_etaCursorRef == 0)
+        {
+            _etaCursorRef = etaCreateCursor();
+            if (_etaCursorRef == 0)
+                throw new UnsupportedOperationException("PayloadCursorImpl.getETACursorRef: cannot create eta cursor.");
+        }
+
         return _etaCursorRef;
     }
 
@@ -102,14 +110,23 @@ class PayloadCursorImpl extends VaNode implements PayloadCursor
         _globalCursorLock.lock();
 
         while ((cursor = (PayloadCursorImpl)_freeCacheCursorPool.poll()) != null)
-            cursor.etaDestroyCursor(cursor._etaCursorRef);
+            cursor.destroyETACursor();
 
         while ((cursor = (PayloadCursorImpl)_activeCacheCursorPool.poll()) != null)
-            cursor.etaDestroyCursor(cursor._etaCursorRef);
+            cursor.destroyETACursor();
 
         _globalCursorLock.unlock();
     }
 
+    private void destroyETACursor()
+    {
+        if (_etaCursorRef != 0)
+        {
+            etaDestroyCursor(_etaCursorRef);
+            _etaCursorRef = 0;
+        }
+    }
+
     /* **** native methods ************************************************************/
 
     public native long etaCreateCursor();
@@ -2,6 +2,7 @@ package com.refinitiv.eta.valueadd.cache;
 
 import java.io.PrintWriter;
 
+import com.refinitiv.eta.codec.Buffer;
 import com.refinitiv.eta.codec.DataDictionary;
 import com.refinitiv.eta.codec.DecodeIterator;
 import com.refinitiv.eta.codec.EncodeIterator;
@@ -104,6 +105,40 @@ public interface PayloadEntry
 	 * @return The OMM data type of this container.
 	 */
 	public short dataType();
+
+	/**
+	 * Returns the number of fields of a FieldList payload entry.
+	 * 
+	 * Note<br>
+	 * - field access is supported by the Java cache only (see {@link PayloadCacheConfigOptions#useJavaCache()}).<br>
+	 * 
+	 * @return The number of fields in the entry, zero if the entry does not hold a FieldList.
+	 */
+	public int fieldCount();
+
+	/**
+	 * Copies the field ids of a FieldList payload entry, in ascending order, to the given array.
+	 * When the array is shorter than the number of fields, only the lowest field ids are copied.
+	 * 
+	 * @param fieldIds The array the field ids are copied to
+	 * @return The number of fields in the entry, zero if the entry does not hold a FieldList.
+	 */
+	public int fieldIds(int[] fieldIds);
+
+	/**
+	 * Retrieves the encoded value of a field of a FieldList payload entry, without copying it.
+	 * 
+	 * The value buffer refers to the data of the entry, and is only valid until data is next
+	 * applied to the entry, or the entry is cleared or destroyed.
+	 * 
+	 * @param fieldId The id of the field
+	 * @param value The buffer set to the encoded value of the field
+	 * @param error The error information structure will be populated if the
+	 * field could not be retrieved
+	 * @return CodecReturnCodes.SUCCESS if the field is retrieved, CodecReturnCodes.NO_DATA
+	 * if the entry does not hold the field, or failure codes (&lt; CodecReturnCodes.SUCCESS).
+	 */
+	public int retrieveField(int fieldId, Buffer value, CacheError error);
 		
 	/**
 	 * Removes the payload entry from its cache and destroys the entry.
@@ -214,6 +214,28 @@ class PayloadEntryImpl extends VaNode implements PayloadEntry
         return CodecReturnCodes.SUCCESS;
     }
 
+    @Override
+    public int fieldCount()
+    {
+        return 0;
+    }
+
+    @Override
+    public int fieldIds(int[] fieldIds)
+    {
+        return 0;
+    }
+
+    @Override
+    public int retrieveField(int fieldId, Buffer value, CacheError error)
+    {
+        if (error == null)
+            throw new UnsupportedOperationException("PayloadEntryImpl.retrieveField: error cannot be null, unable receive data.");
+
+        return PayloadCacheImpl.populateErrorInfo((CacheErrorImpl)error, CodecReturnCodes.FAILURE,
+                                                  "PayloadCacheEntryImpl.retrieveField error: field access is supported by the java cache only.");
+    }
+
     @Override
     public int trace(int traceFormat, PrintWriter fileWriter, DataDictionary dictionary)
     {
@@ -0,0 +1,353 @@
+package com.refinitiv.eta.valueadd.cache;
+
+import java.nio.ByteBuffer;
+
+import com.refinitiv.eta.codec.Buffer;
+import com.refinitiv.eta.codec.CodecFactory;
+import com.refinitiv.eta.codec.CodecReturnCodes;
+import com.refinitiv.eta.codec.DataDictionary;
+import com.refinitiv.eta.codec.DataTypes;
+import com.refinitiv.eta.codec.DecodeIterator;
+import com.refinitiv.eta.codec.DictionaryEntry;
+import com.refinitiv.eta.codec.EncodeIterator;
+import com.refinitiv.eta.codec.FieldEntry;
+import com.refinitiv.eta.codec.FieldList;
+import com.refinitiv.eta.codec.RmtesCacheBuffer;
+import com.refinitiv.eta.codec.RmtesDecoder;
+
+/* Stores field lists in the off-heap slabs of a java payload cache.
+ *
+ * A field list is held in a table block: a header with the field list info, then one entry
+ * per field, sorted by field id, holding the field id and the handle of the block with the
+ * field's encoded value. A value block holds the value length followed by the encoded value.
+ * Value blocks are sized from the field dictionary, so an update usually overwrites the
+ * value in place.
+ *
+ * Operations work on the table in _table, which is replaced when the table grows. */
+class PayloadFieldListStore
+{
+    static final int COUNT_POS = 0;
+    static final int INFO_FLAG_POS = 4;
+    static final int DICTIONARY_ID_POS = 8;
+    static final int FIELD_LIST_NUM_POS = 12;
+    static final int HEADER_SIZE = 16;
+    static final int ENTRY_SIZE = 10; // field id, value handle
+    static final int INITIAL_ENTRIES = 16;
+    static final int VALUE_LENGTH_SIZE = 2;
+    static final int MAX_VALUE_LENGTH = 0xFFFF;
+    static final int MAX_SIZE_HINT = 256; // largest dictionary length reserved for a string value
+
+    private final PayloadSlabAllocator _slabs;
+    DataDictionary _dictionary;
+
+    long _table;
+    int _ignoredFields;
+
+    private final FieldList _fieldList = CodecFactory.createFieldList();
+    private final FieldEntry _fieldEntry = CodecFactory.createFieldEntry();
+    private final Buffer _valueBuffer = CodecFactory.createBuffer();
+    private final RmtesDecoder _rmtesDecoder = CodecFactory.createRmtesDecoder();
+    private final RmtesCacheBuffer _rmtesBuffer = CodecFactory.createRmtesCacheBuffer(0);
+    private ByteBuffer _rmtesByteBuffer = ByteBuffer.allocate(MAX_SIZE_HINT);
+
+    PayloadFieldListStore(PayloadSlabAllocator slabs)
+    {
+        _slabs = slabs;
+    }
+
+    /* Creates an empty table and makes it the current table. */
+    long create()
+    {
+        _table = _slabs.allocate(HEADER_SIZE + INITIAL_ENTRIES * ENTRY_SIZE);
+        ByteBuffer slab = _slabs.slab(_table);
+        int pos = _slabs.offset(_table);
+        slab.putInt(pos + COUNT_POS, 0);
+        slab.putInt(pos + INFO_FLAG_POS, 0);
+        return _table;
+    }
+
+    /* Frees the table and all its value blocks. */
+    void free(long table)
+    {
+        ByteBuffer slab = _slabs.slab(table);
+        int pos = _slabs.offset(table);
+        int count = slab.getInt(pos + COUNT_POS);
+        for (int i = 0; i < count; i++)
+        {
+            long value = slab.getLong(pos + HEADER_SIZE + i * ENTRY_SIZE + 2);
+            if (value != 0)
+                _slabs.free(value);
+        }
+        _slabs.free(table);
+    }
+
+    int fieldCount(long table)
+    {
+        return _slabs.slab(table).getInt(_slabs.offset(table) + COUNT_POS);
+    }
+
+    /* Copies the field ids of the table to fieldIds, as many as fit, and returns the field count. */
+    int fieldIds(long table, int[] fieldIds)
+    {
+        ByteBuffer slab = _slabs.slab(table);
+        int pos = _slabs.offset(table);
+        int count = slab.getInt(pos + COUNT_POS);
+        int copied = Math.min(count, fieldIds.length);
+        for (int i = 0; i < copied; i++)
+            fieldIds[i] = slab.getShort(pos + HEADER_SIZE + i * ENTRY_SIZE);
+        return count;
+    }
+
+    /* Sets value to the encoded value of the field in the table, returns false if the table
+     * does not hold the field. */
+    boolean retrieveValue(long table, int fieldId, Buffer value)
+    {
+        int index = find(table, fieldId);
+        if (index < 0)
+            return false;
+
+        long valueBlock = _slabs.slab(table).getLong(_slabs.offset(table) + HEADER_SIZE + index * ENTRY_SIZE + 2);
+        if (valueBlock == 0)
+            return false;
+        ByteBuffer valueSlab = _slabs.slab(valueBlock);
+        int valuePos = _slabs.offset(valueBlock);
+        value.data(valueSlab, valuePos + VALUE_LENGTH_SIZE, valueSlab.getShort(valuePos) & 0xFFFF);
+        return true;
+    }
+
+    /* Decodes a field list and applies its fields to the current table. Fields added
+     * by an update are counted in _ignoredFields and not applied, as are fields that
+     * are not in the dictionary. */
+    int apply(DecodeIterator dIter, boolean update)
+    {
+        int ret;
+
+        _fieldList.clear();
+        if ((ret = _fieldList.decode(dIter, null)) == CodecReturnCodes.NO_DATA)
+            return CodecReturnCodes.SUCCESS;
+        else if (ret < CodecReturnCodes.SUCCESS)
+            return ret;
+
+        if (_fieldList.checkHasInfo() && !update)
+        {
+            ByteBuffer slab = _slabs.slab(_table);
+            int pos = _slabs.offset(_table);
+            slab.putInt(pos + INFO_FLAG_POS, 1);
+            slab.putInt(pos + DICTIONARY_ID_POS, _fieldList.dictionaryId());
+            slab.putInt(pos + FIELD_LIST_NUM_POS, _fieldList.fieldListNum());
+        }
+
+        _fieldEntry.clear();
+        while ((ret = _fieldEntry.decode(dIter)) != CodecReturnCodes.END_OF_CONTAINER)
+        {
+            if (ret < CodecReturnCodes.SUCCESS)
+                return ret;
+
+            int fieldId = _fieldEntry.fieldId();
+            DictionaryEntry dictionaryEntry = _dictionary.entry(fieldId);
+            if (dictionaryEntry == null)
+            {
+                _ignoredFields++;
+                continue;
+            }
+
+            int index = find(_table, fieldId);
+            if (index < 0)
+            {
+                if (update)
+                {
+                    _ignoredFields++;
+                    continue;
+                }
+                index = insert(-index - 1, fieldId);
+            }
+
+            if ((ret = storeValue(index, dictionaryEntry, _fieldEntry.encodedData(), update)) < CodecReturnCodes.SUCCESS)
+                return ret;
+        }
+
+        return CodecReturnCodes.SUCCESS;
+    }
+
+    /* Encodes the table as a field list. */
+    int encode(EncodeIterator eIter, long table)
+    {
+        int ret;
+        ByteBuffer slab = _slabs.slab(table);
+        int pos = _slabs.offset(table);
+        int count = slab.getInt(pos + COUNT_POS);
+
+        _fieldList.clear();
+        _fieldList.applyHasStandardData();
+        if (slab.getInt(pos + INFO_FLAG_POS) != 0)
+        {
+            _fieldList.applyHasInfo();
+            _fieldList.dictionaryId(slab.getInt(pos + DICTIONARY_ID_POS));
+            _fieldList.fieldListNum(slab.getInt(pos + FIELD_LIST_NUM_POS));
+        }
+
+        if ((ret = _fieldList.encodeInit(eIter, null, 0)) < CodecReturnCodes.SUCCESS)
+        {
+            _fieldList.encodeComplete(eIter, false);
+            return ret;
+        }
+
+        for (int i = 0; i < count; i++)
+        {
+            int entryPos = pos + HEADER_SIZE + i * ENTRY_SIZE;
+            long value = slab.getLong(entryPos + 2);
+            ByteBuffer valueSlab = _slabs.slab(value);
+            int valuePos = _slabs.offset(value);
+
+            _fieldEntry.clear();
+            _fieldEntry.fieldId(slab.getShort(entryPos));
+            _valueBuffer.data(valueSlab, valuePos + VALUE_LENGTH_SIZE, valueSlab.getShort(valuePos) & 0xFFFF);
+            _fieldEntry.encodedData(_valueBuffer);
+            if ((ret = _fieldEntry.encode(eIter)) < CodecReturnCodes.SUCCESS)
+            {
+                _fieldList.encodeComplete(eIter, false);
+                return ret;
+            }
+        }
+
+        return _fieldList.encodeComplete(eIter, true);
+    }
+
+    /* Binary search for the field id, returns its index or (-insertion point - 1). */
+    private int find(long table, int fieldId)
+    {
+        ByteBuffer slab = _slabs.slab(table);
+        int pos = _slabs.offset(table) + HEADER_SIZE;
+        int low = 0;
+        int high = slab.getInt(_slabs.offset(table) + COUNT_POS) - 1;
+
+        while (low <= high)
+        {
+            int mid = (low + high) >>> 1;
+            int midFieldId = slab.getShort(pos + mid * ENTRY_SIZE);
+            if (midFieldId < fieldId)
+                low = mid + 1;
+            else if (midFieldId > fieldId)
+                high = mid - 1;
+            else
+                return mid;
+        }
+        return -(low + 1);
+    }
+
+    /* Inserts an entry with no value at index, growing the table if it is full. */
+    private int insert(int index, int fieldId)
+    {
+        int count = fieldCount(_table);
+        if (HEADER_SIZE + (count + 1) * ENTRY_SIZE > _slabs.capacity(_table))
+        {
+            int size = HEADER_SIZE + count * ENTRY_SIZE;
+            long table = _slabs.allocate(size * 2);
+            _slabs.copy(_table, table, size);
+            _slabs.free(_table);
+            _table = table;
+        }
+
+        ByteBuffer slab = _slabs.slab(_table);
+        int pos = _slabs.offset(_table) + HEADER_SIZE;
+        for (int i = count; i > index; i--)
+        {
+            int entryPos = pos + i * ENTRY_SIZE;
+            slab.putShort(entryPos, slab.getShort(entryPos - ENTRY_SIZE));
+            slab.putLong(entryPos + 2, slab.getLong(entryPos - ENTRY_SIZE + 2));
+        }
+        slab.putShort(pos + index * ENTRY_SIZE, (short)fieldId);
+        slab.putLong(pos + index * ENTRY_SIZE + 2, 0);
+        slab.putInt(_slabs.offset(_table) + COUNT_POS, count + 1);
+        return index;
+    }
+
+    /* Writes the encoded value of the entry at index, in place when it fits. */
+    private int storeValue(int index, DictionaryEntry dictionaryEntry, Buffer data, boolean update)
+    {
+        ByteBuffer slab = _slabs.slab(_table);
+        int entryPos = _slabs.offset(_table) + HEADER_SIZE + index * ENTRY_SIZE + 2;
+        long value = slab.getLong(entryPos);
+        int length = data.length();
+
+        if (update && value != 0 && length > 0 && dictionaryEntry.rwfType() == DataTypes.RMTES_STRING
+                && _rmtesDecoder.hasPartialRMTESUpdate(data))
+            return applyRmtesUpdate(entryPos, value, data);
+
+        if (value == 0 || _slabs.capacity(value) < VALUE_LENGTH_SIZE + length)
+        {
+            int size = length;
+            switch (dictionaryEntry.rwfType())
+            {
+                case DataTypes.ASCII_STRING:
+                case DataTypes.RMTES_STRING:
+                case DataTypes.UTF8_STRING:
+                case DataTypes.BUFFER:
+                    size = Math.max(size, Math.min(dictionaryEntry.length(), MAX_SIZE_HINT));
+                    break;
+                default:
+                    break;
+            }
+
+            if (value != 0)
+                _slabs.free(value);
+            value = _slabs.allocate(VALUE_LENGTH_SIZE + size);
+            slab.putLong(entryPos, value);
+        }
+
+        writeValue(value, data);
+        return CodecReturnCodes.SUCCESS;
+    }
+
+    private void writeValue(long value, Buffer data)
+    {
+        ByteBuffer valueSlab = _slabs.slab(value);
+        int valuePos = _slabs.offset(value);
+
+        valueSlab.putShort(valuePos, (short)data.length());
+        if (data.length() > 0)
+        {
+            valueSlab.position(valuePos + VALUE_LENGTH_SIZE);
+            data.copy(valueSlab);
+            valueSlab.clear();
+        }
+    }
+
+    /* Applies RMTES partial update sequences to the cached string. */
+    private int applyRmtesUpdate(int entryPos, long value, Buffer data)
+    {
+        ByteBuffer valueSlab = _slabs.slab(value);
+        int valuePos = _slabs.offset(value);
+        int length = valueSlab.getShort(valuePos) & 0xFFFF;
+        int allocatedLength = Math.max(length, MAX_SIZE_HINT) + data.length();
+
+        if (_rmtesByteBuffer.capacity() < allocatedLength)
+            _rmtesByteBuffer = ByteBuffer.allocate(allocatedLength);
+        for (int i = 0; i < length; i++)
+            _rmtesByteBuffer.put(i, valueSlab.get(valuePos + VALUE_LENGTH_SIZE + i));
+
+        _rmtesBuffer.clear();
+        _rmtesBuffer.data(_rmtesByteBuffer);
+        _rmtesBuffer.length(length);
+        _rmtesBuffer.allocatedLength(allocatedLength);
+
+        int ret = _rmtesDecoder.RMTESApplyToCache(data, _rmtesBuffer);
+        if (ret < CodecReturnCodes.SUCCESS)
+            return ret;
+
+        length = Math.min(_rmtesBuffer.length(), MAX_VALUE_LENGTH);
+        if (_slabs.capacity(value) < VALUE_LENGTH_SIZE + length)
+        {
+            _slabs.free(value);
+            value = _slabs.allocate(VALUE_LENGTH_SIZE + length);
+            _slabs.slab(_table).putLong(entryPos, value);
+            valueSlab = _slabs.slab(value);
+            valuePos = _slabs.offset(value);
+        }
+
+        valueSlab.putShort(valuePos, (short)length);
+        for (int i = 0; i < length; i++)
+            valueSlab.put(valuePos + VALUE_LENGTH_SIZE + i, _rmtesByteBuffer.get(i));
+        return CodecReturnCodes.SUCCESS;
+    }
+}
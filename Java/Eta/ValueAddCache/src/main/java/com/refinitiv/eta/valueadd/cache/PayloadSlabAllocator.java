@@ -0,0 +1,211 @@
+package com.refinitiv.eta.valueadd.cache;
+
+import java.nio.ByteBuffer;
+
+/* Allocates blocks of off-heap memory for the java payload cache.
+ *
+ * Memory is reserved in direct ByteBuffer slabs of SLAB_SIZE bytes. Each slab is divided
+ * into blocks of one power of two size class, from MIN_BLOCK_SIZE to MAX_BLOCK_SIZE bytes.
+ * Freed blocks are kept on a free list per size class, linked through the first eight bytes
+ * of each block, and are reused before a slab is extended. A block larger than MAX_BLOCK_SIZE
+ * gets a slab of its own, which is released when the block is freed.
+ *
+ * A block is referred to by a handle holding its slab index and offset. Zero is never a valid handle.
+ *
+ * This class is not thread safe. */
+class PayloadSlabAllocator
+{
+    static final int SLAB_SIZE = 1 << 20;
+    static final int MIN_BLOCK_SHIFT = 4;
+    static final int MAX_BLOCK_SHIFT = 16;
+    static final int MIN_BLOCK_SIZE = 1 << MIN_BLOCK_SHIFT;
+    static final int MAX_BLOCK_SIZE = 1 << MAX_BLOCK_SHIFT;
+    static final int SIZE_CLASSES = MAX_BLOCK_SHIFT - MIN_BLOCK_SHIFT + 1;
+    static final int LARGE_CLASS = SIZE_CLASSES;
+
+    private ByteBuffer[] _slabs = new ByteBuffer[16];
+    private int[] _slabClass = new int[16];
+    private int _slabCount;
+
+    // indexes of released large block slabs, for reuse
+    private int[] _releasedSlabs = new int[16];
+    private int _releasedSlabCount;
+
+    private final long[] _freeHeads = new long[SIZE_CLASSES];
+    private final int[] _bumpSlab = new int[SIZE_CLASSES];
+    private final int[] _bumpOffset = new int[SIZE_CLASSES];
+
+    private long _reservedBytes;
+    private long _usedBytes;
+
+    PayloadSlabAllocator()
+    {
+        clear();
+    }
+
+    /* Allocates a block of at least size bytes and returns its handle. */
+    long allocate(int size)
+    {
+        if (size > MAX_BLOCK_SIZE)
+        {
+            int slab = addSlab(LARGE_CLASS, size);
+            _usedBytes += size;
+            return handle(slab, 0);
+        }
+
+        int sizeClass = sizeClass(size);
+        int blockSize = MIN_BLOCK_SIZE << sizeClass;
+        long handle = _freeHeads[sizeClass];
+        if (handle != 0)
+        {
+            _freeHeads[sizeClass] = slab(handle).getLong(offset(handle));
+        }
+        else
+        {
+            if (_bumpSlab[sizeClass] < 0 || _bumpOffset[sizeClass] + blockSize > SLAB_SIZE)
+            {
+                _bumpSlab[sizeClass] = addSlab(sizeClass, SLAB_SIZE);
+                _bumpOffset[sizeClass] = 0;
+            }
+            handle = handle(_bumpSlab[sizeClass], _bumpOffset[sizeClass]);
+            _bumpOffset[sizeClass] += blockSize;
+        }
+
+        _usedBytes += blockSize;
+        return handle;
+    }
+
+    /* Returns the block to its free list, or releases its slab if it is a large block. */
+    void free(long handle)
+    {
+        int slab = slabIndex(handle);
+        int sizeClass = _slabClass[slab];
+        if (sizeClass == LARGE_CLASS)
+        {
+            _usedBytes -= _slabs[slab].capacity();
+            _reservedBytes -= _slabs[slab].capacity();
+            _slabs[slab] = null;
+            if (_releasedSlabCount == _releasedSlabs.length)
+                _releasedSlabs = grow(_releasedSlabs);
+            _releasedSlabs[_releasedSlabCount++] = slab;
+            return;
+        }
+
+        _slabs[slab].putLong(offset(handle), _freeHeads[sizeClass]);
+        _freeHeads[sizeClass] = handle;
+        _usedBytes -= MIN_BLOCK_SIZE << sizeClass;
+    }
+
+    /* The number of bytes the block can hold. */
+    int capacity(long handle)
+    {
+        int slab = slabIndex(handle);
+        int sizeClass = _slabClass[slab];
+        return sizeClass == LARGE_CLASS ? _slabs[slab].capacity() : MIN_BLOCK_SIZE << sizeClass;
+    }
+
+    /* The slab holding the block. Use absolute gets and puts at offset(handle). */
+    ByteBuffer slab(long handle)
+    {
+        return _slabs[slabIndex(handle)];
+    }
+
+    int offset(long handle)
+    {
+        return (int)handle;
+    }
+
+    /* Copies length bytes from the start of one block to the start of another. */
+    void copy(long srcHandle, long destHandle, int length)
+    {
+        ByteBuffer src = slab(srcHandle);
+        ByteBuffer dest = slab(destHandle);
+        int srcOffset = offset(srcHandle);
+        int destOffset = offset(destHandle);
+        int i = 0;
+
+        for (; i + 8 <= length; i += 8)
+            dest.putLong(destOffset + i, src.getLong(srcOffset + i));
+        for (; i < length; i++)
+            dest.put(destOffset + i, src.get(srcOffset + i));
+    }
+
+    /* Bytes held in slabs. */
+    long reservedBytes()
+    {
+        return _reservedBytes;
+    }
+
+    /* Bytes in allocated blocks, counting the whole size class of each block. */
+    long usedBytes()
+    {
+        return _usedBytes;
+    }
+
+    /* Releases all slabs, invalidating every handle. */
+    void clear()
+    {
+        for (int i = 0; i < _slabCount; i++)
+            _slabs[i] = null;
+        _slabCount = 0;
+        _releasedSlabCount = 0;
+        for (int i = 0; i < SIZE_CLASSES; i++)
+        {
+            _freeHeads[i] = 0;
+            _bumpSlab[i] = -1;
+            _bumpOffset[i] = 0;
+        }
+        _reservedBytes = 0;
+        _usedBytes = 0;
+    }
+
+    private int addSlab(int sizeClass, int size)
+    {
+        int slab;
+        if (_releasedSlabCount > 0)
+        {
+            slab = _releasedSlabs[--_releasedSlabCount];
+        }
+        else
+        {
+            if (_slabCount == _slabs.length)
+            {
+                ByteBuffer[] slabs = new ByteBuffer[_slabs.length * 2];
+                System.arraycopy(_slabs, 0, slabs, 0, _slabCount);
+                _slabs = slabs;
+                _slabClass = grow(_slabClass);
+            }
+            slab = _slabCount++;
+        }
+
+        _slabs[slab] = ByteBuffer.allocateDirect(size);
+        _slabClass[slab] = sizeClass;
+        _reservedBytes += size;
+        return slab;
+    }
+
+    private static int sizeClass(int size)
+    {
+        if (size <= MIN_BLOCK_SIZE)
+            return 0;
+
+        return 32 - Integer.numberOfLeadingZeros(size - 1) - MIN_BLOCK_SHIFT;
+    }
+
+    private static long handle(int slab, int offset)
+    {
+        return ((long)(slab + 1) << 32) | offset;
+    }
+
+    private static int slabIndex(long handle)
+    {
+        return (int)(handle >>> 32) - 1;
+    }
+
+    private static int[] grow(int[] array)
+    {
+        int[] grown = new int[array.length * 2];
+        System.arraycopy(array, 0, grown, 0, array.length);
+        return grown;
+    }
+}
@@ -0,0 +1,518 @@
+///*|-----------------------------------------------------------------------------
+// *|            This source code is provided under the Apache 2.0 license      --
+// *|  and is provided AS IS with no warranty or guarantee of fit for purpose.  --
+// *|                See the project's LICENSE.md for details.                  --
+// *|           Copyright (C) 2021 Refinitiv. All rights reserved.            --
+///*|-----------------------------------------------------------------------------
+
+package com.refinitiv.eta.valueadd.cache;
+
+import static org.junit.Assert.*;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.refinitiv.eta.codec.Buffer;
+import com.refinitiv.eta.codec.Codec;
+import com.refinitiv.eta.codec.CodecFactory;
+import com.refinitiv.eta.codec.CodecReturnCodes;
+import com.refinitiv.eta.codec.DataDictionary;
+import com.refinitiv.eta.codec.DataStates;
+import com.refinitiv.eta.codec.DataTypes;
+import com.refinitiv.eta.codec.DecodeIterator;
+import com.refinitiv.eta.codec.ElementList;
+import com.refinitiv.eta.codec.EncodeIterator;
+import com.refinitiv.eta.codec.FieldEntry;
+import com.refinitiv.eta.codec.FieldList;
+import com.refinitiv.eta.codec.Map;
+import com.refinitiv.eta.codec.MapEntry;
+import com.refinitiv.eta.codec.MapEntryActions;
+import com.refinitiv.eta.codec.Msg;
+import com.refinitiv.eta.codec.MsgClasses;
+import com.refinitiv.eta.codec.Real;
+import com.refinitiv.eta.codec.RealHints;
+import com.refinitiv.eta.codec.RefreshMsgFlags;
+import com.refinitiv.eta.codec.StreamStates;
+import com.refinitiv.eta.rdm.DomainTypes;
+import com.refinitiv.eta.transport.Error;
+import com.refinitiv.eta.transport.TransportFactory;
+
+public class JavaPayloadCacheJunit
+{
+    static final int DSPLY_NAME = 3;
+    static final int BID = 22;
+    static final int ASK = 25;
+    static final int BIDSIZE = 30;
+    static final int ASKSIZE = 31;
+    static final int ORDER_PRC = 3427;
+    static final int ORDER_SIZE = 3429;
+    static final String BLANK = "blank";
+
+    static DataDictionary _dictionary;
+
+    PayloadCache _cache;
+    CacheError _error = CacheFactory.createCacheError();
+    EncodeIterator _eIter = CodecFactory.createEncodeIterator();
+    DecodeIterator _dIter = CodecFactory.createDecodeIterator();
+    Buffer _buffer = CodecFactory.createBuffer();
+    Msg _msg = CodecFactory.createMsg();
+
+    @Before
+    public void init()
+    {
+        if (_dictionary == null)
+        {
+            _dictionary = CodecFactory.createDataDictionary();
+            Error error = TransportFactory.createError();
+            assertEquals(CodecReturnCodes.SUCCESS, _dictionary.loadFieldDictionary("../../etc/RDMFieldDictionary", error));
+        }
+
+        PayloadCacheConfigOptions options = CacheFactory.createPayloadCacheConfig();
+        options.useJavaCache(true);
+        _cache = CacheFactory.createPayloadCache(options, _error);
+        assertNotNull(_cache);
+        assertEquals(CodecReturnCodes.SUCCESS, _cache.setDictionary(_dictionary, "RDMFieldDictionary", _error));
+    }
+
+    @After
+    public void cleanup()
+    {
+        _cache.destroy();
+    }
+
+    @Test
+    public void fieldListApplyRetrieveTest()
+    {
+        PayloadEntry entry = CacheFactory.createPayloadEntry(_cache, _error);
+        assertNotNull(entry);
+        assertEquals(1, _cache.entryCount());
+        assertEquals(DataTypes.UNKNOWN, entry.dataType());
+
+        assertEquals(CodecReturnCodes.SUCCESS, applyFieldList(entry, MsgClasses.REFRESH, 0,
+                                                              BID, real(1001, RealHints.EXPONENT_2),
+                                                              ASK, real(1002, RealHints.EXPONENT_2),
+                                                              BIDSIZE, null,
+                                                              DSPLY_NAME, "ABCDEF"));
+        assertEquals(DataTypes.FIELD_LIST, entry.dataType());
+
+        HashMap<Integer, String> fields = retrieveFieldList(entry);
+        assertEquals(4, fields.size());
+        assertEquals("10.01", fields.get(BID));
+        assertEquals("10.02", fields.get(ASK));
+        assertEquals(BLANK, fields.get(BIDSIZE));
+        assertEquals("ABCDEF", fields.get(DSPLY_NAME));
+
+        // a field not in the refresh is ignored with a warning
+        assertEquals(CodecReturnCodes.INCOMPLETE_DATA, applyFieldList(entry, MsgClasses.UPDATE, 0,
+                                                                      BID, real(999, RealHints.EXPONENT_2),
+                                                                      BIDSIZE, real(5, RealHints.EXPONENT0),
+                                                                      ASKSIZE, real(7, RealHints.EXPONENT0)));
+        assertEquals(CodecReturnCodes.SUCCESS, _error.errorId());
+
+        // RMTES partial update, replacing the two characters at offset 2
+        assertEquals(CodecReturnCodes.SUCCESS, applyFieldList(entry, MsgClasses.UPDATE, 0,
+                                                              DSPLY_NAME, "\u001b[2`XY"));
+
+        fields = retrieveFieldList(entry);
+        assertEquals(4, fields.size());
+        assertEquals("9.99", fields.get(BID));
+        assertEquals("10.02", fields.get(ASK));
+        assertEquals("5.0", fields.get(BIDSIZE));
+        assertEquals("ABXYEF", fields.get(DSPLY_NAME));
+        assertNull(fields.get(ASKSIZE));
+
+        // a longer value than the space reserved for the field moves it
+        String longName = "A DISPLAY NAME LONGER THAN THE DICTIONARY LENGTH, AND LONGER THAN THE SIZE HINT ..........."
+                + "..................................................................................................."
+                + "...................................................................................................";
+        assertEquals(CodecReturnCodes.SUCCESS, applyFieldList(entry, MsgClasses.UPDATE, 0, DSPLY_NAME, longName));
+        assertEquals(longName, retrieveFieldList(entry).get(DSPLY_NAME));
+
+        // a refresh with clear cache replaces the fields
+        assertEquals(CodecReturnCodes.SUCCESS, applyFieldList(entry, MsgClasses.REFRESH, RefreshMsgFlags.CLEAR_CACHE,
+                                                              ASKSIZE, real(3, RealHints.EXPONENT0)));
+        fields = retrieveFieldList(entry);
+        assertEquals(1, fields.size());
+        assertEquals("3.0", fields.get(ASKSIZE));
+
+        // a field list must be retrieved in one part
+        _buffer.data(ByteBuffer.allocate(4));
+        _eIter.clear();
+        _eIter.setBufferAndRWFVersion(_buffer, Codec.majorVersion(), Codec.minorVersion());
+        assertEquals(CodecReturnCodes.BUFFER_TOO_SMALL, entry.retrieve(_eIter, null, _error));
+        assertEquals(CodecReturnCodes.BUFFER_TOO_SMALL, _error.errorId());
+
+        entry.clear();
+        assertEquals(DataTypes.UNKNOWN, entry.dataType());
+        entry.destroy();
+        assertEquals(0, _cache.entryCount());
+        assertEquals(CodecReturnCodes.INVALID_DATA, entry.apply(_dIter, _msg, _error));
+    }
+
+    @Test
+    public void fieldAccessTest()
+    {
+        PayloadEntry entry = CacheFactory.createPayloadEntry(_cache, _error);
+        Buffer value = CodecFactory.createBuffer();
+        int[] fieldIds = new int[8];
+        assertEquals(0, entry.fieldCount());
+        assertEquals(CodecReturnCodes.NO_DATA, entry.retrieveField(BID, value, _error));
+
+        assertEquals(CodecReturnCodes.SUCCESS, applyFieldList(entry, MsgClasses.REFRESH, 0,
+                                                              BID, real(1001, RealHints.EXPONENT_2),
+                                                              DSPLY_NAME, "ABCDEF",
+                                                              ASK, real(1002, RealHints.EXPONENT_2)));
+        assertEquals(3, entry.fieldCount());
+        assertEquals(3, entry.fieldIds(fieldIds));
+        assertEquals(DSPLY_NAME, fieldIds[0]);
+        assertEquals(BID, fieldIds[1]);
+        assertEquals(ASK, fieldIds[2]);
+        assertEquals(3, entry.fieldIds(new int[1]));
+
+        assertEquals(CodecReturnCodes.SUCCESS, applyFieldList(entry, MsgClasses.UPDATE, 0, BID, real(999, RealHints.EXPONENT_2)));
+        assertEquals(CodecReturnCodes.SUCCESS, entry.retrieveField(BID, value, _error));
+        Real real = CodecFactory.createReal();
+        _dIter.clear();
+        _dIter.setBufferAndRWFVersion(value, Codec.majorVersion(), Codec.minorVersion());
+        assertEquals(CodecReturnCodes.SUCCESS, real.decode(_dIter));
+        assertEquals("9.99", real.toString());
+
+        assertEquals(CodecReturnCodes.SUCCESS, entry.retrieveField(DSPLY_NAME, value, _error));
+        assertEquals("ABCDEF", value.toString());
+        assertEquals(CodecReturnCodes.NO_DATA, entry.retrieveField(ASKSIZE, value, _error));
+        assertEquals(CodecReturnCodes.INVALID_ARGUMENT, entry.retrieveField(BID, null, _error));
+
+        // map entries are not field lists
+        List<Object[]> entries = new ArrayList<Object[]>();
+        entries.add(new Object[] {"ORDER1", MapEntryActions.ADD, real(1, RealHints.EXPONENT0), real(1, RealHints.EXPONENT0)});
+        PayloadEntry mapEntry = CacheFactory.createPayloadEntry(_cache, _error);
+        assertEquals(CodecReturnCodes.SUCCESS, applyMap(mapEntry, MsgClasses.REFRESH, null, entries));
+        assertEquals(0, mapEntry.fieldCount());
+        assertEquals(CodecReturnCodes.NO_DATA, mapEntry.retrieveField(ORDER_PRC, value, _error));
+
+        entry.destroy();
+        assertEquals(0, entry.fieldCount());
+        assertEquals(CodecReturnCodes.INVALID_DATA, entry.retrieveField(BID, value, _error));
+    }
+
+    @Test
+    public void mapApplyRetrieveTest()
+    {
+        PayloadEntry entry = CacheFactory.createPayloadEntry(_cache, _error);
+
+        List<Object[]> entries = new ArrayList<Object[]>();
+        for (int i = 0; i < 50; i++)
+            entries.add(new Object[] {"ORDER" + i, MapEntryActions.ADD, real(100 + i, RealHints.EXPONENT_2), real(i, RealHints.EXPONENT0)});
+        assertEquals(CodecReturnCodes.SUCCESS, applyMap(entry, MsgClasses.REFRESH, real(1, RealHints.EXPONENT0), entries));
+        assertEquals(DataTypes.MAP, entry.dataType());
+
+        entries.clear();
+        entries.add(new Object[] {"ORDER3", MapEntryActions.UPDATE, real(555, RealHints.EXPONENT_2), null});
+        entries.add(new Object[] {"ORDER4", MapEntryActions.DELETE, null, null});
+        entries.add(new Object[] {"ORDER0", MapEntryActions.DELETE, null, null});
+        entries.add(new Object[] {"ORDER50", MapEntryActions.ADD, real(150, RealHints.EXPONENT_2), real(50, RealHints.EXPONENT0)});
+        entries.add(new Object[] {"ORDER99", MapEntryActions.DELETE, null, null});
+        assertEquals(CodecReturnCodes.SUCCESS, applyMap(entry, MsgClasses.UPDATE, null, entries));
+
+        HashMap<String, String> orders = new HashMap<String, String>();
+        PayloadCursor cursor = CacheFactory.createPayloadCursor();
+        assertEquals(1, retrieveMap(entry, cursor, 8192, orders));
+        assertTrue(cursor.isComplete());
+        assertEquals(50, orders.size());
+        assertEquals("1.0", orders.get("summary"));
+        assertEquals("5.55 3.0", orders.get("ORDER3"));
+        assertEquals("1.50 50.0", orders.get("ORDER50"));
+        assertEquals("1.49 49.0", orders.get("ORDER49"));
+        assertNull(orders.get("ORDER4"));
+        assertNull(orders.get("ORDER0"));
+
+        // retrieve in parts small enough for a few entries each
+        orders.clear();
+        cursor.clear();
+        int parts = retrieveMap(entry, cursor, 100, orders);
+        assertTrue(parts > 10);
+        assertEquals(50, orders.size());
+        assertEquals("5.55 3.0", orders.get("ORDER3"));
+
+        // a part must hold at least one entry, and without a cursor the whole map
+        cursor.clear();
+        _buffer.data(ByteBuffer.allocate(10));
+        _eIter.clear();
+        _eIter.setBufferAndRWFVersion(_buffer, Codec.majorVersion(), Codec.minorVersion());
+        assertEquals(CodecReturnCodes.BUFFER_TOO_SMALL, entry.retrieve(_eIter, cursor, _error));
+        _buffer.data(ByteBuffer.allocate(100));
+        _eIter.clear();
+        _eIter.setBufferAndRWFVersion(_buffer, Codec.majorVersion(), Codec.minorVersion());
+        assertEquals(CodecReturnCodes.BUFFER_TOO_SMALL, entry.retrieve(_eIter, null, _error));
+
+        // removing every entry leaves the summary data
+        entries.clear();
+        for (int i = 1; i <= 50; i++)
+            entries.add(new Object[] {"ORDER" + i, MapEntryActions.DELETE, null, null});
+        assertEquals(CodecReturnCodes.SUCCESS, applyMap(entry, MsgClasses.UPDATE, null, entries));
+        orders.clear();
+        cursor.clear();
+        assertEquals(1, retrieveMap(entry, cursor, 8192, orders));
+        assertEquals(1, orders.size());
+        cursor.destroy();
+    }
+
+    @Test
+    public void errorTest()
+    {
+        PayloadCacheConfigOptions options = CacheFactory.createPayloadCacheConfig();
+        options.useJavaCache(true);
+        options.maxItems(1);
+        PayloadCache cache = CacheFactory.createPayloadCache(options, _error);
+        PayloadEntry entry = CacheFactory.createPayloadEntry(cache, _error);
+        assertNotNull(entry);
+        assertNull(CacheFactory.createPayloadEntry(cache, _error));
+        assertEquals(CodecReturnCodes.FAILURE, _error.errorId());
+
+        // no dictionary
+        assertEquals(CodecReturnCodes.INVALID_DATA, applyFieldList(entry, MsgClasses.REFRESH, 0, BID, real(1, RealHints.EXPONENT0)));
+        assertEquals(CodecReturnCodes.INVALID_ARGUMENT, cache.setSharedDictionaryKey("unknown", _error));
+        assertEquals(CodecReturnCodes.SUCCESS, cache.setSharedDictionaryKey("RDMFieldDictionary", _error));
+        assertEquals(CodecReturnCodes.SUCCESS, applyFieldList(entry, MsgClasses.REFRESH, 0, BID, real(1, RealHints.EXPONENT0)));
+
+        // container type does not match the entry
+        List<Object[]> entries = new ArrayList<Object[]>();
+        entries.add(new Object[] {"ORDER1", MapEntryActions.ADD, real(1, RealHints.EXPONENT0), real(1, RealHints.EXPONENT0)});
+        assertEquals(CodecReturnCodes.INVALID_DATA, applyMap(entry, MsgClasses.REFRESH, null, entries));
+        assertEquals(CodecReturnCodes.INVALID_DATA, _error.errorId());
+
+        // unsupported container type
+        entry.clear();
+        _buffer.data(ByteBuffer.allocate(256));
+        encodeMsgInit(MsgClasses.REFRESH, 0, DataTypes.ELEMENT_LIST);
+        ElementList elementList = CodecFactory.createElementList();
+        elementList.applyHasStandardData();
+        assertEquals(CodecReturnCodes.SUCCESS, elementList.encodeInit(_eIter, null, 0));
+        assertEquals(CodecReturnCodes.SUCCESS, elementList.encodeComplete(_eIter, true));
+        assertEquals(CodecReturnCodes.UNSUPPORTED_DATA_TYPE, applyEncodedMsg(entry));
+
+        cache.clear();
+        assertEquals(0, cache.entryCount());
+        assertEquals(CodecReturnCodes.INVALID_DATA, applyFieldList(entry, MsgClasses.REFRESH, 0, BID, real(1, RealHints.EXPONENT0)));
+        assertNotNull(CacheFactory.createPayloadEntry(cache, _error));
+        cache.destroy();
+        assertNull(CacheFactory.createPayloadEntry(cache, _error));
+    }
+
+    static Real real(long value, int hint)
+    {
+        Real real = CodecFactory.createReal();
+        real.value(value, hint);
+        return real;
+    }
+
+    void encodeMsgInit(int msgClass, int flags, int containerType)
+    {
+        _msg.clear();
+        _msg.msgClass(msgClass);
+        _msg.streamId(5);
+        _msg.domainType(msgClass == MsgClasses.REFRESH || containerType == DataTypes.FIELD_LIST ?
+                        DomainTypes.MARKET_PRICE : DomainTypes.MARKET_BY_ORDER);
+        _msg.containerType(containerType);
+        _msg.flags(flags);
+        if (msgClass == MsgClasses.REFRESH)
+        {
+            _msg.flags(flags | RefreshMsgFlags.REFRESH_COMPLETE);
+            com.refinitiv.eta.codec.RefreshMsg refreshMsg = (com.refinitiv.eta.codec.RefreshMsg)_msg;
+            refreshMsg.state().streamState(StreamStates.OPEN);
+            refreshMsg.state().dataState(DataStates.OK);
+        }
+
+        _eIter.clear();
+        _eIter.setBufferAndRWFVersion(_buffer, Codec.majorVersion(), Codec.minorVersion());
+        assertEquals(CodecReturnCodes.ENCODE_CONTAINER, _msg.encodeInit(_eIter, 0));
+    }
+
+    int applyEncodedMsg(PayloadEntry entry)
+    {
+        assertEquals(CodecReturnCodes.SUCCESS, _msg.encodeComplete(_eIter, true));
+
+        _dIter.clear();
+        _dIter.setBufferAndRWFVersion(_buffer, Codec.majorVersion(), Codec.minorVersion());
+        _msg.clear();
+        assertEquals(CodecReturnCodes.SUCCESS, _msg.decode(_dIter));
+        return entry.apply(_dIter, _msg, _error);
+    }
+
+    /* Encodes a field list with the fid, value pairs given, a null value is blank. */
+    void encodeFieldList(Object... fidValues)
+    {
+        FieldList fieldList = CodecFactory.createFieldList();
+        FieldEntry fieldEntry = CodecFactory.createFieldEntry();
+        fieldList.applyHasStandardData();
+        assertEquals(CodecReturnCodes.SUCCESS, fieldList.encodeInit(_eIter, null, 0));
+        for (int i = 0; i < fidValues.length; i += 2)
+        {
+            fieldEntry.clear();
+            fieldEntry.fieldId((Integer)fidValues[i]);
+            Object value = fidValues[i + 1];
+            if (value == null)
+            {
+                fieldEntry.dataType(DataTypes.REAL);
+                assertEquals(CodecReturnCodes.SUCCESS, fieldEntry.encodeBlank(_eIter));
+            }
+            else if (value instanceof Real)
+            {
+                fieldEntry.dataType(DataTypes.REAL);
+                assertEquals(CodecReturnCodes.SUCCESS, fieldEntry.encode(_eIter, (Real)value));
+            }
+            else
+            {
+                Buffer buffer = CodecFactory.createBuffer();
+                buffer.data((String)value);
+                fieldEntry.dataType(DataTypes.RMTES_STRING);
+                assertEquals(CodecReturnCodes.SUCCESS, fieldEntry.encode(_eIter, buffer));
+            }
+        }
+        assertEquals(CodecReturnCodes.SUCCESS, fieldList.encodeComplete(_eIter, true));
+    }
+
+    int applyFieldList(PayloadEntry entry, int msgClass, int flags, Object... fidValues)
+    {
+        _buffer.data(ByteBuffer.allocate(1024));
+        encodeMsgInit(msgClass, flags, DataTypes.FIELD_LIST);
+        encodeFieldList(fidValues);
+        return applyEncodedMsg(entry);
+    }
+
+    /* Applies a map of entries {key, action, ORDER_PRC, ORDER_SIZE}, with an ASKSIZE summary field if given. */
+    int applyMap(PayloadEntry entry, int msgClass, Real summary, List<Object[]> entries)
+    {
+        Map map = CodecFactory.createMap();
+        MapEntry mapEntry = CodecFactory.createMapEntry();
+        Buffer key = CodecFactory.createBuffer();
+
+        _buffer.data(ByteBuffer.allocate(8192));
+        encodeMsgInit(msgClass, 0, DataTypes.MAP);
+        map.keyPrimitiveType(DataTypes.BUFFER);
+        map.containerType(DataTypes.FIELD_LIST);
+        if (summary != null)
+            map.applyHasSummaryData();
+        assertEquals(CodecReturnCodes.SUCCESS, map.encodeInit(_eIter, 0, 0));
+        if (summary != null)
+        {
+            encodeFieldList(ASKSIZE, summary);
+            assertEquals(CodecReturnCodes.SUCCESS, map.encodeSummaryDataComplete(_eIter, true));
+        }
+
+        for (Object[] values : entries)
+        {
+            mapEntry.clear();
+            key.data((String)values[0]);
+            mapEntry.action((Integer)values[1]);
+            if (mapEntry.action() == MapEntryActions.DELETE)
+            {
+                assertEquals(CodecReturnCodes.SUCCESS, mapEntry.encode(_eIter, key));
+                continue;
+            }
+
+            assertEquals(CodecReturnCodes.SUCCESS, mapEntry.encodeInit(_eIter, key, 0));
+            if (values[3] != null)
+                encodeFieldList(ORDER_PRC, values[2], ORDER_SIZE, values[3]);
+            else
+                encodeFieldList(ORDER_PRC, values[2]);
+            assertEquals(CodecReturnCodes.SUCCESS, mapEntry.encodeComplete(_eIter, true));
+        }
+        assertEquals(CodecReturnCodes.SUCCESS, map.encodeComplete(_eIter, true));
+
+        return applyEncodedMsg(entry);
+    }
+
+    HashMap<Integer, String> retrieveFieldList(PayloadEntry entry)
+    {
+        _buffer.data(ByteBuffer.allocate(1024));
+        _eIter.clear();
+        _eIter.setBufferAndRWFVersion(_buffer, Codec.majorVersion(), Codec.minorVersion());
+        assertEquals(CodecReturnCodes.SUCCESS, entry.retrieve(_eIter, null, _error));
+
+        _buffer.data(_buffer.data(), 0, _buffer.data().position());
+        _dIter.clear();
+        _dIter.setBufferAndRWFVersion(_buffer, Codec.majorVersion(), Codec.minorVersion());
+        HashMap<Integer, String> fields = new HashMap<Integer, String>();
+        decodeFieldList(fields);
+        return fields;
+    }
+
+    void decodeFieldList(HashMap<Integer, String> fields)
+    {
+        FieldList fieldList = CodecFactory.createFieldList();
+        FieldEntry fieldEntry = CodecFactory.createFieldEntry();
+        Real real = CodecFactory.createReal();
+        Buffer buffer = CodecFactory.createBuffer();
+        int ret;
+
+        assertEquals(CodecReturnCodes.SUCCESS, fieldList.decode(_dIter, null));
+        while ((ret = fieldEntry.decode(_dIter)) != CodecReturnCodes.END_OF_CONTAINER)
+        {
+            assertEquals(CodecReturnCodes.SUCCESS, ret);
+            if (fieldEntry.fieldId() == DSPLY_NAME)
+            {
+                assertEquals(CodecReturnCodes.SUCCESS, buffer.decode(_dIter));
+                fields.put(fieldEntry.fieldId(), buffer.toString());
+            }
+            else if ((ret = real.decode(_dIter)) == CodecReturnCodes.BLANK_DATA)
+            {
+                fields.put(fieldEntry.fieldId(), BLANK);
+            }
+            else
+            {
+                assertEquals(CodecReturnCodes.SUCCESS, ret);
+                fields.put(fieldEntry.fieldId(), real.toString());
+            }
+        }
+    }
+
+    /* Retrieves the map in parts of the given size, puts "price size" for each key and the summary ASKSIZE, returns the number of parts. */
+    int retrieveMap(PayloadEntry entry, PayloadCursor cursor, int partSize, HashMap<String, String> orders)
+    {
+        Map map = CodecFactory.createMap();
+        MapEntry mapEntry = CodecFactory.createMapEntry();
+        Buffer key = CodecFactory.createBuffer();
+        int parts = 0;
+        int ret;
+
+        while (!cursor.isComplete())
+        {
+            _buffer.data(ByteBuffer.allocate(partSize));
+            _eIter.clear();
+            _eIter.setBufferAndRWFVersion(_buffer, Codec.majorVersion(), Codec.minorVersion());
+            assertEquals(CodecReturnCodes.SUCCESS, entry.retrieve(_eIter, cursor, _error));
+            parts++;
+
+            _buffer.data(_buffer.data(), 0, _buffer.data().position());
+            _dIter.clear();
+            _dIter.setBufferAndRWFVersion(_buffer, Codec.majorVersion(), Codec.minorVersion());
+            map.clear();
+            assertEquals(CodecReturnCodes.SUCCESS, map.decode(_dIter));
+            assertEquals(parts == 1, map.checkHasSummaryData());
+            if (map.checkHasSummaryData())
+            {
+                HashMap<Integer, String> fields = new HashMap<Integer, String>();
+                decodeFieldList(fields);
+                orders.put("summary", fields.get(ASKSIZE));
+            }
+
+            while ((ret = mapEntry.decode(_dIter, key)) != CodecReturnCodes.END_OF_CONTAINER)
+            {
+                assertEquals(CodecReturnCodes.SUCCESS, ret);
+                assertEquals(MapEntryActions.ADD, mapEntry.action());
+                HashMap<Integer, String> fields = new HashMap<Integer, String>();
+                decodeFieldList(fields);
+                assertNull(orders.put(key.toString(), fields.get(ORDER_PRC) + " " + fields.get(ORDER_SIZE)));
+            }
+        }
+
+        return parts;
+    }
+}